@@ -2832,7 +2832,10 @@ public class ChartComponentGraph extends Canvas {
        */
       boolean isSetHoveredIndex = false;
 
-      final long[] devXPositions = new long[endIndex];
+      // the x-positions of all values are needed only by the custom fill painter
+      final long[] devXPositions = graphFillMethod == ChartDataYSerie.FILL_METHOD_CUSTOM
+            ? new long[endIndex]
+            : null;
 
       // dev position for y == 0
       final float devY0 = devY0Inverse - devY_XAxisLine;
@@ -2841,11 +2844,44 @@ public class ChartComponentGraph extends Canvas {
       final float devY0Top2Bottom = devGraphHeight - devY0Inverse;
 
       /*
-       * draw the lines into the paths
+       * When the x-values are sorted, then the hidden values on the left side are skipped and only
+       * the first, min, max and last value of each pixel column are drawn (M4 aggregation). This
+       * paints the same pixels as drawing all values but the painting time depends on the number of
+       * visible pixels and not on the number of values.
        */
+      final boolean isXSorted = scaleX > 0 && xData.isHighValuesSorted();
+
+      final MinMaxPyramid minMaxPyramid = isXSorted
+            && isPath2 == false
+            && graphFillMethod != ChartDataYSerie.FILL_METHOD_CUSTOM
+
+                  ? yData.getMinMaxPyramid()
+                  : null;
+
+      final int lastValueIndex = Math.min(endIndex, numYValues) - 1;
+
+      final int[] allColumnIndices = new int[3];
+      int numColumnIndices = 0;
+      int nextColumnIndex = 0;
+      int columnLastIndex = -1;
+
       int valueIndex = startIndex;
+
+      if (isXSorted) {
+
+         // start with the last hidden value, it is the starting point of the painting
+         valueIndex = Math.max(startIndex,
+               getLastValueIndex_BeforeDevX(xValues, graphValueOffset, scaleX, 0, startIndex, lastValueIndex));
+      }
+
+      /*
+       * draw the lines into the paths
+       */
       double devX = 999;
-      for (; valueIndex < endIndex; valueIndex++) {
+      int nextValueIndex;
+      for (; valueIndex < endIndex; valueIndex = nextValueIndex) {
+
+         nextValueIndex = valueIndex + 1;
 
          // check array bounds
          if (valueIndex >= numYValues) {
@@ -2868,7 +2904,10 @@ public class ChartComponentGraph extends Canvas {
          }
 
          final long devX_long = (long) devX;
-         devXPositions[valueIndex] = devX_long;
+
+         if (devXPositions != null) {
+            devXPositions[valueIndex] = devX_long;
+         }
 
          // check if position is horizontal visible
          if (devX < 0) {
@@ -2886,6 +2925,47 @@ public class ChartComponentGraph extends Canvas {
             continue;
          }
 
+         if (minMaxPyramid != null && valueIndex > columnLastIndex) {
+
+            /*
+             * A new pixel column starts, get the min, max and last value of this column. All
+             * values of a column are drawn when it contains only a few values or a NO line.
+             */
+
+            columnLastIndex = getLastValueIndex_BeforeDevX(
+                  xValues,
+                  graphValueOffset,
+                  scaleX,
+                  devX_long + 1,
+                  valueIndex,
+                  lastValueIndex);
+
+            numColumnIndices = 0;
+            nextColumnIndex = 0;
+
+            if (columnLastIndex - valueIndex >= 4 && xData.isNoLine(valueIndex, columnLastIndex) == false) {
+
+               final int minIndex = minMaxPyramid.getMinIndex(valueIndex, columnLastIndex);
+               final int maxIndex = minMaxPyramid.getMaxIndex(valueIndex, columnLastIndex);
+
+               // the values must be drawn in the sequence of the values
+               final int minMaxIndex1 = Math.min(minIndex, maxIndex);
+               final int minMaxIndex2 = Math.max(minIndex, maxIndex);
+
+               if (minMaxIndex1 > valueIndex) {
+                  allColumnIndices[numColumnIndices++] = minMaxIndex1;
+               }
+
+               if (minMaxIndex2 > minMaxIndex1) {
+                  allColumnIndices[numColumnIndices++] = minMaxIndex2;
+               }
+
+               if (columnLastIndex > minMaxIndex2) {
+                  allColumnIndices[numColumnIndices++] = columnLastIndex;
+               }
+            }
+         }
+
          /*
           * Draw FIRST point
           */
@@ -2964,7 +3044,10 @@ public class ChartComponentGraph extends Canvas {
          final long devY1_long = (long) devY1;
          final long devY1Prev_long = (long) devY1Prev;
 
-         if (devX_long != devXPrev_long
+         if (minMaxPyramid != null
+
+               // all values are drawn when only the first, min, max and last value of a pixel column is visited
+               || devX_long != devXPrev_long
 
                // draw line when is has the same x position but y is larger/smaller than previous value
                || (devX_long == devXPrev_long
@@ -3189,6 +3272,12 @@ public class ChartComponentGraph extends Canvas {
          devY1Prev = devY1;
 
          prevValueIndex = valueIndex;
+
+         if (nextColumnIndex < numColumnIndices) {
+
+            // skip the values between the first, min, max and last value of the pixel column
+            nextValueIndex = allColumnIndices[nextColumnIndex++];
+         }
       }
 
       final Color colorLine = new Color(rgbFg);
@@ -7419,6 +7508,53 @@ public class ChartComponentGraph extends Canvas {
       return lineDevPos;
    }
 
+   /**
+    * @param xValues
+    *           Sorted x-values
+    * @param graphValueOffset
+    * @param scaleX
+    * @param maxDevX
+    * @param firstIndex
+    * @param lastIndex
+    *
+    * @return Returns the last value index between the first and last index which dev x-position
+    *         is smaller than maxDevX or <code>firstIndex - 1</code> when all positions are larger,
+    *         the index is found with a binary search
+    */
+   private int getLastValueIndex_BeforeDevX(final double[] xValues,
+                                            final double graphValueOffset,
+                                            final double scaleX,
+                                            final double maxDevX,
+                                            final int firstIndex,
+                                            final int lastIndex) {
+
+      int lowIndex = firstIndex;
+      int highIndex = lastIndex;
+
+      int lastValueIndex = firstIndex - 1;
+
+      while (lowIndex <= highIndex) {
+
+         final int middleIndex = (lowIndex + highIndex) >>> 1;
+
+         // compute the dev position in the same way as when the line is drawn
+         final double graphX = xValues[middleIndex] - graphValueOffset;
+         final double devX = graphX * scaleX;
+
+         if (devX < maxDevX) {
+
+            lastValueIndex = middleIndex;
+            lowIndex = middleIndex + 1;
+
+         } else {
+
+            highIndex = middleIndex - 1;
+         }
+      }
+
+      return lastValueIndex;
+   }
+
    /**
     * @return Returns the left slider
     */
@@ -88,6 +88,17 @@ public class ChartDataXSerie extends ChartDataSerie {
     */
    private boolean[]              _noLine;
 
+   /**
+    * Number of no line values before each value index, it is created when it is needed the first
+    * time
+    */
+   private int[]                  _noLineCounter;
+
+   /**
+    * Is <code>null</code> when it is not yet checked if the x-values are sorted
+    */
+   private Boolean                _isHighValuesSorted;
+
    /**
     * X-axis start Date/Time
     */
@@ -199,6 +210,65 @@ public class ChartDataXSerie extends ChartDataSerie {
       return _xValueMarker_StartIndex;
    }
 
+   /**
+    * @return Returns <code>true</code> when the x-values are sorted ascending, then the value
+    *         index of a x-position can be found with a binary search
+    */
+   boolean isHighValuesSorted() {
+
+      if (_isHighValuesSorted == null) {
+
+         final double[] xValues = _highValuesDouble[0];
+
+         boolean isSorted = true;
+
+         for (int valueIndex = 1; valueIndex < xValues.length; valueIndex++) {
+
+            if (xValues[valueIndex] < xValues[valueIndex - 1]) {
+
+               isSorted = false;
+               break;
+            }
+         }
+
+         _isHighValuesSorted = isSorted;
+      }
+
+      return _isHighValuesSorted;
+   }
+
+   /**
+    * @param firstIndex
+    * @param lastIndex
+    *
+    * @return Returns <code>true</code> when a no line value is between the first and last index
+    *         (inclusive)
+    */
+   boolean isNoLine(final int firstIndex, final int lastIndex) {
+
+      if (_noLine == null) {
+         return false;
+      }
+
+      if (_noLineCounter == null) {
+
+         final int[] noLineCounter = new int[_noLine.length + 1];
+
+         for (int valueIndex = 0; valueIndex < _noLine.length; valueIndex++) {
+            noLineCounter[valueIndex + 1] = noLineCounter[valueIndex] + (_noLine[valueIndex] ? 1 : 0);
+         }
+
+         _noLineCounter = noLineCounter;
+      }
+
+      final int maxCounterIndex = _noLineCounter.length - 1;
+
+      final int numNoLines = _noLineCounter[Math.min(lastIndex + 1, maxCounterIndex)]
+            - _noLineCounter[Math.min(firstIndex, maxCounterIndex)];
+
+      return numNoLines > 0;
+   }
+
    public boolean isTimeSerieWithTimeZoneAdjustment() {
       return _timeSerieWithTimeZoneAdjustment;
    }
@@ -228,6 +298,8 @@ public class ChartDataXSerie extends ChartDataSerie {
 
    private void setMinMaxValues(final double[][] valueSeries) {
 
+      _isHighValuesSorted = null;
+
       if (valueSeries == null || valueSeries.length == 0 || valueSeries[0] == null || valueSeries[0].length == 0) {
 
          _highValuesDouble = new double[1][2];
@@ -277,6 +349,7 @@ public class ChartDataXSerie extends ChartDataSerie {
    public void setNoLine(final boolean[] noLineSerie) {
 
       _noLine = noLineSerie;
+      _noLineCounter = null;
    }
 
    /**
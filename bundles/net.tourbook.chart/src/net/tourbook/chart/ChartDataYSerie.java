@@ -73,6 +73,12 @@ public class ChartDataYSerie extends ChartDataSerie {
    float[][]                      _highValuesFloat;
    private double[][]             _highValuesDouble;
 
+   /**
+    * Min/max pyramid for the first high value serie, it is created when it is needed the first
+    * time
+    */
+   private MinMaxPyramid          _minMaxPyramid;
+
    private int                    _sliderLabelFormat                = SLIDER_LABEL_FORMAT_DEFAULT;
    private int                    _chartLayout                      = BAR_LAYOUT_SINGLE_SERIE;
    private String                 _yTitle;
@@ -419,6 +425,25 @@ public class ChartDataYSerie extends ChartDataSerie {
       return _lowValuesFloat;
    }
 
+   /**
+    * @return Returns the min/max pyramid for the first high value serie
+    */
+   MinMaxPyramid getMinMaxPyramid() {
+
+      final float[] values = _highValuesFloat[0];
+
+      MinMaxPyramid minMaxPyramid = _minMaxPyramid;
+
+      if (minMaxPyramid == null || minMaxPyramid.isForValues(values) == false) {
+
+         // pyramid is not yet created or the values are replaced
+
+         minMaxPyramid = _minMaxPyramid = new MinMaxPyramid(values);
+      }
+
+      return minMaxPyramid;
+   }
+
    public short[] getNoLine() {
 
       return _noLine;
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.chart;
+
+/**
+ * Multi resolution min/max pyramid for the values of a graph.
+ * <p>
+ * Each level contains the index of the min and max value for blocks of 2, 4, 8, ... values, the
+ * min/max value of any index range is then found in O(log n). A line graph draws only the first,
+ * min, max and last value of each pixel column (M4 aggregation), this paints the same pixels as
+ * all values of this column.
+ */
+public class MinMaxPyramid {
+
+   private final float[] _values;
+
+   /**
+    * Index of the min/max value for each block, level 0 contains blocks with 2 values, level 1 with
+    * 4 values...
+    */
+   private final int[][] _allMinIndices;
+   private final int[][] _allMaxIndices;
+
+   public MinMaxPyramid(final float[] values) {
+
+      _values = values;
+
+      int numLevels = 0;
+      for (int numBlocks = values.length; numBlocks > 1; numBlocks = (numBlocks + 1) / 2) {
+         numLevels++;
+      }
+
+      _allMinIndices = new int[numLevels][];
+      _allMaxIndices = new int[numLevels][];
+
+      int numPrevBlocks = values.length;
+
+      for (int levelIndex = 0; levelIndex < numLevels; levelIndex++) {
+
+         final int numBlocks = (numPrevBlocks + 1) / 2;
+
+         final int[] minIndices = _allMinIndices[levelIndex] = new int[numBlocks];
+         final int[] maxIndices = _allMaxIndices[levelIndex] = new int[numBlocks];
+
+         for (int blockIndex = 0; blockIndex < numBlocks; blockIndex++) {
+
+            final int leftIndex = blockIndex * 2;
+
+            // the last block can have only one child
+            final int rightIndex = Math.min(leftIndex + 1, numPrevBlocks - 1);
+
+            minIndices[blockIndex] = getMin(
+                  getBlockMinIndex(levelIndex, leftIndex),
+                  getBlockMinIndex(levelIndex, rightIndex));
+
+            maxIndices[blockIndex] = getMax(
+                  getBlockMaxIndex(levelIndex, leftIndex),
+                  getBlockMaxIndex(levelIndex, rightIndex));
+         }
+
+         numPrevBlocks = numBlocks;
+      }
+   }
+
+   /**
+    * @param level
+    *           Level 0 are the values, level 1 are the blocks with 2 values...
+    * @param blockIndex
+    *
+    * @return Returns the value index of the max value of the block
+    */
+   private int getBlockMaxIndex(final int level, final int blockIndex) {
+
+      return level == 0
+            ? blockIndex
+            : _allMaxIndices[level - 1][blockIndex];
+   }
+
+   private int getBlockMinIndex(final int level, final int blockIndex) {
+
+      return level == 0
+            ? blockIndex
+            : _allMinIndices[level - 1][blockIndex];
+   }
+
+   /**
+    * @return Returns the value index with the larger value, the first index is returned when both
+    *         values are equal
+    */
+   private int getMax(final int valueIndex1, final int valueIndex2) {
+
+      final float value1 = _values[valueIndex1];
+      final float value2 = _values[valueIndex2];
+
+      if (value2 > value1 || value2 == value1 && valueIndex2 < valueIndex1) {
+         return valueIndex2;
+      }
+
+      return valueIndex1;
+   }
+
+   /**
+    * @param firstIndex
+    * @param lastIndex
+    *
+    * @return Returns the index of the max value between the first and last index (inclusive), the
+    *         first index of the max value is returned when it occurs several times
+    */
+   public int getMaxIndex(final int firstIndex, final int lastIndex) {
+
+      int maxIndex = firstIndex;
+
+      int leftBlock = firstIndex;
+      int rightBlock = lastIndex;
+
+      for (int level = 0; leftBlock <= rightBlock; level++) {
+
+         // a left block which is the right child is not contained in the parent block of the range
+         if ((leftBlock & 1) == 1) {
+            maxIndex = getMax(maxIndex, getBlockMaxIndex(level, leftBlock++));
+         }
+
+         if ((rightBlock & 1) == 0) {
+            maxIndex = getMax(maxIndex, getBlockMaxIndex(level, rightBlock--));
+         }
+
+         leftBlock >>= 1;
+         rightBlock >>= 1;
+      }
+
+      return maxIndex;
+   }
+
+   /**
+    * @return Returns the value index with the smaller value, the first index is returned when both
+    *         values are equal
+    */
+   private int getMin(final int valueIndex1, final int valueIndex2) {
+
+      final float value1 = _values[valueIndex1];
+      final float value2 = _values[valueIndex2];
+
+      if (value2 < value1 || value2 == value1 && valueIndex2 < valueIndex1) {
+         return valueIndex2;
+      }
+
+      return valueIndex1;
+   }
+
+   /**
+    * @param firstIndex
+    * @param lastIndex
+    *
+    * @return Returns the index of the min value between the first and last index (inclusive), the
+    *         first index of the min value is returned when it occurs several times
+    */
+   public int getMinIndex(final int firstIndex, final int lastIndex) {
+
+      int minIndex = firstIndex;
+
+      int leftBlock = firstIndex;
+      int rightBlock = lastIndex;
+
+      for (int level = 0; leftBlock <= rightBlock; level++) {
+
+         if ((leftBlock & 1) == 1) {
+            minIndex = getMin(minIndex, getBlockMinIndex(level, leftBlock++));
+         }
+
+         if ((rightBlock & 1) == 0) {
+            minIndex = getMin(minIndex, getBlockMinIndex(level, rightBlock--));
+         }
+
+         leftBlock >>= 1;
+         rightBlock >>= 1;
+      }
+
+      return minIndex;
+   }
+
+   /**
+    * @param values
+    *
+    * @return Returns <code>true</code> when this pyramid is created for these values
+    */
+   boolean isForValues(final float[] values) {
+      return _values == values;
+   }
+}
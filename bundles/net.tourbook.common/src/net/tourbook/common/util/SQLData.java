@@ -94,6 +94,10 @@ public class SQLData {
 
             statement.setString(parameterIndex++, (String) parameter);
 
+         } else if (parameter instanceof Boolean) {
+
+            statement.setBoolean(parameterIndex++, (Boolean) parameter);
+
          } else {
 
             throw new RuntimeException("SQL parameter is not supported, " + parameter.getClass());//$NON-NLS-1$
@@ -45,6 +45,7 @@ import net.tourbook.data.GearData;
 import net.tourbook.data.GearDataType;
 import net.tourbook.data.SwimData;
 import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeDataBuffer;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourMarker;
 import net.tourbook.database.TourDatabase;
@@ -97,7 +98,7 @@ public class FitData {
    private String                               _sportName                = UI.EMPTY_STRING;
    private String                               _subSportName             = UI.EMPTY_STRING;
 
-   private final List<TimeData>                 _allTimeData              = new ArrayList<>();
+   private final TimeDataBuffer                 _timeDataBuffer           = new TimeDataBuffer();
    private final List<Long>                     _pausedTime_Start         = new ArrayList<>();
    private final List<Long>                     _pausedTime_End           = new ArrayList<>();
    private final List<Long>                     _pausedTime_Data          = new ArrayList<>();
@@ -118,9 +119,13 @@ public class FitData {
    private final List<GearData>          _allGearData           = new ArrayList<>();
    private final List<SwimData>          _allSwimData           = new ArrayList<>();
    private final List<TourMarker>        _allTourMarker         = new ArrayList<>();
+
+   /**
+    * This time data is reused for all records, the values are appended to {@link #_timeDataBuffer}
+    */
+   private final TimeData                       _record_TimeData          = new TimeData();
    private TimeData                             _current_TimeData;
-   private TimeData                             _lastAdded_TimeData;
-   private TimeData                             _previous_TimeData;
+   private String                               _powerDataSource;
 
    private TourMarker                           _current_TourMarker;
    private long                                 _timeDiffMS;
@@ -231,8 +236,8 @@ public class FitData {
       _deviceInfoListener.logDeviceData();
 
       // reset speed at first position
-      if (_allTimeData.size() > 0) {
-         _allTimeData.get(0).speed = Float.MIN_VALUE;
+      if (_timeDataBuffer.getSpeed(0) != Float.MIN_VALUE) {
+         _timeDataBuffer.setSpeed(0, Float.MIN_VALUE);
       }
 
 // disabled, this is annoying
@@ -247,11 +252,11 @@ public class FitData {
       _tourData.setDeviceTimeInterval((short) -1);
 
       long recordStartTime;
-      if (_allTimeData.size() > 0) {
+      if (_timeDataBuffer.isEmpty() == false) {
 
          // this is the normal case
 
-         recordStartTime = _allTimeData.get(0).absoluteTime;
+         recordStartTime = _timeDataBuffer.getAbsoluteTime(0);
 
       } else if (_sessionStartTime != null) {
 
@@ -315,7 +320,7 @@ public class FitData {
          _tourData.customTracksDefinition.put(idNew, customTrackDefinition);
       }
 
-      _tourData.createTimeSeries(_allTimeData, false, _importState_Process);
+      _tourData.createTimeSeries(_timeDataBuffer, false, _importState_Process);
 
 
       _tourData.finalizeTour_TimerPauses(_pausedTime_Start, _pausedTime_End, _pausedTime_Data);
@@ -889,10 +894,6 @@ public class FitData {
       return _allDeviceSensorValues;
    }
 
-   public List<TimeData> getAllTimeData() {
-      return _allTimeData;
-   }
-
    public List<Short> getBattery_Percentage() {
       return _allBatteryPercentage;
    }
@@ -962,10 +963,6 @@ public class FitData {
       return _importState_Process;
    }
 
-   public TimeData getLastAdded_TimeData() {
-      return _lastAdded_TimeData;
-   }
-
    public String getManufacturerName(final Integer manufacturerNumber) {
 
       String manufacturerName = UI.EMPTY_STRING;
@@ -993,6 +990,14 @@ public class FitData {
       return _pausedTime_Start;
    }
 
+   /**
+    * @return Returns the power data source of the first record which has a power data source or
+    *         <code>null</code>
+    */
+   public String getPowerDataSource() {
+      return _powerDataSource;
+   }
+
    public String getProductNameCombined(final Integer productNumber,
                                         final String productName,
                                         final Integer garminProductNumber,
@@ -1028,8 +1033,8 @@ public class FitData {
       return _allSwimData;
    }
 
-   public List<TimeData> getTimeData() {
-      return _allTimeData;
+   public TimeDataBuffer getTimeDataBuffer() {
+      return _timeDataBuffer;
    }
 
    public long getTimeDiffMS() {
@@ -1063,7 +1068,9 @@ public class FitData {
 
    public void onSetup_Record_10_Initialize() {
 
-      _current_TimeData = new TimeData();
+      _record_TimeData.reset();
+
+      _current_TimeData = _record_TimeData;
    }
 
    public void onSetup_Record_20_Finalize() {
@@ -1073,66 +1080,66 @@ public class FitData {
          return;
       }
 
-      boolean useThisTimeSlice = true;
-
-      if (_previous_TimeData != null) {
+      final int lastIndex = _timeDataBuffer.size() - 1;
 
-         final long prevTime = _previous_TimeData.absoluteTime;
-         final long currentTime = _current_TimeData.absoluteTime;
+      if (lastIndex >= 0 && _timeDataBuffer.getAbsoluteTime(lastIndex) == _current_TimeData.absoluteTime) {
 
-         if (prevTime == currentTime) {
+         /*
+          * Ignore and merge duplicated records. The device Bryton 210 creates duplicated entries, to
+          * have valid data for this device, they must be merged.
+          */
 
-            /*
-             * Ignore and merge duplicated records. The device Bryton 210 creates duplicated
-             * entries, to have valid data for this device, they must be merged.
-             */
+         final TimeData current = _current_TimeData;
 
-            useThisTimeSlice = false;
+// SET_FORMATTING_OFF
 
-            if (_previous_TimeData.absoluteAltitude == Float.MIN_VALUE) {
-               _previous_TimeData.absoluteAltitude = _current_TimeData.absoluteAltitude;
-            }
+         if (_timeDataBuffer.getAbsoluteAltitude(lastIndex) == Float.MIN_VALUE && current.absoluteAltitude != Float.MIN_VALUE) {
+            _timeDataBuffer.setAbsoluteAltitude(lastIndex, current.absoluteAltitude);
+         }
 
-            if (_previous_TimeData.absoluteDistance == Float.MIN_VALUE) {
-               _previous_TimeData.absoluteDistance = _current_TimeData.absoluteDistance;
-            }
+         if (_timeDataBuffer.getAbsoluteDistance(lastIndex) == Float.MIN_VALUE && current.absoluteDistance != Float.MIN_VALUE) {
+            _timeDataBuffer.setAbsoluteDistance(lastIndex, current.absoluteDistance);
+         }
 
-            if (_previous_TimeData.cadence == Float.MIN_VALUE) {
-               _previous_TimeData.cadence = _current_TimeData.cadence;
-            }
+         if (_timeDataBuffer.getCadence(lastIndex) == Float.MIN_VALUE && current.cadence != Float.MIN_VALUE) {
+            _timeDataBuffer.setCadence(lastIndex, current.cadence);
+         }
 
-            if (_previous_TimeData.latitude == Double.MIN_VALUE) {
-               _previous_TimeData.latitude = _current_TimeData.latitude;
-            }
+         if (_timeDataBuffer.getLatitude(lastIndex) == Double.MIN_VALUE && current.latitude != Double.MIN_VALUE) {
+            _timeDataBuffer.setLatitude(lastIndex, current.latitude);
+         }
 
-            if (_previous_TimeData.longitude == Double.MIN_VALUE) {
-               _previous_TimeData.longitude = _current_TimeData.longitude;
-            }
+         if (_timeDataBuffer.getLongitude(lastIndex) == Double.MIN_VALUE && current.longitude != Double.MIN_VALUE) {
+            _timeDataBuffer.setLongitude(lastIndex, current.longitude);
+         }
 
-            if (_previous_TimeData.power == Float.MIN_VALUE) {
-               _previous_TimeData.power = _current_TimeData.power;
-            }
+         if (_timeDataBuffer.getPower(lastIndex) == Float.MIN_VALUE && current.power != Float.MIN_VALUE) {
+            _timeDataBuffer.setPower(lastIndex, current.power);
+         }
 
-            if (_previous_TimeData.pulse == Float.MIN_VALUE) {
-               _previous_TimeData.pulse = _current_TimeData.pulse;
-            }
+         if (_timeDataBuffer.getPulse(lastIndex) == Float.MIN_VALUE && current.pulse != Float.MIN_VALUE) {
+            _timeDataBuffer.setPulse(lastIndex, current.pulse);
+         }
 
-            if (_previous_TimeData.speed == Float.MIN_VALUE) {
-               _previous_TimeData.speed = _current_TimeData.speed;
-            }
+         if (_timeDataBuffer.getSpeed(lastIndex) == Float.MIN_VALUE && current.speed != Float.MIN_VALUE) {
+            _timeDataBuffer.setSpeed(lastIndex, current.speed);
+         }
 
-            if (_previous_TimeData.temperature == Float.MIN_VALUE) {
-               _previous_TimeData.temperature = _current_TimeData.temperature;
-            }
+         if (_timeDataBuffer.getTemperature(lastIndex) == Float.MIN_VALUE && current.temperature != Float.MIN_VALUE) {
+            _timeDataBuffer.setTemperature(lastIndex, current.temperature);
          }
-      }
 
-      if (useThisTimeSlice) {
-         _allTimeData.add(_current_TimeData);
-         _lastAdded_TimeData = _current_TimeData;
+// SET_FORMATTING_ON
+
+      } else {
+
+         _timeDataBuffer.add(_current_TimeData);
+
+         if (_powerDataSource == null) {
+            _powerDataSource = _current_TimeData.powerDataSource;
+         }
       }
 
-      _previous_TimeData = _current_TimeData;
       _current_TimeData = null;
    }
 
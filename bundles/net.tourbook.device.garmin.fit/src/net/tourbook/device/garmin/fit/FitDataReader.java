@@ -51,7 +51,9 @@ import net.tourbook.device.garmin.fit.listeners.MesgListener_Length;
 import net.tourbook.device.garmin.fit.listeners.MesgListener_Record;
 import net.tourbook.device.garmin.fit.listeners.MesgListener_Session;
 import net.tourbook.device.garmin.fit.listeners.MesgListener_Sport;
+import net.tourbook.importdata.ContentProbeResult;
 import net.tourbook.importdata.DeviceData;
+import net.tourbook.importdata.ImportFileHeader;
 import net.tourbook.importdata.ImportState_File;
 import net.tourbook.importdata.ImportState_Process;
 import net.tourbook.importdata.SerialParameters;
@@ -1001,6 +1003,25 @@ public class FitDataReader extends TourbookDevice {
       }
    }
 
+   /**
+    * A FIT file starts with the header size (12 or 14 bytes) and contains ".FIT" at byte 8
+    */
+   @Override
+   public ContentProbeResult probeFileHeader(final ImportFileHeader fileHeader) {
+
+      if (fileHeader.isEmpty()) {
+         return ContentProbeResult.UNKNOWN;
+      }
+
+      final int headerSize = fileHeader.getUnsignedByte(0);
+
+      if ((headerSize == 12 || headerSize == 14) && fileHeader.isText(8, ".FIT")) { //$NON-NLS-1$
+         return ContentProbeResult.MATCH;
+      }
+
+      return ContentProbeResult.NO_MATCH;
+   }
+
    @Override
    public void processDeviceData(final String importFilePath,
                                  final DeviceData deviceData,
@@ -18,8 +18,7 @@ package net.tourbook.device.garmin.fit.listeners;
 import com.garmin.fit.HrvMesg;
 import com.garmin.fit.HrvMesgListener;
 
-import net.tourbook.common.util.Util;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeDataBuffer;
 import net.tourbook.device.garmin.fit.FitData;
 
 import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
@@ -61,20 +60,13 @@ public class MesgListener_Hrv extends AbstractMesgListener implements HrvMesgLis
 
       if (pulseTime.size() > 0) {
 
-         final TimeData timeData = fitData.getLastAdded_TimeData();
+         final TimeDataBuffer timeDataBuffer = fitData.getTimeDataBuffer();
+         final int lastAddedIndex = timeDataBuffer.size() - 1;
 
-         if (timeData != null) {
+         if (lastAddedIndex >= 0) {
 
-            if (timeData.pulseTime == null) {
-
-               timeData.pulseTime = pulseTime.toArray();
-
-            } else {
-
-               // append to existing values
-
-               timeData.pulseTime = Util.concatInt(timeData.pulseTime, pulseTime.toArray());
-            }
+            // append to existing values
+            timeDataBuffer.addPulseTimes(lastAddedIndex, pulseTime.toArray());
          }
       }
    }
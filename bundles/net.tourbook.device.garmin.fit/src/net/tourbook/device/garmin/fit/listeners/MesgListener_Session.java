@@ -26,7 +26,7 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 
 import net.tourbook.common.time.TimeTools;
-import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeDataBuffer;
 import net.tourbook.data.TourData;
 import net.tourbook.device.garmin.fit.FitData;
 import net.tourbook.device.garmin.fit.FitDataReaderException;
@@ -149,16 +149,20 @@ public class MesgListener_Session extends AbstractMesgListener implements Sessio
       // Looking if the power was retrieved from the developer fields
       if (mesg.getMaxPower() == null && mesg.getAvgPower() == null) {
          final ArrayList<Float> powerDataList = new ArrayList<>();
-         for (final TimeData timeData : fitData.getTimeData()) {
-            if (timeData.power != Float.MIN_VALUE) {
-               powerDataList.add(timeData.power);
-            }
+         final TimeDataBuffer timeDataBuffer = fitData.getTimeDataBuffer();
+         for (int timeIndex = 0; timeIndex < timeDataBuffer.size(); timeIndex++) {
 
-            if (tourData.getPower_DataSource() == null && timeData.powerDataSource != null) {
-               tourData.setPower_DataSource(timeData.powerDataSource);
+            final float power = timeDataBuffer.getPower(timeIndex);
+            if (power != Float.MIN_VALUE) {
+               powerDataList.add(power);
             }
          }
 
+         final String powerDataSource = fitData.getPowerDataSource();
+         if (tourData.getPower_DataSource() == null && powerDataSource != null) {
+            tourData.setPower_DataSource(powerDataSource);
+         }
+
          if (powerDataList.size() > 0) {
 
             fitData.isComputeAveragePower = true;
@@ -23,7 +23,9 @@ import net.tourbook.common.UI;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.XmlUtils;
 import net.tourbook.data.TourData;
+import net.tourbook.importdata.ContentProbeResult;
 import net.tourbook.importdata.DeviceData;
+import net.tourbook.importdata.ImportFileHeader;
 import net.tourbook.importdata.ImportState_File;
 import net.tourbook.importdata.ImportState_Process;
 import net.tourbook.importdata.SerialParameters;
@@ -68,6 +70,11 @@ public class GarminTCX_DeviceDataReader extends TourbookDevice {
       return -1;
    }
 
+   @Override
+   public ContentProbeResult probeFileHeader(final ImportFileHeader fileHeader) {
+      return probeXMLFileHeader(fileHeader, XML_GARMIN_TAG);
+   }
+
    @Override
    public void processDeviceData(final String importFilePath,
                                  final DeviceData deviceData,
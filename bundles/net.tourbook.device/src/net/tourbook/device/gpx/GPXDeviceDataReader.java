@@ -30,7 +30,9 @@ import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.Util;
 import net.tourbook.common.util.XmlUtils;
 import net.tourbook.data.TourData;
+import net.tourbook.importdata.ContentProbeResult;
 import net.tourbook.importdata.DeviceData;
+import net.tourbook.importdata.ImportFileHeader;
 import net.tourbook.importdata.ImportState_File;
 import net.tourbook.importdata.ImportState_Process;
 import net.tourbook.importdata.SerialParameters;
@@ -156,6 +158,11 @@ public class GPXDeviceDataReader extends TourbookDevice {
       return false;
    }
 
+   @Override
+   public ContentProbeResult probeFileHeader(final ImportFileHeader fileHeader) {
+      return probeXMLFileHeader(fileHeader, XML_GPX_TAG);
+   }
+
    @Override
    public void processDeviceData(final String importFilePath,
                                  final DeviceData deviceData,
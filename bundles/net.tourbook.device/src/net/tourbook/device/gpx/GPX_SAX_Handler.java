@@ -20,7 +20,6 @@ import java.text.SimpleDateFormat;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -31,6 +30,7 @@ import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.MtMath;
 import net.tourbook.common.util.Util;
 import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeDataBuffer;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourMarker;
 import net.tourbook.data.TourWayPoint;
@@ -288,9 +288,13 @@ public class GPX_SAX_Handler extends DefaultHandler {
    private boolean                       _isInWpt_UrlAddress;
    private boolean                       _isInWpt_UrlText;
 
-   private final ArrayList<TimeData>     _timeDataList          = new ArrayList<>();
+   private final TimeDataBuffer          _timeDataBuffer        = new TimeDataBuffer();
+
+   /**
+    * Is reused for all trackpoints, the values are appended to {@link #_timeDataBuffer}
+    */
+   private final TimeData                _reusedTimeSlice       = new TimeData();
    private TimeData                      _timeSlice;
-   private TimeData                      _prevTimeSlice;
    private String                        _trkDesc;
    private String                        _trkName;
 
@@ -972,13 +976,13 @@ public class GPX_SAX_Handler extends DefaultHandler {
 
    private void finalizeTour() {
 
-      if (_timeDataList.isEmpty()) {
+      if (_timeDataBuffer.isEmpty()) {
          // there is not data
 // disabled to imports tour without tracks
 //         return;
       }
 
-      // insert Laps into _timeDataList
+      // insert Laps into _timeDataBuffer
       insertLapData();
 
       // create data object for each tour
@@ -994,12 +998,11 @@ public class GPX_SAX_Handler extends DefaultHandler {
          _tourData.setTourDescription(_trkDesc);
       }
 
-      if (!_timeDataList.isEmpty()) {
+      if (!_timeDataBuffer.isEmpty()) {
 
          // set tour start date/time
 
-         final TimeData firstTimeData = _timeDataList.get(0);
-         final Instant tourStartInstant = Instant.ofEpochMilli(firstTimeData.absoluteTime);
+         final Instant tourStartInstant = Instant.ofEpochMilli(_timeDataBuffer.getAbsoluteTime(0));
 
          ZonedDateTime dtTourStart;
 
@@ -1027,7 +1030,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
       _tourData.setDeviceId(_device.deviceId);
       _tourData.setDeviceName(_device.visibleName);
 
-      _tourData.createTimeSeries(_timeDataList, true);
+      _tourData.createTimeSeries(_timeDataBuffer, true);
 
       // after all data are added, the tour id can be created
       final String uniqueId = _device.createUniqueId(_tourData, Util.UNIQUE_ID_SUFFIX_GPX);
@@ -1113,12 +1116,12 @@ public class GPX_SAX_Handler extends DefaultHandler {
          return;
       }
 
-      _timeDataList.add(_timeSlice);
-
       /*
        * calculate distance
        */
-      if (_prevTimeSlice == null) {
+      final int prevIndex = _timeDataBuffer.size() - 1;
+
+      if (prevIndex < 0) {
          // first time data
          _timeSlice.absoluteDistance = 0;
       } else {
@@ -1135,8 +1138,8 @@ public class GPX_SAX_Handler extends DefaultHandler {
                // compute distance from lat/lon
 
                _timeSlice.absoluteDistance = _absoluteDistance += MtMath.distanceVincenty(
-                     _prevTimeSlice.latitude,
-                     _prevTimeSlice.longitude,
+                     _timeDataBuffer.getLatitude(prevIndex),
+                     _timeDataBuffer.getLongitude(prevIndex),
                      _timeSlice.latitude,
                      _timeSlice.longitude);
             }
@@ -1167,7 +1170,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
          _timeSlice.markerLabel = markerLabel;
       }
 
-      _prevTimeSlice = _timeSlice;
+      _timeDataBuffer.add(_timeSlice);
    }
 
    private void finalizeWayPoint() {
@@ -1307,7 +1310,7 @@ public class GPX_SAX_Handler extends DefaultHandler {
          _tourData = new TourData();
       }
 
-      _timeDataList.clear();
+      _timeDataBuffer.clear();
 
       _allImportedTagNames.clear();
       _tourTypeName = null;
@@ -1318,7 +1321,6 @@ public class GPX_SAX_Handler extends DefaultHandler {
       _tourElevationGain = 0;
       _tourElevationLoss = 0;
 
-      _prevTimeSlice = null;
       _trkName = null;
       _isTourMarkerImported = false;
    }
@@ -1333,13 +1335,12 @@ public class GPX_SAX_Handler extends DefaultHandler {
          boolean found = false;
          absoluteDistance += lap.distance;
 
-         for (final TimeData timeData : _timeDataList) {
+         for (int timeIndex = 0; timeIndex < _timeDataBuffer.size(); timeIndex++) {
 
-            if ((lap.latitude == timeData.latitude) && (lap.longitude == timeData.longitude)) {
+            if ((lap.latitude == _timeDataBuffer.getLatitude(timeIndex)) && (lap.longitude == _timeDataBuffer.getLongitude(timeIndex))) {
 
                /* timeslice already exists */
-               timeData.marker = 1;
-               timeData.markerLabel = NLS.bind(Messages.Marker_Label_Lap, Integer.parseInt(lap.index) + 1);
+               _timeDataBuffer.setMarker(timeIndex, 1, NLS.bind(Messages.Marker_Label_Lap, Integer.parseInt(lap.index) + 1));
 
                found = true;
                break;
@@ -1355,24 +1356,15 @@ public class GPX_SAX_Handler extends DefaultHandler {
             timeSlice.markerLabel = NLS.bind(Messages.Marker_Label_Lap, Integer.parseInt(lap.index) + 1);
             timeSlice.absoluteDistance = absoluteDistance;
 
-            _timeDataList.add(timeSlice);
+            _timeDataBuffer.add(timeSlice);
             needsSort = true;
          }
 
       }
 
       if (needsSort) {
-         /* sort the _timeDataList */
-         Collections.sort(_timeDataList, (timeData1, timeData2) -> {
-            if (timeData1.absoluteTime < timeData2.absoluteTime) {
-               return -1;
-            }
-            if (timeData1.absoluteTime > timeData2.absoluteTime) {
-               return 1;
-            }
-
-            return 0;
-         });
+         /* sort the time slices */
+         _timeDataBuffer.sortByAbsoluteTime();
       }
    }
 
@@ -1655,8 +1647,9 @@ public class GPX_SAX_Handler extends DefaultHandler {
           */
          _isInTrkPt = true;
 
-         // create new time item
-         _timeSlice = new TimeData();
+         // reuse time item
+         _reusedTimeSlice.reset();
+         _timeSlice = _reusedTimeSlice;
 
          // get attributes
          _timeSlice.latitude = getDoubleValue(attributes.getValue(ATTR_LATITUDE));
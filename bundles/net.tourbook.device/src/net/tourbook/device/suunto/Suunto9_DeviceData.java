@@ -17,11 +17,13 @@ package net.tourbook.device.suunto;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 
 import net.tourbook.common.UI;
 import net.tourbook.common.util.StatusUtil;
@@ -33,9 +35,6 @@ import net.tourbook.importdata.ImportState_File;
 import net.tourbook.importdata.ImportState_Process;
 
 import org.apache.commons.io.FilenameUtils;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
 
 public class Suunto9_DeviceData {
 
@@ -45,7 +44,11 @@ public class Suunto9_DeviceData {
     */
    private HashMap<TourData, List<TimeData>> _processedActivities;
 
-   private HashMap<String, String>           _childrenActivitiesToProcess = new HashMap<>();
+   /**
+    * File paths of the children activities, the files are read again when they are concatenated
+    * so that their content is not kept in memory
+    */
+   private Set<String>                       _childrenActivitiesToProcess = new HashSet<>();
 
    private Map<Long, TourData>               _newlyImportedTours          = new HashMap<>();
    private Map<Long, TourData>               _alreadyImportedTours        = new HashMap<>();
@@ -110,7 +113,7 @@ public class Suunto9_DeviceData {
 
       final ArrayList<String> keysToRemove = new ArrayList<>();
       for (@SuppressWarnings("unused")
-      final Map.Entry<String, String> unused : _childrenActivitiesToProcess.entrySet()) {
+      final String unused : _childrenActivitiesToProcess) {
 
          final String parentFileName = getFileNameWithoutNumber(
                FilenameUtils.getBaseName(filePath)) +
@@ -118,25 +121,25 @@ public class Suunto9_DeviceData {
                String.valueOf(++currentFileNumber) +
                ".json.gz"; //$NON-NLS-1$
 
-         final Map.Entry<String, String> childEntry = getChildActivity(parentFileName);
+         final String childFilePath = getChildActivity(parentFileName);
 
-         if (childEntry == null) {
+         if (childFilePath == null) {
             continue;
          }
 
          suuntoJsonProcessor.ImportActivity(
-               childEntry.getValue(),
+               childFilePath,
                currentActivity,
                sampleListToReUse);
 
          // We just concatenated a child activity so we can remove it
          // from the list of activities to process.
-         keysToRemove.add(childEntry.getKey());
+         keysToRemove.add(childFilePath);
 
          // We need to update the activity we just concatenated by
          // updating the file path and the activity object.
          removeProcessedActivity(currentActivity.getImportFilePath());
-         currentActivity.setImportFilePath(childEntry.getKey());
+         currentActivity.setImportFilePath(childFilePath);
 
          if (_isJUnitTest) {
             _processedActivities.put(currentActivity, suuntoJsonProcessor.getSampleList());
@@ -153,12 +156,12 @@ public class Suunto9_DeviceData {
     *
     * @param filePath
     *           The absolute path of a given activity.
-    * @return If found, the child activity.
+    * @return If found, the file path of the child activity.
     */
-   private Entry<String, String> getChildActivity(final String filePath) {
+   private String getChildActivity(final String filePath) {
 
-      final Optional<Entry<String, String>> childActivity = _childrenActivitiesToProcess.entrySet().stream()
-            .filter(entry -> entry.getKey().contains(filePath))
+      final Optional<String> childActivity = _childrenActivitiesToProcess.stream()
+            .filter(childFilePath -> childFilePath.contains(filePath))
             .findFirst();
 
       return childActivity.isPresent() ? childActivity.get() : null;
@@ -181,42 +184,6 @@ public class Suunto9_DeviceData {
       return fileName.substring(0, fileName.lastIndexOf(UI.DASH));
    }
 
-   /**
-    * Checks if the file is a valid Suunto Spartan/9 activity.
-    *
-    * @param jsonFileContent
-    *           The content to check.
-    * @return Returns <code>true</code> when the file contains content of a valid activity.
-    */
-   protected boolean isValidActivity(final String jsonFileContent) {
-
-      if (StringUtils.isNullOrEmpty(jsonFileContent)) {
-         return false;
-      }
-
-      try {
-         final JSONObject jsonContent = new JSONObject(jsonFileContent);
-         final JSONArray samples = (JSONArray) jsonContent.get(SuuntoJsonProcessor.TAG_SAMPLES);
-
-         for (int index = 0; index < samples.length(); ++index) {
-            final String currentSample = samples.getJSONObject(index).toString();
-            if (currentSample.contains(SuuntoJsonProcessor.TAG_SAMPLE) &&
-                  (currentSample.contains(SuuntoJsonProcessor.TAG_GPSALTITUDE) ||
-                        currentSample.contains(SuuntoJsonProcessor.TAG_LONGITUDE) ||
-                        currentSample.contains(SuuntoJsonProcessor.TAG_LATITUDE) ||
-                        currentSample.contains(SuuntoJsonProcessor.TAG_ALTITUDE))) {
-               return true;
-            }
-         }
-
-      } catch (final JSONException ex) {
-         StatusUtil.log(ex);
-         return false;
-      }
-
-      return false;
-   }
-
    /**
     * Checks if an activity has already been processed.
     *
@@ -231,9 +198,7 @@ public class Suunto9_DeviceData {
 
    void processFile() {
 
-      final String jsonFileContent = _suunto9_DeviceDataReader.GetJsonContentFromGZipFile(_importFilePath, false);
-
-      _importState_File.isFileImportedWithValidData = processFile(_importFilePath, jsonFileContent);
+      _importState_File.isFileImportedWithValidData = processFile(_importFilePath);
    }
 
    /**
@@ -241,11 +206,9 @@ public class Suunto9_DeviceData {
     *
     * @param filePath
     *           The absolute full path of a given activity.
-    * @param jsonFileContent
-    *           The JSON content of the activity file.
     * @return The Suunto activity as a tour.
     */
-   private boolean processFile(final String filePath, final String jsonFileContent) {
+   private boolean processFile(final String filePath) {
 
       String fileName = FilenameUtils.removeExtension(filePath);
 
@@ -268,7 +231,7 @@ public class Suunto9_DeviceData {
       TourData activity = null;
       if (fileNumber == 1) {
          activity = suuntoJsonProcessor.ImportActivity(
-               jsonFileContent,
+               filePath,
                null,
                null);
 
@@ -314,13 +277,11 @@ public class Suunto9_DeviceData {
          }
 
          if (parentEntry == null) {
-            if (!_childrenActivitiesToProcess.containsKey(filePath)) {
-               _childrenActivitiesToProcess.put(filePath, jsonFileContent);
-            }
+            _childrenActivitiesToProcess.add(filePath);
          } else {
 
             activity = suuntoJsonProcessor.ImportActivity(
-                  jsonFileContent,
+                  filePath,
                   parentEntry.getKey(),
                   parentEntry.getValue());
 
@@ -15,27 +15,23 @@
  *******************************************************************************/
 package net.tourbook.device.suunto;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.zip.GZIPInputStream;
 
 import net.tourbook.common.UI;
 import net.tourbook.common.util.StatusUtil;
-import net.tourbook.common.util.StringUtils;
 import net.tourbook.data.TimeData;
 import net.tourbook.data.TourData;
+import net.tourbook.importdata.ContentProbeResult;
 import net.tourbook.importdata.DeviceData;
+import net.tourbook.importdata.ImportFileHeader;
 import net.tourbook.importdata.ImportState_File;
 import net.tourbook.importdata.ImportState_Process;
 import net.tourbook.importdata.SerialParameters;
 import net.tourbook.importdata.TourbookDevice;
 
-import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -62,41 +58,6 @@ public class Suunto9_DeviceDataReader extends TourbookDevice {
       return UI.EMPTY_STRING;
    }
 
-   /**
-    * Retrieves the JSON content from a GZip Suunto file.
-    *
-    * @param gzipFilePath
-    *           The absolute file path of the Suunto file.
-    * @param isValidatingFile
-    * @return Returns the JSON content.
-    */
-   String GetJsonContentFromGZipFile(final String gzipFilePath, final boolean isValidatingFile) {
-
-      String jsonFileContent = null;
-
-      try (FileInputStream fileInputStream = new FileInputStream(gzipFilePath);
-            final GZIPInputStream gzip = new GZIPInputStream(fileInputStream);
-            final InputStreamReader inputStreamReader = new InputStreamReader(gzip);
-            final BufferedReader br = new BufferedReader(inputStreamReader)) {
-
-         jsonFileContent = br.readLine();
-
-      } catch (final IOException e) {
-
-         /*
-          * Log only when reading the zip file, during a validation, an exception can be very
-          * likely and should not be displayed
-          */
-         if (!isValidatingFile) {
-            StatusUtil.log(e);
-         }
-
-         return UI.EMPTY_STRING;
-      }
-
-      return jsonFileContent;
-   }
-
    @Override
    public SerialParameters getPortParameters(final String portName) {
       return null;
@@ -115,22 +76,23 @@ public class Suunto9_DeviceDataReader extends TourbookDevice {
    /**
     * Checks if the file is a valid Suunto Spartan/9 activity.
     *
-    * @param jsonFileContent
-    *           The content to check.
+    * The samples are read one by one until a sample with location or altitude data is found.
+    *
+    * @param gzipFilePath
+    *           The absolute file path of the Suunto file.
     * @return Returns <code>true</code> when the file contains content of a valid activity.
     */
-   protected boolean isValidActivity(final String jsonFileContent) {
+   protected boolean isValidActivity(final String gzipFilePath) {
 
-      if (StringUtils.isNullOrEmpty(jsonFileContent)) {
-         return false;
-      }
+      try (SuuntoJsonSampleReader sampleReader = new SuuntoJsonSampleReader(gzipFilePath)) {
 
-      try {
-         final JSONObject jsonContent = new JSONObject(jsonFileContent);
-         final JSONArray samples = (JSONArray) jsonContent.get(SuuntoJsonProcessor.TAG_SAMPLES);
+         if (!sampleReader.moveToSamples()) {
+            return false;
+         }
 
-         for (int index = 0; index < samples.length(); ++index) {
-            final String currentSample = samples.getJSONObject(index).toString();
+         JSONObject sample;
+         while ((sample = sampleReader.nextSample()) != null) {
+            final String currentSample = sample.toString();
             if (currentSample.contains(SuuntoJsonProcessor.TAG_SAMPLE) &&
                   (currentSample.contains(SuuntoJsonProcessor.TAG_GPSALTITUDE) ||
                         currentSample.contains(SuuntoJsonProcessor.TAG_LONGITUDE) ||
@@ -140,6 +102,13 @@ public class Suunto9_DeviceDataReader extends TourbookDevice {
             }
          }
 
+      } catch (final IOException e) {
+
+         /*
+          * During a validation, an exception can be very likely and should not be displayed
+          */
+         return false;
+
       } catch (final JSONException ex) {
          StatusUtil.log(ex);
          return false;
@@ -148,6 +117,28 @@ public class Suunto9_DeviceDataReader extends TourbookDevice {
       return false;
    }
 
+   /**
+    * The activity is a gzip compressed json file, the samples key is checked in the uncompressed
+    * header
+    */
+   @Override
+   public ContentProbeResult probeFileHeader(final ImportFileHeader fileHeader) {
+
+      if (fileHeader.isEmpty()) {
+         return ContentProbeResult.UNKNOWN;
+      }
+
+      if (fileHeader.isGzip() == false) {
+         return ContentProbeResult.NO_MATCH;
+      }
+
+      if (fileHeader.getGzipText().contains(UI.SYMBOL_QUOTATION_MARK + SuuntoJsonProcessor.TAG_SAMPLES + UI.SYMBOL_QUOTATION_MARK)) {
+         return ContentProbeResult.MATCH;
+      }
+
+      return ContentProbeResult.UNKNOWN;
+   }
+
    @Override
    public void processDeviceData(final String importFilePath,
                                  final DeviceData deviceData,
@@ -180,7 +171,6 @@ public class Suunto9_DeviceDataReader extends TourbookDevice {
          return false;
       }
 
-      final String jsonFileContent = GetJsonContentFromGZipFile(fileName, true);
-      return isValidActivity(jsonFileContent);
+      return isValidActivity(fileName);
    }
 }
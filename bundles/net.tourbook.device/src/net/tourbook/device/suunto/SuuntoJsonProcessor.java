@@ -15,6 +15,7 @@
  *******************************************************************************/
 package net.tourbook.device.suunto;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
@@ -65,6 +66,7 @@ public class SuuntoJsonProcessor {
    private static final String TAG_START          = "Start";            //$NON-NLS-1$
    private static final String TAG_TYPE           = "Type";             //$NON-NLS-1$
    private static final String TAG_PAUSE          = "Pause";            //$NON-NLS-1$
+   private static final String TAG_STATE          = "State";            //$NON-NLS-1$
    private static final String TAG_HR             = "HR";               //$NON-NLS-1$
    private static final String TAG_RR             = "R-R";              //$NON-NLS-1$
    private static final String TAG_DATA           = "Data";             //$NON-NLS-1$
@@ -101,10 +103,9 @@ public class SuuntoJsonProcessor {
     * @param currentSample
     *           The current JSON sample data.
     */
-   private void BuildRRDataList(final List<Integer> rrDataList, final String currentSample) {
-      final JSONObject currentSampleJson = new JSONObject(currentSample);
+   private void BuildRRDataList(final List<Integer> rrDataList, final JSONObject currentSample) {
       final ArrayList<Integer> RRValues = TryRetrieveIntegerListElementValue(
-            currentSampleJson.getJSONObject(TAG_RR).toString(),
+            currentSample.getJSONObject(TAG_RR),
             TAG_DATA);
 
       if (RRValues.isEmpty()) {
@@ -163,6 +164,33 @@ public class SuuntoJsonProcessor {
       }
    }
 
+   /**
+    * Searches an event in the events of a sample.
+    *
+    * @param currentSample
+    *           The current JSON sample data.
+    * @param eventName
+    *           The event name to look for, e.g. {@link #TAG_LAP}.
+    * @return The event content, if found.
+    */
+   private JSONObject getEvent(final JSONObject currentSample, final String eventName) {
+
+      final JSONArray allEvents = currentSample.optJSONArray(TAG_EVENTS);
+      if (allEvents == null) {
+         return null;
+      }
+
+      for (int eventIndex = 0; eventIndex < allEvents.length(); ++eventIndex) {
+
+         final JSONObject event = allEvents.optJSONObject(eventIndex);
+         if (event != null && event.has(eventName)) {
+            return event.optJSONObject(eventName);
+         }
+      }
+
+      return null;
+   }
+
    /**
     * Retrieves the current activity's data.
     *
@@ -175,31 +203,70 @@ public class SuuntoJsonProcessor {
    /**
     * Processes and imports a Suunto activity (from a Suunto 9 or Spartan watch).
     *
-    * @param jsonFileContent
-    *           The Suunto's file content in JSON format.
+    * @param gzipFilePath
+    *           The absolute file path of the Suunto file, the JSON content is read sample by
+    *           sample.
     * @param activityToReUse
     *           If provided, the activity to concatenate the provided file to.
     * @param sampleListToReUse
     *           If provided, the activity's data from the activity to reuse.
     * @return The created tour.
     */
-   public TourData ImportActivity(final String jsonFileContent,
+   public TourData ImportActivity(final String gzipFilePath,
                                   final TourData activityToReUse,
                                   final List<TimeData> sampleListToReUse) {
-      _sampleList = new ArrayList<>();
-      final ArrayList<Long> _pausedTime_Start = new ArrayList<>();
-      final ArrayList<Long> _pausedTime_End = new ArrayList<>();
 
-      JSONArray samples = null;
+      // We detect the available sensors, the sensors must be known before the samples are read,
+      // so the file is read twice instead of keeping its whole uncompressed content in memory
+      final Set<String> allFoundTags;
       try {
-         final JSONObject jsonContent = new JSONObject(jsonFileContent);
-         samples = (JSONArray) jsonContent.get(TAG_SAMPLES);
-      } catch (final JSONException ex) {
+         allFoundTags = SuuntoJsonSampleReader.findTexts(gzipFilePath, TAG_HR, TAG_RR, TAG_GPSALTITUDE);
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+         return null;
+      }
+
+      try (SuuntoJsonSampleReader sampleReader = new SuuntoJsonSampleReader(gzipFilePath)) {
+
+         if (!sampleReader.moveToSamples()) {
+            return null;
+         }
+
+         return ImportSamples(sampleReader, allFoundTags, activityToReUse, sampleListToReUse);
+
+      } catch (final IOException | JSONException ex) {
          StatusUtil.log(ex);
          return null;
       }
+   }
+
+   /**
+    * Imports all the samples of a Suunto activity.
+    *
+    * @param sampleReader
+    *           The reader which is positioned at the start of the samples.
+    * @param allFoundTags
+    *           The sensor tags which are contained in the file.
+    * @param activityToReUse
+    *           If provided, the activity to concatenate the provided file to.
+    * @param sampleListToReUse
+    *           If provided, the activity's data from the activity to reuse.
+    * @return The created tour.
+    */
+   private TourData ImportSamples(final SuuntoJsonSampleReader sampleReader,
+                                  final Set<String> allFoundTags,
+                                  final TourData activityToReUse,
+                                  final List<TimeData> sampleListToReUse) {
 
-      final JSONObject firstSample = (JSONObject) samples.get(0);
+      _sampleList = new ArrayList<>();
+      final ArrayList<Long> _pausedTime_Start = new ArrayList<>();
+      final ArrayList<Long> _pausedTime_End = new ArrayList<>();
+
+      final JSONObject firstSample = sampleReader.nextSample();
+
+      if (firstSample == null) {
+         return null;
+      }
 
       final TourData tourData = InitializeActivity(firstSample, activityToReUse, sampleListToReUse);
 
@@ -207,13 +274,12 @@ public class SuuntoJsonProcessor {
          return null;
       }
 
-      // We detect the available sensors
-      if (jsonFileContent.contains(TAG_HR) ||
-            jsonFileContent.contains(TAG_RR)) {
+      if (allFoundTags.contains(TAG_HR) ||
+            allFoundTags.contains(TAG_RR)) {
          tourData.setIsPulseSensorPresent(true);
       }
 
-      final boolean isIndoorTour = !jsonFileContent.contains(TAG_GPSALTITUDE);
+      final boolean isIndoorTour = !allFoundTags.contains(TAG_GPSALTITUDE);
 
       boolean isPaused = false;
 
@@ -224,30 +290,29 @@ public class SuuntoJsonProcessor {
       final List<Integer> _allRRData = new ArrayList<>();
       long _rrDataStartTime = Integer.MIN_VALUE;
 
-      String currentSampleSml;
-      String currentSampleData;
+      JSONObject currentSampleSml;
+      JSONObject currentSampleData;
       String sampleTime;
-      JSONObject sample;
 
-      for (int i = 0; i < samples.length(); ++i) {
+      // Each sample is read from the file only when it is processed
+      for (JSONObject sample = firstSample; sample != null; sample = sampleReader.nextSample()) {
          try {
-            sample = samples.getJSONObject(i);
-            if (!sample.toString().contains(TAG_TIMEISO8601)) {
+            if (!sample.has(TAG_TIMEISO8601)) {
                continue;
             }
 
+            // The attributes are a JSON text which is parsed only once
             final String attributesContent = sample.get(TAG_ATTRIBUTES).toString();
             if (StringUtils.isNullOrEmpty(attributesContent)) {
                continue;
             }
 
-            final JSONObject currentSampleAttributes = new JSONObject(sample.get(TAG_ATTRIBUTES).toString());
-            currentSampleSml = currentSampleAttributes.get(TAG_SUUNTOSML).toString();
+            final JSONObject currentSampleAttributes = new JSONObject(attributesContent);
+            currentSampleSml = currentSampleAttributes.getJSONObject(TAG_SUUNTOSML);
 
-            if (currentSampleSml.contains(TAG_SAMPLE)) {
-               currentSampleData = new JSONObject(currentSampleSml).get(TAG_SAMPLE).toString();
-            } else {
-               currentSampleData = new JSONObject(currentSampleSml).toString();
+            currentSampleData = currentSampleSml.optJSONObject(TAG_SAMPLE);
+            if (currentSampleData == null) {
+               currentSampleData = currentSampleSml;
             }
 
             sampleTime = sample.get(TAG_TIMEISO8601).toString();
@@ -269,7 +334,7 @@ public class SuuntoJsonProcessor {
 
          final long currentTime = adjustedCurrentZonedDateTime.toInstant().toEpochMilli();
 
-         if (currentSampleData.contains(TAG_RR)) {
+         if (currentSampleData.has(TAG_RR)) {
             BuildRRDataList(_allRRData, currentSampleSml);
 
             if (_rrDataStartTime == Integer.MIN_VALUE) {
@@ -301,11 +366,13 @@ public class SuuntoJsonProcessor {
             timeData.absoluteTime = currentTime;
          }
 
-         if (currentSampleData.contains(TAG_PAUSE)) {
-            if (!isPaused && currentSampleData.contains(Boolean.TRUE.toString())) {
+         final JSONObject pauseEvent = getEvent(currentSampleData, TAG_PAUSE);
+         if (pauseEvent != null) {
+            final Object pauseState = pauseEvent.opt(TAG_STATE);
+            if (!isPaused && Boolean.TRUE.equals(pauseState)) {
                isPaused = true;
                pauseStartTime = currentZonedDateTime;
-            } else if (currentSampleData.contains(Boolean.FALSE.toString())) {
+            } else if (Boolean.FALSE.equals(pauseState)) {
                isPaused = false;
 
                final long pauseStartTimeMilli = pauseStartTime.toInstant().toEpochMilli();
@@ -325,9 +392,10 @@ public class SuuntoJsonProcessor {
             continue;
          }
 
-         if (currentSampleData.contains(TAG_LAP) &&
-               (currentSampleData.contains(TAG_MANUAL) ||
-                     currentSampleData.contains(TAG_DISTANCE))) {
+         final JSONObject lapEvent = getEvent(currentSampleData, TAG_LAP);
+         if (lapEvent != null &&
+               (TAG_MANUAL.equals(lapEvent.optString(TAG_TYPE)) ||
+                     TAG_DISTANCE.equals(lapEvent.optString(TAG_TYPE)))) {
 
             timeData.marker = 1;
             timeData.markerLabel = Integer.toString(++_numLaps);
@@ -337,8 +405,8 @@ public class SuuntoJsonProcessor {
          }
 
          // GPS coordinates
-         if (currentSampleData.contains(TAG_GPSALTITUDE) && currentSampleData.contains(TAG_LATITUDE)
-               && currentSampleData.contains(TAG_LONGITUDE)) {
+         if (currentSampleData.has(TAG_GPSALTITUDE) && currentSampleData.has(TAG_LATITUDE)
+               && currentSampleData.has(TAG_LONGITUDE)) {
             wasDataPopulated |= TryAddGpsData(currentSampleData, timeData);
          }
 
@@ -463,7 +531,7 @@ public class SuuntoJsonProcessor {
     *           The current time data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddAltitudeData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddAltitudeData(final JSONObject currentSample, final TimeData timeData) {
       String value = null;
       if ((value = TryRetrieveStringElementValue(currentSample, TAG_ALTITUDE)) != null) {
          timeData.absoluteAltitude = Util.parseFloat(value);
@@ -479,7 +547,7 @@ public class SuuntoJsonProcessor {
     *           The current sample data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddBatteryData(final String currentSample) {
+   private boolean TryAddBatteryData(final JSONObject currentSample) {
 
       float value;
       if ((value = TryRetrieveFloatElementValue(currentSample, TAG_BATTERY_CHARGE)) != Float.MIN_VALUE) {
@@ -510,7 +578,7 @@ public class SuuntoJsonProcessor {
     *           The current time data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddCadenceData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddCadenceData(final JSONObject currentSample, final TimeData timeData) {
       String value = null;
       if ((value = TryRetrieveStringElementValue(currentSample, TAG_CADENCE)) != null) {
          timeData.cadence = Util.parseFloat(value) * 60.0f;
@@ -528,7 +596,7 @@ public class SuuntoJsonProcessor {
     *           The current time data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddDistanceData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddDistanceData(final JSONObject currentSample, final TimeData timeData) {
       String value = null;
       if ((value = TryRetrieveStringElementValue(currentSample, TAG_DISTANCE)) != null) {
          timeData.absoluteDistance = Util.parseFloat(value);
@@ -546,12 +614,11 @@ public class SuuntoJsonProcessor {
     *           The current time data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddGpsData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddGpsData(final JSONObject currentSample, final TimeData timeData) {
       try {
-         final JSONObject currentSampleJson = new JSONObject(currentSample);
-         final float latitude = Util.parseFloat(currentSampleJson.get(TAG_LATITUDE).toString());
-         final float longitude = Util.parseFloat(currentSampleJson.get(TAG_LONGITUDE).toString());
-         final float altitude = Util.parseFloat(currentSampleJson.get(TAG_GPSALTITUDE).toString());
+         final float latitude = Util.parseFloat(currentSample.get(TAG_LATITUDE).toString());
+         final float longitude = Util.parseFloat(currentSample.get(TAG_LONGITUDE).toString());
+         final float altitude = Util.parseFloat(currentSample.get(TAG_GPSALTITUDE).toString());
 
          timeData.latitude = (latitude * 180) / Math.PI;
          timeData.longitude = (longitude * 180) / Math.PI;
@@ -577,7 +644,7 @@ public class SuuntoJsonProcessor {
     *           The current time data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddHeartRateData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddHeartRateData(final JSONObject currentSample, final TimeData timeData) {
       String value = null;
       if ((value = TryRetrieveStringElementValue(currentSample, TAG_HR)) != null) {
          timeData.pulse = Util.parseFloat(value) * 60.0f;
@@ -596,7 +663,7 @@ public class SuuntoJsonProcessor {
     *           The current time data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddPowerData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddPowerData(final JSONObject currentSample, final TimeData timeData) {
       String value = null;
       if ((value = TryRetrieveStringElementValue(currentSample, TAG_POWER)) != null) {
          timeData.power = Util.parseFloat(value);
@@ -614,7 +681,7 @@ public class SuuntoJsonProcessor {
     *           The current time data.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddSpeedData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddSpeedData(final JSONObject currentSample, final TimeData timeData) {
       String value = null;
       if ((value = TryRetrieveStringElementValue(currentSample, TAG_SPEED)) != null) {
          timeData.speed = Util.parseFloat(value);
@@ -635,16 +702,14 @@ public class SuuntoJsonProcessor {
     * @return True if successful, false otherwise.
     */
    private boolean TryAddSwimmingData(final List<SwimData> allSwimData,
-                                      final String currentSample,
+                                      final JSONObject currentSample,
                                       final long currentSampleDate) {
 
-      if (!currentSample.contains(Swimming)) {
+      final JSONObject swimmingSample = getEvent(currentSample, Swimming);
+      if (swimmingSample == null) {
          return false;
       }
       boolean wasDataPopulated = false;
-      final JSONArray Events = (JSONArray) new JSONObject(currentSample).get(TAG_EVENTS);
-      final JSONObject array = (JSONObject) Events.get(0);
-      final String swimmingSample = ((JSONObject) array.get(Swimming)).toString();
 
       final SwimData previousSwimData = allSwimData.isEmpty() ? null : allSwimData.get(allSwimData.size() - 1);
 
@@ -715,7 +780,7 @@ public class SuuntoJsonProcessor {
     *           The tour's time serie.
     * @return True if successful, false otherwise.
     */
-   private boolean TryAddTemperatureData(final String currentSample, final TimeData timeData) {
+   private boolean TryAddTemperatureData(final JSONObject currentSample, final TimeData timeData) {
       String value = null;
       if ((value = TryRetrieveStringElementValue(currentSample, TAG_TEMPERATURE)) != null) {
          timeData.temperature = (float) (Util.parseFloat(value) + net.tourbook.math.Fmath.T_ABS);
@@ -779,15 +844,16 @@ public class SuuntoJsonProcessor {
     *           The element name to look for in a JSON content.
     * @return The element value, if found.
     */
-   private float TryRetrieveFloatElementValue(final String token, final String elementName) {
+   private float TryRetrieveFloatElementValue(final JSONObject token, final String elementName) {
 
-      if (!token.contains(elementName)) {
+      final String value = TryRetrieveStringElementValue(token, elementName);
+      if (value == null) {
          return Float.MIN_VALUE;
       }
 
       float result = Float.MIN_VALUE;
       try {
-         result = Float.parseFloat(new JSONObject(token).get(elementName).toString());
+         result = Float.parseFloat(value);
       } catch (final Exception e) {
          return Float.MIN_VALUE;
       }
@@ -804,7 +870,7 @@ public class SuuntoJsonProcessor {
     *           The element name to look for in a JSON content.
     * @return The element value, if found.
     */
-   private ArrayList<Integer> TryRetrieveIntegerListElementValue(final String token, final String elementName) {
+   private ArrayList<Integer> TryRetrieveIntegerListElementValue(final JSONObject token, final String elementName) {
       final ArrayList<Integer> elementValues = new ArrayList<>();
       final String elements = TryRetrieveStringElementValue(token, elementName);
 
@@ -828,19 +894,13 @@ public class SuuntoJsonProcessor {
     *           The element name to look for in a JSON content.
     * @return The element value, if found.
     */
-   private String TryRetrieveStringElementValue(final String token, final String elementName) {
-      if (!token.contains(elementName)) {
+   private String TryRetrieveStringElementValue(final JSONObject token, final String elementName) {
+
+      final Object value = token.opt(elementName);
+      if (value == null || JSONObject.NULL.equals(value)) {
          return null;
       }
 
-      String result = null;
-      try {
-         result = new JSONObject(token).get(elementName).toString();
-         if (result.equals("null")) { //$NON-NLS-1$
-            return null;
-         }
-      } catch (final Exception e) {}
-
-      return result;
+      return value.toString();
    }
 }
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.device.suunto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+/**
+ * Reads the samples of a gzip compressed Suunto Spartan/9 activity one by one. The JSON content
+ * is tokenized while it is uncompressed, so only the current sample is kept in memory and not the
+ * whole file, which can be very large for activities of many hours.
+ */
+class SuuntoJsonSampleReader implements Closeable {
+
+   private static final int READ_BUFFER_SIZE = 8192;
+
+   private final BufferedReader _reader;
+   private final JSONTokener    _tokener;
+
+   private boolean              _isFirstSample = true;
+   private boolean              _isEndOfSamples;
+
+   /**
+    * @param gzipFilePath
+    *           The absolute file path of the Suunto file.
+    *
+    * @throws IOException
+    */
+   SuuntoJsonSampleReader(final String gzipFilePath) throws IOException {
+
+      _reader = createReader(gzipFilePath);
+      _tokener = new JSONTokener(_reader);
+   }
+
+   private static BufferedReader createReader(final String gzipFilePath) throws IOException {
+
+      return new BufferedReader(new InputStreamReader(openGzipStream(gzipFilePath), StandardCharsets.UTF_8));
+   }
+
+   /**
+    * Searches texts in the uncompressed content of a Suunto file without keeping the whole
+    * content in memory, the search is stopped when all texts are found.
+    *
+    * @param gzipFilePath
+    *           The absolute file path of the Suunto file.
+    * @param allTexts
+    *           Texts which are searched.
+    *
+    * @return Returns all texts which are contained in the file.
+    *
+    * @throws IOException
+    */
+   static Set<String> findTexts(final String gzipFilePath, final String... allTexts) throws IOException {
+
+      final Set<String> allFoundTexts = new HashSet<>();
+
+      int maxTextLength = 0;
+      for (final String text : allTexts) {
+         maxTextLength = Math.max(maxTextLength, text.length());
+      }
+
+      try (BufferedReader reader = createReader(gzipFilePath)) {
+
+         final char[] readBuffer = new char[READ_BUFFER_SIZE];
+         final StringBuilder content = new StringBuilder();
+
+         int numReadChars;
+
+         while ((numReadChars = reader.read(readBuffer)) != -1) {
+
+            content.append(readBuffer, 0, numReadChars);
+
+            for (final String text : allTexts) {
+               if (content.indexOf(text) != -1) {
+                  allFoundTexts.add(text);
+               }
+            }
+
+            if (allFoundTexts.size() == allTexts.length) {
+               break;
+            }
+
+            // keep the end of the content, a text can be split between two read buffers
+            content.delete(0, Math.max(0, content.length() - maxTextLength + 1));
+         }
+      }
+
+      return allFoundTexts;
+   }
+
+   @Override
+   public void close() throws IOException {
+
+      _reader.close();
+   }
+
+   /**
+    * Moves the reader to the start of the {@link SuuntoJsonProcessor#TAG_SAMPLES} array, all other
+    * values of the root object are skipped.
+    *
+    * @return Returns <code>true</code> when the samples array is found.
+    *
+    * @throws JSONException
+    */
+   boolean moveToSamples() throws JSONException {
+
+      if (_tokener.nextClean() != '{') {
+         return false;
+      }
+
+      while (true) {
+
+         final char nextChar = _tokener.nextClean();
+
+         if (nextChar == ',') {
+            continue;
+         }
+
+         if (nextChar != '"') {
+
+            // end of the root object or end of the file
+            return false;
+         }
+
+         final String key = _tokener.nextString('"');
+
+         if (_tokener.nextClean() != ':') {
+            throw _tokener.syntaxError("Expected a ':' after a key"); //$NON-NLS-1$
+         }
+
+         if (SuuntoJsonProcessor.TAG_SAMPLES.equals(key)) {
+            return _tokener.nextClean() == '[';
+         }
+
+         // skip the value
+         _tokener.nextValue();
+      }
+   }
+
+   private static InputStream openGzipStream(final String gzipFilePath) throws IOException {
+
+      final FileInputStream fileInputStream = new FileInputStream(gzipFilePath);
+
+      try {
+
+         return new GZIPInputStream(fileInputStream);
+
+      } catch (final IOException e) {
+
+         // the gzip header is invalid
+         fileInputStream.close();
+
+         throw e;
+      }
+   }
+
+   /**
+    * Reads the next sample, {@link #moveToSamples()} must be called before the first sample is
+    * read.
+    *
+    * @return Returns the next sample or <code>null</code> when all samples are read.
+    *
+    * @throws JSONException
+    */
+   JSONObject nextSample() throws JSONException {
+
+      if (_isEndOfSamples) {
+         return null;
+      }
+
+      char nextChar = _tokener.nextClean();
+
+      if (_isFirstSample) {
+
+         _isFirstSample = false;
+
+      } else if (nextChar == ',') {
+
+         nextChar = _tokener.nextClean();
+
+      } else if (nextChar != ']') {
+
+         throw _tokener.syntaxError("Expected a ',' or ']' after a sample"); //$NON-NLS-1$
+      }
+
+      if (nextChar == ']') {
+
+         _isEndOfSamples = true;
+
+         return null;
+      }
+
+      _tokener.back();
+
+      final Object sample = _tokener.nextValue();
+
+      if (sample instanceof final JSONObject jsonSample) {
+         return jsonSample;
+      }
+
+      throw _tokener.syntaxError("A sample must be a JSON object"); //$NON-NLS-1$
+   }
+}
@@ -115,6 +115,7 @@ public class Photo implements Serializable {
     * system time zone.
     */
    private LocalDateTime                           _imageFileLastModified;
+   private long                                    _imageFileLastModifiedMillis;
 
    /**
     * Exif date/time, it has no time zone but UTC with 0 time offset is used
@@ -841,6 +842,13 @@ public class Photo implements Serializable {
       return _imageFileLastModified;
    }
 
+   /**
+    * @return Returns the last modified time of the image file in milliseconds
+    */
+   public long getImageFileLastModified() {
+      return _imageFileLastModifiedMillis;
+   }
+
    /**
     * @return Returns an image key which can be used to get images from an image cache. This key is
     *         a MD5 hash from the full image file path and the image quality.
@@ -1573,6 +1581,7 @@ public class Photo implements Serializable {
 
       imageFileSize = photoImageFile.length();
 
+      _imageFileLastModifiedMillis = lastModified;
       _imageFileLastModified = LocalDateTime.ofInstant(
             Instant.ofEpochMilli(lastModified),
 //            ZoneOffset.UTC
@@ -20,6 +20,7 @@ import java.util.Optional;
 import net.tourbook.common.UI;
 import net.tourbook.common.color.ThemeUtil;
 import net.tourbook.common.util.StatusUtil;
+import net.tourbook.photo.internal.manager.ThumbnailStore;
 
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -165,6 +166,8 @@ public class PhotoActivator extends AbstractUIPlugin {
 
       PhotoImageCache.disposeAll();
 
+      ThumbnailStore.close();
+
       plugin = null;
 
       super.stop(context);
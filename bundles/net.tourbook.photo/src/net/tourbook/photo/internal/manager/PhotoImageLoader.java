@@ -17,21 +17,23 @@ package net.tourbook.photo.internal.manager;
 
 import java.awt.Point;
 import java.awt.image.BufferedImage;
-import java.io.File;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.time.LocalDate;
 import java.util.HashSet;
-import java.util.Properties;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.LinkedBlockingDeque;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import net.tourbook.common.UI;
 import net.tourbook.common.graphics.SVGRasterizerMT;
-import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.CustomScalingImageDataProvider;
+import net.tourbook.common.util.ImageConverter;
 import net.tourbook.common.util.SWT2Dutil;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.photo.ILoadCallBack;
@@ -44,11 +46,11 @@ import net.tourbook.photo.PhotoImageCache;
 import net.tourbook.photo.PhotoImageMetadata;
 import net.tourbook.photo.PhotoLoadManager;
 import net.tourbook.photo.PhotoLoadingState;
+import net.tourbook.photo.internal.manager.ThumbnailSegmentStore.StoreImage;
 
 import org.apache.commons.imaging.ImageFormats;
 import org.apache.commons.imaging.common.ImageMetadata;
 import org.apache.commons.imaging.formats.jpeg.JpegImageMetadata;
-import org.eclipse.core.runtime.IPath;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
@@ -67,9 +69,7 @@ import pixelitor.utils.Messages;
 
 public class PhotoImageLoader {
 
-   private static IPreferenceStore _prefStore            = PhotoActivator.getPrefStore();
-
-   private static final String     TEMP_IMAGE_FORMAT_JPG = "jpg";                        //$NON-NLS-1$
+   private static IPreferenceStore _prefStore = PhotoActivator.getPrefStore();
 
    static {
 
@@ -244,54 +244,28 @@ public class PhotoImageLoader {
 
    private Image createSWTimageFromAWTimage(final BufferedImage awtBufferedImage, final String imageFilePath) {
 
-      final ImageData swtImageData = SWT2Dutil.convertToSWT(awtBufferedImage, imageFilePath);
-
-      if (swtImageData != null) {
-
-         // image could be converted
-
-         return new Image(_display, new CustomScalingImageDataProvider(swtImageData));
-      }
+      ImageData swtImageData = SWT2Dutil.convertToSWT(awtBufferedImage, imageFilePath);
 
-      /*
-       * Try to convert it into a JPG file
-       */
-
-      String tempFilename = null;
-      Image swtImage = null;
+      if (swtImageData == null) {
 
-      try {
-
-         // get temp file name
-         final File tempFile = File.createTempFile("prefix", UI.EMPTY_STRING);//$NON-NLS-1$
-         tempFilename = tempFile.getName();
-         tempFile.delete();
-
-         ImageIO.write(awtBufferedImage, TEMP_IMAGE_FORMAT_JPG, new File(tempFilename));
-
-      } catch (final Exception e) {
-
-         StatusUtil.log("Cannot save resized image with AWT: \"%s\"".formatted(imageFilePath), e); //$NON-NLS-1$
-
-      } finally {
+         /*
+          * The color model is not supported, convert the RGB values which are available for all
+          * image types, this is done in memory and not with a temp JPG file which was lossy
+          */
 
          try {
 
-            // get SWT image from saved AWT image
-            swtImage = new Image(_display, tempFilename);
+            swtImageData = ImageConverter.convertIntoSWTImageData(awtBufferedImage);
 
          } catch (final Exception e) {
 
-            StatusUtil.log("Cannot load resized image with SWT: \"%s\"".formatted(tempFilename), e); //$NON-NLS-1$
-
-         } finally {
+            StatusUtil.log("Cannot convert image from AWT into SWT: \"%s\"".formatted(imageFilePath), e); //$NON-NLS-1$
 
-            // remove temp tile
-            new File(tempFilename).delete();
+            return null;
          }
       }
 
-      return swtImage;
+      return new Image(_display, new CustomScalingImageDataProvider(swtImageData));
    }
 
    private void disposeTrackedImages() {
@@ -348,13 +322,7 @@ public class PhotoImageLoader {
       return thumbRotation;
    }
 
-   /**
-    * @param storeImageFilePath
-    *           Path to store image in the thumbnail store
-    *
-    * @return
-    */
-   private BufferedImage loadImageFromEXIFThumbnail_AWT(final IPath storeImageFilePath) {
+   private BufferedImage loadImageFromEXIFThumbnail_AWT() {
 
       BufferedImage awtBufferedImage = null;
 
@@ -417,9 +385,7 @@ public class PhotoImageLoader {
 
          // get image from thumbnail image in the EXIF data
 
-         final IPath storeThumbImageFilePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.THUMB, _thumbImageFormat);
-
-         final Image exifThumbnail = loadImageFromEXIFThumbnail_SWT(storeThumbImageFilePath);
+         final Image exifThumbnail = loadImageFromEXIFThumbnail_SWT();
          if (exifThumbnail != null) {
 
             // EXIF image is available
@@ -448,13 +414,7 @@ public class PhotoImageLoader {
       }
    }
 
-   /**
-    * @param storeImageFilePath
-    *           Path to store image in the thumbnail store
-    *
-    * @return
-    */
-   private Image loadImageFromEXIFThumbnail_SWT(final IPath storeImageFilePath) {
+   private Image loadImageFromEXIFThumbnail_SWT() {
 
       BufferedImage awtBufferedImage = null;
 
@@ -500,7 +460,7 @@ public class PhotoImageLoader {
                   return null;
                }
 
-               swtThumbnailImage = createSWTimageFromAWTimage(awtBufferedImage, storeImageFilePath.toOSString());
+               swtThumbnailImage = createSWTimageFromAWTimage(awtBufferedImage, _photo.imageFilePathName);
 
                // set state after creating image, this could cause an error
                _photo.setStateExifThumb(swtThumbnailImage == null ? 0 : 1);
@@ -511,15 +471,15 @@ public class PhotoImageLoader {
 
             } catch (final Exception e) {
                StatusUtil.log(NLS.bind(
-                     "SWT store image \"{0}\" cannot be created", //$NON-NLS-1$
-                     storeImageFilePath.toOSString()), e);
+                     "SWT EXIF image \"{0}\" cannot be created", //$NON-NLS-1$
+                     _photo.imageFilePathName), e);
             } finally {
 
                if (swtThumbnailImage == null) {
 
                   System.out.println(NLS.bind( //
                         UI.timeStampNano() + " EXIF image \"{0}\" cannot be created", //$NON-NLS-1$
-                        storeImageFilePath));
+                        _photo.imageFilePathName));
                }
             }
          }
@@ -543,39 +503,25 @@ public class PhotoImageLoader {
       /*
        * check if image is available in the thumbstore
        */
-      final IPath requestedStoreImageFilePath = ThumbnailStore.getStoreImagePath(_photo, requestedImageQuality, _thumbImageFormat);
-
-      final String imageStoreFilePath = requestedStoreImageFilePath.toOSString();
-      final File storeImageFile = new File(imageStoreFilePath);
+      final StoreImage storeImage = ThumbnailStore.getStoreImage(_photo, requestedImageQuality, _thumbImageFormat);
 
-      if (storeImageFile.isFile() == false) {
+      if (storeImage == null) {
          return null;
       }
 
       // photo image is available in the thumbnail store
 
-      /*
-       * touch store file when it is not yet done today, this is done to track last access time so
-       * that a store cleanup can check the date
-       */
-      final LocalDate dtModified = TimeTools.getZonedDateTime(storeImageFile.lastModified()).toLocalDate();
-
-      if (dtModified.equals(LocalDate.now()) == false) {
-
-         storeImageFile.setLastModified(TimeTools.now().toInstant().toEpochMilli());
-      }
-
       BufferedImage awtImage = null;
 
       try {
 
-         awtImage = ImageIO.read(new File(imageStoreFilePath));
+         awtImage = ImageIO.read(new ByteArrayInputStream(storeImage.imageData()));
 
-         loadImageProperties(requestedStoreImageFilePath);
+         setOriginalImageSize(storeImage);
 
       } catch (final Exception e) {
 
-         StatusUtil.log("Image cannot be loaded with AWT: \"%s\"".formatted(imageStoreFilePath), e); //$NON-NLS-1$
+         StatusUtil.log("Image cannot be loaded with AWT: \"%s\"".formatted(_photo.imageFilePathName), e); //$NON-NLS-1$
       }
 
       return awtImage;
@@ -594,50 +540,38 @@ public class PhotoImageLoader {
       /*
        * check if image is available in the thumbstore
        */
-      final IPath requestedStoreImageFilePath = ThumbnailStore.getStoreImagePath(_photo, requestedImageQuality, _thumbImageFormat);
+      final StoreImage storeImage = ThumbnailStore.getStoreImage(_photo, requestedImageQuality, _thumbImageFormat);
 
-      final String imageStoreFilePath = requestedStoreImageFilePath.toOSString();
-      final File storeImageFile = new File(imageStoreFilePath);
-
-      if (storeImageFile.isFile() == false) {
+      if (storeImage == null) {
          return null;
       }
 
       // photo image is available in the thumbnail store
 
-      Image swtImage = null;
-
-      /*
-       * touch store file when it is not yet done today, this is done to track last access time so
-       * that a store cleanup can check the date
-       */
-      final LocalDate dtModified = TimeTools.getZonedDateTime(storeImageFile.lastModified()).toLocalDate();
-
-      if (dtModified.equals(LocalDate.now()) == false) {
+      final String imageFilePathName = _photo.imageFilePathName;
 
-         storeImageFile.setLastModified(TimeTools.now().toInstant().toEpochMilli());
-      }
+      Image swtImage = null;
 
       try {
 
-         final BufferedImage awtImage = ImageIO.read(new File(imageStoreFilePath));
+         final BufferedImage awtImage = ImageIO.read(new ByteArrayInputStream(storeImage.imageData()));
 
          swtImage = new Image(Display.getCurrent(), new CustomScalingImageDataProvider(awtImage));
 
-         loadImageProperties(requestedStoreImageFilePath);
+         setOriginalImageSize(storeImage);
 
       } catch (final Exception e) {
 
-         StatusUtil.log("Image cannot be loaded with SWT (1): \"%s\"".formatted(imageStoreFilePath), e); //$NON-NLS-1$
+         StatusUtil.log("Image cannot be loaded with SWT (1): \"%s\"".formatted(imageFilePathName), e); //$NON-NLS-1$
 
       } finally {
 
          if (swtImage == null) {
 
             final String message = "Image \"{0}\" cannot be loaded and an exception did not occure.\n" //$NON-NLS-1$
-                  + "The image file is available but it's possible that SWT.ERROR_NO_HANDLES occurred"; //$NON-NLS-1$
+                  + "The store image is available but it's possible that SWT.ERROR_NO_HANDLES occurred"; //$NON-NLS-1$
 
-            System.out.println(UI.timeStampNano() + NLS.bind(message, imageStoreFilePath));
+            System.out.println(UI.timeStampNano() + NLS.bind(message, imageFilePathName));
 
             PhotoImageCache.disposeResizedImage(null);
 
@@ -646,11 +580,11 @@ public class PhotoImageLoader {
              */
             try {
 
-               swtImage = new Image(_display, imageStoreFilePath);
+               swtImage = new Image(_display, new ByteArrayInputStream(storeImage.imageData()));
 
             } catch (final Exception e) {
 
-               StatusUtil.log("Image cannot be loaded with SWT (2): \"%s\"".formatted(imageStoreFilePath), e); //$NON-NLS-1$
+               StatusUtil.log("Image cannot be loaded with SWT (2): \"%s\"".formatted(imageFilePathName), e); //$NON-NLS-1$
 
             } finally {
 
@@ -658,7 +592,7 @@ public class PhotoImageLoader {
 
                   System.out.println(UI.timeStampNano()
                         + "Image cannot be loaded again with SWT, even when disposing the image cache: \"%s\" " //$NON-NLS-1$
-                              .formatted(imageStoreFilePath));
+                              .formatted(imageFilePathName));
                }
             }
          }
@@ -775,15 +709,17 @@ public class PhotoImageLoader {
       BufferedImage awtHQImage = null;
       BufferedImage awtOriginalImage = null;
 
+      final Point originalImageSize = new Point();
+
       /*
-       * Load original image
+       * Load original image, it is decoded only with the pixels which are needed for the HQ image
        */
       final String originalImagePathName = _photo.imageFilePathName;
       try {
 
          final long startHqLoad = System.currentTimeMillis();
          {
-            awtOriginalImage = ImageIO.read(_photo.imageFile);
+            awtOriginalImage = loadOriginalImage_Subsampled(_hqImageSize, originalImageSize);
 
             _allTrackedAWTImages.add(awtOriginalImage);
          }
@@ -830,12 +766,8 @@ public class PhotoImageLoader {
 
          boolean isHQCreated = false;
 
-         final int originalImageWidth = awtOriginalImage.getWidth();
-         final int originalImageHeight = awtOriginalImage.getHeight();
-
-         final Properties originalImageProperties = new Properties();
-         originalImageProperties.put(ThumbnailStore.ORIGINAL_IMAGE_WIDTH, Integer.toString(originalImageWidth));
-         originalImageProperties.put(ThumbnailStore.ORIGINAL_IMAGE_HEIGHT, Integer.toString(originalImageHeight));
+         final int originalImageWidth = originalImageSize.x;
+         final int originalImageHeight = originalImageSize.y;
 
          int imageWidth = originalImageWidth;
          int imageHeight = originalImageHeight;
@@ -878,13 +810,13 @@ public class PhotoImageLoader {
              */
             final long startSaveHQ = System.currentTimeMillis();
             {
-               final IPath storeImagePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.HQ, _thumbImageFormat);
-
                final boolean isSaved = ThumbnailStore.saveResizedImage_AWT(
                      scaledHQImage,
-                     storeImagePath,
-                     originalImageProperties,
-                     _thumbImageFormat);
+                     _photo,
+                     ImageQuality.HQ,
+                     _thumbImageFormat,
+                     originalImageWidth,
+                     originalImageHeight);
 
                if (isSaved == false) {
 
@@ -953,8 +885,7 @@ public class PhotoImageLoader {
 
                   // get thumb image
 
-                  final IPath storeImageFilePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.THUMB, _thumbImageFormat);
-                  requestedSWTImage = loadImageFromEXIFThumbnail_SWT(storeImageFilePath);
+                  requestedSWTImage = loadImageFromEXIFThumbnail_SWT();
                }
 
             } else {
@@ -1035,13 +966,13 @@ public class PhotoImageLoader {
 
                final long startSaveThumb = System.currentTimeMillis();
                {
-                  final IPath storeThumbImagePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.THUMB, _thumbImageFormat);
-
                   isSaved = ThumbnailStore.saveResizedImage_AWT(
                         awtSaveThumbImage,
-                        storeThumbImagePath,
-                        originalImageProperties,
-                        _thumbImageFormat);
+                        _photo,
+                        ImageQuality.THUMB,
+                        _thumbImageFormat,
+                        originalImageWidth,
+                        originalImageHeight);
                }
                endSaveThumb = System.currentTimeMillis() - startSaveThumb;
             }
@@ -1230,15 +1161,20 @@ public class PhotoImageLoader {
       BufferedImage awtOriginalImage = null;
       BufferedImage awtHQImage = null;
 
+      final Point originalImageSize = new Point();
+
       /*
-       * Load original image
+       * Load original image, an adjusted image is cropped from the original image and needs all
+       * pixels
        */
+      final int minImageSize = imageQuality == ImageQuality.THUMB_HQ_ADJUSTED ? 0 : _hqImageSize;
+
       final String originalImagePathName = _photo.imageFilePathName;
       try {
 
          final long startHqLoad = System.currentTimeMillis();
          {
-            awtOriginalImage = ImageIO.read(_photo.imageFile);
+            awtOriginalImage = loadOriginalImage_Subsampled(minImageSize, originalImageSize);
 
             _allTrackedAWTImages.add(awtOriginalImage);
          }
@@ -1258,8 +1194,8 @@ public class PhotoImageLoader {
          }
       }
 
-      final int originalImageWidth = awtOriginalImage.getWidth();
-      final int originalImageHeight = awtOriginalImage.getHeight();
+      final int originalImageWidth = originalImageSize.x;
+      final int originalImageHeight = originalImageSize.y;
 
       /*
        * Create HQ thumb image from original image
@@ -1310,13 +1246,13 @@ public class PhotoImageLoader {
           */
          final long startSaveHQ = System.currentTimeMillis();
          {
-            final IPath storeImagePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.THUMB_HQ, _thumbImageFormat);
-
             ThumbnailStore.saveResizedImage_AWT(
                   awtHQImage,
-                  storeImagePath,
-                  null,
-                  _thumbImageFormat);
+                  _photo,
+                  ImageQuality.THUMB_HQ,
+                  _thumbImageFormat,
+                  0,
+                  0);
          }
          endSaveHQ = System.currentTimeMillis() - startSaveHQ;
 
@@ -1529,54 +1465,6 @@ public class PhotoImageLoader {
       }
    }
 
-   /**
-    * @param requestedStoreImageFilePath
-    *
-    * @return Returns <code>null</code> when properties cannot be loaded.
-    */
-   private void loadImageProperties(final IPath requestedStoreImageFilePath) {
-
-      final IPath propPath = ThumbnailStore.getPropertiesPathFromImagePath(requestedStoreImageFilePath);
-
-      Properties imageProperties = null;
-
-      try (FileInputStream fileStream = new FileInputStream(propPath.toOSString())) {
-
-         final File propFile = propPath.toFile();
-
-         if (propFile.isFile() == false) {
-            return;
-         }
-
-         imageProperties = new Properties();
-
-         imageProperties.load(fileStream);
-
-      } catch (final IOException e) {
-         StatusUtil.log(NLS.bind("Image properties cannot be loaded from: \"{0}\"", //$NON-NLS-1$
-               propPath.toOSString()), e);
-      }
-
-      if (imageProperties != null) {
-
-         final String originalImageWidth = imageProperties.getProperty(ThumbnailStore.ORIGINAL_IMAGE_WIDTH);
-         final String originalImageHeight = imageProperties.getProperty(ThumbnailStore.ORIGINAL_IMAGE_HEIGHT);
-
-         if (originalImageWidth != null && originalImageHeight != null) {
-            try {
-
-               final int width = Integer.parseInt(originalImageWidth);
-               final int height = Integer.parseInt(originalImageHeight);
-
-               _photo.setPhotoSize(width, height);
-
-            } catch (final NumberFormatException e) {
-               StatusUtil.log(e);
-            }
-         }
-      }
-   }
-
    private Image loadImageSVG() throws Exception {
 
       // prevent recursive calls
@@ -1663,10 +1551,6 @@ public class PhotoImageLoader {
          final int originalImageWidth = swtOriginalImageData.width;
          final int originalImageHeight = swtOriginalImageData.height;
 
-         final Properties originalImageProperties = new Properties();
-         originalImageProperties.put(ThumbnailStore.ORIGINAL_IMAGE_WIDTH, Integer.toString(originalImageWidth));
-         originalImageProperties.put(ThumbnailStore.ORIGINAL_IMAGE_HEIGHT, Integer.toString(originalImageHeight));
-
          int imageWidth = originalImageWidth;
          int imageHeight = originalImageHeight;
 
@@ -1708,13 +1592,13 @@ public class PhotoImageLoader {
              */
             final long startSaveHQ = System.currentTimeMillis();
             {
-               final IPath storeImagePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.HQ, _thumbImageFormat);
-
                final boolean isSaved = ThumbnailStore.saveResizedImage_SWT(
                      swtScaledHQImage,
-                     storeImagePath,
-                     originalImageProperties,
-                     _thumbImageFormat);
+                     _photo,
+                     ImageQuality.HQ,
+                     _thumbImageFormat,
+                     originalImageWidth,
+                     originalImageHeight);
 
                if (isSaved == false) {
 
@@ -1826,13 +1710,13 @@ public class PhotoImageLoader {
 
                final long startSaveThumb = System.currentTimeMillis();
                {
-                  final IPath storeThumbImagePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.THUMB, _thumbImageFormat);
-
                   isSaved = ThumbnailStore.saveResizedImage_SWT(
                         swtSaveThumbImage,
-                        storeThumbImagePath,
-                        originalImageProperties,
-                        _thumbImageFormat);
+                        _photo,
+                        ImageQuality.THUMB,
+                        _thumbImageFormat,
+                        originalImageWidth,
+                        originalImageHeight);
                }
                endSaveThumb = System.currentTimeMillis() - startSaveThumb;
             }
@@ -1953,9 +1837,7 @@ public class PhotoImageLoader {
 
             // 2. get image from thumbnail image in the EXIF data
 
-            final IPath storeThumbImageFilePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.THUMB, _thumbImageFormat);
-
-            final BufferedImage awtExifThumbnail = loadImageFromEXIFThumbnail_AWT(storeThumbImageFilePath);
+            final BufferedImage awtExifThumbnail = loadImageFromEXIFThumbnail_AWT();
             if (awtExifThumbnail != null) {
 
                // EXIF image is available
@@ -2082,9 +1964,7 @@ public class PhotoImageLoader {
 //  debug (delay) image loading
 //            Thread.sleep(500);
 
-            final IPath storeThumbImageFilePath = ThumbnailStore.getStoreImagePath(_photo, ImageQuality.THUMB, _thumbImageFormat);
-
-            final Image exifThumbnail = loadImageFromEXIFThumbnail_SWT(storeThumbImageFilePath);
+            final Image exifThumbnail = loadImageFromEXIFThumbnail_SWT();
             if (exifThumbnail != null) {
 
                // EXIF image is available
@@ -2163,6 +2043,67 @@ public class PhotoImageLoader {
       return isHQRequired;
    }
 
+   /**
+    * Decodes the original image with source subsampling, the decoded image is not smaller than
+    * twice the min image size that the resized image has enough pixels for a good quality. This is
+    * much faster and needs less memory than decoding all pixels of a large photo.
+    *
+    * @param minImageSize
+    *           Min width or height of the decoded image, all pixels are decoded when it is
+    *           <code>0</code>
+    * @param originalImageSize
+    *           Is set with the width/height of the original image
+    *
+    * @return Returns the decoded image or <code>null</code> when an image reader is not available
+    *
+    * @throws IOException
+    */
+   private BufferedImage loadOriginalImage_Subsampled(final int minImageSize,
+                                                      final Point originalImageSize) throws IOException {
+
+      try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(_photo.imageFile)) {
+
+         if (imageInputStream == null) {
+            return null;
+         }
+
+         final Iterator<ImageReader> allImageReaders = ImageIO.getImageReaders(imageInputStream);
+
+         if (allImageReaders.hasNext() == false) {
+            return null;
+         }
+
+         final ImageReader imageReader = allImageReaders.next();
+
+         try {
+
+            imageReader.setInput(imageInputStream, true, true);
+
+            final int imageWidth = imageReader.getWidth(0);
+            final int imageHeight = imageReader.getHeight(0);
+
+            originalImageSize.setLocation(imageWidth, imageHeight);
+
+            final ImageReadParam readParam = imageReader.getDefaultReadParam();
+
+            if (minImageSize > 0) {
+
+               final int subsampling = Math.max(imageWidth, imageHeight) / (minImageSize * 2);
+
+               if (subsampling > 1) {
+                  readParam.setSourceSubsampling(subsampling, subsampling, 0, 0);
+               }
+            }
+
+            return imageReader.read(0, readParam);
+
+         } finally {
+
+            imageReader.dispose();
+         }
+      }
+   }
+
    private void logImageLoading(final long start, final long endHqLoad, final long endResizeHQ, final long endSaveHQ) {
 
       final long duration = System.currentTimeMillis() - start;
@@ -2190,6 +2131,21 @@ public class PhotoImageLoader {
             endSaveHQ));
    }
 
+   /**
+    * Set the size of the original image which is saved with the store image
+    *
+    * @param storeImage
+    */
+   private void setOriginalImageSize(final StoreImage storeImage) {
+
+      final int originalImageWidth = storeImage.originalImageWidth();
+      final int originalImageHeight = storeImage.originalImageHeight();
+
+      if (originalImageWidth > 0 && originalImageHeight > 0) {
+         _photo.setPhotoSize(originalImageWidth, originalImageHeight);
+      }
+   }
+
    private void setState_LoadingError() {
 
       // prevent loading the image again
@@ -0,0 +1,863 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.photo.internal.manager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.photo.internal.Messages;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Thumbnail images which are packed into a few large segment files instead of saving each image in
+ * it's own file.
+ * <p>
+ * Images are appended to the last segment file, each record contains the image key, the last
+ * modified time of the photo file, the size of the original image and the image data. The position
+ * of all images is kept in memory and saved in an index file when the store is closed, the segment
+ * files are memory mapped for reading.
+ * <p>
+ * Replaced, removed or not accessed images are removed from the segment files with
+ * {@link #compact(int, IProgressMonitor)}.
+ */
+class ThumbnailSegmentStore {
+
+   private static final long   MBYTE                  = 1024 * 1024L;
+
+   private static final String INDEX_FILE_NAME        = "index.data";     //$NON-NLS-1$
+   private static final String INDEX_FILE_NAME_TEMP   = "index.data.tmp"; //$NON-NLS-1$
+
+   private static final String SEGMENT_FILE_PREFIX    = "segment-";       //$NON-NLS-1$
+   private static final String SEGMENT_FILE_EXTENSION = ".data";          //$NON-NLS-1$
+
+   private static final int    INDEX_MAGIC            = 0x4D544958;
+   private static final int    INDEX_VERSION          = 1;
+
+   private static final int    RECORD_MAGIC           = 0x4D545448;
+
+   /**
+    * Size of a record without the key and the image data: magic, key length, photo last modified,
+    * original image width + height, image length
+    */
+   private static final int    RECORD_HEADER_SIZE     = 4 + 2 + 8 + 4 + 4 + 4;
+
+   /**
+    * A new segment is started when the last segment is larger than this size
+    */
+   private static final long   MAX_SEGMENT_SIZE       = 64 * MBYTE;
+
+   /**
+    * Segments are rewritten when this part of the segment is not used any more
+    */
+   private static final float  MAX_UNUSED_RATIO       = 0.5f;
+
+   private final File          _storeFolder;
+
+   private final Map<String, Entry>        _allEntries  = new HashMap<>();
+   private final TreeMap<Integer, Segment> _allSegments = new TreeMap<>();
+
+   /**
+    * Segment into which new images are appended
+    */
+   private Segment                         _lastSegment;
+
+   private boolean                         _isIndexModified;
+
+   private static class Entry {
+
+      private Segment segment;
+
+      private int     recordOffset;
+      private int     recordLength;
+      private int     imageLength;
+
+      private long    photoLastModified;
+
+      private int     originalImageWidth;
+      private int     originalImageHeight;
+
+      /**
+       * Epoch day when the image was last read or written
+       */
+      private int     lastAccessDay;
+
+      private int getImageOffset() {
+         return recordOffset + recordLength - imageLength;
+      }
+   }
+
+   private static class Segment {
+
+      private int              id;
+      private File             file;
+      private FileChannel      channel;
+
+      /**
+       * Read only mapping of the segment, it is recreated when an image is read behind the mapped
+       * size
+       */
+      private MappedByteBuffer mappedBuffer;
+
+      private long             size;
+
+      /**
+       * Size of all records which are referenced from the index
+       */
+      private long             usedSize;
+
+      private ByteBuffer getBuffer(final long requiredSize) throws IOException {
+
+         if (mappedBuffer == null || mappedBuffer.capacity() < requiredSize) {
+            mappedBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+         }
+
+         return mappedBuffer;
+      }
+   }
+
+   /**
+    * Image from the store with the size of the original image, the size is 0 when it is not
+    * available
+    */
+   record StoreImage(byte[] imageData, int originalImageWidth, int originalImageHeight) {}
+
+   /**
+    * Opens the store, segments which are not yet contained in the index are read to update the
+    * index
+    *
+    * @param storeFolder
+    *
+    * @throws IOException
+    */
+   ThumbnailSegmentStore(final File storeFolder) throws IOException {
+
+      _storeFolder = storeFolder;
+
+      if (storeFolder.isDirectory() == false && storeFolder.mkdirs() == false) {
+         throw new IOException(NLS.bind("Thumbnail store folder \"{0}\" cannot be created", storeFolder)); //$NON-NLS-1$
+      }
+
+      openSegments();
+   }
+
+   private static int getToday() {
+      return (int) LocalDate.now().toEpochDay();
+   }
+
+   private void addEntry(final String key, final Entry entry) {
+
+      entry.segment.usedSize += entry.recordLength;
+
+      final Entry prevEntry = _allEntries.put(key, entry);
+
+      if (prevEntry != null) {
+         prevEntry.segment.usedSize -= prevEntry.recordLength;
+      }
+   }
+
+   /**
+    * Appends a record to the last segment, a new segment is started when the last segment is too
+    * large.
+    */
+   private Entry appendRecord(final String key,
+                              final long photoLastModified,
+                              final int originalImageWidth,
+                              final int originalImageHeight,
+                              final byte[] imageData,
+                              final int lastAccessDay) throws IOException {
+
+      if (_lastSegment == null || _lastSegment.size >= MAX_SEGMENT_SIZE) {
+
+         final int segmentId = _allSegments.isEmpty() ? 1 : _allSegments.lastKey() + 1;
+
+         _lastSegment = openSegment(segmentId, getSegmentFile(segmentId));
+      }
+
+      final byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+      final int recordLength = RECORD_HEADER_SIZE + keyBytes.length + imageData.length;
+
+      final ByteBuffer record = ByteBuffer.allocate(recordLength)
+
+            .putInt(RECORD_MAGIC)
+            .putShort((short) keyBytes.length)
+            .putLong(photoLastModified)
+            .putInt(originalImageWidth)
+            .putInt(originalImageHeight)
+            .putInt(imageData.length)
+            .put(keyBytes)
+            .put(imageData)
+
+            .flip();
+
+      final long recordOffset = _lastSegment.size;
+
+      while (record.hasRemaining()) {
+         _lastSegment.channel.write(record, recordOffset + record.position());
+      }
+
+      _lastSegment.size += recordLength;
+
+      final Entry entry = new Entry();
+
+      entry.segment = _lastSegment;
+      entry.recordOffset = (int) recordOffset;
+      entry.recordLength = recordLength;
+      entry.imageLength = imageData.length;
+      entry.photoLastModified = photoLastModified;
+      entry.originalImageWidth = originalImageWidth;
+      entry.originalImageHeight = originalImageHeight;
+      entry.lastAccessDay = lastAccessDay;
+
+      _isIndexModified = true;
+
+      return entry;
+   }
+
+   /**
+    * Saves the index and closes all segment files, the store cannot be used afterwards.
+    */
+   synchronized void close() {
+
+      saveIndex();
+
+      for (final Segment segment : _allSegments.values()) {
+         closeSegment(segment);
+      }
+
+      _allSegments.clear();
+      _allEntries.clear();
+
+      _lastSegment = null;
+   }
+
+   private void closeSegment(final Segment segment) {
+
+      segment.mappedBuffer = null;
+
+      try {
+         segment.channel.close();
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+   }
+
+   /**
+    * Removes images which were not accessed since the oldest access day and rewrites segments which
+    * contain mainly replaced or removed images.
+    *
+    * @param oldestAccessDay
+    *           Epoch day, images which were not read or written since this day are removed
+    * @param monitor
+    */
+   void compact(final int oldestAccessDay, final IProgressMonitor monitor) {
+
+      final List<Segment> allCompactedSegments = new ArrayList<>();
+
+      int numCheckedImages;
+      int numRemovedImages = 0;
+      long removedSize = 0;
+
+      synchronized (this) {
+
+         numCheckedImages = _allEntries.size();
+
+         for (final Iterator<Entry> iterator = _allEntries.values().iterator(); iterator.hasNext();) {
+
+            final Entry entry = iterator.next();
+
+            if (entry.lastAccessDay < oldestAccessDay) {
+
+               iterator.remove();
+
+               entry.segment.usedSize -= entry.recordLength;
+
+               numRemovedImages++;
+               _isIndexModified = true;
+            }
+         }
+
+         for (final Segment segment : _allSegments.values()) {
+
+            if (segment != _lastSegment && segment.size - segment.usedSize > segment.size * MAX_UNUSED_RATIO) {
+               allCompactedSegments.add(segment);
+            }
+         }
+      }
+
+      monitor.beginTask(
+            NLS.bind(Messages.Thumbnail_Store_CleanupTask, getToday() - oldestAccessDay),
+            allCompactedSegments.size());
+
+      for (final Segment segment : allCompactedSegments) {
+
+         if (monitor.isCanceled()) {
+            break;
+         }
+
+         monitor.subTask(NLS.bind(Messages.Thumbnail_Store_CleanupTask_Subtask,
+               new Object[] {
+                     numCheckedImages,
+                     numRemovedImages,
+                     Long.toString(removedSize / MBYTE),
+                     segment.file.getName() }));
+
+         try {
+
+            removedSize += compactSegment(segment);
+
+         } catch (final IOException e) {
+
+            StatusUtil.log(NLS.bind("Cannot compact thumbnail store segment \"{0}\"", segment.file), e); //$NON-NLS-1$
+         }
+
+         monitor.worked(1);
+      }
+
+      saveIndex();
+
+      monitor.done();
+   }
+
+   /**
+    * Copies the used records of a segment into the last segment and deletes the segment.
+    *
+    * @return Returns the size which is freed
+    *
+    * @throws IOException
+    */
+   private long compactSegment(final Segment segment) throws IOException {
+
+      final List<String> allSegmentKeys = new ArrayList<>();
+
+      synchronized (this) {
+
+         for (final Map.Entry<String, Entry> mapEntry : _allEntries.entrySet()) {
+            if (mapEntry.getValue().segment == segment) {
+               allSegmentKeys.add(mapEntry.getKey());
+            }
+         }
+      }
+
+      for (final String key : allSegmentKeys) {
+
+         // copy each record separately that images can be read and written in the meantime
+
+         synchronized (this) {
+
+            final Entry entry = _allEntries.get(key);
+
+            // the image could have been replaced or removed in the meantime
+            if (entry == null || entry.segment != segment) {
+               continue;
+            }
+
+            addEntry(key, appendRecord(
+                  key,
+                  entry.photoLastModified,
+                  entry.originalImageWidth,
+                  entry.originalImageHeight,
+                  readImageData(entry),
+                  entry.lastAccessDay));
+         }
+      }
+
+      synchronized (this) {
+
+         _allSegments.remove(segment.id);
+
+         closeSegment(segment);
+
+         // save the index before the segment is deleted, otherwise the moved images are lost after a crash
+         saveIndex();
+      }
+
+      /*
+       * A mapped file cannot be deleted on Windows until the mapping is garbage collected, such a
+       * segment is deleted when the store is opened the next time because it's not contained in
+       * the index
+       */
+      if (segment.file.delete() == false) {
+         StatusUtil.logInfo(NLS.bind("Thumbnail store segment \"{0}\" will be deleted later", segment.file)); //$NON-NLS-1$
+      }
+
+      return segment.size;
+   }
+
+   /**
+    * @param key
+    * @param photoLastModified
+    *           Last modified time of the photo file, an image of an older photo file is not returned
+    *
+    * @return Returns the image from the store or <code>null</code> when it is not available
+    */
+   StoreImage getImage(final String key, final long photoLastModified) {
+
+      final Entry entry;
+      final ByteBuffer segmentBuffer;
+
+      synchronized (this) {
+
+         entry = _allEntries.get(key);
+
+         if (entry == null) {
+            return null;
+         }
+
+         if (entry.photoLastModified != photoLastModified) {
+
+            // the photo was modified after the image was created
+
+            removeImage(key);
+
+            return null;
+         }
+
+         final int today = getToday();
+
+         if (entry.lastAccessDay != today) {
+
+            // track the access that a cleanup can remove images which are not used any more
+
+            entry.lastAccessDay = today;
+            _isIndexModified = true;
+         }
+
+         try {
+
+            segmentBuffer = entry.segment.getBuffer(entry.getImageOffset() + entry.imageLength);
+
+         } catch (final IOException e) {
+
+            StatusUtil.log(NLS.bind("Cannot read thumbnail store segment \"{0}\"", entry.segment.file), e); //$NON-NLS-1$
+
+            return null;
+         }
+      }
+
+      // copy the image outside of the lock, a mapped buffer is valid until it is garbage collected
+
+      final byte[] imageData = new byte[entry.imageLength];
+      segmentBuffer.get(entry.getImageOffset(), imageData);
+
+      return new StoreImage(imageData, entry.originalImageWidth, entry.originalImageHeight);
+   }
+
+   private File getSegmentFile(final int segmentId) {
+      return new File(_storeFolder, SEGMENT_FILE_PREFIX + String.format("%08d", segmentId) + SEGMENT_FILE_EXTENSION); //$NON-NLS-1$
+   }
+
+   /**
+    * @return Returns the segment id from the file name or -1 when it is not a segment file
+    */
+   private int getSegmentId(final String fileName) {
+
+      if (fileName.startsWith(SEGMENT_FILE_PREFIX) == false || fileName.endsWith(SEGMENT_FILE_EXTENSION) == false) {
+         return -1;
+      }
+
+      try {
+
+         return Integer.parseInt(fileName.substring(
+               SEGMENT_FILE_PREFIX.length(),
+               fileName.length() - SEGMENT_FILE_EXTENSION.length()));
+
+      } catch (final NumberFormatException e) {
+         return -1;
+      }
+   }
+
+   /**
+    * Reads the index file and returns the size of each segment which is contained in the index.
+    *
+    * @return Returns <code>null</code> when the index is not available or cannot be read
+    */
+   private Map<Integer, Long> loadIndex(final Map<Integer, Segment> allSegmentFiles) {
+
+      final File indexFile = new File(_storeFolder, INDEX_FILE_NAME);
+
+      if (indexFile.isFile() == false) {
+         return null;
+      }
+
+      final Map<Integer, Long> allIndexedSizes = new HashMap<>();
+
+      try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+
+         if (input.readInt() != INDEX_MAGIC || input.readInt() != INDEX_VERSION) {
+            return null;
+         }
+
+         final int numSegments = input.readInt();
+
+         for (int segmentIndex = 0; segmentIndex < numSegments; segmentIndex++) {
+
+            final int segmentId = input.readInt();
+            final long indexedSize = input.readLong();
+
+            final Segment segment = allSegmentFiles.get(segmentId);
+
+            if (segment != null && segment.size < indexedSize) {
+
+               // the segment was truncated after the index was saved
+               return null;
+            }
+
+            allIndexedSizes.put(segmentId, indexedSize);
+         }
+
+         final int numEntries = input.readInt();
+
+         for (int entryIndex = 0; entryIndex < numEntries; entryIndex++) {
+
+            final String key = input.readUTF();
+
+            final Entry entry = new Entry();
+
+            final Segment segment = allSegmentFiles.get(input.readInt());
+
+            entry.recordOffset = input.readInt();
+            entry.recordLength = input.readInt();
+            entry.imageLength = input.readInt();
+            entry.photoLastModified = input.readLong();
+            entry.originalImageWidth = input.readInt();
+            entry.originalImageHeight = input.readInt();
+            entry.lastAccessDay = input.readInt();
+
+            if (segment != null) {
+
+               entry.segment = segment;
+
+               addEntry(key, entry);
+            }
+         }
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(NLS.bind("Thumbnail store index \"{0}\" cannot be read, it will be recreated", indexFile), e); //$NON-NLS-1$
+
+         return null;
+      }
+
+      return allIndexedSizes;
+   }
+
+   private Segment openSegment(final int segmentId, final File segmentFile) throws IOException {
+
+      final Segment segment = new Segment();
+
+      segment.id = segmentId;
+      segment.file = segmentFile;
+      segment.channel = FileChannel.open(segmentFile.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+      segment.size = segment.channel.size();
+
+      _allSegments.put(segmentId, segment);
+
+      return segment;
+   }
+
+   private void openSegments() throws IOException {
+
+      final Map<Integer, Segment> allSegmentFiles = new TreeMap<>();
+
+      final File[] allFiles = _storeFolder.listFiles();
+
+      if (allFiles != null) {
+
+         for (final File file : allFiles) {
+
+            final int segmentId = getSegmentId(file.getName());
+
+            if (segmentId != -1) {
+               allSegmentFiles.put(segmentId, openSegment(segmentId, file));
+            }
+         }
+      }
+
+      Map<Integer, Long> allIndexedSizes = loadIndex(allSegmentFiles);
+
+      if (allIndexedSizes == null) {
+
+         // the index is not available or invalid -> read all segments
+
+         _allEntries.clear();
+
+         for (final Segment segment : allSegmentFiles.values()) {
+            segment.usedSize = 0;
+         }
+
+         allIndexedSizes = new HashMap<>();
+      }
+
+      final int maxIndexedSegmentId = allIndexedSizes.isEmpty() ? 0 : allIndexedSizes.keySet().stream().max(Integer::compare).get();
+
+      for (final Segment segment : allSegmentFiles.values()) {
+
+         final Long indexedSize = allIndexedSizes.get(segment.id);
+
+         if (indexedSize == null && segment.id <= maxIndexedSegmentId) {
+
+            // segment was compacted but could not be deleted
+
+            _allSegments.remove(segment.id);
+
+            closeSegment(segment);
+
+            if (segment.file.delete() == false) {
+               StatusUtil.logError(NLS.bind("Cannot delete file: {0}", segment.file)); //$NON-NLS-1$
+            }
+
+            continue;
+         }
+
+         final long readOffset = indexedSize == null ? 0 : indexedSize;
+
+         if (readOffset < segment.size) {
+
+            // images were saved after the index was saved
+
+            readSegment(segment, readOffset);
+
+            _isIndexModified = true;
+         }
+      }
+
+      _lastSegment = _allSegments.isEmpty() ? null : _allSegments.lastEntry().getValue();
+   }
+
+   /**
+    * Reads from the segment file until the buffer is full.
+    *
+    * @return Returns <code>false</code> when the end of the file is reached before the buffer is
+    *         full
+    */
+   private boolean readFully(final Segment segment, final ByteBuffer buffer, final long position) throws IOException {
+
+      buffer.clear();
+
+      while (buffer.hasRemaining()) {
+
+         if (segment.channel.read(buffer, position + buffer.position()) < 0) {
+            return false;
+         }
+      }
+
+      buffer.flip();
+
+      return true;
+   }
+
+   private byte[] readImageData(final Entry entry) throws IOException {
+
+      final ByteBuffer segmentBuffer = entry.segment.getBuffer(entry.getImageOffset() + entry.imageLength);
+
+      final byte[] imageData = new byte[entry.imageLength];
+      segmentBuffer.get(entry.getImageOffset(), imageData);
+
+      return imageData;
+   }
+
+   /**
+    * Adds all records of a segment into the index, a segment is truncated at the first invalid
+    * record, this can happen when the app was killed during saving an image.
+    * <p>
+    * The records are read from the file channel and not from the mapped buffer because a mapped
+    * file cannot be truncated on Windows, the segment is mapped when an image is read.
+    */
+   private void readSegment(final Segment segment, final long readOffset) throws IOException {
+
+      final ByteBuffer headerBuffer = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+
+      final int today = getToday();
+
+      int recordOffset = (int) readOffset;
+
+      while (recordOffset < segment.size) {
+
+         if (segment.size - recordOffset < RECORD_HEADER_SIZE
+               || readFully(segment, headerBuffer, recordOffset) == false
+               || headerBuffer.getInt(0) != RECORD_MAGIC) {
+            break;
+         }
+
+         final int keyLength = headerBuffer.getShort(4) & 0xffff;
+         final int imageLength = headerBuffer.getInt(22);
+         final int recordLength = RECORD_HEADER_SIZE + keyLength + imageLength;
+
+         if (imageLength < 0 || segment.size - recordOffset < recordLength) {
+            break;
+         }
+
+         final ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+
+         if (readFully(segment, keyBuffer, recordOffset + RECORD_HEADER_SIZE) == false) {
+            break;
+         }
+
+         final Entry entry = new Entry();
+
+         entry.segment = segment;
+         entry.recordOffset = recordOffset;
+         entry.recordLength = recordLength;
+         entry.imageLength = imageLength;
+         entry.photoLastModified = headerBuffer.getLong(6);
+         entry.originalImageWidth = headerBuffer.getInt(14);
+         entry.originalImageHeight = headerBuffer.getInt(18);
+         entry.lastAccessDay = today;
+
+         addEntry(new String(keyBuffer.array(), StandardCharsets.UTF_8), entry);
+
+         recordOffset += recordLength;
+      }
+
+      if (recordOffset < segment.size) {
+
+         StatusUtil.logInfo(NLS.bind("Thumbnail store segment \"{0}\" is truncated at {1}", segment.file, recordOffset)); //$NON-NLS-1$
+
+         // the segment is not yet mapped, otherwise it cannot be truncated on Windows
+         segment.channel.truncate(recordOffset);
+         segment.size = recordOffset;
+      }
+   }
+
+   /**
+    * Removes an image from the index, it's record is removed when the segment is compacted.
+    *
+    * @param key
+    */
+   synchronized void removeImage(final String key) {
+
+      final Entry entry = _allEntries.remove(key);
+
+      if (entry != null) {
+
+         entry.segment.usedSize -= entry.recordLength;
+
+         _isIndexModified = true;
+      }
+   }
+
+   /**
+    * Saves the index into a temp file which then replaces the index file, that a crash do not leave
+    * a partly written index.
+    */
+   synchronized void saveIndex() {
+
+      if (_isIndexModified == false) {
+         return;
+      }
+
+      final File tempFile = new File(_storeFolder, INDEX_FILE_NAME_TEMP);
+
+      try {
+
+         try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+
+            output.writeInt(INDEX_MAGIC);
+            output.writeInt(INDEX_VERSION);
+
+            output.writeInt(_allSegments.size());
+
+            for (final Segment segment : _allSegments.values()) {
+
+               output.writeInt(segment.id);
+               output.writeLong(segment.size);
+            }
+
+            output.writeInt(_allEntries.size());
+
+            for (final Map.Entry<String, Entry> mapEntry : _allEntries.entrySet()) {
+
+               final Entry entry = mapEntry.getValue();
+
+               output.writeUTF(mapEntry.getKey());
+
+               output.writeInt(entry.segment.id);
+               output.writeInt(entry.recordOffset);
+               output.writeInt(entry.recordLength);
+               output.writeInt(entry.imageLength);
+               output.writeLong(entry.photoLastModified);
+               output.writeInt(entry.originalImageWidth);
+               output.writeInt(entry.originalImageHeight);
+               output.writeInt(entry.lastAccessDay);
+            }
+         }
+
+         Files.move(
+               tempFile.toPath(),
+               new File(_storeFolder, INDEX_FILE_NAME).toPath(),
+               StandardCopyOption.REPLACE_EXISTING,
+               StandardCopyOption.ATOMIC_MOVE);
+
+         _isIndexModified = false;
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(NLS.bind("Cannot save thumbnail store index \"{0}\"", tempFile), e); //$NON-NLS-1$
+      }
+   }
+
+   /**
+    * Appends an image to the store, an existing image with the same key is replaced.
+    *
+    * @param key
+    * @param photoLastModified
+    * @param originalImageWidth
+    * @param originalImageHeight
+    * @param imageData
+    *
+    * @throws IOException
+    */
+   synchronized void saveImage(final String key,
+                               final long photoLastModified,
+                               final int originalImageWidth,
+                               final int originalImageHeight,
+                               final byte[] imageData) throws IOException {
+
+      addEntry(key, appendRecord(
+            key,
+            photoLastModified,
+            originalImageWidth,
+            originalImageHeight,
+            imageData,
+            getToday()));
+   }
+}
@@ -16,14 +16,12 @@
 package net.tourbook.photo.internal.manager;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.Properties;
-import java.util.concurrent.locks.ReentrantLock;
 
 import javax.imageio.ImageIO;
 
@@ -34,12 +32,16 @@ import net.tourbook.photo.ImageQuality;
 import net.tourbook.photo.Photo;
 import net.tourbook.photo.PhotoActivator;
 import net.tourbook.photo.internal.Messages;
+import net.tourbook.photo.internal.manager.ThumbnailSegmentStore.StoreImage;
 
 import org.apache.commons.imaging.ImageFormats;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -50,73 +52,37 @@ import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.widgets.Display;
 
+/**
+ * Thumbnail images are saved in a {@link ThumbnailSegmentStore}, older versions saved each image
+ * with a properties file into a sub folder of the store, these files are deleted with the next
+ * cleanup.
+ */
 public class ThumbnailStore {
 
-   private static final long   MBYTE                         = 1024 * 1024L;
-
-   private static final String THUMBNAIL_IMAGE_EXTENSION_JPG = "jpg";             //$NON-NLS-1$
+   private static final String                THUMBNAIL_IMAGE_EXTENSION_JPG = "jpg";             //$NON-NLS-1$
 
    /** The png format is necessary because jpg do not support transparency */
-   private static final String THUMBNAIL_IMAGE_EXTENSION_PNG = "png";             //$NON-NLS-1$
-
-   private static final String THUMBNAIL_STORE_OS_PATH       = "thumbnail-store"; //$NON-NLS-1$
-
-   /*
-    * Photo image properties are saved in a properties file
-    */
-   private static final String        PROPERTIES_FILE_EXTENSION = "properties";                 //$NON-NLS-1$
-   public static final String         ORIGINAL_IMAGE_WIDTH      = "OriginalImageWidth";         //$NON-NLS-1$
-   public static final String         ORIGINAL_IMAGE_HEIGHT     = "OriginalImageHeight";        //$NON-NLS-1$
-
-   private static IPreferenceStore    _prefStore                = PhotoActivator.getPrefStore();
+   private static final String                THUMBNAIL_IMAGE_EXTENSION_PNG = "png";             //$NON-NLS-1$
 
-   private static IPath               _storePath                = getThumbnailStorePath();
+   private static final String                THUMBNAIL_STORE_OS_PATH       = "thumbnail-store"; //$NON-NLS-1$
 
    /**
-    * Images will be deleted when they are older than this date (in milliseconds)
+    * Folder in the thumbnail store which contains the segment files
     */
-   private static long                _dateToDeleteOlderImagesMillis;
-
-   private static long                _deleteUI_UpdateTime;
-   private static int                 _deleteUI_DeletedFiles;
-   private static int                 _deleteUI_CheckedFiles;
-   private static long                _deleteUI_FilesSize;
-   private static File                _errorFile;
-
-   private static final ReentrantLock SAVE_LOCK                 = new ReentrantLock();
-
-   private static IPath checkPath(final IPath storeImageFilePath) {
-
-      final IPath imagePathWithoutExt = storeImageFilePath.removeFileExtension();
+   private static final String                SEGMENT_STORE_FOLDER          = "segments";        //$NON-NLS-1$
 
-      // check store sub directory
-      final File storeSubDir = imagePathWithoutExt.removeLastSegments(1).toFile();
-      if (storeSubDir.exists() == false) {
+   private static IPreferenceStore            _prefStore                    = PhotoActivator.getPrefStore();
 
-         SAVE_LOCK.lock();
+   private static IPath                       _storePath                    = getThumbnailStorePath();
 
-         try {
-            // check again
-            if (storeSubDir.exists() == false) {
-
-               // create store sub directory
-
-               if (storeSubDir.mkdirs() == false) {
+   private static ThumbnailSegmentStore       _segmentStore;
 
-                  StatusUtil.log(NLS.bind(//
-                        "Thumbnail image path \"{0}\" cannot be created", //$NON-NLS-1$
-                        storeSubDir.getAbsolutePath()), new Exception());
-
-                  return null;
-               }
-            }
+   /**
+    * Job which compacts the segment store, it must be stopped before the store is closed
+    */
+   private static Job                         _compactJob;
 
-         } finally {
-            SAVE_LOCK.unlock();
-         }
-      }
-      return imagePathWithoutExt;
-   }
+   private static File                        _errorFile;
 
    /**
     * @param isDeleteAllImages
@@ -126,9 +92,11 @@ public class ThumbnailStore {
     */
    public static void cleanupStoreFiles(final boolean isDeleteAllImages, final boolean isIgnoreCleanupPeriod) {
 
+      _errorFile = null;
+
       if (isDeleteAllImages) {
 
-         doCleanup(Integer.MIN_VALUE, Long.MIN_VALUE, true);
+         doCleanupAll();
 
          return;
       }
@@ -145,7 +113,7 @@ public class ThumbnailStore {
       // check if cleanup is done always
       if (daysToKeepImages == 0) {
 
-         doCleanup(Integer.MIN_VALUE, Long.MIN_VALUE, true);
+         doCleanupAll();
 
       } else {
 
@@ -167,18 +135,10 @@ public class ThumbnailStore {
          // check if cleanup needs to be done
          if (isIgnoreCleanupPeriod || cleanupPeriod == 0 || lastCleanupDayDiff >= cleanupPeriod) {
 
-            // convert kept days into a date in milliseconds
-            final ZonedDateTime cleanupDate = today.minusDays(daysToKeepImages);
-
-            final ZonedDateTime cleanupDateTime = TimeTools
-                  .now()
-                  .withYear(cleanupDate.getYear())
-                  .withMonth(cleanupDate.getMonthValue())
-                  .withDayOfMonth(cleanupDate.getDayOfMonth());
+            // convert kept days into the oldest day when an image was accessed
+            final int oldestAccessDay = (int) today.minusDays(daysToKeepImages).toLocalDate().toEpochDay();
 
-            final long dateToDeleteOlderImagesMillis = cleanupDateTime.toInstant().toEpochMilli();
-
-            doCleanup(daysToKeepImages, dateToDeleteOlderImagesMillis, false);
+            doCleanupCompact(daysToKeepImages, oldestAccessDay);
          }
       }
 
@@ -196,76 +156,53 @@ public class ThumbnailStore {
     */
    public static void cleanupStoreFiles(final File[] imageFiles) {
 
+      final ThumbnailSegmentStore segmentStore = getSegmentStore();
+
+      if (segmentStore == null) {
+         return;
+      }
+
       for (final File imageFile : imageFiles) {
 
          final String imageFilePath = imageFile.getPath();
 
 // SET_FORMATTING_OFF
 
-         cleanupStoreFiles_10_QFile(imageFile, ImageQuality.THUMB,      Photo.getImageKey_Thumb(imageFilePath),   ImageFormats.JPEG);
-         cleanupStoreFiles_10_QFile(imageFile, ImageQuality.THUMB_HQ,   Photo.getImageKey_ThumbHQ(imageFilePath), ImageFormats.JPEG);
-         cleanupStoreFiles_10_QFile(imageFile, ImageQuality.HQ,         Photo.getImageKey_HQ(imageFilePath),      ImageFormats.JPEG);
+         segmentStore.removeImage(getStoreKey(Photo.getImageKey_Thumb(imageFilePath),     ImageQuality.THUMB,     ImageFormats.JPEG));
+         segmentStore.removeImage(getStoreKey(Photo.getImageKey_ThumbHQ(imageFilePath),   ImageQuality.THUMB_HQ,  ImageFormats.JPEG));
+         segmentStore.removeImage(getStoreKey(Photo.getImageKey_HQ(imageFilePath),        ImageQuality.HQ,        ImageFormats.JPEG));
 
-         cleanupStoreFiles_10_QFile(imageFile, ImageQuality.THUMB,      Photo.getImageKey_Thumb(imageFilePath),   ImageFormats.PNG);
-         cleanupStoreFiles_10_QFile(imageFile, ImageQuality.THUMB_HQ,   Photo.getImageKey_ThumbHQ(imageFilePath), ImageFormats.PNG);
-         cleanupStoreFiles_10_QFile(imageFile, ImageQuality.HQ,         Photo.getImageKey_HQ(imageFilePath),      ImageFormats.PNG);
+         segmentStore.removeImage(getStoreKey(Photo.getImageKey_Thumb(imageFilePath),     ImageQuality.THUMB,     ImageFormats.PNG));
+         segmentStore.removeImage(getStoreKey(Photo.getImageKey_ThumbHQ(imageFilePath),   ImageQuality.THUMB_HQ,  ImageFormats.PNG));
+         segmentStore.removeImage(getStoreKey(Photo.getImageKey_HQ(imageFilePath),        ImageQuality.HQ,        ImageFormats.PNG));
 
 // SET_FORMATTING_ON
       }
    }
 
-   private static void cleanupStoreFiles_10_QFile(final File imageFile,
-                                                  final ImageQuality imageQuality,
-                                                  final String imageKey,
-                                                  final ImageFormats imageFormat) {
-
-      final IPath storeImagePath = getStoreImagePath(imageFile.getName(), imageKey, imageQuality, imageFormat);
-      final IPath propImagePath = getPropertiesPathFromImagePath(storeImagePath);
-
-      cleanupStoreFiles_20_Delete(storeImagePath);
-      cleanupStoreFiles_20_Delete(propImagePath);
-   }
-
-   private static void cleanupStoreFiles_20_Delete(final IPath storeImagePath) {
-
-      final String storeFilePath = storeImagePath.toOSString();
-
-      final File storeFile = new File(storeFilePath);
-
-      if (storeFile.isFile()) {
+   /**
+    * Saves the index of the segment store and closes it, it is opened again when an image is
+    * loaded or saved.
+    */
+   public static synchronized void close() {
 
-//			/*
-//			 * Java 7
-//			 */
-//			try {
-//
-//				final java.nio.file.Path path = FileSystems.getDefault().getPath(storeFilePath);
-//
-//				Files.delete(path);
-//
-//			} catch (final Exception e) {
-//				StatusUtil.log(NLS.bind("cannot delete file: {0}", storeFilePath)); //$NON-NLS-1$
-//			}
+      // the compacting must be stopped before the index is saved and the segments are closed
+      stopCompactJob();
 
-         final boolean isDeleted = storeFile.delete();
+      if (_segmentStore != null) {
 
-         if (isDeleted == false) {
-            StatusUtil.logError(NLS.bind("Cannot delete file: {0}", storeFilePath)); //$NON-NLS-1$
-         }
+         _segmentStore.close();
+         _segmentStore = null;
       }
    }
 
-   private static void doCleanup(final int daysToKeepImages,
-                                 final long dateToDeleteOlderImagesMillis,
-                                 final boolean isDeleteAll) {
-
-      _errorFile = null;
-      _dateToDeleteOlderImagesMillis = dateToDeleteOlderImagesMillis;
+   /**
+    * Deletes the whole thumbnail store
+    */
+   private static void doCleanupAll() {
 
-      _deleteUI_UpdateTime = System.currentTimeMillis();
-      _deleteUI_DeletedFiles = 0;
-      _deleteUI_CheckedFiles = 0;
-      _deleteUI_FilesSize = 0;
+      // segment files cannot be deleted when they are open or compacted
+      close();
 
       try {
 
@@ -278,21 +215,12 @@ public class ThumbnailStore {
                final File[] rootFiles = rootFolder.listFiles();
 
                // show tasks info
-               String message;
-               if (isDeleteAll) {
-                  message = Messages.Thumbnail_Store_CleanupTask_AllFiles;
-               } else {
-                  message = NLS.bind(Messages.Thumbnail_Store_CleanupTask, daysToKeepImages);
-               }
-               monitor.beginTask(message, rootFiles.length);
+               monitor.beginTask(Messages.Thumbnail_Store_CleanupTask_AllFiles, rootFiles.length);
 
                for (final File folder : rootFiles) {
 
-                  if (isDeleteAll) {
-                     doCleanupAll(folder, monitor);
-                  } else {
-
-                     doCleanupDeleteFiles(folder, monitor);
+                  if (doCleanupAll(folder, monitor) == false && monitor.isCanceled() == false) {
+                     _errorFile = folder;
                   }
 
                   if (monitor.isCanceled()) {
@@ -344,6 +272,10 @@ public class ThumbnailStore {
             file.delete();
          }
 
+         result = directory.delete();
+
+      } else {
+
          result = directory.delete();
       }
 
@@ -351,103 +283,79 @@ public class ThumbnailStore {
    }
 
    /**
-    * !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!! RECURSIVE !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!<br>
-    * <br>
-    * Deletes files and subdirectories. If a deletion fails, the method stops attempting to delete.
-    * <br>
-    * <br>
-    * !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!! RECURSIVE !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!<br>
-    *
-    * @param fileOrFolder
-    * @param monitor
+    * Removes images which were not accessed since the oldest access day, this is done in a
+    * background job which do not block the UI.
     *
-    * @return Returns number of deleted files
+    * @param daysToKeepImages
+    * @param oldestAccessDay
     */
-   private static int doCleanupDeleteFiles(final File fileOrFolder, final IProgressMonitor monitor) {
+   private static synchronized void doCleanupCompact(final int daysToKeepImages, final int oldestAccessDay) {
 
-      if (monitor.isCanceled()) {
-         return 0;
-      }
+      stopCompactJob();
 
-      boolean isFile = false;
-      boolean doDeleteFileFolder = false;
+      /*
+       * The segment store is opened before the job is started, the job must not lock the thumbnail
+       * store because it is joined while the store is locked
+       */
+      final ThumbnailSegmentStore segmentStore = getSegmentStore();
 
-      if (fileOrFolder.isDirectory()) {
+      _compactJob = new Job(NLS.bind(Messages.Thumbnail_Store_CleanupTask, daysToKeepImages)) {
 
-         // file is a folder
+         @Override
+         protected IStatus run(final IProgressMonitor monitor) {
 
-         int deletedFileFolder = 0;
-         final String[] allFileFolder = fileOrFolder.list();
+            try {
 
-         for (final String fileFolder2 : allFileFolder) {
-            deletedFileFolder += doCleanupDeleteFiles(new File(fileOrFolder, fileFolder2), monitor);
-         }
+               doCleanupLegacyFiles(monitor);
 
-         // delete this folder when all children are deleted
-         if (deletedFileFolder == allFileFolder.length) {
-            doDeleteFileFolder = true;
-         }
+               if (segmentStore != null && monitor.isCanceled() == false) {
+                  segmentStore.compact(oldestAccessDay, monitor);
+               }
 
-         // update monitor every 200ms
-         final long time = System.currentTimeMillis();
-         if (time > _deleteUI_UpdateTime + 200) {
+            } catch (final Exception e) {
+               StatusUtil.log(e);
+            }
 
-            _deleteUI_UpdateTime = time;
+            return Status.OK_STATUS;
+         }
+      };
 
-            // show only the ending part of the folder name
-            final String fileFolderName = fileOrFolder.toString();
-            final int endIndex = fileFolderName.length();
-            int beginIndex = endIndex - 90;
-            beginIndex = beginIndex < 0 ? 0 : beginIndex;
+      _compactJob.setPriority(Job.DECORATE);
+      _compactJob.schedule();
 
-            monitor.subTask(NLS.bind(Messages.Thumbnail_Store_CleanupTask_Subtask, //
-                  new Object[] {
-                        _deleteUI_CheckedFiles,
-                        _deleteUI_DeletedFiles,
-                        Long.toString(_deleteUI_FilesSize / MBYTE),
-                        fileFolderName.substring(beginIndex, endIndex) }));
-         }
+      // update last cleanup time
+      _prefStore.setValue(//
+            IPhotoPreferences.PHOTO_THUMBNAIL_STORE_LAST_CLEANUP_DATE_TIME,
+            TimeTools.now().toInstant().toEpochMilli());
+   }
 
-      } else {
+   /**
+    * Deletes the image and properties files which were saved before the segment store was used.
+    *
+    * @param monitor
+    */
+   private static void doCleanupLegacyFiles(final IProgressMonitor monitor) {
 
-         // file is a file
+      final File[] rootFiles = _storePath.toFile().listFiles();
 
-         if (_dateToDeleteOlderImagesMillis == Long.MIN_VALUE
-               || fileOrFolder.lastModified() < _dateToDeleteOlderImagesMillis) {
-            doDeleteFileFolder = true;
-            isFile = true;
-         }
+      if (rootFiles == null) {
+         return;
       }
 
-      boolean isFileFolderDeleted = false;
-      if (doDeleteFileFolder) {
+      for (final File rootFile : rootFiles) {
 
-         if (isFile) {
-            _deleteUI_FilesSize += fileOrFolder.length();
+         if (SEGMENT_STORE_FOLDER.equals(rootFile.getName())) {
+            continue;
          }
 
-         // the folder is now empty so it can be deleted
-         isFileFolderDeleted = fileOrFolder.delete();
-
-         _deleteUI_DeletedFiles++;
-      }
-
-      _deleteUI_CheckedFiles++;
-
-      /*
-       * !!! canceled must be checked before isFileFolderDeleted is checked because this returns
-       * false when the monitor is canceled !!!
-       */
-      if (monitor.isCanceled()) {
-         return isFileFolderDeleted ? 1 : 0;
-      }
+         if (doCleanupAll(rootFile, monitor) == false && monitor.isCanceled() == false) {
+            StatusUtil.logError(NLS.bind("Cannot delete file: {0}", rootFile)); //$NON-NLS-1$
+         }
 
-      if (doDeleteFileFolder && isFileFolderDeleted == false) {
-         _errorFile = fileOrFolder;
-         monitor.setCanceled(true);
+         if (monitor.isCanceled()) {
+            return;
+         }
       }
-
-      return isFileFolderDeleted ? 1 : 0;
    }
 
    private static String getImageFileExtension(final ImageFormats imageFormat) {
@@ -463,54 +371,56 @@ public class ThumbnailStore {
 
    }
 
-   static IPath getPropertiesPathFromImagePath(final IPath storeImageFilePath) {
+   /**
+    * @return Returns the segment store or <code>null</code> when it cannot be opened
+    */
+   private static synchronized ThumbnailSegmentStore getSegmentStore() {
 
-      final String rawFileName = storeImageFilePath.removeFileExtension().lastSegment();
+      if (_segmentStore == null) {
 
-      final IPath propImageFilePath = storeImageFilePath
-            .removeLastSegments(1)
-            .append(rawFileName)
-            .addFileExtension(PROPERTIES_FILE_EXTENSION);
+         final File segmentStoreFolder = _storePath.append(SEGMENT_STORE_FOLDER).toFile();
 
-      return propImageFilePath;
-   }
-
-   static synchronized IPath getStoreImagePath(final Photo photo,
-                                               final ImageQuality imageQuality,
-                                               final ImageFormats imageFormat) {
+         try {
 
-      if (photo.imageFilePathName.startsWith(_storePath.toOSString())) {
+            _segmentStore = new ThumbnailSegmentStore(segmentStoreFolder);
 
-         // photo image is already from the thumb store
+         } catch (final IOException e) {
 
-         return new Path(photo.imageFilePathName);
+            StatusUtil.log(NLS.bind("Thumbnail store \"{0}\" cannot be opened", segmentStoreFolder), e); //$NON-NLS-1$
+         }
       }
 
-      final String rawImageFileName = photo.imageFileName;
-      final String imageKey = photo.getImageKey(imageQuality);
-
-      final IPath imageFilePath = getStoreImagePath(rawImageFileName, imageKey, imageQuality, imageFormat);
-
-      return imageFilePath;
+      return _segmentStore;
    }
 
-   private static IPath getStoreImagePath(final String rawImageFileName,
-                                          final String imageKey,
-                                          final ImageQuality imageQuality,
-                                          final ImageFormats imageFormat) {
+   /**
+    * @param photo
+    * @param imageQuality
+    * @param imageFormat
+    *
+    * @return Returns the image from the thumbnail store or <code>null</code> when it is not
+    *         available or when the photo file was modified after the image was saved
+    */
+   static StoreImage getStoreImage(final Photo photo,
+                                   final ImageQuality imageQuality,
+                                   final ImageFormats imageFormat) {
 
-      // thumbnail images are stored as jpg file
-      IPath jpgPhotoFilePath = new Path(rawImageFileName);
-      jpgPhotoFilePath = jpgPhotoFilePath.removeFileExtension().addFileExtension(getImageFileExtension(imageFormat));
+      final ThumbnailSegmentStore segmentStore = getSegmentStore();
 
-      final String imageKey1Folder = imageKey.substring(0, 2);
-      final String imageFileName = imageKey + "_" + imageQuality.name() + "_" + jpgPhotoFilePath.toOSString(); //$NON-NLS-1$ //$NON-NLS-2$
+      if (segmentStore == null) {
+         return null;
+      }
+
+      return segmentStore.getImage(
+            getStoreKey(photo.getImageKey(imageQuality), imageQuality, imageFormat),
+            photo.getImageFileLastModified());
+   }
 
-      final IPath imageFilePath = _storePath//
-            .append(imageKey1Folder)
-            .append(imageFileName);
+   private static String getStoreKey(final String imageKey,
+                                     final ImageQuality imageQuality,
+                                     final ImageFormats imageFormat) {
 
-      return imageFilePath;
+      return imageKey + "_" + imageQuality.name() + "." + getImageFileExtension(imageFormat); //$NON-NLS-1$ //$NON-NLS-2$
    }
 
    /**
@@ -584,93 +494,88 @@ public class ThumbnailStore {
       return tnFolderPath.addTrailingSeparator();
    }
 
-   private static void saveProperties(final IPath storeImageFilePath, final Properties originalImageProperties) {
-
-      IPath propImageFilePath = null;
-      FileOutputStream fileStream = null;
-
-      try {
-
-         propImageFilePath = getPropertiesPathFromImagePath(storeImageFilePath);
-
-         final File propFile = new File(propImageFilePath.toOSString());
-
-         fileStream = new FileOutputStream(propFile);
+   /**
+    * @param photo
+    * @param imageQuality
+    * @param imageFormat
+    * @param imageData
+    * @param originalImageWidth
+    * @param originalImageHeight
+    *
+    * @return Returns <code>true</code>when the image could be saved in the thumb store.
+    */
+   private static boolean saveImage(final Photo photo,
+                                    final ImageQuality imageQuality,
+                                    final ImageFormats imageFormat,
+                                    final byte[] imageData,
+                                    final int originalImageWidth,
+                                    final int originalImageHeight) throws IOException {
 
-         originalImageProperties.store(fileStream, null);
+      final ThumbnailSegmentStore segmentStore = getSegmentStore();
 
-      } catch (final Exception e) {
+      if (segmentStore == null) {
+         return false;
+      }
 
-         StatusUtil.log(NLS.bind(//
-               "Cannot save properties file: \"{0}\"", //$NON-NLS-1$
-               propImageFilePath.toOSString()), e);
-      } finally {
+      segmentStore.saveImage(
+            getStoreKey(photo.getImageKey(imageQuality), imageQuality, imageFormat),
+            photo.getImageFileLastModified(),
+            originalImageWidth,
+            originalImageHeight,
+            imageData);
 
-         if (fileStream != null) {
-            try {
-               fileStream.close();
-            } catch (final IOException e) {
-               e.printStackTrace();
-            }
-         }
-      }
+      return true;
    }
 
    /**
     * @param awtResizedImage
-    * @param storeImageFilePath
-    * @param originalImageProperties
+    * @param photo
+    * @param imageQuality
     * @param imageFormat
+    * @param originalImageWidth
+    *           Width of the original image or 0 when it is not available
+    * @param originalImageHeight
+    *           Height of the original image or 0 when it is not available
     *
     * @return Returns <code>true</code>when the image could be saved in the thumb store.
     */
    static boolean saveResizedImage_AWT(final BufferedImage awtResizedImage,
-                                       final IPath storeImageFilePath,
-                                       final Properties originalImageProperties,
-                                       final ImageFormats imageFormat) {
+                                       final Photo photo,
+                                       final ImageQuality imageQuality,
+                                       final ImageFormats imageFormat,
+                                       final int originalImageWidth,
+                                       final int originalImageHeight) {
 
       try {
 
-         final IPath imagePathWithoutExt = checkPath(storeImageFilePath);
+         final ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
 
-         if (imagePathWithoutExt == null) {
+         if (ImageIO.write(awtResizedImage, getImageFileExtension(imageFormat), imageStream) == false) {
             return false;
          }
 
-         ImageIO.write(awtResizedImage, getImageFileExtension(imageFormat), new File(storeImageFilePath.toOSString()));
-
-         if (originalImageProperties != null) {
-
-            saveProperties(storeImageFilePath, originalImageProperties);
-         }
+         return saveImage(photo, imageQuality, imageFormat, imageStream.toByteArray(), originalImageWidth, originalImageHeight);
 
       } catch (final Exception e) {
 
-         StatusUtil.log("Cannot save resized image with AWT: \"%s\"".formatted(storeImageFilePath.toOSString()), e); //$NON-NLS-1$
+         StatusUtil.log("Cannot save resized image with AWT: \"%s\"".formatted(photo.imageFilePathName), e); //$NON-NLS-1$
 
          return false;
       }
-
-      return true;
    }
 
    static boolean saveResizedImage_SWT(final Image swtImage,
-                                       final IPath storeImageFilePath,
-                                       final Properties originalImageProperties,
-                                       final ImageFormats imageFormat) {
+                                       final Photo photo,
+                                       final ImageQuality imageQuality,
+                                       final ImageFormats imageFormat,
+                                       final int originalImageWidth,
+                                       final int originalImageHeight) {
 
       try {
 
-         final IPath imagePathWithoutExt = checkPath(storeImageFilePath);
-         if (imagePathWithoutExt == null) {
-            return false;
-         }
-
          final ImageLoader imageLoader = new ImageLoader();
          imageLoader.data = new ImageData[] { swtImage.getImageData() };
 
-         final IPath fullImageFilePath = imagePathWithoutExt.addFileExtension(getImageFileExtension(imageFormat));
-
          int imageFileExtension;
 
          if (ImageFormats.PNG.equals(imageFormat)) {
@@ -688,19 +593,47 @@ public class ThumbnailStore {
             imageFileExtension = SWT.IMAGE_JPEG;
          }
 
-         imageLoader.save(fullImageFilePath.toOSString(), imageFileExtension);
+         final ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
 
-         saveProperties(storeImageFilePath, originalImageProperties);
+         imageLoader.save(imageStream, imageFileExtension);
+
+         saveImage(photo, imageQuality, imageFormat, imageStream.toByteArray(), originalImageWidth, originalImageHeight);
 
       } catch (final Exception e) {
 
-         StatusUtil.log("Cannot save thumbnail image with SWT: \"%s\"".formatted(storeImageFilePath.toOSString()), e); //$NON-NLS-1$
+         StatusUtil.log("Cannot save thumbnail image with SWT: \"%s\"".formatted(photo.imageFilePathName), e); //$NON-NLS-1$
       }
 
       return true;
    }
 
+   /**
+    * Cancels the compact job and waits until it has ended.
+    */
+   private static synchronized void stopCompactJob() {
+
+      if (_compactJob == null) {
+         return;
+      }
+
+      try {
+
+         _compactJob.cancel();
+         _compactJob.join();
+
+      } catch (final InterruptedException e) {
+         StatusUtil.log(e);
+         Thread.currentThread().interrupt();
+      }
+
+      _compactJob = null;
+   }
+
    public static void updateStoreLocation() {
+
+      // the segment store is opened again in the new location
+      close();
+
       _storePath = getThumbnailStorePath();
    }
 }
@@ -22,8 +22,12 @@ import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourPerson;
+import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticRollup;
 import net.tourbook.statistic.DurationTime;
 import net.tourbook.statistics.Messages;
+import net.tourbook.ui.AppFilter;
+import net.tourbook.ui.AppFilterType;
 import net.tourbook.ui.TourTypeFilter;
 
 public abstract class DataProvider {
@@ -167,6 +171,119 @@ public abstract class DataProvider {
     */
    int[]                allYear_NumWeeks;
 
+   /**
+    * @param isRollup
+    *
+    * @return Returns the app filter for {@link TourDatabase#TABLE_TOUR_DATA} or for the statistic
+    *         rollup which can be filtered only by person and tour type
+    */
+   static AppFilter createAppFilter(final boolean isRollup) {
+
+      return isRollup
+            ? new AppFilter(AppFilterType.Person, AppFilterType.TourType)
+            : new AppFilter(AppFilter.ANY_APP_FILTERS);
+   }
+
+   /**
+    * Creates a statement for the summed HR zones from the statistic rollup, the columns are:
+    * <p>
+    * year, period number, HR zone 0...9
+    *
+    * @param periodType
+    * @param yearList
+    * @param appFilter
+    *
+    * @return
+    */
+   static String createSQL_Rollup_HrZones(final int periodType,
+                                          final String yearList,
+                                          final AppFilter appFilter) {
+
+      return UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                                               //$NON-NLS-1$
+
+            + "   PeriodYear," + NL //                                                    1  //$NON-NLS-1$
+            + "   PeriodNumber," + NL //                                                  2  //$NON-NLS-1$
+
+            + "   SUM(HrZone0), SUM(HrZone1), SUM(HrZone2), SUM(HrZone3), SUM(HrZone4)," + NL // 3...7  //$NON-NLS-1$
+            + "   SUM(HrZone5), SUM(HrZone6), SUM(HrZone7), SUM(HrZone8), SUM(HrZone9)" + NL //  8...12 //$NON-NLS-1$
+
+            + "FROM " + TourDatabase.TABLE_TOUR_STATISTIC_ROLLUP + " TourData" + NL //             //$NON-NLS-1$ //$NON-NLS-2$
+
+            + "WHERE PeriodType = " + periodType + NL //                                   //$NON-NLS-1$
+            + "   AND PeriodYear IN (" + yearList + ")" + NL //                             //$NON-NLS-1$ //$NON-NLS-2$
+
+            + appFilter.getWhereClause()
+
+            + "GROUP BY PeriodYear, PeriodNumber" + NL //                                  //$NON-NLS-1$
+            + "ORDER BY PeriodYear, PeriodNumber" + NL //                                  //$NON-NLS-1$
+      ;
+   }
+
+   /**
+    * Creates a statement for the summed tour values from the statistic rollup, the columns are:
+    * <p>
+    * year, period number (not for years), tour type, elapsed, recorded, paused, moving, duration
+    * time, distance, elevation up, elevation down, number of tours, body weight, body fat
+    * <p>
+    * This is the same sequence as in the statements for {@link TourDatabase#TABLE_TOUR_DATA}.
+    *
+    * @param periodType
+    * @param yearList
+    * @param durationTime
+    * @param appFilter
+    *
+    * @return
+    */
+   static String createSQL_Rollup_TourValues(final int periodType,
+                                             final String yearList,
+                                             final DurationTime durationTime,
+                                             final AppFilter appFilter) {
+
+      final String sqlPeriod = periodType == TourStatisticRollup.PERIOD_TYPE_YEAR
+            ? "PeriodYear" //                                                     //$NON-NLS-1$
+            : "PeriodYear, PeriodNumber"; //                                      //$NON-NLS-1$
+
+      final String sqlSumDurationTime = durationTime == DurationTime.MOVING
+            ? "SUM(DurationTime_Moving)," //                                      //$NON-NLS-1$
+            : createSQL_SumDurationTime(durationTime);
+
+      return UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                                                                 //$NON-NLS-1$
+
+            + "   " + sqlPeriod + "," + NL //                                                                  //$NON-NLS-1$ //$NON-NLS-2$
+
+            + "   TourType_TypeId," + NL //                                                                    //$NON-NLS-1$
+
+            + "   SUM(TourDeviceTime_Elapsed)," + NL //                                                        //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Recorded)," + NL //                                                       //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Paused)," + NL //                                                         //$NON-NLS-1$
+            + "   SUM(TourComputedTime_Moving)," + NL //                                                       //$NON-NLS-1$
+            + "   " + sqlSumDurationTime + NL //                                                               //$NON-NLS-1$
+
+            + "   SUM(TourDistance)," + NL //                                                                  //$NON-NLS-1$
+            + "   SUM(TourAltUp)," + NL //                                                                     //$NON-NLS-1$
+            + "   SUM(TourAltDown)," + NL //                                                                   //$NON-NLS-1$
+
+            + "   SUM(NumTours)," + NL //                                                                      //$NON-NLS-1$
+
+            + "   SUM(BodyWeight_Sum)   / NULLIF(SUM(BodyWeight_Count), 0)," + NL //                           //$NON-NLS-1$
+            + "   SUM(BodyFat_Sum)      / NULLIF(SUM(BodyFat_Count), 0)" + NL //                               //$NON-NLS-1$
+
+            + "FROM " + TourDatabase.TABLE_TOUR_STATISTIC_ROLLUP + " TourData" + NL //                         //$NON-NLS-1$ //$NON-NLS-2$
+
+            + "WHERE PeriodType = " + periodType + NL //                                                       //$NON-NLS-1$
+            + "   AND PeriodYear IN (" + yearList + ")" + NL //                                                 //$NON-NLS-1$ //$NON-NLS-2$
+
+            + appFilter.getWhereClause()
+
+            + "GROUP BY " + sqlPeriod + ", TourType_TypeId" + NL //                                            //$NON-NLS-1$ //$NON-NLS-2$
+            + "ORDER BY " + sqlPeriod + NL //                                                                  //$NON-NLS-1$
+      ;
+   }
+
    static String createSQL_SumDurationTime(final DurationTime durationTime) {
 
       String sqlSumDurationTime = null;
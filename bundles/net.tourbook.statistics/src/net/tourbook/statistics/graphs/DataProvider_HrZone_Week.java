@@ -27,6 +27,7 @@ import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.data.TourPerson;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticRollup;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
 
@@ -280,9 +281,16 @@ public class DataProvider_HrZone_Week extends DataProvider {
 
          _weekData = new TourStatisticData_WeekHrZones();
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+         // summed values are read from the statistic rollup when tours are not filtered by other tour values
+         final boolean isRollup = AppFilter.isPersonAndTourTypeFilterOnly();
 
-         sql = UI.EMPTY_STRING
+         final AppFilter appFilter = createAppFilter(isRollup);
+
+         sql = isRollup
+
+               ? createSQL_Rollup_HrZones(TourStatisticRollup.PERIOD_TYPE_WEEK, getYearList(lastYear, numYears), appFilter)
+
+               : UI.EMPTY_STRING
 
                + "SELECT" + NL //                                                      //$NON-NLS-1$
 
@@ -28,6 +28,7 @@ import net.tourbook.common.util.SQL;
 import net.tourbook.data.TourPerson;
 import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticRollup;
 import net.tourbook.statistic.DurationTime;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
@@ -74,9 +75,16 @@ class DataProvider_Tour_Month extends DataProvider {
 
          _tourMonthData = new TourStatisticData_Month();
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+         // summed values are read from the statistic rollup when tours are not filtered by other tour values
+         final boolean isRollup = AppFilter.isPersonAndTourTypeFilterOnly();
 
-         sql = NL +
+         final AppFilter appFilter = createAppFilter(isRollup);
+
+         sql = isRollup
+
+               ? createSQL_Rollup_TourValues(TourStatisticRollup.PERIOD_TYPE_MONTH, getYearList(lastYear, numYears), durationTime, appFilter)
+
+               : NL +
 
                "SELECT" + NL //                                               //$NON-NLS-1$
 
@@ -32,6 +32,7 @@ import net.tourbook.common.util.SQL;
 import net.tourbook.data.TourPerson;
 import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticRollup;
 import net.tourbook.statistic.DurationTime;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
@@ -327,9 +328,16 @@ class DataProvider_Tour_Week extends DataProvider {
          int numTourTypes = allActiveTourTypes.length;
          numTourTypes = numTourTypes == 0 ? 1 : numTourTypes; // ensure that at least 1 is available
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+         // summed values are read from the statistic rollup when tours are not filtered by other tour values
+         final boolean isRollup = AppFilter.isPersonAndTourTypeFilterOnly();
 
-         sql = UI.EMPTY_STRING
+         final AppFilter appFilter = createAppFilter(isRollup);
+
+         sql = isRollup
+
+               ? createSQL_Rollup_TourValues(TourStatisticRollup.PERIOD_TYPE_WEEK, getYearList(lastYear, numberOfYears), durationTime, appFilter)
+
+               : UI.EMPTY_STRING
 
                + "SELECT" + NL //                                                //$NON-NLS-1$
 
@@ -29,6 +29,7 @@ import net.tourbook.common.util.SQL;
 import net.tourbook.data.TourPerson;
 import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourStatisticRollup;
 import net.tourbook.statistic.DurationTime;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
@@ -256,9 +257,16 @@ public class DataProvider_Tour_Year extends DataProvider {
 
          _tourYearData = new TourStatisticData_Year();
 
-         final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
+         // summed values are read from the statistic rollup when tours are not filtered by other tour values
+         final boolean isRollup = AppFilter.isPersonAndTourTypeFilterOnly();
 
-         sql = NL +
+         final AppFilter appFilter = createAppFilter(isRollup);
+
+         sql = isRollup
+
+               ? createSQL_Rollup_TourValues(TourStatisticRollup.PERIOD_TYPE_YEAR, getYearList(lastYear, numYears), durationTime, appFilter)
+
+               : NL +
 
                "SELECT" + NL //                                               //$NON-NLS-1$
 
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package chart;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import net.tourbook.chart.MinMaxPyramid;
+
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+public class MinMaxPyramidTests {
+
+   private static final int NUM_BENCHMARK_VALUES = 100_000;
+
+   /**
+    * Creates a serie like a tour graph, e.g. altitude or pulse, with many equal values
+    */
+   private static float[] createSerie(final Random random, final int numValues) {
+
+      final float[] values = new float[numValues];
+
+      float value = 100;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         value += random.nextInt(7) - 3;
+         values[valueIndex] = value;
+      }
+
+      return values;
+   }
+
+   private static int getMaxIndex_AllValues(final float[] values, final int firstIndex, final int lastIndex) {
+
+      int maxIndex = firstIndex;
+
+      for (int valueIndex = firstIndex + 1; valueIndex <= lastIndex; valueIndex++) {
+         if (values[valueIndex] > values[maxIndex]) {
+            maxIndex = valueIndex;
+         }
+      }
+
+      return maxIndex;
+   }
+
+   private static int getMinIndex_AllValues(final float[] values, final int firstIndex, final int lastIndex) {
+
+      int minIndex = firstIndex;
+
+      for (int valueIndex = firstIndex + 1; valueIndex <= lastIndex; valueIndex++) {
+         if (values[valueIndex] < values[minIndex]) {
+            minIndex = valueIndex;
+         }
+      }
+
+      return minIndex;
+   }
+
+   /**
+    * Compares the time to get the min/max values of all pixel columns with the time to scan all
+    * values, this is what the line graph is doing for each painting.
+    * <p>
+    * The time depends on the machine, so the benchmark is not run with the default tests, the
+    * times are published with the test report.
+    */
+   @Disabled("Benchmark, it is run manually") //$NON-NLS-1$
+   @Test
+   void testBenchmark(final TestReporter testReporter) {
+
+      final float[] values = createSerie(new Random(3), NUM_BENCHMARK_VALUES);
+      final MinMaxPyramid minMaxPyramid = new MinMaxPyramid(values);
+
+      final int numRepeats = 20;
+
+      for (final int numPixelColumns : new int[] { 100, 1000, 10_000 }) {
+
+         final double valuesPerColumn = (double) NUM_BENCHMARK_VALUES / numPixelColumns;
+
+         long checksumPyramid = 0;
+         long checksumAllValues = 0;
+
+         long startTime = System.nanoTime();
+
+         for (int repeatIndex = 0; repeatIndex < numRepeats; repeatIndex++) {
+
+            for (int columnIndex = 0; columnIndex < numPixelColumns; columnIndex++) {
+
+               final int firstIndex = (int) (columnIndex * valuesPerColumn);
+               final int lastIndex = (int) ((columnIndex + 1) * valuesPerColumn) - 1;
+
+               checksumPyramid += minMaxPyramid.getMinIndex(firstIndex, lastIndex)
+                     + minMaxPyramid.getMaxIndex(firstIndex, lastIndex);
+            }
+         }
+
+         final long pyramidTime = System.nanoTime() - startTime;
+
+         startTime = System.nanoTime();
+
+         for (int repeatIndex = 0; repeatIndex < numRepeats; repeatIndex++) {
+
+            for (int columnIndex = 0; columnIndex < numPixelColumns; columnIndex++) {
+
+               final int firstIndex = (int) (columnIndex * valuesPerColumn);
+               final int lastIndex = (int) ((columnIndex + 1) * valuesPerColumn) - 1;
+
+               checksumAllValues += getMinIndex_AllValues(values, firstIndex, lastIndex)
+                     + getMaxIndex_AllValues(values, firstIndex, lastIndex);
+            }
+         }
+
+         final long allValuesTime = System.nanoTime() - startTime;
+
+         assertEquals(checksumAllValues, checksumPyramid);
+
+         testReporter.publishEntry(numPixelColumns + " pixel columns", "pyramid %.3f ms   all values %.3f ms".formatted( //$NON-NLS-1$ //$NON-NLS-2$
+               pyramidTime / 1e6 / numRepeats,
+               allValuesTime / 1e6 / numRepeats));
+      }
+   }
+
+   /**
+    * The min/max values of each pixel column must be the same as when all values of the pixel
+    * column are scanned
+    */
+   @Test
+   void testPixelColumns() {
+
+      final int numValues = 10_007;
+
+      final float[] values = createSerie(new Random(7), numValues);
+      final MinMaxPyramid minMaxPyramid = new MinMaxPyramid(values);
+
+      for (final int numPixelColumns : new int[] { 1, 3, 100, 999, numValues }) {
+
+         final double valuesPerColumn = (double) numValues / numPixelColumns;
+
+         for (int columnIndex = 0; columnIndex < numPixelColumns; columnIndex++) {
+
+            final int firstIndex = (int) (columnIndex * valuesPerColumn);
+            final int lastIndex = Math.max(firstIndex, (int) ((columnIndex + 1) * valuesPerColumn) - 1);
+
+            final String message = numPixelColumns + " pixel columns, column " + columnIndex; //$NON-NLS-1$
+
+            assertEquals(values[getMinIndex_AllValues(values, firstIndex, lastIndex)],
+                  values[minMaxPyramid.getMinIndex(firstIndex, lastIndex)],
+                  message);
+
+            assertEquals(values[getMaxIndex_AllValues(values, firstIndex, lastIndex)],
+                  values[minMaxPyramid.getMaxIndex(firstIndex, lastIndex)],
+                  message);
+         }
+      }
+   }
+
+   @Test
+   void testSameIndexAsAllValues() {
+
+      final Random random = new Random(42);
+
+      for (int testIndex = 0; testIndex < 200; testIndex++) {
+
+         final int numValues = 1 + random.nextInt(testIndex < 100 ? 40 : 5000);
+
+         final float[] values = createSerie(random, numValues);
+         final MinMaxPyramid minMaxPyramid = new MinMaxPyramid(values);
+
+         for (int rangeIndex = 0; rangeIndex < 100; rangeIndex++) {
+
+            final int firstIndex = random.nextInt(numValues);
+            final int lastIndex = firstIndex + random.nextInt(numValues - firstIndex);
+
+            final String message = "Test " + testIndex + " range " + firstIndex + "..." + lastIndex; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+            assertEquals(getMinIndex_AllValues(values, firstIndex, lastIndex), minMaxPyramid.getMinIndex(firstIndex, lastIndex), message);
+            assertEquals(getMaxIndex_AllValues(values, firstIndex, lastIndex), minMaxPyramid.getMaxIndex(firstIndex, lastIndex), message);
+         }
+      }
+   }
+}
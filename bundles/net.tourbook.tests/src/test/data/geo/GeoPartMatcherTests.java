@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package data.geo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import net.tourbook.data.GeoPartMatcher;
+import net.tourbook.data.GeoPartMatcher.GeoPartMatch;
+
+import org.junit.jupiter.api.Test;
+
+public class GeoPartMatcherTests {
+
+   /**
+    * Creates a track with random steps like a normalized tour
+    */
+   private static int[] createTrack(final Random random, final int numSlices, final int startValue) {
+
+      final int[] track = new int[numSlices];
+
+      int value = startValue;
+
+      for (int sliceIndex = 0; sliceIndex < numSlices; sliceIndex++) {
+
+         value += random.nextInt(21) - 10;
+         track[sliceIndex] = value;
+      }
+
+      return track;
+   }
+
+   /**
+    * This is the previous algorithm which compares the part with every tour position
+    *
+    * @return Returns the min diff value and its tour index
+    */
+   private static long[] findBestMatch_AllPositions(final int[] partLat,
+                                                    final int[] partLon,
+                                                    final int[] tourLat,
+                                                    final int[] tourLon) {
+
+      final int numPartSlices = partLat.length;
+      final int numTourSlices = tourLat.length;
+
+      long minDiffValue = Long.MAX_VALUE;
+      int minDiffIndex = -1;
+
+      for (int tourIndex = 0; tourIndex < numTourSlices; tourIndex++) {
+
+         long latLonDiff = -1;
+
+         for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+
+            final int compareIndex = tourIndex + partIndex;
+
+            if (compareIndex == numTourSlices) {
+               latLonDiff = -1;
+               break;
+            }
+
+            latLonDiff += Math.abs(partLat[partIndex] - tourLat[compareIndex])
+                  + Math.abs(partLon[partIndex] - tourLon[compareIndex]);
+         }
+
+         if (latLonDiff < minDiffValue && latLonDiff != -1) {
+
+            minDiffValue = latLonDiff;
+            minDiffIndex = tourIndex;
+         }
+      }
+
+      return new long[] { minDiffIndex < 0 ? -1 : minDiffValue, minDiffIndex };
+   }
+
+   @Test
+   void testCanceled() {
+
+      final int[] track = { 1, 2, 3, 4 };
+
+      assertNull(GeoPartMatcher.findBestMatch(track, track, track, track, () -> true));
+   }
+
+   @Test
+   void testSameResultAsAllPositions() {
+
+      final Random random = new Random(42);
+
+      for (int testIndex = 0; testIndex < 500; testIndex++) {
+
+         final int numTourSlices = 1 + random.nextInt(300);
+         final int numPartSlices = random.nextInt(60);
+
+         final int[] tourLat = createTrack(random, numTourSlices, 4_737_000);
+         final int[] tourLon = createTrack(random, numTourSlices, 854_000);
+
+         final int[] partLat;
+         final int[] partLon;
+
+         if (testIndex % 3 == 0 && numPartSlices < numTourSlices) {
+
+            // part is a copy of the tour, with a diff of 0 or 1 which are special cases
+
+            final int partStart = random.nextInt(numTourSlices - numPartSlices);
+
+            partLat = new int[numPartSlices];
+            partLon = new int[numPartSlices];
+
+            for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+
+               partLat[partIndex] = tourLat[partStart + partIndex] + (partIndex == 0 && testIndex % 2 == 0 ? 1 : 0);
+               partLon[partIndex] = tourLon[partStart + partIndex];
+            }
+
+         } else if (testIndex % 3 == 1) {
+
+            // repeated values create many positions with the same diff
+
+            partLat = new int[numPartSlices];
+            partLon = new int[numPartSlices];
+
+            for (int sliceIndex = 0; sliceIndex < numTourSlices; sliceIndex++) {
+               tourLat[sliceIndex] = 4_737_000 + sliceIndex % 3;
+               tourLon[sliceIndex] = 854_000;
+            }
+
+            for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+               partLat[partIndex] = 4_737_001;
+               partLon[partIndex] = 854_000;
+            }
+
+         } else {
+
+            partLat = createTrack(random, numPartSlices, 4_737_000);
+            partLon = createTrack(random, numPartSlices, 854_000);
+         }
+
+         final long[] expected = findBestMatch_AllPositions(partLat, partLon, tourLat, tourLon);
+         final GeoPartMatch match = GeoPartMatcher.findBestMatch(partLat, partLon, tourLat, tourLon, () -> false);
+
+         assertEquals(expected[1], match.normTourIndex(), "Test " + testIndex); //$NON-NLS-1$
+         assertEquals(expected[0], match.minDiffValue(), "Test " + testIndex); //$NON-NLS-1$
+      }
+   }
+
+   /**
+    * Replaces a benchmark, the number of compared positions is independent of the machine
+    */
+   @Test
+   void testSkipsMostPositions() {
+
+      final Random random = new Random(7);
+
+      // a long tour with a short part somewhere in the middle
+
+      final int numTourSlices = 20_000;
+      final int numPartSlices = 500;
+      final int partStart = 12_345;
+
+      final int[] tourLat = createTrack(random, numTourSlices, 4_737_000);
+      final int[] tourLon = createTrack(random, numTourSlices, 854_000);
+
+      final int[] partLat = new int[numPartSlices];
+      final int[] partLon = new int[numPartSlices];
+
+      for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+
+         partLat[partIndex] = tourLat[partStart + partIndex] + random.nextInt(3);
+         partLon[partIndex] = tourLon[partStart + partIndex] + random.nextInt(3);
+      }
+
+      final GeoPartMatch match = GeoPartMatcher.findBestMatch(partLat, partLon, tourLat, tourLon, () -> false);
+      final long[] expected = findBestMatch_AllPositions(partLat, partLon, tourLat, tourLon);
+
+      assertEquals(expected[1], match.normTourIndex());
+      assertEquals(expected[0], match.minDiffValue());
+
+      final int numPositions = numTourSlices - numPartSlices + 1;
+
+      assertTrue(match.numComparedPositions() < numPositions / 2,
+            "Compared positions: " + match.numComparedPositions() + " of " + numPositions); //$NON-NLS-1$ //$NON-NLS-2$
+   }
+}
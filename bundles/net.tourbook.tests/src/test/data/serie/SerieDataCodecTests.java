@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package data.serie;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.EnumSet;
+import java.util.HashMap;
+
+import net.tourbook.common.util.Util;
+import net.tourbook.data.SerieData;
+import net.tourbook.data.SerieDataBlob;
+import net.tourbook.data.SerieDataCodec;
+import net.tourbook.data.SerieKind;
+
+import org.junit.jupiter.api.Test;
+
+public class SerieDataCodecTests {
+
+   private static SerieData createSerieData(final int numTimeSlices) {
+
+      final SerieData serieData = new SerieData();
+
+      serieData.timeSerie = new int[numTimeSlices];
+      serieData.distanceSerie20 = new float[numTimeSlices];
+      serieData.altitudeSerie20 = new float[numTimeSlices];
+      serieData.pulseSerie20 = new float[numTimeSlices];
+      serieData.latitudeE6 = new int[numTimeSlices];
+      serieData.longitudeE6 = new int[numTimeSlices];
+
+      float distance = 0;
+      int latitudeE6 = 47_376_887;
+      int longitudeE6 = 8_541_694;
+
+      for (int serieIndex = 0; serieIndex < numTimeSlices; serieIndex++) {
+
+         distance += 3.7f + (serieIndex % 7) * 0.13f;
+         latitudeE6 += (serieIndex % 11) - 5;
+         longitudeE6 += (serieIndex % 13) - 6;
+
+         serieData.timeSerie[serieIndex] = serieIndex;
+         serieData.distanceSerie20[serieIndex] = distance;
+         serieData.altitudeSerie20[serieIndex] = 412.5f + (serieIndex % 50) * 0.1f;
+         serieData.pulseSerie20[serieIndex] = 120 + serieIndex % 20;
+         serieData.latitudeE6[serieIndex] = latitudeE6;
+         serieData.longitudeE6[serieIndex] = longitudeE6;
+      }
+
+      return serieData;
+   }
+
+   /**
+    * The serie data classes must be resolved with this class loader
+    */
+   private static SerieData deserialize(final byte[] serializedData) throws IOException, ClassNotFoundException {
+
+      try (ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(serializedData))) {
+
+         return (SerieData) objectStream.readObject();
+      }
+   }
+
+   @Test
+   void testPartialDecoding_KeepsAllDataSeries() throws IOException, ClassNotFoundException {
+
+      final SerieData serieData = createSerieData(1000);
+
+      final byte[] serializedData = Util.serializeObject(serieData);
+
+      final SerieData partialSerieData;
+
+      SerieDataBlob.setDecodeProjection(EnumSet.of(SerieKind.LATITUDE_LONGITUDE));
+
+      try {
+
+         partialSerieData = deserialize(serializedData);
+
+      } finally {
+
+         SerieDataBlob.setDecodeProjection(null);
+      }
+
+      assertEquals(EnumSet.of(SerieKind.TIME, SerieKind.LATITUDE_LONGITUDE), partialSerieData.getDecodedSerieKinds());
+
+      assertArrayEquals(serieData.timeSerie, partialSerieData.timeSerie);
+      assertArrayEquals(serieData.latitudeE6, partialSerieData.latitudeE6);
+      assertNull(partialSerieData.pulseSerie20);
+
+      // serializing a partially decoded serie data must not lose the not decoded data series
+      final SerieData decoded = SerieDataCodec.decode(SerieDataCodec.encode(serieData));
+      final SerieData reserialized = deserialize(Util.serializeObject(partialSerieData));
+
+      assertArrayEquals(decoded.pulseSerie20, reserialized.pulseSerie20);
+      assertArrayEquals(decoded.altitudeSerie20, reserialized.altitudeSerie20);
+   }
+
+   @Test
+   void testRoundTrip_AllValueTypes() throws IOException {
+
+      final SerieData serieData = createSerieData(1000);
+
+      serieData.temperatureSerie20 = new float[0];
+      serieData.gears = new long[] { Long.MIN_VALUE, 0, Long.MAX_VALUE, 0x1234_5678L };
+      serieData.latitude = new double[] { -0.0, Double.NaN, 47.123456789 };
+      serieData.runDyn_StepLength = new short[] { Short.MIN_VALUE, 0, Short.MAX_VALUE, -1 };
+      serieData.visiblePoints_Surfing = new boolean[] { true, false, false, true, false, false, false, false, true };
+      serieData.pausedTime_Start = new long[] { 1_700_000_000_000L, 1_700_000_060_000L };
+      serieData.customTracks = new HashMap<>();
+      serieData.customTracks.put("track", new float[] { 1.5f, -2.25f }); //$NON-NLS-1$
+
+      final SerieData decoded = SerieDataCodec.decode(SerieDataCodec.encode(serieData));
+
+      assertArrayEquals(serieData.timeSerie, decoded.timeSerie);
+      assertArrayEquals(serieData.distanceSerie20, decoded.distanceSerie20);
+      assertArrayEquals(serieData.altitudeSerie20, decoded.altitudeSerie20);
+      assertArrayEquals(serieData.pulseSerie20, decoded.pulseSerie20);
+      assertArrayEquals(serieData.latitudeE6, decoded.latitudeE6);
+      assertArrayEquals(serieData.longitudeE6, decoded.longitudeE6);
+      assertArrayEquals(serieData.temperatureSerie20, decoded.temperatureSerie20);
+      assertArrayEquals(serieData.gears, decoded.gears);
+      assertArrayEquals(serieData.latitude, decoded.latitude);
+      assertArrayEquals(serieData.runDyn_StepLength, decoded.runDyn_StepLength);
+      assertArrayEquals(serieData.visiblePoints_Surfing, decoded.visiblePoints_Surfing);
+      assertArrayEquals(serieData.pausedTime_Start, decoded.pausedTime_Start);
+      assertArrayEquals(serieData.customTracks.get("track"), decoded.customTracks.get("track")); //$NON-NLS-1$ //$NON-NLS-2$
+
+      assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(decoded.latitude[0]));
+
+      assertNull(decoded.powerSerie20);
+      assertNull(decoded.speedSerie20);
+   }
+
+   @Test
+   void testSerializedSizeIsSmaller() {
+
+      final SerieData serieData = createSerieData(10_000);
+
+      final byte[] encodedData = SerieDataCodec.encode(serieData);
+
+      assertTrue(SerieDataCodec.isEncoded(encodedData));
+
+      // time + distance + altitude + pulse + lat + lon, each with 4 bytes
+      final int numRawBytes = 10_000 * 6 * 4;
+
+      assertTrue(encodedData.length * 3 < numRawBytes);
+
+      // serialization is using the columnar format
+      final byte[] serializedData = Util.serializeObject(serieData);
+
+      assertTrue(serializedData.length < encodedData.length + 200);
+   }
+}
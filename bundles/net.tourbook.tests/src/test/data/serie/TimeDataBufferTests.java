@@ -0,0 +1,226 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package data.serie;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.tourbook.data.TimeData;
+import net.tourbook.data.TimeDataBuffer;
+import net.tourbook.data.TourData;
+
+import org.junit.jupiter.api.Test;
+
+public class TimeDataBufferTests {
+
+   private static final long TOUR_START_TIME = 1_700_000_000_000L;
+
+   /**
+    * Creates the time slices of a GPS tour, some values are missing at the start and in the
+    * middle of the tour.
+    *
+    * @param numTimeSlices
+    *
+    * @return
+    */
+   private static List<TimeData> createSamples(final int numTimeSlices) {
+
+      final List<TimeData> allTimeData = new ArrayList<>();
+
+      for (int serieIndex = 0; serieIndex < numTimeSlices; serieIndex++) {
+
+         final TimeData timeData = new TimeData();
+
+         timeData.absoluteTime = TOUR_START_TIME + serieIndex * 1000L;
+
+         if (serieIndex % 37 != 5) {
+            timeData.absoluteDistance = serieIndex * 4.5f;
+         }
+
+         if (serieIndex >= 3) {
+            timeData.absoluteAltitude = 400 + (serieIndex % 60) * 0.5f;
+            timeData.temperature = 18 + (serieIndex % 10) * 0.1f;
+         }
+
+         if (serieIndex >= 2 && (serieIndex < 100 || serieIndex > 110)) {
+            timeData.pulse = 110 + serieIndex % 40;
+         }
+
+         if (serieIndex >= 20) {
+            timeData.cadence = 80 + serieIndex % 7;
+         }
+
+         if (serieIndex % 50 != 49) {
+            timeData.power = 150 + serieIndex % 30;
+         }
+
+         if (serieIndex >= 1) {
+            timeData.latitude = 47.3 + serieIndex * 0.00001;
+            timeData.longitude = 8.5 + serieIndex * 0.00002;
+         }
+
+         allTimeData.add(timeData);
+      }
+
+      return allTimeData;
+   }
+
+   @Test
+   void testClear() {
+
+      final TimeDataBuffer timeDataBuffer = new TimeDataBuffer(2);
+
+      final TimeData timeData = new TimeData();
+      timeData.absoluteTime = TOUR_START_TIME;
+      timeData.cadence = 90;
+
+      timeDataBuffer.add(timeData);
+      timeDataBuffer.add(timeData);
+      timeDataBuffer.add(timeData);
+
+      timeDataBuffer.clear();
+
+      assertTrue(timeDataBuffer.isEmpty());
+      assertEquals(0, timeDataBuffer.size());
+
+      // the columns are released
+      timeData.cadence = Float.MIN_VALUE;
+      timeDataBuffer.add(timeData);
+
+      assertEquals(Float.MIN_VALUE, timeDataBuffer.getCadence(0));
+   }
+
+   /**
+    * A column is created only when a value is set, values which are not set are the not set values
+    * of {@link TimeData}
+    */
+   @Test
+   void testColumnIsSetOnlyWithValues() {
+
+      final TimeDataBuffer timeDataBuffer = new TimeDataBuffer(4);
+
+      for (int serieIndex = 0; serieIndex < 10; serieIndex++) {
+
+         final TimeData timeData = new TimeData();
+
+         timeData.absoluteTime = TOUR_START_TIME + serieIndex * 1000L;
+
+         if (serieIndex == 7) {
+
+            // the column is created after the buffer was enlarged
+            timeData.pulse = 135;
+         }
+
+         timeDataBuffer.add(timeData);
+      }
+
+      for (int serieIndex = 0; serieIndex < 10; serieIndex++) {
+
+         assertEquals(serieIndex == 7 ? 135 : Float.MIN_VALUE, timeDataBuffer.getPulse(serieIndex));
+
+         assertEquals(Float.MIN_VALUE, timeDataBuffer.getCadence(serieIndex));
+         assertEquals(Float.MIN_VALUE, timeDataBuffer.getAbsoluteAltitude(serieIndex));
+         assertEquals(Double.MIN_VALUE, timeDataBuffer.getLatitude(serieIndex));
+         assertEquals(Double.MIN_VALUE, timeDataBuffer.getLongitude(serieIndex));
+      }
+
+      // a value which is set with an index creates the column
+      timeDataBuffer.setTemperature(3, 21.5f);
+
+      assertEquals(21.5f, timeDataBuffer.getTemperature(3));
+      assertEquals(Float.MIN_VALUE, timeDataBuffer.getTemperature(4));
+
+      final TourData tourData = new TourData();
+      tourData.createTimeSeries(timeDataBuffer, false);
+
+      // values which are never set do not create a data serie
+      assertNotNull(tourData.pulseSerie);
+      assertNotNull(tourData.temperatureSerie);
+      assertNull(tourData.getCadenceSerie());
+      assertNull(tourData.altitudeSerie);
+      assertNull(tourData.latitudeSerie);
+   }
+
+   /**
+    * The same time slices must create the same data series when they are converted from a list
+    * or from the buffer columns
+    */
+   @Test
+   void testCreateTimeSeries_SameAsTimeDataList() {
+
+      final int numTimeSlices = 500;
+
+      final TourData listTourData = new TourData();
+      listTourData.createTimeSeries(createSamples(numTimeSlices), false);
+
+      // a small capacity also checks that the columns are enlarged
+      final TimeDataBuffer timeDataBuffer = new TimeDataBuffer(16);
+      for (final TimeData timeData : createSamples(numTimeSlices)) {
+         timeDataBuffer.add(timeData);
+      }
+
+      final TourData bufferTourData = new TourData();
+      bufferTourData.createTimeSeries(timeDataBuffer, false);
+
+      assertArrayEquals(listTourData.timeSerie, bufferTourData.timeSerie);
+      assertArrayEquals(listTourData.distanceSerie, bufferTourData.distanceSerie);
+      assertArrayEquals(listTourData.altitudeSerie, bufferTourData.altitudeSerie);
+      assertArrayEquals(listTourData.pulseSerie, bufferTourData.pulseSerie);
+      assertArrayEquals(listTourData.temperatureSerie, bufferTourData.temperatureSerie);
+      assertArrayEquals(listTourData.getCadenceSerie(), bufferTourData.getCadenceSerie());
+      assertArrayEquals(listTourData.getPowerSerie(), bufferTourData.getPowerSerie());
+      assertArrayEquals(listTourData.latitudeSerie, bufferTourData.latitudeSerie);
+      assertArrayEquals(listTourData.longitudeSerie, bufferTourData.longitudeSerie);
+
+      assertEquals(numTimeSlices, bufferTourData.timeSerie.length);
+
+      // the buffer can be used for the next tour
+      assertTrue(timeDataBuffer.isEmpty());
+   }
+
+   @Test
+   void testGrowth() {
+
+      final int numTimeSlices = 10_000;
+
+      final TimeDataBuffer timeDataBuffer = new TimeDataBuffer(1);
+
+      final TimeData timeData = new TimeData();
+
+      for (int serieIndex = 0; serieIndex < numTimeSlices; serieIndex++) {
+
+         // the time slice is reused like in the device readers
+         timeData.absoluteTime = TOUR_START_TIME + serieIndex * 1000L;
+         timeData.pulse = serieIndex % 200;
+
+         assertEquals(serieIndex, timeDataBuffer.add(timeData));
+      }
+
+      assertEquals(numTimeSlices, timeDataBuffer.size());
+
+      for (int serieIndex = 0; serieIndex < numTimeSlices; serieIndex++) {
+
+         assertEquals(TOUR_START_TIME + serieIndex * 1000L, timeDataBuffer.getAbsoluteTime(serieIndex));
+         assertEquals(serieIndex % 200, timeDataBuffer.getPulse(serieIndex));
+      }
+   }
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package database;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import net.tourbook.database.TourGeoPartIndex;
+
+import org.junit.jupiter.api.Test;
+
+public class TourGeoPartIndexTests {
+
+   private static int geoPart(final int lat, final int lon) {
+      return lat * 100_000 + lon;
+   }
+
+   private static TourGeoPartIndex createIndex() {
+
+      final TourGeoPartIndex geoPartIndex = new TourGeoPartIndex();
+
+      geoPartIndex.setAllGeoParts(
+
+            new int[] {
+                  geoPart(100, 200),
+                  geoPart(100, 201),
+                  geoPart(101, 201),
+                  geoPart(100, 200),
+                  geoPart(150, 300),
+                  geoPart(101, 199) },
+
+            new long[] { 1, 1, 1, 2, 3, 4 });
+
+      return geoPartIndex;
+   }
+
+   @Test
+   void testGetTourIds_Area() {
+
+      final TourGeoPartIndex geoPartIndex = createIndex();
+
+      assertArrayEquals(new long[] { 1, 2 }, geoPartIndex.getTourIds(100, 102, 200, 202));
+      assertArrayEquals(new long[] { 1, 2, 4 }, geoPartIndex.getTourIds(100, 102, 199, 202));
+      assertArrayEquals(new long[] { 1 }, geoPartIndex.getTourIds(101, 102, 200, 202));
+      assertArrayEquals(new long[] { 1, 2, 3, 4 }, geoPartIndex.getTourIds(0, 18_000, 0, 36_000));
+      assertArrayEquals(new long[] {}, geoPartIndex.getTourIds(102, 150, 0, 36_000));
+   }
+
+   @Test
+   void testGetTourIds_GeoParts() {
+
+      final TourGeoPartIndex geoPartIndex = createIndex();
+
+      assertArrayEquals(new long[] { 1, 2 }, geoPartIndex.getTourIds(new int[] { geoPart(100, 200) }));
+      assertArrayEquals(new long[] { 1, 3 }, geoPartIndex.getTourIds(new int[] { geoPart(150, 300), geoPart(101, 201) }));
+      assertArrayEquals(new long[] {}, geoPartIndex.getTourIds(new int[] { geoPart(1, 1) }));
+   }
+
+   @Test
+   void testModifiedTours() {
+
+      final TourGeoPartIndex geoPartIndex = createIndex();
+
+      geoPartIndex.setTourGeoParts(2, new int[] { geoPart(150, 300) });
+      geoPartIndex.setTourGeoParts(5, new int[] { geoPart(100, 200) });
+      geoPartIndex.removeTour(1);
+
+      assertArrayEquals(new long[] { 5 }, geoPartIndex.getTourIds(new int[] { geoPart(100, 200) }));
+      assertArrayEquals(new long[] { 2, 3 }, geoPartIndex.getTourIds(150, 151, 300, 301));
+
+      // merge modified tours into the sorted geo parts
+      for (int tourId = 1_000; tourId < 2_100; tourId++) {
+         geoPartIndex.setTourGeoParts(tourId, new int[] { geoPart(200, tourId) });
+      }
+
+      assertArrayEquals(new long[] { 5 }, geoPartIndex.getTourIds(new int[] { geoPart(100, 200) }));
+      assertArrayEquals(new long[] { 2, 3 }, geoPartIndex.getTourIds(150, 151, 300, 301));
+      assertArrayEquals(new long[] { 1_500, 1_501 }, geoPartIndex.getTourIds(200, 201, 1_500, 1_502));
+   }
+
+   @Test
+   void testNotLoaded() {
+
+      final TourGeoPartIndex geoPartIndex = new TourGeoPartIndex();
+
+      geoPartIndex.setTourGeoParts(1, new int[] { geoPart(100, 200) });
+
+      assertNull(geoPartIndex.getTourIds(new int[] { geoPart(100, 200) }));
+      assertNull(geoPartIndex.getTourIds(0, 18_000, 0, 36_000));
+   }
+}
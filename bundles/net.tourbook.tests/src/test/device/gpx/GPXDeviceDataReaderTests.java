@@ -17,7 +17,10 @@ package device.gpx;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Set;
@@ -25,6 +28,8 @@ import java.util.Set;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourWayPoint;
 import net.tourbook.device.gpx.GPXDeviceDataReader;
+import net.tourbook.importdata.ContentProbeResult;
+import net.tourbook.importdata.ImportFileHeader;
 import net.tourbook.importdata.ImportState_File;
 import net.tourbook.importdata.ImportState_Process;
 
@@ -51,7 +56,10 @@ class GPXDeviceDataReaderTests {
     * Resource path to GPX file, generally available from net.tourbook Plugin
     * in test/net.tourbook
     */
-   public static final String             FILE_PATH = FilesUtils.rootPath + "device/gpx/files/test.gpx"; //$NON-NLS-1$
+   public static final String             FILE_PATH          = FilesUtils.rootPath + "device/gpx/files/test.gpx";                   //$NON-NLS-1$
+   private static final String            FILE_PATH_FIT      = FilesUtils.rootPath + "device/garmin/fit/files/1-30-21 3-47 PM.fit"; //$NON-NLS-1$
+   private static final String            FILE_PATH_UTF16    = FilesUtils.rootPath + "device/gpx/files/test-utf16.gpx";             //$NON-NLS-1$
+   private static final String            FILE_PATH_UTF16_BE = FilesUtils.rootPath + "device/gpx/files/test-utf16be.gpx";           //$NON-NLS-1$
 
    @BeforeAll
    static void initAll() {
@@ -119,4 +127,36 @@ class GPXDeviceDataReaderTests {
       final float[] cadenceSerie = tour.getCadenceSerie();
       assertArrayEquals(new float[] { 40, 50, 60, 50 }, cadenceSerie);
    }
+
+   /**
+    * The GPX tag is recognized in the file header, a binary file is rejected without parsing it
+    */
+   @Test
+   void testProbeFileHeader() {
+
+      final ImportFileHeader gpxFileHeader = ImportFileHeader.read(Paths.get(FilesUtils.getAbsoluteFilePath(FILE_PATH)));
+      final ImportFileHeader fitFileHeader = ImportFileHeader.read(Paths.get(FilesUtils.getAbsoluteFilePath(FILE_PATH_FIT)));
+
+      assertEquals(ContentProbeResult.MATCH, deviceDataReader.probeFileHeader(gpxFileHeader));
+      assertEquals(ContentProbeResult.NO_MATCH, deviceDataReader.probeFileHeader(fitFileHeader));
+   }
+
+   /**
+    * UTF-16 files contain 0 bytes but are not binary, the header is decoded with the BOM (Byte
+    * Order Mark) or without a BOM from the position of the 0 bytes
+    */
+   @Test
+   void testProbeFileHeader_UTF16() {
+
+      final ImportFileHeader utf16FileHeader = ImportFileHeader.read(Paths.get(FilesUtils.getAbsoluteFilePath(FILE_PATH_UTF16)));
+      final ImportFileHeader utf16BEFileHeader = ImportFileHeader.read(Paths.get(FilesUtils.getAbsoluteFilePath(FILE_PATH_UTF16_BE)));
+
+      assertFalse(utf16FileHeader.isBinary());
+      assertTrue(utf16FileHeader.isUTF16());
+      assertEquals(ContentProbeResult.MATCH, deviceDataReader.probeFileHeader(utf16FileHeader));
+
+      assertFalse(utf16BEFileHeader.isBinary());
+      assertTrue(utf16BEFileHeader.isUTF16());
+      assertEquals(ContentProbeResult.MATCH, deviceDataReader.probeFileHeader(utf16BEFileHeader));
+   }
 }
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package tour.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+
+import net.tourbook.tour.location.GazetteerLocationProvider;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import utils.FilesUtils;
+
+public class GazetteerLocationProviderTests {
+
+   private static final String FILES_PATH = FilesUtils.rootPath + "tour/location/files/"; //$NON-NLS-1$
+
+   @Test
+   void testRetrieveLocation() {
+
+      final GazetteerLocationProvider locationProvider = new GazetteerLocationProvider(
+            new File(FILES_PATH + "gazetteer.json")); //$NON-NLS-1$
+
+      assertFalse(locationProvider.isPublicService());
+
+      // the smallest bounding box which contains the position is used
+      final String townData = locationProvider.retrieveLocation(47.12, 7.99, 18, "de"); //$NON-NLS-1$
+      assertEquals("Willisau", new JSONObject(townData).getString("name")); //$NON-NLS-1$ //$NON-NLS-2$
+
+      final String stateData = locationProvider.retrieveLocation(47.0, 8.3, 18, "de"); //$NON-NLS-1$
+      assertEquals("Luzern", new JSONObject(stateData).getString("name")); //$NON-NLS-1$ //$NON-NLS-2$
+
+      // position is outside of all bounding boxes
+      assertNull(locationProvider.retrieveLocation(48.0, 8.3, 18, "de")); //$NON-NLS-1$
+   }
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package tour.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import net.tourbook.tour.location.TourLocationCache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TourLocationCacheTests {
+
+   private static final String LANGUAGE        = "de";                    //$NON-NLS-1$
+
+   private static final String LOCATION_DATA_1 = "{\"name\":\"Willisau\"}"; //$NON-NLS-1$
+   private static final String LOCATION_DATA_2 = "{\"name\":\"Luzern\"}";   //$NON-NLS-1$
+
+   @TempDir
+   Path                        _tempFolder;
+
+   private File getCacheFile() {
+      return _tempFolder.resolve("tour-location-cache.txt").toFile(); //$NON-NLS-1$
+   }
+
+   @Test
+   void testExpiredEntries() throws IOException {
+
+      final long now = System.currentTimeMillis();
+      final long expiredTime = now - Duration.ofDays(400).toMillis();
+
+      final String validKey = TourLocationCache.getCellKey(47.12, 7.99, 18, LANGUAGE);
+      final String expiredKey = TourLocationCache.getCellKey(47.0, 8.1, 18, LANGUAGE);
+
+      final File cacheFile = getCacheFile();
+
+      Files.write(cacheFile.toPath(),
+            List.of(
+                  validKey + "\t" + now + "\t" + LOCATION_DATA_1, //$NON-NLS-1$ //$NON-NLS-2$
+                  expiredKey + "\t" + expiredTime + "\t" + LOCATION_DATA_2, //$NON-NLS-1$ //$NON-NLS-2$
+                  "invalid line"), //$NON-NLS-1$
+            StandardCharsets.UTF_8);
+
+      final TourLocationCache locationCache = new TourLocationCache(cacheFile);
+
+      assertEquals(LOCATION_DATA_1, locationCache.get(validKey));
+      assertNull(locationCache.get(expiredKey));
+
+      // expired and invalid lines are removed from the cache file
+      final List<String> allLines = Files.readAllLines(cacheFile.toPath(), StandardCharsets.UTF_8);
+
+      assertEquals(1, allLines.size());
+      assertEquals(validKey + "\t" + now + "\t" + LOCATION_DATA_1, allLines.get(0)); //$NON-NLS-1$ //$NON-NLS-2$
+   }
+
+   @Test
+   void testGetCellKey() {
+
+      final String cellKey = TourLocationCache.getCellKey(47.1000001, 7.9900001, 18, LANGUAGE);
+
+      // nearby positions are in the same cell
+      assertEquals(cellKey, TourLocationCache.getCellKey(47.1000999, 7.9901001, 18, LANGUAGE));
+
+      // cell size is ~20 m for zoomlevel 18
+      assertNotEquals(cellKey, TourLocationCache.getCellKey(47.1002001, 7.9900001, 18, LANGUAGE));
+      assertNotEquals(cellKey, TourLocationCache.getCellKey(47.1000001, 7.9902001, 18, LANGUAGE));
+
+      // cell size is ~2 km for zoomlevel 10
+      assertEquals(
+            TourLocationCache.getCellKey(47.101, 7.991, 10, LANGUAGE),
+            TourLocationCache.getCellKey(47.109, 7.999, 10, LANGUAGE));
+
+      // zoomlevel and language are part of the key
+      assertNotEquals(cellKey, TourLocationCache.getCellKey(47.1000001, 7.9900001, 17, LANGUAGE));
+      assertNotEquals(cellKey, TourLocationCache.getCellKey(47.1000001, 7.9900001, 18, "en")); //$NON-NLS-1$
+
+      // negative values are not rounded into the cell of the positive values
+      assertNotEquals(
+            TourLocationCache.getCellKey(-0.0001, -0.0001, 18, LANGUAGE),
+            TourLocationCache.getCellKey(0.0001, 0.0001, 18, LANGUAGE));
+   }
+
+   @Test
+   void testPut() {
+
+      final File cacheFile = getCacheFile();
+
+      final String cellKey = TourLocationCache.getCellKey(47.12, 7.99, 18, LANGUAGE);
+
+      final TourLocationCache locationCache = new TourLocationCache(cacheFile);
+
+      assertNull(locationCache.get(cellKey));
+
+      locationCache.put(cellKey, LOCATION_DATA_1);
+
+      assertEquals(LOCATION_DATA_1, locationCache.get(cellKey));
+
+      // a replaced cell and line breaks are saved in the cache file
+      locationCache.put(cellKey, "{\"name\":\r\n\"Luzern\"}"); //$NON-NLS-1$
+
+      final TourLocationCache loadedLocationCache = new TourLocationCache(cacheFile);
+
+      assertEquals("{\"name\":  \"Luzern\"}", loadedLocationCache.get(cellKey)); //$NON-NLS-1$
+   }
+
+   @Test
+   void testRemoveAll() {
+
+      final File cacheFile = getCacheFile();
+
+      final String cellKey = TourLocationCache.getCellKey(47.12, 7.99, 18, LANGUAGE);
+
+      final TourLocationCache locationCache = new TourLocationCache(cacheFile);
+
+      locationCache.put(cellKey, LOCATION_DATA_1);
+      locationCache.removeAll();
+
+      assertNull(locationCache.get(cellKey));
+      assertNull(new TourLocationCache(cacheFile).get(cellKey));
+   }
+}
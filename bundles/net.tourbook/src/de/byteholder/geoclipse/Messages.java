@@ -214,17 +214,20 @@ public class Messages extends NLS {
 
    public static String        Offline_Area_Label_AreaMarker;
    public static String        Offline_Area_Label_SelectInfo;
+   public static String        Offline_Tile_Store_Task_MigrateFiles;
 
    public static String        TileInfo_Control_DefaultTitle;
    public static String        TileInfo_Control_Pattern;
    public static String        TileInfo_Control_Statistics_DownloadData;
    public static String        TileInfo_Control_Statistics_DownloadDataFile;
    public static String        TileInfo_Control_Statistics_DownloadDataInit;
+   public static String        TileInfo_Control_Tooltip_ImageCache;
    public static String        TileInfo_Control_Tooltip_Line1;
    public static String        TileInfo_Control_Tooltip_Line2;
    public static String        TileInfo_Control_Tooltip_Line3;
    public static String        TileInfo_Control_Tooltip_Line4;
    public static String        TileInfo_Control_Tooltip_Line5;
+   public static String        TileInfo_Control_Tooltip_Scheduler;
    public static String        TileInfo_Control_Tooltip_StatisticsAll;
    public static String        TileInfo_Control_Tooltip_Title;
 
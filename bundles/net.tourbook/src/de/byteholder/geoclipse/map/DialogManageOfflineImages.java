@@ -946,7 +946,7 @@ public class DialogManageOfflineImages extends TitleAreaDialog implements ITileL
       }
 
       // initialize progress bar
-      _maxQueue = MP.getTileWaitingQueue().size();
+      _maxQueue = MP.getTileScheduler().getQueueSize();
       _progbarQueue.setMaximum(_maxQueue);
    }
 
@@ -996,7 +996,7 @@ public class DialogManageOfflineImages extends TitleAreaDialog implements ITileL
    @Override
    public void tileEvent(final TileEventId tileEventId, final Tile tile) {
 
-      final int tileWaitingQueueSize = MP.getTileWaitingQueue().size();
+      final int tileWaitingQueueSize = MP.getTileScheduler().getQueueSize();
 
       _updateCounter[0]++;
 
@@ -4347,6 +4347,8 @@ public class Map2 extends Canvas {
       if (_mp != null) {
          _mp.resetAll(false);
       }
+      MP.removeTileViewport(this);
+
       if (_dropTarget != null) {
          _dropTarget.dispose();
       }
@@ -5831,6 +5833,9 @@ public class Map2 extends Canvas {
     */
    private void paint_30_Tiles(final GC gcMapImage) {
 
+      // waiting tiles which are not anymore displayed are not loaded
+      _mp.setTileViewport(this, _mapZoomLevel, _tilePos_MinX, _tilePos_MaxX, _tilePos_MinY, _tilePos_MaxY);
+
       for (int tilePosX = _tilePos_MinX, tileIndexX = 0; tilePosX <= _tilePos_MaxX; tilePosX++, tileIndexX++) {
          for (int tilePosY = _tilePos_MinY, tileIndexY = 0; tilePosY <= _tilePos_MaxY; tilePosY++, tileIndexY++) {
 
@@ -20,7 +20,6 @@ import de.byteholder.geoclipse.preferences.IMappingPreferences;
 
 import java.io.File;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.LinkedBlockingDeque;
 
 import net.tourbook.application.TourbookPlugin;
 import net.tourbook.common.util.StatusUtil;
@@ -58,9 +57,7 @@ class OfflineLoadManager {
       public void update(final Tile tile) {
 
          // update loading state
-         final LinkedBlockingDeque<Tile> waitingQueue = MP.getTileWaitingQueue();
-
-         if (waitingQueue.isEmpty()) {
+         if (MP.getTileScheduler().isEmpty()) {
             _isLoading = false;
          }
       }
@@ -150,13 +147,7 @@ class OfflineLoadManager {
             return false;
          }
 
-         final File tileFile = tilePath.toFile();
-         if (tileFile.exists()) {
-
-            // offline image is available
-
-            return tileFile.delete();
-         }
+         return OfflineTileStore.delete(_osTileCachePath, tilePath.toOSString());
 
       } catch (final Exception e) {
          StatusUtil.showStatus("error occurred when deleting offline image: " + tilePath.toOSString(), e); //$NON-NLS-1$
@@ -190,8 +181,7 @@ class OfflineLoadManager {
             return false;
          }
 
-         final File tileFile = tilePath.toFile();
-         if (tileFile.exists()) {
+         if (OfflineTileStore.exists(_osTileCachePath, tilePath.toOSString())) {
 
             // offline image is available
 
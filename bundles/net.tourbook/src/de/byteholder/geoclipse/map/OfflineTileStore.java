@@ -0,0 +1,437 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package de.byteholder.geoclipse.map;
+
+import de.byteholder.geoclipse.Messages;
+import de.byteholder.geoclipse.mapprovider.MapProviderManager;
+import de.byteholder.geoclipse.preferences.IMappingPreferences;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import net.tourbook.application.TourbookPlugin;
+import net.tourbook.common.util.StatusUtil;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Reads and writes offline tile images, they are saved as one file for each tile or in a
+ * {@link TilePack} for each folder in the offline cache when
+ * {@link IMappingPreferences#OFFLINE_CACHE_USE_PACK_FILE} is enabled.
+ * <p>
+ * Tiles are addressed with their image file path, the first folder below the offline cache path
+ * is the pack, the remaining path is the tile key in the pack.
+ * <p>
+ * Existing packs are also read when the pack files are disabled, so that the packed tiles are not
+ * hidden, new tiles are then saved as files and replace the packed tiles.
+ */
+public class OfflineTileStore {
+
+   private static final char                     PATH_SEPARATOR = '/';
+
+   private static final boolean                  _isPackUsed    = TourbookPlugin.getPrefStore().getBoolean(IMappingPreferences.OFFLINE_CACHE_USE_PACK_FILE);
+
+   /**
+    * Key: OS path of the pack folder
+    */
+   private static final HashMap<String, TilePack> _allPacks     = new HashMap<>();
+
+   /**
+    * OS paths of the pack folders which do not contain a pack when packs are not used, packs are
+    * then not created
+    */
+   private static final HashSet<String>           _allNoPacks   = new HashSet<>();
+
+   /**
+    * Pack and key of a tile image file
+    */
+   private record PackTile(TilePack pack, String tileKey) {
+
+      private byte[] getKeyBytes() {
+         return tileKey.getBytes(StandardCharsets.UTF_8);
+      }
+   }
+
+   private OfflineTileStore() {}
+
+   /**
+    * Closes all packs and saves their index.
+    */
+   public static void closeAll() {
+
+      synchronized (_allPacks) {
+
+         for (final TilePack tilePack : _allPacks.values()) {
+            tilePack.close();
+         }
+
+         _allPacks.clear();
+         _allNoPacks.clear();
+      }
+   }
+
+   /**
+    * @param osCachePath
+    *           Offline cache path
+    * @param osFilePath
+    *           Path of the tile image file
+    *
+    * @return Returns <code>true</code> when the tile image was deleted
+    */
+   public static boolean delete(final String osCachePath, final String osFilePath) {
+
+      final PackTile packTile = getPackTile(osCachePath, osFilePath);
+
+      if (packTile != null && packTile.pack.delete(packTile.getKeyBytes())) {
+
+         packTile.pack.compactWhenNeeded();
+
+         return true;
+      }
+
+      final File tileFile = new File(osFilePath);
+
+      return tileFile.exists() && tileFile.delete();
+   }
+
+   /**
+    * Deletes all tile images in the packs of a folder, the image files are not deleted.
+    *
+    * @param osCachePath
+    *           Offline cache path
+    * @param osFolderPath
+    *           Folder of a map provider in the offline cache
+    * @param isDeletePartImages
+    *           When <code>true</code> only the part images are deleted
+    *
+    * @return Returns the number of deleted tile images
+    */
+   public static int deleteFolder(final String osCachePath, final String osFolderPath, final boolean isDeletePartImages) {
+
+      final PackTile packFolder = getPackTile(osCachePath, osFolderPath);
+
+      if (packFolder == null) {
+         return 0;
+      }
+
+      final String keyPrefix = getKeyPrefix(packFolder);
+
+      return packFolder.pack.deleteAll(tileKey -> tileKey.startsWith(keyPrefix)
+            && (isDeletePartImages == false || tileKey.contains(MapProviderManager.PART_IMAGE_FILE_NAME_SUFFIX)));
+   }
+
+   /**
+    * @param osCachePath
+    *           Offline cache path
+    * @param osFilePath
+    *           Path of the tile image file
+    *
+    * @return Returns <code>true</code> when the tile image is available in the pack or in a tile
+    *         image file which is not yet migrated into the pack
+    */
+   public static boolean exists(final String osCachePath, final String osFilePath) {
+
+      final PackTile packTile = getPackTile(osCachePath, osFilePath);
+
+      if (packTile != null && packTile.pack.contains(packTile.getKeyBytes())) {
+         return true;
+      }
+
+      return new File(osFilePath).exists();
+   }
+
+   private static String getKeyPrefix(final PackTile packFolder) {
+
+      return packFolder.tileKey.isEmpty()
+            ? packFolder.tileKey
+            : packFolder.tileKey + PATH_SEPARATOR;
+   }
+
+   /**
+    * @param osCachePath
+    * @param osFilePath
+    *
+    * @return Returns the pack and the tile key or <code>null</code> when the file is not in the
+    *         offline cache or when packs are not used and the pack is not available
+    */
+   private static PackTile getPackTile(final String osCachePath, final String osFilePath) {
+
+      if (osCachePath == null) {
+         return null;
+      }
+
+      final String cachePath = new File(osCachePath).getAbsolutePath();
+      final String filePath = new File(osFilePath).getAbsolutePath();
+
+      if (filePath.length() <= cachePath.length() + 1 || filePath.startsWith(cachePath) == false) {
+         return null;
+      }
+
+      final String relativePath = filePath.substring(cachePath.length() + 1).replace(File.separatorChar, PATH_SEPARATOR);
+
+      final int separatorIndex = relativePath.indexOf(PATH_SEPARATOR);
+
+      final String packName = separatorIndex == -1 ? relativePath : relativePath.substring(0, separatorIndex);
+      final String tileKey = separatorIndex == -1 ? "" : relativePath.substring(separatorIndex + 1); //$NON-NLS-1$
+
+      final File packFolder = new File(cachePath, packName);
+
+      final String packKey = packFolder.getPath();
+
+      synchronized (_allPacks) {
+
+         TilePack tilePack = _allPacks.get(packKey);
+
+         if (tilePack == null) {
+
+            if (_isPackUsed == false) {
+
+               // existing packs are still read but new packs are not created
+
+               if (_allNoPacks.contains(packKey)) {
+                  return null;
+               }
+
+               if (TilePack.isAvailable(new File(cachePath), packName) == false) {
+
+                  _allNoPacks.add(packKey);
+
+                  return null;
+               }
+            }
+
+            tilePack = new TilePack(new File(cachePath), packName);
+
+            _allPacks.put(packKey, tilePack);
+         }
+
+         return new PackTile(tilePack, tileKey);
+      }
+   }
+
+   /**
+    * @param osCachePath
+    *           Offline cache path
+    * @param osFolderPath
+    *           Folder of a map provider in the offline cache
+    *
+    * @return Returns the number of tile images and their size in the packs of a folder
+    */
+   public static long[] getPackInfo(final String osCachePath, final String osFolderPath) {
+
+      final PackTile packFolder = getPackTile(osCachePath, osFolderPath);
+
+      if (packFolder == null) {
+         return new long[2];
+      }
+
+      return packFolder.pack.getSize(getKeyPrefix(packFolder));
+   }
+
+   /**
+    * @param osCachePath
+    *           Offline cache path
+    * @param osFilePath
+    *           Path of the tile image file
+    *
+    * @return Returns <code>true</code> when the tile image is available in a pack
+    */
+   public static boolean isPacked(final String osCachePath, final String osFilePath) {
+
+      final PackTile packTile = getPackTile(osCachePath, osFilePath);
+
+      return packTile != null && packTile.pack.contains(packTile.getKeyBytes());
+   }
+
+   /**
+    * @return Returns <code>true</code> when tile images are saved in pack files
+    */
+   public static boolean isPackUsed() {
+      return _isPackUsed;
+   }
+
+   /**
+    * Moves all tile image files of the offline cache into pack files, the empty folders are
+    * deleted.
+    *
+    * @param osCachePath
+    *           Offline cache path
+    * @param monitor
+    *
+    * @return Returns the number of moved tile images
+    */
+   public static int migrateFiles(final String osCachePath, final IProgressMonitor monitor) {
+
+      if (_isPackUsed == false) {
+         return 0;
+      }
+
+      final File[] allFolders = new File(osCachePath).listFiles(File::isDirectory);
+
+      if (allFolders == null) {
+         return 0;
+      }
+
+      final int[] numMoved = { 0 };
+
+      for (final File folder : allFolders) {
+
+         if (monitor.isCanceled()) {
+            break;
+         }
+
+         migrateFolder(osCachePath, folder, monitor, numMoved);
+
+         // delete empty folder
+         folder.delete();
+
+         synchronized (_allPacks) {
+
+            // save the index
+            final TilePack tilePack = _allPacks.remove(folder.getAbsolutePath());
+
+            if (tilePack != null) {
+               tilePack.close();
+            }
+         }
+      }
+
+      return numMoved[0];
+   }
+
+   /**
+    * !!! Recursive !!!
+    *
+    * @param osCachePath
+    * @param folder
+    * @param monitor
+    * @param numMoved
+    */
+   private static void migrateFolder(final String osCachePath,
+                                     final File folder,
+                                     final IProgressMonitor monitor,
+                                     final int[] numMoved) {
+
+      final File[] allFiles = folder.listFiles();
+
+      if (allFiles == null) {
+         return;
+      }
+
+      for (final File file : allFiles) {
+
+         if (monitor.isCanceled()) {
+            return;
+         }
+
+         if (file.isDirectory()) {
+
+            migrateFolder(osCachePath, file, monitor, numMoved);
+
+            // delete empty folder
+            file.delete();
+
+            continue;
+         }
+
+         final PackTile packTile = getPackTile(osCachePath, file.getPath());
+
+         if (packTile == null) {
+            continue;
+         }
+
+         try {
+
+            if (packTile.pack.write(packTile.getKeyBytes(), Files.readAllBytes(file.toPath()))) {
+
+               file.delete();
+
+               if (++numMoved[0] % 1000 == 0) {
+                  monitor.subTask(NLS.bind(Messages.Offline_Tile_Store_Task_MigrateFiles, numMoved[0], folder.getPath()));
+               }
+            }
+
+         } catch (final IOException e) {
+            StatusUtil.log(e);
+         }
+      }
+   }
+
+   /**
+    * @param osCachePath
+    *           Offline cache path
+    * @param osFilePath
+    *           Path of the tile image file
+    *
+    * @return Returns the tile image
+    *
+    * @throws IOException
+    *            When the tile image is not available
+    */
+   public static byte[] read(final String osCachePath, final String osFilePath) throws IOException {
+
+      final PackTile packTile = getPackTile(osCachePath, osFilePath);
+
+      if (packTile != null) {
+
+         final byte[] imageBytes = packTile.pack.read(packTile.getKeyBytes());
+
+         if (imageBytes != null) {
+            return imageBytes;
+         }
+      }
+
+      return Files.readAllBytes(new File(osFilePath).toPath());
+   }
+
+   /**
+    * Saves a tile image, the folder of a tile image file must already exist.
+    *
+    * @param osCachePath
+    *           Offline cache path
+    * @param osFilePath
+    *           Path of the tile image file
+    * @param imageBytes
+    *
+    * @throws IOException
+    */
+   public static void write(final String osCachePath, final String osFilePath, final byte[] imageBytes) throws IOException {
+
+      final PackTile packTile = getPackTile(osCachePath, osFilePath);
+
+      if (packTile != null) {
+
+         if (_isPackUsed) {
+
+            if (packTile.pack.write(packTile.getKeyBytes(), imageBytes)) {
+               return;
+            }
+
+         } else {
+
+            // the file would be hidden by the packed tile
+            packTile.pack.delete(packTile.getKeyBytes());
+         }
+      }
+
+      Files.write(new File(osFilePath).toPath(), imageBytes);
+   }
+}
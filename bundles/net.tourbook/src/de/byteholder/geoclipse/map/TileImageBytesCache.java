@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package de.byteholder.geoclipse.map;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+
+/**
+ * Keeps the compressed bytes of offline tile images outside of the Java heap, so that an image can
+ * be decoded again without reading the image file.
+ * <p>
+ * All bytes are kept in one direct {@link ByteBuffer} which is used as a ring buffer, the oldest
+ * images are overwritten when the buffer is full.
+ */
+class TileImageBytesCache {
+
+   private final int                         _maxBytes;
+
+   /**
+    * Is created when the first image is added
+    */
+   private ByteBuffer                        _ringBuffer;
+   private int                               _writePosition;
+
+   /**
+    * Contains all entries in the sequence how they are written into the ring buffer
+    */
+   private final ArrayDeque<CacheEntry>      _allEntries   = new ArrayDeque<>();
+
+   /**
+    * Key: Cache key
+    */
+   private final HashMap<String, CacheEntry> _allCacheKeys = new HashMap<>();
+
+   private long                              _statHits;
+   private long                              _statMisses;
+
+   private static class CacheEntry {
+
+      private String  __cacheKey;
+      private String  __filePath;
+
+      private int     __offset;
+      private int     __length;
+
+      /**
+       * Is <code>false</code> when the entry is replaced, the bytes are overwritten later
+       */
+      private boolean __isValid = true;
+   }
+
+   /**
+    * Cached image file
+    *
+    * @param filePath
+    *           OS path of the image file
+    * @param imageBytes
+    *           Content of the image file
+    */
+   record ImageBytes(String filePath, byte[] imageBytes) {}
+
+   /**
+    * @param maxBytes
+    *           Size of the ring buffer
+    */
+   TileImageBytesCache(final int maxBytes) {
+
+      _maxBytes = maxBytes;
+   }
+
+   synchronized void clear() {
+
+      _allEntries.clear();
+      _allCacheKeys.clear();
+
+      _writePosition = 0;
+   }
+
+   /**
+    * @param cacheKey
+    *
+    * @return Returns the cached image file or <code>null</code> when it is not available
+    */
+   synchronized ImageBytes get(final String cacheKey) {
+
+      final CacheEntry cacheEntry = _allCacheKeys.get(cacheKey);
+
+      if (cacheEntry == null) {
+
+         _statMisses++;
+
+         return null;
+      }
+
+      _statHits++;
+
+      final byte[] imageBytes = new byte[cacheEntry.__length];
+
+      _ringBuffer.get(cacheEntry.__offset, imageBytes);
+
+      return new ImageBytes(cacheEntry.__filePath, imageBytes);
+   }
+
+   /**
+    * @return Returns the hit ratio in % or -1 when the cache was not yet used
+    */
+   synchronized int getHitRatio() {
+
+      final long numRequests = _statHits + _statMisses;
+
+      return numRequests == 0 ? -1 : (int) (_statHits * 100 / numRequests);
+   }
+
+   /**
+    * Adds or replaces an image file, large images are not cached.
+    *
+    * @param cacheKey
+    * @param filePath
+    * @param imageBytes
+    */
+   synchronized void put(final String cacheKey, final String filePath, final byte[] imageBytes) {
+
+      remove(cacheKey);
+
+      final int numBytes = imageBytes.length;
+
+      if (numBytes == 0 || numBytes > _maxBytes / 4) {
+         return;
+      }
+
+      if (_ringBuffer == null) {
+         _ringBuffer = ByteBuffer.allocateDirect(_maxBytes);
+      }
+
+      if (_writePosition + numBytes > _maxBytes) {
+
+         // the image do not fit at the end of the buffer -> remove the last images and start at the beginning
+
+         while (_allEntries.isEmpty() == false && _allEntries.peekFirst().__offset >= _writePosition) {
+            removeOldestEntry();
+         }
+
+         _writePosition = 0;
+      }
+
+      // remove the oldest images which are overwritten
+
+      final int writeEnd = _writePosition + numBytes;
+
+      while (_allEntries.isEmpty() == false) {
+
+         final int oldestOffset = _allEntries.peekFirst().__offset;
+
+         if (oldestOffset >= _writePosition && oldestOffset < writeEnd) {
+            removeOldestEntry();
+         } else {
+            break;
+         }
+      }
+
+      _ringBuffer.put(_writePosition, imageBytes);
+
+      final CacheEntry cacheEntry = new CacheEntry();
+
+      cacheEntry.__cacheKey = cacheKey;
+      cacheEntry.__filePath = filePath;
+      cacheEntry.__offset = _writePosition;
+      cacheEntry.__length = numBytes;
+
+      _allEntries.addLast(cacheEntry);
+      _allCacheKeys.put(cacheKey, cacheEntry);
+
+      _writePosition = writeEnd;
+   }
+
+   /**
+    * @param cacheKey
+    */
+   synchronized void remove(final String cacheKey) {
+
+      final CacheEntry cacheEntry = _allCacheKeys.remove(cacheKey);
+
+      if (cacheEntry != null) {
+         cacheEntry.__isValid = false;
+      }
+   }
+
+   private void removeOldestEntry() {
+
+      final CacheEntry cacheEntry = _allEntries.pollFirst();
+
+      if (cacheEntry.__isValid) {
+         _allCacheKeys.remove(cacheEntry.__cacheKey);
+      }
+   }
+
+   synchronized void resetStatistics() {
+
+      _statHits = 0;
+      _statMisses = 0;
+   }
+}
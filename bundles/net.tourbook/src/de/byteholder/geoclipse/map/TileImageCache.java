@@ -15,16 +15,20 @@
  *******************************************************************************/
 package de.byteholder.geoclipse.map;
 
+import de.byteholder.geoclipse.map.TileImageBytesCache.ImageBytes;
 import de.byteholder.geoclipse.mapprovider.MP;
 import de.byteholder.geoclipse.mapprovider.MapProviderManager;
 import de.byteholder.geoclipse.preferences.IMappingPreferences;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.ConcurrentModificationException;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
 import java.util.concurrent.locks.ReentrantLock;
 
 import net.tourbook.application.TourbookPlugin;
@@ -39,15 +43,26 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.DPIUtil;
 import org.eclipse.swt.widgets.Display;
 
 /**
  * This cache manages map images by caching and saving the images for the offline mode. The cached
  * images can be dimmed, saved offline image are not dimmed.
+ * <p>
+ * Map images are cached in 2 levels
+ * <ul>
+ * <li>decoded images, the least recently used images are disposed when the pixel bytes of all
+ * images exceeds the cache size,</li>
+ * <li>compressed offline image files, they are kept outside of the Java heap in a
+ * {@link TileImageBytesCache}, so that an image which was disposed can be created again without
+ * reading the image file.</li>
+ * </ul>
  *
  * @author joshua.marinacci@sun.com
  * @author Michael Kanis
@@ -58,44 +73,113 @@ public class TileImageCache {
    /**
     * relative OS path for storing offline map image files
     */
-   public static final String                            TILE_OFFLINE_CACHE_OS_PATH = "offline-map";                //$NON-NLS-1$
+   public static final String                               TILE_OFFLINE_CACHE_OS_PATH = "offline-map";                //$NON-NLS-1$
 
-   private static final ConcurrentHashMap<String, Image> _imageCache                = new ConcurrentHashMap<>();
-   private static final ConcurrentLinkedQueue<String>    _imageCacheFifo            = new ConcurrentLinkedQueue<>();
+   /**
+    * Size of the cache for the compressed offline images
+    */
+   private static final int                                 BYTES_CACHE_SIZE           = 64 * 1024 * 1024;
+
+   /**
+    * Decoded images, they are sorted by access, the least recently used image is the first image
+    */
+   private static final LinkedHashMap<String, CachedImage>  _imageCache                = new LinkedHashMap<>(256, 0.75f, true);
+   private static long                                      _imageCacheBytes;
 
-   private static final ArrayList<Image>                 _allImages                 = new ArrayList<>();
+   private static final TileImageBytesCache                 _imageBytesCache           = new TileImageBytesCache(BYTES_CACHE_SIZE);
+
+   private static final ArrayList<Image>                    _allImages                 = new ArrayList<>();
+
+   private static long                                      _statImageHits;
+   private static long                                      _statImageMisses;
 
    /**
     * Path from user preferences where tile images are stored
     */
-   private static String                                 _osTileCachePath;
+   private static String                                    _osTileCachePath;
 
-   private static boolean                                _useOffLineCache;
+   private static boolean                                   _useOffLineCache;
 
-   private static final ReentrantLock                    CREATE_DIR_LOCK            = new ReentrantLock();
-   private static final ReentrantLock                    CACHE_LOCK                 = new ReentrantLock();
+   private static final ReentrantLock                       CREATE_DIR_LOCK            = new ReentrantLock();
 
    /**
     * This display is used because {@link Display#getDefault()} is synchronized which probably
     * causes the UI to be not smooth when images are loaded and the map is dragged at the same time
     */
-   private Display                                       _display;
+   private Display                                          _display;
 
-   private int                                           _maxCacheSize;
+   /**
+    * Max number of pixel bytes of all decoded images
+    */
+   private long                                             _maxCacheBytes;
 
    /**
-    * @param factoryInfo
-    * @param display
+    * @param image
+    * @param numBytes
+    *           Number of pixel bytes
     */
-   public TileImageCache(final int maxCacheSize) {
+   private record CachedImage(Image image, long numBytes) {}
 
-      _maxCacheSize = maxCacheSize;
+   /**
+    * @param maxCacheBytes
+    *           Max number of pixel bytes of all decoded images
+    */
+   public TileImageCache(final long maxCacheBytes) {
+
+      _maxCacheBytes = maxCacheBytes;
 
       _display = Display.getDefault();
 
       setTileCachePath();
    }
 
+   private static void disposeImage(final Image image) {
+
+      if (image != null) {
+         try {
+            image.dispose();
+         } catch (final Exception e) {
+            // it is possible that the image is already disposed by another thread
+         }
+      }
+   }
+
+   /**
+    * @return Returns the hit ratio in % of the compressed offline images or -1 when an offline
+    *         image was not yet loaded
+    */
+   public static int getHitRatio_CompressedImages() {
+
+      return _imageBytesCache.getHitRatio();
+   }
+
+   /**
+    * @return Returns the hit ratio in % of the decoded images or -1 when an image was not yet
+    *         requested
+    */
+   public static int getHitRatio_Images() {
+
+      synchronized (_imageCache) {
+
+         final long numRequests = _statImageHits + _statImageMisses;
+
+         return numRequests == 0 ? -1 : (int) (_statImageHits * 100 / numRequests);
+      }
+   }
+
+   /**
+    * @param image
+    *
+    * @return Returns the number of pixel bytes of the image in the device resolution
+    */
+   private static long getImageBytes(final Image image) {
+
+      final Rectangle imageBounds = image.getBounds();
+      final float deviceScale = DPIUtil.getDeviceZoom() / 100.0f;
+
+      return (long) (imageBounds.width * deviceScale) * (long) (imageBounds.height * deviceScale) * 4;
+   }
+
    /**
     * @return OS path for the tile cache or <code>null</code> when offline cache is not used or
     *         otherwise
@@ -110,6 +194,17 @@ public class TileImageCache {
       return null;
    }
 
+   public static void resetStatistics() {
+
+      synchronized (_imageCache) {
+
+         _statImageHits = 0;
+         _statImageMisses = 0;
+      }
+
+      _imageBytesCache.resetStatistics();
+   }
+
    private static void setTileCachePath() {
 
       // get status if the tile is offline cache is activated
@@ -194,16 +289,14 @@ public class TileImageCache {
 
       synchronized (_allImages) {
 
-         final Collection<Image> allImages = _imageCache.values();
+         synchronized (_imageCache) {
 
-         for (final Image image : allImages) {
-            if (image != null) {
-               try {
-                  image.dispose();
-               } catch (final Exception e) {
-                  // ignore, another thread can have set the image to null
-               }
+            for (final CachedImage cachedImage : _imageCache.values()) {
+               disposeImage(cachedImage.image);
             }
+
+            _imageCache.clear();
+            _imageCacheBytes = 0;
          }
 
          for (int imageIndex = 0; imageIndex < _allImages.size(); imageIndex++) {
@@ -229,11 +322,11 @@ public class TileImageCache {
             }
          }
 
-         _imageCache.clear();
-         _imageCacheFifo.clear();
-
          _allImages.clear();
       }
+
+      // offline images could be deleted or replaced
+      _imageBytesCache.clear();
    }
 
    /**
@@ -259,7 +352,7 @@ public class TileImageCache {
             .append(hiDPI_2xFileName)
             .addFileExtension(fileExt);
 
-      if (hiDPIFilePath.toFile().exists()) {
+      if (OfflineTileStore.exists(_osTileCachePath, hiDPIFilePath.toOSString())) {
          return hiDPIFilePath;
       }
 
@@ -270,7 +363,7 @@ public class TileImageCache {
             .append(hiDPI_15xFileName)
             .addFileExtension(fileExt);
 
-      if (hiDPIFilePath.toFile().exists()) {
+      if (OfflineTileStore.exists(_osTileCachePath, hiDPIFilePath.toOSString())) {
          return hiDPIFilePath;
       }
 
@@ -278,7 +371,7 @@ public class TileImageCache {
        * Test default image
        */
 
-      if (tileImagePath.toFile().exists()) {
+      if (OfflineTileStore.exists(_osTileCachePath, tileImagePath.toOSString())) {
          return tileImagePath;
       }
 
@@ -293,7 +386,7 @@ public class TileImageCache {
             .append(partImageFileName)
             .addFileExtension(fileExt);
 
-      if (partImageFilePath.toFile().exists()) {
+      if (OfflineTileStore.exists(_osTileCachePath, partImageFilePath.toOSString())) {
          return partImageFilePath;
       }
 
@@ -324,14 +417,38 @@ public class TileImageCache {
             return null;
          }
 
-         final IPath offlineImagePath = getCheckedOfflineImagePath(tile, tileImagePath);
-         if (offlineImagePath != null) {
+         final String bytesCacheKey = tileImagePath.toOSString();
 
-            // get image for this tile
+         // get compressed image from the cache, the file system is not checked
+         ImageBytes imageBytes = _imageBytesCache.get(bytesCacheKey);
 
-            final String osTileImagePath = offlineImagePath.toOSString();
+         if (imageBytes == null) {
 
-            tile.setOfflinePath(osTileImagePath);
+            final IPath offlineImagePath = getCheckedOfflineImagePath(tile, tileImagePath);
+            if (offlineImagePath != null) {
+
+               final String osTileImagePath = offlineImagePath.toOSString();
+
+               try {
+
+                  imageBytes = new ImageBytes(osTileImagePath, OfflineTileStore.read(_osTileCachePath, osTileImagePath));
+
+                  _imageBytesCache.put(bytesCacheKey, osTileImagePath, imageBytes.imageBytes());
+
+               } catch (final Exception e) {
+
+                  // this file cannot be read
+
+                  tile.setOfflineError(true);
+               }
+            }
+         }
+
+         if (imageBytes != null) {
+
+            // get image for this tile
+
+            tile.setOfflinePath(imageBytes.filePath());
 
             try {
 
@@ -339,7 +456,7 @@ public class TileImageCache {
                 * Load image with the constructor which is 20 times faster than loading the
                 * image with an imageloader
                 */
-               final ImageData imageData = new ImageData(osTileImagePath);
+               final ImageData imageData = new ImageData(new ByteArrayInputStream(imageBytes.imageBytes()));
 
                final Image tileImage = createTileImage(tile, imageData);
 
@@ -357,6 +474,8 @@ public class TileImageCache {
 
                tile.setOfflineError(true);
 
+               _imageBytesCache.remove(bytesCacheKey);
+
                /*
                 * it happened too often when zooming fast in/out
                 */
@@ -371,6 +490,42 @@ public class TileImageCache {
       return null;
    }
 
+   /**
+    * @param tile
+    * @param osTileImagePath
+    *
+    * @return Returns the image data of the offline image, the compressed image is taken from the
+    *         cache when available
+    */
+   private ImageData getOfflineImageData(final Tile tile, final String osTileImagePath) {
+
+      final IPath tileImagePath = getTileImagePath(tile);
+
+      if (tileImagePath != null) {
+
+         final ImageBytes imageBytes = _imageBytesCache.get(tileImagePath.toOSString());
+
+         if (imageBytes != null && osTileImagePath.equals(imageBytes.filePath())) {
+            return new ImageData(new ByteArrayInputStream(imageBytes.imageBytes()));
+         }
+      }
+
+      if (OfflineTileStore.isPackUsed() || OfflineTileStore.isPacked(_osTileCachePath, osTileImagePath)) {
+
+         try {
+            return new ImageData(new ByteArrayInputStream(OfflineTileStore.read(_osTileCachePath, osTileImagePath)));
+         } catch (final IOException e) {
+            throw new SWTException(SWT.ERROR_IO, e.getMessage());
+         }
+      }
+
+      /*
+       * Load image with the constructor which is 20 times faster than loading the image with an
+       * imageloader
+       */
+      return new ImageData(osTileImagePath);
+   }
+
    /**
     * @param tile
     *
@@ -381,10 +536,18 @@ public class TileImageCache {
 
       // get image from the cache
 
-      final Image cachedImage = _imageCache.get(tile.getTileKey());
+      synchronized (_imageCache) {
 
-      if (cachedImage != null && cachedImage.isDisposed() == false) {
-         return cachedImage;
+         final CachedImage cachedImage = _imageCache.get(tile.getTileKey());
+
+         if (cachedImage != null && cachedImage.image.isDisposed() == false) {
+
+            _statImageHits++;
+
+            return cachedImage.image;
+         }
+
+         _statImageMisses++;
       }
 
       if (tile.isLoading()) {
@@ -427,90 +590,47 @@ public class TileImageCache {
     */
    void putIntoImageCache(final String tileKey, final Image tileImage) {
 
-      /*
-       * check if the max number of images is reached, remove oldest image from the cache
-       */
-      final int cacheSize = _imageCacheFifo.size();
-      if (cacheSize >= _maxCacheSize + 10) {
-
-         CACHE_LOCK.lock();
-         {
-            try {
+      synchronized (_imageCache) {
 
-               // remove cache items
-               for (int cacheIndex = _maxCacheSize; cacheIndex < cacheSize; cacheIndex++) {
+         final CachedImage cachedImage = _imageCache.get(tileKey);
 
-                  // remove and dispose oldest image
-
-                  final String headTileKey = _imageCacheFifo.poll();
-                  if (headTileKey == null) {
-                     // queue is empty -> nothing more to do
-                     break;
-                  }
+         if (cachedImage != null) {
 
-                  final Image oldestImage = _imageCache.remove(headTileKey);
+            if (cachedImage.image == tileImage) {
 
-                  if (oldestImage != null) {
-                     try {
-                        oldestImage.dispose();
-                     } catch (final Exception e) {
-                        // it is possible that the image is already disposed by another thread
-                     }
-                  }
-               }
+               // keep image in the cache, it is the same as the new image
 
-            } finally {
-               CACHE_LOCK.unlock();
+               return;
             }
-         }
-      }
-
-      try {
 
-         /*
-          * check if the image is already in the cache
-          */
-         final Image cachedImage = _imageCache.get(tileKey);
-         if (cachedImage == null) {
-
-            // put a new image into the cache
-
-            _imageCache.put(tileKey, tileImage);
-            _imageCacheFifo.add(tileKey);
-
-            return;
-
-         } else {
+            // dispose cached image which has the same key but is another image
 
-            // image is already in the cache
+            _imageCache.remove(tileKey);
+            _imageCacheBytes -= cachedImage.numBytes;
 
-            if (cachedImage == tileImage) {
+            disposeImage(cachedImage.image);
+         }
 
-               // keep image in the cache, it is the same as the new image
+         final long numBytes = getImageBytes(tileImage);
 
-               return;
+         _imageCache.put(tileKey, new CachedImage(tileImage, numBytes));
+         _imageCacheBytes += numBytes;
 
-            } else {
+         /*
+          * Remove and dispose the least recently used images when the cache is too large, the new
+          * image is the last image
+          */
+         final Iterator<Entry<String, CachedImage>> iterator = _imageCache.entrySet().iterator();
 
-               // dispose cached image which has the same key but is another image
+         while (_imageCacheBytes > _maxCacheBytes && _imageCache.size() > 1) {
 
-               if (cachedImage != null) {
-                  try {
-                     cachedImage.dispose();
-                  } catch (final Exception e) {
-                     // it is possible that the image is already disposed by another thread
-                  }
-               }
+            final CachedImage oldestImage = iterator.next().getValue();
 
-               // replace existing image, the image must be already in the fifo queue
-               _imageCache.put(tileKey, tileImage);
+            iterator.remove();
+            _imageCacheBytes -= oldestImage.numBytes;
 
-               return;
-            }
+            disposeImage(oldestImage.image);
          }
-
-      } catch (final Exception e) {
-         StatusUtil.log(e.getMessage(), e);
       }
    }
 
@@ -538,9 +658,9 @@ public class TileImageCache {
 
       IPath tilePathWithoutExt = tileImageFilePath.removeFileExtension();
 
-      // check tile directory
+      // check tile directory, it is not needed when the image is saved in a pack file
       final File tileDir = tilePathWithoutExt.removeLastSegments(1).toFile();
-      if (tileDir.exists() == false) {
+      if (OfflineTileStore.isPackUsed() == false && tileDir.exists() == false) {
 
          /*
           * create tile directory
@@ -598,8 +718,17 @@ public class TileImageCache {
          }
 
          final IPath fullImageFilePath = tilePathWithoutExt.addFileExtension(extension);
+         final String osFullImageFilePath = fullImageFilePath.toOSString();
+
+         // encode image only once for the file and the cache
+         final ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
+         imageLoader.save(imageStream, imageType);
 
-         imageLoader.save(fullImageFilePath.toOSString(), imageType);
+         final byte[] imageBytes = imageStream.toByteArray();
+
+         OfflineTileStore.write(_osTileCachePath, osFullImageFilePath, imageBytes);
+
+         _imageBytesCache.put(imageOSFilePath, osFullImageFilePath, imageBytes);
 
          // update map provider with the image format
          mp.setImageFormat(MapProviderManager.getImageMimeType(imageType));
@@ -715,11 +844,7 @@ public class TileImageCache {
 
             // create custom scaled image
 
-            /*
-             * Load image with the constructor which is 20 times faster than loading the
-             * image with an imageloader
-             */
-            final ImageData imageData = new ImageData(osTileImagePath);
+            final ImageData imageData = getOfflineImageData(tile, osTileImagePath);
 
             tileImage = createTileImage(tile, imageData);
 
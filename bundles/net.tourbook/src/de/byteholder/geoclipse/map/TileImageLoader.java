@@ -27,7 +27,6 @@ import java.net.URLConnection;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -94,7 +93,7 @@ public class TileImageLoader implements Runnable {
 
    /**
     * Loads a tile image from a map provider which is contained in the tile. Tiles are retrieved
-    * from the tile waiting queue {@link MP#getTileWaitingQueue()}
+    * from the tile waiting queue {@link MP#getTileScheduler()}
     */
    public TileImageLoader() {}
 
@@ -579,21 +578,7 @@ public class TileImageLoader implements Runnable {
       return tileImageData;
    }
 
-   @Override
-   public void run() {
-
-      /*
-       * load/create tile image
-       */
-      // get tile from queue
-      final LinkedBlockingDeque<Tile> tileWaitingQueue = MP.getTileWaitingQueue();
-
-      final Tile tile = tileWaitingQueue.pollFirst();
-
-      if (tile == null) {
-         // it's possible that the waiting queue was reset
-         return;
-      }
+   private void loadTile(final Tile tile) {
 
       final MP mp = tile.getMP();
       final boolean isParentTile = mp instanceof ITileChildrenCreator;
@@ -637,4 +622,35 @@ public class TileImageLoader implements Runnable {
       // loading has finished
       tile.setFuture(null);
    }
+
+   @Override
+   public void run() {
+
+      /*
+       * load/create tile image
+       */
+      // get tile from queue
+      final TileScheduler tileScheduler = MP.getTileScheduler();
+
+      final Tile tile = tileScheduler.pollNext();
+
+      if (tile == null) {
+
+         // it's possible that the waiting queue was reset or the map providers of all waiting
+         // tiles are busy, they are loaded when a running tile is finished
+         return;
+      }
+
+      try {
+
+         loadTile(tile);
+
+      } finally {
+
+         tileScheduler.release(tile);
+
+         // load tiles which were waiting for this map provider
+         MP.startTileLoading();
+      }
+   }
 }
@@ -0,0 +1,937 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package de.byteholder.geoclipse.map;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import net.tourbook.common.util.StatusUtil;
+
+import org.eclipse.collections.impl.map.mutable.primitive.LongLongHashMap;
+
+/**
+ * Append only file which contains the offline images of one offline folder, it replaces one file
+ * for each tile.
+ * <p>
+ * File format
+ *
+ * <pre>
+ * header   long     magic number
+ * record   int      key length
+ *          byte[]   key, UTF-8 path of the image file relative to the offline folder
+ *          int      image length, -1 when the tile is deleted
+ *          byte[]   image
+ * record   ...
+ * </pre>
+ *
+ * All tiles are kept in an in-memory index, it is saved into an index file when the pack is
+ * closed. The index file is replaced with a rename, so that a crash do not leave a partly written
+ * index. Because records are only appended, a saved index is still valid when the pack file is
+ * larger, e.g. after a crash, then the records after the indexed size are read again.
+ * <p>
+ * Images are read from memory mapped segments of the pack file. When more than half of the pack
+ * file contains deleted or replaced images, it is compacted into a temporary file which is renamed
+ * into a new pack file with the next generation number when it is written completely, the old file
+ * is deleted when it is not mapped any more.
+ */
+class TilePack {
+
+   static final String         FILE_EXTENSION       = "tilepack";             //$NON-NLS-1$
+   private static final String INDEX_EXTENSION      = "idx";                  //$NON-NLS-1$
+   private static final String TEMP_EXTENSION       = "tmp";                  //$NON-NLS-1$
+
+   private static final long   MAGIC                = 0x4d54_5450_4143_4b31L; // MTTPACK1
+   private static final int    HEADER_SIZE          = 8;
+   private static final int    INDEX_VERSION        = 1;
+
+   private static final int    SEGMENT_SIZE         = 64 * 1024 * 1024;
+
+   /**
+    * Number of bits for the image length in an index value, the other bits are the record offset
+    */
+   private static final int    LENGTH_BITS          = 24;
+   private static final long   LENGTH_MASK          = (1L << LENGTH_BITS) - 1;
+   private static final int    MAX_IMAGE_LENGTH     = (int) LENGTH_MASK;
+
+   private static final int    DELETED_IMAGE_LENGTH = -1;
+
+   /**
+    * A pack is compacted when it is larger and more than half of it is not used
+    */
+   private static final long   MIN_COMPACT_SIZE     = 16 * 1024 * 1024;
+
+   private final File          _folder;
+   private final String        _name;
+
+   private File                _packFile;
+   private int                 _generation;
+   private FileChannel         _channel;
+   private long                _packSize;
+
+   /**
+    * Key: Hash of the tile key<br>
+    * Value: Record offset &lt;&lt; {@link #LENGTH_BITS} | image length
+    */
+   private LongLongHashMap     _allTiles            = new LongLongHashMap();
+
+   /**
+    * Number of record bytes which are used by the tiles in the index
+    */
+   private long                _numUsedBytes;
+
+   /**
+    * Mapped segments of the pack file, only complete segments are mapped
+    */
+   private MappedByteBuffer[]  _allSegments         = new MappedByteBuffer[0];
+
+   /**
+    * @param folder
+    *           Folder which contains the pack file
+    * @param name
+    *           Name of the pack without generation and extension
+    */
+   TilePack(final File folder, final String name) {
+
+      _folder = folder;
+      _name = name;
+   }
+
+   private static File[] getAllPackFiles(final File folder, final String name) {
+
+      final String filePrefix = name + '.';
+      final String fileSuffix = '.' + FILE_EXTENSION;
+
+      return folder.listFiles((dir, fileName) -> fileName.startsWith(filePrefix) && fileName.endsWith(fileSuffix));
+   }
+
+   private static long getKeyHash(final byte[] keyBytes) {
+
+      // FNV-1a 64 bit
+      long hash = 0xcbf2_9ce4_8422_2325L;
+
+      for (final byte keyByte : keyBytes) {
+         hash ^= keyByte & 0xff;
+         hash *= 0x100_0000_01b3L;
+      }
+
+      return hash;
+   }
+
+   private static int getRecordSize(final int keyLength, final int imageLength) {
+
+      return 4 + keyLength + 4 + Math.max(0, imageLength);
+   }
+
+   /**
+    * @param folder
+    *           Folder which contains the pack file
+    * @param name
+    *           Name of the pack without generation and extension
+    *
+    * @return Returns <code>true</code> when a pack file is available
+    */
+   static boolean isAvailable(final File folder, final String name) {
+
+      final File[] allPackFiles = getAllPackFiles(folder, name);
+
+      return allPackFiles != null && allPackFiles.length > 0;
+   }
+
+   private void appendRecord(final byte[] keyBytes, final byte[] imageBytes, final int imageLength) throws IOException {
+
+      final ByteBuffer buffer = ByteBuffer.allocate(getRecordSize(keyBytes.length, imageLength));
+
+      buffer.putInt(keyBytes.length);
+      buffer.put(keyBytes);
+      buffer.putInt(imageLength);
+
+      if (imageLength > 0) {
+         buffer.put(imageBytes);
+      }
+
+      buffer.flip();
+
+      long writePosition = _packSize;
+
+      while (buffer.hasRemaining()) {
+         writePosition += _channel.write(buffer, writePosition);
+      }
+
+      final long recordOffset = _packSize;
+      final long keyHash = getKeyHash(keyBytes);
+
+      removeFromIndex(keyHash);
+
+      if (imageLength != DELETED_IMAGE_LENGTH) {
+
+         _allTiles.put(keyHash, recordOffset << LENGTH_BITS | imageLength);
+         _numUsedBytes += getRecordSize(keyBytes.length, imageLength);
+      }
+
+      _packSize = writePosition;
+   }
+
+   synchronized void close() {
+
+      if (_channel == null) {
+         return;
+      }
+
+      saveIndex();
+
+      try {
+         _channel.close();
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      _channel = null;
+      _allSegments = new MappedByteBuffer[0];
+   }
+
+   /**
+    * Compacts the pack when more than half of it is not used anymore.
+    */
+   synchronized void compactWhenNeeded() {
+
+      if (_packSize < MIN_COMPACT_SIZE || _numUsedBytes * 2 > _packSize) {
+         return;
+      }
+
+      /*
+       * The compacted pack is written into a temporary file, a partly written pack file with the
+       * next generation would replace the complete pack when the app crashes during compaction
+       */
+      final File tempFile = getCompactTempFile();
+      final File compactFile = getPackFile(_generation + 1);
+
+      final LongLongHashMap allCompactedTiles = new LongLongHashMap(_allTiles.size());
+      long compactPosition;
+
+      try (FileChannel compactChannel = FileChannel.open(tempFile.toPath(),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+
+         compactPosition = writeHeader(compactChannel);
+
+         // copy the records in the sequence of the old pack
+         final long[] allIndexValues = _allTiles.values().toSortedArray();
+         final LongLongHashMap allOffsetHashes = new LongLongHashMap(_allTiles.size());
+
+         _allTiles.forEachKeyValue((keyHash, indexValue) -> allOffsetHashes.put(indexValue, keyHash));
+
+         for (final long indexValue : allIndexValues) {
+
+            final long recordOffset = indexValue >>> LENGTH_BITS;
+            final int imageLength = (int) (indexValue & LENGTH_MASK);
+
+            final int keyLength = readInt(recordOffset);
+            final int recordSize = getRecordSize(keyLength, imageLength);
+
+            final ByteBuffer record = read(recordOffset, recordSize);
+
+            long writePosition = compactPosition;
+
+            while (record.hasRemaining()) {
+               writePosition += compactChannel.write(record, writePosition);
+            }
+
+            allCompactedTiles.put(allOffsetHashes.get(indexValue), compactPosition << LENGTH_BITS | imageLength);
+
+            compactPosition = writePosition;
+         }
+
+         compactChannel.force(true);
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         tempFile.delete();
+
+         return;
+      }
+
+      try {
+
+         // an index of an older pack with the same generation do not fit to the compacted pack
+         getIndexFile(compactFile).delete();
+
+         Files.move(tempFile.toPath(), compactFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         tempFile.delete();
+
+         return;
+      }
+
+      try {
+
+         final File oldPackFile = _packFile;
+
+         _channel.close();
+
+         _generation++;
+         _packFile = compactFile;
+         _channel = FileChannel.open(compactFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+         _packSize = compactPosition;
+         _allTiles = allCompactedTiles;
+         _allSegments = new MappedByteBuffer[0];
+
+         saveIndex();
+
+         // this fails on Windows while the old file is still mapped, it is deleted when the pack is opened again
+         deletePackFile(oldPackFile);
+
+      } catch (final IOException e) {
+
+         // the complete compacted pack is used when the pack is opened again
+         StatusUtil.log(e);
+
+         _channel = null;
+      }
+   }
+
+   /**
+    * @param keyBytes
+    *
+    * @return Returns <code>true</code> when the tile is available
+    */
+   synchronized boolean contains(final byte[] keyBytes) {
+
+      return open() && _allTiles.containsKey(getKeyHash(keyBytes));
+   }
+
+   synchronized boolean delete(final byte[] keyBytes) {
+
+      if (open() == false || _allTiles.containsKey(getKeyHash(keyBytes)) == false) {
+         return false;
+      }
+
+      try {
+
+         appendRecord(keyBytes, null, DELETED_IMAGE_LENGTH);
+
+         return true;
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      return false;
+   }
+
+   /**
+    * Deletes all tiles which are accepted by the filter.
+    *
+    * @param keyFilter
+    *           Tile key filter
+    *
+    * @return Returns the number of deleted tiles
+    */
+   synchronized int deleteAll(final Predicate<String> keyFilter) {
+
+      if (open() == false) {
+         return 0;
+      }
+
+      int numDeleted = 0;
+
+      try {
+
+         for (final String tileKey : getAllKeys()) {
+
+            if (keyFilter.test(tileKey)) {
+
+               appendRecord(tileKey.getBytes(StandardCharsets.UTF_8), null, DELETED_IMAGE_LENGTH);
+
+               numDeleted++;
+            }
+         }
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      compactWhenNeeded();
+
+      return numDeleted;
+   }
+
+   private void deletePackFile(final File packFile) {
+
+      packFile.delete();
+      getIndexFile(packFile).delete();
+   }
+
+   private List<String> getAllKeys() throws IOException {
+
+      final List<String> allKeys = new ArrayList<>(_allTiles.size());
+
+      for (final long indexValue : _allTiles.values().toArray()) {
+
+         final long recordOffset = indexValue >>> LENGTH_BITS;
+         final int keyLength = readInt(recordOffset);
+
+         final ByteBuffer keyBuffer = read(recordOffset + 4, keyLength);
+
+         allKeys.add(StandardCharsets.UTF_8.decode(keyBuffer).toString());
+      }
+
+      return allKeys;
+   }
+
+   /**
+    * @return Returns the temporary file into which the pack is compacted
+    */
+   private File getCompactTempFile() {
+
+      return new File(_folder, _name + '.' + FILE_EXTENSION + '.' + TEMP_EXTENSION);
+   }
+
+   private File getIndexFile(final File packFile) {
+
+      return new File(packFile.getPath() + '.' + INDEX_EXTENSION);
+   }
+
+   private File getPackFile(final int generation) {
+
+      return new File(_folder, _name + '.' + generation + '.' + FILE_EXTENSION);
+   }
+
+   /**
+    * @return Returns the size of the pack file
+    */
+   synchronized long getPackSize() {
+
+      return open() ? _packSize : 0;
+   }
+
+   /**
+    * @return Returns the number of tiles
+    */
+   synchronized int getSize() {
+
+      return open() ? _allTiles.size() : 0;
+   }
+
+   /**
+    * Gets the number of tiles and their image bytes for which the key starts with a prefix.
+    *
+    * @param keyPrefix
+    *
+    * @return Returns number of tiles and number of bytes
+    */
+   synchronized long[] getSize(final String keyPrefix) {
+
+      final long[] tileInfo = new long[2];
+
+      if (open() == false) {
+         return tileInfo;
+      }
+
+      if (keyPrefix.isEmpty()) {
+
+         tileInfo[0] = _allTiles.size();
+         tileInfo[1] = _numUsedBytes;
+
+         return tileInfo;
+      }
+
+      try {
+
+         for (final String tileKey : getAllKeys()) {
+
+            if (tileKey.startsWith(keyPrefix)) {
+
+               final long indexValue = _allTiles.get(getKeyHash(tileKey.getBytes(StandardCharsets.UTF_8)));
+
+               tileInfo[0]++;
+               tileInfo[1] += indexValue & LENGTH_MASK;
+            }
+         }
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      return tileInfo;
+   }
+
+   /**
+    * Loads the saved index, it is ignored when it do not fit to the pack file or when it contains
+    * a tile which is not within the indexed pack size.
+    *
+    * @return Returns the pack size which is contained in the index or {@link #HEADER_SIZE} when
+    *         the index is not available
+    */
+   private long loadIndex() {
+
+      final File indexFile = getIndexFile(_packFile);
+
+      if (indexFile.exists() == false) {
+         return HEADER_SIZE;
+      }
+
+      try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+
+         if (input.readInt() != INDEX_VERSION) {
+            return HEADER_SIZE;
+         }
+
+         final long indexedPackSize = input.readLong();
+
+         if (indexedPackSize > _packSize) {
+            return HEADER_SIZE;
+         }
+
+         final long numUsedBytes = input.readLong();
+         final int numTiles = input.readInt();
+
+         if (numTiles < 0 || numUsedBytes < 0 || numUsedBytes > indexedPackSize) {
+            return HEADER_SIZE;
+         }
+
+         final LongLongHashMap allTiles = new LongLongHashMap(numTiles);
+
+         for (int tileIndex = 0; tileIndex < numTiles; tileIndex++) {
+
+            final long keyHash = input.readLong();
+            final long indexValue = input.readLong();
+
+            final long recordOffset = indexValue >>> LENGTH_BITS;
+            final int imageLength = (int) (indexValue & LENGTH_MASK);
+
+            if (recordOffset < HEADER_SIZE || recordOffset + getRecordSize(1, imageLength) > indexedPackSize) {
+
+               StatusUtil.logError("Tile pack index is invalid: " + indexFile); //$NON-NLS-1$
+
+               return HEADER_SIZE;
+            }
+
+            allTiles.put(keyHash, indexValue);
+         }
+
+         _allTiles = allTiles;
+         _numUsedBytes = numUsedBytes;
+
+         return indexedPackSize;
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         _allTiles = new LongLongHashMap();
+         _numUsedBytes = 0;
+
+         return HEADER_SIZE;
+      }
+   }
+
+   /**
+    * @return Returns <code>true</code> when the pack is opened or created
+    */
+   private boolean open() {
+
+      if (_channel != null) {
+         return true;
+      }
+
+      try {
+
+         // get latest generation, delete older generations which could not be deleted
+         final String filePrefix = _name + '.';
+         final String fileSuffix = '.' + FILE_EXTENSION;
+
+         final File[] allPackFiles = getAllPackFiles(_folder, _name);
+
+         int latestGeneration = 0;
+
+         if (allPackFiles != null) {
+
+            for (final File packFile : allPackFiles) {
+
+               final String fileName = packFile.getName();
+
+               try {
+
+                  final int generation = Integer.parseInt(fileName.substring(filePrefix.length(), fileName.length() - fileSuffix.length()));
+
+                  latestGeneration = Math.max(latestGeneration, generation);
+
+               } catch (final NumberFormatException e) {
+                  // ignore other files
+               }
+            }
+
+            for (final File packFile : allPackFiles) {
+               if (packFile.equals(getPackFile(latestGeneration)) == false) {
+                  deletePackFile(packFile);
+               }
+            }
+         }
+
+         // remove a compacted pack which was not written completely
+         getCompactTempFile().delete();
+
+         _folder.mkdirs();
+
+         _generation = latestGeneration;
+         _packFile = getPackFile(latestGeneration);
+         _channel = FileChannel.open(_packFile.toPath(),
+               StandardOpenOption.CREATE,
+               StandardOpenOption.READ,
+               StandardOpenOption.WRITE);
+
+         _packSize = _channel.size();
+         _allTiles = new LongLongHashMap();
+         _numUsedBytes = 0;
+         _allSegments = new MappedByteBuffer[0];
+
+         if (_packSize < HEADER_SIZE) {
+
+            _packSize = writeHeader(_channel);
+
+         } else if (readLong(0) != MAGIC) {
+
+            StatusUtil.logError("Tile pack has an invalid format: " + _packFile); //$NON-NLS-1$
+
+            _channel.close();
+            _channel = null;
+
+            return false;
+         }
+
+         readRecords(loadIndex());
+
+         return true;
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         _channel = null;
+      }
+
+      return false;
+   }
+
+   /**
+    * @param keyBytes
+    *
+    * @return Returns the image or <code>null</code> when it is not available
+    */
+   synchronized byte[] read(final byte[] keyBytes) {
+
+      if (open() == false) {
+         return null;
+      }
+
+      final long indexValue = _allTiles.getIfAbsent(getKeyHash(keyBytes), -1);
+
+      if (indexValue == -1) {
+         return null;
+      }
+
+      final long recordOffset = indexValue >>> LENGTH_BITS;
+      final int imageLength = (int) (indexValue & LENGTH_MASK);
+
+      try {
+
+         final int keyLength = readInt(recordOffset);
+
+         final ByteBuffer record = read(recordOffset + 4, keyLength + 4 + imageLength);
+
+         final byte[] recordKey = new byte[keyLength];
+         record.get(recordKey);
+
+         if (Arrays.equals(recordKey, keyBytes) == false) {
+
+            // another key has the same hash
+            return null;
+         }
+
+         record.getInt();
+
+         final byte[] imageBytes = new byte[imageLength];
+         record.get(imageBytes);
+
+         return imageBytes;
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      return null;
+   }
+
+   /**
+    * @param position
+    * @param length
+    *
+    * @return Returns the bytes from a mapped segment or from the file channel when the bytes are
+    *         not contained in one mapped segment
+    *
+    * @throws IOException
+    */
+   private ByteBuffer read(final long position, final int length) throws IOException {
+
+      final int segmentIndex = (int) (position / SEGMENT_SIZE);
+      final int segmentOffset = (int) (position % SEGMENT_SIZE);
+
+      if (segmentOffset + length <= SEGMENT_SIZE && (segmentIndex + 1L) * SEGMENT_SIZE <= _packSize) {
+
+         if (segmentIndex >= _allSegments.length) {
+            _allSegments = Arrays.copyOf(_allSegments, segmentIndex + 1);
+         }
+
+         MappedByteBuffer segment = _allSegments[segmentIndex];
+
+         if (segment == null) {
+
+            segment = _channel.map(MapMode.READ_ONLY, (long) segmentIndex * SEGMENT_SIZE, SEGMENT_SIZE);
+
+            _allSegments[segmentIndex] = segment;
+         }
+
+         return segment.slice(segmentOffset, length);
+      }
+
+      return readFromChannel(position, length);
+   }
+
+   /**
+    * @param position
+    * @param length
+    *
+    * @return Returns the bytes which are read from the file channel without mapping the pack file
+    *
+    * @throws IOException
+    */
+   private ByteBuffer readFromChannel(final long position, final int length) throws IOException {
+
+      final ByteBuffer buffer = ByteBuffer.allocate(length);
+
+      long readPosition = position;
+
+      while (buffer.hasRemaining()) {
+
+         final int numRead = _channel.read(buffer, readPosition);
+
+         if (numRead < 0) {
+            throw new IOException("Unexpected end of tile pack: " + _packFile); //$NON-NLS-1$
+         }
+
+         readPosition += numRead;
+      }
+
+      return buffer.flip();
+   }
+
+   private int readInt(final long position) throws IOException {
+
+      return read(position, 4).getInt();
+   }
+
+   private long readLong(final long position) throws IOException {
+
+      return read(position, 8).getLong();
+   }
+
+   /**
+    * Reads all records from a position until the end of the pack file, an incomplete last record
+    * is removed.
+    * <p>
+    * The records are read from the file channel, a mapped pack file cannot be truncated on Windows.
+    *
+    * @param startPosition
+    *
+    * @throws IOException
+    */
+   private void readRecords(final long startPosition) throws IOException {
+
+      long position = startPosition;
+
+      while (position + 8 <= _packSize) {
+
+         final int keyLength = readFromChannel(position, 4).getInt();
+
+         if (keyLength <= 0 || position + 4 + keyLength + 4 > _packSize) {
+            break;
+         }
+
+         final ByteBuffer keyBuffer = readFromChannel(position + 4, keyLength + 4);
+         final byte[] keyBytes = new byte[keyLength];
+         keyBuffer.get(keyBytes);
+
+         final int imageLength = keyBuffer.getInt();
+         final int recordSize = getRecordSize(keyLength, imageLength);
+
+         if (imageLength > MAX_IMAGE_LENGTH || position + recordSize > _packSize) {
+            break;
+         }
+
+         final long keyHash = getKeyHash(keyBytes);
+
+         removeFromIndex(keyHash);
+
+         if (imageLength != DELETED_IMAGE_LENGTH) {
+
+            _allTiles.put(keyHash, position << LENGTH_BITS | imageLength);
+            _numUsedBytes += recordSize;
+         }
+
+         position += recordSize;
+      }
+
+      if (position < _packSize) {
+
+         StatusUtil.logError("Tile pack is truncated to the last complete tile: " + _packFile); //$NON-NLS-1$
+
+         _channel.truncate(position);
+         _packSize = position;
+         _allSegments = new MappedByteBuffer[0];
+      }
+   }
+
+   private void removeFromIndex(final long keyHash) throws IOException {
+
+      final long indexValue = _allTiles.getIfAbsent(keyHash, -1);
+
+      if (indexValue != -1) {
+
+         final long recordOffset = indexValue >>> LENGTH_BITS;
+         final int imageLength = (int) (indexValue & LENGTH_MASK);
+
+         _allTiles.remove(keyHash);
+         _numUsedBytes -= getRecordSize(readInt(recordOffset), imageLength);
+      }
+   }
+
+   /**
+    * Saves the index into a temporary file which replaces the index file when it is written
+    * completely.
+    */
+   private void saveIndex() {
+
+      final File indexFile = getIndexFile(_packFile);
+      final File tempFile = new File(indexFile.getPath() + '.' + TEMP_EXTENSION);
+
+      try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+
+         output.writeInt(INDEX_VERSION);
+         output.writeLong(_packSize);
+         output.writeLong(_numUsedBytes);
+         output.writeInt(_allTiles.size());
+
+         final IOException[] writeException = { null };
+
+         _allTiles.forEachKeyValue((keyHash, indexValue) -> {
+
+            try {
+               output.writeLong(keyHash);
+               output.writeLong(indexValue);
+            } catch (final IOException e) {
+               writeException[0] = e;
+            }
+         });
+
+         if (writeException[0] != null) {
+            throw writeException[0];
+         }
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         tempFile.delete();
+
+         return;
+      }
+
+      try {
+
+         Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+
+         tempFile.delete();
+      }
+   }
+
+   /**
+    * Adds or replaces a tile image.
+    *
+    * @param keyBytes
+    * @param imageBytes
+    *
+    * @return Returns <code>true</code> when the image is saved
+    */
+   synchronized boolean write(final byte[] keyBytes, final byte[] imageBytes) {
+
+      if (imageBytes.length > MAX_IMAGE_LENGTH || open() == false) {
+         return false;
+      }
+
+      try {
+
+         appendRecord(keyBytes, imageBytes, imageBytes.length);
+
+         return true;
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      return false;
+   }
+
+   private long writeHeader(final FileChannel channel) throws IOException {
+
+      final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putLong(MAGIC).flip();
+
+      while (header.hasRemaining()) {
+         channel.write(header, HEADER_SIZE - header.remaining());
+      }
+
+      return HEADER_SIZE;
+   }
+}
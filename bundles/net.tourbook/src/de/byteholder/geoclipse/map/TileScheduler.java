@@ -0,0 +1,387 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package de.byteholder.geoclipse.map;
+
+import de.byteholder.geoclipse.mapprovider.MP;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.WeakHashMap;
+
+/**
+ * Contains the tiles which are waiting to be loaded, the next tile which is loaded is
+ * <ul>
+ * <li>a tile in a map viewport which is nearest to the viewport center,</li>
+ * <li>then other tiles which are requested from a map, the last requested tile first,</li>
+ * <li>then offline tiles, the first requested tile first.</li>
+ * </ul>
+ * Tiles which are not anymore in the viewport of a map are removed from the queue and the number of
+ * tiles which are loaded at the same time is limited for each map provider, see
+ * {@link MP#getNumLoadingThreads()}.
+ */
+public class TileScheduler {
+
+   /**
+    * Number of tiles around the viewport which are not canceled
+    */
+   private static final int                         VIEWPORT_MARGIN      = 1;
+
+   private static final int                         MAX_LATENCY_SAMPLES  = 500;
+
+   private static final int                         PRIORITY_VIEWPORT    = 0;
+   private static final int                         PRIORITY_MAP         = 1;
+   private static final int                         PRIORITY_OFFLINE     = 2;
+
+   private final ArrayList<QueueItem>               _allQueueItems       = new ArrayList<>();
+
+   /**
+    * Key: Map provider<br>
+    * Value: Number of tiles which are currently loaded
+    */
+   private final IdentityHashMap<MP, Integer>       _allRunningTiles     = new IdentityHashMap<>();
+
+   /**
+    * Key: Map which displays the viewport
+    */
+   private final WeakHashMap<Object, TileViewport>  _allViewports        = new WeakHashMap<>();
+
+   /**
+    * Key: Tile which is loaded<br>
+    * Value: Time in ns when the tile was queued
+    */
+   private final IdentityHashMap<Tile, Long>        _allLoadingStartTime = new IdentityHashMap<>();
+
+   /**
+    * Ring buffer with the last loading times in ms
+    */
+   private final long[]                             _allLatencies        = new long[MAX_LATENCY_SAMPLES];
+   private int                                      _numLatencies;
+   private int                                      _nextLatencyIndex;
+
+   private long                                     _queueSequence;
+
+   private static class QueueItem {
+
+      private Tile    __tile;
+      private boolean __isMapTile;
+      private long    __sequence;
+      private long    __queuedTime;
+   }
+
+   private record TileViewport(MP mp,
+                               int zoom,
+                               int minX,
+                               int maxX,
+                               int minY,
+                               int maxY) {
+
+      private boolean contains(final Tile tile, final int margin) {
+
+         final int tileX = tile.getX();
+         final int tileY = tile.getY();
+
+         return tile.getZoom() == zoom
+               && tileX >= minX - margin && tileX <= maxX + margin
+               && tileY >= minY - margin && tileY <= maxY + margin;
+      }
+
+      /**
+       * @param tile
+       *
+       * @return Returns the squared distance between the tile and the viewport center
+       */
+      private long getDistance(final Tile tile) {
+
+         // use doubled coordinates to avoid rounding the center
+         final long distanceX = 2L * tile.getX() - minX - maxX;
+         final long distanceY = 2L * tile.getY() - minY - maxY;
+
+         return distanceX * distanceX + distanceY * distanceY;
+      }
+   }
+
+   /**
+    * Adds a tile to the waiting queue.
+    *
+    * @param tile
+    * @param isMapTile
+    *           Is <code>true</code> when the tile is requested from a map, otherwise it is e.g. an
+    *           offline tile
+    */
+   public synchronized void add(final Tile tile, final boolean isMapTile) {
+
+      final QueueItem queueItem = new QueueItem();
+
+      queueItem.__tile = tile;
+      queueItem.__isMapTile = isMapTile;
+      queueItem.__sequence = _queueSequence++;
+      queueItem.__queuedTime = System.nanoTime();
+
+      _allQueueItems.add(queueItem);
+   }
+
+   /**
+    * Cancels all waiting tiles which are not in a viewport of their map provider.
+    *
+    * @return Returns the canceled tiles
+    */
+   private List<Tile> cancelInvisibleTiles() {
+
+      final List<Tile> allCanceledTiles = new ArrayList<>();
+
+      for (final Iterator<QueueItem> iterator = _allQueueItems.iterator(); iterator.hasNext();) {
+
+         final QueueItem queueItem = iterator.next();
+         final Tile tile = queueItem.__tile;
+         final MP mp = tile.getMP();
+
+         if (queueItem.__isMapTile == false
+
+               // parent tiles are finalized when all children are loaded, they cannot be canceled
+               || mp instanceof ITileChildrenCreator
+               || tile.isChild()) {
+
+            continue;
+         }
+
+         boolean isMPViewport = false;
+         boolean isVisible = false;
+
+         for (final TileViewport viewport : _allViewports.values()) {
+
+            if (viewport.mp == mp) {
+
+               isMPViewport = true;
+
+               if (viewport.contains(tile, VIEWPORT_MARGIN)) {
+
+                  isVisible = true;
+                  break;
+               }
+            }
+         }
+
+         if (isMPViewport && isVisible == false) {
+
+            iterator.remove();
+            allCanceledTiles.add(tile);
+         }
+      }
+
+      return allCanceledTiles;
+   }
+
+   /**
+    * Removes all waiting tiles, tiles which are currently loaded are not affected.
+    */
+   public synchronized void clear() {
+
+      _allQueueItems.clear();
+   }
+
+   /**
+    * @param percent
+    *           0...100
+    *
+    * @return Returns the loading time in ms of the recently loaded tiles for the percentile or -1
+    *         when a tile is not yet loaded
+    */
+   public synchronized long getLatencyPercentile(final int percent) {
+
+      if (_numLatencies == 0) {
+         return -1;
+      }
+
+      final long[] allSortedLatencies = Arrays.copyOf(_allLatencies, _numLatencies);
+
+      Arrays.sort(allSortedLatencies);
+
+      final int percentileIndex = Math.min(_numLatencies - 1, (int) Math.ceil(percent / 100.0 * _numLatencies) - 1);
+
+      return allSortedLatencies[Math.max(0, percentileIndex)];
+   }
+
+   /**
+    * @return Returns the number of tiles which are waiting to be loaded
+    */
+   public synchronized int getQueueSize() {
+
+      return _allQueueItems.size();
+   }
+
+   private int getRunningTiles(final MP mp) {
+
+      final Integer numRunningTiles = _allRunningTiles.get(mp);
+
+      return numRunningTiles == null ? 0 : numRunningTiles;
+   }
+
+   public synchronized boolean isEmpty() {
+
+      return _allQueueItems.isEmpty();
+   }
+
+   /**
+    * Gets the next tile which should be loaded, this tile must be released with
+    * {@link #release(Tile)} when loading has finished.
+    *
+    * @return Returns the tile with the highest priority or <code>null</code> when there is no tile
+    *         or all map providers of the waiting tiles are already loading their maximum number
+    *         of tiles.
+    */
+   public synchronized Tile pollNext() {
+
+      QueueItem nextItem = null;
+      int nextPriority = Integer.MAX_VALUE;
+      long nextDistance = Long.MAX_VALUE;
+
+      for (final QueueItem queueItem : _allQueueItems) {
+
+         final Tile tile = queueItem.__tile;
+         final MP mp = tile.getMP();
+
+         if (getRunningTiles(mp) >= mp.getNumLoadingThreads()) {
+
+            // this map provider is busy
+            continue;
+         }
+
+         int priority;
+         long distance;
+
+         if (queueItem.__isMapTile) {
+
+            priority = PRIORITY_MAP;
+
+            // the last requested tile is loaded first
+            distance = -queueItem.__sequence;
+
+            for (final TileViewport viewport : _allViewports.values()) {
+
+               if (viewport.mp == mp && viewport.contains(tile, 0)) {
+
+                  final long viewportDistance = viewport.getDistance(tile);
+
+                  if (priority != PRIORITY_VIEWPORT || viewportDistance < distance) {
+
+                     priority = PRIORITY_VIEWPORT;
+                     distance = viewportDistance;
+                  }
+               }
+            }
+
+         } else {
+
+            priority = PRIORITY_OFFLINE;
+
+            // the first requested tile is loaded first
+            distance = queueItem.__sequence;
+         }
+
+         if (priority < nextPriority || priority == nextPriority && distance < nextDistance) {
+
+            nextItem = queueItem;
+            nextPriority = priority;
+            nextDistance = distance;
+         }
+      }
+
+      if (nextItem == null) {
+         return null;
+      }
+
+      _allQueueItems.remove(nextItem);
+
+      final Tile nextTile = nextItem.__tile;
+
+      _allRunningTiles.put(nextTile.getMP(), getRunningTiles(nextTile.getMP()) + 1);
+      _allLoadingStartTime.put(nextTile, nextItem.__queuedTime);
+
+      return nextTile;
+   }
+
+   /**
+    * Release a tile which was returned from {@link #pollNext()} and keep it's loading time.
+    *
+    * @param tile
+    */
+   public synchronized void release(final Tile tile) {
+
+      final MP mp = tile.getMP();
+      final int numRunningTiles = getRunningTiles(mp) - 1;
+
+      if (numRunningTiles > 0) {
+         _allRunningTiles.put(mp, numRunningTiles);
+      } else {
+         _allRunningTiles.remove(mp);
+      }
+
+      final Long queuedTime = _allLoadingStartTime.remove(tile);
+
+      if (queuedTime != null) {
+
+         _allLatencies[_nextLatencyIndex] = (System.nanoTime() - queuedTime) / 1_000_000;
+
+         _nextLatencyIndex = (_nextLatencyIndex + 1) % MAX_LATENCY_SAMPLES;
+         _numLatencies = Math.min(_numLatencies + 1, MAX_LATENCY_SAMPLES);
+      }
+   }
+
+   /**
+    * Removes the viewport of a map, e.g. when the map is disposed.
+    *
+    * @param map
+    */
+   public synchronized void removeViewport(final Object map) {
+
+      _allViewports.remove(map);
+   }
+
+   /**
+    * Sets the tiles which are displayed in a map.
+    *
+    * @param map
+    * @param mp
+    * @param zoom
+    * @param minX
+    * @param maxX
+    * @param minY
+    * @param maxY
+    *
+    * @return Returns the waiting tiles which are canceled because they are not anymore displayed
+    */
+   public synchronized List<Tile> setViewport(final Object map,
+                                              final MP mp,
+                                              final int zoom,
+                                              final int minX,
+                                              final int maxX,
+                                              final int minY,
+                                              final int maxY) {
+
+      final TileViewport newViewport = new TileViewport(mp, zoom, minX, maxX, minY, maxY);
+
+      if (newViewport.equals(_allViewports.put(map, newViewport))) {
+
+         // viewport is not modified
+         return List.of();
+      }
+
+      return cancelInvisibleTiles();
+   }
+}
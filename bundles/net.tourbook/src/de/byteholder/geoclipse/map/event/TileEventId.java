@@ -23,6 +23,11 @@ public enum TileEventId {
 	 */
 	TILE_IS_QUEUED,
 
+	/**
+	 * waiting tile is removed from the queue because it is not displayed anymore
+	 */
+	TILE_IS_CANCELED,
+
 	/**
 	 * tile gets loading from a url
 	 */
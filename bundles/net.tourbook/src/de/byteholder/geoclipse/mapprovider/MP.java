@@ -26,6 +26,7 @@ import de.byteholder.geoclipse.map.Tile;
 import de.byteholder.geoclipse.map.TileCache;
 import de.byteholder.geoclipse.map.TileImageCache;
 import de.byteholder.geoclipse.map.TileImageLoader;
+import de.byteholder.geoclipse.map.TileScheduler;
 import de.byteholder.geoclipse.map.event.ITileListener;
 import de.byteholder.geoclipse.map.event.TileEventId;
 import de.byteholder.geoclipse.util.Util;
@@ -37,10 +38,10 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -69,16 +70,19 @@ import org.eclipse.swt.widgets.Display;
  */
 public abstract class MP extends CommonMapProvider implements Cloneable, Comparable<Object> {
 
-   private static final int TILE_CACHE_SIZE       = 2000;  //2000;
-   private static final int ERROR_CACHE_SIZE      = 10000; //10000;
-   private static final int IMAGE_CACHE_SIZE      = 200;   //200;
+   private static final int  TILE_CACHE_SIZE       = 2000;  //2000;
+   private static final int  ERROR_CACHE_SIZE      = 10000; //10000;
+   private static final long IMAGE_CACHE_SIZE      = 200L * 1024 * 1024; // 200 MB pixel bytes
 
-   public static final int  OFFLINE_INFO_NOT_READ = -1;
+   public static final int   OFFLINE_INFO_NOT_READ = -1;
 
    // loading tiles pool
    /**
+    * Number of threads which are loading tile images for all map providers.
+    * <p>
     * OpenStreetMap do not allow bulk downloading and do not accept more than 2 concurrent download
-    * threads.
+    * threads, this limit is not set with this pool size, it is set for each map provider with
+    * {@link #setNumLoadingThreads(int)} which is {@link #DEFAULT_NUM_LOADING_THREADS} by default.
     * <p>
     * <code>
     *
@@ -94,7 +98,12 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
     *
     * </code>
     */
-   private static final int                                THREAD_POOL_SIZE             = 2;
+   private static final int                                THREAD_POOL_SIZE             = 8;
+
+   /**
+    * Default number of tiles which are loaded at the same time for one map provider
+    */
+   public static final int                                 DEFAULT_NUM_LOADING_THREADS  = 2;
    private static ExecutorService                          _executorService;
 
    private static final ReentrantLock                      EXECUTOR_LOCK                = new ReentrantLock();
@@ -117,13 +126,11 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
    private static final TileImageCache                     _tileImageCache              = new TileImageCache(IMAGE_CACHE_SIZE);
 
    /**
-    * This queue contains tiles which needs to be loaded, only the number of
-    * {@link #THREAD_POOL_SIZE} can be loaded at the same time, the other tiles are waiting in this
-    * queue. <br>
-    * <br>
-    * !!!!! THIS IS JDK 1.6 !!!!!!!
+    * Contains tiles which needs to be loaded, only the number of {@link #THREAD_POOL_SIZE} can be
+    * loaded at the same time for all map providers and {@link #getNumLoadingThreads()} for one map
+    * provider, the other tiles are waiting in this queue.
     */
-   private static final LinkedBlockingDeque<Tile>          _tileWaitingQueue            = new LinkedBlockingDeque<>();
+   private static final TileScheduler                      _tileScheduler               = new TileScheduler();
 
    /**
     * Listener which throws {@link ITileListener} events
@@ -140,6 +147,11 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
 
    private String                                          _userAgent                   = UI.EMPTY_STRING;
 
+   /**
+    * Number of tiles which are loaded at the same time for this map provider
+    */
+   private int                                             _numLoadingThreads           = DEFAULT_NUM_LOADING_THREADS;
+
    /**
     * image size in pixel for a square image
     */
@@ -327,8 +339,8 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       return _tileListeners;
    }
 
-   public static LinkedBlockingDeque<Tile> getTileWaitingQueue() {
-      return _tileWaitingQueue;
+   public static TileScheduler getTileScheduler() {
+      return _tileScheduler;
    }
 
    public static void removeOfflineInfoListener(final IOfflineInfoListener listener) {
@@ -343,6 +355,25 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       }
    }
 
+   /**
+    * @param map
+    *           Map which is disposed
+    */
+   public static void removeTileViewport(final Object map) {
+      _tileScheduler.removeViewport(map);
+   }
+
+   /**
+    * Starts a loading task for the next waiting tile, this is necessary when tiles are waiting
+    * because their map provider was busy.
+    */
+   public static void startTileLoading() {
+
+      if (_tileScheduler.isEmpty() == false) {
+         getExecutor().submit(new TileImageLoader());
+      }
+   }
+
    @Override
    public Object clone() throws CloneNotSupportedException {
 
@@ -636,10 +667,10 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
    }
 
    /**
-    * @return Returns the {@link ExecutorService} which contains 20 threads to load or create map
-    *         images
+    * @return Returns the {@link ExecutorService} which contains {@link #THREAD_POOL_SIZE} threads to
+    *         load or create map images
     */
-   private ExecutorService getExecutor() {
+   private static ExecutorService getExecutor() {
 
       if (_executorService != null) {
          return _executorService;
@@ -804,6 +835,13 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       return _mapProviderName;
    }
 
+   /**
+    * @return Returns the number of tiles which are loaded at the same time for this map provider
+    */
+   public int getNumLoadingThreads() {
+      return _numLoadingThreads;
+   }
+
    public int getOfflineFileCounter() {
       return _offlineFileCounter;
    }
@@ -1257,19 +1295,15 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
     * Put one tile into the tile image waiting queue
     *
     * @param tile
-    * @param isFiFo
-    *
-    * @throws InterruptedException
+    * @param isMapTile
+    *           when <code>true</code> the tile is displayed in a map and is loaded before other
+    *           tiles
     */
-   private void putOneTileInWaitingQueue(final Tile tile, final boolean isFiFo) {
+   private void putOneTileInWaitingQueue(final Tile tile, final boolean isMapTile) {
 
       tile.setLoading(true);
 
-      if (isFiFo) {
-         _tileWaitingQueue.addFirst(tile);
-      } else {
-         _tileWaitingQueue.addLast(tile);
-      }
+      _tileScheduler.add(tile, isMapTile);
 
       // create loading task
       final Future<?> future = getExecutor().submit(new TileImageLoader());
@@ -1284,11 +1318,11 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
     * Put all tiles into a queue to load/create the tile image
     *
     * @param tile
-    * @param isFiFo
-    *           when <code>true</code> the waiting queue is working as FIFO, when <code>false</code>
-    *           it is a LIFO
+    * @param isMapTile
+    *           when <code>true</code> the tile is requested from a map and is loaded before tiles
+    *           which are put with <code>false</code>, e.g. offline tiles
     */
-   public void putTileInWaitingQueue(final Tile tile, final boolean isFiFo) {
+   public void putTileInWaitingQueue(final Tile tile, final boolean isMapTile) {
 
       // prevent to load it more than once
       if (tile.isLoading()) {
@@ -1297,7 +1331,7 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
 
       try {
 
-         putOneTileInWaitingQueue(tile, isFiFo);
+         putOneTileInWaitingQueue(tile, isMapTile);
 
          if (tile.isOfflimeImageAvailable() == false) {
 
@@ -1318,7 +1352,7 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
                }
 
                for (final Tile tileChild : tileChildren) {
-                  putOneTileInWaitingQueue(tileChild, isFiFo);
+                  putOneTileInWaitingQueue(tileChild, isMapTile);
                }
             }
          }
@@ -1340,7 +1374,7 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       {
          try {
 
-            _tileWaitingQueue.clear();
+            _tileScheduler.clear();
             _tileCache.stopLoadingTiles();
 
             if (keepTilesWithLoadingError == false) {
@@ -1364,7 +1398,7 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
     */
    public synchronized void resetOverlays() {
 
-      _tileWaitingQueue.clear();
+      _tileScheduler.clear();
       _tileCache.stopLoadingTiles();
 
       _tileCache.resetOverlays();
@@ -1379,7 +1413,7 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       {
          try {
 
-            _tileWaitingQueue.clear();
+            _tileScheduler.clear();
             _tileCache.stopLoadingTiles();
 
             _errorTiles.removeParentTiles();
@@ -1564,6 +1598,44 @@ public abstract class MP extends CommonMapProvider implements Cloneable, Compara
       initializeMapSize(tileSize);
    }
 
+   /**
+    * @param numLoadingThreads
+    *           Number of tiles which are loaded at the same time for this map provider, OSM do not
+    *           allow more than 2
+    */
+   public void setNumLoadingThreads(final int numLoadingThreads) {
+      _numLoadingThreads = Math.max(1, Math.min(numLoadingThreads, THREAD_POOL_SIZE));
+   }
+
+   /**
+    * Sets the tiles which are displayed in a map, waiting tiles which are not displayed anymore
+    * are not loaded.
+    *
+    * @param map
+    * @param zoom
+    * @param minTileX
+    * @param maxTileX
+    * @param minTileY
+    * @param maxTileY
+    */
+   public void setTileViewport(final Object map,
+                               final int zoom,
+                               final int minTileX,
+                               final int maxTileX,
+                               final int minTileY,
+                               final int maxTileY) {
+
+      final List<Tile> allCanceledTiles = _tileScheduler.setViewport(map, this, zoom, minTileX, maxTileX, minTileY, maxTileY);
+
+      for (final Tile tile : allCanceledTiles) {
+
+         // the tile is loaded again when it is displayed
+         tile.setLoading(false);
+
+         fireTileEvent(TileEventId.TILE_IS_CANCELED, tile);
+      }
+   }
+
    public void setUseOfflineImage(final boolean useOfflineImage) {
       _isOfflineImageUsed = useOfflineImage;
    }
@@ -18,6 +18,7 @@ package de.byteholder.geoclipse.mapprovider;
 import de.byteholder.geoclipse.GeoclipseExtensions;
 import de.byteholder.geoclipse.Messages;
 import de.byteholder.geoclipse.logging.GeoException;
+import de.byteholder.geoclipse.map.OfflineTileStore;
 import de.byteholder.geoclipse.map.TileImageCache;
 import de.byteholder.geoclipse.mapprovider.DialogMPCustom.PART_TYPE;
 import de.byteholder.geoclipse.preferences.IMappingPreferences;
@@ -159,6 +160,7 @@ public class MapProviderManager {
    private static final String ATTR_MP_LAST_USED_ZOOM_LEVEL        = "LastUsedZoomLevel";     //$NON-NLS-1$
    private static final String ATTR_MP_LAST_USED_LATITUDE          = "LastUsedLatitude";      //$NON-NLS-1$
    private static final String ATTR_MP_LAST_USED_LONGITUDE         = "LastUsedLongitude";     //$NON-NLS-1$
+   private static final String ATTR_MP_NUM_LOADING_THREADS         = "NumLoadingThreads";     //$NON-NLS-1$
    private static final String ATTR_MP_OFFLINE_FOLDER              = "OfflineFolder";         //$NON-NLS-1$
    private static final String ATTR_MP_ONLINE_MAP_URL              = "OnlineMapUrl";          //$NON-NLS-1$
    private static final String ATTR_MP_TYPE                        = "Type";                  //$NON-NLS-1$
@@ -435,6 +437,17 @@ public class MapProviderManager {
          isDeleted = true;
       }
 
+      // delete images in the pack files
+      final String osTileCacheBasePath = tileCacheBasePath.toOSString();
+
+      if (OfflineTileStore.deleteFolder(osTileCacheBasePath, tileCacheDir.getPath(), isDeletePartImages) > 0) {
+         isDeleted = true;
+      }
+
+      if (OfflineTileStore.deleteFolder(osTileCacheBasePath, wmsPath.getPath(), isDeletePartImages) > 0) {
+         isDeleted = true;
+      }
+
       return isDeleted;
    }
 
@@ -1708,6 +1721,9 @@ public class MapProviderManager {
          // User Agent
          final String userAgent = tagMapProvider.getString(ATTR_MP_USER_AGENT);
 
+         // number of tiles which are loaded at the same time
+         final Integer xmlNumLoadingThreads = tagMapProvider.getInteger(ATTR_MP_NUM_LOADING_THREADS);
+
          // zoom level
          final Integer xmlZoomMin = tagMapProvider.getInteger(ATTR_MP_ZOOM_LEVEL_MIN);
          final Integer xmlZoomMax = tagMapProvider.getInteger(ATTR_MP_ZOOM_LEVEL_MAX);
@@ -1830,6 +1846,9 @@ public class MapProviderManager {
             // User Agent
             mapProvider.setUserAgent(StringUtils.hasContent(userAgent) ? userAgent : UI.EMPTY_STRING);
 
+            // number of tiles which are loaded at the same time
+            mapProvider.setNumLoadingThreads(xmlNumLoadingThreads == null ? MP.DEFAULT_NUM_LOADING_THREADS : xmlNumLoadingThreads);
+
             // zoom level
             final int minZoom = xmlZoomMin == null ? 0 : xmlZoomMin;
             final int maxZoom = xmlZoomMax == null ? 17 : xmlZoomMax;
@@ -2579,6 +2598,9 @@ public class MapProviderManager {
       // User Agent
       tagMapProvider.putString(ATTR_MP_USER_AGENT, mp.getUserAgent());
 
+      // number of tiles which are loaded at the same time
+      tagMapProvider.putInteger(ATTR_MP_NUM_LOADING_THREADS, mp.getNumLoadingThreads());
+
       // zoom level
       tagMapProvider.putInteger(ATTR_MP_ZOOM_LEVEL_MIN, mp.getMinimumZoomLevel());
       tagMapProvider.putInteger(ATTR_MP_ZOOM_LEVEL_MAX, mp.getMaximumZoomLevel());
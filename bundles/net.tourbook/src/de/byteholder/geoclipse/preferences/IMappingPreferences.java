@@ -22,6 +22,7 @@ public interface IMappingPreferences {
    static final String        OFFLINE_CACHE_PATH                     = "OffLineCache_Path";                  //$NON-NLS-1$
    static final String        OFFLINE_CACHE_PERIOD_OF_VALIDITY       = "OffLineCache_PeriodOfValidity";      //$NON-NLS-1$
    static final String        OFFLINE_CACHE_MAX_SIZE                 = "OffLineCache_MaxCacheSize";          //$NON-NLS-1$
+   static final String        OFFLINE_CACHE_USE_PACK_FILE            = "OffLineCache_IsUsePackFile";         //$NON-NLS-1$
 
    static final String        SHOW_MAP_TILE_INFO                     = "MapTileInfo_IsShowInfo";             //$NON-NLS-1$
 
@@ -31,8 +31,10 @@ public class Messages extends NLS {
    public static String        pref_cache_location;
    public static String        pref_cache_message_box_text;
    public static String        pref_cache_message_box_title;
+   public static String        pref_cache_move_into_pack_files;
    public static String        pref_cache_use_default_location;
    public static String        pref_cache_use_offline;
+   public static String        pref_cache_use_pack_file;
 
    public static String        pref_error_invalid_path;
 
@@ -137,6 +139,8 @@ public class Messages extends NLS {
 
    public static String        prefPage_cache_dlg_confirmDelete_message;
    public static String        prefPage_cache_dlg_confirmDelete_title;
+   public static String        prefPage_cache_dlg_moveIntoPack_message;
+   public static String        prefPage_cache_dlg_moveIntoPack_title;
    public static String        prefPage_cache_group_offlineDirectory;
    public static String        prefPage_cache_group_offlineInfo;
    public static String        prefPage_cache_jobNameReadOfflineInfo;
@@ -150,6 +154,7 @@ public class Messages extends NLS {
    public static String        prefPage_cache_status_infoWasCanceled;
    public static String        prefPage_cache_status_noValue;
    public static String        prefPage_cache_status_retrieving;
+   public static String        prefPage_cache_task_moveIntoPack;
 
    public static String        Theme_Font_Logging;
    public static String        Theme_Font_Logging_PREVIEW_TEXT;
@@ -17,9 +17,11 @@ package de.byteholder.geoclipse.preferences;
 
 import static org.eclipse.swt.events.SelectionListener.widgetSelectedAdapter;
 
+import de.byteholder.geoclipse.map.OfflineTileStore;
 import de.byteholder.geoclipse.map.TileImageCache;
 
 import java.io.File;
+import java.lang.reflect.InvocationTargetException;
 import java.text.NumberFormat;
 
 import net.tourbook.application.TourbookPlugin;
@@ -34,6 +36,7 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
 import org.eclipse.jface.preference.BooleanFieldEditor;
@@ -78,6 +81,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
    private Group                _groupOffline;
    private BooleanFieldEditor   _boolEditorUseOffLineCache;
    private BooleanFieldEditor   _boolEditorUseDefaultLocation;
+   private BooleanFieldEditor   _boolEditorUsePackFile;
    private Composite            _containerPath;
 
    private DirectoryFieldEditor _dirEditorCachePath;
@@ -91,6 +95,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
    private Label                _lblInfoWaiting;
    private Label                _lblInfoWaitingValue;
    private Button               _btnDeleteOfflineCache;
+   private Button               _btnMoveIntoPackFiles;
 
    @Override
    protected Control createContents(final Composite parent) {
@@ -179,6 +184,16 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
             _dirEditorCachePath.load();
             _dirEditorCachePath.setPropertyChangeListener(propertyChangeEvent -> getOfflineInfo());
          }
+
+         // field: save images in pack files
+         _boolEditorUsePackFile = new BooleanFieldEditor(
+               IMappingPreferences.OFFLINE_CACHE_USE_PACK_FILE,
+               Messages.pref_cache_use_pack_file,
+               _groupOffline);
+         _boolEditorUsePackFile.setPreferenceStore(prefStore);
+         _boolEditorUsePackFile.setPage(this);
+         _boolEditorUsePackFile.load();
+         new Label(_groupOffline, SWT.NONE);
       }
 
       // !!! set layout after the editor was created because the editor sets the parents layout
@@ -224,6 +239,17 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
 
             deleteOfflineFiles();
          }));
+
+         // button: move image files into pack files, this is possible only when pack files are used
+         _btnMoveIntoPackFiles = new Button(group, SWT.PUSH);
+         _btnMoveIntoPackFiles.setText(Messages.pref_cache_move_into_pack_files);
+         GridDataFactory.swtDefaults().span(2, 1).applyTo(_btnMoveIntoPackFiles);
+         _btnMoveIntoPackFiles.addSelectionListener(widgetSelectedAdapter(selectionEvent -> {
+
+            stopOfflineInfoJob();
+
+            moveIntoPackFiles();
+         }));
       }
    }
 
@@ -268,6 +294,9 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
             _lblInfoWaitingValue.setText(Messages.prefPage_cache_status_deletingFiles);
             _lblInfoWaitingValue.pack(true);
 
+            // release the pack files before they are deleted
+            OfflineTileStore.closeAll();
+
             deleteDir(_tileCacheDir);
             getOfflineInfo();
          });
@@ -290,6 +319,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       final boolean useDefaultLocation = _boolEditorUseDefaultLocation.getBooleanValue();
 
       _boolEditorUseDefaultLocation.setEnabled(useOffLineCache, _groupOffline);
+      _boolEditorUsePackFile.setEnabled(useOffLineCache, _groupOffline);
 
       // enable cache path editor, set default path
       if (useOffLineCache) {
@@ -398,6 +428,32 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
    @Override
    public void init(final IWorkbench workbench) {}
 
+   private void moveIntoPackFiles() {
+
+      final String osTileCachePath = _tileCacheDir.getAbsolutePath();
+      final int[] numMovedFiles = { 0 };
+
+      try {
+
+         new ProgressMonitorDialog(getShell()).run(true, true, monitor -> {
+
+            monitor.beginTask(Messages.prefPage_cache_task_moveIntoPack, IProgressMonitor.UNKNOWN);
+
+            numMovedFiles[0] = OfflineTileStore.migrateFiles(osTileCachePath, monitor);
+         });
+
+      } catch (final InvocationTargetException | InterruptedException e) {
+         StatusUtil.log(e);
+      }
+
+      MessageDialog.openInformation(
+            getShell(),
+            Messages.prefPage_cache_dlg_moveIntoPack_title,
+            NLS.bind(Messages.prefPage_cache_dlg_moveIntoPack_message, numMovedFiles[0]));
+
+      getOfflineInfo();
+   }
+
    @Override
    public boolean okToLeave() {
 
@@ -425,6 +481,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
 
       _boolEditorUseOffLineCache.loadDefault();
       _boolEditorUseDefaultLocation.loadDefault();
+      _boolEditorUsePackFile.loadDefault();
 
       enableControls();
 
@@ -455,10 +512,14 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       if (prefStore.getString(IMappingPreferences.OFFLINE_CACHE_PATH).equals(_dirEditorCachePath.getStringValue()) == false) {
          isModified = true;
       }
+      if (prefStore.getBoolean(IMappingPreferences.OFFLINE_CACHE_USE_PACK_FILE) != _boolEditorUsePackFile.getBooleanValue()) {
+         isModified = true;
+      }
 
       _boolEditorUseOffLineCache.store();
       _boolEditorUseDefaultLocation.store();
       _dirEditorCachePath.store();
+      _boolEditorUsePackFile.store();
 
       if (isModified) {
 
@@ -503,6 +564,7 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
       _lblInfoSizeValue.pack(true);
 
       _btnDeleteOfflineCache.setEnabled(false);
+      _btnMoveIntoPackFiles.setEnabled(false);
    }
 
    /**
@@ -547,6 +609,9 @@ public class PrefPage_Map2_Cache extends PreferencePage implements IWorkbenchPre
          _lblInfoWaitingValue.pack(true);
 
          _btnDeleteOfflineCache.setEnabled(true);
+
+         // the pack setting is used after a restart
+         _btnMoveIntoPackFiles.setEnabled(isJobFinished && OfflineTileStore.isPackUsed());
       });
    }
 
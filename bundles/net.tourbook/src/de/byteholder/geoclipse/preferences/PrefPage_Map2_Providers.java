@@ -16,6 +16,7 @@
 package de.byteholder.geoclipse.preferences;
 
 import de.byteholder.geoclipse.map.MapUtils;
+import de.byteholder.geoclipse.map.OfflineTileStore;
 import de.byteholder.geoclipse.mapprovider.DialogMP;
 import de.byteholder.geoclipse.mapprovider.DialogMPCustom;
 import de.byteholder.geoclipse.mapprovider.DialogMPProfile;
@@ -2261,6 +2262,14 @@ public class PrefPage_Map2_Providers extends PreferencePage implements IWorkbenc
       return new MapProviderNavigator(nextMapProvider, isNextNext == 1);
    }
 
+   private void getPackInfo(final IPath basePath, final IPath folderPath) {
+
+      final long[] packInfo = OfflineTileStore.getPackInfo(basePath.toOSString(), folderPath.toOSString());
+
+      _offlineJobFileCounter += packInfo[0];
+      _offlineJobFileSize += packInfo[1];
+   }
+
    /**
     * @return Returns the previous map provider or <code>null</code> when there is no WMS map
     *         provider
@@ -3241,6 +3250,10 @@ public class PrefPage_Map2_Providers extends PreferencePage implements IWorkbenc
                final IPath basePath = tileCacheBasePath.addTrailingSeparator();
                boolean skipReading = false;
 
+               // images in the pack files
+               getPackInfo(basePath, basePath.append(tileOSFolder));
+               getPackInfo(basePath, basePath.append(MPProfile.WMS_CUSTOM_TILE_PATH).append(tileOSFolder));
+
                File tileCacheDir = basePath.append(tileOSFolder).toFile();
                if (tileCacheDir.exists()) {
                   getFilesInfo(tileCacheDir.listFiles());
@@ -15,6 +15,8 @@
  *******************************************************************************/
 package de.byteholder.geoclipse.tileinfo;
 
+import net.tourbook.common.UI;
+
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.MenuManager;
@@ -26,7 +28,10 @@ import org.eclipse.swt.widgets.Menu;
 import org.eclipse.ui.menus.WorkbenchWindowControlContribution;
 
 import de.byteholder.geoclipse.Messages;
+import de.byteholder.geoclipse.map.TileImageCache;
+import de.byteholder.geoclipse.map.TileScheduler;
 import de.byteholder.geoclipse.map.event.TileEventId;
+import de.byteholder.geoclipse.mapprovider.MP;
 
 public class TileInfoContribution extends WorkbenchWindowControlContribution {
 
@@ -81,6 +86,8 @@ public class TileInfoContribution extends WorkbenchWindowControlContribution {
 
 	void actionClearStatistics() {
 
+		TileImageCache.resetStatistics();
+
 		_statIsQueued = 0;
 
 		_statStartLoading = 0;
@@ -187,6 +194,10 @@ public class TileInfoContribution extends WorkbenchWindowControlContribution {
 
 			_statStartLoading++;
 
+		} else if (tileEventId == TileEventId.TILE_IS_CANCELED) {
+
+			_statIsQueued--;
+
 		} else if (tileEventId == TileEventId.TILE_END_LOADING) {
 
 			_statEndLoading++;
@@ -327,5 +338,19 @@ public class TileInfoContribution extends WorkbenchWindowControlContribution {
 					Integer.toString(_statStartSRTM % 100),
 					Integer.toString(_statErrorSRTM % 100));
 		}
+
+		final TileScheduler tileScheduler = MP.getTileScheduler();
+
+		_infoWidget.updateToolTip(UI.EMPTY_STRING
+
+				+ NLS.bind(Messages.TileInfo_Control_Tooltip_Scheduler, new Object[] {
+						tileScheduler.getQueueSize(),
+						tileScheduler.getLatencyPercentile(50),
+						tileScheduler.getLatencyPercentile(90),
+						tileScheduler.getLatencyPercentile(99) })
+
+				+ NLS.bind(Messages.TileInfo_Control_Tooltip_ImageCache,
+						TileImageCache.getHitRatio_Images(),
+						TileImageCache.getHitRatio_CompressedImages()));
 	}
 }
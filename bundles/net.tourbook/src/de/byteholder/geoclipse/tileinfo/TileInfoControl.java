@@ -28,17 +28,18 @@ public class TileInfoControl extends CLabel {
 
 	private static final int	CLABEL_INDENT	= 3;
 
+	private static final String	TOOLTIP			= Messages.TileInfo_Control_Tooltip_Title
+			+ Messages.TileInfo_Control_Tooltip_Line1
+			+ Messages.TileInfo_Control_Tooltip_Line2
+			+ Messages.TileInfo_Control_Tooltip_Line3
+			+ Messages.TileInfo_Control_Tooltip_Line4
+			+ Messages.TileInfo_Control_Tooltip_Line5;
+
 	public TileInfoControl(final Composite parent, final int style) {
 
 		super(parent, style);
 
-		setToolTipText(Messages.TileInfo_Control_Tooltip_Title
-				+ Messages.TileInfo_Control_Tooltip_Line1
-				+ Messages.TileInfo_Control_Tooltip_Line2
-				+ Messages.TileInfo_Control_Tooltip_Line3
-				+ Messages.TileInfo_Control_Tooltip_Line4//
-				+ Messages.TileInfo_Control_Tooltip_Line5//
-		);
+		setToolTipText(TOOLTIP);
 	}
 
 	@Override
@@ -103,4 +104,17 @@ public class TileInfoControl extends CLabel {
 				endSRTMData,
 				errorSRTM }));
 	}
+
+	/**
+	 * @param toolTipInfo
+	 *            Current state of the tile loading which is displayed after the default tooltip
+	 */
+	public void updateToolTip(final String toolTipInfo) {
+
+		if (isDisposed()) {
+			return;
+		}
+
+		setToolTipText(TOOLTIP + toolTipInfo);
+	}
 }
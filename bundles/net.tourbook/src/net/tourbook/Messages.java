@@ -1519,6 +1519,7 @@ public class Messages extends NLS {
    public static String        Log_SaveTags_Start_RemoveSelectedTags;
    public static String        Log_SaveTags_Start_ReplaceTags;
    public static String        Log_SetElevationFromSRTM_01;
+   public static String        Log_SetElevationFromSRTM_02;
    public static String        Log_SetMinMaxTemperature_NoSuccess;
    public static String        Log_SetMinMaxTemperature_Startup;
    public static String        Log_SetMinMaxTemperature_Success;
@@ -2159,6 +2160,7 @@ public class Messages extends NLS {
    public static String        Pref_Tour_Label_FailedUpdateInfo_BOLD;
    public static String        Pref_Tour_Label_TourCacheSize;
    public static String        Pref_Tour_Label_TourCacheSize_Info;
+   public static String        Pref_Tour_Label_TourCacheStatistics;
 
    public static String        Pref_TourActions_Check_CheckOnSelection;
    public static String        Pref_TourActions_Check_CheckOnSelection_Tooltip;
@@ -2275,9 +2277,6 @@ public class Messages extends NLS {
    public static String        Search_Manager_Log_SearchingToursWith;
    public static String        Search_Manager_Log_UpdatedFTIndex_Final;
    public static String        Search_Manager_Log_UpdatedFTIndex_Title;
-   public static String        Search_Manager_SubTask_ClosingFTIndexStore_Markers;
-   public static String        Search_Manager_SubTask_ClosingFTIndexStore_Tours;
-   public static String        Search_Manager_SubTask_ClosingFTIndexStore_Waypoints;
    public static String        Search_Manager_SubTask_LoadingTours;
    public static String        Search_Manager_SubTask_UpdatingIndex;
 
@@ -3402,8 +3401,10 @@ public class Messages extends NLS {
    public static String        Tour_Database_CannotConnectToDerbyServer_Title;
    public static String        tour_database_computeComputedValues_resultMessage;
    public static String        tour_database_computeComputedValues_resultTitle;
+   public static String        tour_database_computeComputeValues_Dialog_Resume_Message;
    public static String        tour_database_computeComputeValues_mainTask;
    public static String        tour_database_computeComputeValues_subTask;
+   public static String        tour_database_computeComputeValues_subTask_ToursPerSecond;
    public static String        Tour_Database_Dialog_ConfirmUpdate_Message;
    public static String        Tour_Database_Dialog_ConfirmUpdate_Title;
    public static String        Tour_Database_Dialog_ValidateFields_Message;
@@ -3424,6 +3425,8 @@ public class Messages extends NLS {
    public static String        Tour_Database_PostUpdate_047_Weather;
    public static String        Tour_Database_PostUpdate_050_ComparedTour;
    public static String        Tour_Database_PostUpdate_051_ComparedTour;
+   public static String        Tour_Database_PostUpdate_062_SerieData;
+   public static String        Tour_Database_PostUpdate_064_StatisticRollup;
    public static String        Tour_Database_PostUpdate;
    public static String        Tour_Database_TourSaveError;
    public static String        Tour_Database_Update;
@@ -15,6 +15,8 @@
  *******************************************************************************/
 package net.tourbook.application;
 
+import de.byteholder.geoclipse.map.OfflineTileStore;
+
 import java.io.File;
 import java.net.URISyntaxException;
 
@@ -121,6 +123,9 @@ public class ApplicationWorkbenchAdvisor extends WorkbenchAdvisor {
          });
       }
 
+      // save the index of the offline tile pack files
+      OfflineTileStore.closeAll();
+
       /**
        * Ensure the derby database is shut down to fix
        * https://github.com/mytourbook/mytourbook/pull/1091#issuecomment-1559732337
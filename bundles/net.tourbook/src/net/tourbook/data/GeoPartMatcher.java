@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.data;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Finds the position in a normalized tour where a normalized tour part has the smallest lat/lon
+ * difference.
+ * <p>
+ * The result is the same as when the part is compared with every position of the tour, but
+ * <ul>
+ * <li>a position is skipped when the lower bound of its difference cannot be better than the
+ * current best difference, the lower bound of one tour slice is its distance to the bounding box
+ * of the part,</li>
+ * <li>comparing a position is abandoned as soon as its running difference cannot be better than
+ * the current best difference,</li>
+ * <li>the position with the smallest lower bound is compared first, so that a good best
+ * difference is available early.</li>
+ * </ul>
+ */
+public final class GeoPartMatcher {
+
+   /**
+    * Number of slices which are summarized before the running difference is checked, a loop
+    * without branches can be vectorized by the JIT compiler
+    */
+   private static final int BLOCK_SIZE = 32;
+
+   /**
+    * @param normTourIndex
+    *           Normalized tour index with the smallest difference or -1 when the part could not be
+    *           compared
+    * @param minDiffValue
+    *           Difference at {@link #normTourIndex} or -1
+    * @param numComparedPositions
+    *           Number of positions which are compared and not skipped by their lower bound
+    */
+   public record GeoPartMatch(int normTourIndex, long minDiffValue, long numComparedPositions) {}
+
+   private GeoPartMatcher() {}
+
+   /**
+    * Compares the part with every position of the tour, this is slow and should only be used when
+    * all differences are needed.
+    *
+    * @param partLat
+    * @param partLon
+    * @param tourLat
+    * @param tourLon
+    *
+    * @return Returns the difference for every position in the tour, it is -1 when the part do not
+    *         fit into the tour at this position
+    */
+   public static float[] computeAllDiffs(final int[] partLat,
+                                         final int[] partLon,
+                                         final int[] tourLat,
+                                         final int[] tourLon) {
+
+      final int numPartSlices = partLat.length;
+      final int numTourSlices = tourLat.length;
+
+      final float[] allDiffs = new float[numTourSlices];
+
+      for (int tourIndex = 0; tourIndex < numTourSlices; tourIndex++) {
+
+         allDiffs[tourIndex] = numPartSlices == 0 || tourIndex + numPartSlices > numTourSlices
+
+               // part do not fit
+               ? -1
+
+               : getDiffValue(sumDiffs(partLat, partLon, tourLat, tourLon, tourIndex, Long.MAX_VALUE));
+      }
+
+      return allDiffs;
+   }
+
+   /**
+    * @param partLat
+    * @param partLon
+    * @param tourLat
+    * @param tourLon
+    * @param isCanceled
+    *
+    * @return Returns the position with the smallest difference or <code>null</code> when
+    *         canceled.
+    *         <p>
+    *         When several positions have the same smallest difference, then the first position is
+    *         returned.
+    */
+   public static GeoPartMatch findBestMatch(final int[] partLat,
+                                            final int[] partLon,
+                                            final int[] tourLat,
+                                            final int[] tourLon,
+                                            final BooleanSupplier isCanceled) {
+
+      final int numPartSlices = partLat.length;
+      final int numTourSlices = tourLat.length;
+      final int numPositions = numTourSlices - numPartSlices + 1;
+
+      if (numPartSlices == 0 || numPositions <= 0) {
+         return new GeoPartMatch(-1, -1, 0);
+      }
+
+      /*
+       * Get bounding box of the part
+       */
+      int partMinLat = Integer.MAX_VALUE;
+      int partMaxLat = Integer.MIN_VALUE;
+      int partMinLon = Integer.MAX_VALUE;
+      int partMaxLon = Integer.MIN_VALUE;
+
+      for (int partIndex = 0; partIndex < numPartSlices; partIndex++) {
+
+         final int lat = partLat[partIndex];
+         final int lon = partLon[partIndex];
+
+         partMinLat = Math.min(partMinLat, lat);
+         partMaxLat = Math.max(partMaxLat, lat);
+         partMinLon = Math.min(partMinLon, lon);
+         partMaxLon = Math.max(partMaxLon, lon);
+      }
+
+      /*
+       * Summarize the distance of every tour slice to the part bounding box, the lower bound of a
+       * position is then the difference of 2 sums
+       */
+      final long[] lowerBoundSums = new long[numTourSlices + 1];
+
+      for (int tourIndex = 0; tourIndex < numTourSlices; tourIndex++) {
+
+         final int lat = tourLat[tourIndex];
+         final int lon = tourLon[tourIndex];
+
+         final long latDistance = lat < partMinLat ? (long) partMinLat - lat : lat > partMaxLat ? (long) lat - partMaxLat : 0;
+         final long lonDistance = lon < partMinLon ? (long) partMinLon - lon : lon > partMaxLon ? (long) lon - partMaxLon : 0;
+
+         lowerBoundSums[tourIndex + 1] = lowerBoundSums[tourIndex] + latDistance + lonDistance;
+      }
+
+      /*
+       * Start with the position which has the smallest lower bound
+       */
+      int firstPosition = 0;
+      long firstLowerBound = Long.MAX_VALUE;
+
+      for (int tourIndex = 0; tourIndex < numPositions; tourIndex++) {
+
+         final long lowerBound = lowerBoundSums[tourIndex + numPartSlices] - lowerBoundSums[tourIndex];
+
+         if (lowerBound < firstLowerBound) {
+
+            firstLowerBound = lowerBound;
+            firstPosition = tourIndex;
+         }
+      }
+
+      long bestSum = Long.MAX_VALUE;
+      int bestIndex = -1;
+      long numComparedPositions = 0;
+
+      for (int positionIndex = -1; positionIndex < numPositions; positionIndex++) {
+
+         if (isCanceled.getAsBoolean()) {
+            return null;
+         }
+
+         final int tourIndex = positionIndex == -1 ? firstPosition : positionIndex;
+
+         if (positionIndex == firstPosition) {
+
+            // this position is already compared
+            continue;
+         }
+
+         /*
+          * A position with the same difference is only better when it is before the current best
+          * position
+          */
+         final long maxAcceptedSum = bestIndex == -1 || tourIndex < bestIndex
+               ? bestSum
+               : bestSum - 1;
+
+         final long lowerBound = lowerBoundSums[tourIndex + numPartSlices] - lowerBoundSums[tourIndex];
+
+         if (lowerBound > maxAcceptedSum) {
+            continue;
+         }
+
+         final long sum = sumDiffs(partLat, partLon, tourLat, tourLon, tourIndex, maxAcceptedSum);
+
+         numComparedPositions++;
+
+         /*
+          * A difference of 0 is ignored, this is the previous behavior where the difference of a
+          * position is initialized with -1 which is also the value for an invalid position
+          */
+         if (sum <= maxAcceptedSum && sum != 0) {
+
+            bestSum = sum;
+            bestIndex = tourIndex;
+         }
+      }
+
+      return bestIndex == -1
+
+            ? new GeoPartMatch(-1, -1, numComparedPositions)
+            : new GeoPartMatch(bestIndex, getDiffValue(bestSum), numComparedPositions);
+   }
+
+   /**
+    * The difference of a position is the sum of all lat/lon differences - 1, this is the previous
+    * behavior where the sum is initialized with -1
+    *
+    * @param sum
+    *
+    * @return
+    */
+   private static long getDiffValue(final long sum) {
+
+      return sum - 1;
+   }
+
+   /**
+    * @param partLat
+    * @param partLon
+    * @param tourLat
+    * @param tourLon
+    * @param tourIndex
+    * @param maxSum
+    *           Summarizing is abandoned when this value is exceeded
+    *
+    * @return Returns the sum of all lat/lon differences at the tour index or a value which is
+    *         larger than maxSum when summarizing was abandoned
+    */
+   private static long sumDiffs(final int[] partLat,
+                                final int[] partLon,
+                                final int[] tourLat,
+                                final int[] tourLon,
+                                final int tourIndex,
+                                final long maxSum) {
+
+      final int numPartSlices = partLat.length;
+
+      long sum = 0;
+      int partIndex = 0;
+
+      while (partIndex < numPartSlices) {
+
+         final int blockEnd = Math.min(partIndex + BLOCK_SIZE, numPartSlices);
+
+         long blockSum = 0;
+
+         for (; partIndex < blockEnd; partIndex++) {
+
+            final int compareIndex = tourIndex + partIndex;
+
+            blockSum += Math.abs(partLat[partIndex] - tourLat[compareIndex])
+                  + Math.abs(partLon[partIndex] - tourLon[compareIndex]);
+         }
+
+         sum += blockSum;
+
+         if (sum > maxSum) {
+            return sum;
+         }
+      }
+
+      return sum;
+   }
+}
@@ -84,6 +84,11 @@ public class NormalizedGeoData {
     */
    public int                originalLastIndex;
 
+   /**
+    * {@link TourData#getDateTimeModifiedStamp()} of the tour from which the data are normalized
+    */
+   public long               tourModifiedStamp;
+
    @Override
    public String toString() {
 
@@ -100,6 +105,7 @@ public class NormalizedGeoData {
 
             + "originalFirstIndex   = " + originalFirstIndex + NL //                //$NON-NLS-1$
             + "originalLastIndex    = " + originalLastIndex + NL //                 //$NON-NLS-1$
+            + "tourModifiedStamp    = " + tourModifiedStamp + NL //                 //$NON-NLS-1$
 
 //          + "normalizedLat        = " + Arrays.toString(normalizedLat) + NL //    //$NON-NLS-1$
 //          + "normalizedLon        = " + Arrays.toString(normalizedLon) + NL //    //$NON-NLS-1$
@@ -15,8 +15,12 @@
  *******************************************************************************/
 package net.tourbook.data;
 
+import java.io.IOException;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -26,6 +30,9 @@ import net.tourbook.common.UI;
 /**
  * All time serie data from a device are stored in the database with this class, when data are not
  * available the value is set to <code>null</code>
+ * <p>
+ * Since db version 62, the data series are serialized in the compact columnar
+ * {@link SerieDataCodec} format with the {@link SerieDataBlob} proxy.
  */
 public class SerieData implements Serializable {
 
@@ -222,6 +229,41 @@ public class SerieData implements Serializable {
    public short[]              radar_PassingSpeed_Absolute;
    public short[]              radar_PassingSpeed_Relative;
 
+   /**
+    * Contains the encoded data when only a part of the data series are decoded, it is
+    * <code>null</code> when all data series are decoded.
+    */
+   private transient byte[]         _encodedData;
+
+   /**
+    * Data series which are already decoded or <code>null</code> when all data series are decoded
+    */
+   private transient Set<SerieKind> _allDecodedSerieKinds;
+
+   /**
+    * @param encodedData
+    * @param allSerieKinds
+    *
+    * @return Returns a {@link SerieData} where only the requested data series are decoded, the
+    *         other data series can be decoded later with {@link #decodeDataSeries(Set)}
+    *
+    * @throws IOException
+    */
+   static SerieData createPartially(final byte[] encodedData, final Set<SerieKind> allSerieKinds) throws IOException {
+
+      final SerieData serieData = new SerieData();
+
+      serieData._encodedData = encodedData;
+      serieData._allDecodedSerieKinds = EnumSet.noneOf(SerieKind.class);
+
+      final Set<SerieKind> allRequestedSerieKinds = EnumSet.of(SerieKind.TIME);
+      allRequestedSerieKinds.addAll(allSerieKinds);
+
+      serieData.decodeDataSeries(allRequestedSerieKinds);
+
+      return serieData;
+   }
+
    private String dataSerieValues(final boolean[] dataSerie) {
 
       if (dataSerie == null || dataSerie.length == 0) {
@@ -329,6 +371,59 @@ public class SerieData implements Serializable {
       return formattedText.substring(0, Math.min(formattedText.length(), VALUE_TEXT_MAX_LENGTH));
    }
 
+   /**
+    * Decodes the requested data series which are not yet decoded
+    *
+    * @param allSerieKinds
+    *
+    * @return Returns the data series which are decoded with this call, it is empty when all
+    *         requested data series were already decoded
+    *
+    * @throws IOException
+    */
+   synchronized Set<SerieKind> decodeDataSeries(final Set<SerieKind> allSerieKinds) throws IOException {
+
+      final Set<SerieKind> allNewSerieKinds = EnumSet.noneOf(SerieKind.class);
+
+      if (_encodedData == null) {
+
+         // all data series are already decoded
+         return allNewSerieKinds;
+      }
+
+      allNewSerieKinds.addAll(allSerieKinds);
+      allNewSerieKinds.removeAll(_allDecodedSerieKinds);
+
+      if (allNewSerieKinds.isEmpty()) {
+         return allNewSerieKinds;
+      }
+
+      SerieDataCodec.decode(_encodedData, this, allNewSerieKinds);
+
+      _allDecodedSerieKinds.addAll(allNewSerieKinds);
+
+      if (_allDecodedSerieKinds.size() == SerieKind.ALL.size()) {
+
+         // all data series are decoded -> the encoded data are not needed any more
+         _encodedData = null;
+         _allDecodedSerieKinds = null;
+      }
+
+      return allNewSerieKinds;
+   }
+
+   /**
+    * @return Returns the data series which are decoded
+    */
+   public synchronized Set<SerieKind> getDecodedSerieKinds() {
+
+      if (_allDecodedSerieKinds == null) {
+         return SerieKind.ALL;
+      }
+
+      return Collections.unmodifiableSet(EnumSet.copyOf(_allDecodedSerieKinds));
+   }
+
    public Set<Long> getTourPhotosWithPositionedGeo() {
 
       final Set<Long> all = new HashSet<>();
@@ -413,4 +508,24 @@ public class SerieData implements Serializable {
 
 // SET_FORMATTING_ON
 
+   /**
+    * Replace this object with the columnar format when it is serialized, e.g. when it is saved in
+    * the database.
+    * <p>
+    * When only a part of the data series are decoded, then the original encoded data are written,
+    * the decoded values of a partially decoded {@link SerieData} are never modified.
+    *
+    * @return
+    *
+    * @throws ObjectStreamException
+    */
+   private synchronized Object writeReplace() throws ObjectStreamException {
+
+      if (_encodedData != null) {
+         return new SerieDataBlob(_encodedData);
+      }
+
+      return new SerieDataBlob(SerieDataCodec.encode(this));
+   }
+
 }
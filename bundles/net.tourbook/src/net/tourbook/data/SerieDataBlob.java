@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.data;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.util.Set;
+
+/**
+ * Serialization proxy for {@link SerieData}, it is written instead of the {@link SerieData} with
+ * {@link SerieData#writeReplace()} and contains the data series in the {@link SerieDataCodec}
+ * format.
+ * <p>
+ * Old blobs, which were saved before db version 62, contain a default serialized
+ * {@link SerieData} and are still read with the Java serialization.
+ */
+public class SerieDataBlob implements Externalizable {
+
+   private static final long                        serialVersionUID = 1L;
+
+   /**
+    * Data series which are decoded in the current thread, when <code>null</code> then all data
+    * series are decoded
+    */
+   private static final ThreadLocal<Set<SerieKind>> _decodeProjection = new ThreadLocal<>();
+
+   private byte[]                                    _encodedData;
+
+   /**
+    * Is necessary for {@link Externalizable}
+    */
+   public SerieDataBlob() {}
+
+   SerieDataBlob(final byte[] encodedData) {
+
+      _encodedData = encodedData;
+   }
+
+   @Override
+   public void readExternal(final ObjectInput in) throws IOException {
+
+      final int numBytes = in.readInt();
+
+      _encodedData = new byte[numBytes];
+
+      in.readFully(_encodedData);
+   }
+
+   /**
+    * @return Returns the decoded {@link SerieData}
+    *
+    * @throws ObjectStreamException
+    */
+   private Object readResolve() throws ObjectStreamException {
+
+      try {
+
+         final Set<SerieKind> allSerieKinds = _decodeProjection.get();
+
+         if (allSerieKinds == null) {
+            return SerieDataCodec.decode(_encodedData);
+         }
+
+         return SerieData.createPartially(_encodedData, allSerieKinds);
+
+      } catch (final IOException e) {
+
+         final InvalidObjectException invalidObjectException = new InvalidObjectException(e.getMessage());
+         invalidObjectException.initCause(e);
+
+         throw invalidObjectException;
+      }
+   }
+
+   /**
+    * Set the data series which are decoded when a {@link SerieData} is deserialized in the current
+    * thread, the other data series are decoded when they are requested with
+    * {@link TourData#loadDataSeries(Set)}.
+    *
+    * @param allSerieKinds
+    *           When <code>null</code> then all data series are decoded, this MUST be done after
+    *           the projection is not needed any more.
+    */
+   public static void setDecodeProjection(final Set<SerieKind> allSerieKinds) {
+
+      if (allSerieKinds == null) {
+         _decodeProjection.remove();
+      } else {
+         _decodeProjection.set(allSerieKinds);
+      }
+   }
+
+   @Override
+   public void writeExternal(final ObjectOutput out) throws IOException {
+
+      out.writeInt(_encodedData.length);
+      out.write(_encodedData);
+   }
+}
@@ -0,0 +1,1126 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact columnar binary format for {@link SerieData}.
+ * <p>
+ * Format
+ *
+ * <pre>
+ * int      magic number
+ * byte     format version
+ * varint   number of columns
+ *
+ * for each column which is not null
+ *
+ *    byte     column id
+ *    byte     encoding
+ *    byte     compression
+ *    varint   number of values
+ *    varint   number of encoded bytes (before compression)
+ *    varint   number of stored bytes
+ *    byte[]   stored bytes
+ * </pre>
+ *
+ * Integer based values are delta encoded and zigzag + varint packed, float/double values are
+ * encoded with their integer value when all values are integral, otherwise the delta of their raw
+ * bits is packed. Each column can be compressed separately with {@link Deflater} when it reduces
+ * the size. Columns which are not known by the reader are skipped, so new columns can be added
+ * without a new format version.
+ */
+public final class SerieDataCodec {
+
+   private static final int  MAGIC_NUMBER                  = 0x4D54_5344;   // MTSD
+   private static final byte FORMAT_VERSION                = 1;
+
+   /**
+    * Columns which are smaller are not compressed
+    */
+   private static final int  MIN_COMPRESSION_LENGTH        = 128;
+
+// SET_FORMATTING_OFF
+
+   private static final byte ENCODING_INT_DELTA            = 1;
+   private static final byte ENCODING_FLOAT_INTEGRAL_DELTA = 2;
+   private static final byte ENCODING_FLOAT_BITS_DELTA     = 3;
+   private static final byte ENCODING_SHORT_DELTA          = 4;
+   private static final byte ENCODING_LONG_DELTA           = 5;
+   private static final byte ENCODING_DOUBLE_BITS_DELTA    = 6;
+   private static final byte ENCODING_BOOLEAN_BITS         = 7;
+   private static final byte ENCODING_JAVA_SERIALIZED      = 8;
+
+   private static final byte COMPRESSION_NONE              = 0;
+   private static final byte COMPRESSION_DEFLATE           = 1;
+
+   /*
+    * Column id's, they MUST NEVER be changed because they are persisted
+    */
+   static final byte COLUMN_TIME                           = 1;
+
+   static final byte COLUMN_ALTITUDE_20                    = 2;
+   static final byte COLUMN_CADENCE_20                     = 3;
+   static final byte COLUMN_DISTANCE_20                    = 4;
+   static final byte COLUMN_POWER_20                       = 5;
+   static final byte COLUMN_PULSE_20                       = 6;
+   static final byte COLUMN_SPEED_20                       = 7;
+   static final byte COLUMN_TEMPERATURE_20                 = 8;
+
+   static final byte COLUMN_ALTITUDE_LEGACY                = 9;
+   static final byte COLUMN_CADENCE_LEGACY                 = 10;
+   static final byte COLUMN_DISTANCE_LEGACY                = 11;
+   static final byte COLUMN_POWER_LEGACY                   = 12;
+   static final byte COLUMN_PULSE_LEGACY                   = 13;
+   static final byte COLUMN_SPEED_LEGACY                   = 14;
+   static final byte COLUMN_TEMPERATURE_LEGACY             = 15;
+
+   static final byte COLUMN_GEARS                          = 16;
+
+   static final byte COLUMN_LATITUDE_LEGACY                = 17;
+   static final byte COLUMN_LONGITUDE_LEGACY               = 18;
+   static final byte COLUMN_LATITUDE_E6                    = 19;
+   static final byte COLUMN_LONGITUDE_E6                   = 20;
+
+   static final byte COLUMN_PULSE_TIMES                    = 21;
+   static final byte COLUMN_PULSE_TIME_TIME_INDEX          = 22;
+
+   static final byte COLUMN_RUN_DYN_STANCE_TIME            = 23;
+   static final byte COLUMN_RUN_DYN_STANCE_TIME_BALANCE    = 24;
+   static final byte COLUMN_RUN_DYN_STEP_LENGTH            = 25;
+   static final byte COLUMN_RUN_DYN_VERTICAL_OSCILLATION   = 26;
+   static final byte COLUMN_RUN_DYN_VERTICAL_RATIO         = 27;
+
+   static final byte COLUMN_SWIM_LENGTH_TYPE               = 28;
+   static final byte COLUMN_SWIM_CADENCE                   = 29;
+   static final byte COLUMN_SWIM_STROKES                   = 30;
+   static final byte COLUMN_SWIM_STROKE_STYLE              = 31;
+   static final byte COLUMN_SWIM_TIME                      = 32;
+
+   static final byte COLUMN_VISIBLE_POINTS_SURFING         = 33;
+
+   static final byte COLUMN_PAUSED_TIME_START              = 34;
+   static final byte COLUMN_PAUSED_TIME_END                = 35;
+   static final byte COLUMN_PAUSED_TIME_DATA               = 36;
+
+   static final byte COLUMN_DEVICE_MARKER                  = 37;
+
+   static final byte COLUMN_CUSTOM_TRACKS                  = 38;
+   static final byte COLUMN_CUSTOM_TRACKS_STATISTICS       = 39;
+   static final byte COLUMN_CUSTOM_TRACKS_DEFINITION       = 40;
+
+   static final byte COLUMN_BATTERY_TIME                   = 41;
+   static final byte COLUMN_BATTERY_PERCENTAGE             = 42;
+
+   static final byte COLUMN_TOUR_PHOTOS_WITH_POSITIONED_GEO = 43;
+
+   static final byte COLUMN_RADAR_PASSED_VEHICLES          = 44;
+   static final byte COLUMN_RADAR_DISTANCE_TO_VEHICLE      = 45;
+   static final byte COLUMN_RADAR_PASSING_SPEED_ABSOLUTE   = 46;
+   static final byte COLUMN_RADAR_PASSING_SPEED_RELATIVE   = 47;
+
+// SET_FORMATTING_ON
+
+   /**
+    * Growable byte buffer with varint support
+    */
+   private static final class ByteSink {
+
+      private byte[] __bytes;
+      private int    __size;
+
+      private ByteSink(final int initialCapacity) {
+
+         __bytes = new byte[Math.max(16, initialCapacity)];
+      }
+
+      private void ensureCapacity(final int numAdditionalBytes) {
+
+         final int requiredCapacity = __size + numAdditionalBytes;
+
+         if (requiredCapacity > __bytes.length) {
+            __bytes = Arrays.copyOf(__bytes, Math.max(requiredCapacity, __bytes.length * 2));
+         }
+      }
+
+      private void reset() {
+         __size = 0;
+      }
+
+      private byte[] toByteArray() {
+         return Arrays.copyOf(__bytes, __size);
+      }
+
+      private void write(final byte[] bytes, final int offset, final int length) {
+
+         ensureCapacity(length);
+
+         System.arraycopy(bytes, offset, __bytes, __size, length);
+         __size += length;
+      }
+
+      private void writeByte(final int value) {
+
+         ensureCapacity(1);
+
+         __bytes[__size++] = (byte) value;
+      }
+
+      private void writeInt(final int value) {
+
+         ensureCapacity(4);
+
+         __bytes[__size++] = (byte) (value >>> 24);
+         __bytes[__size++] = (byte) (value >>> 16);
+         __bytes[__size++] = (byte) (value >>> 8);
+         __bytes[__size++] = (byte) value;
+      }
+
+      private void writeVarInt(int value) {
+
+         ensureCapacity(5);
+
+         while ((value & ~0x7f) != 0) {
+            __bytes[__size++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+         }
+
+         __bytes[__size++] = (byte) value;
+      }
+
+      private void writeVarLong(long value) {
+
+         ensureCapacity(10);
+
+         while ((value & ~0x7fL) != 0) {
+            __bytes[__size++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+         }
+
+         __bytes[__size++] = (byte) value;
+      }
+   }
+
+   /**
+    * Reader for the encoded bytes
+    */
+   private static final class ByteSource {
+
+      private final byte[] __bytes;
+      private int          __position;
+      private final int    __limit;
+
+      private ByteSource(final byte[] bytes, final int offset, final int length) {
+
+         __bytes = bytes;
+         __position = offset;
+         __limit = offset + length;
+      }
+
+      private void checkAvailable(final int numBytes) throws IOException {
+
+         if (numBytes < 0 || __position + numBytes > __limit) {
+            throw new IOException("SerieData column is truncated"); //$NON-NLS-1$
+         }
+      }
+
+      private byte readByte() throws IOException {
+
+         checkAvailable(1);
+
+         return __bytes[__position++];
+      }
+
+      private int readInt() throws IOException {
+
+         checkAvailable(4);
+
+         return ((__bytes[__position++] & 0xff) << 24)
+               | ((__bytes[__position++] & 0xff) << 16)
+               | ((__bytes[__position++] & 0xff) << 8)
+               | (__bytes[__position++] & 0xff);
+      }
+
+      private int readVarInt() throws IOException {
+
+         int value = 0;
+
+         for (int shift = 0; shift < 35; shift += 7) {
+
+            final byte oneByte = readByte();
+
+            value |= (oneByte & 0x7f) << shift;
+
+            if ((oneByte & 0x80) == 0) {
+               return value;
+            }
+         }
+
+         throw new IOException("Malformed varint in SerieData"); //$NON-NLS-1$
+      }
+
+      private long readVarLong() throws IOException {
+
+         long value = 0;
+
+         for (int shift = 0; shift < 70; shift += 7) {
+
+            final byte oneByte = readByte();
+
+            value |= (long) (oneByte & 0x7f) << shift;
+
+            if ((oneByte & 0x80) == 0) {
+               return value;
+            }
+         }
+
+         throw new IOException("Malformed varlong in SerieData"); //$NON-NLS-1$
+      }
+   }
+
+   /**
+    * Writes the columns into one byte array
+    */
+   private static final class ColumnWriter {
+
+      private final ByteSink __header  = new ByteSink(64);
+      private final ByteSink __columns = new ByteSink(4096);
+      private final ByteSink __column  = new ByteSink(4096);
+
+      private final Deflater __deflater;
+
+      private int            __numColumns;
+
+      private ColumnWriter() {
+
+         __deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+      }
+
+      private void addColumn(final byte columnId, final byte encoding, final int numValues) {
+
+         final byte[] encodedBytes = __column.__bytes;
+         final int numEncodedBytes = __column.__size;
+
+         byte compression = COMPRESSION_NONE;
+         byte[] storedBytes = encodedBytes;
+         int numStoredBytes = numEncodedBytes;
+
+         if (numEncodedBytes >= MIN_COMPRESSION_LENGTH) {
+
+            final byte[] compressedBytes = deflate(encodedBytes, numEncodedBytes);
+
+            // use compression only when it is worth it
+            if (compressedBytes.length < numEncodedBytes * 9 / 10) {
+
+               compression = COMPRESSION_DEFLATE;
+               storedBytes = compressedBytes;
+               numStoredBytes = compressedBytes.length;
+            }
+         }
+
+         __columns.writeByte(columnId);
+         __columns.writeByte(encoding);
+         __columns.writeByte(compression);
+         __columns.writeVarInt(numValues);
+         __columns.writeVarInt(numEncodedBytes);
+         __columns.writeVarInt(numStoredBytes);
+         __columns.write(storedBytes, 0, numStoredBytes);
+
+         __column.reset();
+         __numColumns++;
+      }
+
+      private byte[] deflate(final byte[] bytes, final int length) {
+
+         __deflater.reset();
+         __deflater.setInput(bytes, 0, length);
+         __deflater.finish();
+
+         final ByteSink compressed = new ByteSink(length / 2);
+         final byte[] buffer = new byte[8192];
+
+         while (__deflater.finished() == false) {
+
+            final int numCompressed = __deflater.deflate(buffer);
+            compressed.write(buffer, 0, numCompressed);
+         }
+
+         return compressed.toByteArray();
+      }
+
+      private void end() {
+         __deflater.end();
+      }
+
+      private byte[] toByteArray() {
+
+         __header.writeInt(MAGIC_NUMBER);
+         __header.writeByte(FORMAT_VERSION);
+         __header.writeVarInt(__numColumns);
+
+         __header.write(__columns.__bytes, 0, __columns.__size);
+
+         return __header.toByteArray();
+      }
+
+      private void writeBooleans(final byte columnId, final boolean[] values) {
+
+         if (values == null) {
+            return;
+         }
+
+         int packedByte = 0;
+
+         for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+
+            if (values[valueIndex]) {
+               packedByte |= 1 << (valueIndex & 7);
+            }
+
+            if ((valueIndex & 7) == 7) {
+               __column.writeByte(packedByte);
+               packedByte = 0;
+            }
+         }
+
+         if ((values.length & 7) != 0) {
+            __column.writeByte(packedByte);
+         }
+
+         addColumn(columnId, ENCODING_BOOLEAN_BITS, values.length);
+      }
+
+      private void writeDoubles(final byte columnId, final double[] values) {
+
+         if (values == null) {
+            return;
+         }
+
+         long previousBits = 0;
+
+         for (final double value : values) {
+
+            final long bits = Double.doubleToRawLongBits(value);
+
+            __column.writeVarLong(zigZag(bits - previousBits));
+            previousBits = bits;
+         }
+
+         addColumn(columnId, ENCODING_DOUBLE_BITS_DELTA, values.length);
+      }
+
+      private void writeFloats(final byte columnId, final float[] values) {
+
+         if (values == null) {
+            return;
+         }
+
+         if (isIntegral(values)) {
+
+            int previousValue = 0;
+
+            for (final float value : values) {
+
+               final int intValue = (int) value;
+
+               __column.writeVarInt(zigZag(intValue - previousValue));
+               previousValue = intValue;
+            }
+
+            addColumn(columnId, ENCODING_FLOAT_INTEGRAL_DELTA, values.length);
+
+         } else {
+
+            int previousBits = 0;
+
+            for (final float value : values) {
+
+               final int bits = Float.floatToRawIntBits(value);
+
+               __column.writeVarInt(zigZag(bits - previousBits));
+               previousBits = bits;
+            }
+
+            addColumn(columnId, ENCODING_FLOAT_BITS_DELTA, values.length);
+         }
+      }
+
+      private void writeInts(final byte columnId, final int[] values) {
+
+         if (values == null) {
+            return;
+         }
+
+         int previousValue = 0;
+
+         for (final int value : values) {
+
+            __column.writeVarInt(zigZag(value - previousValue));
+            previousValue = value;
+         }
+
+         addColumn(columnId, ENCODING_INT_DELTA, values.length);
+      }
+
+      private void writeLongs(final byte columnId, final long[] values) {
+
+         if (values == null) {
+            return;
+         }
+
+         long previousValue = 0;
+
+         for (final long value : values) {
+
+            __column.writeVarLong(zigZag(value - previousValue));
+            previousValue = value;
+         }
+
+         addColumn(columnId, ENCODING_LONG_DELTA, values.length);
+      }
+
+      private void writeObject(final byte columnId, final Serializable value) {
+
+         if (value == null) {
+            return;
+         }
+
+         final ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+
+         try (ObjectOutputStream objectStream = new ObjectOutputStream(byteStream)) {
+
+            objectStream.writeObject(value);
+
+         } catch (final IOException e) {
+
+            // this should not happen with a byte array stream
+            throw new IllegalStateException(e);
+         }
+
+         final byte[] serializedBytes = byteStream.toByteArray();
+         __column.write(serializedBytes, 0, serializedBytes.length);
+
+         addColumn(columnId, ENCODING_JAVA_SERIALIZED, 1);
+      }
+
+      private void writeShorts(final byte columnId, final short[] values) {
+
+         if (values == null) {
+            return;
+         }
+
+         int previousValue = 0;
+
+         for (final short value : values) {
+
+            __column.writeVarInt(zigZag(value - previousValue));
+            previousValue = value;
+         }
+
+         addColumn(columnId, ENCODING_SHORT_DELTA, values.length);
+      }
+   }
+
+   private SerieDataCodec() {}
+
+   private static void checkEncoding(final byte encoding, final byte expectedEncoding) throws IOException {
+
+      if (encoding != expectedEncoding) {
+         throw new IOException(String.format("Unexpected SerieData encoding %d, expected %d", encoding, expectedEncoding)); //$NON-NLS-1$
+      }
+   }
+
+   /**
+    * @param encodedData
+    *
+    * @return Returns a {@link SerieData} from data which were created with {@link #encode}
+    *
+    * @throws IOException
+    */
+   public static SerieData decode(final byte[] encodedData) throws IOException {
+
+      final SerieData serieData = new SerieData();
+
+      decode(encodedData, serieData, null);
+
+      return serieData;
+   }
+
+   /**
+    * Decodes only the columns of the requested data series, the other columns are skipped without
+    * decompressing them.
+    *
+    * @param encodedData
+    *           Data which were created with {@link #encode}
+    * @param serieData
+    *           Decoded values are set into this {@link SerieData}
+    * @param allSerieKinds
+    *           Data series which are decoded, when <code>null</code> then all data series are
+    *           decoded
+    *
+    * @throws IOException
+    */
+   static void decode(final byte[] encodedData,
+                      final SerieData serieData,
+                      final Set<SerieKind> allSerieKinds) throws IOException {
+
+      final ByteSource source = new ByteSource(encodedData, 0, encodedData.length);
+
+      if (source.readInt() != MAGIC_NUMBER) {
+         throw new IOException("Data are not encoded with the SerieData codec"); //$NON-NLS-1$
+      }
+
+      final byte formatVersion = source.readByte();
+      if (formatVersion > FORMAT_VERSION) {
+         throw new IOException(String.format("SerieData format version %d is not supported", formatVersion)); //$NON-NLS-1$
+      }
+
+      final int numColumns = source.readVarInt();
+
+      final Inflater inflater = new Inflater();
+
+      try {
+
+         for (int columnIndex = 0; columnIndex < numColumns; columnIndex++) {
+
+            final byte columnId = source.readByte();
+            final byte encoding = source.readByte();
+            final byte compression = source.readByte();
+            final int numValues = source.readVarInt();
+            final int numEncodedBytes = source.readVarInt();
+            final int numStoredBytes = source.readVarInt();
+
+            source.checkAvailable(numStoredBytes);
+
+            final int columnOffset = source.__position;
+
+            // skip column in the main source
+            source.__position += numStoredBytes;
+
+            if (allSerieKinds != null) {
+
+               final SerieKind serieKind = getSerieKind(columnId);
+
+               // columns from a newer app version have no kind, they are ignored when decoded
+               if (serieKind != null && allSerieKinds.contains(serieKind) == false) {
+                  continue;
+               }
+            }
+
+            final ByteSource columnSource;
+
+            if (compression == COMPRESSION_DEFLATE) {
+
+               final byte[] inflatedBytes = new byte[numEncodedBytes];
+
+               inflater.reset();
+               inflater.setInput(encodedData, columnOffset, numStoredBytes);
+
+               int numInflated = 0;
+               while (numInflated < numEncodedBytes) {
+
+                  final int numBytes = inflater.inflate(inflatedBytes, numInflated, numEncodedBytes - numInflated);
+
+                  if (numBytes == 0 && (inflater.finished() || inflater.needsInput())) {
+                     break;
+                  }
+
+                  numInflated += numBytes;
+               }
+
+               if (numInflated != numEncodedBytes) {
+                  throw new IOException("SerieData column cannot be decompressed"); //$NON-NLS-1$
+               }
+
+               columnSource = new ByteSource(inflatedBytes, 0, numEncodedBytes);
+
+            } else {
+
+               columnSource = new ByteSource(encodedData, columnOffset, numStoredBytes);
+            }
+
+            decodeColumn(serieData, columnId, columnSource, encoding, numValues);
+         }
+
+      } catch (final DataFormatException | ClassNotFoundException e) {
+
+         throw new IOException(e);
+
+      } finally {
+
+         inflater.end();
+      }
+   }
+
+   /**
+    * @param serieData
+    * @param columnId
+    * @param source
+    * @param encoding
+    * @param numValues
+    *
+    * @throws IOException
+    * @throws ClassNotFoundException
+    */
+   private static void decodeColumn(final SerieData serieData,
+                                    final byte columnId,
+                                    final ByteSource source,
+                                    final byte encoding,
+                                    final int numValues) throws IOException, ClassNotFoundException {
+
+// SET_FORMATTING_OFF
+
+      switch (columnId) {
+
+      case COLUMN_TIME:                            serieData.timeSerie                    = readInts(source, encoding, numValues);     break;
+
+      case COLUMN_ALTITUDE_20:                     serieData.altitudeSerie20              = readFloats(source, encoding, numValues);   break;
+      case COLUMN_CADENCE_20:                      serieData.cadenceSerie20               = readFloats(source, encoding, numValues);   break;
+      case COLUMN_DISTANCE_20:                     serieData.distanceSerie20              = readFloats(source, encoding, numValues);   break;
+      case COLUMN_POWER_20:                        serieData.powerSerie20                 = readFloats(source, encoding, numValues);   break;
+      case COLUMN_PULSE_20:                        serieData.pulseSerie20                 = readFloats(source, encoding, numValues);   break;
+      case COLUMN_SPEED_20:                        serieData.speedSerie20                 = readFloats(source, encoding, numValues);   break;
+      case COLUMN_TEMPERATURE_20:                  serieData.temperatureSerie20           = readFloats(source, encoding, numValues);   break;
+
+      case COLUMN_ALTITUDE_LEGACY:                 serieData.altitudeSerie                = readInts(source, encoding, numValues);     break;
+      case COLUMN_CADENCE_LEGACY:                  serieData.cadenceSerie                 = readInts(source, encoding, numValues);     break;
+      case COLUMN_DISTANCE_LEGACY:                 serieData.distanceSerie                = readInts(source, encoding, numValues);     break;
+      case COLUMN_POWER_LEGACY:                    serieData.powerSerie                   = readInts(source, encoding, numValues);     break;
+      case COLUMN_PULSE_LEGACY:                    serieData.pulseSerie                   = readInts(source, encoding, numValues);     break;
+      case COLUMN_SPEED_LEGACY:                    serieData.speedSerie                   = readInts(source, encoding, numValues);     break;
+      case COLUMN_TEMPERATURE_LEGACY:              serieData.temperatureSerie             = readInts(source, encoding, numValues);     break;
+
+      case COLUMN_GEARS:                           serieData.gears                        = readLongs(source, encoding, numValues);    break;
+
+      case COLUMN_LATITUDE_LEGACY:                 serieData.latitude                     = readDoubles(source, encoding, numValues);  break;
+      case COLUMN_LONGITUDE_LEGACY:                serieData.longitude                    = readDoubles(source, encoding, numValues);  break;
+      case COLUMN_LATITUDE_E6:                     serieData.latitudeE6                   = readInts(source, encoding, numValues);     break;
+      case COLUMN_LONGITUDE_E6:                    serieData.longitudeE6                  = readInts(source, encoding, numValues);     break;
+
+      case COLUMN_PULSE_TIMES:                     serieData.pulseTimes                   = readInts(source, encoding, numValues);     break;
+      case COLUMN_PULSE_TIME_TIME_INDEX:           serieData.pulseTime_TimeIndex          = readInts(source, encoding, numValues);     break;
+
+      case COLUMN_RUN_DYN_STANCE_TIME:             serieData.runDyn_StanceTime            = readShorts(source, encoding, numValues);   break;
+      case COLUMN_RUN_DYN_STANCE_TIME_BALANCE:     serieData.runDyn_StanceTimeBalance     = readShorts(source, encoding, numValues);   break;
+      case COLUMN_RUN_DYN_STEP_LENGTH:             serieData.runDyn_StepLength            = readShorts(source, encoding, numValues);   break;
+      case COLUMN_RUN_DYN_VERTICAL_OSCILLATION:    serieData.runDyn_VerticalOscillation   = readShorts(source, encoding, numValues);   break;
+      case COLUMN_RUN_DYN_VERTICAL_RATIO:          serieData.runDyn_VerticalRatio         = readShorts(source, encoding, numValues);   break;
+
+      case COLUMN_SWIM_LENGTH_TYPE:                serieData.swim_LengthType              = readShorts(source, encoding, numValues);   break;
+      case COLUMN_SWIM_CADENCE:                    serieData.swim_Cadence                 = readShorts(source, encoding, numValues);   break;
+      case COLUMN_SWIM_STROKES:                    serieData.swim_Strokes                 = readShorts(source, encoding, numValues);   break;
+      case COLUMN_SWIM_STROKE_STYLE:               serieData.swim_StrokeStyle             = readShorts(source, encoding, numValues);   break;
+      case COLUMN_SWIM_TIME:                       serieData.swim_Time                    = readInts(source, encoding, numValues);     break;
+
+      case COLUMN_VISIBLE_POINTS_SURFING:          serieData.visiblePoints_Surfing        = readBooleans(source, encoding, numValues); break;
+
+      case COLUMN_PAUSED_TIME_START:               serieData.pausedTime_Start             = readLongs(source, encoding, numValues);    break;
+      case COLUMN_PAUSED_TIME_END:                 serieData.pausedTime_End               = readLongs(source, encoding, numValues);    break;
+      case COLUMN_PAUSED_TIME_DATA:                serieData.pausedTime_Data              = readLongs(source, encoding, numValues);    break;
+
+      case COLUMN_DEVICE_MARKER:                   serieData.deviceMarker                 = readInts(source, encoding, numValues);     break;
+
+      case COLUMN_CUSTOM_TRACKS:                   serieData.customTracks                 = readObject(source, encoding);              break;
+      case COLUMN_CUSTOM_TRACKS_STATISTICS:        serieData.customTracksStatistics       = readObject(source, encoding);              break;
+      case COLUMN_CUSTOM_TRACKS_DEFINITION:        serieData.customTracksDefinition       = readObject(source, encoding);              break;
+
+      case COLUMN_BATTERY_TIME:                    serieData.battery_Time                 = readInts(source, encoding, numValues);     break;
+      case COLUMN_BATTERY_PERCENTAGE:              serieData.battery_Percentage           = readShorts(source, encoding, numValues);   break;
+
+      case COLUMN_TOUR_PHOTOS_WITH_POSITIONED_GEO: serieData.tourPhotosWithPositionedGeo  = readLongs(source, encoding, numValues);    break;
+
+      case COLUMN_RADAR_PASSED_VEHICLES:           serieData.radar_PassedVehicles         = readInts(source, encoding, numValues);     break;
+      case COLUMN_RADAR_DISTANCE_TO_VEHICLE:       serieData.radar_DistanceToVehicle      = readShorts(source, encoding, numValues);   break;
+      case COLUMN_RADAR_PASSING_SPEED_ABSOLUTE:    serieData.radar_PassingSpeed_Absolute  = readShorts(source, encoding, numValues);   break;
+      case COLUMN_RADAR_PASSING_SPEED_RELATIVE:    serieData.radar_PassingSpeed_Relative  = readShorts(source, encoding, numValues);   break;
+
+      default:
+         // a column from a newer app version -> ignore it
+         break;
+      }
+
+// SET_FORMATTING_ON
+   }
+
+   /**
+    * @param serieData
+    *
+    * @return Returns the serie data in the columnar format
+    */
+   public static byte[] encode(final SerieData serieData) {
+
+      final ColumnWriter writer = new ColumnWriter();
+
+      try {
+
+// SET_FORMATTING_OFF
+
+         writer.writeInts(       COLUMN_TIME,                              serieData.timeSerie);
+
+         writer.writeFloats(     COLUMN_ALTITUDE_20,                       serieData.altitudeSerie20);
+         writer.writeFloats(     COLUMN_CADENCE_20,                        serieData.cadenceSerie20);
+         writer.writeFloats(     COLUMN_DISTANCE_20,                       serieData.distanceSerie20);
+         writer.writeFloats(     COLUMN_POWER_20,                          serieData.powerSerie20);
+         writer.writeFloats(     COLUMN_PULSE_20,                          serieData.pulseSerie20);
+         writer.writeFloats(     COLUMN_SPEED_20,                          serieData.speedSerie20);
+         writer.writeFloats(     COLUMN_TEMPERATURE_20,                    serieData.temperatureSerie20);
+
+         writer.writeInts(       COLUMN_ALTITUDE_LEGACY,                   serieData.altitudeSerie);
+         writer.writeInts(       COLUMN_CADENCE_LEGACY,                    serieData.cadenceSerie);
+         writer.writeInts(       COLUMN_DISTANCE_LEGACY,                   serieData.distanceSerie);
+         writer.writeInts(       COLUMN_POWER_LEGACY,                      serieData.powerSerie);
+         writer.writeInts(       COLUMN_PULSE_LEGACY,                      serieData.pulseSerie);
+         writer.writeInts(       COLUMN_SPEED_LEGACY,                      serieData.speedSerie);
+         writer.writeInts(       COLUMN_TEMPERATURE_LEGACY,                serieData.temperatureSerie);
+
+         writer.writeLongs(      COLUMN_GEARS,                             serieData.gears);
+
+         writer.writeDoubles(    COLUMN_LATITUDE_LEGACY,                   serieData.latitude);
+         writer.writeDoubles(    COLUMN_LONGITUDE_LEGACY,                  serieData.longitude);
+         writer.writeInts(       COLUMN_LATITUDE_E6,                       serieData.latitudeE6);
+         writer.writeInts(       COLUMN_LONGITUDE_E6,                      serieData.longitudeE6);
+
+         writer.writeInts(       COLUMN_PULSE_TIMES,                       serieData.pulseTimes);
+         writer.writeInts(       COLUMN_PULSE_TIME_TIME_INDEX,             serieData.pulseTime_TimeIndex);
+
+         writer.writeShorts(     COLUMN_RUN_DYN_STANCE_TIME,               serieData.runDyn_StanceTime);
+         writer.writeShorts(     COLUMN_RUN_DYN_STANCE_TIME_BALANCE,       serieData.runDyn_StanceTimeBalance);
+         writer.writeShorts(     COLUMN_RUN_DYN_STEP_LENGTH,               serieData.runDyn_StepLength);
+         writer.writeShorts(     COLUMN_RUN_DYN_VERTICAL_OSCILLATION,      serieData.runDyn_VerticalOscillation);
+         writer.writeShorts(     COLUMN_RUN_DYN_VERTICAL_RATIO,            serieData.runDyn_VerticalRatio);
+
+         writer.writeShorts(     COLUMN_SWIM_LENGTH_TYPE,                  serieData.swim_LengthType);
+         writer.writeShorts(     COLUMN_SWIM_CADENCE,                      serieData.swim_Cadence);
+         writer.writeShorts(     COLUMN_SWIM_STROKES,                      serieData.swim_Strokes);
+         writer.writeShorts(     COLUMN_SWIM_STROKE_STYLE,                 serieData.swim_StrokeStyle);
+         writer.writeInts(       COLUMN_SWIM_TIME,                         serieData.swim_Time);
+
+         writer.writeBooleans(   COLUMN_VISIBLE_POINTS_SURFING,            serieData.visiblePoints_Surfing);
+
+         writer.writeLongs(      COLUMN_PAUSED_TIME_START,                 serieData.pausedTime_Start);
+         writer.writeLongs(      COLUMN_PAUSED_TIME_END,                   serieData.pausedTime_End);
+         writer.writeLongs(      COLUMN_PAUSED_TIME_DATA,                  serieData.pausedTime_Data);
+
+         writer.writeInts(       COLUMN_DEVICE_MARKER,                     serieData.deviceMarker);
+
+         writer.writeObject(     COLUMN_CUSTOM_TRACKS,                     serieData.customTracks);
+         writer.writeObject(     COLUMN_CUSTOM_TRACKS_STATISTICS,          serieData.customTracksStatistics);
+         writer.writeObject(     COLUMN_CUSTOM_TRACKS_DEFINITION,          serieData.customTracksDefinition);
+
+         writer.writeInts(       COLUMN_BATTERY_TIME,                      serieData.battery_Time);
+         writer.writeShorts(     COLUMN_BATTERY_PERCENTAGE,                serieData.battery_Percentage);
+
+         writer.writeLongs(      COLUMN_TOUR_PHOTOS_WITH_POSITIONED_GEO,   serieData.tourPhotosWithPositionedGeo);
+
+         writer.writeInts(       COLUMN_RADAR_PASSED_VEHICLES,             serieData.radar_PassedVehicles);
+         writer.writeShorts(     COLUMN_RADAR_DISTANCE_TO_VEHICLE,         serieData.radar_DistanceToVehicle);
+         writer.writeShorts(     COLUMN_RADAR_PASSING_SPEED_ABSOLUTE,      serieData.radar_PassingSpeed_Absolute);
+         writer.writeShorts(     COLUMN_RADAR_PASSING_SPEED_RELATIVE,      serieData.radar_PassingSpeed_Relative);
+
+// SET_FORMATTING_ON
+
+         return writer.toByteArray();
+
+      } finally {
+
+         writer.end();
+      }
+   }
+
+   /**
+    * @param columnId
+    *
+    * @return Returns the kind of the data serie which is contained in the column or
+    *         <code>null</code> when the column is unknown
+    */
+   static SerieKind getSerieKind(final byte columnId) {
+
+// SET_FORMATTING_OFF
+
+      switch (columnId) {
+
+      case COLUMN_TIME:
+      case COLUMN_DEVICE_MARKER:                   return SerieKind.TIME;
+
+      case COLUMN_ALTITUDE_20:
+      case COLUMN_ALTITUDE_LEGACY:                 return SerieKind.ALTITUDE;
+
+      case COLUMN_CADENCE_20:
+      case COLUMN_CADENCE_LEGACY:                  return SerieKind.CADENCE;
+
+      case COLUMN_DISTANCE_20:
+      case COLUMN_DISTANCE_LEGACY:                 return SerieKind.DISTANCE;
+
+      case COLUMN_POWER_20:
+      case COLUMN_POWER_LEGACY:                    return SerieKind.POWER;
+
+      case COLUMN_PULSE_20:
+      case COLUMN_PULSE_LEGACY:                    return SerieKind.PULSE;
+
+      case COLUMN_SPEED_20:
+      case COLUMN_SPEED_LEGACY:                    return SerieKind.SPEED;
+
+      case COLUMN_TEMPERATURE_20:
+      case COLUMN_TEMPERATURE_LEGACY:              return SerieKind.TEMPERATURE;
+
+      case COLUMN_GEARS:                           return SerieKind.GEARS;
+
+      case COLUMN_LATITUDE_LEGACY:
+      case COLUMN_LONGITUDE_LEGACY:
+      case COLUMN_LATITUDE_E6:
+      case COLUMN_LONGITUDE_E6:                    return SerieKind.LATITUDE_LONGITUDE;
+
+      case COLUMN_PULSE_TIMES:
+      case COLUMN_PULSE_TIME_TIME_INDEX:           return SerieKind.PULSE_TIMES;
+
+      case COLUMN_RUN_DYN_STANCE_TIME:
+      case COLUMN_RUN_DYN_STANCE_TIME_BALANCE:
+      case COLUMN_RUN_DYN_STEP_LENGTH:
+      case COLUMN_RUN_DYN_VERTICAL_OSCILLATION:
+      case COLUMN_RUN_DYN_VERTICAL_RATIO:          return SerieKind.RUNNING_DYNAMICS;
+
+      case COLUMN_SWIM_LENGTH_TYPE:
+      case COLUMN_SWIM_CADENCE:
+      case COLUMN_SWIM_STROKES:
+      case COLUMN_SWIM_STROKE_STYLE:
+      case COLUMN_SWIM_TIME:                       return SerieKind.SWIMMING;
+
+      case COLUMN_VISIBLE_POINTS_SURFING:          return SerieKind.SURFING;
+
+      case COLUMN_PAUSED_TIME_START:
+      case COLUMN_PAUSED_TIME_END:
+      case COLUMN_PAUSED_TIME_DATA:                return SerieKind.PAUSES;
+
+      case COLUMN_CUSTOM_TRACKS:
+      case COLUMN_CUSTOM_TRACKS_STATISTICS:
+      case COLUMN_CUSTOM_TRACKS_DEFINITION:        return SerieKind.CUSTOM_TRACKS;
+
+      case COLUMN_BATTERY_TIME:
+      case COLUMN_BATTERY_PERCENTAGE:              return SerieKind.BATTERY;
+
+      case COLUMN_TOUR_PHOTOS_WITH_POSITIONED_GEO: return SerieKind.PHOTOS;
+
+      case COLUMN_RADAR_PASSED_VEHICLES:
+      case COLUMN_RADAR_DISTANCE_TO_VEHICLE:
+      case COLUMN_RADAR_PASSING_SPEED_ABSOLUTE:
+      case COLUMN_RADAR_PASSING_SPEED_RELATIVE:    return SerieKind.RADAR;
+
+      default:
+         return null;
+      }
+
+// SET_FORMATTING_ON
+   }
+
+   /**
+    * @param data
+    *
+    * @return Returns <code>true</code> when the data are encoded with this codec
+    */
+   public static boolean isEncoded(final byte[] data) {
+
+      return data != null
+            && data.length >= 5
+            && ((data[0] & 0xff) << 24 | (data[1] & 0xff) << 16 | (data[2] & 0xff) << 8 | (data[3] & 0xff)) == MAGIC_NUMBER;
+   }
+
+   /**
+    * @param values
+    *
+    * @return Returns <code>true</code> when all values can be converted into an int without loss
+    */
+   private static boolean isIntegral(final float[] values) {
+
+      for (final float value : values) {
+
+         if (value != (int) value
+
+               // -0.0 would be converted into 0.0
+               || Float.floatToRawIntBits(value) == 0x8000_0000
+
+               // the delta of two values must fit into an int
+               || value > (1 << 29) || value < -(1 << 29)) {
+
+            return false;
+         }
+      }
+
+      return true;
+   }
+
+   private static boolean[] readBooleans(final ByteSource source, final byte encoding, final int numValues) throws IOException {
+
+      checkEncoding(encoding, ENCODING_BOOLEAN_BITS);
+
+      final boolean[] values = new boolean[numValues];
+
+      int packedByte = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         if ((valueIndex & 7) == 0) {
+            packedByte = source.readByte();
+         }
+
+         values[valueIndex] = (packedByte & (1 << (valueIndex & 7))) != 0;
+      }
+
+      return values;
+   }
+
+   private static double[] readDoubles(final ByteSource source, final byte encoding, final int numValues) throws IOException {
+
+      checkEncoding(encoding, ENCODING_DOUBLE_BITS_DELTA);
+
+      final double[] values = new double[numValues];
+
+      long bits = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         bits += unZigZag(source.readVarLong());
+         values[valueIndex] = Double.longBitsToDouble(bits);
+      }
+
+      return values;
+   }
+
+   private static float[] readFloats(final ByteSource source, final byte encoding, final int numValues) throws IOException {
+
+      final float[] values = new float[numValues];
+
+      if (encoding == ENCODING_FLOAT_INTEGRAL_DELTA) {
+
+         int value = 0;
+
+         for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+            value += unZigZag(source.readVarInt());
+            values[valueIndex] = value;
+         }
+
+      } else {
+
+         checkEncoding(encoding, ENCODING_FLOAT_BITS_DELTA);
+
+         int bits = 0;
+
+         for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+            bits += unZigZag(source.readVarInt());
+            values[valueIndex] = Float.intBitsToFloat(bits);
+         }
+      }
+
+      return values;
+   }
+
+   private static int[] readInts(final ByteSource source, final byte encoding, final int numValues) throws IOException {
+
+      checkEncoding(encoding, ENCODING_INT_DELTA);
+
+      final int[] values = new int[numValues];
+
+      int value = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         value += unZigZag(source.readVarInt());
+         values[valueIndex] = value;
+      }
+
+      return values;
+   }
+
+   private static long[] readLongs(final ByteSource source, final byte encoding, final int numValues) throws IOException {
+
+      checkEncoding(encoding, ENCODING_LONG_DELTA);
+
+      final long[] values = new long[numValues];
+
+      long value = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         value += unZigZag(source.readVarLong());
+         values[valueIndex] = value;
+      }
+
+      return values;
+   }
+
+   @SuppressWarnings("unchecked")
+   private static <T extends HashMap<?, ?>> T readObject(final ByteSource source, final byte encoding) throws IOException,
+         ClassNotFoundException {
+
+      checkEncoding(encoding, ENCODING_JAVA_SERIALIZED);
+
+      final int numBytes = source.__limit - source.__position;
+
+      try (ObjectInputStream objectStream = new ObjectInputStream(
+            new ByteArrayInputStream(source.__bytes, source.__position, numBytes))) {
+
+         source.__position = source.__limit;
+
+         return (T) objectStream.readObject();
+      }
+   }
+
+   private static short[] readShorts(final ByteSource source, final byte encoding, final int numValues) throws IOException {
+
+      checkEncoding(encoding, ENCODING_SHORT_DELTA);
+
+      final short[] values = new short[numValues];
+
+      int value = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         value += unZigZag(source.readVarInt());
+         values[valueIndex] = (short) value;
+      }
+
+      return values;
+   }
+
+   private static int unZigZag(final int value) {
+      return (value >>> 1) ^ -(value & 1);
+   }
+
+   private static long unZigZag(final long value) {
+      return (value >>> 1) ^ -(value & 1);
+   }
+
+   private static int zigZag(final int value) {
+      return (value << 1) ^ (value >> 31);
+   }
+
+   private static long zigZag(final long value) {
+      return (value << 1) ^ (value >> 63);
+   }
+}
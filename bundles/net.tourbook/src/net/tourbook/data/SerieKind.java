@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.data;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Groups of data series in {@link SerieData} which can be decoded independently, see
+ * {@link TourData#loadDataSeries(Set)}.
+ * <p>
+ * {@link #TIME} is always decoded because the other data series depend on it.
+ */
+public enum SerieKind {
+
+   TIME,
+
+   ALTITUDE,
+   CADENCE,
+   DISTANCE,
+   POWER,
+   PULSE,
+   PULSE_TIMES,
+   SPEED,
+   TEMPERATURE,
+
+   GEARS,
+   LATITUDE_LONGITUDE,
+   PAUSES,
+
+   RUNNING_DYNAMICS,
+   SWIMMING,
+   SURFING,
+
+   BATTERY,
+   CUSTOM_TRACKS,
+   PHOTOS,
+   RADAR;
+
+   /**
+    * All data series
+    */
+   public static final Set<SerieKind> ALL = Collections.unmodifiableSet(EnumSet.allOf(SerieKind.class));
+
+   /**
+    * Data series which are needed for all tour colors in the map, e.g. to enable the tour color
+    * actions or to compute the legend values
+    */
+   public static final Set<SerieKind> TOUR_COLOR = Collections.unmodifiableSet(EnumSet.of(
+
+         ALTITUDE,
+         DISTANCE,
+         POWER,
+         PULSE,
+         RUNNING_DYNAMICS,
+         SPEED));
+
+   /**
+    * Data series which are needed to paint a tour in the map, the data series for the tour color
+    * are loaded when they are painted
+    */
+   public static final Set<SerieKind> MAP = Collections.unmodifiableSet(EnumSet.of(
+
+         TIME,
+         DISTANCE,
+         LATITUDE_LONGITUDE,
+         PAUSES,
+         PHOTOS));
+}
@@ -202,6 +202,51 @@ public class TimeData implements Serializable {
       super();
    }
 
+   /**
+    * Sets all values to "not set", this is used when the same time data are reused for all time
+    * slices which are appended to a {@link TimeDataBuffer}
+    */
+   public void reset() {
+
+      id = 0;
+      time = 0;
+      absoluteTime = Long.MIN_VALUE;
+      relativeTime = 0;
+
+      temperature = Float.MIN_VALUE;
+      cadence = Float.MIN_VALUE;
+      gear = 0;
+      pulse = Float.MIN_VALUE;
+      altitude = Float.MIN_VALUE;
+      absoluteAltitude = Float.MIN_VALUE;
+      distance = Float.MIN_VALUE;
+      gpxDistance = Float.MIN_VALUE;
+      absoluteDistance = Float.MIN_VALUE;
+      power = Float.MIN_VALUE;
+      powerDataSource = null;
+      speed = Float.MIN_VALUE;
+
+      latitude = Double.MIN_VALUE;
+      longitude = Double.MIN_VALUE;
+
+      marker = 0;
+      markerLabel = null;
+      pulseTime = null;
+
+      runDyn_StanceTime = Short.MIN_VALUE;
+      runDyn_StanceTimeBalance = Short.MIN_VALUE;
+      runDyn_StepLength = Short.MIN_VALUE;
+      runDyn_VerticalOscillation = Short.MIN_VALUE;
+      runDyn_VerticalRatio = Short.MIN_VALUE;
+
+      radar_PassedVehicles = Integer.MIN_VALUE;
+      radar_DistanceToVehicle = Short.MIN_VALUE;
+      radar_PassingSpeed_Relative = Short.MIN_VALUE;
+      radar_PassingSpeed_Absolute = Short.MIN_VALUE;
+
+      customTracks = null;
+   }
+
    @Override
    public String toString() {
       return "TimeData [" //$NON-NLS-1$
@@ -0,0 +1,818 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import net.tourbook.common.util.Util;
+
+/**
+ * Contains the values of all time slices in columns, each value has it's own primitive array.
+ * <p>
+ * Device readers can fill one reused {@link TimeData} and append it to this buffer, so that not
+ * one object for each time slice is kept until the tour is created.
+ * {@link TourData#createTimeSeries(TimeDataBuffer, boolean, net.tourbook.importdata.ImportState_Process)}
+ * is using the columns as data series.
+ * <p>
+ * A column is created when the first valid value is appended, values which are not set are
+ * {@link Long#MIN_VALUE}, {@link Float#MIN_VALUE}, {@link Double#MIN_VALUE}, ... like in
+ * {@link TimeData}.
+ */
+public class TimeDataBuffer {
+
+   private static final int DEFAULT_CAPACITY = 1024;
+
+   /*
+    * Columns, a column is null when a value is not yet set, the column size is the buffer capacity
+    */
+   long[]                    absoluteTime;
+   float[]                   absoluteAltitude;
+   float[]                   absoluteDistance;
+   float[]                   cadence;
+   long[]                    gear;
+   double[]                  latitude;
+   double[]                  longitude;
+   int[]                     marker;
+   String[]                  markerLabel;
+   float[]                   power;
+   float[]                   pulse;
+   int[][]                   pulseTime;
+   float[]                   speed;
+   float[]                   temperature;
+
+   short[]                   runDyn_StanceTime;
+   short[]                   runDyn_StanceTimeBalance;
+   short[]                   runDyn_StepLength;
+   short[]                   runDyn_VerticalOscillation;
+   short[]                   runDyn_VerticalRatio;
+
+   int[]                     radar_PassedVehicles;
+   short[]                   radar_DistanceToVehicle;
+   short[]                   radar_PassingSpeed_Absolute;
+   short[]                   radar_PassingSpeed_Relative;
+
+   /**
+    * Key: Custom track ID<br>
+    * Value: Custom track values, values which are not set are 0
+    */
+   Map<String, float[]>      customTracks;
+
+   private final int         _initialCapacity;
+
+   private int               _capacity;
+   private int               _size;
+
+   public TimeDataBuffer() {
+
+      this(DEFAULT_CAPACITY);
+   }
+
+   /**
+    * @param initialCapacity
+    *           Number of time slices which can be appended before the columns are enlarged, when
+    *           the number of time slices is known, then the columns are used without copying them
+    */
+   public TimeDataBuffer(final int initialCapacity) {
+
+      _initialCapacity = Math.max(1, initialCapacity);
+      _capacity = _initialCapacity;
+   }
+
+   private static double[] createColumn(final double[] column, final int capacity, final double defaultValue) {
+
+      if (column != null) {
+         return column;
+      }
+
+      final double[] newColumn = new double[capacity];
+      Arrays.fill(newColumn, defaultValue);
+
+      return newColumn;
+   }
+
+   private static float[] createColumn(final float[] column, final int capacity, final float defaultValue) {
+
+      if (column != null) {
+         return column;
+      }
+
+      final float[] newColumn = new float[capacity];
+      Arrays.fill(newColumn, defaultValue);
+
+      return newColumn;
+   }
+
+   private static int[] createColumn(final int[] column, final int capacity, final int defaultValue) {
+
+      if (column != null) {
+         return column;
+      }
+
+      final int[] newColumn = new int[capacity];
+      Arrays.fill(newColumn, defaultValue);
+
+      return newColumn;
+   }
+
+   private static long[] createColumn(final long[] column, final int capacity, final long defaultValue) {
+
+      if (column != null) {
+         return column;
+      }
+
+      final long[] newColumn = new long[capacity];
+      Arrays.fill(newColumn, defaultValue);
+
+      return newColumn;
+   }
+
+   private static short[] createColumn(final short[] column, final int capacity, final short defaultValue) {
+
+      if (column != null) {
+         return column;
+      }
+
+      final short[] newColumn = new short[capacity];
+      Arrays.fill(newColumn, defaultValue);
+
+      return newColumn;
+   }
+
+   private static double[] resize(final double[] column, final int oldSize, final int newSize, final double defaultValue) {
+
+      if (column == null || column.length == newSize) {
+         return column;
+      }
+
+      final double[] newColumn = Arrays.copyOf(column, newSize);
+
+      if (newSize > oldSize) {
+         Arrays.fill(newColumn, oldSize, newSize, defaultValue);
+      }
+
+      return newColumn;
+   }
+
+   private static float[] resize(final float[] column, final int oldSize, final int newSize, final float defaultValue) {
+
+      if (column == null || column.length == newSize) {
+         return column;
+      }
+
+      final float[] newColumn = Arrays.copyOf(column, newSize);
+
+      if (newSize > oldSize) {
+         Arrays.fill(newColumn, oldSize, newSize, defaultValue);
+      }
+
+      return newColumn;
+   }
+
+   private static int[] resize(final int[] column, final int oldSize, final int newSize, final int defaultValue) {
+
+      if (column == null || column.length == newSize) {
+         return column;
+      }
+
+      final int[] newColumn = Arrays.copyOf(column, newSize);
+
+      if (newSize > oldSize) {
+         Arrays.fill(newColumn, oldSize, newSize, defaultValue);
+      }
+
+      return newColumn;
+   }
+
+   private static long[] resize(final long[] column, final int oldSize, final int newSize, final long defaultValue) {
+
+      if (column == null || column.length == newSize) {
+         return column;
+      }
+
+      final long[] newColumn = Arrays.copyOf(column, newSize);
+
+      if (newSize > oldSize) {
+         Arrays.fill(newColumn, oldSize, newSize, defaultValue);
+      }
+
+      return newColumn;
+   }
+
+   private static <T> T[] resize(final T[] column, final int newSize) {
+
+      if (column == null || column.length == newSize) {
+         return column;
+      }
+
+      return Arrays.copyOf(column, newSize);
+   }
+
+   private static short[] resize(final short[] column, final int oldSize, final int newSize, final short defaultValue) {
+
+      if (column == null || column.length == newSize) {
+         return column;
+      }
+
+      final short[] newColumn = Arrays.copyOf(column, newSize);
+
+      if (newSize > oldSize) {
+         Arrays.fill(newColumn, oldSize, newSize, defaultValue);
+      }
+
+      return newColumn;
+   }
+
+   private static void sort(final double[] column, final Integer[] sortedIndices) {
+
+      if (column == null) {
+         return;
+      }
+
+      final double[] unsortedColumn = column.clone();
+
+      for (int serieIndex = 0; serieIndex < sortedIndices.length; serieIndex++) {
+         column[serieIndex] = unsortedColumn[sortedIndices[serieIndex]];
+      }
+   }
+
+   private static void sort(final float[] column, final Integer[] sortedIndices) {
+
+      if (column == null) {
+         return;
+      }
+
+      final float[] unsortedColumn = column.clone();
+
+      for (int serieIndex = 0; serieIndex < sortedIndices.length; serieIndex++) {
+         column[serieIndex] = unsortedColumn[sortedIndices[serieIndex]];
+      }
+   }
+
+   private static void sort(final int[] column, final Integer[] sortedIndices) {
+
+      if (column == null) {
+         return;
+      }
+
+      final int[] unsortedColumn = column.clone();
+
+      for (int serieIndex = 0; serieIndex < sortedIndices.length; serieIndex++) {
+         column[serieIndex] = unsortedColumn[sortedIndices[serieIndex]];
+      }
+   }
+
+   private static void sort(final long[] column, final Integer[] sortedIndices) {
+
+      if (column == null) {
+         return;
+      }
+
+      final long[] unsortedColumn = column.clone();
+
+      for (int serieIndex = 0; serieIndex < sortedIndices.length; serieIndex++) {
+         column[serieIndex] = unsortedColumn[sortedIndices[serieIndex]];
+      }
+   }
+
+   private static void sort(final Object[] column, final Integer[] sortedIndices) {
+
+      if (column == null) {
+         return;
+      }
+
+      final Object[] unsortedColumn = column.clone();
+
+      for (int serieIndex = 0; serieIndex < sortedIndices.length; serieIndex++) {
+         column[serieIndex] = unsortedColumn[sortedIndices[serieIndex]];
+      }
+   }
+
+   private static void sort(final short[] column, final Integer[] sortedIndices) {
+
+      if (column == null) {
+         return;
+      }
+
+      final short[] unsortedColumn = column.clone();
+
+      for (int serieIndex = 0; serieIndex < sortedIndices.length; serieIndex++) {
+         column[serieIndex] = unsortedColumn[sortedIndices[serieIndex]];
+      }
+   }
+
+   /**
+    * Appends the values of a time slice, the time slice is not referenced and can be reused for
+    * the next time slice.
+    *
+    * @param timeData
+    *
+    * @return Returns the index of the appended time slice
+    */
+   public int add(final TimeData timeData) {
+
+      if (_size == _capacity) {
+         resizeColumns(_capacity + Math.max(1, _capacity >> 1));
+      }
+
+      final int index = _size++;
+
+// SET_FORMATTING_OFF
+
+      if (timeData.absoluteTime != Long.MIN_VALUE)                   { setAbsoluteTime(index, timeData.absoluteTime); }
+      if (timeData.absoluteAltitude != Float.MIN_VALUE)              { setAbsoluteAltitude(index, timeData.absoluteAltitude); }
+      if (timeData.absoluteDistance != Float.MIN_VALUE)              { setAbsoluteDistance(index, timeData.absoluteDistance); }
+      if (timeData.cadence != Float.MIN_VALUE)                       { setCadence(index, timeData.cadence); }
+      if (timeData.power != Float.MIN_VALUE)                         { setPower(index, timeData.power); }
+      if (timeData.pulse != Float.MIN_VALUE)                         { setPulse(index, timeData.pulse); }
+      if (timeData.speed != Float.MIN_VALUE)                         { setSpeed(index, timeData.speed); }
+      if (timeData.temperature != Float.MIN_VALUE)                   { setTemperature(index, timeData.temperature); }
+
+      if (timeData.gear != 0) {
+         gear = createColumn(gear, _capacity, 0L);
+         gear[index] = timeData.gear;
+      }
+
+      if (timeData.latitude != Double.MIN_VALUE || timeData.longitude != Double.MIN_VALUE) {
+         setLatitude(index, timeData.latitude);
+         setLongitude(index, timeData.longitude);
+      }
+
+      if (timeData.marker != 0) {
+         setMarker(index, timeData.marker, timeData.markerLabel);
+      }
+
+      if (timeData.pulseTime != null) {
+         addPulseTimes(index, timeData.pulseTime);
+      }
+
+      if (timeData.runDyn_StanceTime != Short.MIN_VALUE) {
+         runDyn_StanceTime = createColumn(runDyn_StanceTime, _capacity, Short.MIN_VALUE);
+         runDyn_StanceTime[index] = timeData.runDyn_StanceTime;
+      }
+      if (timeData.runDyn_StanceTimeBalance != Short.MIN_VALUE) {
+         runDyn_StanceTimeBalance = createColumn(runDyn_StanceTimeBalance, _capacity, Short.MIN_VALUE);
+         runDyn_StanceTimeBalance[index] = timeData.runDyn_StanceTimeBalance;
+      }
+      if (timeData.runDyn_StepLength != Short.MIN_VALUE) {
+         runDyn_StepLength = createColumn(runDyn_StepLength, _capacity, Short.MIN_VALUE);
+         runDyn_StepLength[index] = timeData.runDyn_StepLength;
+      }
+      if (timeData.runDyn_VerticalOscillation != Short.MIN_VALUE) {
+         runDyn_VerticalOscillation = createColumn(runDyn_VerticalOscillation, _capacity, Short.MIN_VALUE);
+         runDyn_VerticalOscillation[index] = timeData.runDyn_VerticalOscillation;
+      }
+      if (timeData.runDyn_VerticalRatio != Short.MIN_VALUE) {
+         runDyn_VerticalRatio = createColumn(runDyn_VerticalRatio, _capacity, Short.MIN_VALUE);
+         runDyn_VerticalRatio[index] = timeData.runDyn_VerticalRatio;
+      }
+
+      if (timeData.radar_PassedVehicles != Integer.MIN_VALUE) {
+         radar_PassedVehicles = createColumn(radar_PassedVehicles, _capacity, Integer.MIN_VALUE);
+         radar_PassedVehicles[index] = timeData.radar_PassedVehicles;
+      }
+      if (timeData.radar_DistanceToVehicle != Short.MIN_VALUE) {
+         radar_DistanceToVehicle = createColumn(radar_DistanceToVehicle, _capacity, Short.MIN_VALUE);
+         radar_DistanceToVehicle[index] = timeData.radar_DistanceToVehicle;
+      }
+      if (timeData.radar_PassingSpeed_Absolute != Short.MIN_VALUE) {
+         radar_PassingSpeed_Absolute = createColumn(radar_PassingSpeed_Absolute, _capacity, Short.MIN_VALUE);
+         radar_PassingSpeed_Absolute[index] = timeData.radar_PassingSpeed_Absolute;
+      }
+      if (timeData.radar_PassingSpeed_Relative != Short.MIN_VALUE) {
+         radar_PassingSpeed_Relative = createColumn(radar_PassingSpeed_Relative, _capacity, Short.MIN_VALUE);
+         radar_PassingSpeed_Relative[index] = timeData.radar_PassingSpeed_Relative;
+      }
+
+// SET_FORMATTING_ON
+
+      if (timeData.customTracks != null) {
+
+         if (customTracks == null) {
+            customTracks = new HashMap<>();
+         }
+
+         for (final CustomTrackValue customTrackValue : timeData.customTracks) {
+
+            final float[] customTrackColumn = customTracks.computeIfAbsent(customTrackValue.id, id -> new float[_capacity]);
+            final float value = customTrackValue.value;
+
+            customTrackColumn[index] = value == Float.MIN_VALUE ? 0 : value;
+         }
+      }
+
+      return index;
+   }
+
+   /**
+    * Appends pulse times to the already available pulse times of a time slice
+    *
+    * @param index
+    * @param allPulseTimes
+    *           Pulse times in milliseconds
+    */
+   public void addPulseTimes(final int index, final int[] allPulseTimes) {
+
+      if (pulseTime == null) {
+         pulseTime = new int[_capacity][];
+      }
+
+      final int[] existingPulseTimes = pulseTime[index];
+
+      pulseTime[index] = existingPulseTimes == null
+            ? allPulseTimes
+            : Util.concatInt(existingPulseTimes, allPulseTimes);
+   }
+
+   /**
+    * Removes all time slices and releases the columns
+    */
+   public void clear() {
+
+      absoluteTime = null;
+      absoluteAltitude = null;
+      absoluteDistance = null;
+      cadence = null;
+      gear = null;
+      latitude = null;
+      longitude = null;
+      marker = null;
+      markerLabel = null;
+      power = null;
+      pulse = null;
+      pulseTime = null;
+      speed = null;
+      temperature = null;
+
+      runDyn_StanceTime = null;
+      runDyn_StanceTimeBalance = null;
+      runDyn_StepLength = null;
+      runDyn_VerticalOscillation = null;
+      runDyn_VerticalRatio = null;
+
+      radar_PassedVehicles = null;
+      radar_DistanceToVehicle = null;
+      radar_PassingSpeed_Absolute = null;
+      radar_PassingSpeed_Relative = null;
+
+      customTracks = null;
+
+      _capacity = _initialCapacity;
+      _size = 0;
+   }
+
+   public float getAbsoluteAltitude(final int index) {
+      return absoluteAltitude == null ? Float.MIN_VALUE : absoluteAltitude[index];
+   }
+
+   public float getAbsoluteDistance(final int index) {
+      return absoluteDistance == null ? Float.MIN_VALUE : absoluteDistance[index];
+   }
+
+   public long getAbsoluteTime(final int index) {
+      return absoluteTime == null ? Long.MIN_VALUE : absoluteTime[index];
+   }
+
+   public float getCadence(final int index) {
+      return cadence == null ? Float.MIN_VALUE : cadence[index];
+   }
+
+   public double getLatitude(final int index) {
+      return latitude == null ? Double.MIN_VALUE : latitude[index];
+   }
+
+   public double getLongitude(final int index) {
+      return longitude == null ? Double.MIN_VALUE : longitude[index];
+   }
+
+   public float getPower(final int index) {
+      return power == null ? Float.MIN_VALUE : power[index];
+   }
+
+   public float getPulse(final int index) {
+      return pulse == null ? Float.MIN_VALUE : pulse[index];
+   }
+
+   public float getSpeed(final int index) {
+      return speed == null ? Float.MIN_VALUE : speed[index];
+   }
+
+   public float getTemperature(final int index) {
+      return temperature == null ? Float.MIN_VALUE : temperature[index];
+   }
+
+   /**
+    * @return Returns <code>true</code> when the first time slice has an absolute time, these data
+    *         are mostly from GPS devices
+    */
+   boolean isAbsoluteData() {
+
+      return _size > 0 && getAbsoluteTime(0) != Long.MIN_VALUE;
+   }
+
+   public boolean isEmpty() {
+      return _size == 0;
+   }
+
+   private void resizeColumns(final int newCapacity) {
+
+      final int oldSize = _size;
+
+// SET_FORMATTING_OFF
+
+      absoluteTime                  = resize(absoluteTime,                 oldSize, newCapacity, Long.MIN_VALUE);
+      absoluteAltitude              = resize(absoluteAltitude,             oldSize, newCapacity, Float.MIN_VALUE);
+      absoluteDistance              = resize(absoluteDistance,             oldSize, newCapacity, Float.MIN_VALUE);
+      cadence                       = resize(cadence,                      oldSize, newCapacity, Float.MIN_VALUE);
+      gear                          = resize(gear,                         oldSize, newCapacity, 0L);
+      latitude                      = resize(latitude,                     oldSize, newCapacity, Double.MIN_VALUE);
+      longitude                     = resize(longitude,                    oldSize, newCapacity, Double.MIN_VALUE);
+      marker                        = resize(marker,                       oldSize, newCapacity, 0);
+      markerLabel                   = resize(markerLabel,                  newCapacity);
+      power                         = resize(power,                        oldSize, newCapacity, Float.MIN_VALUE);
+      pulse                         = resize(pulse,                        oldSize, newCapacity, Float.MIN_VALUE);
+      pulseTime                     = resize(pulseTime,                    newCapacity);
+      speed                         = resize(speed,                        oldSize, newCapacity, Float.MIN_VALUE);
+      temperature                   = resize(temperature,                  oldSize, newCapacity, Float.MIN_VALUE);
+
+      runDyn_StanceTime             = resize(runDyn_StanceTime,            oldSize, newCapacity, Short.MIN_VALUE);
+      runDyn_StanceTimeBalance      = resize(runDyn_StanceTimeBalance,     oldSize, newCapacity, Short.MIN_VALUE);
+      runDyn_StepLength             = resize(runDyn_StepLength,            oldSize, newCapacity, Short.MIN_VALUE);
+      runDyn_VerticalOscillation    = resize(runDyn_VerticalOscillation,   oldSize, newCapacity, Short.MIN_VALUE);
+      runDyn_VerticalRatio          = resize(runDyn_VerticalRatio,         oldSize, newCapacity, Short.MIN_VALUE);
+
+      radar_PassedVehicles          = resize(radar_PassedVehicles,         oldSize, newCapacity, Integer.MIN_VALUE);
+      radar_DistanceToVehicle       = resize(radar_DistanceToVehicle,      oldSize, newCapacity, Short.MIN_VALUE);
+      radar_PassingSpeed_Absolute   = resize(radar_PassingSpeed_Absolute,  oldSize, newCapacity, Short.MIN_VALUE);
+      radar_PassingSpeed_Relative   = resize(radar_PassingSpeed_Relative,  oldSize, newCapacity, Short.MIN_VALUE);
+
+// SET_FORMATTING_ON
+
+      if (customTracks != null) {
+         for (final Entry<String, float[]> entry : customTracks.entrySet()) {
+            entry.setValue(resize(entry.getValue(), oldSize, newCapacity, 0));
+         }
+      }
+
+      _capacity = newCapacity;
+   }
+
+   public void setAbsoluteAltitude(final int index, final float value) {
+
+      absoluteAltitude = createColumn(absoluteAltitude, _capacity, Float.MIN_VALUE);
+      absoluteAltitude[index] = value;
+   }
+
+   public void setAbsoluteDistance(final int index, final float value) {
+
+      absoluteDistance = createColumn(absoluteDistance, _capacity, Float.MIN_VALUE);
+      absoluteDistance[index] = value;
+   }
+
+   public void setAbsoluteTime(final int index, final long value) {
+
+      absoluteTime = createColumn(absoluteTime, _capacity, Long.MIN_VALUE);
+      absoluteTime[index] = value;
+   }
+
+   public void setCadence(final int index, final float value) {
+
+      cadence = createColumn(cadence, _capacity, Float.MIN_VALUE);
+      cadence[index] = value;
+   }
+
+   /**
+    * Latitude and longitude columns are always created together
+    */
+   private void setLatLonColumns() {
+
+      latitude = createColumn(latitude, _capacity, Double.MIN_VALUE);
+      longitude = createColumn(longitude, _capacity, Double.MIN_VALUE);
+   }
+
+   public void setLatitude(final int index, final double value) {
+
+      setLatLonColumns();
+
+      latitude[index] = value;
+   }
+
+   public void setLongitude(final int index, final double value) {
+
+      setLatLonColumns();
+
+      longitude[index] = value;
+   }
+
+   /**
+    * Sets a device marker
+    *
+    * @param index
+    * @param markerValue
+    *           A marker is set when this value is not 0
+    * @param label
+    *           Marker label or <code>null</code> to use the default label
+    */
+   public void setMarker(final int index, final int markerValue, final String label) {
+
+      marker = createColumn(marker, _capacity, 0);
+      marker[index] = markerValue;
+
+      if (markerLabel == null) {
+         markerLabel = new String[_capacity];
+      }
+      markerLabel[index] = label;
+   }
+
+   public void setPower(final int index, final float value) {
+
+      power = createColumn(power, _capacity, Float.MIN_VALUE);
+      power[index] = value;
+   }
+
+   public void setPulse(final int index, final float value) {
+
+      pulse = createColumn(pulse, _capacity, Float.MIN_VALUE);
+      pulse[index] = value;
+   }
+
+   public void setSpeed(final int index, final float value) {
+
+      speed = createColumn(speed, _capacity, Float.MIN_VALUE);
+      speed[index] = value;
+   }
+
+   public void setTemperature(final int index, final float value) {
+
+      temperature = createColumn(temperature, _capacity, Float.MIN_VALUE);
+      temperature[index] = value;
+   }
+
+   /**
+    * @return Returns the number of time slices
+    */
+   public int size() {
+      return _size;
+   }
+
+   /**
+    * Sorts all time slices by their absolute time, time slices with the same time keep their
+    * sequence.
+    */
+   public void sortByAbsoluteTime() {
+
+      if (absoluteTime == null || _size < 2) {
+         return;
+      }
+
+      final long[] allAbsoluteTimes = absoluteTime;
+
+      final Integer[] sortedIndices = new Integer[_size];
+      for (int serieIndex = 0; serieIndex < _size; serieIndex++) {
+         sortedIndices[serieIndex] = serieIndex;
+      }
+
+      Arrays.sort(sortedIndices, Comparator.comparingLong(serieIndex -> allAbsoluteTimes[serieIndex]));
+
+      // the columns are sorted only for the used size, the columns must have this size
+      trimToSize();
+
+      sort(absoluteTime, sortedIndices);
+      sort(absoluteAltitude, sortedIndices);
+      sort(absoluteDistance, sortedIndices);
+      sort(cadence, sortedIndices);
+      sort(gear, sortedIndices);
+      sort(latitude, sortedIndices);
+      sort(longitude, sortedIndices);
+      sort(marker, sortedIndices);
+      sort(markerLabel, sortedIndices);
+      sort(power, sortedIndices);
+      sort(pulse, sortedIndices);
+      sort(pulseTime, sortedIndices);
+      sort(speed, sortedIndices);
+      sort(temperature, sortedIndices);
+
+      sort(runDyn_StanceTime, sortedIndices);
+      sort(runDyn_StanceTimeBalance, sortedIndices);
+      sort(runDyn_StepLength, sortedIndices);
+      sort(runDyn_VerticalOscillation, sortedIndices);
+      sort(runDyn_VerticalRatio, sortedIndices);
+
+      sort(radar_PassedVehicles, sortedIndices);
+      sort(radar_DistanceToVehicle, sortedIndices);
+      sort(radar_PassingSpeed_Absolute, sortedIndices);
+      sort(radar_PassingSpeed_Relative, sortedIndices);
+
+      if (customTracks != null) {
+         for (final float[] customTrackColumn : customTracks.values()) {
+            sort(customTrackColumn, sortedIndices);
+         }
+      }
+   }
+
+   /**
+    * Creates a {@link TimeData} for each time slice, this is used for data which cannot be
+    * converted from the columns.
+    *
+    * @return
+    */
+   List<TimeData> toTimeDataList() {
+
+      final List<TimeData> allTimeData = new ArrayList<>(_size);
+
+      for (int serieIndex = 0; serieIndex < _size; serieIndex++) {
+
+         final TimeData timeData = new TimeData();
+
+// SET_FORMATTING_OFF
+
+         if (absoluteTime != null)                 { timeData.absoluteTime                = absoluteTime[serieIndex]; }
+         if (absoluteAltitude != null)             { timeData.absoluteAltitude            = absoluteAltitude[serieIndex]; }
+         if (absoluteDistance != null)             { timeData.absoluteDistance            = absoluteDistance[serieIndex]; }
+         if (cadence != null)                      { timeData.cadence                     = cadence[serieIndex]; }
+         if (gear != null)                         { timeData.gear                        = gear[serieIndex]; }
+         if (latitude != null)                     { timeData.latitude                    = latitude[serieIndex]; }
+         if (longitude != null)                    { timeData.longitude                   = longitude[serieIndex]; }
+         if (marker != null)                       { timeData.marker                      = marker[serieIndex]; }
+         if (markerLabel != null)                  { timeData.markerLabel                 = markerLabel[serieIndex]; }
+         if (power != null)                        { timeData.power                       = power[serieIndex]; }
+         if (pulse != null)                        { timeData.pulse                       = pulse[serieIndex]; }
+         if (pulseTime != null)                    { timeData.pulseTime                   = pulseTime[serieIndex]; }
+         if (speed != null)                        { timeData.speed                       = speed[serieIndex]; }
+         if (temperature != null)                  { timeData.temperature                 = temperature[serieIndex]; }
+
+         if (runDyn_StanceTime != null)            { timeData.runDyn_StanceTime           = runDyn_StanceTime[serieIndex]; }
+         if (runDyn_StanceTimeBalance != null)     { timeData.runDyn_StanceTimeBalance    = runDyn_StanceTimeBalance[serieIndex]; }
+         if (runDyn_StepLength != null)            { timeData.runDyn_StepLength           = runDyn_StepLength[serieIndex]; }
+         if (runDyn_VerticalOscillation != null)   { timeData.runDyn_VerticalOscillation  = runDyn_VerticalOscillation[serieIndex]; }
+         if (runDyn_VerticalRatio != null)         { timeData.runDyn_VerticalRatio        = runDyn_VerticalRatio[serieIndex]; }
+
+         if (radar_PassedVehicles != null)         { timeData.radar_PassedVehicles        = radar_PassedVehicles[serieIndex]; }
+         if (radar_DistanceToVehicle != null)      { timeData.radar_DistanceToVehicle     = radar_DistanceToVehicle[serieIndex]; }
+         if (radar_PassingSpeed_Absolute != null)  { timeData.radar_PassingSpeed_Absolute = radar_PassingSpeed_Absolute[serieIndex]; }
+         if (radar_PassingSpeed_Relative != null)  { timeData.radar_PassingSpeed_Relative = radar_PassingSpeed_Relative[serieIndex]; }
+
+// SET_FORMATTING_ON
+
+         if (customTracks != null) {
+
+            final List<CustomTrackValue> allCustomTrackValues = new ArrayList<>();
+
+            for (final Entry<String, float[]> entry : customTracks.entrySet()) {
+
+               final CustomTrackValue customTrackValue = new CustomTrackValue();
+               customTrackValue.id = entry.getKey();
+               customTrackValue.value = entry.getValue()[serieIndex];
+
+               allCustomTrackValues.add(customTrackValue);
+            }
+
+            timeData.customTracks = allCustomTrackValues.toArray(new CustomTrackValue[allCustomTrackValues.size()]);
+         }
+
+         allTimeData.add(timeData);
+      }
+
+      return allTimeData;
+   }
+
+   @Override
+   public String toString() {
+
+      return "TimeDataBuffer [" //$NON-NLS-1$
+
+            + "size=" + _size + ", " //$NON-NLS-1$ //$NON-NLS-2$
+            + "capacity=" + _capacity //$NON-NLS-1$
+
+            + "]"; //$NON-NLS-1$
+   }
+
+   /**
+    * Shrinks all columns to the number of time slices, columns are copied only when they have
+    * additional capacity.
+    */
+   void trimToSize() {
+
+      if (_capacity != _size) {
+         resizeColumns(_size);
+      }
+   }
+}
@@ -26,9 +26,9 @@ import com.skedgo.converter.TimezoneMapper;
 import de.byteholder.geoclipse.map.TourPause;
 import de.byteholder.geoclipse.mapprovider.MP;
 
-import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.io.Serializable;
 import java.io.StringWriter;
@@ -91,6 +91,7 @@ import net.tourbook.database.TourDatabase;
 import net.tourbook.importdata.ImportState_Process;
 import net.tourbook.importdata.RawDataManager;
 import net.tourbook.importdata.TourbookDevice;
+import net.tourbook.map2.view.TourMapGeometry;
 import net.tourbook.math.Smooth;
 import net.tourbook.photo.Photo;
 import net.tourbook.photo.PhotoAdjustments;
@@ -1635,16 +1636,10 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
    public int                 mapZoomLevel;
 
    /**
-    * Caches the world positions for the tour lat/long values for each zoom level
+    * Caches the map geometry for the tour lat/long values for each projection and zoom level
     */
    @Transient
-   private final IntObjectHashMap<Point[]>                    _tourWorldPosition   = new IntObjectHashMap<>();
-
-   /**
-    * Cashes tour tile hashes for each zoom level
-    */
-   @Transient
-   private final IntObjectHashMap<IntHashSet>                _tileHashes_Tours     = new IntObjectHashMap<>();
+   private final IntObjectHashMap<TourMapGeometry>            _tourMapGeometry     = new IntObjectHashMap<>();
 
    /**
     * When a tour was deleted and is still visible in the raw data view, resaving the tour or
@@ -2032,6 +2027,9 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
     * is used to show surfing parts and to hide the none surfing parts.
     * <p>
     * With <code>null</code>, it will be ignored and all data points are visible.
+    * <p>
+    * A new array must be assigned when the visible data points are modified, the cached map
+    * geometry is valid only for the array which was used to create it.
     */
    @Transient
    @JsonProperty
@@ -2768,8 +2766,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
     */
    public void clearWorldPositions() {
 
-      _tourWorldPosition.clear();
-      _tileHashes_Tours.clear();
+      _tourMapGeometry.clear();
    }
 
    /**
@@ -6971,6 +6968,8 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
     */
    public TourData createDeepCopy() {
 
+      loadDataSeries(SerieKind.ALL);
+
       final TourData tourData_DeepCopy = SerializationUtils.clone(this);
 
       // set a unique tour ID
@@ -7653,6 +7652,20 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          final float[] newSRTMSerie = new float[serieLength];
          final float[] newSRTMSerieImperial = new float[serieLength];
 
+         // open all elevation files of the tour area before the values are read
+         final GeoPosition[] geoBounds = getGeoBounds();
+         if (geoBounds != null) {
+
+            final GeoPosition geoMin = geoBounds[0];
+            final GeoPosition geoMax = geoBounds[1];
+
+            if (isUseSrtm1Values) {
+               _elevationSRTM1.prefetchElevationFiles(geoMin.latitude, geoMax.latitude, geoMin.longitude, geoMax.longitude);
+            }
+
+            _elevationSRTM3.prefetchElevationFiles(geoMin.latitude, geoMax.latitude, geoMin.longitude, geoMax.longitude);
+         }
+
 //         int usedSrtm1Values = 0;
 //         int usedSrtm3Values = 0;
 //         int usedCorrectedSrtmValues = 0;
@@ -8299,72 +8312,330 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          }
       }
 
-      createTimeSeries_10_InterpolateMissingValues(importState_Process);
-      createTimeSeries_50_PulseTimes(allTimeData);
+      final int[][] allPulseTimes = new int[numTimeData][];
 
-      tourDistance = isDistance ? distanceSerie[numTimeData - 1] : 0;
-      tourDeviceTime_Elapsed = elapsedTime;
-      setTourEndTimeMS();
+      for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
+         allPulseTimes[serieIndex] = allTimeData[serieIndex].pulseTime;
+      }
 
-      // set number of gear shifts
-      if (isGear) {
-         setGears(gearSerieCombined);
+      createTimeSeries_90_Finalize(elapsedTime,
+            isDistance,
+            isGear,
+            isRadar_PassedVehicles,
+            allPulseTimes,
+            importState_Process);
+
+      /*
+       * create marker after all other data are setup
+       */
+      if (isCreateMarker) {
+
+         for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
+
+            final TimeData timeData = allTimeData[serieIndex];
+
+            if (timeData.marker != 0) {
+               createTourMarker(timeData.markerLabel, serieIndex);
+            }
+         }
       }
+      resetSortedMarkers();
+   }
 
-      // set number of passed vehicles
-      if (isRadar_PassedVehicles) {
-         setRadarValues();
+   /**
+    * Convert the time slices of a {@link TimeDataBuffer} into {@link TourData}.
+    *
+    * @param timeDataBuffer
+    * @param isCreateMarker
+    *           creates markers when <code>true</code>
+    *
+    * @see #createTimeSeries(TimeDataBuffer, boolean, ImportState_Process)
+    */
+   public void createTimeSeries(final TimeDataBuffer timeDataBuffer, final boolean isCreateMarker) {
+
+      createTimeSeries(timeDataBuffer, isCreateMarker, null);
+   }
+
+   /**
+    * Convert the time slices of a {@link TimeDataBuffer} into {@link TourData}, this will be done
+    * after data are imported.
+    * <p>
+    * The buffer columns are used as data series, they are copied only when the buffer has more
+    * capacity than time slices. The buffer is empty afterwards and can be used for the next tour.
+    *
+    * @param timeDataBuffer
+    * @param isCreateMarker
+    *           creates markers when <code>true</code>
+    * @param importState_Process
+    */
+   public void createTimeSeries(final TimeDataBuffer timeDataBuffer,
+                                final boolean isCreateMarker,
+                                final ImportState_Process importState_Process) {
+
+      final int numTimeData = timeDataBuffer.size();
+      if (numTimeData == 0) {
+         return;
       }
 
-      cleanupDataSeries(importState_Process);
+      if (timeDataBuffer.isAbsoluteData() == false) {
+
+         // relative data are not from GPS devices, they are converted like all other time data
+
+         createTimeSeries(timeDataBuffer.toTimeDataList(), isCreateMarker, importState_Process);
+
+         timeDataBuffer.clear();
+
+         return;
+      }
+
+      timeDataBuffer.trimToSize();
 
       /*
-       * Try to get distance values from lat/long values, this must be done after the cleanup which
-       * can set distanceSerie = null.
+       * Time
        */
-      if (distanceSerie == null) {
-         TourManager.computeDistanceValuesFromGeoPosition(this);
+      final long[] allAbsoluteTimes = timeDataBuffer.absoluteTime;
+
+      timeSerie = new int[numTimeData];
+
+      final long tourStartTime = allAbsoluteTimes[0];
+
+      long elapsedTime = 0;
+      long lastValidTime = 0;
+      long lastValidAbsoluteTime = tourStartTime;
+
+      for (int serieIndex = 1; serieIndex < numTimeData; serieIndex++) {
+
+         final long absoluteTime = allAbsoluteTimes[serieIndex];
+
+         // absolute time is checked against last valid time because time can NOT be in the past
+         if (absoluteTime == Long.MIN_VALUE || absoluteTime < lastValidAbsoluteTime) {
+            elapsedTime = lastValidTime;
+         } else {
+            elapsedTime = (absoluteTime - tourStartTime) / 1000;
+            lastValidAbsoluteTime = absoluteTime;
+         }
+
+         timeSerie[serieIndex] = (int) (lastValidTime = elapsedTime);
       }
 
       /*
-       * Set time zone from geo position
+       * Distance, it is always available for absolute data
        */
-      if (latitudeSerie != null) {
+      float[] allDistances = timeDataBuffer.absoluteDistance;
+      if (allDistances == null) {
+         allDistances = new float[numTimeData];
+         Arrays.fill(allDistances, Float.MIN_VALUE);
+      }
 
-         // latitude can be null AFTER cleanup data series
+      for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
 
-         // get time zone from lat/lon
-         final double lat = latitudeSerie[0];
-         final double lon = longitudeSerie[0];
+         final float absoluteDistance = allDistances[serieIndex];
 
-         final String rawZoneId = TimezoneMapper.latLngToTimezoneString(lat, lon);
-         final ZoneId zoneId = ZoneId.of(rawZoneId);
+         if (absoluteDistance == Float.MIN_VALUE || absoluteDistance >= Integer.MAX_VALUE) {
 
-         setTimeZoneId(zoneId.getId());
+            allDistances[serieIndex] = serieIndex == 0 ? 0 : Float.MIN_VALUE;
+
+         } else if (serieIndex == 0) {
+
+            // rounding cannot be used because the tour id contains the last value from the distance serie
+            allDistances[serieIndex] = (int) absoluteDistance;
+         }
       }
 
+      distanceSerie = allDistances;
+
       /*
-       * create marker after all other data are setup
+       * Altitude, starting values are set to the first valid value
        */
-      if (isCreateMarker) {
+      final float[] allAltitudes = timeDataBuffer.absoluteAltitude;
+      final int firstAltitudeIndex = getFirstValidIndex(allAltitudes, Float.MIN_VALUE);
+      if (firstAltitudeIndex != -1) {
+
+         Arrays.fill(allAltitudes, 0, firstAltitudeIndex, allAltitudes[firstAltitudeIndex]);
 
          for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
+            if (allAltitudes[serieIndex] >= Integer.MAX_VALUE) {
+               allAltitudes[serieIndex] = Float.MIN_VALUE;
+            }
+         }
 
-            final TimeData timeData = allTimeData[serieIndex];
+         altitudeSerie = allAltitudes;
+      }
 
-            if (timeData.marker != 0) {
+      /*
+       * Cadence, power and speed are not interpolated, invalid values are set to 0
+       */
+      if (getFirstValidIndex(timeDataBuffer.cadence, Float.MIN_VALUE) != -1) {
+         cadenceSerie = replaceValues(timeDataBuffer.cadence, Float.MIN_VALUE, 0);
+      }
+
+      isPowerSerieFromDevice = getFirstValidIndex(timeDataBuffer.power, Float.MIN_VALUE) != -1;
+      if (isPowerSerieFromDevice) {
+         powerSerie = replaceValues(timeDataBuffer.power, Float.MIN_VALUE, 0);
+      }
+
+      if (getFirstValidIndex(timeDataBuffer.speed, Float.MIN_VALUE) != -1) {
+         speedSerie = replaceValues(timeDataBuffer.speed, Float.MIN_VALUE, 0);
+         isSpeedSerieFromDevice = true;
+      }
 
-               int relativeTime = 0;
-               float distanceValue = 0;
+      /*
+       * Gear, starting values are set to the first valid value
+       */
+      final long[] allGears = timeDataBuffer.gear;
+      final int firstGearIndex = getFirstValidIndex(allGears, 0);
+      final boolean isGear = firstGearIndex != -1;
+      if (isGear) {
+
+         Arrays.fill(allGears, 0, firstGearIndex, allGears[firstGearIndex]);
+
+         gearSerieCombined = allGears;
+      }
 
-               if (timeSerie != null) {
-                  relativeTime = timeSerie[serieIndex];
+      /*
+       * Latitude & longitude, starting values are set to the first valid value
+       */
+      final double[] allLatitudes = timeDataBuffer.latitude;
+      final double[] allLongitudes = timeDataBuffer.longitude;
+      final int firstLatLonIndex = getFirstValidIndex(allLatitudes, Double.MIN_VALUE);
+      if (firstLatLonIndex != -1) {
+
+         Arrays.fill(allLatitudes, 0, firstLatLonIndex, allLatitudes[firstLatLonIndex]);
+         Arrays.fill(allLongitudes, 0, firstLatLonIndex, allLongitudes[firstLatLonIndex]);
+
+         latitudeSerie = allLatitudes;
+         longitudeSerie = allLongitudes;
+      }
+
+      /*
+       * Pulse, starting values are set to the first valid value
+       */
+      final float[] allPulses = timeDataBuffer.pulse;
+      if (allPulses != null) {
+
+         if (allPulses[0] != Float.MIN_VALUE) {
+
+            pulseSerie = allPulses;
+
+         } else {
+
+            for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
+
+               final float pulse = allPulses[serieIndex];
+
+               if (pulse > 0) {
+
+                  Arrays.fill(allPulses, 0, serieIndex, pulse);
+
+                  pulseSerie = allPulses;
+
+                  break;
                }
-               if (distanceSerie != null) {
-                  distanceValue = distanceSerie[serieIndex];
+            }
+         }
+      }
+
+      /*
+       * Temperature, starting values are set to the first valid value
+       */
+      final float[] allTemperatures = timeDataBuffer.temperature;
+      final int firstTemperatureIndex = getFirstValidIndex(allTemperatures, Float.MIN_VALUE);
+      if (firstTemperatureIndex != -1) {
+
+         Arrays.fill(allTemperatures, 0, firstTemperatureIndex, allTemperatures[firstTemperatureIndex]);
+
+         temperatureSerie = allTemperatures;
+      }
+
+      /*
+       * Running dynamics, starting values are set to the first valid value
+       */
+// SET_FORMATTING_OFF
+
+      runDyn_StanceTime             = createTimeSeries_RunDyn(timeDataBuffer.runDyn_StanceTime,          runDyn_StanceTime);
+      runDyn_StanceTimeBalance      = createTimeSeries_RunDyn(timeDataBuffer.runDyn_StanceTimeBalance,   runDyn_StanceTimeBalance);
+      runDyn_StepLength             = createTimeSeries_RunDyn(timeDataBuffer.runDyn_StepLength,          runDyn_StepLength);
+      runDyn_VerticalOscillation    = createTimeSeries_RunDyn(timeDataBuffer.runDyn_VerticalOscillation, runDyn_VerticalOscillation);
+      runDyn_VerticalRatio          = createTimeSeries_RunDyn(timeDataBuffer.runDyn_VerticalRatio,       runDyn_VerticalRatio);
+
+      /*
+       * Radar, starting values are set to 0
+       */
+      radar_DistanceToVehicle       = createTimeSeries_Radar(timeDataBuffer.radar_DistanceToVehicle,     radar_DistanceToVehicle);
+      radar_PassingSpeed_Absolute   = createTimeSeries_Radar(timeDataBuffer.radar_PassingSpeed_Absolute, radar_PassingSpeed_Absolute);
+      radar_PassingSpeed_Relative   = createTimeSeries_Radar(timeDataBuffer.radar_PassingSpeed_Relative, radar_PassingSpeed_Relative);
+
+// SET_FORMATTING_ON
+
+      final int[] allPassedVehicles = timeDataBuffer.radar_PassedVehicles;
+      boolean isRadar_PassedVehicles = false;
+      if (allPassedVehicles != null) {
+
+         final int firstPassedVehiclesIndex = allPassedVehicles[0] != Integer.MIN_VALUE
+               ? 0
+               : getFirstPositiveIndex(allPassedVehicles);
+
+         if (firstPassedVehiclesIndex != -1) {
+
+            Arrays.fill(allPassedVehicles, 0, firstPassedVehiclesIndex, 0);
+
+            for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
+               if (allPassedVehicles[serieIndex] == Integer.MIN_VALUE) {
+                  allPassedVehicles[serieIndex] = 0;
                }
+            }
+
+            radar_PassedVehicles = allPassedVehicles;
+            isRadar_PassedVehicles = true;
+         }
+      }
+
+      /*
+       * Custom tracks, values which are not set are 0
+       */
+      if (customTracksDefinition != null && customTracksDefinition.isEmpty() == false) {
+
+         if (_customTracks == null) {
+            _customTracks = new HashMap<>();
+         }
+         _customTracks.clear();
+
+         final Map<String, float[]> allBufferCustomTracks = timeDataBuffer.customTracks;
+
+         for (final String customTracksDefinitionId : customTracksDefinition.keySet()) {
+
+            final float[] bufferCustomTrack = allBufferCustomTracks == null
+                  ? null
+                  : allBufferCustomTracks.get(customTracksDefinitionId);
+
+            _customTracks.put(customTracksDefinitionId, bufferCustomTrack == null
+                  ? new float[numTimeData]
+                  : bufferCustomTrack);
+         }
+      }
 
-               createTourMarker(timeData, serieIndex, relativeTime, distanceValue);
+      final int[] allMarkers = timeDataBuffer.marker;
+      final String[] allMarkerLabels = timeDataBuffer.markerLabel;
+
+      createTimeSeries_90_Finalize(elapsedTime,
+            true,
+            isGear,
+            isRadar_PassedVehicles,
+            timeDataBuffer.pulseTime,
+            importState_Process);
+
+      // the columns are now used by the tour
+      timeDataBuffer.clear();
+
+      /*
+       * create marker after all other data are setup
+       */
+      if (isCreateMarker && allMarkers != null) {
+
+         for (int serieIndex = 0; serieIndex < numTimeData; serieIndex++) {
+
+            if (allMarkers[serieIndex] != 0) {
+               createTourMarker(allMarkerLabels[serieIndex], serieIndex);
             }
          }
       }
@@ -8616,16 +8887,23 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       }
    }
 
-   private void createTimeSeries_50_PulseTimes(final TimeData[] allTimeData) {
+   /**
+    * @param allTimeSlice_PulseTimes
+    *           Pulse times for each time slice or <code>null</code> when pulse times are not
+    *           available
+    */
+   private void createTimeSeries_50_PulseTimes(final int[][] allTimeSlice_PulseTimes) {
+
+      if (allTimeSlice_PulseTimes == null) {
+         return;
+      }
 
       boolean isPulseTimes = false;
 
       PULSE_TIMES:
 
       // check if any pulse time data is available
-      for (final TimeData timeData : allTimeData) {
-
-         final int[] pulseTimes = timeData.pulseTime;
+      for (final int[] pulseTimes : allTimeSlice_PulseTimes) {
 
          if (pulseTimes != null) {
 
@@ -8644,7 +8922,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          return;
       }
 
-      final int numTimeSlices = allTimeData.length;
+      final int numTimeSlices = allTimeSlice_PulseTimes.length;
 
       final IntArrayList allPulseTimes = new IntArrayList(numTimeSlices * 3);
       final int[] allPulseTime_TimeIndex = new int[numTimeSlices];
@@ -8655,8 +8933,7 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
       for (int timeIndex = 0; timeIndex < numTimeSlices; timeIndex++) {
 
-         final TimeData timeData = allTimeData[timeIndex];
-         final int[] timeSlice_AllPulseTimes = timeData.pulseTime;
+         final int[] timeSlice_AllPulseTimes = allTimeSlice_PulseTimes[timeIndex];
 
          if (timeSlice_AllPulseTimes != null) {
 
@@ -8697,6 +8974,115 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       }
    }
 
+   /**
+    * Interpolates missing values and sets the tour values which depend on the data series, this
+    * is done after the data series are created from the time slices.
+    *
+    * @param elapsedTime
+    * @param isDistance
+    * @param isGear
+    * @param isRadar_PassedVehicles
+    * @param allTimeSlice_PulseTimes
+    * @param importState_Process
+    */
+   private void createTimeSeries_90_Finalize(final long elapsedTime,
+                                             final boolean isDistance,
+                                             final boolean isGear,
+                                             final boolean isRadar_PassedVehicles,
+                                             final int[][] allTimeSlice_PulseTimes,
+                                             final ImportState_Process importState_Process) {
+
+      createTimeSeries_10_InterpolateMissingValues(importState_Process);
+      createTimeSeries_50_PulseTimes(allTimeSlice_PulseTimes);
+
+      tourDistance = isDistance ? distanceSerie[distanceSerie.length - 1] : 0;
+      tourDeviceTime_Elapsed = elapsedTime;
+      setTourEndTimeMS();
+
+      // set number of gear shifts
+      if (isGear) {
+         setGears(gearSerieCombined);
+      }
+
+      // set number of passed vehicles
+      if (isRadar_PassedVehicles) {
+         setRadarValues();
+      }
+
+      cleanupDataSeries(importState_Process);
+
+      /*
+       * Try to get distance values from lat/long values, this must be done after the cleanup which
+       * can set distanceSerie = null.
+       */
+      if (distanceSerie == null) {
+         TourManager.computeDistanceValuesFromGeoPosition(this);
+      }
+
+      /*
+       * Set time zone from geo position
+       */
+      if (latitudeSerie != null) {
+
+         // latitude can be null AFTER cleanup data series
+
+         // get time zone from lat/lon
+         final double lat = latitudeSerie[0];
+         final double lon = longitudeSerie[0];
+
+         final String rawZoneId = TimezoneMapper.latLngToTimezoneString(lat, lon);
+         final ZoneId zoneId = ZoneId.of(rawZoneId);
+
+         setTimeZoneId(zoneId.getId());
+      }
+   }
+
+   /**
+    * @param allBufferValues
+    * @param allRadarValues
+    *
+    * @return Returns the radar values from the time data buffer, values which are not set are 0,
+    *         or the unchanged radar values when the buffer do not contain valid values
+    */
+   private short[] createTimeSeries_Radar(final short[] allBufferValues, final short[] allRadarValues) {
+
+      if (allBufferValues == null) {
+         return allRadarValues;
+      }
+
+      if (allBufferValues[0] == Short.MIN_VALUE) {
+
+         final int firstPositiveIndex = getFirstPositiveIndex(allBufferValues);
+         if (firstPositiveIndex == -1) {
+            return allRadarValues;
+         }
+
+         Arrays.fill(allBufferValues, 0, firstPositiveIndex, (short) 0);
+      }
+
+      return replaceValues(allBufferValues, Short.MIN_VALUE, (short) 0);
+   }
+
+   /**
+    * @param allBufferValues
+    * @param allRunDynValues
+    *
+    * @return Returns the running dynamics values from the time data buffer, starting values are set
+    *         to the first valid value, or the unchanged running dynamics values when the buffer do
+    *         not contain valid values
+    */
+   private short[] createTimeSeries_RunDyn(final short[] allBufferValues, final short[] allRunDynValues) {
+
+      final int firstValidIndex = getFirstValidIndex(allBufferValues, Short.MIN_VALUE);
+      if (firstValidIndex == -1) {
+         return allRunDynValues;
+      }
+
+      Arrays.fill(allBufferValues, 0, firstValidIndex, allBufferValues[firstValidIndex]);
+
+      return replaceValues(allBufferValues, Short.MIN_VALUE, (short) 0);
+   }
+
    /**
     * Creates a unique tour id depending on the tour start time and current time
     */
@@ -8775,15 +9161,21 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
    /**
     * Create a device marker at the current position
     *
-    * @param timeData
+    * @param markerLabel
+    *           Label of the marker or <code>null</code> to use the default label
     * @param serieIndex
-    * @param relativeTime
-    * @param distanceAbsolute
     */
-   private void createTourMarker(final TimeData timeData,
-                                 final int serieIndex,
-                                 final int relativeTime,
-                                 final float distanceAbsolute) {
+   private void createTourMarker(final String markerLabel, final int serieIndex) {
+
+      int relativeTime = 0;
+      float distanceAbsolute = 0;
+
+      if (timeSerie != null) {
+         relativeTime = timeSerie[serieIndex];
+      }
+      if (distanceSerie != null) {
+         distanceAbsolute = distanceSerie[serieIndex];
+      }
 
       // create a new marker
       final TourMarker tourMarker = new TourMarker(this, ChartLabelMarker.MARKER_TYPE_DEVICE);
@@ -8797,10 +9189,10 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       tourMarker.setDistance(distanceAbsolute);
       tourMarker.setSerieIndex(serieIndex);
 
-      if (timeData.markerLabel == null) {
+      if (markerLabel == null) {
          tourMarker.setLabel(Messages.tour_data_label_device_marker);
       } else {
-         tourMarker.setLabel(timeData.markerLabel);
+         tourMarker.setLabel(markerLabel);
       }
 
       // set lat/lon and elevation values
@@ -9662,6 +10054,16 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return _dateTimeModified;
    }
 
+   /**
+    * @return Returns the modified date/time or the created date/time when the tour was not yet
+    *         modified, in the format YYYYMMDDhhmmss, this value is changed each time when the tour
+    *         is saved
+    */
+   public long getDateTimeModifiedStamp() {
+
+      return dateTimeModified != 0 ? dateTimeModified : dateTimeCreated;
+   }
+
    public String getDeviceFirmwareVersion() {
       return deviceFirmwareVersion == null ? UI.EMPTY_STRING : deviceFirmwareVersion;
    }
@@ -9843,6 +10245,122 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return 0;
    }
 
+   /**
+    * @param values
+    *
+    * @return Returns the index of the first value which is > 0 or -1 when not available
+    */
+   private int getFirstPositiveIndex(final int[] values) {
+
+      for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+         if (values[valueIndex] > 0) {
+            return valueIndex;
+         }
+      }
+
+      return -1;
+   }
+
+   /**
+    * @param values
+    *
+    * @return Returns the index of the first value which is > 0 or -1 when not available
+    */
+   private int getFirstPositiveIndex(final short[] values) {
+
+      for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+         if (values[valueIndex] > 0) {
+            return valueIndex;
+         }
+      }
+
+      return -1;
+   }
+
+   /**
+    * @param values
+    *           Can be <code>null</code>
+    * @param invalidValue
+    *
+    * @return Returns the index of the first value which is not the invalid value or -1 when not
+    *         available
+    */
+   private int getFirstValidIndex(final double[] values, final double invalidValue) {
+
+      if (values != null) {
+         for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+            if (values[valueIndex] != invalidValue) {
+               return valueIndex;
+            }
+         }
+      }
+
+      return -1;
+   }
+
+   /**
+    * @param values
+    *           Can be <code>null</code>
+    * @param invalidValue
+    *
+    * @return Returns the index of the first value which is not the invalid value or -1 when not
+    *         available
+    */
+   private int getFirstValidIndex(final float[] values, final float invalidValue) {
+
+      if (values != null) {
+         for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+            if (values[valueIndex] != invalidValue) {
+               return valueIndex;
+            }
+         }
+      }
+
+      return -1;
+   }
+
+   /**
+    * @param values
+    *           Can be <code>null</code>
+    * @param invalidValue
+    *
+    * @return Returns the index of the first value which is not the invalid value or -1 when not
+    *         available
+    */
+   private int getFirstValidIndex(final long[] values, final long invalidValue) {
+
+      if (values != null) {
+         for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+            if (values[valueIndex] != invalidValue) {
+               return valueIndex;
+            }
+         }
+      }
+
+      return -1;
+   }
+
+   /**
+    * @param values
+    *           Can be <code>null</code>
+    * @param invalidValue
+    *
+    * @return Returns the index of the first value which is not the invalid value or -1 when not
+    *         available
+    */
+   private int getFirstValidIndex(final short[] values, final short invalidValue) {
+
+      if (values != null) {
+         for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+            if (values[valueIndex] != invalidValue) {
+               return valueIndex;
+            }
+         }
+      }
+
+      return -1;
+   }
+
    public int getFrontShiftCount() {
       return frontShiftCount;
    }
@@ -10217,6 +10735,28 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isStrideSensorPresent;
    }
 
+   /**
+    * @param projectionHash
+    * @param zoomLevel
+    *
+    * @return Returns the map geometry for the supplied zoom level and projection id or
+    *         <code>null</code> when it is not yet created or when it was created with other
+    *         {@link #visibleDataPointSerie}
+    */
+   public TourMapGeometry getMapGeometry(final int projectionHash, final int zoomLevel) {
+
+      final TourMapGeometry mapGeometry = _tourMapGeometry.get(projectionHash + zoomLevel);
+
+      if (mapGeometry != null && mapGeometry.getVisibleDataPointSerie() != visibleDataPointSerie) {
+
+         // visible data points are replaced, e.g. when lines in pauses are cut off or surfing
+         // segments are selected
+         return null;
+      }
+
+      return mapGeometry;
+   }
+
    /**
     * @return the maxAltitude
     */
@@ -12021,11 +12561,6 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return serie;
    }
 
-   public IntHashSet getTileHashes_ForTours(final int projectionHash, final int mapZoomLevel) {
-
-      return _tileHashes_Tours.get(projectionHash + mapZoomLevel);
-   }
-
    /**
     * @return Returns time data serie in floating points which is used for drawing charts.
     */
@@ -12699,17 +13234,6 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return tourGeoBounds;
    }
 
-   /**
-    * @param zoomLevel
-    * @param projectionHash
-    *
-    * @return Returns the world position for the supplied zoom level and projection id
-    */
-   public Point[] getWorldPositionForTour(final int projectionHash, final int zoomLevel) {
-
-      return _tourWorldPosition.get(projectionHash + zoomLevel);
-   }
-
    /**
     * @return Returns <code>true</code> when the tour has a time zone.
     */
@@ -12789,6 +13313,18 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return false;
    }
 
+   /**
+    * @param allSerieKinds
+    *
+    * @return Returns <code>true</code> when the data series are loaded, a tour which is not loaded
+    *         with {@link TourManager#getTourData(Long, Set)} contains all data series.
+    */
+   public boolean isDataSeriesLoaded(final Set<SerieKind> allSerieKinds) {
+
+      // serieData is null for multiple tours or not saved tours
+      return serieData == null || serieData.getDecodedSerieKinds().containsAll(allSerieKinds);
+   }
+
    public boolean isDistanceSensorPresent() {
       return isDistanceFromSensor == 1;
    }
@@ -13109,6 +13645,40 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return isWeatherDataFromProvider;
    }
 
+   /**
+    * Loads data series which were not loaded when the tour was loaded with
+    * {@link TourManager#getTourData(Long, Set)}, the instance of this tour is not changed.
+    *
+    * @param allSerieKinds
+    */
+   public synchronized void loadDataSeries(final Set<SerieKind> allSerieKinds) {
+
+      if (serieData == null) {
+         return;
+      }
+
+      final Set<SerieKind> allNewSerieKinds;
+
+      try {
+
+         allNewSerieKinds = serieData.decodeDataSeries(allSerieKinds);
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+         return;
+      }
+
+      if (allNewSerieKinds.isEmpty()) {
+         return;
+      }
+
+      onPostLoad_GetDataSeries(allNewSerieKinds);
+
+      // computed data series could be computed without the new data series
+      clearComputedSeries();
+   }
+
    /**
     * Called after the object was loaded from the persistence store
     */
@@ -13120,13 +13690,17 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          convertDataSeries();
       }
 
-      onPostLoad_GetDataSeries();
+      onPostLoad_GetDataSeries(serieData.getDecodedSerieKinds());
    }
 
    /**
     * Move/convert serie data into tour data
+    *
+    * @param allSerieKinds
+    *           Data series which are moved, only these data series are decoded in
+    *           {@link #serieData}
     */
-   private void onPostLoad_GetDataSeries() {
+   private void onPostLoad_GetDataSeries(final Set<SerieKind> allSerieKinds) {
 
       timeSerie = serieData.timeSerie;
 
@@ -13137,40 +13711,52 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
 
 // SET_FORMATTING_OFF
 
-      altitudeSerie        = serieData.altitudeSerie20;
-      cadenceSerie         = serieData.cadenceSerie20;
-      distanceSerie        = serieData.distanceSerie20;
-      pulseSerie           = serieData.pulseSerie20;
-      temperatureSerie     = serieData.temperatureSerie20;
-      powerSerie           = serieData.powerSerie20;
-      speedSerie           = serieData.speedSerie20;
-      pausedTime_Start     = serieData.pausedTime_Start;
-      pausedTime_End       = serieData.pausedTime_End;
-      pausedTime_Data      = serieData.pausedTime_Data;
+      if (allSerieKinds.contains(SerieKind.ALTITUDE))       { altitudeSerie        = serieData.altitudeSerie20;     }
+      if (allSerieKinds.contains(SerieKind.CADENCE))        { cadenceSerie         = serieData.cadenceSerie20;      }
+      if (allSerieKinds.contains(SerieKind.DISTANCE))       { distanceSerie        = serieData.distanceSerie20;     }
+      if (allSerieKinds.contains(SerieKind.PULSE))          { pulseSerie           = serieData.pulseSerie20;        }
+      if (allSerieKinds.contains(SerieKind.TEMPERATURE))    { temperatureSerie     = serieData.temperatureSerie20;  }
+      if (allSerieKinds.contains(SerieKind.POWER))          { powerSerie           = serieData.powerSerie20;        }
+      if (allSerieKinds.contains(SerieKind.SPEED))          { speedSerie           = serieData.speedSerie20;        }
 
-      if (serieData.latitude != null) {
+      if (allSerieKinds.contains(SerieKind.PAUSES)) {
 
-         // use existing lat/lon double serie data from older versions
-         // -> saving the tour will convert them into E6 format
+         pausedTime_Start     = serieData.pausedTime_Start;
+         pausedTime_End       = serieData.pausedTime_End;
+         pausedTime_Data      = serieData.pausedTime_Data;
+      }
 
-         latitudeSerie        = serieData.latitude;
-         longitudeSerie       = serieData.longitude;
+      if (allSerieKinds.contains(SerieKind.LATITUDE_LONGITUDE)) {
 
-      } else {
+         if (serieData.latitude != null) {
 
-         /*
-          * Db version >= 43 contain lat/lon in E6 format
-          */
-         latitudeSerie        = Util.convertDoubleSeries_FromE6(serieData.latitudeE6);
-         longitudeSerie       = Util.convertDoubleSeries_FromE6(serieData.longitudeE6);
+            // use existing lat/lon double serie data from older versions
+            // -> saving the tour will convert them into E6 format
+
+            latitudeSerie        = serieData.latitude;
+            longitudeSerie       = serieData.longitude;
+
+         } else {
+
+            /*
+             * Db version >= 43 contain lat/lon in E6 format
+             */
+            latitudeSerie        = Util.convertDoubleSeries_FromE6(serieData.latitudeE6);
+            longitudeSerie       = Util.convertDoubleSeries_FromE6(serieData.longitudeE6);
+         }
+
+         computeGeo_Grid();
+
+         hasGeoData = latitudeSerie != null && latitudeSerie.length > 0;
       }
 
-      computeGeo_Grid();
+      if (allSerieKinds.contains(SerieKind.GEARS))          { gearSerieCombined    = serieData.gears;               }
 
-      gearSerieCombined       = serieData.gears;
+      if (allSerieKinds.contains(SerieKind.PULSE_TIMES)) {
 
-      pulseTime_Milliseconds  = serieData.pulseTimes;
-      pulseTime_TimeIndex     = serieData.pulseTime_TimeIndex;
+         pulseTime_Milliseconds  = serieData.pulseTimes;
+         pulseTime_TimeIndex     = serieData.pulseTime_TimeIndex;
+      }
 
       if (powerSerie != null) {
          isPowerSerieFromDevice = true;
@@ -13180,43 +13766,69 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
          isSpeedSerieFromDevice = true;
       }
 
-      hasGeoData = latitudeSerie != null && latitudeSerie.length > 0;
+      if (allSerieKinds.contains(SerieKind.CUSTOM_TRACKS)) {
 
-      _customTracks = serieData.customTracks;
-      _customTracksStatistics = serieData.customTracksStatistics;
-      customTracksDefinition = serieData.customTracksDefinition;
+         _customTracks = serieData.customTracks;
+         _customTracksStatistics = serieData.customTracksStatistics;
+         customTracksDefinition = serieData.customTracksDefinition;
+      }
 
       // running dynamics
-      runDyn_StanceTime             = serieData.runDyn_StanceTime;
-      runDyn_StanceTimeBalance      = serieData.runDyn_StanceTimeBalance;
-      runDyn_StepLength             = serieData.runDyn_StepLength;
-      runDyn_VerticalOscillation    = serieData.runDyn_VerticalOscillation;
-      runDyn_VerticalRatio          = serieData.runDyn_VerticalRatio;
+      if (allSerieKinds.contains(SerieKind.RUNNING_DYNAMICS)) {
+
+         runDyn_StanceTime             = serieData.runDyn_StanceTime;
+         runDyn_StanceTimeBalance      = serieData.runDyn_StanceTimeBalance;
+         runDyn_StepLength             = serieData.runDyn_StepLength;
+         runDyn_VerticalOscillation    = serieData.runDyn_VerticalOscillation;
+         runDyn_VerticalRatio          = serieData.runDyn_VerticalRatio;
+      }
 
       // swimming
-      swim_LengthType               = serieData.swim_LengthType;
-      swim_Cadence                  = serieData.swim_Cadence;
-      swim_Strokes                  = serieData.swim_Strokes;
-      swim_StrokeStyle              = serieData.swim_StrokeStyle;
-      swim_Time                     = serieData.swim_Time;
+      if (allSerieKinds.contains(SerieKind.SWIMMING)) {
+
+         swim_LengthType               = serieData.swim_LengthType;
+         swim_Cadence                  = serieData.swim_Cadence;
+         swim_Strokes                  = serieData.swim_Strokes;
+         swim_StrokeStyle              = serieData.swim_StrokeStyle;
+         swim_Time                     = serieData.swim_Time;
+      }
 
       // currently only surfing data can be made visible/hidden
-      visibleDataPointSerie         = serieData.visiblePoints_Surfing;
+      if (allSerieKinds.contains(SerieKind.SURFING)) {
+
+         visibleDataPointSerie         = serieData.visiblePoints_Surfing;
+      }
 
       // battery
-      battery_Percentage            = serieData.battery_Percentage;
-      battery_Time                  = serieData.battery_Time;
+      if (allSerieKinds.contains(SerieKind.BATTERY)) {
 
+         battery_Percentage            = serieData.battery_Percentage;
+         battery_Time                  = serieData.battery_Time;
+      }
 
       // radar
-      radar_PassedVehicles          = serieData.radar_PassedVehicles;
-      radar_DistanceToVehicle       = serieData.radar_DistanceToVehicle;
-      radar_PassingSpeed_Absolute   = serieData.radar_PassingSpeed_Absolute;
-      radar_PassingSpeed_Relative   = serieData.radar_PassingSpeed_Relative;
+      if (allSerieKinds.contains(SerieKind.RADAR)) {
 
-      // photo
-      tourPhotosWithPositionedGeo   = serieData.getTourPhotosWithPositionedGeo();
-      computeGeo_Photos();
+         radar_PassedVehicles          = serieData.radar_PassedVehicles;
+         radar_DistanceToVehicle       = serieData.radar_DistanceToVehicle;
+         radar_PassingSpeed_Absolute   = serieData.radar_PassingSpeed_Absolute;
+         radar_PassingSpeed_Relative   = serieData.radar_PassingSpeed_Relative;
+      }
+
+      // photo, the geo positions are interpolated from the lat/lon series
+      if (allSerieKinds.contains(SerieKind.PHOTOS)) {
+
+         tourPhotosWithPositionedGeo   = serieData.getTourPhotosWithPositionedGeo();
+      }
+
+      if (allSerieKinds.contains(SerieKind.PHOTOS) || allSerieKinds.contains(SerieKind.LATITUDE_LONGITUDE)) {
+
+         final Set<SerieKind> allDecodedSerieKinds = serieData.getDecodedSerieKinds();
+
+         if (allDecodedSerieKinds.contains(SerieKind.PHOTOS) && allDecodedSerieKinds.contains(SerieKind.LATITUDE_LONGITUDE)) {
+            computeGeo_Photos();
+         }
+      }
 
 // SET_FORMATTING_ON
 
@@ -13242,6 +13854,9 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
     */
    public void onPrePersist() {
 
+      // a partially loaded tour would lose the not loaded data series
+      loadDataSeries(SerieKind.ALL);
+
       /*
        * Create new data series
        */
@@ -13419,6 +14034,46 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       return true;
    }
 
+   /**
+    * Replaces all old values with the new value
+    *
+    * @param values
+    * @param oldValue
+    * @param newValue
+    *
+    * @return Returns the same array with the replaced values
+    */
+   private float[] replaceValues(final float[] values, final float oldValue, final float newValue) {
+
+      for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+         if (values[valueIndex] == oldValue) {
+            values[valueIndex] = newValue;
+         }
+      }
+
+      return values;
+   }
+
+   /**
+    * Replaces all old values with the new value
+    *
+    * @param values
+    * @param oldValue
+    * @param newValue
+    *
+    * @return Returns the same array with the replaced values
+    */
+   private short[] replaceValues(final short[] values, final short oldValue, final short newValue) {
+
+      for (int valueIndex = 0; valueIndex < values.length; valueIndex++) {
+         if (values[valueIndex] == oldValue) {
+            values[valueIndex] = newValue;
+         }
+      }
+
+      return values;
+   }
+
    /**
     * Reset sorted markers that they are sorted again
     */
@@ -13988,6 +14643,18 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       this.isWeatherDataFromProvider = isWeatherDataFromProvider;
    }
 
+   /**
+    * Set map geometry which is cached
+    *
+    * @param mapGeometry
+    * @param zoomLevel
+    * @param projectionHash
+    */
+   public void setMapGeometry(final TourMapGeometry mapGeometry, final int zoomLevel, final int projectionHash) {
+
+      _tourMapGeometry.put(projectionHash + zoomLevel, mapGeometry);
+   }
+
    /**
     * Used for MT import/export
     */
@@ -14469,11 +15136,6 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       this.temperatureScale = temperatureScale;
    }
 
-   public void setTileHashes_ForTours(final IntHashSet tileHashes, final int mapZoomLevel, final int projectionHash) {
-
-      _tileHashes_Tours.put(projectionHash + mapZoomLevel, tileHashes);
-   }
-
    public void setTimeSerieDouble(final double[] timeSerieDouble) {
       this.timeSerieDouble = timeSerieDouble;
    }
@@ -15686,18 +16348,6 @@ public class TourData implements Comparable<Object>, IXmlSerializable, Serializa
       this.weather_Wind_Speed = weatherWindSpeed;
    }
 
-   /**
-    * Set world positions which are cached
-    *
-    * @param worldPositions
-    * @param zoomLevel
-    * @param projectionHash
-    */
-   public void setWorldPixelForTour(final Point[] worldPositions, final int zoomLevel, final int projectionHash) {
-
-      _tourWorldPosition.put(projectionHash + zoomLevel, worldPositions);
-   }
-
    @Override
    public String toString() {
 
@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import net.tourbook.Messages;
+import net.tourbook.application.TourbookPlugin;
+import net.tourbook.common.UI;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.common.util.StringUtils;
+import net.tourbook.common.util.Util;
+import net.tourbook.data.TourData;
+import net.tourbook.preferences.ITourbookPreferences;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Computes tour values with an {@link IComputeTourValues} for many tours.
+ * <p>
+ * Tours are loaded from the database and computed concurrently, the computed tours are saved in
+ * the sequence of the tour ID list by the calling thread. When the runner is not
+ * {@link IComputeTourValues#isConcurrent()}, the tours are computed also in the calling thread.
+ * Multiple tours are saved in one transaction, the size of a batch is set in
+ * {@link ITourbookPreferences#COMPUTE_TOUR_VALUES_BATCH_SIZE}.
+ * <p>
+ * When all tours are computed and the computation is canceled, the last saved tour is kept in the
+ * pref store, so that the computation can be continued with the next tour.
+ */
+class ComputeTourValuesPipeline {
+
+   /**
+    * Max number of tours which are loaded or computed for each thread, this limits the memory
+    * which is needed when saving is slower than computing
+    */
+   private static final int                MAX_QUEUED_TOURS_PER_THREAD = 4;
+
+   private static final IPreferenceStore   _prefStore                  = TourbookPlugin.getPrefStore();
+
+   private static final ThreadPoolExecutor _computeExecutor;
+
+   static {
+
+      final ThreadFactory computeThreadFactory = runnable -> {
+
+         final Thread thread = new Thread(runnable, "Computing tour values");//$NON-NLS-1$
+
+         thread.setPriority(Thread.MIN_PRIORITY);
+         thread.setDaemon(true);
+
+         return thread;
+      };
+
+      _computeExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(Util.NUMBER_OF_PROCESSORS, computeThreadFactory);
+   }
+
+   private final IComputeTourValues _computeValuesRunner;
+   private final List<Long>         _allTourIds;
+
+   /**
+    * When <code>true</code> then the last saved tour is kept when the computation is canceled
+    */
+   private final boolean            _isResumeSupported;
+   private final int                _batchSize;
+
+   private int                      _numSavedTours;
+   private boolean                  _isCanceled;
+
+   /**
+    * Tour which is loaded and computed
+    *
+    * @param tourId
+    * @param computedTourData
+    *           Is <code>null</code> when the tour was not modified
+    * @param allOldPeriods
+    *           Statistic periods of the tour before it was computed, the tour date could be
+    *           modified
+    */
+   private record ComputedTour(Long tourId, TourData computedTourData, List<TourStatisticRollup.Period> allOldPeriods) {}
+
+   /**
+    * @param computeValuesRunner
+    * @param allTourIds
+    *           Tour ID's which should be computed
+    * @param isResumeSupported
+    *           When <code>true</code>, the tour ID's must be sorted ascending
+    */
+   ComputeTourValuesPipeline(final IComputeTourValues computeValuesRunner,
+                             final List<Long> allTourIds,
+                             final boolean isResumeSupported) {
+
+      _computeValuesRunner = computeValuesRunner;
+      _allTourIds = allTourIds;
+      _isResumeSupported = isResumeSupported;
+
+      _batchSize = Math.max(1, _prefStore.getInt(ITourbookPreferences.COMPUTE_TOUR_VALUES_BATCH_SIZE));
+   }
+
+   /**
+    * Removes the resume state of a canceled computation
+    */
+   static void clearResumeState() {
+
+      _prefStore.setValue(ITourbookPreferences.COMPUTE_TOUR_VALUES_RESUME_RUNNER, UI.EMPTY_STRING);
+      _prefStore.setValue(ITourbookPreferences.COMPUTE_TOUR_VALUES_RESUME_TOUR_ID, -1L);
+   }
+
+   /**
+    * @param computeValuesRunner
+    *
+    * @return Returns the ID of the last saved tour of a canceled computation with the same
+    *         runner or <code>-1</code> when the computation cannot be resumed
+    */
+   static long getResumeTourId(final IComputeTourValues computeValuesRunner) {
+
+      final String resumeRunner = _prefStore.getString(ITourbookPreferences.COMPUTE_TOUR_VALUES_RESUME_RUNNER);
+
+      if (computeValuesRunner.getClass().getName().equals(resumeRunner) == false) {
+         return -1;
+      }
+
+      return _prefStore.getLong(ITourbookPreferences.COMPUTE_TOUR_VALUES_RESUME_TOUR_ID);
+   }
+
+   private static void setResumeState(final IComputeTourValues computeValuesRunner, final long lastSavedTourId) {
+
+      _prefStore.setValue(ITourbookPreferences.COMPUTE_TOUR_VALUES_RESUME_RUNNER, computeValuesRunner.getClass().getName());
+      _prefStore.setValue(ITourbookPreferences.COMPUTE_TOUR_VALUES_RESUME_TOUR_ID, lastSavedTourId);
+   }
+
+   /**
+    * This is running in a worker thread
+    *
+    * @param tourId
+    *
+    * @return
+    */
+   private ComputedTour computeTour(final Long tourId) {
+
+      final TourData dbTourData = TourDatabase.getTourFromDb(tourId);
+
+      if (dbTourData == null) {
+         return new ComputedTour(tourId, null, null);
+      }
+
+      final List<TourStatisticRollup.Period> allOldPeriods = TourStatisticRollup.getPeriods(dbTourData);
+
+      if (_computeValuesRunner.computeTourValues(dbTourData)) {
+
+         // ensure that all computed values are set
+         dbTourData.computeComputedValues();
+
+         return new ComputedTour(tourId, dbTourData, allOldPeriods);
+      }
+
+      return new ComputedTour(tourId, null, null);
+   }
+
+   /**
+    * @return Returns the number of tours which are computed and saved
+    */
+   int getNumSavedTours() {
+      return _numSavedTours;
+   }
+
+   boolean isCanceled() {
+      return _isCanceled;
+   }
+
+   /**
+    * Computes all tours, this is running in the thread of the progress monitor which is also
+    * saving the tours.
+    *
+    * @param monitor
+    */
+   void run(final IProgressMonitor monitor) {
+
+      final int numAllTours = _allTourIds.size();
+      final boolean isConcurrent = _computeValuesRunner.isConcurrent();
+      final int maxQueuedTours = isConcurrent
+            ? Util.NUMBER_OF_PROCESSORS * MAX_QUEUED_TOURS_PER_THREAD
+            : 1;
+
+      @SuppressWarnings("unchecked")
+      final Future<ComputedTour>[] allComputeTasks = new Future[numAllTours];
+
+      final List<ComputedTour> allBatchTours = new ArrayList<>(_batchSize);
+
+      final long startTime = System.currentTimeMillis();
+      long lastUIUpdateTime = 0;
+
+      int nextSubmitIndex = 0;
+      String runnerSubTaskText = null;
+
+      monitor.beginTask(Messages.tour_database_computeComputeValues_mainTask, numAllTours);
+
+      for (int tourIndex = 0; tourIndex < numAllTours; tourIndex++) {
+
+         // keep the workers busy but do not load more tours than needed
+         while (nextSubmitIndex < numAllTours && nextSubmitIndex < tourIndex + maxQueuedTours) {
+
+            final Long tourId = _allTourIds.get(nextSubmitIndex);
+
+            if (isConcurrent) {
+
+               allComputeTasks[nextSubmitIndex++] = _computeExecutor.submit(() -> computeTour(tourId));
+
+            } else {
+
+               final FutureTask<ComputedTour> computeTask = new FutureTask<>(() -> computeTour(tourId));
+
+               // compute in this thread
+               computeTask.run();
+
+               allComputeTasks[nextSubmitIndex++] = computeTask;
+            }
+         }
+
+         final ComputedTour computedTour = waitForComputedTour(allComputeTasks[tourIndex], _allTourIds.get(tourIndex));
+
+         // release the tour data
+         allComputeTasks[tourIndex] = null;
+
+         allBatchTours.add(computedTour);
+
+         if (allBatchTours.size() >= _batchSize) {
+            runnerSubTaskText = saveTours(allBatchTours);
+         }
+
+         monitor.worked(1);
+
+         final int numComputedTours = tourIndex + 1;
+
+         final long currentTime = System.currentTimeMillis();
+         if (currentTime > lastUIUpdateTime + 200) {
+
+            lastUIUpdateTime = currentTime;
+
+            final long duration = Math.max(1, currentTime - startTime);
+
+            // create sub task text
+            final StringBuilder sb = new StringBuilder();
+
+            // append: Processed tours: {0} of {1}
+            sb.append(NLS.bind(Messages.tour_database_computeComputeValues_subTask,
+                  numComputedTours,
+                  numAllTours));
+
+            // append: % of performed task
+            sb.append(UI.DASH_WITH_DOUBLE_SPACE);
+            sb.append(numComputedTours * 100 / numAllTours);
+            sb.append(UI.SYMBOL_PERCENTAGE);
+
+            // append: {0} tours/s
+            sb.append(UI.DASH_WITH_DOUBLE_SPACE);
+            sb.append(NLS.bind(Messages.tour_database_computeComputeValues_subTask_ToursPerSecond,
+                  numComputedTours * 1000L / duration));
+
+            // append subsubtask text when available
+            if (StringUtils.hasContent(runnerSubTaskText)) {
+               sb.append(UI.DASH_WITH_DOUBLE_SPACE);
+               sb.append(runnerSubTaskText);
+            }
+
+            monitor.subTask(sb.toString());
+         }
+
+         // check if canceled
+         if (monitor.isCanceled()) {
+
+            _isCanceled = true;
+
+            // tours which are not yet computed are ignored
+            for (int taskIndex = tourIndex + 1; taskIndex < nextSubmitIndex; taskIndex++) {
+
+               allComputeTasks[taskIndex].cancel(false);
+               allComputeTasks[taskIndex] = null;
+            }
+
+            break;
+         }
+      }
+
+      // save remaining tours, also when canceled that the already computed values are not lost
+      saveTours(allBatchTours);
+
+      if (_isResumeSupported) {
+
+         if (_isCanceled && _numSavedTours > 0) {
+
+            setResumeState(_computeValuesRunner, _allTourIds.get(_numSavedTours - 1));
+
+         } else if (_isCanceled == false) {
+
+            clearResumeState();
+         }
+      }
+   }
+
+   /**
+    * Saves all modified tours of a batch in one transaction
+    *
+    * @param allBatchTours
+    *
+    * @return Returns the sub task text of the runner for the last tour in the batch
+    */
+   private String saveTours(final List<ComputedTour> allBatchTours) {
+
+      if (allBatchTours.isEmpty()) {
+         return null;
+      }
+
+      final List<TourData> allModifiedTours = new ArrayList<>();
+
+      for (final ComputedTour computedTour : allBatchTours) {
+
+         if (computedTour.computedTourData != null) {
+
+            allModifiedTours.add(computedTour.computedTourData);
+
+            // the rollup of the old periods must also be computed again when the tour date is modified
+            TourStatisticRollup.setPeriodsModified(computedTour.allOldPeriods);
+         }
+      }
+
+      final List<TourData> allSavedTours = TourDatabase.saveTour_Batch(allModifiedTours);
+
+      String runnerSubTaskText = null;
+      int savedTourIndex = 0;
+
+      for (final ComputedTour computedTour : allBatchTours) {
+
+         final TourData savedTourData = computedTour.computedTourData == null
+               ? null
+               : allSavedTours.get(savedTourIndex++);
+
+         /*
+          * This must be called for every tour because it can compute values ! ! !
+          */
+         runnerSubTaskText = _computeValuesRunner.getSubTaskText(savedTourData);
+      }
+
+      _numSavedTours += allBatchTours.size();
+
+      allBatchTours.clear();
+
+      return runnerSubTaskText;
+   }
+
+   /**
+    * @param computeTask
+    * @param tourId
+    *
+    * @return Returns the computed tour, when computing fails, the tour is not modified
+    */
+   private ComputedTour waitForComputedTour(final Future<ComputedTour> computeTask, final Long tourId) {
+
+      try {
+
+         return computeTask.get();
+
+      } catch (final InterruptedException e) {
+
+         Thread.currentThread().interrupt();
+
+      } catch (final ExecutionException | CancellationException e) {
+
+         StatusUtil.logError("Cannot compute values for tour " + tourId);//$NON-NLS-1$
+         StatusUtil.log(e);
+      }
+
+      return new ComputedTour(tourId, null, null);
+   }
+}
@@ -23,6 +23,9 @@ import net.tourbook.data.TourData;
 public interface IComputeTourValues {
 
 	/**
+	 * This method is called concurrently from different threads when {@link #isConcurrent()}
+	 * returns <code>true</code>, values which are shared between tours must be updated thread safe.
+	 *
 	 * @param originalTourData
 	 *            {@link TourData} which is not yet modified
 	 * @return Returns <code>true</code> when {@link TourData} was modified and the tour needs to be
@@ -37,9 +40,21 @@ public interface IComputeTourValues {
 	public String getResultText();
 
 	/**
+	 * This method is called in the sequence of the computed tours from only one thread.
+	 *
 	 * @param savedTourData
+	 *            Is <code>null</code> when the tour was not modified or could not be saved
 	 * @return Returns the text which should be displayed in the progress bar when one tour was
 	 *         computed
 	 */
 	public String getSubTaskText(TourData savedTourData);
+
+	/**
+	 * @return Returns <code>true</code> when {@link #computeTourValues(TourData)} can be called
+	 *         concurrently, otherwise the tours are computed one after the other in the thread
+	 *         which is saving the tours, e.g. when the tour is also saved in the computation
+	 */
+	public default boolean isConcurrent() {
+		return true;
+	}
 }
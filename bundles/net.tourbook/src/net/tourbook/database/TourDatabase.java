@@ -20,7 +20,11 @@ import com.mchange.v2.c3p0.ComboPooledDataSource;
 import com.skedgo.converter.TimezoneMapper;
 
 import java.beans.PropertyVetoException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.InetAddress;
 import java.net.URL;
@@ -71,6 +75,10 @@ import net.tourbook.data.DeviceSensor;
 import net.tourbook.data.DeviceSensorValue;
 import net.tourbook.data.Equipment;
 import net.tourbook.data.EquipmentPart;
+import net.tourbook.data.SerieData;
+import net.tourbook.data.SerieDataBlob;
+import net.tourbook.data.SerieDataCodec;
+import net.tourbook.data.SerieKind;
 import net.tourbook.data.TourBeverageContainer;
 import net.tourbook.data.TourBike;
 import net.tourbook.data.TourData;
@@ -86,11 +94,13 @@ import net.tourbook.data.TourTagCategory;
 import net.tourbook.data.TourType;
 import net.tourbook.data.TourWayPoint;
 import net.tourbook.equipment.EquipmentManager;
+import net.tourbook.importdata.ImportFileIndex;
 import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.search.FTSearchManager;
 import net.tourbook.tag.TagCollection;
 import net.tourbook.tour.TourLogManager;
 import net.tourbook.tour.TourManager;
+import net.tourbook.tour.location.TourLocationIndex;
 import net.tourbook.tourType.TourTypeImage;
 import net.tourbook.ui.AppFilter;
 import net.tourbook.ui.TourTypeFilter;
@@ -125,8 +135,11 @@ public class TourDatabase {
     * <li>/net.tourbook.export/format-templates/mt-1.0.vm</li>
     * <li>net.tourbook.device.mt.MT_StAXHandler</li>
     */
-   private static final int TOURBOOK_DB_VERSION = 61;
+   private static final int TOURBOOK_DB_VERSION = 64;
 
+//   private static final int TOURBOOK_DB_VERSION = 64; // 26.3+ statistic rollup
+//   private static final int TOURBOOK_DB_VERSION = 63; // 26.3+ normalized geo data
+//   private static final int TOURBOOK_DB_VERSION = 62; // 26.3+ columnar serie data
 //   private static final int TOURBOOK_DB_VERSION = 61; // 26.3+
 
 //   private static final int TOURBOOK_DB_VERSION = 60; // 26.3
@@ -227,6 +240,7 @@ public class TourDatabase {
    public static final String  TABLE_TOUR_COMPARED                        = "TOURCOMPARED";                                          //$NON-NLS-1$
    public static final String  TABLE_TOUR_DATA                            = "TOURDATA";                                              //$NON-NLS-1$
    public static final String  TABLE_TOUR_NUTRITION_PRODUCT               = "TOURNUTRITIONPRODUCT";                                  //$NON-NLS-1$
+   public static final String  TABLE_TOUR_GEO_NORMALIZED                  = "TourGeoNormalized";                                     //$NON-NLS-1$
    public static final String  TABLE_TOUR_GEO_PARTS                       = "TourGeoParts";                                          //$NON-NLS-1$
    public static final String  TABLE_TOUR_LOCATION                        = "TourLocation";                                          //$NON-NLS-1$
    public static final String  TABLE_TOUR_MARKER                          = "TOURMARKER";                                            //$NON-NLS-1$
@@ -235,6 +249,7 @@ public class TourDatabase {
    public static final String  TABLE_TOUR_PERSON_HRZONE                   = "TOURPERSONHRZONE";                                      //$NON-NLS-1$
    public static final String  TABLE_TOUR_PHOTO                           = "TOURPHOTO";                                             //$NON-NLS-1$
    public static final String  TABLE_TOUR_REFERENCE                       = "TOURREFERENCE";                                         //$NON-NLS-1$
+   public static final String  TABLE_TOUR_STATISTIC_ROLLUP                = "TourStatisticRollup";                                   //$NON-NLS-1$
    public static final String  TABLE_TOUR_TAG                             = "TOURTAG";                                               //$NON-NLS-1$
    public static final String  TABLE_TOUR_TAG_CATEGORY                    = "TOURTAGCATEGORY";                                       //$NON-NLS-1$
    public static final String  TABLE_TOUR_TYPE                            = "TOURTYPE";                                              //$NON-NLS-1$
@@ -1087,94 +1102,53 @@ public class TourDatabase {
    public static boolean computeAnyValues_ForAllTours(final IComputeTourValues computeValuesRunner,
                                                       final List<Long> tourIds) {
 
-      final int[] tourCounter = new int[] { 0 };
-      final int[] tourListSize = new int[] { 0 };
-      final boolean[] isCanceled = new boolean[] { false };
-
-      /*
-       * Runnable to compute values
-       */
-      final IRunnableWithProgress runnable = new IRunnableWithProgress() {
-         @Override
-         public void run(final IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
-
-            List<Long> allTourIds;
-            if (tourIds == null) {
-               allTourIds = getAllTourIds();
-            } else {
-               allTourIds = tourIds;
-            }
-            tourListSize[0] = allTourIds.size();
-
-            long lastUIUpdateTime = 0;
+      final Shell shell = Display.getDefault().getActiveShell();
 
-            monitor.beginTask(Messages.tour_database_computeComputeValues_mainTask, allTourIds.size());
+      List<Long> allTourIds;
+      boolean isResumeSupported = false;
 
-            // loop over all tours and compute values
-            for (final Long tourId : allTourIds) {
+      if (tourIds == null) {
 
-               final TourData dbTourData = getTourFromDb(tourId);
-               TourData savedTourData = null;
+         // sort tours by ID that a canceled computation can be continued after the last saved tour
+         allTourIds = getAllTourIds();
+         Collections.sort(allTourIds);
 
-               if (dbTourData != null) {
-                  if (computeValuesRunner.computeTourValues(dbTourData)) {
+         isResumeSupported = true;
 
-                     // ensure that all computed values are set
-                     dbTourData.computeComputedValues();
+         final long resumeTourId = ComputeTourValuesPipeline.getResumeTourId(computeValuesRunner);
+         if (resumeTourId != -1) {
 
-                     savedTourData = saveTour(dbTourData, false);
-                  }
-               }
+            final List<Long> allRemainingTourIds = allTourIds.stream()
+                  .filter(tourId -> tourId > resumeTourId)
+                  .toList();
 
-               tourCounter[0]++;
+            if (MessageDialog.openQuestion(shell,
+                  Messages.tour_database_computeComputeValues_mainTask,
+                  NLS.bind(Messages.tour_database_computeComputeValues_Dialog_Resume_Message,
+                        allTourIds.size() - allRemainingTourIds.size(),
+                        allTourIds.size()))) {
 
-               /*
-                * This must be called in every iteration because it can compute values ! ! !
-                */
-               final String runnerSubTaskText = computeValuesRunner.getSubTaskText(savedTourData);
-
-               final long currentTime = System.currentTimeMillis();
-               if (currentTime > lastUIUpdateTime + 200) {
-
-                  lastUIUpdateTime = currentTime;
-
-                  // create sub task text
-                  final StringBuilder sb = new StringBuilder();
+               allTourIds = allRemainingTourIds;
 
-                  // append: Processed tours: {0} of {1}
-                  sb.append(NLS.bind(Messages.tour_database_computeComputeValues_subTask,
-                        tourCounter[0],
-                        tourListSize[0]));
-
-                  // append: % of performed task
-                  sb.append(UI.DASH_WITH_DOUBLE_SPACE);
-                  sb.append(tourCounter[0] * 100 / tourListSize[0]);
-                  sb.append(UI.SYMBOL_PERCENTAGE);
-
-                  // append subsubtask text when available
-                  if (StringUtils.hasContent(runnerSubTaskText)) {
-                     sb.append(UI.DASH_WITH_DOUBLE_SPACE);
-                     sb.append(runnerSubTaskText);
-                  }
-
-                  monitor.subTask(sb.toString());
-               }
-               monitor.worked(1);
+            } else {
 
-               // check if canceled
-               if (monitor.isCanceled()) {
-                  isCanceled[0] = true;
-                  break;
-               }
+               ComputeTourValuesPipeline.clearResumeState();
             }
          }
-      };
 
-      final Shell shell = Display.getDefault().getActiveShell();
+      } else {
+
+         allTourIds = tourIds;
+      }
+
+      final ComputeTourValuesPipeline computePipeline = new ComputeTourValuesPipeline(
+            computeValuesRunner,
+            allTourIds,
+            isResumeSupported);
 
       try {
 
-         new ProgressMonitorDialog(shell).run(true, true, runnable);
+         new ProgressMonitorDialog(shell).run(true, true, monitor -> computePipeline.run(monitor));
 
       } catch (final InvocationTargetException | InterruptedException e) {
          e.printStackTrace();
@@ -1183,8 +1157,8 @@ public class TourDatabase {
          // create result text
          final StringBuilder sb = new StringBuilder();
          sb.append(NLS.bind(Messages.tour_database_computeComputedValues_resultMessage,
-               tourCounter[0],
-               tourListSize[0]));
+               computePipeline.getNumSavedTours(),
+               allTourIds.size()));
 
          final String runnerResultText = computeValuesRunner.getResultText();
          if (runnerResultText != null) {
@@ -1198,7 +1172,7 @@ public class TourDatabase {
                sb.toString());
       }
 
-      return isCanceled[0];
+      return computePipeline.isCanceled();
    }
 
    private static void computeAnyValues_ForAllTours(final SplashManager splashManager) {
@@ -1290,6 +1264,8 @@ public class TourDatabase {
 
                      stmtUpdate.executeUpdate();
 
+                     TourStatisticRollup.setPeriodsModified(TourStatisticRollup.getPeriods(dbTourData));
+
 //                     numComputedTour++;
 
                   } else {
@@ -1324,6 +1300,8 @@ public class TourDatabase {
                   break;
                }
             }
+
+            TourStatisticRollup.updateModifiedPeriods();
          }
       };
 
@@ -1373,6 +1351,17 @@ public class TourDatabase {
 
       boolean isTourRemovedFromEJB = false;
 
+      // get the statistic periods before the tour is removed
+      final List<TourStatisticRollup.Period> allTourPeriods = new ArrayList<>();
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+         allTourPeriods.addAll(TourStatisticRollup.getPeriods(conn, tourId));
+
+      } catch (final SQLException e) {
+         UI.showSQLException(e);
+      }
+
       final EntityManager em = TourDatabase.getInstance().getEntityManager();
       final EntityTransaction ts = em.getTransaction();
 
@@ -1411,7 +1400,14 @@ public class TourDatabase {
 
          FTSearchManager.deleteTourFromIndex(tourId);
 
+         TourStatisticRollup.setPeriodsModified(allTourPeriods);
+         TourStatisticRollup.updateModifiedPeriods();
+
          TourManager.getInstance().removeTourFromCache(tourId);
+
+         // the import file of the deleted tour is not imported anymore, the index is saved when
+         // all tours are deleted
+         ImportFileIndex.removeTour(tourId);
       }
 
       return true;
@@ -1447,6 +1443,7 @@ public class TourDatabase {
             "DELETE FROM " + JOINTABLE__TOURDATA__EQUIPMENT + sqlWhere_TourData_TourId,   //$NON-NLS-1$
             "DELETE FROM " + TABLE_TOUR_COMPARED            + sqlWhere_TourId,            //$NON-NLS-1$
             "DELETE FROM " + TABLE_TOUR_GEO_PARTS           + sqlWhere_TourId,            //$NON-NLS-1$
+            "DELETE FROM " + TABLE_TOUR_GEO_NORMALIZED      + sqlWhere_TourId,            //$NON-NLS-1$
          };
 
 // SET_FORMATTING_ON
@@ -1461,6 +1458,8 @@ public class TourDatabase {
             prepStmt.close();
          }
 
+         TourGeoPartIndex.getInstance().removeTour(tourId);
+
       } catch (final SQLException e) {
          System.out.println(sql);
          UI.showSQLException(e);
@@ -1692,22 +1691,17 @@ public class TourDatabase {
    }
 
    /**
-    * @return Returns tour id's which are filtered by the fast app tour filter.
-    *         <p>
-    *         <b>Fast app tour filter</b>
-    *         <p>
-    *         Contains all app tour filters which are performed very fast, e.g. person, tour type.
-    *         This filter do not contain e.g. geo compare or tag filters
+    * @param appFilter
+    *
+    * @return Returns all tour id's which are filtered with the app filter, sorted by the tour start
+    *         time
     */
-   public static ArrayList<Long> getAllTourIds_WithFastAppFilter() {
+   public static ArrayList<Long> getAllTourIds_WithAppFilter(final AppFilter appFilter) {
 
       final ArrayList<Long> tourIds = new ArrayList<>();
 
       try (Connection conn = getInstance().getConnection()) {
 
-         // get app filter without geo location
-         final AppFilter appFilter = new AppFilter(AppFilter.ONLY_FAST_APP_FILTERS);
-
          final String sql = UI.EMPTY_STRING
 
                + "SELECT tourId" + NL //                                   //$NON-NLS-1$
@@ -1733,6 +1727,20 @@ public class TourDatabase {
       return tourIds;
    }
 
+   /**
+    * @return Returns tour id's which are filtered by the fast app tour filter.
+    *         <p>
+    *         <b>Fast app tour filter</b>
+    *         <p>
+    *         Contains all app tour filters which are performed very fast, e.g. person, tour type.
+    *         This filter do not contain e.g. geo compare or tag filters
+    */
+   public static ArrayList<Long> getAllTourIds_WithFastAppFilter() {
+
+      // get app filter without geo location
+      return getAllTourIds_WithAppFilter(new AppFilter(AppFilter.ONLY_FAST_APP_FILTERS));
+   }
+
    /**
     * @return Returns the backend of all tour marker types which are stored in the database sorted
     *         by name.
@@ -2616,6 +2624,33 @@ public class TourDatabase {
       return tourData;
    }
 
+   /**
+    * Get a tour from the database where only the requested data series are decoded, the other
+    * data series are decoded with {@link TourData#loadDataSeries(Set)}
+    *
+    * @param tourId
+    * @param allSerieKinds
+    *
+    * @return Returns the tour data or <code>null</code> if the tour is not in the database
+    */
+   public static TourData getTourFromDb(final Long tourId, final Set<SerieKind> allSerieKinds) {
+
+      final EntityManager em = TourDatabase.getInstance().getEntityManager();
+
+      SerieDataBlob.setDecodeProjection(allSerieKinds);
+
+      try {
+
+         return em.find(TourData.class, tourId);
+
+      } finally {
+
+         SerieDataBlob.setDecodeProjection(null);
+
+         em.close();
+      }
+   }
+
    public static TourLocation getTourLocation(final double latitude, final double longitude, final int zoomlevel) {
 
       final int latitudeE6 = Util.convertDouble_ToE6(latitude);
@@ -2625,7 +2660,9 @@ public class TourDatabase {
    }
 
    /**
-    * Searches for a tour location which is within all saved bounding boxes
+    * Searches for a tour location which is within all saved bounding boxes, the locations are
+    * searched in the {@link TourLocationIndex} that the database is not locked. When the index is
+    * not available, then the locations are searched in the database.
     *
     * @param latitudeE6
     * @param longitudeE6
@@ -2635,12 +2672,73 @@ public class TourDatabase {
     */
    private static TourLocation getTourLocation(final int latitudeE6, final int longitudeE6, final int zoomlevel) {
 
-      TourLocation dbTourLocation = null;
-
       // convert possible negative values into positive values to make math easier
       final int latitudeE6_Normalized = latitudeE6 + 90_000_000;
       final int longitudeE6_Normalized = longitudeE6 + 180_000_000;
 
+      if (TourLocationIndex.isAvailable() == false) {
+         return getTourLocation_FromDatabase(latitudeE6_Normalized, longitudeE6_Normalized, zoomlevel);
+      }
+
+      while (true) {
+
+         final long locationId = TourLocationIndex.getLocationId(latitudeE6_Normalized, longitudeE6_Normalized, zoomlevel);
+
+         if (locationId == ENTITY_IS_NOT_SAVED) {
+
+            // a new location will be created
+
+            return null;
+         }
+
+         TourLocation dbTourLocation = null;
+
+         final EntityManager em = TourDatabase.getInstance().getEntityManager();
+
+         try {
+
+            dbTourLocation = em.find(TourLocation.class, locationId);
+
+         } catch (final Exception e) {
+
+            StatusUtil.log(e);
+
+            return null;
+
+         } finally {
+
+            em.close();
+         }
+
+         if (dbTourLocation != null) {
+
+            // set transient values
+            dbTourLocation.setTransientValues();
+
+            return dbTourLocation;
+         }
+
+         // location is not available any more -> search again
+         TourLocationIndex.remove(locationId);
+      }
+   }
+
+   /**
+    * Searches for a tour location with a database query, this is used when the
+    * {@link TourLocationIndex} could not be loaded.
+    *
+    * @param latitudeE6_Normalized
+    * @param longitudeE6_Normalized
+    * @param zoomlevel
+    *
+    * @return
+    */
+   private static TourLocation getTourLocation_FromDatabase(final int latitudeE6_Normalized,
+                                                            final int longitudeE6_Normalized,
+                                                            final int zoomlevel) {
+
+      TourLocation dbTourLocation = null;
+
       synchronized (DB_LOCK) {
 
          final EntityManager em = TourDatabase.getInstance().getEntityManager();
@@ -2660,6 +2758,9 @@ public class TourDatabase {
                   + "   tourLocation.longitudeMaxE6_Resized_Normalized >= ? AND " + NL //    4  //$NON-NLS-1$
 
                   + "   tourLocation.zoomlevel >= ?" + NL //                                 5  //$NON-NLS-1$
+
+                  // the same location as in the index is used when several locations are found
+                  + " ORDER BY tourLocation.locationID" + NL //                                 //$NON-NLS-1$
             ;
 
             final Query emQuery = em.createQuery(sql);
@@ -2669,51 +2770,14 @@ public class TourDatabase {
             emQuery.setParameter(3, longitudeE6_Normalized);
             emQuery.setParameter(4, longitudeE6_Normalized);
             emQuery.setParameter(5, zoomlevel);
+            emQuery.setMaxResults(1);
 
             try {
 
                @SuppressWarnings("unchecked")
                final List<TourLocation> allDbTourLocations = emQuery.getResultList();
 
-               final int numLocations = allDbTourLocations.size();
-
-               if (numLocations == 0) {
-
-                  // a new location will be created
-
-               } else if (numLocations == 1) {
-
-                  dbTourLocation = allDbTourLocations.get(0);
-
-               } else {
-
-                  // numLocations > 1
-
-//                  for (final TourLocation dbTourLocation2 : allDbTourLocations) {
-//
-//                     final int latitudeMinE6_Normalized = dbTourLocation2.latitudeMinE6_Normalized;
-//                     final int latitudeMaxE6_Normalized = dbTourLocation2.latitudeMaxE6_Normalized;
-//                     final int longitudeMinE6_Normalized = dbTourLocation2.longitudeMinE6_Normalized;
-//                     final int longitudeMaxE6_Normalized = dbTourLocation2.longitudeMaxE6_Normalized;
-//
-//                     System.out.println("""
-//                           %s    %s
-//                           %s    %s
-//                           %s    %s     """.formatted( //$NON-NLS-1$
-//
-//                           FormatManager.formatNumber_0(latitudeMinE6_Normalized),
-//                           FormatManager.formatNumber_0(longitudeMinE6_Normalized),
-//
-//                           FormatManager.formatNumber_0(latitudeE6_Normalized),
-//                           FormatManager.formatNumber_0(longitudeE6_Normalized),
-//
-//                           FormatManager.formatNumber_0(latitudeMaxE6_Normalized),
-//                           FormatManager.formatNumber_0(longitudeMaxE6_Normalized) //
-//                     ));
-//                  }
-//
-//                  System.out.println("Found %d locations, using first location".formatted(allDbTourLocations.size()));
-
+               if (allDbTourLocations.size() > 0) {
                   dbTourLocation = allDbTourLocations.get(0);
                }
 
@@ -3400,6 +3464,8 @@ public class TourDatabase {
 
       TourData persistedEntity = null;
 
+      final List<TourStatisticRollup.Period> allOldTourPeriods = new ArrayList<>();
+
       if (em != null) {
 
          final EntityTransaction ts = em.getTransaction();
@@ -3425,6 +3491,9 @@ public class TourDatabase {
 
                } else {
 
+                  // the tour date could be modified
+                  allOldTourPeriods.addAll(TourStatisticRollup.getPeriods(tourDataEntity));
+
                   if (isUpdateModifiedDate) {
                      tourData.setDateTimeModified(dtSaved);
                   }
@@ -3458,12 +3527,157 @@ public class TourDatabase {
             StatusUtil.log(e);
          }
 
-         em.close();
+         em.close();
+
+         TourStatisticRollup.setPeriodsModified(allOldTourPeriods);
+
+         saveTour_PostSaveActions(persistedEntity, tourData);
+      }
+
+      return persistedEntity;
+   }
+
+   /**
+    * Persist multiple tours in one transaction, this is much faster than saving each tour
+    * separately. The modified date is not updated.
+    * <p>
+    * When the transaction fails, the tours are saved separately that one invalid tour do not
+    * prevent saving the other tours.
+    *
+    * @param allTourData
+    *
+    * @return Returns the persisted {@link TourData} for each tour in the same sequence, it is
+    *         <code>null</code> when saving this tour fails
+    */
+   public static List<TourData> saveTour_Batch(final List<TourData> allTourData) {
+
+      final List<TourData> allPersistedTours = new ArrayList<>();
+      final List<Long> allSavedTourIds = new ArrayList<>();
+
+      if (allTourData.isEmpty()) {
+         return allPersistedTours;
+      }
+
+      final boolean[] isValidTour = new boolean[allTourData.size()];
+      for (int tourIndex = 0; tourIndex < isValidTour.length; tourIndex++) {
+         isValidTour[tourIndex] = saveTour_PreSaveActions(allTourData.get(tourIndex));
+      }
+
+      boolean isCommitted = false;
+
+      final List<TourStatisticRollup.Period> allOldTourPeriods = new ArrayList<>();
+
+      EntityManager em = TourDatabase.getInstance().getEntityManager();
+
+      if (em != null) {
+
+         final EntityTransaction ts = em.getTransaction();
+
+         try {
+
+            ts.begin();
+            {
+               final long dtSaved = TimeTools.createdNowAsYMDhms();
+
+               for (int tourIndex = 0; tourIndex < isValidTour.length; tourIndex++) {
+
+                  if (isValidTour[tourIndex] == false) {
+                     continue;
+                  }
+
+                  final TourData tourData = allTourData.get(tourIndex);
+
+                  tourData.onPrePersist();
+
+                  final TourData tourDataEntity = em.find(TourData.class, tourData.getTourId());
+                  if (tourDataEntity == null) {
+
+                     // tour is not yet persisted
+
+                     tourData.setDateTimeCreated(dtSaved);
+
+                     em.persist(tourData);
+
+                  } else {
+
+                     allOldTourPeriods.addAll(TourStatisticRollup.getPeriods(tourDataEntity));
+
+                     em.merge(tourData);
+                  }
+               }
+            }
+            ts.commit();
+
+            isCommitted = true;
+
+         } catch (final Exception e) {
+
+            StatusUtil.log(e);
+
+         } finally {
+            if (ts.isActive()) {
+               ts.rollback();
+            }
+            em.close();
+         }
+      }
+
+      if (isCommitted) {
+
+         TourStatisticRollup.setPeriodsModified(allOldTourPeriods);
+
+         em = TourDatabase.getInstance().getEntityManager();
+
+         for (int tourIndex = 0; tourIndex < isValidTour.length; tourIndex++) {
+
+            TourData persistedEntity = null;
+
+            if (isValidTour[tourIndex]) {
+
+               final TourData tourData = allTourData.get(tourIndex);
+
+               try {
+
+                  persistedEntity = em.find(TourData.class, tourData.getTourId());
+
+               } catch (final Exception e) {
+                  StatusUtil.log(e);
+               }
+
+               if (persistedEntity != null) {
+
+                  saveTour_PostSaveActions_Concurrent_1_ForOneTour(persistedEntity, tourData);
+
+                  allSavedTourIds.add(persistedEntity.getTourId());
+               }
+            }
+
+            allPersistedTours.add(persistedEntity);
+         }
+
+         em.close();
+
+      } else {
+
+         // save each tour separately
+
+         for (int tourIndex = 0; tourIndex < isValidTour.length; tourIndex++) {
 
-         saveTour_PostSaveActions(persistedEntity, tourData);
+            final TourData persistedEntity = isValidTour[tourIndex]
+                  ? saveTour_Concurrent(allTourData.get(tourIndex), false)
+                  : null;
+
+            if (persistedEntity != null) {
+               allSavedTourIds.add(persistedEntity.getTourId());
+            }
+
+            allPersistedTours.add(persistedEntity);
+         }
       }
 
-      return persistedEntity;
+      saveTour_PostSaveActions_Concurrent_2_ForAllTours(allSavedTourIds);
+
+      return allPersistedTours;
    }
 
    /**
@@ -3486,6 +3700,8 @@ public class TourDatabase {
 
       TourData persistedEntity = null;
 
+      final List<TourStatisticRollup.Period> allOldTourPeriods = new ArrayList<>();
+
       if (em != null) {
 
          final EntityTransaction ts = em.getTransaction();
@@ -3512,6 +3728,9 @@ public class TourDatabase {
 
                } else {
 
+                  // the tour date could be modified
+                  allOldTourPeriods.addAll(TourStatisticRollup.getPeriods(dbTourData));
+
                   if (isUpdateModifiedDate) {
                      tourData.setDateTimeModified(dtSaved);
                   }
@@ -3538,6 +3757,10 @@ public class TourDatabase {
             em.close();
          }
 
+         if (persistedEntity != null) {
+            TourStatisticRollup.setPeriodsModified(allOldTourPeriods);
+         }
+
          // do post save actions for only ONE tour
          saveTour_PostSaveActions_Concurrent_1_ForOneTour(persistedEntity, tourData);
 
@@ -3556,6 +3779,7 @@ public class TourDatabase {
 //      final long startTime = System.nanoTime();
 
       PreparedStatement deleteStmt = null;
+      PreparedStatement deleteNormalizedStmt = null;
       PreparedStatement insertStmt = null;
 
       String sql = UI.EMPTY_STRING;
@@ -3575,6 +3799,15 @@ public class TourDatabase {
          deleteStmt.setLong(1, tourId);
          deleteStmt.execute();
 
+         /*
+          * Delete old normalized geo data, they are recreated when the tour is geo compared
+          */
+         sql = "DELETE FROM " + TABLE_TOUR_GEO_NORMALIZED + " WHERE tourId=?"; //$NON-NLS-1$ //$NON-NLS-2$
+
+         deleteNormalizedStmt = conn.prepareStatement(sql);
+         deleteNormalizedStmt.setLong(1, tourId);
+         deleteNormalizedStmt.execute();
+
          /*
           * Save new geo parts
           */
@@ -3604,10 +3837,13 @@ public class TourDatabase {
             conn.commit();
          }
 
+         TourGeoPartIndex.getInstance().setTourGeoParts(tourId, tourGeoParts);
+
       } catch (final SQLException e) {
          UI.showSQLException(e);
       } finally {
          Util.closeSql(deleteStmt);
+         Util.closeSql(deleteNormalizedStmt);
          Util.closeSql(insertStmt);
       }
 
@@ -3652,6 +3888,9 @@ public class TourDatabase {
       saveTour_GeoParts(persistedEntity);
       saveTour_KeepTransientValues(persistedEntity, oldTourData);
 
+      TourStatisticRollup.setPeriodsModified(TourStatisticRollup.getPeriods(persistedEntity));
+      TourStatisticRollup.updateModifiedPeriods();
+
       /*
        * Update ft index
        */
@@ -3676,10 +3915,14 @@ public class TourDatabase {
 
       saveTour_GeoParts(persistedEntity);
       saveTour_KeepTransientValues(persistedEntity, oldTourData);
+
+      // the statistic rollup is updated for all tours
+      TourStatisticRollup.setPeriodsModified(TourStatisticRollup.getPeriods(persistedEntity));
    }
 
    /**
-    * Perform concurrent actions after multiple tours are saved, e.g. update fulltext index
+    * Perform concurrent actions after multiple tours are saved, e.g. update fulltext index and
+    * statistic rollup
     *
     * @param allTourIDs
     */
@@ -3687,6 +3930,8 @@ public class TourDatabase {
 
       // do this expensive action only once for all tours
       FTSearchManager.updateIndex(allTourIDs);
+
+      TourStatisticRollup.updateModifiedPeriods();
    }
 
    /**
@@ -4147,6 +4392,8 @@ public class TourDatabase {
 
                appliedLocation = savedLocation;
 
+               TourLocationIndex.add(savedLocation);
+
                // force reload of cached tour locations
 //               clearTourTypes();
 //               TourManager.getInstance().clearTourDataCache();
@@ -4410,6 +4657,12 @@ public class TourDatabase {
          }
       }
 
+      if (isUpdated && isTableAvailable(conn, TABLE_TOUR_STATISTIC_ROLLUP)) {
+
+         // all weeks could be modified
+         TourStatisticRollup.rebuild(conn);
+      }
+
       return isUpdated;
    }
 
@@ -4543,6 +4796,24 @@ public class TourDatabase {
       exec(stmt, sql);
    }
 
+   /**
+    * Create index for {@link TourData} which is used when the {@link TourStatisticRollup} values of
+    * a week are computed again.
+    * <p>
+    * The tours of a year or month are selected with the index <code>YearMonth</code>, the person
+    * and tour type are only grouped and not filtered.
+    *
+    * @param stmt
+    *
+    * @throws SQLException
+    *
+    * @since Db version 64
+    */
+   private void createIndex_TourData_064(final Statement stmt) throws SQLException {
+
+      SQL.createIndex_Composite(stmt, TABLE_TOUR_DATA, "StartWeekYear", "StartWeek"); //$NON-NLS-1$ //$NON-NLS-2$
+   }
+
    private String createLog_DataUpdate(final int toVersion, final long startTime) {
 
       final long timeDiff = System.currentTimeMillis() - startTime;
@@ -5377,6 +5648,35 @@ public class TourDatabase {
       SQL.createIndex_Table__Column(stmt, TABLE_TOUR_DATA, "TourLocationEnd_LocationID"); //$NON-NLS-1$
    }
 
+   /**
+    * Create table {@link #TABLE_TOUR_GEO_NORMALIZED}
+    * <p>
+    * Contains the normalized lat/lon data for each tour and accuracy, they are created when a tour
+    * is geo compared and deleted when the tour is saved.
+    *
+    * @param stmt
+    *
+    * @throws SQLException
+    */
+   private void createTable_TourGeoNormalized(final Statement stmt) throws SQLException {
+
+      /*
+       * CREATE TABLE TourGeoNormalized
+       */
+      exec(stmt, "CREATE TABLE " + TABLE_TOUR_GEO_NORMALIZED + "   (                   " + NL //$NON-NLS-1$ //$NON-NLS-2$
+      //
+            + "   TourId                     BIGINT   NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   GeoAccuracy                INTEGER  NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   DistanceAccuracy           INTEGER  NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   FormatVersion              SMALLINT NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   NormalizedData             BLOB     NOT NULL,                        " + NL //$NON-NLS-1$
+
+            + "   CONSTRAINT                 PK_TourId_GeoAccuracy_DistanceAccuracy    " + NL //$NON-NLS-1$
+            + "                              PRIMARY KEY (TourId, GeoAccuracy, DistanceAccuracy)" + NL //$NON-NLS-1$
+
+            + ")"); //$NON-NLS-1$
+   }
+
    /**
     * create table {@link #}
     *
@@ -5859,6 +6159,67 @@ public class TourDatabase {
       SQL.createIndex_Table__Column(stmt, TABLE_TOUR_REFERENCE, KEY_TOUR);
    }
 
+   /**
+    * Create table {@link #TABLE_TOUR_STATISTIC_ROLLUP}
+    * <p>
+    * Contains the summed tour values for each week, month and year, person and tour type, it is
+    * maintained by {@link TourStatisticRollup}.
+    *
+    * @param stmt
+    *
+    * @throws SQLException
+    *
+    * @since DB version 64
+    */
+   private void createTable_TourStatisticRollup(final Statement stmt) throws SQLException {
+
+      /*
+       * CREATE TABLE TourStatisticRollup
+       */
+      exec(stmt, "CREATE TABLE " + TABLE_TOUR_STATISTIC_ROLLUP + "   (                 " + NL //$NON-NLS-1$ //$NON-NLS-2$
+      //
+            + "   PeriodType                 SMALLINT NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   PeriodYear                 INTEGER  NOT NULL,                        " + NL //$NON-NLS-1$
+            + "   PeriodNumber               INTEGER  NOT NULL,                        " + NL //$NON-NLS-1$
+
+            + "   TourPerson_PersonId        BIGINT,                                   " + NL //$NON-NLS-1$
+            + "   TourType_TypeId            BIGINT,                                   " + NL //$NON-NLS-1$
+
+            + "   NumTours                   INTEGER  DEFAULT 0,                       " + NL //$NON-NLS-1$
+
+            + "   TourDeviceTime_Elapsed     BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourDeviceTime_Recorded    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourDeviceTime_Paused      BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourComputedTime_Moving    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   DurationTime_Moving        BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+
+            + "   TourDistance               DOUBLE   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourAltUp                  BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   TourAltDown                BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+
+            + "   BodyWeight_Sum             DOUBLE   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   BodyWeight_Count           INTEGER  DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   BodyFat_Sum                DOUBLE   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   BodyFat_Count              INTEGER  DEFAULT 0,                       " + NL //$NON-NLS-1$
+
+            + "   HrZone0                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone1                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone2                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone3                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone4                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone5                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone6                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone7                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone8                    BIGINT   DEFAULT 0,                       " + NL //$NON-NLS-1$
+            + "   HrZone9                    BIGINT   DEFAULT 0                        " + NL //$NON-NLS-1$
+
+            + ")"); //$NON-NLS-1$
+
+      SQL.createIndex_Composite(stmt, TABLE_TOUR_STATISTIC_ROLLUP, "PeriodType", "PeriodYear", "PeriodNumber"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+      createIndex_TourData_064(stmt);
+   }
+
    /**
     * Create table {@link #TABLE_TOUR_TAG} which contains {@link TourTag} entities.
     *
@@ -6757,6 +7118,8 @@ public class TourDatabase {
             createTable_TourCompared(stmt);
             createTable_TourBike(stmt);
             createTable_TourGeoParts(stmt);
+            createTable_TourGeoNormalized(stmt);
+            createTable_TourStatisticRollup(stmt);
             createTable_DeviceSensor(stmt);
             createTable_DeviceSensorValues(stmt);
             createTable_TourLocation(stmt);
@@ -7417,6 +7780,21 @@ public class TourDatabase {
             currentDbVersion = _dbDesignVersion_New = updateDb_060_To_061(conn, splashManager);
          }
 
+         // 61 -> 62    26.3+++
+         if (currentDbVersion == 61) {
+            currentDbVersion = _dbDesignVersion_New = updateDb_061_To_062(splashManager);
+         }
+
+         // 62 -> 63    26.3+++
+         if (currentDbVersion == 62) {
+            currentDbVersion = _dbDesignVersion_New = updateDb_062_To_063(conn, splashManager);
+         }
+
+         // 63 -> 64    26.3+++
+         if (currentDbVersion == 63) {
+            currentDbVersion = _dbDesignVersion_New = updateDb_063_To_064(conn, splashManager);
+         }
+
          // update db design version number
          updateVersionNumber_10_AfterDesignUpdate(conn, _dbDesignVersion_New);
 
@@ -7486,6 +7864,10 @@ public class TourDatabase {
          updateDb__3_Data_Concurrent(conn, splashManager, new TourDataUpdate_058_to_059()); //     59 - 25.11
 
          updateDb_060_To_061_DataUpdate(conn, splashManager); //                                   61 - 26.3+++?
+         updateDb_061_To_062_DataUpdate(conn, splashManager); //                                   62 - 26.3+++?
+
+         // this must be run AFTER all other data updates which could modify tour values
+         updateDb_063_To_064_DataUpdate(conn, splashManager); //                                   64 - 26.3+++?
 
       } catch (final SQLException e) {
 
@@ -11889,6 +12271,270 @@ public class TourDatabase {
       updateVersionNumber_20_AfterDataUpdate(conn, dbDataVersion, startTime);
    }
 
+   /**
+    * Db version 62 has no design changes, the serie data blobs are converted into the columnar
+    * {@link SerieDataCodec} format in {@link #updateDb_061_To_062_DataUpdate}
+    *
+    * @param splashManager
+    *
+    * @return
+    */
+   private int updateDb_061_To_062(final SplashManager splashManager) {
+
+      final int newDbVersion = 62;
+
+      logDbUpdate_Start(newDbVersion);
+      updateMonitor(splashManager, newDbVersion);
+
+      logDbUpdate_End(newDbVersion);
+
+      return newDbVersion;
+   }
+
+   /**
+    * Convert all {@link SerieData} blobs from the default Java serialization into the compact
+    * columnar {@link SerieDataCodec} format.
+    * <p>
+    * The blobs are converted with plain SQL because the JPA dirty check is comparing the serialized
+    * data, which are the same for the old and the new loaded {@link SerieData}, so a merged tour
+    * would not be updated.
+    *
+    * @param conn
+    * @param splashManager
+    *
+    * @throws SQLException
+    */
+   private void updateDb_061_To_062_DataUpdate(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final long startTime = System.currentTimeMillis();
+
+      final int dbDataVersion = 62;
+
+      if (getDbVersion(conn, TABLE_DB_VERSION_DATA) >= dbDataVersion) {
+         // data version is higher -> nothing to do
+         return;
+      }
+
+      final int commitBatchSize = 100;
+
+      long lastUpdateTime = startTime;
+
+      int tourIndex = 1;
+      int lastUpdateNumItems = 1;
+      int sumUpdatedTours = 0;
+
+      long sumBytesBefore = 0;
+      long sumBytesAfter = 0;
+
+      final List<Long> allTourIds = getAllTourIds();
+      final int numAllTourIds = allTourIds.size();
+
+      final String sqlSelect = "SELECT serieData FROM " + TABLE_TOUR_DATA + " WHERE tourId = ?"; //$NON-NLS-1$ //$NON-NLS-2$
+      final String sqlUpdate = "UPDATE " + TABLE_TOUR_DATA + " SET serieData = ? WHERE tourId = ?"; //$NON-NLS-1$ //$NON-NLS-2$
+
+      final boolean isAutoCommit = conn.getAutoCommit();
+
+      try (final PreparedStatement stmtSelect = conn.prepareStatement(sqlSelect);
+            final PreparedStatement stmtUpdate = conn.prepareStatement(sqlUpdate)) {
+
+         conn.setAutoCommit(false);
+
+         // loop: all tours
+         for (final Long tourId : allTourIds) {
+
+            if (splashManager != null) {
+
+               final long currentTime = System.currentTimeMillis();
+               final long timeDiff = currentTime - lastUpdateTime;
+
+               // reduce logging
+               if (timeDiff > DELAY_SPLASH_LOGGING
+
+                     // update UI for the last tour otherwise it looks like that not all data are converted
+                     || tourIndex == numAllTourIds) {
+
+                  lastUpdateTime = currentTime;
+
+                  final long numTourDiff = tourIndex - lastUpdateNumItems;
+                  lastUpdateNumItems = tourIndex;
+                  sumUpdatedTours += numTourDiff;
+
+                  final String percentValue = String.format(NUMBER_FORMAT_1F, (float) tourIndex / numAllTourIds * 100.0);
+
+                  splashManager.setMessage(NLS.bind(
+
+                        // Data update 62: Compacting data series - {0} of {1} - {2} % - {3} \u0394
+                        Messages.Tour_Database_PostUpdate_062_SerieData,
+
+                        new Object[] {
+                              sumUpdatedTours,
+                              numAllTourIds,
+                              percentValue,
+                              numTourDiff,
+                        }));
+               }
+            }
+
+            stmtSelect.setLong(1, tourId);
+
+            byte[] oldBlob = null;
+
+            try (final ResultSet result = stmtSelect.executeQuery()) {
+
+               if (result.next()) {
+                  oldBlob = result.getBytes(1);
+               }
+            }
+
+            if (oldBlob != null) {
+
+               final byte[] newBlob = updateDb_061_To_062_DataUpdate_Convert(tourId, oldBlob);
+
+               if (newBlob != null) {
+
+                  stmtUpdate.setBytes(1, newBlob);
+                  stmtUpdate.setLong(2, tourId);
+                  stmtUpdate.executeUpdate();
+
+                  sumBytesBefore += oldBlob.length;
+                  sumBytesAfter += newBlob.length;
+               }
+            }
+
+            if (tourIndex % commitBatchSize == 0) {
+               conn.commit();
+            }
+
+            tourIndex++;
+         }
+
+         conn.commit();
+
+      } catch (final SQLException e) {
+
+         conn.rollback();
+
+         throw e;
+
+      } finally {
+
+         conn.setAutoCommit(isAutoCommit);
+      }
+
+      logDbUpdate(String.format("Serie data are converted: %d MB -> %d MB", //$NON-NLS-1$
+            sumBytesBefore / 1024 / 1024,
+            sumBytesAfter / 1024 / 1024));
+
+      updateVersionNumber_20_AfterDataUpdate(conn, dbDataVersion, startTime);
+   }
+
+   /**
+    * @param tourId
+    * @param oldBlob
+    *
+    * @return Returns the serie data in the {@link SerieDataCodec} format or <code>null</code> when
+    *         the blob cannot be read, then the old blob is kept
+    */
+   private byte[] updateDb_061_To_062_DataUpdate_Convert(final Long tourId, final byte[] oldBlob) {
+
+      try (final ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(oldBlob))) {
+
+         final Object serieData = objectInputStream.readObject();
+
+         if (serieData instanceof SerieData) {
+
+            // SerieData#writeReplace is converting the data into the columnar format
+
+            final ByteArrayOutputStream byteOutputStream = new ByteArrayOutputStream(oldBlob.length / 2);
+
+            try (final ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteOutputStream)) {
+               objectOutputStream.writeObject(serieData);
+            }
+
+            return byteOutputStream.toByteArray();
+         }
+
+      } catch (final IOException | ClassNotFoundException e) {
+
+         StatusUtil.log("Serie data cannot be converted for tour %d".formatted(tourId), e); //$NON-NLS-1$
+      }
+
+      return null;
+   }
+
+   private int updateDb_062_To_063(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final int newDbVersion = 63;
+
+      logDbUpdate_Start(newDbVersion);
+      updateMonitor(splashManager, newDbVersion);
+
+      final Statement stmt = conn.createStatement();
+      {
+         // double check if db already exists
+         if (isTableAvailable(conn, TABLE_TOUR_GEO_NORMALIZED) == false) {
+            createTable_TourGeoNormalized(stmt);
+         }
+      }
+      stmt.close();
+
+      logDbUpdate_End(newDbVersion);
+
+      return newDbVersion;
+   }
+
+   private int updateDb_063_To_064(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final int newDbVersion = 64;
+
+      logDbUpdate_Start(newDbVersion);
+      updateMonitor(splashManager, newDbVersion);
+
+      final Statement stmt = conn.createStatement();
+      {
+         // double check if db already exists
+         if (isTableAvailable(conn, TABLE_TOUR_STATISTIC_ROLLUP) == false) {
+            createTable_TourStatisticRollup(stmt);
+         }
+
+         // the index is also created when the table was already created without it
+         createIndex_TourData_064(stmt);
+      }
+      stmt.close();
+
+      logDbUpdate_End(newDbVersion);
+
+      return newDbVersion;
+   }
+
+   /**
+    * Fill the statistic rollup with the values of all tours
+    *
+    * @param conn
+    * @param splashManager
+    *
+    * @throws SQLException
+    */
+   private void updateDb_063_To_064_DataUpdate(final Connection conn, final SplashManager splashManager) throws SQLException {
+
+      final long startTime = System.currentTimeMillis();
+
+      final int dbDataVersion = 64;
+
+      if (getDbVersion(conn, TABLE_DB_VERSION_DATA) >= dbDataVersion) {
+         // data version is higher -> nothing to do
+         return;
+      }
+
+      if (splashManager != null) {
+         splashManager.setMessage(Messages.Tour_Database_PostUpdate_064_StatisticRollup);
+      }
+
+      TourStatisticRollup.rebuild(conn);
+
+      updateVersionNumber_20_AfterDataUpdate(conn, dbDataVersion, startTime);
+   }
+
    private void updateMonitor(final SplashManager splashManager, final int newDbVersion) {
 
       if (splashManager != null) {
@@ -0,0 +1,354 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.util.StatusUtil;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
+
+/**
+ * In-memory index of {@link TourDatabase#TABLE_TOUR_GEO_PARTS}, it is used to find the tours
+ * which are crossing geo parts without running a large <code>GeoPart IN (...)</code> query.
+ * <p>
+ * A geo part is <code>normalizedLat * 100_000 + normalizedLon</code>, so all geo parts are sorted
+ * by latitude rows and the geo parts of a lat/lon area are one range for each latitude row.
+ * <p>
+ * The index is loaded in the background when it is used the first time, until then
+ * <code>null</code> is returned and the callers are using SQL. Tours which are saved or deleted
+ * afterwards are kept separately and replace their geo parts in the loaded index.
+ */
+public class TourGeoPartIndex {
+
+   private static final char              NL                     = UI.NEW_LINE;
+
+   /**
+    * Geo part factor for the latitude, see {@link #getTourIds(int, int, int, int)}
+    */
+   private static final int               LATITUDE_FACTOR        = 100_000;
+
+   /**
+    * When more tours are modified, they are merged into the sorted geo parts
+    */
+   private static final int               MAX_MODIFIED_TOURS     = 1_000;
+
+   private static final TourGeoPartIndex  _instance              = new TourGeoPartIndex();
+   private static final AtomicBoolean     _isLoadingStarted      = new AtomicBoolean();
+
+   /**
+    * Sorted geo parts of all tours, {@link #_allTourIds} contains the tour for each geo part
+    */
+   private int[]                          _allGeoParts           = new int[0];
+   private long[]                         _allTourIds            = new long[0];
+
+   private boolean                        _isLoaded;
+
+   /**
+    * Key: Tour ID of a saved or deleted tour<br>
+    * Value: Sorted geo parts of this tour, they replace the geo parts in {@link #_allGeoParts},
+    * they are empty when the tour is deleted
+    */
+   private final LongObjectHashMap<int[]> _allModifiedTourParts  = new LongObjectHashMap<>();
+
+   /**
+    * @return Returns the app wide index, it is loaded in the background when this is called the
+    *         first time
+    */
+   public static TourGeoPartIndex getInstance() {
+
+      if (_isLoadingStarted.compareAndSet(false, true)) {
+
+         final Thread loadingThread = new Thread(() -> _instance.loadFromDB(), "Loading tour geo part index"); //$NON-NLS-1$
+
+         loadingThread.setPriority(Thread.MIN_PRIORITY);
+         loadingThread.setDaemon(true);
+         loadingThread.start();
+      }
+
+      return _instance;
+   }
+
+   /**
+    * @param allGeoParts
+    *           Sorted geo parts
+    * @param geoPartFrom
+    * @param geoPartUntil
+    *
+    * @return Returns the index of the first geo part which is &gt;= geoPartFrom, this geo part is
+    *         also &lt;= geoPartUntil, otherwise -1
+    */
+   private static int getFirstIndex(final int[] allGeoParts, final int geoPartFrom, final int geoPartUntil) {
+
+      int low = 0;
+      int high = allGeoParts.length;
+
+      while (low < high) {
+
+         final int middle = (low + high) >>> 1;
+
+         if (allGeoParts[middle] < geoPartFrom) {
+            low = middle + 1;
+         } else {
+            high = middle;
+         }
+      }
+
+      return low < allGeoParts.length && allGeoParts[low] <= geoPartUntil
+
+            ? low
+            : -1;
+   }
+
+   /**
+    * @param geoParts
+    *
+    * @return Returns all tour id's which are having at least one of the geo parts or
+    *         <code>null</code> when the index is not yet loaded
+    */
+   public synchronized long[] getTourIds(final int[] geoParts) {
+
+      if (_isLoaded == false) {
+         return null;
+      }
+
+      final LongHashSet allTourIds = new LongHashSet();
+
+      for (final int geoPart : geoParts) {
+         getTourIds_Range(geoPart, geoPart, allTourIds);
+      }
+
+      return allTourIds.toSortedArray();
+   }
+
+   /**
+    * Gets the tours for a lat/lon area, the values are normalized geo parts.
+    *
+    * @param latFrom
+    * @param latUntil
+    *           Exclusive
+    * @param lonFrom
+    * @param lonUntil
+    *           Exclusive
+    *
+    * @return Returns all tour id's which are having at least one geo part in the area or
+    *         <code>null</code> when the index is not yet loaded
+    */
+   public synchronized long[] getTourIds(final int latFrom, final int latUntil, final int lonFrom, final int lonUntil) {
+
+      if (_isLoaded == false) {
+         return null;
+      }
+
+      final LongHashSet allTourIds = new LongHashSet();
+
+      if (lonFrom < lonUntil) {
+
+         for (int lat = latFrom; lat < latUntil; lat++) {
+
+            final int latPart = lat * LATITUDE_FACTOR;
+
+            getTourIds_Range(latPart + lonFrom, latPart + lonUntil - 1, allTourIds);
+         }
+      }
+
+      return allTourIds.toSortedArray();
+   }
+
+   private void getTourIds_Range(final int geoPartFrom, final int geoPartUntil, final LongHashSet allTourIds) {
+
+      final int[] allGeoParts = _allGeoParts;
+      final long[] allPartTourIds = _allTourIds;
+
+      final int firstIndex = getFirstIndex(allGeoParts, geoPartFrom, geoPartUntil);
+
+      if (firstIndex != -1) {
+
+         for (int partIndex = firstIndex; partIndex < allGeoParts.length && allGeoParts[partIndex] <= geoPartUntil; partIndex++) {
+
+            final long tourId = allPartTourIds[partIndex];
+
+            // skip outdated geo parts
+            if (_allModifiedTourParts.containsKey(tourId) == false) {
+               allTourIds.add(tourId);
+            }
+         }
+      }
+
+      _allModifiedTourParts.forEachKeyValue((tourId, allTourParts) -> {
+
+         if (getFirstIndex(allTourParts, geoPartFrom, geoPartUntil) != -1) {
+            allTourIds.add(tourId);
+         }
+      });
+   }
+
+   private void loadFromDB() {
+
+      final long startTime = System.currentTimeMillis();
+
+      final IntArrayList allGeoParts = new IntArrayList();
+      final LongArrayList allTourIds = new LongArrayList();
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                          //$NON-NLS-1$
+
+            + " GeoPart," + NL //                                       //$NON-NLS-1$
+            + " TourId" + NL //                                         //$NON-NLS-1$
+
+            + " FROM " + TourDatabase.TABLE_TOUR_GEO_PARTS + NL //      //$NON-NLS-1$
+      ;
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            Statement stmt = conn.createStatement()) {
+
+         final ResultSet result = stmt.executeQuery(sql);
+
+         while (result.next()) {
+
+            allGeoParts.add(result.getInt(1));
+            allTourIds.add(result.getLong(2));
+         }
+
+      } catch (final SQLException e) {
+
+         StatusUtil.logError(sql);
+         StatusUtil.log(e);
+
+         // try again the next time
+         _isLoadingStarted.set(false);
+
+         return;
+      }
+
+      setAllGeoParts(allGeoParts.toArray(), allTourIds.toArray());
+
+      StatusUtil.logInfo("Tour geo part index is loaded: %d geo parts - %d ms".formatted( //$NON-NLS-1$
+            allGeoParts.size(),
+            System.currentTimeMillis() - startTime));
+   }
+
+   /**
+    * Merges the modified tours into the sorted geo parts
+    */
+   private void mergeModifiedTours() {
+
+      final IntArrayList allGeoParts = new IntArrayList(_allGeoParts.length);
+      final LongArrayList allTourIds = new LongArrayList(_allTourIds.length);
+
+      for (int partIndex = 0; partIndex < _allGeoParts.length; partIndex++) {
+
+         final long tourId = _allTourIds[partIndex];
+
+         if (_allModifiedTourParts.containsKey(tourId) == false) {
+
+            allGeoParts.add(_allGeoParts[partIndex]);
+            allTourIds.add(tourId);
+         }
+      }
+
+      _allModifiedTourParts.forEachKeyValue((tourId, allTourParts) -> {
+
+         for (final int geoPart : allTourParts) {
+
+            allGeoParts.add(geoPart);
+            allTourIds.add(tourId);
+         }
+      });
+
+      _allModifiedTourParts.clear();
+
+      setAllGeoParts(allGeoParts.toArray(), allTourIds.toArray());
+   }
+
+   /**
+    * Removes the geo parts of a deleted tour.
+    *
+    * @param tourId
+    */
+   public void removeTour(final long tourId) {
+
+      setTourGeoParts(tourId, null);
+   }
+
+   /**
+    * Replaces the geo parts of all tours, the modified tours are kept.
+    *
+    * @param allGeoParts
+    *           Geo parts of all tours, the sequence is not relevant
+    * @param allTourIds
+    *           Tour for each geo part
+    */
+   public synchronized void setAllGeoParts(final int[] allGeoParts, final long[] allTourIds) {
+
+      final int numParts = allGeoParts.length;
+
+      // sort geo parts together with their position, geo parts are always >= 0
+      final long[] allSortKeys = new long[numParts];
+
+      for (int partIndex = 0; partIndex < numParts; partIndex++) {
+         allSortKeys[partIndex] = ((long) allGeoParts[partIndex] << 32) | partIndex;
+      }
+
+      Arrays.sort(allSortKeys);
+
+      final int[] allSortedGeoParts = new int[numParts];
+      final long[] allSortedTourIds = new long[numParts];
+
+      for (int partIndex = 0; partIndex < numParts; partIndex++) {
+
+         final long sortKey = allSortKeys[partIndex];
+
+         allSortedGeoParts[partIndex] = (int) (sortKey >>> 32);
+         allSortedTourIds[partIndex] = allTourIds[(int) sortKey];
+      }
+
+      _allGeoParts = allSortedGeoParts;
+      _allTourIds = allSortedTourIds;
+
+      _isLoaded = true;
+   }
+
+   /**
+    * Replaces the geo parts of a saved tour.
+    *
+    * @param tourId
+    * @param geoParts
+    *           Geo parts of the tour or <code>null</code> when the tour has no geo parts
+    */
+   public synchronized void setTourGeoParts(final long tourId, final int[] geoParts) {
+
+      final int[] allTourParts = geoParts == null ? new int[0] : geoParts.clone();
+
+      Arrays.sort(allTourParts);
+
+      _allModifiedTourParts.put(tourId, allTourParts);
+
+      if (_isLoaded && _allModifiedTourParts.size() > MAX_MODIFIED_TOURS) {
+         mergeModifiedTours();
+      }
+   }
+}
@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.util.SQL;
+import net.tourbook.common.util.Util;
+import net.tourbook.data.TourData;
+
+/**
+ * Maintains the table {@link TourDatabase#TABLE_TOUR_STATISTIC_ROLLUP} which contains the summed
+ * tour values for each week, month and year, person and tour type.
+ * <p>
+ * When a tour is saved or deleted, the periods of the tour are set as modified and all values of
+ * a modified period are computed again from {@link TourDatabase#TABLE_TOUR_DATA}, so the rollup
+ * values do not depend on the previous values.
+ * <p>
+ * The column names are the same as in {@link TourDatabase#TABLE_TOUR_DATA} that the person and
+ * tour type app filter can be used when the table is selected with the alias <code>TourData</code>.
+ */
+public class TourStatisticRollup {
+
+   private static final char     NL                  = UI.NEW_LINE;
+
+   public static final int       PERIOD_TYPE_WEEK    = 1;
+   public static final int       PERIOD_TYPE_MONTH   = 2;
+   public static final int       PERIOD_TYPE_YEAR    = 3;
+
+   private static final int[]    ALL_PERIOD_TYPES    = {
+
+         PERIOD_TYPE_WEEK,
+         PERIOD_TYPE_MONTH,
+         PERIOD_TYPE_YEAR
+   };
+
+   /**
+    * Periods which must be computed again
+    */
+   private static final Set<Period> _allModifiedPeriods = ConcurrentHashMap.newKeySet();
+
+   /**
+    * @param periodType
+    *           One of the PERIOD_TYPE_* constants
+    * @param year
+    *           Year or week year
+    * @param number
+    *           Month or week, it is 0 for a year
+    */
+   record Period(int periodType, int year, int number) {}
+
+   private TourStatisticRollup() {}
+
+   /**
+    * @param periodType
+    * @param sqlWhere
+    *
+    * @return Returns the INSERT statement which computes the rollup values for a period type
+    */
+   private static String createSql_Insert(final int periodType, final String sqlWhere) {
+
+      final String yearField = getYearField(periodType);
+      final String numberField = getNumberField(periodType);
+
+      return UI.EMPTY_STRING
+
+            + "INSERT INTO " + TourDatabase.TABLE_TOUR_STATISTIC_ROLLUP + " (" + NL //                //$NON-NLS-1$ //$NON-NLS-2$
+
+            + "   PeriodType," + NL //                                                                //$NON-NLS-1$
+            + "   PeriodYear," + NL //                                                                //$NON-NLS-1$
+            + "   PeriodNumber," + NL //                                                              //$NON-NLS-1$
+            + "   TourPerson_PersonId," + NL //                                                       //$NON-NLS-1$
+            + "   TourType_TypeId," + NL //                                                           //$NON-NLS-1$
+
+            + "   NumTours," + NL //                                                                  //$NON-NLS-1$
+            + "   TourDeviceTime_Elapsed," + NL //                                                    //$NON-NLS-1$
+            + "   TourDeviceTime_Recorded," + NL //                                                   //$NON-NLS-1$
+            + "   TourDeviceTime_Paused," + NL //                                                     //$NON-NLS-1$
+            + "   TourComputedTime_Moving," + NL //                                                   //$NON-NLS-1$
+            + "   DurationTime_Moving," + NL //                                                       //$NON-NLS-1$
+            + "   TourDistance," + NL //                                                              //$NON-NLS-1$
+            + "   TourAltUp," + NL //                                                                 //$NON-NLS-1$
+            + "   TourAltDown," + NL //                                                               //$NON-NLS-1$
+            + "   BodyWeight_Sum," + NL //                                                            //$NON-NLS-1$
+            + "   BodyWeight_Count," + NL //                                                          //$NON-NLS-1$
+            + "   BodyFat_Sum," + NL //                                                               //$NON-NLS-1$
+            + "   BodyFat_Count," + NL //                                                             //$NON-NLS-1$
+            + "   HrZone0, HrZone1, HrZone2, HrZone3, HrZone4," + NL //                               //$NON-NLS-1$
+            + "   HrZone5, HrZone6, HrZone7, HrZone8, HrZone9" + NL //                                //$NON-NLS-1$
+            + ")" + NL //                                                                             //$NON-NLS-1$
+
+            + "SELECT" + NL //                                                                        //$NON-NLS-1$
+
+            + "   " + periodType + "," + NL //                                                        //$NON-NLS-1$ //$NON-NLS-2$
+            + "   " + yearField + "," + NL //                                                         //$NON-NLS-1$ //$NON-NLS-2$
+            + "   " + (numberField == null ? "0" : numberField) + "," + NL //                         //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            + "   TourPerson_PersonId," + NL //                                                       //$NON-NLS-1$
+            + "   TourType_TypeId," + NL //                                                           //$NON-NLS-1$
+
+            + "   COUNT(*)," + NL //                                                                  //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Elapsed)," + NL //                                               //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Recorded)," + NL //                                              //$NON-NLS-1$
+            + "   SUM(TourDeviceTime_Paused)," + NL //                                                //$NON-NLS-1$
+            + "   SUM(TourComputedTime_Moving)," + NL //                                              //$NON-NLS-1$
+            + "   SUM(CASE WHEN TourComputedTime_Moving > 0 THEN TourComputedTime_Moving ELSE TourDeviceTime_Elapsed END)," + NL //$NON-NLS-1$
+            + "   SUM(TourDistance)," + NL //                                                         //$NON-NLS-1$
+            + "   SUM(TourAltUp)," + NL //                                                            //$NON-NLS-1$
+            + "   SUM(TourAltDown)," + NL //                                                          //$NON-NLS-1$
+            + "   SUM(CASE WHEN BodyWeight = 0 THEN NULL ELSE BodyWeight END)," + NL //               //$NON-NLS-1$
+            + "   COUNT(CASE WHEN BodyWeight = 0 THEN NULL ELSE BodyWeight END)," + NL //             //$NON-NLS-1$
+            + "   SUM(CASE WHEN BodyFat = 0 THEN NULL ELSE BodyFat END)," + NL //                     //$NON-NLS-1$
+            + "   COUNT(CASE WHEN BodyFat = 0 THEN NULL ELSE BodyFat END)," + NL //                   //$NON-NLS-1$
+            + createSql_SumHrZones()
+
+            + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                                          //$NON-NLS-1$
+
+            + sqlWhere
+
+            + "GROUP BY " + yearField //                                                              //$NON-NLS-1$
+            + (numberField == null ? UI.EMPTY_STRING : ", " + numberField) //                         //$NON-NLS-1$
+            + ", TourPerson_PersonId, TourType_TypeId" + NL //                                        //$NON-NLS-1$
+      ;
+   }
+
+   /**
+    * HR zones are summed only for tours with HR zones, a zone value is -1 when it is not available
+    *
+    * @return
+    */
+   private static String createSql_SumHrZones() {
+
+      final StringBuilder sb = new StringBuilder();
+
+      for (int zoneIndex = 0; zoneIndex < 10; zoneIndex++) {
+
+         final String hrZone = "HrZone" + zoneIndex; //$NON-NLS-1$
+
+         sb.append("   SUM(CASE WHEN NumberOfHrZones > 0 AND " + hrZone + " > 0 THEN " + hrZone + " ELSE 0 END)"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+         sb.append(zoneIndex < 9 ? "," : UI.EMPTY_STRING); //$NON-NLS-1$
+         sb.append(NL);
+      }
+
+      return sb.toString();
+   }
+
+   /**
+    * @param periodType
+    *
+    * @return Returns the {@link TourData} field with the period number or <code>null</code> when
+    *         the period is a year
+    */
+   private static String getNumberField(final int periodType) {
+
+      switch (periodType) {
+      case PERIOD_TYPE_WEEK:
+         return "StartWeek"; //$NON-NLS-1$
+
+      case PERIOD_TYPE_MONTH:
+         return "StartMonth"; //$NON-NLS-1$
+
+      default:
+         return null;
+      }
+   }
+
+   /**
+    * @param tourData
+    *
+    * @return Returns the week, month and year of a tour
+    */
+   static List<Period> getPeriods(final TourData tourData) {
+
+      final List<Period> allPeriods = new ArrayList<>();
+
+      allPeriods.add(new Period(PERIOD_TYPE_WEEK, tourData.getStartWeekYear(), tourData.getStartWeek()));
+      allPeriods.add(new Period(PERIOD_TYPE_MONTH, tourData.getStartYear(), tourData.getStartMonth()));
+      allPeriods.add(new Period(PERIOD_TYPE_YEAR, tourData.getStartYear(), 0));
+
+      return allPeriods;
+   }
+
+   /**
+    * @param conn
+    * @param tourId
+    *
+    * @return Returns the week, month and year of a saved tour or an empty list when the tour is
+    *         not available
+    *
+    * @throws SQLException
+    */
+   static List<Period> getPeriods(final Connection conn, final long tourId) throws SQLException {
+
+      final List<Period> allPeriods = new ArrayList<>();
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT StartWeekYear, StartWeek, StartYear, StartMonth" + NL //   //$NON-NLS-1$
+            + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                     //$NON-NLS-1$
+            + "WHERE TourId = ?" + NL //                                         //$NON-NLS-1$
+      ;
+
+      try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+         stmt.setLong(1, tourId);
+
+         final ResultSet result = stmt.executeQuery();
+
+         if (result.next()) {
+
+            final int startYear = result.getInt(3);
+
+            allPeriods.add(new Period(PERIOD_TYPE_WEEK, result.getInt(1), result.getInt(2)));
+            allPeriods.add(new Period(PERIOD_TYPE_MONTH, startYear, result.getInt(4)));
+            allPeriods.add(new Period(PERIOD_TYPE_YEAR, startYear, 0));
+         }
+      }
+
+      return allPeriods;
+   }
+
+   private static String getYearField(final int periodType) {
+
+      return periodType == PERIOD_TYPE_WEEK
+            ? "StartWeekYear" //$NON-NLS-1$
+            : "StartYear"; //$NON-NLS-1$
+   }
+
+   /**
+    * Computes all rollup values again from all tours
+    *
+    * @param conn
+    *
+    * @throws SQLException
+    */
+   static synchronized void rebuild(final Connection conn) throws SQLException {
+
+      _allModifiedPeriods.clear();
+
+      try (Statement stmt = conn.createStatement()) {
+
+         stmt.executeUpdate("DELETE FROM " + TourDatabase.TABLE_TOUR_STATISTIC_ROLLUP); //$NON-NLS-1$
+
+         for (final int periodType : ALL_PERIOD_TYPES) {
+            stmt.executeUpdate(createSql_Insert(periodType, UI.EMPTY_STRING));
+         }
+      }
+   }
+
+   /**
+    * Sets periods as modified, they are computed again with {@link #updateModifiedPeriods()}
+    *
+    * @param allPeriods
+    */
+   static void setPeriodsModified(final Collection<Period> allPeriods) {
+
+      _allModifiedPeriods.addAll(allPeriods);
+   }
+
+   /**
+    * Computes the rollup values for all modified periods
+    */
+   static synchronized void updateModifiedPeriods() {
+
+      if (_allModifiedPeriods.isEmpty()) {
+         return;
+      }
+
+      // a period is removed before it is computed that a period which is modified again is not lost
+      final List<Period> allPeriods = new ArrayList<>(_allModifiedPeriods);
+      _allModifiedPeriods.removeAll(allPeriods);
+
+      final PreparedStatement[] allStmtInsert = new PreparedStatement[ALL_PERIOD_TYPES.length + 1];
+      PreparedStatement stmtDelete = null;
+
+      String sql = UI.EMPTY_STRING;
+
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+
+         conn.setAutoCommit(false);
+
+         try {
+
+            sql = "DELETE FROM " + TourDatabase.TABLE_TOUR_STATISTIC_ROLLUP //             //$NON-NLS-1$
+                  + " WHERE PeriodType = ? AND PeriodYear = ? AND PeriodNumber = ?"; //    //$NON-NLS-1$
+
+            stmtDelete = conn.prepareStatement(sql);
+
+            for (final int periodType : ALL_PERIOD_TYPES) {
+
+               final String numberField = getNumberField(periodType);
+
+               sql = createSql_Insert(periodType, UI.EMPTY_STRING
+
+                     + "WHERE " + getYearField(periodType) + " = ?" + NL //                               //$NON-NLS-1$ //$NON-NLS-2$
+                     + (numberField == null ? UI.EMPTY_STRING : "   AND " + numberField + " = ?" + NL) // //$NON-NLS-1$ //$NON-NLS-2$
+               );
+
+               allStmtInsert[periodType] = conn.prepareStatement(sql);
+            }
+
+            for (final Period period : allPeriods) {
+
+               stmtDelete.setInt(1, period.periodType);
+               stmtDelete.setInt(2, period.year);
+               stmtDelete.setInt(3, period.number);
+               stmtDelete.executeUpdate();
+
+               final PreparedStatement stmtInsert = allStmtInsert[period.periodType];
+
+               stmtInsert.setInt(1, period.year);
+
+               if (period.periodType != PERIOD_TYPE_YEAR) {
+                  stmtInsert.setInt(2, period.number);
+               }
+
+               stmtInsert.executeUpdate();
+            }
+
+            conn.commit();
+
+         } catch (final SQLException e) {
+
+            conn.rollback();
+
+            // try again with the next update
+            _allModifiedPeriods.addAll(allPeriods);
+
+            throw e;
+
+         } finally {
+
+            Util.closeSql(stmtDelete);
+
+            for (final PreparedStatement stmtInsert : allStmtInsert) {
+               Util.closeSql(stmtInsert);
+            }
+
+            conn.setAutoCommit(true);
+         }
+
+      } catch (final SQLException e) {
+
+         SQL.showException(e, sql);
+      }
+   }
+}
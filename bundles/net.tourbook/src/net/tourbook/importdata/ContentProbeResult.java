@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.importdata;
+
+/**
+ * Result when a device checks the {@link ImportFileHeader} of an import file with
+ * {@link TourbookDevice#probeFileHeader(ImportFileHeader)}
+ */
+public enum ContentProbeResult {
+
+   /**
+    * The file header contains the format of the device, the file is imported with this device
+    * before all other devices
+    */
+   MATCH,
+
+   /**
+    * The file header do not contain the format of the device, the file is not imported with this
+    * device
+    */
+   NO_MATCH,
+
+   /**
+    * The file format cannot be recognized from the file header, the file is validated with
+    * {@link TourbookDevice#validateRawData(String)}
+    */
+   UNKNOWN
+}
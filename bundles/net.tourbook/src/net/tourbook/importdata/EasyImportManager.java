@@ -21,13 +21,10 @@ import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.attribute.BasicFileAttributeView;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -54,6 +51,7 @@ import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.equipment.EquipmentGroup;
 import net.tourbook.equipment.EquipmentGroupManager;
+import net.tourbook.importdata.ImportFileIndex.IndexedFile;
 import net.tourbook.tour.CadenceMultiplier;
 import net.tourbook.tour.TourLogManager;
 import net.tourbook.tour.TourLogState;
@@ -268,53 +266,54 @@ public class EasyImportManager {
          return backupFiles;
       }
 
-      try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(validPath)) {
-
-         for (final Path path : directoryStream) {
-
-            try {
-
-               final BasicFileAttributeView fileAttributesView = Files.getFileAttributeView(
-                     path,
-                     BasicFileAttributeView.class);
-
-               final BasicFileAttributes fileAttributes = fileAttributesView.readAttributes();
-
-               // ignore not regular files
-               if (fileAttributes.isRegularFile()) {
-
-                  backupFiles.add(path.getFileName().toString());
-               }
-
-            } catch (final Exception e) {
-// this can occur too often
-//               TourLogManager.logEx(e);
-            }
-
-         }
-
-      } catch (final IOException ex) {
-         TourLogManager.log_EXCEPTION_WithStacktrace(ex);
+      for (final IndexedFile indexedFile : ImportFileIndex.getInstance().getFiles(validPath, null)) {
+         backupFiles.add(indexedFile.getFileName());
       }
 
       return backupFiles;
    }
 
+   /**
+    * @param deviceFileNames
+    *
+    * @return Returns the names of the files which are imported into the tour database, the tour
+    *         database is checked by the file name only for files which are not yet known as
+    *         imported in the {@link ImportFileIndex}
+    */
    private HashSet<String> getDbFileNames(final List<OSFile> deviceFileNames) {
 
       final HashSet<String> dbFileNames = new HashSet<>();
 
+      final ImportFileIndex importFileIndex = ImportFileIndex.getInstance();
+
+      // the tour of an indexed file could have been deleted when the index was not saved
+      final HashSet<Long> allExistingTourIds = getDbTourIds(deviceFileNames);
+
       /*
        * Create a IN list with all device file names which are searched in the db.
        */
       final StringBuilder sb = new StringBuilder();
 
-      for (int fileIndex = 0; fileIndex < deviceFileNames.size(); fileIndex++) {
+      for (final OSFile deviceFile : deviceFileNames) {
 
-         final OSFile deviceFile = deviceFileNames.get(fileIndex);
          final String fileName = deviceFile.getFileName();
 
-         if (fileIndex > 0) {
+         if (deviceFile.tourId != ImportFileIndex.TOUR_ID_NOT_IMPORTED) {
+
+            if (allExistingTourIds.contains(deviceFile.tourId)) {
+
+               // the file was already found in the db
+               dbFileNames.add(fileName);
+
+               continue;
+            }
+
+            // the tour is not available anymore, check the file name in the db
+            deviceFile.tourId = ImportFileIndex.TOUR_ID_NOT_IMPORTED;
+            importFileIndex.setImportedFile(fileName, ImportFileIndex.TOUR_ID_NOT_IMPORTED);
+         }
+
+         if (sb.length() > 0) {
             sb.append(',');
          }
 
@@ -326,13 +325,20 @@ public class EasyImportManager {
          sb.append('\'');
       }
 
+      if (sb.length() == 0) {
+
+         // all files are imported
+         return dbFileNames;
+      }
+
       final String deviceFileName_INList = sb.toString();
 
       final String sql = UI.EMPTY_STRING
 
             + "SELECT" + NL //                                                         //$NON-NLS-1$
 
-            + "TourImportFileName" + NL //                                             //$NON-NLS-1$
+            + " TourImportFileName," + NL //                                           //$NON-NLS-1$
+            + " TourId" + NL //                                                        //$NON-NLS-1$
 
             + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //                           //$NON-NLS-1$
             + "WHERE TourImportFileName IN (" + deviceFileName_INList + ")" + NL //    //$NON-NLS-1$ //$NON-NLS-2$
@@ -347,8 +353,11 @@ public class EasyImportManager {
          while (result.next()) {
 
             final String dbFileName = result.getString(1);
+            final long dbTourId = result.getLong(2);
 
             dbFileNames.add(dbFileName);
+
+            importFileIndex.setImportedFile(dbFileName, dbTourId);
          }
 
       } catch (final SQLException e) {
@@ -359,6 +368,67 @@ public class EasyImportManager {
       return dbFileNames;
    }
 
+   /**
+    * @param deviceFileNames
+    *
+    * @return Returns the tour ID's of the files which are known as imported in the
+    *         {@link ImportFileIndex} and which are still available in the tour database
+    */
+   private HashSet<Long> getDbTourIds(final List<OSFile> deviceFileNames) {
+
+      final HashSet<Long> allIndexedTourIds = new HashSet<>();
+
+      for (final OSFile deviceFile : deviceFileNames) {
+
+         if (deviceFile.tourId != ImportFileIndex.TOUR_ID_NOT_IMPORTED) {
+            allIndexedTourIds.add(deviceFile.tourId);
+         }
+      }
+
+      if (allIndexedTourIds.isEmpty()) {
+         return allIndexedTourIds;
+      }
+
+      final StringBuilder sb = new StringBuilder();
+
+      for (final Long tourId : allIndexedTourIds) {
+
+         if (sb.length() > 0) {
+            sb.append(',');
+         }
+
+         sb.append(tourId);
+      }
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT TourId" + NL //                                   //$NON-NLS-1$
+            + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //            //$NON-NLS-1$
+            + "WHERE TourId IN (" + sb.toString() + ")" + NL //         //$NON-NLS-1$ //$NON-NLS-2$
+      ;
+
+      final HashSet<Long> allDbTourIds = new HashSet<>();
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            Statement stmt = conn.createStatement()) {
+
+         final ResultSet result = stmt.executeQuery(sql);
+
+         while (result.next()) {
+            allDbTourIds.add(result.getLong(1));
+         }
+
+      } catch (final SQLException e) {
+
+         SQL.showException(e, sql);
+
+         // keep the indexed files as imported
+         return allIndexedTourIds;
+      }
+
+      return allDbTourIds;
+   }
+
    public EasyConfig getEasyConfig() {
 
       if (_easyConfig == null) {
@@ -469,6 +539,8 @@ public class EasyImportManager {
       final HashSet<String> dbFileNames = getDbFileNames(availableFiles);
       RawDataView.THREAD_WATCHER_LOCK.unlock();
 
+      ImportFileIndex.getInstance().save();
+
       for (final OSFile deviceFile : availableFiles) {
 
          if (dbFileNames.contains(deviceFile.getFileName()) == false) {
@@ -511,51 +583,21 @@ public class EasyImportManager {
          throw new InterruptedException();
       }
 
-      try (DirectoryStream<Path> directoryStream = Files.newDirectoryStream(validPath, globPattern)) {
-
-         for (final Path path : directoryStream) {
-
-            if (Thread.interrupted()) {
-               Thread.currentThread().interrupt();
-               throw new InterruptedException();
-            }
-
-            try {
-
-               final BasicFileAttributeView fileAttributesView = Files.getFileAttributeView(
-                     path,
-                     BasicFileAttributeView.class);
-
-               final BasicFileAttributes fileAttributes = fileAttributesView.readAttributes();
-
-               // ignore not regular files
-               if (!fileAttributes.isRegularFile()) {
-                  continue;
-               }
-
-               OSFile deviceFile;
+      final boolean isTourBookFileSystem = NIO.isTourBookFileSystem(folder);
 
-               if (NIO.isTourBookFileSystem(folder)) {
-                  final String fileName = path.getFileName().toString();
-                  deviceFile = new OSFile(Paths.get(folder, fileName));
-               } else {
-                  deviceFile = new OSFile(path);
-               }
+      for (final IndexedFile indexedFile : ImportFileIndex.getInstance().getFiles(validPath, globPattern)) {
 
-               deviceFile.size = fileAttributes.size();
-               deviceFile.modifiedTime = fileAttributes.lastModifiedTime().toMillis();
+         final String fileName = indexedFile.getFileName();
 
-               osFiles.add(deviceFile);
+         final OSFile deviceFile = isTourBookFileSystem
+               ? new OSFile(Paths.get(folder, fileName))
+               : new OSFile(validPath.resolve(fileName));
 
-            } catch (final Exception e) {
-               // this can occur too often
-               //              TourLogManager.logEx(e);
-            }
-
-         }
+         deviceFile.size = indexedFile.getSize();
+         deviceFile.modifiedTime = indexedFile.getModifiedTime();
+         deviceFile.tourId = indexedFile.getTourId();
 
-      } catch (final IOException ex) {
-         TourLogManager.log_EXCEPTION_WithStacktrace(ex);
+         osFiles.add(deviceFile);
       }
 
       return osFiles;
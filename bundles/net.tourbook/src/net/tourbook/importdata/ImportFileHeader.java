@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.importdata;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import net.tourbook.common.UI;
+
+/**
+ * Contains the first bytes of an import file, they are read only once and are checked by all
+ * devices with {@link TourbookDevice#probeFileHeader(ImportFileHeader)}, this is much faster than
+ * validating the whole file with each device.
+ */
+public class ImportFileHeader {
+
+   /**
+    * Max number of bytes which are read from the start of a file
+    */
+   public static final int  HEADER_SIZE  = 4096;
+
+   private static final int GZIP_MAGIC_1 = 0x1f;
+   private static final int GZIP_MAGIC_2 = 0x8b;
+
+   private final byte[]     _allBytes;
+
+   /**
+    * Charset of the header text, it is <code>null</code> when it is not yet detected
+    */
+   private Charset          _charset;
+
+   /**
+    * Number of bytes of the BOM (Byte Order Mark) at the start of the header
+    */
+   private int              _numBOMBytes;
+
+   private boolean          _isBinary;
+
+   private String           _text;
+   private String           _textLowerCase;
+   private String           _gzipText;
+
+   ImportFileHeader(final byte[] allBytes) {
+
+      _allBytes = allBytes;
+   }
+
+   /**
+    * Reads the first {@link #HEADER_SIZE} bytes of a file
+    *
+    * @param filePath
+    *
+    * @return Returns the file header, it is empty when the file cannot be read
+    */
+   public static ImportFileHeader read(final Path filePath) {
+
+      try (FileChannel fileChannel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+
+         final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(HEADER_SIZE, fileChannel.size()));
+
+         while (buffer.hasRemaining()) {
+
+            if (fileChannel.read(buffer) == -1) {
+               break;
+            }
+         }
+
+         return new ImportFileHeader(Arrays.copyOf(buffer.array(), buffer.position()));
+
+      } catch (final IOException e) {
+
+         // the device readers will log the errors when the file is validated
+         return new ImportFileHeader(new byte[0]);
+      }
+   }
+
+   /**
+    * @param text
+    *
+    * @return Returns <code>true</code> when the header text contains the text, the case is
+    *         ignored
+    */
+   public boolean containsText(final String text) {
+
+      if (_textLowerCase == null) {
+         _textLowerCase = getText().toLowerCase();
+      }
+
+      return _textLowerCase.contains(text.toLowerCase());
+   }
+
+   /**
+    * Detects the charset of the header text from the BOM (Byte Order Mark) or from the position of
+    * the 0 bytes, UTF-16 text with mostly ASCII characters has a 0 byte in every other byte.
+    * <p>
+    * The header is binary when it contains 0 bytes at even and at odd positions, when the 0 bytes
+    * are only at even or only at odd positions but are too few for UTF-16 text, then the header is
+    * neither binary nor UTF-16 and the devices should fall back to the file extension.
+    */
+   private void detectCharset() {
+
+      if (_charset != null) {
+         return;
+      }
+
+      final int byte0 = getUnsignedByte(0);
+      final int byte1 = getUnsignedByte(1);
+
+      if (byte0 == 0xef && byte1 == 0xbb && getUnsignedByte(2) == 0xbf) {
+
+         _charset = StandardCharsets.UTF_8;
+         _numBOMBytes = 3;
+
+         return;
+      }
+
+      if (byte0 == 0xff && byte1 == 0xfe) {
+
+         _charset = StandardCharsets.UTF_16LE;
+         _numBOMBytes = 2;
+
+         return;
+      }
+
+      if (byte0 == 0xfe && byte1 == 0xff) {
+
+         _charset = StandardCharsets.UTF_16BE;
+         _numBOMBytes = 2;
+
+         return;
+      }
+
+      final int numBytes = _allBytes.length & ~1;
+
+      int numZeros_Even = 0;
+      int numZeros_Odd = 0;
+
+      for (int byteIndex = 0; byteIndex < numBytes; byteIndex += 2) {
+
+         if (_allBytes[byteIndex] == 0) {
+            numZeros_Even++;
+         }
+
+         if (_allBytes[byteIndex + 1] == 0) {
+            numZeros_Odd++;
+         }
+      }
+
+      // the last byte of an odd header length is not checked for UTF-16
+      if (numBytes < _allBytes.length && _allBytes[numBytes] == 0) {
+         numZeros_Even++;
+      }
+
+      // at least half of the characters must be ASCII characters
+      final int minUTF16Zeros = Math.max(1, numBytes / 4);
+
+      if (numZeros_Even == 0 && numZeros_Odd >= minUTF16Zeros) {
+
+         _charset = StandardCharsets.UTF_16LE;
+
+      } else if (numZeros_Odd == 0 && numZeros_Even >= minUTF16Zeros) {
+
+         _charset = StandardCharsets.UTF_16BE;
+
+      } else {
+
+         _charset = StandardCharsets.UTF_8;
+         _isBinary = numZeros_Even > 0 && numZeros_Odd > 0;
+      }
+   }
+
+   /**
+    * @return Returns the text of the uncompressed header when the file is compressed with gzip,
+    *         the text is truncated when the compressed data are longer than the header, otherwise
+    *         an empty string is returned
+    */
+   public String getGzipText() {
+
+      if (_gzipText != null) {
+         return _gzipText;
+      }
+
+      _gzipText = UI.EMPTY_STRING;
+
+      if (isGzip() == false) {
+         return _gzipText;
+      }
+
+      final ByteArrayOutputStream inflatedBytes = new ByteArrayOutputStream();
+
+      try (GZIPInputStream gzipStream = new GZIPInputStream(new ByteArrayInputStream(_allBytes))) {
+
+         final byte[] readBuffer = new byte[HEADER_SIZE];
+         int numReadBytes;
+
+         while ((numReadBytes = gzipStream.read(readBuffer)) != -1) {
+            inflatedBytes.write(readBuffer, 0, numReadBytes);
+         }
+
+      } catch (final IOException e) {
+
+         // the header is truncated, keep the bytes which are already uncompressed
+      }
+
+      _gzipText = inflatedBytes.toString(StandardCharsets.UTF_8);
+
+      return _gzipText;
+   }
+
+   /**
+    * @return Returns the number of bytes in the header
+    */
+   public int getLength() {
+      return _allBytes.length;
+   }
+
+   /**
+    * @return Returns the header bytes as UTF-8 or UTF-16 text, a BOM (Byte Order Mark) is removed
+    */
+   public String getText() {
+
+      if (_text == null) {
+
+         detectCharset();
+
+         _text = new String(_allBytes, _numBOMBytes, _allBytes.length - _numBOMBytes, _charset);
+      }
+
+      return _text;
+   }
+
+   /**
+    * @param byteIndex
+    *
+    * @return Returns the unsigned value of the byte at the index or <code>-1</code> when the index
+    *         is not within the header
+    */
+   public int getUnsignedByte(final int byteIndex) {
+
+      if (byteIndex < 0 || byteIndex >= _allBytes.length) {
+         return -1;
+      }
+
+      return _allBytes[byteIndex] & 0xff;
+   }
+
+   /**
+    * @return Returns <code>true</code> when the header contains 0 bytes at even and at odd
+    *         positions and has no UTF-16 BOM (Byte Order Mark), then the file is not a UTF-8 or
+    *         UTF-16 text file
+    */
+   public boolean isBinary() {
+
+      detectCharset();
+
+      return _isBinary;
+   }
+
+   /**
+    * @return Returns <code>true</code> when the header is empty, e.g. when the file cannot be read
+    */
+   public boolean isEmpty() {
+      return _allBytes.length == 0;
+   }
+
+   /**
+    * @return Returns <code>true</code> when the file is compressed with gzip
+    */
+   public boolean isGzip() {
+
+      return getUnsignedByte(0) == GZIP_MAGIC_1
+            && getUnsignedByte(1) == GZIP_MAGIC_2;
+   }
+
+   /**
+    * @return Returns <code>true</code> when the header text is UTF-16 encoded
+    */
+   public boolean isUTF16() {
+
+      detectCharset();
+
+      return _charset == StandardCharsets.UTF_16LE || _charset == StandardCharsets.UTF_16BE;
+   }
+
+   /**
+    * @param byteIndex
+    * @param asciiText
+    *
+    * @return Returns <code>true</code> when the header contains the ASCII text at the byte index
+    */
+   public boolean isText(final int byteIndex, final String asciiText) {
+
+      final int numChars = asciiText.length();
+
+      if (byteIndex < 0 || byteIndex + numChars > _allBytes.length) {
+         return false;
+      }
+
+      for (int charIndex = 0; charIndex < numChars; charIndex++) {
+         if (_allBytes[byteIndex + charIndex] != asciiText.charAt(charIndex)) {
+            return false;
+         }
+      }
+
+      return true;
+   }
+
+   @Override
+   public String toString() {
+
+      return "ImportFileHeader" //$NON-NLS-1$
+
+            + " length=" + _allBytes.length //$NON-NLS-1$
+            + " isBinary=" + isBinary() //$NON-NLS-1$
+            + " isUTF16=" + isUTF16() //$NON-NLS-1$
+            + " isGzip=" + isGzip(); //$NON-NLS-1$
+   }
+}
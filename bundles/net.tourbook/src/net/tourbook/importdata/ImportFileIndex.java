@@ -0,0 +1,537 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.importdata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import net.tourbook.application.TourbookPlugin;
+import net.tourbook.common.util.StatusUtil;
+
+/**
+ * Index for the files in the easy import device and backup folders, it contains the file size, the
+ * modified time and the tour ID when the file is imported.
+ * <p>
+ * A folder is scanned again for each check, but when the folder is watched with a
+ * {@link java.nio.file.WatchService}, only the files from the watch events are updated. The tour ID
+ * of an unchanged file is kept, so that the tour database needs to be checked only for new or
+ * modified files.
+ * <p>
+ * The index is saved in the state location and is loaded when it is used the first time.
+ */
+public class ImportFileIndex {
+
+   private static final String            INDEX_FILE_NAME      = "import-file-index.bin"; //$NON-NLS-1$
+   private static final int               INDEX_FILE_VERSION   = 1;
+
+   /**
+    * Tour ID when the file is not imported or the import state is not yet checked
+    */
+   public static final long               TOUR_ID_NOT_IMPORTED = -1;
+
+   private static ImportFileIndex         _instance;
+
+   /**
+    * Tour ID's of deleted tours, their files are reset when the index is used or saved with
+    * {@link #saveRemovedTours()}
+    */
+   private static final Set<Long>         _allRemovedTourIds   = new HashSet<>();
+
+   private final Map<String, FolderIndex> _allFolders          = new HashMap<>();
+
+   private boolean                        _isModified;
+
+   /**
+    * Files of one folder
+    */
+   private static class FolderIndex {
+
+      private final Map<String, IndexedFile> allFiles = new HashMap<>();
+
+      /**
+       * Is <code>true</code> when the folder is watched and was scanned after the watching was
+       * started, then the files are updated only from watch events
+       */
+      private boolean                        isWatched;
+      private boolean                        isScannedWhileWatched;
+   }
+
+   /**
+    * Indexed file
+    */
+   public static class IndexedFile {
+
+      private final String fileName;
+      private final long   size;
+      private final long   modifiedTime;
+
+      private long         tourId = TOUR_ID_NOT_IMPORTED;
+
+      private IndexedFile(final String fileName, final long size, final long modifiedTime) {
+
+         this.fileName = fileName;
+         this.size = size;
+         this.modifiedTime = modifiedTime;
+      }
+
+      public String getFileName() {
+         return fileName;
+      }
+
+      public long getModifiedTime() {
+         return modifiedTime;
+      }
+
+      public long getSize() {
+         return size;
+      }
+
+      /**
+       * @return Returns the tour ID or {@link ImportFileIndex#TOUR_ID_NOT_IMPORTED} when the file
+       *         is not imported or it is not yet checked
+       */
+      public long getTourId() {
+         return tourId;
+      }
+
+      private boolean isSameFile(final long otherSize, final long otherModifiedTime) {
+
+         return size == otherSize && modifiedTime == otherModifiedTime;
+      }
+   }
+
+   private ImportFileIndex() {}
+
+   public static synchronized ImportFileIndex getInstance() {
+
+      if (_instance == null) {
+
+         _instance = new ImportFileIndex();
+         _instance.load();
+      }
+
+      if (_allRemovedTourIds.isEmpty() == false) {
+         _instance.resetRemovedTours();
+      }
+
+      return _instance;
+   }
+
+   private static File getIndexFile() {
+
+      return TourbookPlugin.getDefault().getStateLocation().append(INDEX_FILE_NAME).toFile();
+   }
+
+   private static String getKey(final Path folderPath) {
+
+      return folderPath.toString();
+   }
+
+   /**
+    * Removes a deleted tour from the index, so that its file will be displayed again as not
+    * imported. The index is updated and saved with {@link #saveRemovedTours()} after all tours of
+    * a delete operation are deleted.
+    *
+    * @param tourId
+    */
+   public static synchronized void removeTour(final long tourId) {
+
+      _allRemovedTourIds.add(tourId);
+   }
+
+   /**
+    * Resets the files of all removed tours and saves the index once for all removed tours,
+    * otherwise the deleted tours are still imported after a restart.
+    */
+   public static synchronized void saveRemovedTours() {
+
+      if (_allRemovedTourIds.isEmpty()) {
+         return;
+      }
+
+      if (_instance == null && getIndexFile().exists() == false) {
+
+         // there is no index which contains the removed tours
+         _allRemovedTourIds.clear();
+
+         return;
+      }
+
+      getInstance().save();
+   }
+
+   /**
+    * Get all regular files of a folder, the folder is scanned when it is not watched.
+    *
+    * @param folderPath
+    * @param globPattern
+    *           Pattern for the file names or <code>null</code> to get all files
+    *
+    * @return Returns the indexed files of the folder
+    */
+   public synchronized List<IndexedFile> getFiles(final Path folderPath, final String globPattern) {
+
+      final String folderKey = getKey(folderPath);
+
+      FolderIndex folderIndex = _allFolders.get(folderKey);
+
+      if (folderIndex == null) {
+
+         folderIndex = new FolderIndex();
+         _allFolders.put(folderKey, folderIndex);
+      }
+
+      if (folderIndex.isWatched == false || folderIndex.isScannedWhileWatched == false) {
+
+         scanFolder(folderPath, folderIndex);
+
+         folderIndex.isScannedWhileWatched = folderIndex.isWatched;
+      }
+
+      final PathMatcher pathMatcher = globPattern == null
+            ? null
+            : folderPath.getFileSystem().getPathMatcher("glob:" + globPattern); //$NON-NLS-1$
+
+      final List<IndexedFile> allFiles = new ArrayList<>();
+
+      for (final IndexedFile indexedFile : folderIndex.allFiles.values()) {
+
+         if (pathMatcher == null || pathMatcher.matches(folderPath.getFileSystem().getPath(indexedFile.fileName))) {
+            allFiles.add(indexedFile);
+         }
+      }
+
+      return allFiles;
+   }
+
+   private void load() {
+
+      final File indexFile = getIndexFile();
+
+      if (indexFile.exists() == false) {
+         return;
+      }
+
+      try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+
+         if (inputStream.readInt() != INDEX_FILE_VERSION) {
+
+            // an index with an other version is ignored, it is created again
+            return;
+         }
+
+         final int numFolders = inputStream.readInt();
+
+         for (int folderIndex = 0; folderIndex < numFolders; folderIndex++) {
+
+            final String folderKey = inputStream.readUTF();
+            final int numFiles = inputStream.readInt();
+
+            final FolderIndex folder = new FolderIndex();
+
+            for (int fileIndex = 0; fileIndex < numFiles; fileIndex++) {
+
+               final IndexedFile indexedFile = new IndexedFile(
+                     inputStream.readUTF(),
+                     inputStream.readLong(),
+                     inputStream.readLong());
+
+               indexedFile.tourId = inputStream.readLong();
+
+               folder.allFiles.put(indexedFile.fileName, indexedFile);
+            }
+
+            _allFolders.put(folderKey, folder);
+         }
+
+      } catch (final IOException e) {
+
+         // the index is created again when it cannot be read
+         _allFolders.clear();
+
+         StatusUtil.log(e);
+      }
+   }
+
+   private synchronized void resetRemovedTours() {
+
+      for (final FolderIndex folderIndex : _allFolders.values()) {
+         for (final IndexedFile indexedFile : folderIndex.allFiles.values()) {
+
+            if (_allRemovedTourIds.contains(indexedFile.tourId)) {
+
+               indexedFile.tourId = TOUR_ID_NOT_IMPORTED;
+               _isModified = true;
+            }
+         }
+      }
+
+      _allRemovedTourIds.clear();
+   }
+
+   /**
+    * Saves the index when it is modified
+    */
+   public synchronized void save() {
+
+      if (_isModified == false) {
+         return;
+      }
+
+      try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(getIndexFile())))) {
+
+         outputStream.writeInt(INDEX_FILE_VERSION);
+         outputStream.writeInt(_allFolders.size());
+
+         for (final Entry<String, FolderIndex> folderEntry : _allFolders.entrySet()) {
+
+            final Map<String, IndexedFile> allFiles = folderEntry.getValue().allFiles;
+
+            outputStream.writeUTF(folderEntry.getKey());
+            outputStream.writeInt(allFiles.size());
+
+            for (final IndexedFile indexedFile : allFiles.values()) {
+
+               outputStream.writeUTF(indexedFile.fileName);
+               outputStream.writeLong(indexedFile.size);
+               outputStream.writeLong(indexedFile.modifiedTime);
+               outputStream.writeLong(indexedFile.tourId);
+            }
+         }
+
+         _isModified = false;
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+   }
+
+   /**
+    * Scans all regular files of a folder, the file attributes are provided when the folder is
+    * read, so that a file do not need to be accessed separately.
+    *
+    * @param folderPath
+    * @param folderIndex
+    */
+   private void scanFolder(final Path folderPath, final FolderIndex folderIndex) {
+
+      final Map<String, IndexedFile> allOldFiles = folderIndex.allFiles;
+      final Map<String, IndexedFile> allNewFiles = new HashMap<>();
+
+      try {
+
+         Files.walkFileTree(folderPath, Collections.emptySet(), 1, new SimpleFileVisitor<>() {
+
+            @Override
+            public FileVisitResult visitFile(final Path filePath, final BasicFileAttributes fileAttributes) {
+
+               // ignore not regular files
+               if (fileAttributes.isRegularFile()) {
+
+                  final String fileName = filePath.getFileName().toString();
+
+                  allNewFiles.put(fileName, updateFile(
+                        allOldFiles.get(fileName),
+                        fileName,
+                        fileAttributes.size(),
+                        fileAttributes.lastModifiedTime().toMillis()));
+               }
+
+               return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path filePath, final IOException e) {
+
+               // this can occur too often
+               return FileVisitResult.CONTINUE;
+            }
+         });
+
+      } catch (final IOException e) {
+         StatusUtil.log(e);
+      }
+
+      if (allNewFiles.equals(allOldFiles) == false) {
+
+         allOldFiles.clear();
+         allOldFiles.putAll(allNewFiles);
+
+         _isModified = true;
+      }
+   }
+
+   /**
+    * Sets the tour ID for a file name in all folders, the database check is done with the file
+    * name only.
+    *
+    * @param fileName
+    * @param tourId
+    */
+   public synchronized void setImportedFile(final String fileName, final long tourId) {
+
+      for (final FolderIndex folderIndex : _allFolders.values()) {
+
+         final IndexedFile indexedFile = folderIndex.allFiles.get(fileName);
+
+         if (indexedFile != null && indexedFile.tourId != tourId) {
+
+            indexedFile.tourId = tourId;
+            _isModified = true;
+         }
+      }
+   }
+
+   /**
+    * @param allWatchedFolders
+    *           Folders which are watched, all other folders are scanned for each check
+    */
+   public synchronized void setWatchedFolders(final List<Path> allWatchedFolders) {
+
+      for (final FolderIndex folderIndex : _allFolders.values()) {
+
+         folderIndex.isWatched = false;
+         folderIndex.isScannedWhileWatched = false;
+      }
+
+      for (final Path folderPath : allWatchedFolders) {
+
+         FolderIndex folderIndex = _allFolders.get(getKey(folderPath));
+
+         if (folderIndex == null) {
+
+            folderIndex = new FolderIndex();
+            _allFolders.put(getKey(folderPath), folderIndex);
+         }
+
+         // the folder must be scanned again because events could be missed before it was watched
+         folderIndex.isWatched = true;
+      }
+   }
+
+   private IndexedFile updateFile(final IndexedFile oldFile,
+                                  final String fileName,
+                                  final long size,
+                                  final long modifiedTime) {
+
+      // keep the tour ID for unchanged files
+      if (oldFile != null && oldFile.isSameFile(size, modifiedTime)) {
+         return oldFile;
+      }
+
+      return new IndexedFile(fileName, size, modifiedTime);
+   }
+
+   /**
+    * Updates the files of a watched folder from the watch events
+    *
+    * @param folderPath
+    * @param allWatchEvents
+    */
+   public synchronized void updateFolder(final Path folderPath, final List<WatchEvent<?>> allWatchEvents) {
+
+      final FolderIndex folderIndex = _allFolders.get(getKey(folderPath));
+
+      if (folderIndex == null || folderIndex.isScannedWhileWatched == false) {
+
+         // the folder is scanned with the next check
+         return;
+      }
+
+      final Map<String, IndexedFile> allFiles = folderIndex.allFiles;
+
+      for (final WatchEvent<?> watchEvent : allWatchEvents) {
+
+         if (watchEvent.kind() == StandardWatchEventKinds.OVERFLOW) {
+
+            // events are lost, scan the whole folder with the next check
+            folderIndex.isScannedWhileWatched = false;
+
+            return;
+         }
+
+         final Path eventPath = (Path) watchEvent.context();
+         final String fileName = eventPath.getFileName().toString();
+
+         try {
+
+            final BasicFileAttributes fileAttributes = Files.readAttributes(folderPath.resolve(eventPath), BasicFileAttributes.class);
+
+            if (fileAttributes.isRegularFile()) {
+
+               allFiles.put(fileName, updateFile(
+                     allFiles.get(fileName),
+                     fileName,
+                     fileAttributes.size(),
+                     fileAttributes.lastModifiedTime().toMillis()));
+
+            } else {
+
+               allFiles.remove(fileName);
+            }
+
+         } catch (final NoSuchFileException e) {
+
+            allFiles.remove(fileName);
+
+         } catch (final IOException e) {
+
+            // file state is unknown, scan the whole folder with the next check
+            folderIndex.isScannedWhileWatched = false;
+         }
+
+         _isModified = true;
+      }
+   }
+
+   @Override
+   public String toString() {
+
+      int numFiles = 0;
+
+      for (final FolderIndex folderIndex : _allFolders.values()) {
+         numFiles += folderIndex.allFiles.size();
+      }
+
+      return "ImportFileIndex" //$NON-NLS-1$
+
+            + " folders=" + _allFolders.size() //$NON-NLS-1$
+            + " files=" + numFiles; //$NON-NLS-1$
+   }
+}
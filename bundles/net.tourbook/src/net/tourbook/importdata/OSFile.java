@@ -29,6 +29,11 @@ public class OSFile {
    public long               size;
    public long               modifiedTime;
 
+   /**
+    * Tour ID when this file is known as imported or {@link ImportFileIndex#TOUR_ID_NOT_IMPORTED}
+    */
+   public long               tourId = ImportFileIndex.TOUR_ID_NOT_IMPORTED;
+
    /** When <code>true</code>, this file is already moved and exists in the backup folder. */
    public boolean            isBackupImportFile;
 
@@ -926,6 +926,66 @@ public class RawDataManager {
       return EasyImportManager.getInstance().getEasyConfig();
    }
 
+   /**
+    * Sorts all devices, which are used to import a file, by checking the file header with
+    * {@link TourbookDevice#probeFileHeader(ImportFileHeader)}. Devices which have rejected the file
+    * header are not used.
+    *
+    * @param fileExtension
+    * @param fileHeader
+    * @param allDevices_1st
+    *           Devices which have recognized the file header, followed by the devices with the file
+    *           extension
+    * @param allDevices_2nd
+    *           All other devices, they are used when the file could not be imported with the 1st
+    *           devices
+    */
+   private static void getImportDevices(final String fileExtension,
+                                        final ImportFileHeader fileHeader,
+                                        final List<TourbookDevice> allDevices_1st,
+                                        final List<TourbookDevice> allDevices_2nd) {
+
+      final List<TourbookDevice> allDevices_WithExtension = new ArrayList<>();
+
+      for (final TourbookDevice device : _allDevices_BySortPriority) {
+
+         ContentProbeResult probeResult;
+
+         try {
+
+            probeResult = device.probeFileHeader(fileHeader);
+
+         } catch (final Exception e) {
+
+            // a failed probe must not prevent the import
+            StatusUtil.log(e);
+
+            probeResult = ContentProbeResult.UNKNOWN;
+         }
+
+         if (probeResult == ContentProbeResult.MATCH) {
+
+            allDevices_1st.add(device);
+
+         } else if (probeResult == ContentProbeResult.UNKNOWN) {
+
+            final String deviceFileExtension = device.fileExtension;
+
+            if (deviceFileExtension.equals(UI.SYMBOL_STAR)
+                  || deviceFileExtension.equalsIgnoreCase(fileExtension)) {
+
+               allDevices_WithExtension.add(device);
+
+            } else {
+
+               allDevices_2nd.add(device);
+            }
+         }
+      }
+
+      allDevices_1st.addAll(allDevices_WithExtension);
+   }
+
    public static RawDataManager getInstance() {
 
       if (_instance == null) {
@@ -2632,80 +2692,86 @@ public class RawDataManager {
       }
       final String fileExtension = importFilePathName.substring(dotPos + 1);
 
+      /*
+       * Read the file header only once, all devices are checking the header to find the devices
+       * which can import this file, so that the file do not need to be parsed with each device
+       */
+      final ImportFileHeader fileHeader = ImportFileHeader.read(importFile.toPath());
+
+      final List<TourbookDevice> allDevices_1st = new ArrayList<>();
+      final List<TourbookDevice> allDevices_2nd = new ArrayList<>();
+
+      getImportDevices(fileExtension, fileHeader, allDevices_1st, allDevices_2nd);
+
       BusyIndicator.showWhile(null, () -> {
 
          boolean isDataImported = false;
          final ArrayList<String> additionalImportedFiles = new ArrayList<>();
 
          /*
-          * Try to import from all devices which have the defined extension
+          * Try to import from all devices which have recognized the file header or which have the
+          * defined extension
           */
-         for (final TourbookDevice device : _allDevices_BySortPriority) {
+         for (final TourbookDevice device : allDevices_1st) {
 
-            final String deviceFileExtension = device.fileExtension;
+            // Check if the file we want to import requires confirmation and if yes, ask user
+            if (device.userConfirmationRequired()) {
 
-            if (deviceFileExtension.equals(UI.SYMBOL_STAR)
-                  || deviceFileExtension.equalsIgnoreCase(fileExtension)) {
+               display.syncExec(() -> {
 
-               // Check if the file we want to import requires confirmation and if yes, ask user
-               if (device.userConfirmationRequired()) {
+                  final Shell activeShell = display.getActiveShell();
 
-                  display.syncExec(() -> {
-
-                     final Shell activeShell = display.getActiveShell();
-
-                     // during initialization there is no active shell
-                     if (activeShell != null) {
-                        if (MessageDialog.openConfirm(
-                              activeShell,
-                              NLS.bind(Messages.DataImport_ConfirmImport_title, device.visibleName),
-                              device.userConfirmationMessage())) {
-                           importState_Process.isImportCanceled_ByUserDialog().set(false);
-                        } else {
-                           importState_Process.isImportCanceled_ByUserDialog().set(true);
-                        }
+                  // during initialization there is no active shell
+                  if (activeShell != null) {
+                     if (MessageDialog.openConfirm(
+                           activeShell,
+                           NLS.bind(Messages.DataImport_ConfirmImport_title, device.visibleName),
+                           device.userConfirmationMessage())) {
+                        importState_Process.isImportCanceled_ByUserDialog().set(false);
+                     } else {
+                        importState_Process.isImportCanceled_ByUserDialog().set(true);
                      }
-                  });
-               }
+                  }
+               });
+            }
 
-               if (importState_Process.isImportCanceled_ByUserDialog().get()) {
+            if (importState_Process.isImportCanceled_ByUserDialog().get()) {
 
-                  // don't display an error to the user
-                  importState_File.isImportDone = true;
+               // don't display an error to the user
+               importState_File.isImportDone = true;
 
-                  return;
-               }
-
-               // device file extension was found in the filename extension
-               importTours_FromOneFile_10(
-                     device,
-                     importFilePathName,
-                     destinationPath,
-                     fileCollision,
-                     isBuildNewFileNames,
-                     isTourDisplayedInImportView,
-                     allImportedTourDataFromOneFile,
-                     importState_Process,
-                     importState_File);
+               return;
+            }
 
-               if (importState_File.importedFileName != null) {
+            // device has recognized the file header or the device file extension was found in the filename extension
+            importTours_FromOneFile_10(
+                  device,
+                  importFilePathName,
+                  destinationPath,
+                  fileCollision,
+                  isBuildNewFileNames,
+                  isTourDisplayedInImportView,
+                  allImportedTourDataFromOneFile,
+                  importState_Process,
+                  importState_File);
 
-                  isDataImported = true;
-                  importState_File.isImportDone = true;
+            if (importState_File.importedFileName != null) {
 
-                  final ArrayList<String> deviceImportedFiles = importState_File.getAdditionalImportedFiles();
-                  if (deviceImportedFiles != null) {
-                     additionalImportedFiles.addAll(deviceImportedFiles);
-                  }
+               isDataImported = true;
+               importState_File.isImportDone = true;
 
-                  break;
+               final ArrayList<String> deviceImportedFiles = importState_File.getAdditionalImportedFiles();
+               if (deviceImportedFiles != null) {
+                  additionalImportedFiles.addAll(deviceImportedFiles);
                }
 
-               if (importState_Process.isImportCanceled_ByUserDialog().get()
-                     || importState_File.isImportDone) {
+               break;
+            }
 
-                  break;
-               }
+            if (importState_Process.isImportCanceled_ByUserDialog().get()
+                  || importState_File.isImportDone) {
+
+               break;
             }
          }
 
@@ -2714,10 +2780,10 @@ public class RawDataManager {
                && importState_File.isImportDone == false) {
 
             /*
-             * When data has not imported yet, try all available devices without checking the
-             * file extension
+             * When data has not imported yet, try all other devices which have not rejected the
+             * file header without checking the file extension
              */
-            for (final TourbookDevice device_2nd : _allDevices_BySortPriority) {
+            for (final TourbookDevice device_2nd : allDevices_2nd) {
 
                importTours_FromOneFile_10(
                      device_2nd,
@@ -307,6 +307,53 @@ public abstract class TourbookDevice implements IRawDataReader {
       return true;
    }
 
+   /**
+    * Checks the first bytes of an import file, this is done for all devices before a file is
+    * validated with {@link #validateRawData(String)}. A device which recognizes the file format is
+    * used before all other devices, a device which rejects the file format is not used for this
+    * file.
+    * <p>
+    * This must be fast and must not read the file again.
+    *
+    * @param fileHeader
+    *
+    * @return Returns {@link ContentProbeResult#UNKNOWN} when not overwritten, then the file is
+    *         validated with {@link #validateRawData(String)} like before
+    */
+   public ContentProbeResult probeFileHeader(final ImportFileHeader fileHeader) {
+
+      return ContentProbeResult.UNKNOWN;
+   }
+
+   /**
+    * Checks the header of a UTF-8 or UTF-16 xml file.
+    *
+    * @param fileHeader
+    * @param deviceTag
+    *           Tag which is contained in the xml file of the device
+    *
+    * @return Returns {@link ContentProbeResult#MATCH} when the header contains the device tag,
+    *         {@link ContentProbeResult#NO_MATCH} when the file is binary, otherwise
+    *         {@link ContentProbeResult#UNKNOWN} because the tag could be after the header or the
+    *         text encoding is not detected, then the device is selected by the file extension
+    */
+   protected ContentProbeResult probeXMLFileHeader(final ImportFileHeader fileHeader, final String deviceTag) {
+
+      if (fileHeader.isEmpty()) {
+         return ContentProbeResult.UNKNOWN;
+      }
+
+      if (fileHeader.isBinary()) {
+         return ContentProbeResult.NO_MATCH;
+      }
+
+      if (fileHeader.containsText(deviceTag)) {
+         return ContentProbeResult.MATCH;
+      }
+
+      return ContentProbeResult.UNKNOWN;
+   }
+
    public void setConvertWayPoints(final boolean isConvertWayPoints) {
       this.isConvertWayPoints = isConvertWayPoints;
    }
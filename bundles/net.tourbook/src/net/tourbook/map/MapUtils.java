@@ -27,6 +27,7 @@ import net.tourbook.common.color.LegendUnitFormat;
 import net.tourbook.common.color.Map2ColorProfile;
 import net.tourbook.common.color.Map3GradientColorProvider;
 import net.tourbook.common.color.MapUnits;
+import net.tourbook.data.SerieKind;
 import net.tourbook.data.TourData;
 import net.tourbook.map2.Messages;
 
@@ -71,6 +72,11 @@ public class MapUtils {
        */
       final List<TourData> allTourData_ThreadSafe = new ArrayList<>(allTourData);
 
+      // tours in the map can be loaded without the data series for the tour colors
+      for (final TourData tourData : allTourData_ThreadSafe) {
+         tourData.loadDataSeries(SerieKind.TOUR_COLOR);
+      }
+
       /**
        * !!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!!
        * <p>
@@ -16,9 +16,12 @@
 package net.tourbook.map2.view;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Set;
 
 import net.tourbook.common.color.MapGraphId;
 import net.tourbook.data.HrZoneContext;
+import net.tourbook.data.SerieKind;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourPersonHRZone;
 import net.tourbook.training.TrainingManager;
@@ -30,6 +33,8 @@ import org.eclipse.swt.graphics.RGB;
  */
 public class HrZonesColorProvider implements IDiscreteColorProvider {
 
+   private static final Set<SerieKind> SERIE_KINDS_PULSE = EnumSet.of(SerieKind.PULSE);
+
    private MapGraphId                  _graphId;
 
    /**
@@ -55,6 +60,10 @@ public class HrZonesColorProvider implements IDiscreteColorProvider {
          // get required data which are needed to get the HR zone color
 
          _checkedTourData = tourData;
+
+         // the tour can be loaded without the pulse
+         tourData.loadDataSeries(SERIE_KINDS_PULSE);
+
          _isValidHrZoneData = TrainingManager.isRequiredHrZoneDataAvailable(tourData);
 
          if (_isValidHrZoneData) {
@@ -75,6 +75,7 @@ import net.tourbook.common.tooltip.ToolbarSlideout;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.TourToolTip;
 import net.tourbook.common.util.Util;
+import net.tourbook.data.SerieKind;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourLocation;
 import net.tourbook.data.TourMarker;
@@ -3162,6 +3163,10 @@ public class Map2View extends ViewPart implements
       } else if (isOneTourDisplayed) {
 
          final TourData oneTourData          = _allTourData.get(0);
+
+         // the tour can be loaded without the data series for the tour colors
+         oneTourData.loadDataSeries(SerieKind.TOUR_COLOR);
+
          final boolean isPulse               = oneTourData.pulseSerie != null;
          final boolean canShowHrZones        = oneTourData.getNumberOfHrZones() > 0 && isPulse;
 
@@ -5147,7 +5152,7 @@ public class Map2View extends ViewPart implements
 
          final ArrayList<TourData> allLoadedTourData = new ArrayList<>();
 
-         newOverlayKey = TourManager.loadTourData(allTourIds, allLoadedTourData, true);
+         newOverlayKey = TourManager.loadTourData(allTourIds, allLoadedTourData, true, SerieKind.MAP);
 
          setTourData(allLoadedTourData);
 
@@ -6257,27 +6262,27 @@ public class Map2View extends ViewPart implements
        * Cut off lines within a pause -> set visible and hidden points
        */
       final boolean[] breakTimeSerie = tourData.getBreakTimeSerie();
-      final boolean isBreakTimeAvailable = breakTimeSerie != null;
 
-      final int numSlices = timeSerie.length;
+      if (breakTimeSerie == null) {
 
-      tourData.visibleDataPointSerie = isBreakTimeAvailable
-            ? new boolean[numSlices]
-            : null;
+         tourData.visibleDataPointSerie = null;
 
-      if (isBreakTimeAvailable) {
+         return;
+      }
 
-         final boolean[] visibleDataPointSerie = tourData.visibleDataPointSerie;
+      final boolean[] visibleDataPointSerie = new boolean[timeSerie.length];
 
-         for (int timeIndex = 0; timeIndex < breakTimeSerie.length; timeIndex++) {
+      for (int timeIndex = 0; timeIndex < breakTimeSerie.length; timeIndex++) {
 
-            final boolean isBreakTime = breakTimeSerie[timeIndex];
+         final boolean isBreakTime = breakTimeSerie[timeIndex];
 
-            if (isBreakTime == false) {
-               visibleDataPointSerie[timeIndex] = true;
-            }
+         if (isBreakTime == false) {
+            visibleDataPointSerie[timeIndex] = true;
          }
       }
+
+      // a new array is set when it is filled, the map geometry is cached for this array
+      tourData.visibleDataPointSerie = visibleDataPointSerie;
    }
 
    /**
@@ -0,0 +1,615 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.map2.view;
+
+import de.byteholder.geoclipse.mapprovider.MP;
+
+import java.awt.Point;
+
+import net.tourbook.algorithm.DPPoint;
+import net.tourbook.algorithm.DouglasPeuckerSimplifier;
+import net.tourbook.common.map.GeoPosition;
+import net.tourbook.data.TourData;
+
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+/**
+ * Geometry of a tour in world pixels for one map projection and zoom level.
+ * <p>
+ * The world positions are packed into int arrays, the line is simplified with the
+ * {@link DouglasPeuckerSimplifier} and the segments/points are indexed by the tiles which they
+ * cross, so that painting a tile touches only the parts of the tour which are visible in this
+ * tile. A segment/point is also indexed in the neighbouring tiles when its painted symbol is
+ * reaching into these tiles.
+ */
+public class TourMapGeometry {
+
+   /**
+    * Max distance in pixels between the simplified and the original line, it is the half of a
+    * pixel because the split of long segments can double this distance
+    */
+   private static final float SIMPLIFY_TOLERANCE = 0.5f;
+
+   /**
+    * Simplified segments are not longer than this number of pixels, otherwise the color of a long
+    * straight line would be painted only with the color of its end point
+    */
+   private static final int   MAX_SEGMENT_LENGTH = 16;
+
+   private final int          _tileSize;
+
+   /**
+    * Number of pixels which a painted dot or line is reaching over its world position
+    */
+   private final int          _tileMargin;
+
+   /**
+    * {@link TourData#visibleDataPointSerie} which was used to create this geometry, the geometry
+    * is valid only for this array
+    */
+   private final boolean[]    _visibleDataPointSerie;
+
+   /**
+    * World pixel positions for all time slices
+    */
+   private final int[]        _allWorldPixelX;
+   private final int[]        _allWorldPixelY;
+
+   /**
+    * Serie indices of the points which are painted as line, segment <code>n</code> is painted from
+    * point <code>n</code> to point <code>n + 1</code>
+    */
+   private int[]              _allLineSerieIndices;
+
+   /**
+    * Serie indices of the points which are painted as dot, consecutive points with the same world
+    * position are skipped
+    */
+   private int[]              _allDotSerieIndices;
+
+   /**
+    * Key is the tile key, value contains the ascending segment indices which cross the tile
+    */
+   private final LongObjectHashMap<int[]> _allTileLineSegments = new LongObjectHashMap<>();
+
+   /**
+    * Key is the tile key, value contains the ascending indices of {@link #_allDotSerieIndices}
+    * which are in the tile
+    */
+   private final LongObjectHashMap<int[]> _allTileDotPoints    = new LongObjectHashMap<>();
+
+   /**
+    * Creates the geometry of a tour which has geo positions
+    *
+    * @param tourData
+    * @param mp
+    * @param mapZoomLevel
+    * @param tileMargin
+    *           Number of pixels which a painted dot or line is reaching over its world position
+    */
+   public TourMapGeometry(final TourData tourData, final MP mp, final int mapZoomLevel, final int tileMargin) {
+
+      final double[] latitudeSerie = tourData.latitudeSerie;
+      final double[] longitudeSerie = tourData.longitudeSerie;
+
+      final int numSlices = latitudeSerie.length;
+
+      _tileSize = mp.getTileSize();
+      _tileMargin = tileMargin;
+
+      // the visible points are read once, they could be replaced while the geometry is created
+      _visibleDataPointSerie = tourData.visibleDataPointSerie;
+
+      _allWorldPixelX = new int[numSlices];
+      _allWorldPixelY = new int[numSlices];
+
+      for (int serieIndex = 0; serieIndex < numSlices; serieIndex++) {
+
+         // convert lat/long into world pixels which depends on the map projection
+
+         final Point worldPixel = mp.geoToPixel(
+               new GeoPosition(latitudeSerie[serieIndex], longitudeSerie[serieIndex]),
+               mapZoomLevel);
+
+         _allWorldPixelX[serieIndex] = worldPixel.x;
+         _allWorldPixelY[serieIndex] = worldPixel.y;
+      }
+
+      createGeometry(getForcedSerieIndices(tourData));
+   }
+
+   /**
+    * @param allWorldPixelX
+    * @param allWorldPixelY
+    * @param isForcedSerieIndex
+    *           Contains <code>true</code> for points which must not be simplified, can be
+    *           <code>null</code>
+    * @param tileSize
+    * @param tileMargin
+    */
+   TourMapGeometry(final int[] allWorldPixelX,
+                   final int[] allWorldPixelY,
+                   final boolean[] isForcedSerieIndex,
+                   final int tileSize,
+                   final int tileMargin) {
+
+      _tileSize = tileSize;
+      _tileMargin = tileMargin;
+      _visibleDataPointSerie = null;
+
+      _allWorldPixelX = allWorldPixelX;
+      _allWorldPixelY = allWorldPixelY;
+
+      createGeometry(isForcedSerieIndex);
+   }
+
+   private static long getTileKey(final int tileX, final int tileY) {
+
+      return ((long) tileX << 32) | (tileY & 0xffffffffL);
+   }
+
+   /**
+    * The indices are added in ascending order, an index which is added again to the same tile is
+    * skipped
+    */
+   private static void putTileIndex(final LongObjectHashMap<IntArrayList> allTileIndices,
+                                    final int tileX,
+                                    final int tileY,
+                                    final int index) {
+
+      final IntArrayList allIndices = allTileIndices.getIfAbsentPut(getTileKey(tileX, tileY), IntArrayList::new);
+
+      if (allIndices.isEmpty() || allIndices.getLast() != index) {
+         allIndices.add(index);
+      }
+   }
+
+   private static void putTileIndices(final LongObjectHashMap<IntArrayList> allTileIndices,
+                                      final LongObjectHashMap<int[]> allTileArrays) {
+
+      allTileIndices.forEachKeyValue((tileKey, allIndices) -> allTileArrays.put(tileKey, allIndices.toArray()));
+   }
+
+   /**
+    * Add the segment to all tiles which are crossed by the segment, the tiles are traversed like a
+    * voxel traversal (Amanatides/Woo), pixel <code>x</code> is in tile <code>x / tileSize</code>
+    */
+   private void addSegment_ToTiles(final LongObjectHashMap<IntArrayList> allTileSegments,
+                                   final int segmentIndex,
+                                   final int fromX,
+                                   final int fromY,
+                                   final int toX,
+                                   final int toY) {
+
+      int tileX = fromX / _tileSize;
+      int tileY = fromY / _tileSize;
+
+      final int toTileX = toX / _tileSize;
+      final int toTileY = toY / _tileSize;
+
+      if (tileX == toTileX && tileY == toTileY) {
+
+         addSegment_ToTiles_WithMargin(allTileSegments, segmentIndex, tileX, tileY, fromX, fromY, toX, toY);
+
+         return;
+      }
+
+      final int diffX = toX - fromX;
+      final int diffY = toY - fromY;
+
+      final int stepX = Integer.signum(diffX);
+      final int stepY = Integer.signum(diffY);
+
+      // tile borders are between the last pixel of a tile and the first pixel of the next tile
+      double maxX = diffX == 0
+            ? Double.MAX_VALUE
+            : ((stepX > 0 ? tileX + 1 : tileX) * (double) _tileSize - 0.5 - fromX) / diffX;
+
+      double maxY = diffY == 0
+            ? Double.MAX_VALUE
+            : ((stepY > 0 ? tileY + 1 : tileY) * (double) _tileSize - 0.5 - fromY) / diffY;
+
+      final double deltaX = diffX == 0 ? Double.MAX_VALUE : (double) _tileSize / Math.abs(diffX);
+      final double deltaY = diffY == 0 ? Double.MAX_VALUE : (double) _tileSize / Math.abs(diffY);
+
+      final int numTiles = Math.abs(toTileX - tileX) + Math.abs(toTileY - tileY) + 1;
+
+      for (int tileIndex = 0; tileIndex < numTiles; tileIndex++) {
+
+         addSegment_ToTiles_WithMargin(allTileSegments, segmentIndex, tileX, tileY, fromX, fromY, toX, toY);
+
+         if (tileX == toTileX && tileY == toTileY) {
+            break;
+         }
+
+         if (tileY == toTileY || tileX != toTileX && maxX < maxY) {
+
+            tileX += stepX;
+            maxX += deltaX;
+
+         } else {
+
+            tileY += stepY;
+            maxY += deltaY;
+         }
+      }
+   }
+
+   /**
+    * Add the segment to a crossed tile and to the neighbouring tiles which are reached by the
+    * painted line, these are the tiles where the segment is crossing the tile area which is
+    * enlarged by the tile margin
+    */
+   private void addSegment_ToTiles_WithMargin(final LongObjectHashMap<IntArrayList> allTileSegments,
+                                              final int segmentIndex,
+                                              final int tileX,
+                                              final int tileY,
+                                              final int fromX,
+                                              final int fromY,
+                                              final int toX,
+                                              final int toY) {
+
+      putTileIndex(allTileSegments, tileX, tileY, segmentIndex);
+
+      if (_tileMargin <= 0) {
+         return;
+      }
+
+      for (int neighbourX = tileX - 1; neighbourX <= tileX + 1; neighbourX++) {
+         for (int neighbourY = tileY - 1; neighbourY <= tileY + 1; neighbourY++) {
+
+            if (neighbourX == tileX && neighbourY == tileY) {
+               continue;
+            }
+
+            if (isSegmentInTile(neighbourX, neighbourY, fromX, fromY, toX, toY)) {
+               putTileIndex(allTileSegments, neighbourX, neighbourY, segmentIndex);
+            }
+         }
+      }
+   }
+
+   /**
+    * Creates the dot and line points and the tile index
+    *
+    * @param isForcedSerieIndex
+    */
+   private void createGeometry(final boolean[] isForcedSerieIndex) {
+
+      final int numSlices = _allWorldPixelX.length;
+
+      if (numSlices == 0) {
+
+         _allDotSerieIndices = new int[0];
+         _allLineSerieIndices = new int[0];
+
+         return;
+      }
+
+      /*
+       * Skip points with the same world position, this is reducing the number of points a lot in
+       * a low zoom level
+       */
+      final IntArrayList allDotSerieIndices = new IntArrayList();
+
+      for (int serieIndex = 0; serieIndex < numSlices; serieIndex++) {
+
+         final boolean isForced = serieIndex == 0
+               || serieIndex == numSlices - 1
+               || isForcedSerieIndex != null && isForcedSerieIndex[serieIndex];
+
+         if (isForced
+               || _allWorldPixelX[serieIndex] != _allWorldPixelX[allDotSerieIndices.getLast()]
+               || _allWorldPixelY[serieIndex] != _allWorldPixelY[allDotSerieIndices.getLast()]) {
+
+            allDotSerieIndices.add(serieIndex);
+         }
+      }
+
+      _allDotSerieIndices = allDotSerieIndices.toArray();
+
+      _allLineSerieIndices = createGeometry_10_SimplifyLine(isForcedSerieIndex);
+
+      /*
+       * Create tile index
+       */
+      final LongObjectHashMap<IntArrayList> allTileDotPoints = new LongObjectHashMap<>();
+      final LongObjectHashMap<IntArrayList> allTileLineSegments = new LongObjectHashMap<>();
+
+      for (int dotIndex = 0; dotIndex < _allDotSerieIndices.length; dotIndex++) {
+
+         final int serieIndex = _allDotSerieIndices[dotIndex];
+
+         final int worldPixelX = _allWorldPixelX[serieIndex];
+         final int worldPixelY = _allWorldPixelY[serieIndex];
+
+         // a dot near a tile border is also painted in the neighbouring tiles
+         final int lastTileX = Math.floorDiv(worldPixelX + _tileMargin, _tileSize);
+         final int lastTileY = Math.floorDiv(worldPixelY + _tileMargin, _tileSize);
+
+         for (int tileX = Math.floorDiv(worldPixelX - _tileMargin, _tileSize); tileX <= lastTileX; tileX++) {
+            for (int tileY = Math.floorDiv(worldPixelY - _tileMargin, _tileSize); tileY <= lastTileY; tileY++) {
+
+               putTileIndex(allTileDotPoints, tileX, tileY, dotIndex);
+            }
+         }
+      }
+
+      for (int segmentIndex = 0; segmentIndex < _allLineSerieIndices.length - 1; segmentIndex++) {
+
+         final int fromIndex = _allLineSerieIndices[segmentIndex];
+         final int toIndex = _allLineSerieIndices[segmentIndex + 1];
+
+         addSegment_ToTiles(allTileLineSegments,
+               segmentIndex,
+               _allWorldPixelX[fromIndex],
+               _allWorldPixelY[fromIndex],
+               _allWorldPixelX[toIndex],
+               _allWorldPixelY[toIndex]);
+      }
+
+      putTileIndices(allTileDotPoints, _allTileDotPoints);
+      putTileIndices(allTileLineSegments, _allTileLineSegments);
+   }
+
+   private int[] createGeometry_10_SimplifyLine(final boolean[] isForcedSerieIndex) {
+
+      final int numDots = _allDotSerieIndices.length;
+
+      if (numDots < 3) {
+         return _allDotSerieIndices;
+      }
+
+      // convert dots into DP points
+      final DPPoint[] allDPPoints = new DPPoint[numDots];
+      final IntArrayList allForcedDotIndices = new IntArrayList();
+
+      for (int dotIndex = 0; dotIndex < numDots; dotIndex++) {
+
+         final int serieIndex = _allDotSerieIndices[dotIndex];
+
+         allDPPoints[dotIndex] = new DPPoint(_allWorldPixelX[serieIndex], _allWorldPixelY[serieIndex], serieIndex);
+
+         // the simplifier expects that the first forced index is 0
+         if (dotIndex == 0 || isForcedSerieIndex != null && isForcedSerieIndex[serieIndex]) {
+            allForcedDotIndices.add(dotIndex);
+         }
+      }
+
+      // the serie index of the simplified points is the index in the DP points
+      final DPPoint[] allSimplifiedPoints = new DouglasPeuckerSimplifier(
+            SIMPLIFY_TOLERANCE,
+            allDPPoints,
+            allForcedDotIndices.toArray()).simplify();
+
+      final IntArrayList allLineSerieIndices = new IntArrayList(allSimplifiedPoints.length);
+      final long maxSegmentLength2 = (long) MAX_SEGMENT_LENGTH * MAX_SEGMENT_LENGTH;
+
+      int prevDotIndex = allSimplifiedPoints[0].serieIndex;
+      allLineSerieIndices.add(_allDotSerieIndices[prevDotIndex]);
+
+      for (int pointIndex = 1; pointIndex < allSimplifiedPoints.length; pointIndex++) {
+
+         final int dotIndex = allSimplifiedPoints[pointIndex].serieIndex;
+
+         // split long segments with the original points
+         int lastSerieIndex = _allDotSerieIndices[prevDotIndex];
+
+         for (int skippedDotIndex = prevDotIndex + 1; skippedDotIndex < dotIndex; skippedDotIndex++) {
+
+            final int skippedSerieIndex = _allDotSerieIndices[skippedDotIndex];
+
+            final long diffX = _allWorldPixelX[skippedSerieIndex] - _allWorldPixelX[lastSerieIndex];
+            final long diffY = _allWorldPixelY[skippedSerieIndex] - _allWorldPixelY[lastSerieIndex];
+
+            if (diffX * diffX + diffY * diffY >= maxSegmentLength2) {
+
+               allLineSerieIndices.add(skippedSerieIndex);
+               lastSerieIndex = skippedSerieIndex;
+            }
+         }
+
+         allLineSerieIndices.add(_allDotSerieIndices[dotIndex]);
+
+         prevDotIndex = dotIndex;
+      }
+
+      return allLineSerieIndices.toArray();
+   }
+
+   /**
+    * @param tileX
+    * @param tileY
+    *
+    * @return Returns the ascending indices of {@link #getDotSerieIndices()} which are in the tile
+    *         or <code>null</code> when no dot is in the tile
+    */
+   public int[] getDotPoints(final int tileX, final int tileY) {
+
+      return _allTileDotPoints.get(getTileKey(tileX, tileY));
+   }
+
+   /**
+    * @return Returns the serie indices of the points which are painted as dot
+    */
+   public int[] getDotSerieIndices() {
+      return _allDotSerieIndices;
+   }
+
+   /**
+    * These points must not be simplified because the painting is different: the start of each
+    * tour when multiple tours are displayed and the points where the visibility of the data points
+    * is changing
+    */
+   private boolean[] getForcedSerieIndices(final TourData tourData) {
+
+      final int numSlices = _allWorldPixelX.length;
+
+      final boolean[] isForcedSerieIndex = new boolean[numSlices];
+
+      final int[] allMultipleTour_StartIndex = tourData.multipleTourStartIndex;
+
+      if (tourData.isMultipleTours() && allMultipleTour_StartIndex != null) {
+
+         for (final int startIndex : allMultipleTour_StartIndex) {
+
+            if (startIndex > 0 && startIndex < numSlices) {
+
+               isForcedSerieIndex[startIndex - 1] = true;
+               isForcedSerieIndex[startIndex] = true;
+            }
+         }
+      }
+
+      final boolean[] visibleDataPointSerie = _visibleDataPointSerie;
+
+      if (visibleDataPointSerie != null) {
+
+         for (int serieIndex = 1; serieIndex < numSlices && serieIndex < visibleDataPointSerie.length; serieIndex++) {
+
+            if (visibleDataPointSerie[serieIndex] != visibleDataPointSerie[serieIndex - 1]) {
+
+               isForcedSerieIndex[serieIndex - 1] = true;
+               isForcedSerieIndex[serieIndex] = true;
+            }
+         }
+      }
+
+      return isForcedSerieIndex;
+   }
+
+   /**
+    * @param tileX
+    * @param tileY
+    *
+    * @return Returns the ascending segment indices which cross the tile or <code>null</code> when
+    *         no segment is crossing the tile. Segment <code>n</code> is painted from
+    *         {@link #getLineSerieIndices()}<code>[n]</code> to
+    *         {@link #getLineSerieIndices()}<code>[n + 1]</code>
+    */
+   public int[] getLineSegments(final int tileX, final int tileY) {
+
+      return _allTileLineSegments.get(getTileKey(tileX, tileY));
+   }
+
+   /**
+    * @return Returns the serie indices of the simplified line
+    */
+   public int[] getLineSerieIndices() {
+      return _allLineSerieIndices;
+   }
+
+   /**
+    * @return Returns the number of pixels which a painted dot or line is reaching over its world
+    *         position, this was used to create the tile index
+    */
+   public int getTileMargin() {
+      return _tileMargin;
+   }
+
+   /**
+    * @return Returns the visible data points which were used to create this geometry or
+    *         <code>null</code> when all data points are visible
+    */
+   public boolean[] getVisibleDataPointSerie() {
+      return _visibleDataPointSerie;
+   }
+
+   /**
+    * @return Returns the world pixel x positions for all time slices
+    */
+   public int[] getWorldPixelX() {
+      return _allWorldPixelX;
+   }
+
+   /**
+    * @return Returns the world pixel y positions for all time slices
+    */
+   public int[] getWorldPixelY() {
+      return _allWorldPixelY;
+   }
+
+   /**
+    * @param tileX
+    * @param tileY
+    *
+    * @return Returns <code>true</code> when a part of the tour is painted in the tile
+    */
+   public boolean isInTile(final int tileX, final int tileY) {
+
+      final long tileKey = getTileKey(tileX, tileY);
+
+      return _allTileLineSegments.containsKey(tileKey) || _allTileDotPoints.containsKey(tileKey);
+   }
+
+   /**
+    * Clips the segment with the tile area which is enlarged by the tile margin (Liang/Barsky)
+    *
+    * @return Returns <code>true</code> when the segment is crossing the enlarged tile area
+    */
+   private boolean isSegmentInTile(final int tileX,
+                                   final int tileY,
+                                   final int fromX,
+                                   final int fromY,
+                                   final int toX,
+                                   final int toY) {
+
+      final double minX = (double) tileX * _tileSize - _tileMargin;
+      final double minY = (double) tileY * _tileSize - _tileMargin;
+      final double maxX = (double) (tileX + 1) * _tileSize + _tileMargin;
+      final double maxY = (double) (tileY + 1) * _tileSize + _tileMargin;
+
+      final double diffX = toX - fromX;
+      final double diffY = toY - fromY;
+
+      final double[] allP = { -diffX, diffX, -diffY, diffY };
+      final double[] allQ = { fromX - minX, maxX - fromX, fromY - minY, maxY - fromY };
+
+      double enter = 0;
+      double leave = 1;
+
+      for (int edgeIndex = 0; edgeIndex < 4; edgeIndex++) {
+
+         final double p = allP[edgeIndex];
+         final double q = allQ[edgeIndex];
+
+         if (p == 0) {
+
+            // segment is parallel to this edge and outside of the area
+            if (q < 0) {
+               return false;
+            }
+
+         } else {
+
+            final double ratio = q / p;
+
+            if (p < 0) {
+               enter = Math.max(enter, ratio);
+            } else {
+               leave = Math.min(leave, ratio);
+            }
+
+            if (enter > leave) {
+               return false;
+            }
+         }
+      }
+
+      return true;
+   }
+}
@@ -29,7 +29,10 @@ import java.awt.font.LineMetrics;
 import java.awt.image.BufferedImage;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import net.tourbook.application.TourbookPlugin;
 import net.tourbook.chart.Util;
@@ -44,6 +47,7 @@ import net.tourbook.common.color.MapUnits;
 import net.tourbook.common.map.GeoPosition;
 import net.tourbook.common.util.CustomScalingImageDataProvider;
 import net.tourbook.common.util.StatusUtil;
+import net.tourbook.data.SerieKind;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourReference;
 import net.tourbook.map2.Messages;
@@ -109,6 +113,17 @@ public class TourMapPainter extends Map2Painter {
 
    private static final ColorCacheSWT _colorCache = new ColorCacheSWT();
 
+   /*
+    * Data series which are needed for the tour color, a tour can be loaded with only a part of the
+    * data series
+    */
+   private static final Set<SerieKind> SERIE_KINDS_ALTITUDE = EnumSet.of(SerieKind.ALTITUDE);
+   private static final Set<SerieKind> SERIE_KINDS_GRADIENT = EnumSet.of(SerieKind.ALTITUDE, SerieKind.DISTANCE);
+   private static final Set<SerieKind> SERIE_KINDS_POWER    = EnumSet.of(SerieKind.POWER, SerieKind.ALTITUDE, SerieKind.DISTANCE);
+   private static final Set<SerieKind> SERIE_KINDS_PULSE    = EnumSet.of(SerieKind.PULSE);
+   private static final Set<SerieKind> SERIE_KINDS_RUN_DYN  = EnumSet.of(SerieKind.RUNNING_DYNAMICS);
+   private static final Set<SerieKind> SERIE_KINDS_SPEED    = EnumSet.of(SerieKind.SPEED, SerieKind.DISTANCE);
+
    /*
     * None static fields
     */
@@ -950,65 +965,50 @@ public class TourMapPainter extends Map2Painter {
          return false;
       }
 
-      boolean isTourInTile = false;
-
-      final int tileSize = mp.getTileSize();
+      /*
+       * The geometry is cached to optimize performance when multiple tours are selected, only the
+       * parts of the tour which are crossing this tile are painted
+       */
+      final TourMapGeometry mapGeometry = getMapGeometry(tourData, mp, mapZoomLevel, projectionHash);
 
-      // get viewport for the current tile
-      final int tileWorldPixelX = tile.getX() * tileSize;
-      final int tileWorldPixelY = tile.getY() * tileSize;
-      final int tileWidth = tileSize;
-      final int tileHeight = tileSize;
+      final int tileX = tile.getX();
+      final int tileY = tile.getY();
 
-      final double[] latitudeSerie = tourData.latitudeSerie;
-      final double[] longitudeSerie = tourData.longitudeSerie;
-      final boolean[] visibleDataPointSerie = tourData.visibleDataPointSerie;
+      final boolean isDrawLine = _prefIsDrawLine && _isFastPainting == false;
 
-      final boolean isMultipleTours = tourData.isMultipleTours();
-      final Long[] allMultipleTourIds = tourData.multipleTourIds;
-      final int[] allMultipleTour_StartIndex = tourData.multipleTourStartIndex;
+      final int[] allTileIndices = isDrawLine
+            ? mapGeometry.getLineSegments(tileX, tileY)
+            : mapGeometry.getDotPoints(tileX, tileY);
 
-      final int numTimeSlices = latitudeSerie.length;
-      final int numMultipleTours = isMultipleTours && allMultipleTourIds != null
-            ? allMultipleTourIds.length
-            : 0;
+      if (allTileIndices == null) {
+         return false;
+      }
 
-      final int nextTour_StartIndex = isMultipleTours
+      boolean isTourInTile = false;
 
-            ? numMultipleTours > 1
-                  ? allMultipleTour_StartIndex[1]
-                  : numTimeSlices
+      final int tileSize = mp.getTileSize();
 
-            : -1;
+      // get viewport for the current tile
+      final int tileWorldPixelX = tileX * tileSize;
+      final int tileWorldPixelY = tileY * tileSize;
 
-      int subTourIndex = 0;
-      Long tourId = isMultipleTours
-            ? allMultipleTourIds[0]
-            : tourData.getTourId();
+      final int[] allWorldPixelX = mapGeometry.getWorldPixelX();
+      final int[] allWorldPixelY = mapGeometry.getWorldPixelY();
 
-      boolean isVisibleDataPoint_AfterIsWasHidden = false;
-      boolean isPreviousVisibleDataPoint = false;
+      final int[] allSerieIndices = isDrawLine
+            ? mapGeometry.getLineSerieIndices()
+            : mapGeometry.getDotSerieIndices();
 
       /*
-       * World positions are cached to optimize performance when multiple tours are selected
+       * Use the visible data points of the geometry, the segments are simplified only between
+       * points with the same visibility of these data points, so the visibility of a segment end
+       * point is the visibility of the whole segment
        */
-      Point[] allTour_WorldPixelPos = tourData.getWorldPositionForTour(projectionHash, mapZoomLevel);
-
-      if ((allTour_WorldPixelPos == null)) {
-
-         allTour_WorldPixelPos = setupWorldPixel_Tour(
-               tourData,
-               mp,
-               mapZoomLevel,
-               latitudeSerie,
-               longitudeSerie,
-               projectionHash);
-      }
+      final boolean[] visibleDataPointSerie = mapGeometry.getVisibleDataPointSerie();
 
       gcTile.setForeground(systemColorBlue);
       gcTile.setBackground(systemColorBlue);
 
-      int lastInsideIndex = -99;
       boolean isBorder;
 
       // index == 0: paint border
@@ -1056,292 +1056,118 @@ public class TourMapPainter extends Map2Painter {
 
          gcTile.setLineWidth(_symbolSize);
 
-         int devFrom_X = 0;
-         int devFrom_Y = 0;
-
-         Color lastVisibleColor = null;
+         if (isDrawLine) {
 
-         for (int serieIndex = 0; serieIndex < longitudeSerie.length; serieIndex++) {
+            // draw as a line
 
-            if (_isFastPainting) {
+            for (final int segmentIndex : allTileIndices) {
 
-               serieIndex += _fastPainting_SkippedValues;
+               final int serieIndexFrom = allSerieIndices[segmentIndex];
+               final int serieIndex = allSerieIndices[segmentIndex + 1];
 
-               if (serieIndex >= longitudeSerie.length) {
-                  serieIndex = longitudeSerie.length - 1;
-               }
-            }
-
-            final Point tourWorldPixel = allTour_WorldPixelPos[serieIndex];
-            final int tourWorldPixelX = tourWorldPixel.x;
-            final int tourWorldPixelY = tourWorldPixel.y;
-
-            final int devX = tourWorldPixelX - tileWorldPixelX;
-            final int devY = tourWorldPixelY - tileWorldPixelY;
-
-            boolean isInRefTourPart = false;
-
-            if (isGeoCompareRefTour) {
-
-               // paint ref tour part with a different color
-
-               isInRefTourPart = serieIndex >= refTourStartIndex && serieIndex <= refTourEndIndex;
-            }
-
-            if (_prefIsDrawLine && _isFastPainting == false) {
-
-               // draw as a line
-
-               // get positions with the part offset
-               final int devTo_X = devX;
-               final int devTo_Y = devY;
-
-               if (serieIndex == 0) {
-
-                  // keep position
-                  devFrom_X = devTo_X;
-                  devFrom_Y = devTo_Y;
+               final int devFrom_X = allWorldPixelX[serieIndexFrom] - tileWorldPixelX;
+               final int devFrom_Y = allWorldPixelY[serieIndexFrom] - tileWorldPixelY;
+               final int devTo_X = allWorldPixelX[serieIndex] - tileWorldPixelX;
+               final int devTo_Y = allWorldPixelY[serieIndex] - tileWorldPixelY;
 
+               // check if position has changed
+               if (devTo_X == devFrom_X && devTo_Y == devFrom_Y) {
                   continue;
                }
 
-               /*
-                * Check visible points
-                */
-               boolean isVisibleDataPoint = true;
-               if (visibleDataPointSerie != null) {
-
-                  // visible data points are available -> use it
-
-                  isVisibleDataPoint = visibleDataPointSerie[serieIndex];
-
-                  if (isPreviousVisibleDataPoint == false && isVisibleDataPoint) {
-
-                     isVisibleDataPoint_AfterIsWasHidden = true;
-                  }
-               }
-
-               /*
-                * Get sub tour id
-                */
-               if (isMultipleTours) {
-
-                  if (serieIndex >= nextTour_StartIndex) {
-
-                     // advance to the next sub tour
-
-                     for (; subTourIndex < numMultipleTours; subTourIndex++) {
-
-                        final int nextSubTour_StartIndex = allMultipleTour_StartIndex[subTourIndex];
-
-                        if (serieIndex < nextSubTour_StartIndex) {
-                           break;
-                        }
-                     }
-
-                     tourId = subTourIndex >= numMultipleTours
-                           ? allMultipleTourIds[numMultipleTours - 1]
-                           : allMultipleTourIds[subTourIndex];
-                  }
-               }
-
-//               if (serieIndex == 1146) {
-//                  int a = 0;
-//                  a++;
-//               }
-
-               Color color = null;
+               isTourInTile = true;
 
                /*
-                * Check if position is in the viewport, this condition is an inline for:
-                * -
-                * tileViewport.contains(tileWorldPos.x, tileWorldPos.y)
+                * Check visible points, the points where the visibility is changing are not
+                * simplified, so the previous point of a segment with a changed visibility is the
+                * from point
                 */
-               if ((tourWorldPixelX >= tileWorldPixelX)
-                     && (tourWorldPixelY >= tileWorldPixelY)
-                     && tourWorldPixelX < (tileWorldPixelX + tileWidth)
-                     && tourWorldPixelY < (tileWorldPixelY + tileHeight)) {
-
-                  // current position is inside the tile
-
-                  // check if position has changed
-                  if (devTo_X != devFrom_X || devTo_Y != devFrom_Y) {
-
-                     isTourInTile = true;
-
-                     if (isVisibleDataPoint) {
-
-                        color = getTourColor(
-                              tourData,
-                              serieIndex,
-                              isBorder,
-                              true,
-                              isGeoCompareRefTour,
-                              isInRefTourPart);
-
-                        lastVisibleColor = color;
+               boolean isVisibleDataPoint_AfterIsWasHidden = false;
 
-                        if (isVisibleDataPoint_AfterIsWasHidden) {
-
-                           // draw starting point after a pause/break
-
-                           drawTour_40_Dot(gcTile,
-                                 devFrom_X,
-                                 devFrom_Y,
-                                 color,
-                                 tile,
-                                 tourId,
-
-                                 // adjust to the previous index otherwise the index is wrong
-                                 serieIndex - 1);
+               if (visibleDataPointSerie != null) {
 
-                        }
+                  // visible data points are available -> use it
 
-                        drawTour_20_Line(
-                              gcTile,
-                              devFrom_X,
-                              devFrom_Y,
-                              devTo_X,
-                              devTo_Y,
-                              color,
-                              tile,
-                              tourId,
-                              serieIndex);
-                     }
+                  if (visibleDataPointSerie[serieIndex] == false) {
+                     continue;
                   }
 
-                  lastInsideIndex = serieIndex;
+                  isVisibleDataPoint_AfterIsWasHidden = visibleDataPointSerie[serieIndexFrom] == false;
                }
 
-               // check first outside point
-               if (isVisibleDataPoint && serieIndex == lastInsideIndex + 1) {
+               final Long tourId = getTourId(tourData, serieIndex);
 
-                  /*
-                   * This position is the first which is outside of the tile, draw a line from
-                   * the last inside to the first outside position
-                   */
-
-                  if (isVisibleDataPoint_AfterIsWasHidden) {
-
-                     if (lastVisibleColor == null) {
-
-                        lastVisibleColor = getTourColor(
-                              tourData,
-                              serieIndex,
-                              isBorder,
-                              true,
-                              isGeoCompareRefTour,
-                              isInRefTourPart);
-                     }
+               final Color color = getTourColor(
+                     tourData,
+                     serieIndex,
+                     isBorder,
+                     true,
+                     isGeoCompareRefTour,
+                     isInRefTourPart(isGeoCompareRefTour, serieIndex, refTourStartIndex, refTourEndIndex));
 
-                     drawTour_40_Dot(gcTile,
-                           devFrom_X,
-                           devFrom_Y,
-                           lastVisibleColor,
-                           tile,
-                           tourId,
+               if (isVisibleDataPoint_AfterIsWasHidden) {
 
-                           // adjust to the previous index otherwise the index is wrong
-                           serieIndex - 1);
+                  // draw starting point after a pause/break
 
-                  }
-
-                  drawTour_20_Line(
-                        gcTile,
+                  drawTour_40_Dot(gcTile,
                         devFrom_X,
                         devFrom_Y,
-                        devTo_X,
-                        devTo_Y,
-                        lastVisibleColor,
+                        color,
                         tile,
                         tourId,
-                        serieIndex);
+                        serieIndexFrom);
                }
 
-               // keep positions
-               devFrom_X = devTo_X;
-               devFrom_Y = devTo_Y;
-
-               isPreviousVisibleDataPoint = isVisibleDataPoint;
-
-            } else {
-
-               // draw tour with dots/squares
-
-               // this is an inline for: tileViewport.contains(tileWorldPos.x, tileWorldPos.y)
-               // check if position is in the viewport
-               if ((tourWorldPixelX >= tileWorldPixelX)
-                     && (tourWorldPixelY >= tileWorldPixelY)
-                     && tourWorldPixelX < (tileWorldPixelX + tileWidth)
-                     && tourWorldPixelY < (tileWorldPixelY + tileHeight)) {
-
-                  // current position is inside the tile
-
-                  // optimize drawing: check if position has changed
-                  if (!(devX == devFrom_X && devY == devFrom_Y)) {
-
-                     /*
-                      * Check visible points
-                      */
-                     boolean isVisibleDataPoint = true;
-                     if (visibleDataPointSerie != null) {
-                        isVisibleDataPoint = visibleDataPointSerie[serieIndex];
-                     }
-
-                     if (isVisibleDataPoint) {
-
-                        isTourInTile = true;
-
-                        /*
-                         * Get sub tour
-                         */
-                        if (isMultipleTours) {
+               drawTour_20_Line(
+                     gcTile,
+                     devFrom_X,
+                     devFrom_Y,
+                     devTo_X,
+                     devTo_Y,
+                     color,
+                     tile,
+                     tourId,
+                     serieIndex);
+            }
 
-                           if (serieIndex >= nextTour_StartIndex) {
+         } else {
 
-                              // advance to the next sub tour
+            // draw tour with dots/squares
 
-                              for (; subTourIndex < numMultipleTours; subTourIndex++) {
+            final int numSkippedValues = _isFastPainting
+                  ? _fastPainting_SkippedValues
+                  : 0;
 
-                                 final int nextSubTour_StartIndex = allMultipleTour_StartIndex[subTourIndex];
+            for (int tileIndex = 0; tileIndex < allTileIndices.length; tileIndex += numSkippedValues + 1) {
 
-                                 if (serieIndex < nextSubTour_StartIndex) {
-                                    break;
-                                 }
-                              }
+               final int serieIndex = allSerieIndices[allTileIndices[tileIndex]];
 
-                              tourId = subTourIndex >= numMultipleTours
-                                    ? allMultipleTourIds[numMultipleTours - 1]
-                                    : allMultipleTourIds[subTourIndex];
-                           }
-                        }
+               /*
+                * Check visible points
+                */
+               if (visibleDataPointSerie != null && visibleDataPointSerie[serieIndex] == false) {
+                  continue;
+               }
 
-                        final Color color = getTourColor(
-                              tourData,
-                              serieIndex,
-                              isBorder,
-                              false,
-                              isGeoCompareRefTour,
-                              isInRefTourPart);
+               isTourInTile = true;
 
-                        if (_prefIsDrawSquare == false || _isFastPainting) {
-                           drawTour_40_Dot(gcTile, devX, devY, color, tile, tourId, serieIndex);
-                        } else {
-                           drawTour_30_Square(gcTile, devX, devY, color, tile, tourId, serieIndex);
-                        }
+               final int devX = allWorldPixelX[serieIndex] - tileWorldPixelX;
+               final int devY = allWorldPixelY[serieIndex] - tileWorldPixelY;
 
-                        // set previous pixel
-                        devFrom_X = devX;
-                        devFrom_Y = devY;
-                     }
+               final Long tourId = getTourId(tourData, serieIndex);
 
-                  } else {
+               final Color color = getTourColor(
+                     tourData,
+                     serieIndex,
+                     isBorder,
+                     false,
+                     isGeoCompareRefTour,
+                     isInRefTourPart(isGeoCompareRefTour, serieIndex, refTourStartIndex, refTourEndIndex));
 
-//                     System.out.println((UI.timeStampNano() + " [" + getClass().getSimpleName() + "] ()")
-//                           + ("\tskipped: " + devX + " " + devY)
-////                           + ("\t: " + )
-//                           );
-                  }
+               if (_prefIsDrawSquare == false || _isFastPainting) {
+                  drawTour_40_Dot(gcTile, devX, devY, color, tile, tourId, serieIndex);
+               } else {
+                  drawTour_30_Square(gcTile, devX, devY, color, tile, tourId, serieIndex);
                }
             }
          }
@@ -1575,6 +1401,49 @@ public class TourMapPainter extends Map2Painter {
       return valuePosition;
    }
 
+   /**
+    * @param tourData
+    * @param mp
+    * @param mapZoomLevel
+    * @param projectionHash
+    *
+    * @return Returns the cached map geometry of the tour, it is created when not yet available
+    */
+   private TourMapGeometry getMapGeometry(final TourData tourData,
+                                          final MP mp,
+                                          final int mapZoomLevel,
+                                          final int projectionHash) {
+
+      TourMapGeometry mapGeometry = tourData.getMapGeometry(projectionHash, mapZoomLevel);
+
+      final int tileMargin = getTileMargin();
+
+      if (mapGeometry == null || mapGeometry.getTileMargin() != tileMargin) {
+
+         // geometry is not yet cached or the symbol size is modified, create it now
+
+         mapGeometry = new TourMapGeometry(tourData, mp, mapZoomLevel, tileMargin);
+
+         tourData.setMapGeometry(mapGeometry, mapZoomLevel, projectionHash);
+      }
+
+      return mapGeometry;
+   }
+
+   /**
+    * @return Returns the number of pixels which the largest painted symbol is reaching over its
+    *         position, see {@link #drawTour_10_InTile}
+    */
+   private int getTileMargin() {
+
+      final int maxSymbolSize = Math.max(
+            _prefLineWidth + (_prefBorderWidth * 2),
+            _prefGeoCompare_LineWidth);
+
+      // +1 for the rounding of the symbol position
+      return maxSymbolSize / 2 + 1;
+   }
+
    private Color getTourColor(final TourData tourData,
                               final int serieIndex,
                               final boolean isBorder,
@@ -1647,6 +1516,39 @@ public class TourMapPainter extends Map2Painter {
       return _colorCache.getColor((int) colorValue);
    }
 
+   /**
+    * @param tourData
+    * @param serieIndex
+    *
+    * @return Returns the tour id of the time slice, when multiple tours are displayed, it is the id
+    *         of the tour which contains the time slice
+    */
+   private Long getTourId(final TourData tourData, final int serieIndex) {
+
+      final Long[] allMultipleTourIds = tourData.multipleTourIds;
+      final int[] allMultipleTour_StartIndex = tourData.multipleTourStartIndex;
+
+      if (tourData.isMultipleTours() == false
+            || allMultipleTourIds == null
+            || allMultipleTourIds.length == 0
+            || allMultipleTour_StartIndex == null) {
+
+         return tourData.getTourId();
+      }
+
+      final int numMultipleTours = Math.min(allMultipleTourIds.length, allMultipleTour_StartIndex.length);
+
+      int subTourIndex = Arrays.binarySearch(allMultipleTour_StartIndex, 0, numMultipleTours, serieIndex);
+
+      if (subTourIndex < 0) {
+
+         // serie index is not a start index -> use the tour before the insertion point
+         subTourIndex = -subTourIndex - 2;
+      }
+
+      return allMultipleTourIds[Math.max(0, subTourIndex)];
+   }
+
    /**
     * Checks if an image bounds is within the tile. The image is above the image position and one
     * half to the left and right side
@@ -1687,6 +1589,22 @@ public class TourMapPainter extends Map2Painter {
       return false;
    }
 
+   /**
+    * @param isGeoCompareRefTour
+    * @param serieIndex
+    * @param refTourStartIndex
+    * @param refTourEndIndex
+    *
+    * @return Returns <code>true</code> when the ref tour part is painted with a different color
+    */
+   private boolean isInRefTourPart(final boolean isGeoCompareRefTour,
+                                   final int serieIndex,
+                                   final int refTourStartIndex,
+                                   final int refTourEndIndex) {
+
+      return isGeoCompareRefTour && serieIndex >= refTourStartIndex && serieIndex <= refTourEndIndex;
+   }
+
    private boolean isInTile_Tour(final TourData tourData,
                                  final MP mp,
                                  final int mapZoomLevel,
@@ -1694,32 +1612,12 @@ public class TourMapPainter extends Map2Painter {
                                  final int projectionHash) {
 
       // check if geo position is available
-      final double[] latitudeSerie = tourData.latitudeSerie;
-      final double[] longitudeSerie = tourData.longitudeSerie;
-
-      if (latitudeSerie != null && longitudeSerie != null) {
-
-         // tiles are cached to optimize performance when multiple tours are selected
-         IntHashSet tileHashes = tourData.getTileHashes_ForTours(projectionHash, mapZoomLevel);
-
-         if (tileHashes == null) {
-
-            // tile hashes are not yet cached, create them now
-
-            tileHashes = setupTileHashes_Tour(
-                  tourData,
-                  mp,
-                  mapZoomLevel,
-                  latitudeSerie,
-                  longitudeSerie,
-                  projectionHash);
-         }
+      if (tourData.latitudeSerie != null && tourData.longitudeSerie != null) {
 
-         int tileHash = 15;
-         tileHash = 35 * tileHash + tile.getX();
-         tileHash = 35 * tileHash + tile.getY();
+         // the geometry is cached to optimize performance when multiple tours are selected
+         final TourMapGeometry mapGeometry = getMapGeometry(tourData, mp, mapZoomLevel, projectionHash);
 
-         if (tileHashes.contains(tileHash)) {
+         if (mapGeometry.isInTile(tile.getX(), tile.getY())) {
 
             // tour is in this tile
 
@@ -1804,34 +1702,42 @@ public class TourMapPainter extends Map2Painter {
 
       switch (_legendProvider.getGraphId()) {
       case Altitude:
+         tourData.loadDataSeries(SERIE_KINDS_ALTITUDE);
          _dataSerie = tourData.getAltitudeSerie();
          break;
 
       case Gradient:
+         tourData.loadDataSeries(SERIE_KINDS_GRADIENT);
          _dataSerie = tourData.getGradientSerie();
          break;
 
       case Power:
+         tourData.loadDataSeries(SERIE_KINDS_POWER);
          _dataSerie = tourData.getPowerSerie();
          break;
 
       case Pulse:
+         tourData.loadDataSeries(SERIE_KINDS_PULSE);
          _dataSerie = tourData.pulseSerie;
          break;
 
       case Speed:
+         tourData.loadDataSeries(SERIE_KINDS_SPEED);
          _dataSerie = tourData.getSpeedSerie();
          break;
 
       case Pace:
+         tourData.loadDataSeries(SERIE_KINDS_SPEED);
          _dataSerie = tourData.getPaceSerieSeconds();
          break;
 
       case RunDyn_StepLength:
+         tourData.loadDataSeries(SERIE_KINDS_RUN_DYN);
          _dataSerie = tourData.getRunDyn_StepLength();
          break;
 
       case HrZone:
+         tourData.loadDataSeries(SERIE_KINDS_PULSE);
          _dataSerie = tourData.pulseSerie;
          break;
 
@@ -1840,89 +1746,4 @@ public class TourMapPainter extends Map2Painter {
       }
    }
 
-   /**
-    * Create tour tile hashes for all geo positions and the current zoom level and projection
-    *
-    * @param tourData
-    * @param mp
-    * @param mapZoomLevel
-    * @param latitudeSerie
-    * @param longitudeSerie
-    * @param projectionHash
-    *
-    * @return
-    */
-   private IntHashSet setupTileHashes_Tour(final TourData tourData,
-                                           final MP mp,
-                                           final int mapZoomLevel,
-                                           final double[] latitudeSerie,
-                                           final double[] longitudeSerie,
-                                           final int projectionHash) {
-
-      final IntHashSet tileHashes = new IntHashSet();
-
-      final int numSlices = latitudeSerie.length;
-      final int tileSize = mp.getTileSize();
-
-      for (int serieIndex = 0; serieIndex < numSlices; serieIndex++) {
-
-         // convert lat/long into world pixels which depends on the map projection
-
-         final Point worldPixelPos = mp.geoToPixel(
-               new GeoPosition(latitudeSerie[serieIndex], longitudeSerie[serieIndex]),
-               mapZoomLevel);
-
-         final int tileX = worldPixelPos.x / tileSize;
-         final int tileY = worldPixelPos.y / tileSize;
-
-         // create painting hash code
-         int tileHash = 15;
-         tileHash = 35 * tileHash + tileX;
-         tileHash = 35 * tileHash + tileY;
-
-         tileHashes.add(tileHash);
-      }
-
-      tourData.setTileHashes_ForTours(tileHashes, mapZoomLevel, projectionHash);
-
-      return tileHashes;
-   }
-
-   /**
-    * world pixels are not yet cached, create them now
-    *
-    * @param tourData
-    * @param mp
-    * @param mapZoomLevel
-    * @param latitudeSerie
-    * @param longitudeSerie
-    * @param projectionHash
-    *
-    * @return
-    */
-   private Point[] setupWorldPixel_Tour(final TourData tourData,
-                                        final MP mp,
-                                        final int mapZoomLevel,
-                                        final double[] latitudeSerie,
-                                        final double[] longitudeSerie,
-                                        final int projectionHash) {
-
-      final int numSlices = latitudeSerie.length;
-
-      final Point[] allTour_WorldPixelPos = new Point[numSlices];
-
-      for (int serieIndex = 0; serieIndex < numSlices; serieIndex++) {
-
-         // convert lat/long into world pixels which depends on the map projection
-
-         final GeoPosition geoPosition = new GeoPosition(latitudeSerie[serieIndex], longitudeSerie[serieIndex]);
-
-         allTour_WorldPixelPos[serieIndex] = mp.geoToPixel(geoPosition, mapZoomLevel);
-      }
-
-      tourData.setWorldPixelForTour(allTour_WorldPixelPos, mapZoomLevel, projectionHash);
-
-      return allTour_WorldPixelPos;
-   }
-
 }
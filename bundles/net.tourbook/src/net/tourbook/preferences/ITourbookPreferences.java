@@ -436,6 +436,14 @@ public interface ITourbookPreferences {
     */
    public static final String CADENCE_ZONES_DELIMITER               = "CADENCE_ZONES_DELIMITER";                    //$NON-NLS-1$
 
+   /**
+    * Number of tours which are saved in one transaction when tour values are computed for all
+    * tours, and the last saved tour of a canceled computation
+    */
+   public static final String COMPUTE_TOUR_VALUES_BATCH_SIZE        = "ComputeTourValues_BatchSize";                //$NON-NLS-1$
+   public static final String COMPUTE_TOUR_VALUES_RESUME_RUNNER     = "ComputeTourValues_Resume_Runner";            //$NON-NLS-1$
+   public static final String COMPUTE_TOUR_VALUES_RESUME_TOUR_ID    = "ComputeTourValues_Resume_TourId";            //$NON-NLS-1$
+
    /*
     * map settings
     */
@@ -18,6 +18,7 @@ package net.tourbook.preferences;
 import net.tourbook.Messages;
 import net.tourbook.application.TourbookPlugin;
 import net.tourbook.common.UI;
+import net.tourbook.tour.TourManager;
 
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.layout.GridDataFactory;
@@ -62,6 +63,7 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
     * UI controls
     */
    private Spinner _spinnerTourCacheSize;
+   private Label   _lblTourCacheStatistics;
 
    private Button  _rdoDbSystemEmbedded;
    private Button  _rdoDbSystemServer;
@@ -155,6 +157,18 @@ public class PrefPageTour extends PreferencePage implements IWorkbenchPreference
                .hint(_defaultSpinnerWidth, SWT.DEFAULT)
                .align(SWT.BEGINNING, SWT.CENTER)
                .applyTo(_spinnerTourCacheSize);
+
+         /*
+          * Label: cache statistics
+          */
+         _lblTourCacheStatistics = new Label(group, SWT.WRAP);
+         _lblTourCacheStatistics.setText(TourManager.getInstance().getTourDataCacheStatistics());
+         GridDataFactory.fillDefaults()
+               .hint(_defaultInfoWidth, SWT.DEFAULT)
+               .grab(true, false)
+               .span(2, 1)
+               .indent(0, verticalIndent)
+               .applyTo(_lblTourCacheStatistics);
       }
    }
 
@@ -485,6 +485,10 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
       // Cadence zones delimiter
       store.setDefault(ITourbookPreferences.CADENCE_ZONES_DELIMITER, 70);
 
+      // compute tour values for all tours
+      store.setDefault(ITourbookPreferences.COMPUTE_TOUR_VALUES_BATCH_SIZE, 50);
+      store.setDefault(ITourbookPreferences.COMPUTE_TOUR_VALUES_RESUME_TOUR_ID, -1L);
+
 // SET_FORMATTING_OFF
 
       /*
@@ -33,6 +33,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import net.tourbook.Messages;
 import net.tourbook.application.TourbookPlugin;
@@ -78,16 +88,15 @@ import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.BooleanQuery.Builder;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ReferenceManager;
 import org.apache.lucene.search.ScoreDoc;
 import org.apache.lucene.search.Sort;
 import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.SortField.Type;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.search.suggest.InputIterator;
-import org.apache.lucene.search.suggest.Lookup;
 import org.apache.lucene.search.suggest.Lookup.LookupResult;
 import org.apache.lucene.search.suggest.analyzing.AnalyzingInfixSuggester;
-import org.apache.lucene.search.suggest.analyzing.FreeTextSuggester;
 import org.apache.lucene.search.uhighlight.DefaultPassageFormatter;
 import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
 import org.apache.lucene.store.FSDirectory;
@@ -107,6 +116,7 @@ import org.eclipse.swt.widgets.Display;
 public class FTSearchManager {
 
    private static final String                  LUCENE_INDEX_FOLDER_NAME         = "lucene-index";                       //$NON-NLS-1$
+   private static final String                  SUGGESTER_FOLDER_NAME            = "suggester";                          //$NON-NLS-1$
 
    private static final String                  SEARCH_FIELD_DESCRIPTION         = "description";                        //$NON-NLS-1$
    private static final String                  SEARCH_FIELD_DOC_SOURCE_INDEX    = "docSource_Index";                    //$NON-NLS-1$
@@ -120,6 +130,26 @@ public class FTSearchManager {
    private static final String                  SEARCH_FIELD_TIME                = "time";                               //$NON-NLS-1$
    private static final String                  SEARCH_FIELD_WAYPOINT_ID         = "wayPointID";                         //$NON-NLS-1$
 
+   private static final String[]                SUGGESTER_FIELDS                 = {
+
+         SEARCH_FIELD_TITLE,
+         SEARCH_FIELD_DESCRIPTION,
+
+         SEARCH_FIELD_TOUR_LOCATION_START,
+         SEARCH_FIELD_TOUR_LOCATION_END,
+         SEARCH_FIELD_TOUR_WEATHER
+   };
+
+   /**
+    * Max number of documents which are added at once to an index writer when the index is created
+    */
+   private static final int                     DOCUMENT_BATCH_SIZE              = 1000;
+
+   /**
+    * Delay after an index modification until the index changes are committed in the background
+    */
+   private static final int                     COMMIT_DELAY_SECONDS             = 5;
+
    private static final String                  LOG_CREATE_INDEX                 = "Created fulltext index: %s\t %d ms"; //$NON-NLS-1$
    private static final String                  LOG_DELETED_INDEX                = "Deleted fulltext index: %d ms";      //$NON-NLS-1$
 
@@ -131,13 +161,34 @@ public class FTSearchManager {
 
    private static final List<LookupResult>      _emptyProposal                   = new ArrayList<>();
 
-   private static Lookup                        _suggester;
+   /**
+    * Synchronizes opening, modifying, committing and closing of the index
+    */
+   private static final Object                  _indexLock                       = new Object();
+
+   private static IndexStore                    _indexStore_TourData;
+   private static IndexStore                    _indexStore_Marker;
+   private static IndexStore                    _indexStore_WayPoint;
 
-   private static IndexReader                   _indexReader;
-   private static IndexSearcher                 _indexSearcher;
+   private static IndexSearcherManager          _searcherManager;
+
+   private static AnalyzingInfixSuggester       _suggester;
    private static FSDirectory                   _infixStore;
+   private static boolean                       _isSuggesterModified;
+
+   /**
+    * Is <code>true</code> when documents are deleted, then the suggester must be rebuilt because
+    * texts cannot be removed from it
+    */
+   private static boolean                       _isSuggesterRebuildNeeded;
+
+   private static final ThreadFactory           _indexThreadFactory;
 
-   private static TopDocs                       _topDocs;
+   /**
+    * Is created when a commit is scheduled and is shut down when the index is closed
+    */
+   private static ScheduledExecutorService      _commitExecutor;
+   private static ScheduledFuture<?>            _commitFuture;
 
    private static final DefaultPassageFormatter _highlightFormatter;
 
@@ -189,28 +240,41 @@ public class FTSearchManager {
             "... ", //$NON-NLS-1$
 
             false);
+
+      _indexThreadFactory = runnable -> {
+
+         final Thread thread = new Thread(runnable, "Fulltext index"); //$NON-NLS-1$
+
+         thread.setPriority(Thread.MIN_PRIORITY);
+         thread.setDaemon(true);
+
+         return thread;
+      };
    }
 
    /**
-    * Implements {@link InputIterator} from multiple stored fields.
+    * Implements {@link InputIterator} from multiple stored fields, each text is returned only once
+    * because the text is the key of a suggestion.
     * <p>
     * Copied and modified from
     * {@link org.apache.lucene.search.suggest.DocumentDictionary.DocumentInputIterator.DocumentInputIterator}
     */
    private static class DocumentInputIterator implements InputIterator {
 
-      private IndexReader       __indexReader;
-      private final Bits        __liveDocs;
+      private IndexReader         __indexReader;
+      private final Bits          __liveDocs;
+
+      private final int           __docCount;
+      private final int           __fieldCount;
 
-      private final int         __docCount;
-      private final int         __fieldCount;
+      private final Set<String>   __fieldsToLoad;
+      private ArrayList<String>   __fieldNames;
 
-      private final Set<String> __fieldsToLoad;
-      private ArrayList<String> __fieldNames;
+      private final Set<BytesRef> __allReturnedTexts  = new HashSet<>();
 
-      private int               __currentDocId      = -1;
-      private int               __currentFieldIndex = -1;
-      private Document          __currentDoc;
+      private int                 __currentDocId      = -1;
+      private int                 __currentFieldIndex = -1;
+      private Document            __currentDoc;
 
       /**
        * Creates an iterator over fields from the lucene index.
@@ -224,14 +288,7 @@ public class FTSearchManager {
 
          __liveDocs = (__indexReader.leaves().size() > 0) ? MultiFields.getLiveDocs(__indexReader) : null;
 
-         __fieldsToLoad = new HashSet<>();
-
-         __fieldsToLoad.add(SEARCH_FIELD_TITLE);
-         __fieldsToLoad.add(SEARCH_FIELD_DESCRIPTION);
-
-         __fieldsToLoad.add(SEARCH_FIELD_TOUR_LOCATION_START);
-         __fieldsToLoad.add(SEARCH_FIELD_TOUR_LOCATION_END);
-         __fieldsToLoad.add(SEARCH_FIELD_TOUR_WEATHER);
+         __fieldsToLoad = new HashSet<>(Arrays.asList(SUGGESTER_FIELDS));
 
          __fieldNames = new ArrayList<>(__fieldsToLoad);
          __fieldCount = __fieldNames.size();
@@ -255,7 +312,8 @@ public class FTSearchManager {
       @Override
       public BytesRef next() throws IOException {
 
-         while (__currentDocId < __docCount) {
+         // the fields of the last document are returned after the last doc id is reached
+         while (__currentDocId < __docCount || __currentFieldIndex != -1) {
 
             if (__currentFieldIndex == -1) {
 
@@ -286,6 +344,12 @@ public class FTSearchManager {
                      ? new BytesRef(fieldVal.stringValue())
                      : fieldVal.binaryValue();
 
+               if (__allReturnedTexts.add(tempFieldValue) == false) {
+
+                  // text is already returned
+                  continue;
+               }
+
                return tempFieldValue;
             }
 
@@ -326,44 +390,269 @@ public class FTSearchManager {
       }
    }
 
-   private static class QueryResult {
+   /**
+    * Provides near real-time searchers for the tour, marker and waypoint index. The readers are
+    * opened from the index writers, so saved tours can be searched without a commit, and a reader
+    * is reopened only when its index was modified.
+    */
+   private static class IndexSearcherManager extends ReferenceManager<IndexSearcher> {
 
-      public Query    query;
+      private final IndexWriter[] __allIndexWriter;
 
-      public String[] allQueryFields;
-   }
+      public IndexSearcherManager(final IndexWriter... allIndexWriter) throws IOException {
 
-   public static void closeIndexReaderSuggester() {
+         __allIndexWriter = allIndexWriter;
+
+         final DirectoryReader[] allReaders = new DirectoryReader[allIndexWriter.length];
+         final List<DirectoryReader> allNewReaders = new ArrayList<>();
 
-      if (_suggester instanceof AnalyzingInfixSuggester) {
          try {
-            final AnalyzingInfixSuggester suggester = (AnalyzingInfixSuggester) _suggester;
-            suggester.close();
+
+            for (int writerIndex = 0; writerIndex < allIndexWriter.length; writerIndex++) {
+
+               allReaders[writerIndex] = DirectoryReader.open(allIndexWriter[writerIndex]);
+               allNewReaders.add(allReaders[writerIndex]);
+            }
+
+            current = createSearcher(allReaders, allNewReaders);
+
          } catch (final IOException e) {
-            StatusUtil.showStatus(e);
+
+            closeReaders(allNewReaders);
+
+            throw e;
+         }
+      }
+
+      private static void closeReaders(final List<DirectoryReader> allReaders) {
+
+         for (final DirectoryReader reader : allReaders) {
+            try {
+               reader.decRef();
+            } catch (final IOException e) {
+               StatusUtil.log(e);
+            }
          }
       }
-      _suggester = null;
 
-      if (_indexReader != null) {
+      private static IndexSearcher createSearcher(final DirectoryReader[] allReaders,
+                                                  final List<DirectoryReader> allNewReaders) throws IOException {
+
+         final StoreReader storeReader = new StoreReader(allReaders);
+
+         // the store reader has increased the ref count, new readers are now owned by the store reader
+         for (final DirectoryReader newReader : allNewReaders) {
+            newReader.decRef();
+         }
+
+         return new IndexSearcher(storeReader);
+      }
+
+      @Override
+      protected void decRef(final IndexSearcher reference) throws IOException {
+
+         reference.getIndexReader().decRef();
+      }
+
+      @Override
+      protected int getRefCount(final IndexSearcher reference) {
+
+         return reference.getIndexReader().getRefCount();
+      }
+
+      @Override
+      protected IndexSearcher refreshIfNeeded(final IndexSearcher referenceToRefresh) throws IOException {
+
+         final DirectoryReader[] allOldReaders = ((StoreReader) referenceToRefresh.getIndexReader()).__allReaders;
+         final DirectoryReader[] allReaders = new DirectoryReader[allOldReaders.length];
+         final List<DirectoryReader> allNewReaders = new ArrayList<>();
 
          try {
 
-            _indexReader.close();
-            _indexReader = null;
+            for (int readerIndex = 0; readerIndex < allOldReaders.length; readerIndex++) {
+
+               final DirectoryReader oldReader = allOldReaders[readerIndex];
+               final DirectoryReader newReader = DirectoryReader.openIfChanged(oldReader, __allIndexWriter[readerIndex]);
+
+               if (newReader == null) {
+
+                  // index is not modified
+                  allReaders[readerIndex] = oldReader;
+
+               } else {
+
+                  allReaders[readerIndex] = newReader;
+                  allNewReaders.add(newReader);
+               }
+            }
+
+            if (allNewReaders.isEmpty()) {
+
+               // the current searcher is up to date
+               return null;
+            }
+
+            return createSearcher(allReaders, allNewReaders);
 
          } catch (final IOException e) {
-            StatusUtil.showStatus(e);
+
+            closeReaders(allNewReaders);
+
+            throw e;
          }
       }
 
-      if (_infixStore != null) {
+      @Override
+      protected boolean tryIncRef(final IndexSearcher reference) {
+
+         return reference.getIndexReader().tryIncRef();
+      }
+   }
+
+   /**
+    * Fulltext index of one table, the index writer is kept open until the index is closed
+    */
+   private static class IndexStore {
+
+      private final FSDirectory __indexDirectory;
+      private final IndexWriter __indexWriter;
+
+      public IndexStore(final String tableName) throws IOException {
+
+         __indexDirectory = openStore(tableName);
+
          try {
-            _infixStore.close();
+
+            __indexWriter = getIndexWriter(__indexDirectory);
+
          } catch (final IOException e) {
-            StatusUtil.showStatus(e);
+
+            __indexDirectory.close();
+
+            throw e;
+         }
+      }
+
+      private void close() {
+
+         closeIndexWriterAndStore(__indexDirectory, __indexWriter);
+      }
+
+      private void commit() throws IOException {
+
+         if (__indexWriter.hasUncommittedChanges()) {
+            __indexWriter.commit();
+         }
+      }
+   }
+
+   private static class QueryResult {
+
+      public Query    query;
+
+      public String[] allQueryFields;
+   }
+
+   /**
+    * Searches all index stores and keeps the store readers to reopen them
+    */
+   private static class StoreReader extends MultiReader {
+
+      private final DirectoryReader[] __allReaders;
+
+      public StoreReader(final DirectoryReader[] allReaders) throws IOException {
+
+         // the sub readers are not closed, their ref count is decreased when this reader is closed
+         super(allReaders, false);
+
+         __allReaders = allReaders;
+      }
+   }
+
+   /**
+    * Build the suggester with all documents of the index
+    */
+   private static void buildSuggester() {
+
+      try {
+
+         final IndexSearcher indexSearcher = _searcherManager.acquire();
+
+         try {
+
+            _suggester.build(new DocumentInputIterator(indexSearcher.getIndexReader()));
+
+            _isSuggesterRebuildNeeded = false;
+
+         } finally {
+
+            _searcherManager.release(indexSearcher);
+         }
+
+      } catch (final Exception e) {
+
+         StatusUtil.showStatus(e);
+      }
+   }
+
+   /**
+    * Closes the index writers, searchers and the suggester, pending changes are committed when the
+    * writers are closed. The index is opened again when it is used.
+    */
+   public static void closeIndexReaderSuggester() {
+
+      synchronized (_indexLock) {
+
+         if (_commitFuture != null) {
+
+            _commitFuture.cancel(false);
+            _commitFuture = null;
+         }
+
+         if (_commitExecutor != null) {
+
+            // a commit which is waiting for the index lock is skipped, the index is closed
+            _commitExecutor.shutdown();
+            _commitExecutor = null;
+         }
+
+         if (_suggester != null) {
+            try {
+               _suggester.close();
+            } catch (final IOException e) {
+               StatusUtil.showStatus(e);
+            }
+            _suggester = null;
+         }
+
+         if (_searcherManager != null) {
+            try {
+               _searcherManager.close();
+            } catch (final IOException e) {
+               StatusUtil.showStatus(e);
+            }
+            _searcherManager = null;
+         }
+
+         if (_indexStore_TourData != null) {
+
+            _indexStore_TourData.close();
+            _indexStore_Marker.close();
+            _indexStore_WayPoint.close();
+
+            _indexStore_TourData = null;
+            _indexStore_Marker = null;
+            _indexStore_WayPoint = null;
+         }
+
+         if (_infixStore != null) {
+            try {
+               _infixStore.close();
+            } catch (final IOException e) {
+               StatusUtil.showStatus(e);
+            }
+            _infixStore = null;
          }
-         _infixStore = null;
       }
    }
 
@@ -386,6 +675,39 @@ public class FTSearchManager {
       }
    }
 
+   /**
+    * Commits the modified index stores and the suggester
+    */
+   private static void commitIndex() {
+
+      synchronized (_indexLock) {
+
+         if (_searcherManager == null) {
+
+            // index is closed, the changes are committed when the index writers are closed
+            return;
+         }
+
+         try {
+
+            _indexStore_TourData.commit();
+            _indexStore_Marker.commit();
+            _indexStore_WayPoint.commit();
+
+            if (_isSuggesterModified) {
+
+               _suggester.commit();
+
+               _isSuggesterModified = false;
+            }
+
+         } catch (final IOException e) {
+
+            StatusUtil.log(e);
+         }
+      }
+   }
+
    private static IndexableField createField_WithIndexOptions_Int(final String fieldName, final int value) {
 
       return new FieldWithOptions_Int(fieldName, fieldType_Int, value);
@@ -560,22 +882,37 @@ public class FTSearchManager {
       return IntPoint.newExactQuery(SEARCH_FIELD_DOC_SOURCE_INDEX, DOC_SOURCE_WAY_POINT);
    }
 
-   private static void createStore_TourData(final Connection conn,
-                                            final IProgressMonitor monitor)
-         throws SQLException {
+   /**
+    * Adds the documents to the index when the batch is full or when it is the last batch
+    *
+    * @param indexWriter
+    * @param allDocuments
+    * @param isLastBatch
+    *
+    * @throws IOException
+    */
+   private static void createStore_AddDocuments(final IndexWriter indexWriter,
+                                                final List<Document> allDocuments,
+                                                final boolean isLastBatch) throws IOException {
+
+      if (allDocuments.size() >= DOCUMENT_BATCH_SIZE || isLastBatch && allDocuments.size() > 0) {
+
+         indexWriter.addDocuments(allDocuments);
+
+         allDocuments.clear();
+      }
+   }
+
+   private static void createStore_TourData(final IndexWriter indexWriter,
+                                            final AtomicInteger numCreatedDocuments) throws IOException, SQLException {
 
       final long start = System.currentTimeMillis();
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
       PreparedStatement stmt = null;
 
       final String tableName = TourDatabase.TABLE_TOUR_DATA;
 
-      try {
-
-         indexStore = openStore(tableName);
-         indexWriter = getIndexWriter(indexStore);
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
          /*
           * Get sql data
@@ -597,8 +934,7 @@ public class FTSearchManager {
          stmt = conn.prepareStatement(sql);
          final ResultSet rs = stmt.executeQuery();
 
-         int createdDocuments = 0;
-         long lastUpdateTime = System.currentTimeMillis();
+         final List<Document> allDocuments = new ArrayList<>(DOCUMENT_BATCH_SIZE);
 
          while (rs.next()) {
 
@@ -624,50 +960,34 @@ public class FTSearchManager {
                   dbEndPlace,
                   dbWeather);
 
-            indexWriter.addDocument(tourDoc);
-
-            createdDocuments++;
+            allDocuments.add(tourDoc);
 
-            /*
-             * Update monitor every 1/5 seconds
-             */
-            final long now = System.currentTimeMillis();
+            createStore_AddDocuments(indexWriter, allDocuments, false);
 
-            if (now > lastUpdateTime + 200) {
-               lastUpdateTime = now;
-               monitor.subTask(NLS.bind(Messages.Search_Manager_CreateFTIndex, createdDocuments));
-            }
+            // the monitor is updated in the progress thread
+            numCreatedDocuments.incrementAndGet();
          }
 
-      } catch (final IOException e) {
-
-         StatusUtil.showStatus(e);
+         createStore_AddDocuments(indexWriter, allDocuments, true);
 
       } finally {
 
-         closeIndexWriterAndStore(indexStore, indexWriter);
-
          Util.closeSql(stmt);
 
          logCreateIndex(tableName, start);
       }
    }
 
-   private static void createStore_TourMarker(final Connection conn, final IProgressMonitor monitor)
-         throws SQLException {
+   private static void createStore_TourMarker(final IndexWriter indexWriter,
+                                              final AtomicInteger numCreatedDocuments) throws IOException, SQLException {
 
       final long start = System.currentTimeMillis();
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
       PreparedStatement stmt = null;
 
       final String tableName = TourDatabase.TABLE_TOUR_MARKER;
 
-      try {
-
-         indexStore = openStore(tableName);
-         indexWriter = getIndexWriter(indexStore);
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
          /*
           * Get sql data
@@ -687,8 +1007,7 @@ public class FTSearchManager {
          stmt = conn.prepareStatement(sql);
          final ResultSet rs = stmt.executeQuery();
 
-         int createdDocuments = 0;
-         long lastUpdateTime = System.currentTimeMillis();
+         final List<Document> allDocuments = new ArrayList<>(DOCUMENT_BATCH_SIZE);
 
          while (rs.next()) {
 
@@ -705,26 +1024,17 @@ public class FTSearchManager {
                   dbDescription,
                   dbTourTime);
 
-            indexWriter.addDocument(markerDoc);
+            allDocuments.add(markerDoc);
 
-            createdDocuments++;
+            createStore_AddDocuments(indexWriter, allDocuments, false);
 
-            /*
-             * Update monitor every 1/20 seconds
-             */
-            final long now = System.currentTimeMillis();
-
-            if (now > lastUpdateTime + 50) {
-               lastUpdateTime = now;
-               monitor.subTask(NLS.bind(Messages.Search_Manager_CreateFTIndex, createdDocuments));
-            }
+            // the monitor is updated in the progress thread
+            numCreatedDocuments.incrementAndGet();
          }
 
-      } catch (final IOException e) {
-         StatusUtil.showStatus(e);
-      } finally {
+         createStore_AddDocuments(indexWriter, allDocuments, true);
 
-         closeIndexWriterAndStore(indexStore, indexWriter);
+      } finally {
 
          Util.closeSql(stmt);
 
@@ -732,21 +1042,16 @@ public class FTSearchManager {
       }
    }
 
-   private static void createStore_TourWaypoint(final Connection conn, final IProgressMonitor monitor)
-         throws SQLException {
+   private static void createStore_TourWaypoint(final IndexWriter indexWriter,
+                                                final AtomicInteger numCreatedDocuments) throws IOException, SQLException {
 
       final long start = System.currentTimeMillis();
 
       final String tableName = TourDatabase.TABLE_TOUR_WAYPOINT;
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
       PreparedStatement stmt = null;
 
-      try {
-
-         indexStore = openStore(tableName);
-         indexWriter = getIndexWriter(indexStore);
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
          /*
           * Get sql data
@@ -766,8 +1071,7 @@ public class FTSearchManager {
          stmt = conn.prepareStatement(sql);
          final ResultSet rs = stmt.executeQuery();
 
-         int createdDocuments = 0;
-         long lastUpdateTime = System.currentTimeMillis();
+         final List<Document> allDocuments = new ArrayList<>(DOCUMENT_BATCH_SIZE);
 
          while (rs.next()) {
 
@@ -785,26 +1089,17 @@ public class FTSearchManager {
                   dbDescription,
                   dbTourTime);
 
-            indexWriter.addDocument(wayPointDoc);
+            allDocuments.add(wayPointDoc);
 
-            createdDocuments++;
+            createStore_AddDocuments(indexWriter, allDocuments, false);
 
-            /*
-             * Update monitor every 1/5 seconds
-             */
-            final long now = System.currentTimeMillis();
-
-            if (now > lastUpdateTime + 200) {
-               lastUpdateTime = now;
-               monitor.subTask(NLS.bind(Messages.Search_Manager_CreateFTIndex, createdDocuments));
-            }
+            // the monitor is updated in the progress thread
+            numCreatedDocuments.incrementAndGet();
          }
 
-      } catch (final IOException e) {
-         StatusUtil.showStatus(e);
-      } finally {
+         createStore_AddDocuments(indexWriter, allDocuments, true);
 
-         closeIndexWriterAndStore(indexStore, indexWriter);
+      } finally {
 
          Util.closeSql(stmt);
 
@@ -812,6 +1107,97 @@ public class FTSearchManager {
       }
    }
 
+   /**
+    * Creates the index for all tours, markers and waypoints, the stores are created in parallel
+    * because they are independent of each other.
+    * <p>
+    * The store threads only count the created documents, the monitor is updated and errors are
+    * displayed in the progress thread.
+    *
+    * @param monitor
+    */
+   private static void createStores(final IProgressMonitor monitor) {
+
+      final AtomicInteger numCreatedDocuments = new AtomicInteger();
+
+      final ExecutorService storeExecutor = Executors.newFixedThreadPool(3, _indexThreadFactory);
+
+      try {
+
+         final List<Future<?>> allStoreTasks = List.of(
+
+               storeExecutor.submit(() -> {
+                  createStore_TourData(_indexStore_TourData.__indexWriter, numCreatedDocuments);
+                  return null;
+               }),
+
+               storeExecutor.submit(() -> {
+                  createStore_TourMarker(_indexStore_Marker.__indexWriter, numCreatedDocuments);
+                  return null;
+               }),
+
+               storeExecutor.submit(() -> {
+                  createStore_TourWaypoint(_indexStore_WayPoint.__indexWriter, numCreatedDocuments);
+                  return null;
+               }));
+
+         // wait until all stores are created
+         for (final Future<?> storeTask : allStoreTasks) {
+            createStores_WaitForStore(storeTask, numCreatedDocuments, monitor);
+         }
+
+      } catch (final InterruptedException e) {
+
+         StatusUtil.log(e);
+         Thread.currentThread().interrupt();
+
+      } finally {
+
+         storeExecutor.shutdown();
+      }
+   }
+
+   /**
+    * Waits until a store is created and updates the monitor every 1/5 seconds
+    *
+    * @param storeTask
+    * @param numCreatedDocuments
+    * @param monitor
+    *
+    * @throws InterruptedException
+    */
+   private static void createStores_WaitForStore(final Future<?> storeTask,
+                                                 final AtomicInteger numCreatedDocuments,
+                                                 final IProgressMonitor monitor) throws InterruptedException {
+
+      while (true) {
+
+         try {
+
+            storeTask.get(200, TimeUnit.MILLISECONDS);
+
+            return;
+
+         } catch (final TimeoutException e) {
+
+            monitor.subTask(NLS.bind(Messages.Search_Manager_CreateFTIndex, numCreatedDocuments.get()));
+
+         } catch (final ExecutionException e) {
+
+            // the other stores are still created
+            final Throwable cause = e.getCause();
+
+            if (cause instanceof final SQLException sqlException) {
+               net.tourbook.ui.UI.showSQLException(sqlException);
+            } else {
+               StatusUtil.showStatus(cause);
+            }
+
+            return;
+         }
+      }
+   }
+
    /**
     * Split all tour id's into smaller parts because of this limit
     *
@@ -903,43 +1289,29 @@ public class FTSearchManager {
 
       final long start = System.currentTimeMillis();
 
-      setupIndexReader();
+      synchronized (_indexLock) {
 
-      FSDirectory indexStore_TourData = null;
-      FSDirectory indexStore_Marker = null;
-      FSDirectory indexStore_WayPoint = null;
-
-      IndexWriter indexWriter_TourData = null;
-      IndexWriter indexWriter_Marker = null;
-      IndexWriter indexWriter_WayPoint = null;
+         try {
 
-      try {
+            openIndex();
 
-         indexStore_TourData = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexStore_Marker = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         indexStore_WayPoint = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
+            _indexStore_TourData.__indexWriter.deleteAll();
+            _indexStore_Marker.__indexWriter.deleteAll();
+            _indexStore_WayPoint.__indexWriter.deleteAll();
 
-         indexWriter_TourData = new IndexWriter(indexStore_TourData, getIndexWriterConfig());
-         indexWriter_Marker = new IndexWriter(indexStore_Marker, getIndexWriterConfig());
-         indexWriter_WayPoint = new IndexWriter(indexStore_WayPoint, getIndexWriterConfig());
+            _searcherManager.maybeRefresh();
 
-         indexWriter_TourData.deleteAll();
-         indexWriter_Marker.deleteAll();
-         indexWriter_WayPoint.deleteAll();
+            commitIndex();
 
-      } catch (final IOException e) {
+            // remove all texts from the suggester
+            buildSuggester();
 
-         StatusUtil.showStatus(e);
-
-      } finally {
+         } catch (final IOException e) {
 
-         closeIndexWriterAndStore(indexStore_TourData, indexWriter_TourData);
-         closeIndexWriterAndStore(indexStore_Marker, indexWriter_Marker);
-         closeIndexWriterAndStore(indexStore_WayPoint, indexWriter_WayPoint);
+            StatusUtil.showStatus(e);
+         }
       }
 
-      closeIndexReaderSuggester();
-
       StatusUtil.logInfo(LOG_DELETED_INDEX.formatted(System.currentTimeMillis() - start));
    }
 
@@ -950,55 +1322,44 @@ public class FTSearchManager {
     */
    public static void deleteTourFromIndex(final long tourId) {
 
-      setupIndexReader();
-
-      FSDirectory indexStore_TourData = null;
-      FSDirectory indexStore_Marker = null;
-      FSDirectory indexStore_WayPoint = null;
-
-      IndexWriter indexWriter_TourData = null;
-      IndexWriter indexWriter_Marker = null;
-      IndexWriter indexWriter_WayPoint = null;
-
       final Builder deleteDoc_TourData = new BooleanQuery.Builder();
       final Builder deleteDoc_Marker = new BooleanQuery.Builder();
       final Builder deleteDoc_WayPoint = new BooleanQuery.Builder();
 
-      try {
+      synchronized (_indexLock) {
 
-         indexStore_TourData = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexStore_Marker = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         indexStore_WayPoint = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
+         try {
 
-         indexWriter_TourData = new IndexWriter(indexStore_TourData, getIndexWriterConfig());
-         indexWriter_Marker = new IndexWriter(indexStore_Marker, getIndexWriterConfig());
-         indexWriter_WayPoint = new IndexWriter(indexStore_WayPoint, getIndexWriterConfig());
+            openIndex();
 
-         /*
-          * Delete existing tour, marker and waypoint
-          */
-         final Query tourIdQuery = LongPoint.newExactQuery(SEARCH_FIELD_TOUR_ID, tourId);
+            /*
+             * Delete existing tour, marker and waypoint
+             */
+            final Query tourIdQuery = LongPoint.newExactQuery(SEARCH_FIELD_TOUR_ID, tourId);
 
-         deleteDoc_TourData.add(tourIdQuery, Occur.FILTER);
-         deleteDoc_Marker.add(tourIdQuery, Occur.FILTER);
-         deleteDoc_WayPoint.add(tourIdQuery, Occur.FILTER);
+            deleteDoc_TourData.add(tourIdQuery, Occur.FILTER);
+            deleteDoc_Marker.add(tourIdQuery, Occur.FILTER);
+            deleteDoc_WayPoint.add(tourIdQuery, Occur.FILTER);
 
-         indexWriter_TourData.deleteDocuments(deleteDoc_TourData.build());
-         indexWriter_Marker.deleteDocuments(deleteDoc_Marker.build());
-         indexWriter_WayPoint.deleteDocuments(deleteDoc_WayPoint.build());
+            _indexStore_TourData.__indexWriter.deleteDocuments(deleteDoc_TourData.build());
+            _indexStore_Marker.__indexWriter.deleteDocuments(deleteDoc_Marker.build());
+            _indexStore_WayPoint.__indexWriter.deleteDocuments(deleteDoc_WayPoint.build());
 
-      } catch (final IOException e) {
+            _searcherManager.maybeRefresh();
 
-         StatusUtil.showStatus(e);
+            /*
+             * The texts of the deleted tour cannot be removed from the suggester, it is rebuilt
+             * when it is used the next time, so that multiple deleted tours are rebuilt only once
+             */
+            _isSuggesterRebuildNeeded = true;
 
-      } finally {
+            scheduleCommit();
 
-         closeIndexWriterAndStore(indexStore_TourData, indexWriter_TourData);
-         closeIndexWriterAndStore(indexStore_Marker, indexWriter_Marker);
-         closeIndexWriterAndStore(indexStore_WayPoint, indexWriter_WayPoint);
-      }
+         } catch (final IOException e) {
 
-      closeIndexReaderSuggester();
+            StatusUtil.showStatus(e);
+         }
+      }
    }
 
    private static Analyzer getAnalyzer() {
@@ -1088,13 +1449,13 @@ public class FTSearchManager {
 
       try {
 
-         if (_suggester == null) {
+         if (_suggester == null || _isSuggesterRebuildNeeded) {
             setupSuggester();
          }
 
-         if (_indexReader.numDocs() == 0) {
+         if (_suggester.getCount() == 0) {
 
-            // Suggester for 0 documents causes an exception
+            // suggester is not built or the index is empty
             return null;
          }
 
@@ -1110,38 +1471,88 @@ public class FTSearchManager {
 
    /**
     * @return Returns <code>true</code> when the ft index is created.
-    *
-    * @throws IOException
     */
    private static boolean isIndexCreated() {
 
-      FSDirectory indexStore = null;
-      IndexWriter indexWriter = null;
+      // check if index is already created
+      return _indexStore_TourData.__indexWriter.numDocs() > 0;
+   }
 
-      try {
+   private static void logCreateIndex(final String indexStore, final long start) {
 
-         indexStore = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexWriter = getIndexWriter(indexStore);
+      StatusUtil.logInfo(String.format(LOG_CREATE_INDEX,
+            indexStore,
+            System.currentTimeMillis() - start));
+   }
 
-         // check if index is already created
-         if (indexWriter.numDocs() > 0) {
-            return true;
+   /**
+    * Opens the index writers, the near real-time searcher manager and the suggester, they are kept
+    * open until {@link #closeIndexReaderSuggester()} is called.
+    *
+    * @throws IOException
+    */
+   private static void openIndex() throws IOException {
+
+      synchronized (_indexLock) {
+
+         if (_searcherManager != null) {
+
+            // index is opened
+            return;
          }
 
-      } catch (final IOException e) {
-         StatusUtil.showStatus(e);
-      } finally {
-         closeIndexWriterAndStore(indexStore, indexWriter);
-      }
+         IndexStore indexStore_TourData = null;
+         IndexStore indexStore_Marker = null;
+         IndexStore indexStore_WayPoint = null;
+         FSDirectory infixStore = null;
 
-      return false;
-   }
+         try {
 
-   private static void logCreateIndex(final String indexStore, final long start) {
+            indexStore_TourData = new IndexStore(TourDatabase.TABLE_TOUR_DATA);
+            indexStore_Marker = new IndexStore(TourDatabase.TABLE_TOUR_MARKER);
+            indexStore_WayPoint = new IndexStore(TourDatabase.TABLE_TOUR_WAYPOINT);
 
-      StatusUtil.logInfo(String.format(LOG_CREATE_INDEX,
-            indexStore,
-            System.currentTimeMillis() - start));
+            infixStore = FSDirectory.open(getLuceneIndexRootPath().resolve(SUGGESTER_FOLDER_NAME));
+
+            final Analyzer suggesterAnalyzer = getAnalyzer();
+
+            _suggester = new AnalyzingInfixSuggester(
+                  infixStore,
+                  suggesterAnalyzer,
+                  suggesterAnalyzer,
+                  AnalyzingInfixSuggester.DEFAULT_MIN_PREFIX_CHARS,
+                  true);
+
+            _searcherManager = new IndexSearcherManager(
+                  indexStore_TourData.__indexWriter,
+                  indexStore_Marker.__indexWriter,
+                  indexStore_WayPoint.__indexWriter);
+
+         } catch (final IOException e) {
+
+            if (_suggester != null) {
+               _suggester.close();
+               _suggester = null;
+            }
+
+            for (final IndexStore indexStore : new IndexStore[] { indexStore_TourData, indexStore_Marker, indexStore_WayPoint }) {
+               if (indexStore != null) {
+                  indexStore.close();
+               }
+            }
+
+            if (infixStore != null) {
+               infixStore.close();
+            }
+
+            throw e;
+         }
+
+         _indexStore_TourData = indexStore_TourData;
+         _indexStore_Marker = indexStore_Marker;
+         _indexStore_WayPoint = indexStore_WayPoint;
+         _infixStore = infixStore;
+      }
    }
 
    private static FSDirectory openStore(final String tableName) throws IOException {
@@ -1154,6 +1565,25 @@ public class FTSearchManager {
       return indexDirectory;
    }
 
+   /**
+    * Commits the index in the background, index modifications are collected until the scheduled
+    * commit is running
+    */
+   private static void scheduleCommit() {
+
+      synchronized (_indexLock) {
+
+         if (_commitExecutor == null) {
+            _commitExecutor = Executors.newSingleThreadScheduledExecutor(_indexThreadFactory);
+         }
+
+         if (_commitFuture == null || _commitFuture.isDone()) {
+
+            _commitFuture = _commitExecutor.schedule(FTSearchManager::commitIndex, COMMIT_DELAY_SECONDS, TimeUnit.SECONDS);
+         }
+      }
+   }
+
    /**
     * @param searchText
     * @param searchFromIndex
@@ -1169,11 +1599,16 @@ public class FTSearchManager {
                               final boolean isNewSearch,
                               final SearchResult searchResult) {
 
+      IndexSearcher indexSearcher = null;
+
       try {
 
-         setupIndexReader();
+         setupIndex();
+
+         indexSearcher = _searcherManager.acquire();
 
-         final int maxDoc = _indexReader.maxDoc();
+         final IndexReader indexReader = indexSearcher.getIndexReader();
+         final int maxDoc = indexReader.maxDoc();
 
          if (maxDoc == 0) {
 
@@ -1206,9 +1641,9 @@ public class FTSearchManager {
             queryResult = search_20_Search_Parts(searchText, analyzer);
          }
 
-         _topDocs = _indexSearcher.search(queryResult.query, maxDoc, ftSorting);
+         final TopDocs topDocs = indexSearcher.search(queryResult.query, maxDoc, ftSorting);
 
-         searchResult.totalHits = _topDocs.totalHits;
+         searchResult.totalHits = topDocs.totalHits;
 
          /**
           * Get doc id's only for the current visible page
@@ -1220,7 +1655,7 @@ public class FTSearchManager {
          final int docStartIndex = searchFromIndex;
          int docEndIndex = searchToIndex;
 
-         final ScoreDoc[] allScoreDocs = _topDocs.scoreDocs;
+         final ScoreDoc[] allScoreDocs = topDocs.scoreDocs;
          final int numScoreDocs = allScoreDocs.length;
 
          if (docEndIndex >= numScoreDocs) {
@@ -1239,7 +1674,7 @@ public class FTSearchManager {
           * <p>
           * This occurred: field 'description' was indexed without offsets -> cannot highlight
           */
-         final UnifiedHighlighter highlighter = new UnifiedHighlighter(_indexSearcher, analyzer);
+         final UnifiedHighlighter highlighter = new UnifiedHighlighter(indexSearcher, analyzer);
 
          highlighter.setFormatter(_highlightFormatter);
 
@@ -1251,7 +1686,7 @@ public class FTSearchManager {
 
          search_80_CreateResult(
                highlightedSearchResults,
-               _indexReader,
+               indexReader,
                searchResult,
                allPageDocIds,
                docStartIndex);
@@ -1271,7 +1706,7 @@ public class FTSearchManager {
 
                _lastSearchText = searchText;
 
-               search_90_CreatePushResult(_indexReader, _topDocs);
+               search_90_CreatePushResult(indexReader, topDocs);
             }
          }
 
@@ -1280,6 +1715,16 @@ public class FTSearchManager {
          StatusUtil.showStatus(e);
 
          searchResult.error = e.getMessage();
+
+      } finally {
+
+         if (indexSearcher != null) {
+            try {
+               _searcherManager.release(indexSearcher);
+            } catch (final Exception e) {
+               StatusUtil.log(e);
+            }
+         }
       }
    }
 
@@ -1701,14 +2146,13 @@ public class FTSearchManager {
    }
 
    /**
-    * Create FT index
+    * Open the FT index and create it when it is empty
     *
-    * @param conn
-    * @param monitor
-    *
-    * @throws SQLException
+    * @throws IOException
     */
-   private static void setupIndex() {
+   private static void setupIndex() throws IOException {
+
+      openIndex();
 
       if (isIndexCreated()) {
          return;
@@ -1726,15 +2170,24 @@ public class FTSearchManager {
 
                   monitor.subTask(Messages.Database_Monitor_SetupLucene);
 
-                  try (Connection conn = TourDatabase.getInstance().getConnection()) {
+                  synchronized (_indexLock) {
+
+                     try {
+
+                        openIndex();
 
-                     createStore_TourData(conn, monitor);
-                     createStore_TourMarker(conn, monitor);
-                     createStore_TourWaypoint(conn, monitor);
+                        createStores(monitor);
 
-                  } catch (final SQLException e) {
+                        _searcherManager.maybeRefresh();
+
+                        commitIndex();
+
+                        buildSuggester();
+
+                     } catch (final IOException e) {
 
-                     net.tourbook.ui.UI.showSQLException(e);
+                        StatusUtil.showStatus(e);
+                     }
                   }
                }
             };
@@ -1748,100 +2201,65 @@ public class FTSearchManager {
    }
 
    /**
-    * Once you have a new IndexReader, it's relatively cheap to create a new IndexSearcher from it.
+    * Builds the suggester when it is not yet built, e.g. after the index is created, or when
+    * documents were deleted. Afterwards the suggester is updated together with the index.
     */
-   private static void setupIndexReader() {
-
-      if (_indexReader != null) {
-
-         // index reader is initialized
-         return;
-      }
-
-      setupIndex();
-
-      try {
-
-         final FSDirectory tourDataIndex = openStore(TourDatabase.TABLE_TOUR_DATA);
-         final FSDirectory tourMarkerIndex = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         final FSDirectory tourWayPoint = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
-
-         final IndexReader indexReader1 = DirectoryReader.open(tourDataIndex);
-         final IndexReader indexReader2 = DirectoryReader.open(tourMarkerIndex);
-         final IndexReader indexReader3 = DirectoryReader.open(tourWayPoint);
-
-         _indexReader = new MultiReader(indexReader1, indexReader2, indexReader3);
-
-         _indexSearcher = new IndexSearcher(_indexReader);
-
-      } catch (final Exception e) {
-
-         StatusUtil.showStatus(e);
-      }
-   }
-
    public static void setupSuggester() {
 
-      if (_suggester == null) {
-
-         // _suggester = setupSuggester_Analyzing();
-         // _suggester = setupSuggester_AnalyzingInfix();
-         // _suggester = setupSuggester_NGramAnalyzing();
-
-         _suggester = setupSuggester_FreeText();
-      }
-   }
+      try {
 
-   private static Lookup setupSuggester_FreeText() {
+         setupIndex();
 
-      setupIndexReader();
+         if (_suggester.getCount() > 0 && _isSuggesterRebuildNeeded == false) {
 
-      final int numDocs = _indexReader.numDocs();
-      if (numDocs == 0) {
+            // suggester is already built
+            return;
+         }
 
          /*
-          * Suggester for 0 documents causes an exception
+          * The display is retrieved before the index is locked, the index lock must not be
+          * acquired within a syncExec, otherwise it deadlocks with a thread which is holding the
+          * index lock and is waiting for the UI thread
           */
+         final Display display = Display.getCurrent();
 
-         return null;
-      }
+         final Runnable buildRunnable = () -> {
 
-      final Lookup suggester[] = new FreeTextSuggester[1];
+            synchronized (_indexLock) {
 
-      Display.getDefault().syncExec(() -> BusyIndicator.showWhile(Display.getDefault(), () -> {
+               try {
 
-         try {
+                  openIndex();
 
-            final DocumentInputIterator inputIterator = new DocumentInputIterator(_indexReader);
+                  buildSuggester();
 
-            final Analyzer queryAnalyzer = new StandardAnalyzer(new CharArraySet(0, true));
+               } catch (final IOException e) {
 
-            suggester[0] = new FreeTextSuggester(queryAnalyzer, queryAnalyzer, 4, (byte) 0x20);
+                  StatusUtil.showStatus(e);
+               }
+            }
+         };
 
-            try {
-               suggester[0].build(inputIterator);
-            } catch (final IllegalArgumentException e1) {
+         if (display == null) {
 
-               // java.lang.IllegalArgumentException: need at least one suggestion
+            // not in the UI thread, a busy indicator cannot be displayed
+            buildRunnable.run();
 
-               /*
-                * This exception can occure when there are documents available but do not
-                * contain any content which the suggester can use.
-                */
-            }
+         } else {
 
-         } catch (final Exception e2) {
-            StatusUtil.showStatus(e2);
+            BusyIndicator.showWhile(display, buildRunnable);
          }
-      }));
 
-      return suggester[0];
+      } catch (final IOException e) {
+
+         StatusUtil.showStatus(e);
+      }
    }
 
    /**
-    * Update fulltext search index when tours are saved. This is not very efficient because all
-    * tours and their markers/waypoints are deleted and recreated, however it is fast enought for a
-    * few thousand items otherwise it would be more complex.
+    * Update fulltext search index when tours are saved. All tours and their markers/waypoints are
+    * deleted and recreated with the opened index writers, the changes can be searched immediately
+    * and are committed in the background.
     *
     * @param allTourIDs
     */
@@ -1851,28 +2269,9 @@ public class FTSearchManager {
 
       final int numAllTourIDs = allTourIDs.size();
 
-      final FSDirectory[] indexStore_TourData = { null };
-      final FSDirectory[] indexStore_Marker = { null };
-      final FSDirectory[] indexStore_WayPoint = { null };
-
-      // these values MUST be final
-      final IndexWriter[] indexWriter_TourData = { null };
-      final IndexWriter[] indexWriter_Marker = { null };
-      final IndexWriter[] indexWriter_WayPoint = { null };
-
-      final boolean[] isIndexClosed = { false };
-
       try {
 
-         setupIndexReader();
-
-         indexStore_TourData[0] = openStore(TourDatabase.TABLE_TOUR_DATA);
-         indexStore_Marker[0] = openStore(TourDatabase.TABLE_TOUR_MARKER);
-         indexStore_WayPoint[0] = openStore(TourDatabase.TABLE_TOUR_WAYPOINT);
-
-         indexWriter_TourData[0] = new IndexWriter(indexStore_TourData[0], getIndexWriterConfig());
-         indexWriter_Marker[0] = new IndexWriter(indexStore_Marker[0], getIndexWriterConfig());
-         indexWriter_WayPoint[0] = new IndexWriter(indexStore_WayPoint[0], getIndexWriterConfig());
+         setupIndex();
 
          if (numAllTourIDs < 5) {
 
@@ -1882,9 +2281,6 @@ public class FTSearchManager {
 
                updateIndex_10_Parts(
                      tourIDPart,
-                     indexWriter_TourData[0],
-                     indexWriter_Marker[0],
-                     indexWriter_WayPoint[0],
 
                      // monitor parameters
                      null,
@@ -1912,10 +2308,6 @@ public class FTSearchManager {
 
                                  tourIDPart,
 
-                                 indexWriter_TourData[0],
-                                 indexWriter_Marker[0],
-                                 indexWriter_WayPoint[0],
-
                                  // monitor parameters
                                  monitor,
                                  numAllTourIDs,
@@ -1925,20 +2317,6 @@ public class FTSearchManager {
                      } catch (final IOException e) {
 
                         StatusUtil.showStatus(e);
-
-                     } finally {
-
-                        updateIndex_20_ClosingStores(
-
-                              indexStore_TourData[0],
-                              indexStore_Marker[0],
-                              indexStore_WayPoint[0],
-                              indexWriter_TourData[0],
-                              indexWriter_Marker[0],
-                              indexWriter_WayPoint[0],
-                              monitor);
-
-                        isIndexClosed[0] = true;
                      }
                   };
 
@@ -1954,26 +2332,8 @@ public class FTSearchManager {
       } catch (final IOException e) {
 
          StatusUtil.showStatus(e);
-
-      } finally {
-
-         if (isIndexClosed[0] == false) {
-
-            updateIndex_20_ClosingStores(
-
-                  indexStore_TourData[0],
-                  indexStore_Marker[0],
-                  indexStore_WayPoint[0],
-                  indexWriter_TourData[0],
-                  indexWriter_Marker[0],
-                  indexWriter_WayPoint[0],
-                  null);
-         }
       }
 
-      // force to reload the suggester
-      closeIndexReaderSuggester();
-
       final long end = System.nanoTime();
       final float timeDiff = (end - start) / 1_000_000_000.0f;
 
@@ -1988,9 +2348,6 @@ public class FTSearchManager {
    }
 
    private static void updateIndex_10_Parts(final List<Long> allTourIDParts,
-                                            final IndexWriter indexWriter_TourData,
-                                            final IndexWriter indexWriter_Marker,
-                                            final IndexWriter indexWriter_WayPoint,
 
                                             // monitor parameters
                                             final IProgressMonitor monitor,
@@ -2084,54 +2441,62 @@ public class FTSearchManager {
          monitor.subTask(Messages.Search_Manager_SubTask_UpdatingIndex);
       }
 
-      indexWriter_TourData.deleteDocuments(deleteDoc_TourData.build());
-      indexWriter_Marker.deleteDocuments(deleteDoc_Marker.build());
-      indexWriter_WayPoint.deleteDocuments(deleteDoc_WayPoint.build());
+      synchronized (_indexLock) {
 
-      for (final Document document : newDoc_TourData) {
-         indexWriter_TourData.addDocument(document);
-      }
-      for (final Document document : newDoc_Marker) {
-         indexWriter_Marker.addDocument(document);
-      }
-      for (final Document document : newDoc_WayPoint) {
-         indexWriter_WayPoint.addDocument(document);
+         // the index could be closed in the meantime
+         openIndex();
+
+         _indexStore_TourData.__indexWriter.deleteDocuments(deleteDoc_TourData.build());
+         _indexStore_Marker.__indexWriter.deleteDocuments(deleteDoc_Marker.build());
+         _indexStore_WayPoint.__indexWriter.deleteDocuments(deleteDoc_WayPoint.build());
+
+         _indexStore_TourData.__indexWriter.addDocuments(newDoc_TourData);
+         _indexStore_Marker.__indexWriter.addDocuments(newDoc_Marker);
+         _indexStore_WayPoint.__indexWriter.addDocuments(newDoc_WayPoint);
+
+         _searcherManager.maybeRefresh();
+
+         updateIndex_20_Suggester(newDoc_TourData, newDoc_Marker, newDoc_WayPoint);
+
+         scheduleCommit();
       }
    }
 
    /**
-    * This is a time consuming task which can have a duration of several seconds when using
-    * many tours
+    * Adds the texts of the new documents to the suggester, the suggester is not rebuilt.
+    * <p>
+    * Texts of deleted documents are kept in the suggester until it is rebuilt with the index.
     *
-    * @param indexStore_TourData
-    * @param indexStore_Marker
-    * @param indexStore_WayPoint
-    * @param indexWriter_TourData
-    * @param indexWriter_Marker
-    * @param indexWriter_WayPoint
-    * @param monitor
+    * @param allDocumentLists
+    *
+    * @throws IOException
     */
-   private static void updateIndex_20_ClosingStores(final FSDirectory indexStore_TourData,
-                                                    final FSDirectory indexStore_Marker,
-                                                    final FSDirectory indexStore_WayPoint,
-                                                    final IndexWriter indexWriter_TourData,
-                                                    final IndexWriter indexWriter_Marker,
-                                                    final IndexWriter indexWriter_WayPoint,
-                                                    final IProgressMonitor monitor) {
+   @SafeVarargs
+   private static void updateIndex_20_Suggester(final List<Document>... allDocumentLists) throws IOException {
 
-      if (monitor != null) {
-         monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Tours);
-      }
-      closeIndexWriterAndStore(indexStore_TourData, indexWriter_TourData);
+      if (_suggester.getCount() == 0) {
 
-      if (monitor != null) {
-         monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Markers);
+         // suggester is not yet built, it is built with all documents when it is used
+         return;
       }
-      closeIndexWriterAndStore(indexStore_Marker, indexWriter_Marker);
 
-      if (monitor != null) {
-         monitor.subTask(Messages.Search_Manager_SubTask_ClosingFTIndexStore_Waypoints);
+      for (final List<Document> allDocuments : allDocumentLists) {
+         for (final Document document : allDocuments) {
+            for (final String fieldName : SUGGESTER_FIELDS) {
+
+               final String fieldText = document.get(fieldName);
+
+               if (fieldText != null && fieldText.length() > 0) {
+
+                  // the text is the key, an existing text is replaced
+                  _suggester.update(new BytesRef(fieldText), null, 1, null);
+
+                  _isSuggesterModified = true;
+               }
+            }
+         }
       }
-      closeIndexWriterAndStore(indexStore_WayPoint, indexWriter_WayPoint);
+
+      _suggester.refresh();
    }
 }
@@ -31,20 +31,10 @@ public abstract class ElevationBase {
    public final GeoLat                   gridLat;
    public final GeoLon                   gridLon;
 
-   public final GeoLat                   firstLat;
-   public final GeoLat                   lastLat;
-
-   public final GeoLon                   firstLon;
-   public final GeoLon                   lastLon;
-
    public ElevationBase() {
 
       gridLat = new GeoLat();
       gridLon = new GeoLon();
-      firstLat = new GeoLat();
-      lastLat = new GeoLat();
-      firstLon = new GeoLon();
-      lastLon = new GeoLon();
    }
 
    /**
@@ -100,7 +90,37 @@ public abstract class ElevationBase {
       return 0;
    }
 
-   public synchronized float getElevationGrid(final GeoLat lat, final GeoLon lon) {
+   /**
+    * Is overwritten when the elevation values are read from one file for each tile.
+    *
+    * @param lat
+    * @param lon
+    *
+    * @return Returns the elevation file of the tile which contains the geo position or
+    *         <code>null</code> when the file is not available
+    */
+   ElevationFile getElevationFile(final GeoLat lat, final GeoLon lon) {
+      return null;
+   }
+
+   /**
+    * @return Returns the cache for the elevation files or <code>null</code> when the elevation
+    *         values are not read from one file for each tile
+    */
+   public ElevationFileCache getElevationFileCache() {
+      return null;
+   }
+
+   /**
+    * Interpolates the elevation between the grid points, this can be called concurrently when
+    * {@link #getElevation(GeoLat, GeoLon)} is thread safe.
+    *
+    * @param lat
+    * @param lon
+    *
+    * @return
+    */
+   public float getElevationGrid(final GeoLat lat, final GeoLon lon) {
       return (float) getElevationGridDouble(lat, lon);
    }
 
@@ -111,13 +131,18 @@ public abstract class ElevationBase {
     *         the altitude cannot be read from a file or the file cannot be retrieved from the SRTM
     *         host.
     */
-   public synchronized double getElevationGridDouble(final GeoLat lat, final GeoLon lon) {
+   public double getElevationGridDouble(final GeoLat lat, final GeoLon lon) {
 
       float elev1, elev2, elev3, elev4;
       double p, q;
       short ok = 0;
       double elevMid;
 
+      final GeoLat firstLat = new GeoLat();
+      final GeoLat lastLat = new GeoLat();
+      final GeoLon firstLon = new GeoLon();
+      final GeoLon lastLon = new GeoLon();
+
       firstLat.toLeft(lat, gridLat);
       lastLat.toRight(lat, gridLat);
       firstLon.toLeft(lon, gridLon);
@@ -205,6 +230,27 @@ public abstract class ElevationBase {
       return 42;
    }
 
+   /**
+    * @param lat
+    * @param lon
+    *
+    * @return Returns the key of the 1 degree tile which contains the geo position
+    */
+   static int getTileKey(final GeoLat lat, final GeoLon lon) {
+
+      int tileKey = lon.degrees;
+      if (lon.direction == GeoLon.DIRECTION_WEST) {
+         tileKey += 256;
+      }
+      tileKey *= 1024;
+      tileKey += lat.degrees;
+      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
+         tileKey += 256;
+      }
+
+      return tileKey;
+   }
+
    public boolean isValid(final double elev) {
       return isValid((short) elev);
    }
@@ -216,4 +262,46 @@ public abstract class ElevationBase {
       return false;
    }
 
+   /**
+    * Opens the elevation files of all tiles within a geo area, e.g. the bounding box of a tour,
+    * before the elevation values are read. Nothing is done when the area contains more tiles than
+    * the half of the file cache, e.g. for a long distance tour, then the files are opened when
+    * they are needed.
+    *
+    * @param latitudeMin
+    * @param latitudeMax
+    * @param longitudeMin
+    * @param longitudeMax
+    */
+   public void prefetchElevationFiles(final double latitudeMin,
+                                      final double latitudeMax,
+                                      final double longitudeMin,
+                                      final double longitudeMax) {
+
+      final ElevationFileCache fileCache = getElevationFileCache();
+
+      if (fileCache == null) {
+         return;
+      }
+
+      final int tileLatMin = Math.max(-90, (int) Math.floor(latitudeMin));
+      final int tileLatMax = Math.min(89, (int) Math.floor(latitudeMax));
+      final int tileLonMin = Math.max(-180, (int) Math.floor(longitudeMin));
+      final int tileLonMax = Math.min(179, (int) Math.floor(longitudeMax));
+
+      final int numTiles = (tileLatMax - tileLatMin + 1) * (tileLonMax - tileLonMin + 1);
+
+      if (numTiles <= 0 || numTiles > fileCache.getMaxFiles() / 2) {
+         return;
+      }
+
+      for (int tileLat = tileLatMin; tileLat <= tileLatMax; tileLat++) {
+         for (int tileLon = tileLonMin; tileLon <= tileLonMax; tileLon++) {
+
+            // use the tile center that the tile is not ambiguous
+            getElevationFile(new GeoLat(tileLat + 0.5), new GeoLon(tileLon + 0.5));
+         }
+      }
+   }
+
 }
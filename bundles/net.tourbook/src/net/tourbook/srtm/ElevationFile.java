@@ -31,6 +31,11 @@ import net.tourbook.srtm.download.DownloadSRTM3;
 
 public class ElevationFile {
 
+   /**
+    * Elevation value when the file is not available
+    */
+   public static final short INVALID_ELEVATION = -32767;
+
    private FileChannel _fileChannel;
    private ShortBuffer _shortBuffer;
 
@@ -69,7 +74,7 @@ public class ElevationFile {
    public short get(final int index) {
 
       if (!_isFileAvailable) {
-         return (-32767);
+         return INVALID_ELEVATION;
       }
       return _shortBuffer.get(index);
    }
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.srtm;
+
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import net.tourbook.common.util.StatusUtil;
+
+/**
+ * Keeps a limited number of opened {@link ElevationFile}s, the least recently used file is closed
+ * when the cache is full.
+ * <p>
+ * The cache can be used from different threads, a file which is requested at the same time from
+ * different threads is opened (and downloaded) only once.
+ */
+public class ElevationFileCache {
+
+   private final int                                               _maxFiles;
+
+   /**
+    * Key: Tile key of the elevation file<br>
+    * Value: Task which opens the elevation file
+    * <p>
+    * The entries are sorted by their last access.
+    */
+   private final LinkedHashMap<Integer, FutureTask<ElevationFile>> _allFiles;
+
+   private long                                                    _numHits;
+   private long                                                    _numMisses;
+   private long                                                    _numClosedFiles;
+
+   /**
+    * @param maxFiles
+    *           Max number of opened elevation files
+    */
+   public ElevationFileCache(final int maxFiles) {
+
+      _maxFiles = maxFiles;
+
+      _allFiles = new LinkedHashMap<>(maxFiles * 2, 0.75f, true) {
+
+         private static final long serialVersionUID = 1L;
+
+         @Override
+         protected boolean removeEldestEntry(final Entry<Integer, FutureTask<ElevationFile>> eldestEntry) {
+
+            if (size() <= _maxFiles) {
+               return false;
+            }
+
+            closeFile(eldestEntry.getValue());
+
+            return true;
+         }
+      };
+   }
+
+   /**
+    * Closes and removes all elevation files.
+    */
+   public synchronized void clear() {
+
+      for (final FutureTask<ElevationFile> fileTask : _allFiles.values()) {
+         closeFile(fileTask);
+      }
+
+      _allFiles.clear();
+   }
+
+   /**
+    * Closes the file channel, the mapped elevation values are still valid for threads which are
+    * currently reading from the file.
+    *
+    * @param fileTask
+    */
+   private void closeFile(final FutureTask<ElevationFile> fileTask) {
+
+      if (fileTask.isDone() == false) {
+
+         // file is currently opened, it will be released by the garbage collector
+         return;
+      }
+
+      try {
+
+         final ElevationFile elevationFile = fileTask.get();
+
+         if (elevationFile != null) {
+
+            elevationFile.close();
+
+            _numClosedFiles++;
+         }
+
+      } catch (InterruptedException | ExecutionException e) {
+         // file could not be opened
+      }
+   }
+
+   /**
+    * @param tileKey
+    *           Key of the elevation file
+    * @param fileCreator
+    *           Opens the elevation file when it is not yet in the cache
+    *
+    * @return Returns the elevation file or <code>null</code> when it could not be opened
+    */
+   ElevationFile getElevationFile(final int tileKey, final Callable<ElevationFile> fileCreator) {
+
+      FutureTask<ElevationFile> fileTask;
+      boolean isNewFile = false;
+
+      synchronized (this) {
+
+         fileTask = _allFiles.get(tileKey);
+
+         if (fileTask == null) {
+
+            fileTask = new FutureTask<>(fileCreator);
+
+            _allFiles.put(tileKey, fileTask);
+
+            isNewFile = true;
+
+            _numMisses++;
+
+         } else {
+
+            _numHits++;
+         }
+      }
+
+      if (isNewFile) {
+
+         // open the file outside of the lock, other threads are waiting only for this file
+         fileTask.run();
+      }
+
+      try {
+
+         return fileTask.get();
+
+      } catch (final InterruptedException e) {
+
+         Thread.currentThread().interrupt();
+
+      } catch (final ExecutionException e) {
+
+         // log the error only once, the file is not opened again until it is removed from the cache
+         if (isNewFile) {
+            StatusUtil.log(e);
+         }
+      }
+
+      return null;
+   }
+
+   public int getMaxFiles() {
+      return _maxFiles;
+   }
+
+   /**
+    * @return Returns the number of elevation files which were closed
+    */
+   public synchronized long getNumClosedFiles() {
+      return _numClosedFiles;
+   }
+
+   /**
+    * @return Returns the number of requests for an elevation file which was already in the cache
+    */
+   public synchronized long getNumHits() {
+      return _numHits;
+   }
+
+   /**
+    * @return Returns the number of elevation files which were opened
+    */
+   public synchronized long getNumMisses() {
+      return _numMisses;
+   }
+}
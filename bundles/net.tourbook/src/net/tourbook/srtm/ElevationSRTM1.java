@@ -19,77 +19,61 @@
 package net.tourbook.srtm;
 
 import java.io.File;
-import java.util.HashMap;
 
 public class ElevationSRTM1 extends ElevationBase {
 
-   private static SRTM1I_ElevationFile                   _SRTMi;
-   private static HashMap<Integer, SRTM1I_ElevationFile> _fileMap;
+   /**
+    * Max number of opened SRTM1 files, one file has 25 MB
+    */
+   private static final int                MAX_CACHED_FILES     = 16;
 
-   private class SRTM1I_ElevationFile {
+   private static final ElevationFileCache _elevationFilesCache = new ElevationFileCache(MAX_CACHED_FILES);
 
-      ElevationFile elevationFile;
-
-      private SRTM1I_ElevationFile(final GeoLat lat, final GeoLon lon) {
-
-         final String srtm1DataPath = getElevationData_FilePath("srtm1"); //$NON-NLS-1$
-         final String srtm1Suffix = ".hgt"; //$NON-NLS-1$
-         final String fileName = new String(srtm1DataPath
-               + File.separator
-               + lat.direction
-               + NumberForm.n2((lat.direction == GeoLat.DIRECTION_NORTH) ? lat.degrees : lat.degrees + 1)
-               + lon.direction
-               + NumberForm.n3((lon.direction == GeoLon.DIRECTION_EAST) ? lon.degrees : lon.degrees + 1)
-               + srtm1Suffix);
+   public ElevationSRTM1() {
 
-         try {
-            elevationFile = new ElevationFile(fileName, null, ElevationType.SRTM1);
-         } catch (final Exception e) {
-            System.out.println("SRTM1I: Error: " + e.getMessage()); // NOT File not found //$NON-NLS-1$
-            // dont return exception
-         }
-      }
+      gridLat.setDegreesMinutesSecondsDirection(0, 0, 1, 'N');
+      gridLon.setDegreesMinutesSecondsDirection(0, 0, 1, 'E');
+   }
 
-      public short getElevation(final GeoLat lat, final GeoLon lon) {
-         return elevationFile.get(offset(lat, lon));
-      }
+   private static ElevationFile createElevationFile(final GeoLat lat, final GeoLon lon) throws Exception {
 
-      //    Offset in the SRTM1-File
-      public int offset(final GeoLat lat, final GeoLon lon) {
-
-         if (lat.direction == GeoLat.DIRECTION_SOUTH) {
-            if (lon.direction == GeoLon.DIRECTION_EAST) {
-               return 3601 * (lat.minutes * 60 + lat.seconds)
-                     + lon.minutes * 60 + lon.seconds;
-            } else {
-               return 3601 * (lat.minutes * 60 + lat.seconds)
-                     + 3600 - lon.minutes * 60 - lon.seconds;
-            }
-         } else {
-            if (lon.direction == GeoLon.DIRECTION_EAST) {
-               return 3601 * (3600 - lat.minutes * 60 - lat.seconds)
-                     + lon.minutes * 60 + lon.seconds;
-            } else {
-               return 3601 * (3600 - lat.minutes * 60 - lat.seconds)
-                     + 3600 - lon.minutes * 60 - lon.seconds;
-            }
-         }
-      }
+      final String srtm1DataPath = getElevationData_FilePath("srtm1"); //$NON-NLS-1$
+      final String srtm1Suffix = ".hgt"; //$NON-NLS-1$
+      final String fileName = new String(srtm1DataPath
+            + File.separator
+            + lat.direction
+            + NumberForm.n2((lat.direction == GeoLat.DIRECTION_NORTH) ? lat.degrees : lat.degrees + 1)
+            + lon.direction
+            + NumberForm.n3((lon.direction == GeoLon.DIRECTION_EAST) ? lon.degrees : lon.degrees + 1)
+            + srtm1Suffix);
 
+      return new ElevationFile(fileName, null, ElevationType.SRTM1);
    }
 
-   public ElevationSRTM1() {
+   public static void main(final String[] args) {}
 
-      // create map with used Files
-      // to find file, calculate and remember key value
-      _fileMap = new HashMap<>(); // default initial 16 Files
+   //    Offset in the SRTM1-File
+   private static int offset(final GeoLat lat, final GeoLon lon) {
 
-      gridLat.setDegreesMinutesSecondsDirection(0, 0, 1, 'N');
-      gridLon.setDegreesMinutesSecondsDirection(0, 0, 1, 'E');
+      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
+         if (lon.direction == GeoLon.DIRECTION_EAST) {
+            return 3601 * (lat.minutes * 60 + lat.seconds)
+                  + lon.minutes * 60 + lon.seconds;
+         } else {
+            return 3601 * (lat.minutes * 60 + lat.seconds)
+                  + 3600 - lon.minutes * 60 - lon.seconds;
+         }
+      } else {
+         if (lon.direction == GeoLon.DIRECTION_EAST) {
+            return 3601 * (3600 - lat.minutes * 60 - lat.seconds)
+                  + lon.minutes * 60 + lon.seconds;
+         } else {
+            return 3601 * (3600 - lat.minutes * 60 - lat.seconds)
+                  + 3600 - lon.minutes * 60 - lon.seconds;
+         }
+      }
    }
 
-   public static void main(final String[] args) {}
-
    @Override
    public float getElevation(final GeoLat lat, final GeoLon lon) {
 
@@ -100,26 +84,13 @@ public class ElevationSRTM1 extends ElevationBase {
          return getElevationGrid(lat, lon);
       }
 
-      int i = lon.degrees;
-      if (lon.direction == GeoLon.DIRECTION_WEST) {
-         i += 256;
-      }
-      i *= 1024;
-      i += lat.degrees;
-      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
-         i += 256;
-      }
-      final Integer ii = Integer.valueOf(i);
-      _SRTMi = _fileMap.get(ii);
+      final ElevationFile elevationFile = getElevationFile(lat, lon);
 
-      if (_SRTMi == null) {
-         // first time only
-         _SRTMi = new SRTM1I_ElevationFile(lat, lon);
-         _fileMap.put(ii, _SRTMi);
+      if (elevationFile == null) {
+         return ElevationFile.INVALID_ELEVATION;
       }
 
-      return _SRTMi.getElevation(lat, lon);
-
+      return elevationFile.get(offset(lat, lon));
    }
 
    @Override
@@ -137,6 +108,17 @@ public class ElevationSRTM1 extends ElevationBase {
       return getElevation(lat, lon);
    }
 
+   @Override
+   ElevationFile getElevationFile(final GeoLat lat, final GeoLon lon) {
+
+      return _elevationFilesCache.getElevationFile(getTileKey(lat, lon), () -> createElevationFile(lat, lon));
+   }
+
+   @Override
+   public ElevationFileCache getElevationFileCache() {
+      return _elevationFilesCache;
+   }
+
    @Override
    public String getName() {
       return "SRTM1"; //$NON-NLS-1$
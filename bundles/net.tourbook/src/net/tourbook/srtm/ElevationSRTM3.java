@@ -19,143 +19,122 @@
 package net.tourbook.srtm;
 
 import java.io.File;
-import java.util.HashMap;
-import java.util.Map.Entry;
 
 import net.tourbook.common.UI;
 
 public final class ElevationSRTM3 extends ElevationBase {
 
-   private static final String ELEVATION_ID         = "SRTM3";    //$NON-NLS-1$
+   private static final String             ELEVATION_ID             = "SRTM3";                                      //$NON-NLS-1$
 
    /**
     * Example for a file name
     * <p>
     * https://e4ftl01.cr.usgs.gov/MEASURES/SRTMGL3.003/2000.02.11/N47E008.SRTMGL3.hgt.zip
     */
-   private static final String SRTM3_FILE_NAME_PART = ".SRTMGL3"; //$NON-NLS-1$
-   private static final String SRTM3_FILE_EXTENSION = ".hgt";     //$NON-NLS-1$
+   private static final String             SRTM3_FILE_NAME_PART     = ".SRTMGL3";                                   //$NON-NLS-1$
+   private static final String             SRTM3_FILE_EXTENSION     = ".hgt";                                       //$NON-NLS-1$
 
-   // default initial 16 Files
-   private static final HashMap<Integer, SRTM3ElevationFile> _srtmElevationFilesCache = new HashMap<>();
-
-   private static SRTM3ElevationFile                         _srtm3ElevationFile;
-
-   private class SRTM3ElevationFile {
-
-      ElevationFile __elevationFile;
+   /**
+    * Max number of opened SRTM3 files, one file has 2.8 MB
+    */
+   private static final int                MAX_CACHED_FILES         = 64;
 
-      private SRTM3ElevationFile(final GeoLat lat, final GeoLon lon) {
+   private static final ElevationFileCache _srtmElevationFilesCache = new ElevationFileCache(MAX_CACHED_FILES);
 
-         final String srtm3DataPath = getElevationData_FilePath("srtm3"); //$NON-NLS-1$
+   public ElevationSRTM3() {
 
-         final String degreeNorthSouth = NumberForm.n2(lat.direction == GeoLat.DIRECTION_NORTH
-               ? lat.degrees
-               : lat.degrees + 1);
+      gridLat.setDegreesMinutesSecondsDirection(0, 0, 3, 'N');
+      gridLon.setDegreesMinutesSecondsDirection(0, 0, 3, 'E');
+   }
 
-         final String degreeEastWest = NumberForm.n3(lon.direction == GeoLon.DIRECTION_EAST
-               ? lon.degrees
-               : lon.degrees + 1);
+   /**
+    * Clears the file cache by closing and removing all evaluation files
+    */
+   @SuppressWarnings("unused")
+   private static void clearElevationFileCache() {
 
-         final String localFilePath = new String(UI.EMPTY_STRING
+      _srtmElevationFilesCache.clear();
+   }
 
-               + srtm3DataPath
-               + File.separator
-               + lat.direction + degreeNorthSouth // e.g. N20
-               + lon.direction + degreeEastWest //   e.g. W018
-               + SRTM3_FILE_NAME_PART
-               + SRTM3_FILE_EXTENSION
+   private static ElevationFile createElevationFile(final GeoLat lat, final GeoLon lon) throws Exception {
 
-         );
+      final String srtm3DataPath = getElevationData_FilePath("srtm3"); //$NON-NLS-1$
 
-         final String localFilePathUnzipped = new String(UI.EMPTY_STRING
+      final String degreeNorthSouth = NumberForm.n2(lat.direction == GeoLat.DIRECTION_NORTH
+            ? lat.degrees
+            : lat.degrees + 1);
 
-               + srtm3DataPath
-               + File.separator
-               + lat.direction + degreeNorthSouth // e.g. N20
-               + lon.direction + degreeEastWest //   e.g. W018
-               + SRTM3_FILE_EXTENSION
+      final String degreeEastWest = NumberForm.n3(lon.direction == GeoLon.DIRECTION_EAST
+            ? lon.degrees
+            : lon.degrees + 1);
 
-         );
+      final String localFilePath = new String(UI.EMPTY_STRING
 
-         try {
-            __elevationFile = new ElevationFile(localFilePath, localFilePathUnzipped, ElevationType.SRTM3);
-         } catch (final Exception e) {
-            e.printStackTrace();
-         }
-      }
+            + srtm3DataPath
+            + File.separator
+            + lat.direction + degreeNorthSouth // e.g. N20
+            + lon.direction + degreeEastWest //   e.g. W018
+            + SRTM3_FILE_NAME_PART
+            + SRTM3_FILE_EXTENSION
 
-      private float getElevation(final GeoLat lat, final GeoLon lon) {
+      );
 
-         final int srtmFileOffset = srtmFileOffset(lat, lon);
+      final String localFilePathUnzipped = new String(UI.EMPTY_STRING
 
-         return __elevationFile.get(srtmFileOffset);
-      }
+            + srtm3DataPath
+            + File.separator
+            + lat.direction + degreeNorthSouth // e.g. N20
+            + lon.direction + degreeEastWest //   e.g. W018
+            + SRTM3_FILE_EXTENSION
 
-      // Offset in the SRTM3-File
-      private int srtmFileOffset(final GeoLat lat, final GeoLon lon) {
+      );
 
-         if (lat.direction == GeoLat.DIRECTION_SOUTH) {
-            if (lon.direction == GeoLon.DIRECTION_EAST) {
+      return new ElevationFile(localFilePath, localFilePathUnzipped, ElevationType.SRTM3);
+   }
 
-               // SOUTH - EAST
+   // Offset in the SRTM3-File
+   private static int srtmFileOffset(final GeoLat lat, final GeoLon lon) {
 
-               return 1201
-                     * (lat.minutes * 20 + lat.seconds / 3)
-                     + lon.minutes * 20
-                     + lon.seconds / 3;
-            } else {
+      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
+         if (lon.direction == GeoLon.DIRECTION_EAST) {
 
-               // SOUTH - WEST
+            // SOUTH - EAST
 
-               return 1201
-                     * (lat.minutes * 20 + lat.seconds / 3)
-                     + 1200
-                     - lon.minutes * 20
-                     - lon.seconds / 3;
-            }
+            return 1201
+                  * (lat.minutes * 20 + lat.seconds / 3)
+                  + lon.minutes * 20
+                  + lon.seconds / 3;
          } else {
 
-            if (lon.direction == GeoLon.DIRECTION_EAST) {
+            // SOUTH - WEST
 
-               // NORTH -EAST
-
-               return 1201
-                     * (1200 - lat.minutes * 20 - lat.seconds / 3)
-                     + lon.minutes * 20
-                     + lon.seconds / 3;
-            } else {
-
-               // NORTH - WEST
-
-               return 1201
-                     * (1200 - lat.minutes * 20 - lat.seconds / 3)
-                     + 1200
-                     - lon.minutes * 20
-                     - lon.seconds / 3;
-            }
+            return 1201
+                  * (lat.minutes * 20 + lat.seconds / 3)
+                  + 1200
+                  - lon.minutes * 20
+                  - lon.seconds / 3;
          }
-      }
-   }
+      } else {
 
-   public ElevationSRTM3() {
+         if (lon.direction == GeoLon.DIRECTION_EAST) {
 
-      gridLat.setDegreesMinutesSecondsDirection(0, 0, 3, 'N');
-      gridLon.setDegreesMinutesSecondsDirection(0, 0, 3, 'E');
-   }
+            // NORTH -EAST
 
-   /**
-    * Clears the file cache by closing and removing all evaluation files
-    */
-   @SuppressWarnings("unused")
-   private static synchronized void clearElevationFileCache() {
+            return 1201
+                  * (1200 - lat.minutes * 20 - lat.seconds / 3)
+                  + lon.minutes * 20
+                  + lon.seconds / 3;
+         } else {
 
-      // close all files
-      for (final Entry<Integer, SRTM3ElevationFile> entry : _srtmElevationFilesCache.entrySet()) {
-         entry.getValue().__elevationFile.close();
-      }
+            // NORTH - WEST
 
-      _srtmElevationFilesCache.clear();
+            return 1201
+                  * (1200 - lat.minutes * 20 - lat.seconds / 3)
+                  + 1200
+                  - lon.minutes * 20
+                  - lon.seconds / 3;
+         }
+      }
    }
 
    @Override
@@ -174,28 +153,13 @@ public final class ElevationSRTM3 extends ElevationBase {
          return getElevationGrid(lat, lon);
       }
 
-      int i = lon.degrees;
-      if (lon.direction == GeoLon.DIRECTION_WEST) {
-         i += 256;
-      }
-      i *= 1024;
-      i += lat.degrees;
-      if (lat.direction == GeoLat.DIRECTION_SOUTH) {
-         i += 256;
-      }
-
-      final Integer ii = Integer.valueOf(i);
-      _srtm3ElevationFile = _srtmElevationFilesCache.get(ii);
+      final ElevationFile elevationFile = getElevationFile(lat, lon);
 
-      if (_srtm3ElevationFile == null) {
-
-         // first time only
-         _srtm3ElevationFile = new SRTM3ElevationFile(lat, lon);
-         _srtmElevationFilesCache.put(ii, _srtm3ElevationFile);
+      if (elevationFile == null) {
+         return ElevationFile.INVALID_ELEVATION;
       }
 
-      return _srtm3ElevationFile.getElevation(lat, lon);
-
+      return elevationFile.get(srtmFileOffset(lat, lon));
    }
 
    @Override
@@ -220,6 +184,17 @@ public final class ElevationSRTM3 extends ElevationBase {
       return getElevation(lat, lon);
    }
 
+   @Override
+   ElevationFile getElevationFile(final GeoLat lat, final GeoLon lon) {
+
+      return _srtmElevationFilesCache.getElevationFile(getTileKey(lat, lon), () -> createElevationFile(lat, lon));
+   }
+
+   @Override
+   public ElevationFileCache getElevationFileCache() {
+      return _srtmElevationFilesCache;
+   }
+
    @Override
    public String getName() {
       return ELEVATION_ID;
@@ -80,8 +80,8 @@ public final class NumberForm {
    
    // Ganzzahlige Formate 
    static public String n1(int number) { return ln1.format(number); }
-   static public String n2(int number) { return ln2.format(number); }
-   static public String n3(int number) { return ln3.format(number); }
+   static public synchronized String n2(int number) { return ln2.format(number); }
+   static public synchronized String n3(int number) { return ln3.format(number); }
    static public String n4(int number) { return ln4.format(number); }
    static public String n5(int number) { return ln5.format(number); }
    static public String n6(int number) { return ln6.format(number); }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (C) 2005, 2021 Wolfgang Schramm and Contributors
+ * Copyright (C) 2005, 2026 Wolfgang Schramm and Contributors
  *
  * This program is free software; you can redistribute it and/or modify it under
  * the terms of the GNU General Public License as published by the Free Software
@@ -15,114 +15,581 @@
  *******************************************************************************/
 package net.tourbook.tour;
 
-import java.util.Queue;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
+import net.tourbook.common.util.StatusUtil;
 import net.tourbook.data.TourData;
 
 /**
  * Cache for {@link TourData}
+ * <p>
+ * Reads are lock free, writes are serialized per lock stripe. The cache is bounded by the number
+ * of tours AND by the estimated retained bytes of all data series, a multi day tour can be 100x
+ * larger than a short ride.
+ * <p>
+ * Eviction is frequency aware (W-TinyLFU like): the most recently accessed tours are always kept
+ * (admission window), all other tours are evicted with the least frequently used first. Access
+ * frequencies are recorded in a small count-min sketch which is aged periodically, so also tours
+ * which are not in the cache (misses) are counted and can win against rarely used cached tours.
  */
 class TourDataCache {
 
-   private static final ReentrantLock              CACHE_LOCK = new ReentrantLock();
+   private static final int                          NUMBER_OF_LOCK_STRIPES = 16;
 
-   private final ConcurrentHashMap<Long, TourData> _tourCache;
-   private final Queue<Long>                       _fifoQueue;
+   /**
+    * Part of the max heap which can be used for cached tours
+    */
+   private static final int                          MAX_HEAP_DIVISOR       = 4;
 
-   private int                                     _cacheSize;
-   private int                                     _cacheLowMark;
+   /**
+    * Overhead for a {@link TourData} instance without data series, markers etc. are roughly
+    * included
+    */
+   private static final long                         TOUR_BASE_BYTES        = 4_096;
+   private static final long                         ARRAY_HEADER_BYTES     = 16;
+
+   private static Field[]                            _allTourDataArrayFields;
+
+   private final ReentrantLock[]                     _allStripeLocks;
+   private final ReentrantLock                       _evictionLock          = new ReentrantLock();
+
+   private final ConcurrentHashMap<Long, CacheEntry> _tourCache;
+   private final FrequencySketch                     _frequencySketch;
+
+   private final AtomicLong                          _weightedSize          = new AtomicLong();
+
+   private final LongAdder                           _hitCounter            = new LongAdder();
+   private final LongAdder                           _missCounter           = new LongAdder();
+   private final LongAdder                           _evictionCounter       = new LongAdder();
+
+   private final int                                 _cacheSize;
+   private final int                                 _cacheLowMark;
+   private final int                                 _windowSize;
+
+   private final long                                _maxBytes;
+   private final long                                _bytesLowMark;
+
+   private static final class CacheEntry {
+
+      private final Long     __tourId;
+      private final TourData __tourData;
+
+      private volatile long  __weight;
+      private volatile long  __lastAccess;
+
+      /**
+       * Frequency which is frozen while the eviction candidates are sorted
+       */
+      private int            __sortFrequency;
+
+      private CacheEntry(final Long tourId, final TourData tourData, final long weight) {
+
+         __tourId = tourId;
+         __tourData = tourData;
+         __weight = weight;
+         __lastAccess = System.nanoTime();
+      }
+   }
+
+   /**
+    * Count-min sketch with 4 bit counters, 16 counters are packed into one long. Updates are not
+    * synchronized, lost increments are accepted because the frequency is only a hint for the
+    * eviction.
+    */
+   private static final class FrequencySketch {
+
+      private static final long   RESET_MASK = 0x7777_7777_7777_7777L;
+      private static final long[] SEEDS      = {
+            0xc3a5_c85c_97cb_3127L,
+            0xb492_b66f_be98_f273L,
+            0x9ae1_6a3b_2f90_404fL,
+            0xcbf2_9ce4_8422_2325L };
+
+      private final long[]        __table;
+      private final int           __tableMask;
+      private final int           __sampleSize;
+
+      private int                 __numAdditions;
+
+      private FrequencySketch(final int maxEntries) {
+
+         final int tableSize = Integer.highestOneBit(Math.max(64, maxEntries) - 1) << 1;
+
+         __table = new long[tableSize];
+         __tableMask = tableSize - 1;
+         __sampleSize = 10 * Math.max(64, maxEntries);
+      }
+
+      private int frequency(final long key) {
+
+         final long hash = spread(key);
+
+         int frequency = Integer.MAX_VALUE;
+
+         for (int depth = 0; depth < 4; depth++) {
+
+            final long depthHash = rehash(hash, depth);
+            final int tableIndex = (int) depthHash & __tableMask;
+            final int counterOffset = (int) ((depthHash >>> 32) & 0xf) << 2;
+
+            final int count = (int) ((__table[tableIndex] >>> counterOffset) & 0xf);
+
+            frequency = Math.min(frequency, count);
+         }
+
+         return frequency;
+      }
+
+      private void increment(final long key) {
+
+         final long hash = spread(key);
+
+         boolean isAdded = false;
+
+         for (int depth = 0; depth < 4; depth++) {
+
+            final long depthHash = rehash(hash, depth);
+            final int tableIndex = (int) depthHash & __tableMask;
+            final int counterOffset = (int) ((depthHash >>> 32) & 0xf) << 2;
+
+            final long mask = 0xfL << counterOffset;
+            final long tableValue = __table[tableIndex];
+
+            if ((tableValue & mask) != mask) {
+
+               __table[tableIndex] = tableValue + (1L << counterOffset);
+               isAdded = true;
+            }
+         }
+
+         if (isAdded && ++__numAdditions >= __sampleSize) {
+            reset();
+         }
+      }
+
+      private long rehash(final long hash, final int depth) {
+
+         long depthHash = (hash + SEEDS[depth]) * SEEDS[depth];
+         depthHash += depthHash >>> 32;
+
+         return depthHash;
+      }
+
+      /**
+       * Age all counters by halving them, so that old popularity fades out
+       */
+      private void reset() {
+
+         for (int tableIndex = 0; tableIndex < __table.length; tableIndex++) {
+            __table[tableIndex] = (__table[tableIndex] >>> 1) & RESET_MASK;
+         }
+
+         __numAdditions >>>= 1;
+      }
+
+      private long spread(final long key) {
+
+         long hash = key;
+
+         hash ^= hash >>> 33;
+         hash *= 0xff51_afd7_ed55_8ccdL;
+         hash ^= hash >>> 33;
+
+         return hash;
+      }
+   }
+
+   /**
+    * Snapshot of the cache counters
+    */
+   record TourDataCacheStatistics(long hitCount,
+                                  long missCount,
+                                  long evictionCount,
+                                  int numCachedTours,
+                                  long estimatedBytes) {}
 
    public TourDataCache(final int cacheSize) {
 
       _cacheSize = cacheSize;
-      _cacheLowMark = Math.max(1, cacheSize - 100);
+      _cacheLowMark = Math.max(1, cacheSize - Math.max(1, Math.min(100, cacheSize / 10)));
+
+      // the most recently used tours are never evicted, e.g. the tour which was just loaded
+      _windowSize = Math.min(_cacheLowMark, Math.max(2, cacheSize / 100));
+
+      _maxBytes = Runtime.getRuntime().maxMemory() / MAX_HEAP_DIVISOR;
+      _bytesLowMark = _maxBytes / 10 * 9;
+
+      _tourCache = new ConcurrentHashMap<>(cacheSize);
+      _frequencySketch = new FrequencySketch(cacheSize);
 
-      _tourCache = new ConcurrentHashMap<>();
-      _fifoQueue = new ArrayBlockingQueue<>(_cacheSize);
+      _allStripeLocks = new ReentrantLock[NUMBER_OF_LOCK_STRIPES];
+      for (int stripeIndex = 0; stripeIndex < NUMBER_OF_LOCK_STRIPES; stripeIndex++) {
+         _allStripeLocks[stripeIndex] = new ReentrantLock();
+      }
+   }
+
+   /**
+    * @param tourData
+    *
+    * @return Returns the estimated number of bytes which are retained by the data series of a
+    *         tour.
+    */
+   static long estimateRetainedBytes(final TourData tourData) {
+
+      if (tourData == null) {
+         return 0;
+      }
+
+      long numBytes = TOUR_BASE_BYTES;
+
+      try {
+
+         for (final Field field : getAllTourDataArrayFields()) {
+            numBytes += estimateArrayBytes(field.get(tourData));
+         }
+
+      } catch (final IllegalAccessException e) {
+         StatusUtil.log(e);
+      }
+
+      return numBytes;
+   }
+
+   private static long estimateArrayBytes(final Object array) {
+
+      if (array == null) {
+         return 0;
+      }
+
+      final Class<?> componentType = array.getClass().getComponentType();
+      final int arrayLength = Array.getLength(array);
+
+      if (componentType.isPrimitive() == false) {
+
+         // multi dimensional array, e.g. gear values
+
+         long numBytes = ARRAY_HEADER_BYTES + 4L * arrayLength;
+
+         for (int arrayIndex = 0; arrayIndex < arrayLength; arrayIndex++) {
+            numBytes += estimateArrayBytes(Array.get(array, arrayIndex));
+         }
+
+         return numBytes;
+      }
+
+      final int componentBytes;
+
+      if (componentType == long.class || componentType == double.class) {
+         componentBytes = 8;
+      } else if (componentType == int.class || componentType == float.class) {
+         componentBytes = 4;
+      } else if (componentType == short.class || componentType == char.class) {
+         componentBytes = 2;
+      } else {
+         componentBytes = 1;
+      }
+
+      return ARRAY_HEADER_BYTES + (long) componentBytes * arrayLength;
+   }
+
+   /**
+    * @return Returns all non static array fields of {@link TourData}, these are the data series
+    *         which are responsible for nearly all of the retained memory
+    */
+   private static synchronized Field[] getAllTourDataArrayFields() {
+
+      if (_allTourDataArrayFields != null) {
+         return _allTourDataArrayFields;
+      }
+
+      final List<Field> allArrayFields = new ArrayList<>();
+
+      for (final Field field : TourData.class.getDeclaredFields()) {
+
+         if (field.getType().isArray() == false || Modifier.isStatic(field.getModifiers())) {
+            continue;
+         }
+
+         final Class<?> componentType = field.getType().getComponentType();
+         if (componentType.isPrimitive() == false && componentType.isArray() == false) {
+
+            // skip object arrays, they do not contain serie data
+            continue;
+         }
+
+         try {
+
+            field.setAccessible(true);
+            allArrayFields.add(field);
+
+         } catch (final RuntimeException e) {
+            StatusUtil.log(e);
+         }
+      }
+
+      _allTourDataArrayFields = allArrayFields.toArray(new Field[allArrayFields.size()]);
+
+      return _allTourDataArrayFields;
    }
 
    public void clear() {
 
-      CACHE_LOCK.lock();
+      _evictionLock.lock();
+      lockAllStripes();
       {
          try {
+
             _tourCache.clear();
-            _fifoQueue.clear();
+            _weightedSize.set(0);
+
          } finally {
-            CACHE_LOCK.unlock();
+            unlockAllStripes();
+            _evictionLock.unlock();
+         }
+      }
+   }
+
+   /**
+    * Evict tours until the number of tours and the estimated bytes are below the low marks.
+    *
+    * @param newTourId
+    *           Tour which was just added, it is never evicted in this run
+    */
+   private void evictEntries(final Long newTourId) {
+
+      _evictionLock.lock();
+      {
+         try {
+
+            if (isOverLimit(_tourCache.size(), _weightedSize.get()) == false) {
+               // another thread has already evicted
+               return;
+            }
+
+            final List<CacheEntry> allEntries = new ArrayList<>(_tourCache.values());
+
+            /*
+             * Data series are also computed after a tour is loaded, e.g. speed or pace, adjust the
+             * weight of all tours
+             */
+            for (final CacheEntry cacheEntry : allEntries) {
+               reweigh(cacheEntry);
+            }
+
+            // sort by last access, most recent last
+            allEntries.sort(Comparator.comparingLong(cacheEntry -> cacheEntry.__lastAccess));
+
+            // keep the admission window
+            final int numEvictable = Math.max(0, allEntries.size() - _windowSize);
+            final List<CacheEntry> allEvictableEntries = new ArrayList<>(allEntries.subList(0, numEvictable));
+
+            /*
+             * Least frequently used first. For the same frequency, the most recently used tours
+             * are evicted first, a tour which left the admission window must be used more often
+             * than a tour which is already cached, this prevents that a scan over many tours is
+             * flushing the whole cache.
+             */
+            for (final CacheEntry cacheEntry : allEvictableEntries) {
+               cacheEntry.__sortFrequency = _frequencySketch.frequency(cacheEntry.__tourId);
+            }
+            Collections.reverse(allEvictableEntries);
+            allEvictableEntries.sort(Comparator.comparingInt(cacheEntry -> cacheEntry.__sortFrequency));
+
+            for (final CacheEntry cacheEntry : allEvictableEntries) {
+
+               if (_tourCache.size() <= _cacheLowMark && _weightedSize.get() <= _bytesLowMark) {
+                  break;
+               }
+
+               if (cacheEntry.__tourId.equals(newTourId)) {
+                  continue;
+               }
+
+               if (removeEntry(cacheEntry.__tourId, cacheEntry)) {
+                  _evictionCounter.increment();
+               }
+            }
+
+         } finally {
+            _evictionLock.unlock();
          }
       }
    }
 
    public TourData get(final Long tourId) {
-      return _tourCache.get(tourId);
+
+      _frequencySketch.increment(tourId);
+
+      final CacheEntry cacheEntry = _tourCache.get(tourId);
+
+      if (cacheEntry == null) {
+
+         _missCounter.increment();
+
+         return null;
+      }
+
+      _hitCounter.increment();
+
+      cacheEntry.__lastAccess = System.nanoTime();
+
+      return cacheEntry.__tourData;
+   }
+
+   /**
+    * @return Returns a snapshot of all cached tours
+    */
+   public Collection<TourData> getAllTourData() {
+
+      final List<TourData> allTourData = new ArrayList<>(_tourCache.size());
+
+      for (final CacheEntry cacheEntry : _tourCache.values()) {
+         allTourData.add(cacheEntry.__tourData);
+      }
+
+      return allTourData;
    }
 
-   public ConcurrentHashMap<Long, TourData> getCache() {
-      return _tourCache;
+   public TourDataCacheStatistics getStatistics() {
+
+      return new TourDataCacheStatistics(
+            _hitCounter.sum(),
+            _missCounter.sum(),
+            _evictionCounter.sum(),
+            _tourCache.size(),
+            _weightedSize.get());
+   }
+
+   private ReentrantLock getStripeLock(final Long tourId) {
+
+      return _allStripeLocks[tourId.hashCode() & (NUMBER_OF_LOCK_STRIPES - 1)];
+   }
+
+   private boolean isOverLimit(final int numEntries, final long numBytes) {
+
+      return numEntries > _cacheSize || numBytes > _maxBytes;
+   }
+
+   private void lockAllStripes() {
+
+      for (final ReentrantLock stripeLock : _allStripeLocks) {
+         stripeLock.lock();
+      }
    }
 
    public void put(final Long tourId, final TourData tourData) {
 
-      CACHE_LOCK.lock();
-      {
-         try {
+      final long weight = estimateRetainedBytes(tourData);
 
-            final int fifoQueueSize = _fifoQueue.size();
+      final ReentrantLock stripeLock = getStripeLock(tourId);
 
-            // MUST test with >= otherwise a Queue full exceptions occures
-            if (fifoQueueSize >= _cacheSize) {
+      stripeLock.lock();
+      {
+         try {
 
-//               final long start = System.nanoTime();
+            final CacheEntry previousEntry = _tourCache.get(tourId);
 
-               for (int adjustedQueueSize = fifoQueueSize; adjustedQueueSize > _cacheLowMark; adjustedQueueSize--) {
+            if (previousEntry != null && previousEntry.__tourData == tourData) {
 
-                  // remove all entries until the cache low mark is reached
+               // the same instance is put again, e.g. the tour from the tour editor
 
-                  final Long head = _fifoQueue.poll();
-                  _tourCache.remove(head);
-               }
+               previousEntry.__lastAccess = System.nanoTime();
 
-//               final long end = System.nanoTime();
-//               System.out.println("TourDataCache: removed "
-//                     + (queueSize - MAX_TOUR_CACHE_ENTRIES_LOW)
-//                     + " items in "
-//                     + ((end - start) / 1000000.0)
-//                     + "ms");
-//               // TODO remove SYSTEM.OUT.PRINTLN
+               return;
             }
 
-            // remove entry which has the same tour id
-            if (_tourCache.containsKey(tourId)) {
-               _tourCache.remove(tourId);
-               _fifoQueue.remove(tourId);
-            }
+            _tourCache.put(tourId, new CacheEntry(tourId, tourData, weight));
 
-            _tourCache.put(tourId, tourData);
-            _fifoQueue.add(tourId);
+            final long previousWeight = previousEntry == null ? 0 : previousEntry.__weight;
+            _weightedSize.addAndGet(weight - previousWeight);
 
          } finally {
-            CACHE_LOCK.unlock();
+            stripeLock.unlock();
          }
       }
+
+      if (isOverLimit(_tourCache.size(), _weightedSize.get())) {
+         evictEntries(tourId);
+      }
    }
 
    public void remove(final Long tourId) {
 
-      if (_tourCache.containsKey(tourId)) {
+      final CacheEntry cacheEntry = _tourCache.get(tourId);
 
-         CACHE_LOCK.lock();
-         {
-            try {
-               _tourCache.remove(tourId);
-               _fifoQueue.remove(tourId);
-            } finally {
-               CACHE_LOCK.unlock();
+      if (cacheEntry != null) {
+         removeEntry(tourId, cacheEntry);
+      }
+   }
+
+   /**
+    * @param tourId
+    * @param cacheEntry
+    *
+    * @return Returns <code>true</code> when the entry was removed, <code>false</code> when it was
+    *         already removed or replaced by another thread
+    */
+   private boolean removeEntry(final Long tourId, final CacheEntry cacheEntry) {
+
+      final ReentrantLock stripeLock = getStripeLock(tourId);
+
+      stripeLock.lock();
+      {
+         try {
+
+            if (_tourCache.remove(tourId, cacheEntry)) {
+
+               _weightedSize.addAndGet(-cacheEntry.__weight);
+
+               return true;
             }
+
+         } finally {
+            stripeLock.unlock();
          }
       }
+
+      return false;
+   }
+
+   private void reweigh(final CacheEntry cacheEntry) {
+
+      final long newWeight = estimateRetainedBytes(cacheEntry.__tourData);
+
+      final ReentrantLock stripeLock = getStripeLock(cacheEntry.__tourId);
+
+      stripeLock.lock();
+      {
+         try {
+
+            // adjust only when the entry is still cached
+            if (_tourCache.get(cacheEntry.__tourId) == cacheEntry) {
+
+               _weightedSize.addAndGet(newWeight - cacheEntry.__weight);
+               cacheEntry.__weight = newWeight;
+            }
+
+         } finally {
+            stripeLock.unlock();
+         }
+      }
+   }
+
+   private void unlockAllStripes() {
+
+      for (final ReentrantLock stripeLock : _allStripeLocks) {
+         stripeLock.unlock();
+      }
    }
 }
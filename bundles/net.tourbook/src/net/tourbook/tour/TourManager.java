@@ -69,6 +69,7 @@ import net.tourbook.common.util.StringUtils;
 import net.tourbook.common.util.Util;
 import net.tourbook.data.CustomTrackDefinition;
 import net.tourbook.data.GearDataType;
+import net.tourbook.data.SerieKind;
 import net.tourbook.data.TourData;
 import net.tourbook.data.TourMarker;
 import net.tourbook.data.TourPhoto;
@@ -85,8 +86,11 @@ import net.tourbook.photo.TourPhotoReference;
 import net.tourbook.photo.internal.gallery.MT20.GalleryMT20Item;
 import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.preferences.PrefPageViews;
+import net.tourbook.srtm.ElevationFileCache;
+import net.tourbook.srtm.ElevationSRTM3;
 import net.tourbook.srtm.IPreferences;
 import net.tourbook.srtm.PrefPageSRTMData;
+import net.tourbook.tour.TourDataCache.TourDataCacheStatistics;
 import net.tourbook.tour.TourLogManager.AutoOpenEvent;
 import net.tourbook.ui.ITourProvider;
 import net.tourbook.ui.ITourProviderAll;
@@ -322,6 +326,8 @@ public class TourManager {
    private static LabelProviderMMSS        _labelProviderMMSS = new LabelProviderMMSS();
    private static LabelProviderInt         _labelProviderInt  = new LabelProviderInt();
    //
+   private static final ElevationSRTM3     _elevationSRTM3    = new ElevationSRTM3();
+   //
    private static volatile TourData        _joined_TourData;
    private static int                      _joined_TourIds_Hash;
    private static volatile List<TourData>  _allLoaded_TourData;
@@ -2249,6 +2255,28 @@ public class TourManager {
                                    final List<TourData> allTourData,
                                    final boolean isCheckLatLon) {
 
+      return loadTourData(allTourIds, allTourData, isCheckLatLon, SerieKind.ALL);
+   }
+
+   /**
+    * Loads multiple tour data from the database and shows a progressbar when it takes longer.
+    *
+    * @param allTourIds
+    * @param allTourData
+    *           Contains loaded {@link TourData} for all tour ids which pass the lat/lon check.
+    * @param isCheckLatLon
+    *           When <code>true</code> only tours with lat/lon will be returned, otherwise all tours
+    *           will be returned.
+    * @param allSerieKinds
+    *           Data series which are loaded, see {@link #getTourData(Long, Set)}
+    *
+    * @return Returns a unique key for all {@link TourData}.
+    */
+   public static long loadTourData(final List<Long> allTourIds,
+                                   final List<TourData> allTourData,
+                                   final boolean isCheckLatLon,
+                                   final Set<SerieKind> allSerieKinds) {
+
       // check if the requested data are already available
       final int allTourIds_Hash = allTourIds.hashCode();
       final int allTourData_Hash = allTourData.hashCode();
@@ -2260,6 +2288,11 @@ public class TourManager {
          allTourData.clear();
          allTourData.addAll(_allLoaded_TourData);
 
+         // previously loaded tours could contain less data series
+         for (final TourData tourData : allTourData) {
+            tourData.loadDataSeries(allSerieKinds);
+         }
+
          return _allLoaded_TourData_Key;
       }
 
@@ -2276,7 +2309,7 @@ public class TourManager {
       while (tourIndex[0] < numTourIds) {
 
          final Long tourId = allTourIds.get(tourIndex[0]);
-         loadTourData_OneTour(tourId, allTourData, isCheckLatLon, newOverlayKey);
+         loadTourData_OneTour(tourId, allTourData, isCheckLatLon, allSerieKinds, newOverlayKey);
 
          /*
           * Check if this is a long duration -> run with progress monitor and concurrent
@@ -2360,6 +2393,7 @@ public class TourManager {
                            allTourData_Concurrent,
                            numWorkedTours,
                            isCheckLatLon,
+                           allSerieKinds,
                            newOverlayKey,
                            monitor);
 
@@ -2400,6 +2434,7 @@ public class TourManager {
                                                final ConcurrentHashMap<Long, TourData> allTourData_Concurrent,
                                                final AtomicInteger numWorkedTours,
                                                final boolean isCheckLatLon,
+                                               final Set<SerieKind> allSerieKinds,
                                                final AtomicLong newOverlayKey,
                                                final IProgressMonitor monitor) {
 
@@ -2429,6 +2464,7 @@ public class TourManager {
                      queueItem_TourId,
                      allTourData_Concurrent,
                      isCheckLatLon,
+                     allSerieKinds,
                      newOverlayKey);
             }
 
@@ -2448,9 +2484,10 @@ public class TourManager {
    private static void loadTourData_OneTour(final Long tourId,
                                             final List<TourData> allTourData,
                                             final boolean isCheckLatLon,
+                                            final Set<SerieKind> allSerieKinds,
                                             final AtomicLong newOverlayKey) {
 
-      final TourData tourData = getInstance().getTourData(tourId);
+      final TourData tourData = getInstance().getTourData(tourId, allSerieKinds);
 
       if (tourData == null) {
 
@@ -2472,9 +2509,10 @@ public class TourManager {
    private static void loadTourData_OneTour_Concurrent(final Long tourId,
                                                        final ConcurrentHashMap<Long, TourData> allTourData,
                                                        final boolean isCheckLatLon,
+                                                       final Set<SerieKind> allSerieKinds,
                                                        final AtomicLong newOverlayKey) {
 
-      final TourData tourData = getInstance().getTourData(tourId);
+      final TourData tourData = getInstance().getTourData(tourId, allSerieKinds);
 
       if (tourData == null) {
 
@@ -3503,25 +3541,70 @@ public class TourManager {
 
       BusyIndicator.showWhile(display, () -> {
 
-         TourData oldTourDataDummyClone = null;
+         final int numTours = allTourData.size();
 
-         for (final TourData tourData : allTourData) {
+         final ElevationFileCache srtmFileCache = _elevationSRTM3.getElevationFileCache();
+         final long numHitsBefore = srtmFileCache.getNumHits();
+         final long numMissesBefore = srtmFileCache.getNumMisses();
+
+         final TourData[] allOldTourDataDummyClones = new TourData[numTours];
+         final boolean[] allReplacedTours = new boolean[numTours];
+
+         final CountDownLatch countDownLatch = new CountDownLatch(numTours);
+
+         for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
 
-            oldTourDataDummyClone = RawDataManager.getInstance().createTourDataDummyClone(
+            final TourData tourData = allTourData.get(tourIndex);
+
+            allOldTourDataDummyClones[tourIndex] = RawDataManager.getInstance().createTourDataDummyClone(
                   Arrays.asList(TourValueType.TIME_SLICES__ELEVATION),
                   tourData);
 
-            TourLogManager.subLog_OK(TourManager.getTourDateTimeShort(tourData));
+            final int replaceIndex = tourIndex;
+
+            // the SRTM elevation files can be read concurrently
+            _tourUpdate_Executor.submit(() -> {
+
+               try {
+
+                  allReplacedTours[replaceIndex] = tourData.replaceElevationWithSRTM(true);
+
+               } catch (final Exception e) {
+
+                  StatusUtil.log(e);
+
+               } finally {
+
+                  countDownLatch.countDown();
+               }
+            });
+         }
+
+         try {
+            countDownLatch.await();
+         } catch (final InterruptedException e) {
+            StatusUtil.log(e);
+            Thread.currentThread().interrupt();
+         }
+
+         for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+            final TourData tourData = allTourData.get(tourIndex);
 
-            final boolean isReplaced = tourData.replaceElevationWithSRTM(true);
+            TourLogManager.subLog_OK(TourManager.getTourDateTimeShort(tourData));
 
             RawDataManager.displayTourModifiedDataDifferences(
                   TourValueType.TIME_SLICES__ELEVATION,
-                  oldTourDataDummyClone,
+                  allOldTourDataDummyClones[tourIndex],
                   tourData);
 
-            returnValue[0] = returnValue[0] || isReplaced;
+            returnValue[0] = returnValue[0] || allReplacedTours[tourIndex];
          }
+
+         TourLogManager.subLog_INFO(NLS.bind(
+               Messages.Log_SetElevationFromSRTM_02,
+               srtmFileCache.getNumHits() - numHitsBefore,
+               srtmFileCache.getNumMisses() - numMissesBefore));
       });
 
       return returnValue[0];
@@ -6823,7 +6906,12 @@ public class TourManager {
       final TourData tourDataInCache = _tourDataCache.get(requestedTourId);
 
       if (tourDataInCache != null) {
+
+         // the cached tour could be loaded only with a part of the data series
+         tourDataInCache.loadDataSeries(SerieKind.ALL);
+
          existingTourData = tourDataInCache;
+
       } else {
 
          final TourData tourDataFromDb = TourDatabase.getTourFromDb(requestedTourId);
@@ -6852,6 +6940,71 @@ public class TourManager {
       return existingTourData;
    }
 
+   /**
+    * Get a tour where only the requested data series are loaded, this is much faster and needs
+    * less memory when many tours are loaded but only e.g. the geo positions are needed.
+    * <p>
+    * The tour is kept in the cache, data series which are not loaded are loaded into the cached
+    * tour instance with {@link TourData#loadDataSeries(Set)} when they are requested later,
+    * {@link #getTourData(Long)} loads all data series into the same tour instance.
+    *
+    * @param requestedTourId
+    * @param allSerieKinds
+    *           Data series which are needed, e.g. {@link SerieKind#MAP}
+    *
+    * @return Returns the tour data for the tour id or <code>null</code> when tour is not in the
+    *         database.
+    */
+   public TourData getTourData(final Long requestedTourId, final Set<SerieKind> allSerieKinds) {
+
+      if (requestedTourId == null) {
+         return null;
+      }
+
+      if (allSerieKinds.containsAll(SerieKind.ALL)) {
+         return getTourData(requestedTourId);
+      }
+
+      /*
+       * Get tour from tour editor or cache, it can contain more data series than requested
+       */
+      if (_tourDataEditorInstance != null) {
+
+         final TourData tourDataInEditor = _tourDataEditorInstance.getTourData();
+         if (tourDataInEditor != null && tourDataInEditor.getTourId().equals(requestedTourId)) {
+            return tourDataInEditor;
+         }
+      }
+
+      final TourData tourDataInCache = _tourDataCache.get(requestedTourId);
+
+      if (tourDataInCache != null) {
+
+         tourDataInCache.loadDataSeries(allSerieKinds);
+
+         return tourDataInCache;
+      }
+
+      /*
+       * Get tour from database with only the requested data series
+       */
+      final TourData tourDataFromDb = TourDatabase.getTourFromDb(requestedTourId, allSerieKinds);
+
+      if (tourDataFromDb == null) {
+
+         // try to get tour from raw data manager
+         return RawDataManager
+               .getInstance()
+               .getImportedTours()
+               .get(requestedTourId);
+      }
+
+      // a partially loaded tour is cached that it is not loaded and decoded again
+      _tourDataCache.put(tourDataFromDb.getTourId(), tourDataFromDb);
+
+      return tourDataFromDb;
+   }
+
    /**
     * Get a tour from the database and keep it in the cache
     *
@@ -6877,6 +7030,23 @@ public class TourManager {
       return tourDataFromDb;
    }
 
+   /**
+    * @return Returns the hit/miss/eviction counters and the estimated size of the tour data cache
+    *         as text
+    */
+   public String getTourDataCacheStatistics() {
+
+      final TourDataCacheStatistics cacheStatistics = _tourDataCache.getStatistics();
+
+      return NLS.bind(Messages.Pref_Tour_Label_TourCacheStatistics,
+            new Object[] {
+                  cacheStatistics.hitCount(),
+                  cacheStatistics.missCount(),
+                  cacheStatistics.evictionCount(),
+                  cacheStatistics.numCachedTours(),
+                  cacheStatistics.estimatedBytes() / 1024 / 1024 });
+   }
+
    /**
     * Opens the tour for the given tour id
     *
@@ -6992,7 +7162,7 @@ public class TourManager {
 
    public void resetMapPositions() {
 
-      for (final TourData tourData : _tourDataCache.getCache().values()) {
+      for (final TourData tourData : _tourDataCache.getAllTourData()) {
          tourData.mapCenterPositionLatitude = Double.MIN_VALUE;
          tourData.mapCenterPositionLongitude = Double.MIN_VALUE;
       }
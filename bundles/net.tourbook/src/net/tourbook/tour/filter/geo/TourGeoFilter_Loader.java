@@ -39,6 +39,7 @@ import net.tourbook.database.TourDatabase;
 import net.tourbook.map2.view.Map2View;
 import net.tourbook.ui.AppFilter;
 
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 import org.eclipse.jface.dialogs.IDialogSettings;
 import org.eclipse.swt.graphics.Point;
 
@@ -183,6 +184,43 @@ public class TourGeoFilter_Loader {
             TourGeoFilter_Manager.STATE_IS_INCLUDE_GEO_PARTS,
             TourGeoFilter_Manager.STATE_IS_INCLUDE_GEO_PARTS_DEFAULT);
 
+      final ArrayList<Long> allTourIds = new ArrayList<>();
+
+      final long[] allIndexedTourIds = TourGeoFilter_Manager.getTourIds_FromIndex(
+            geoLoaderData.geoParts_TopLeft_E2,
+            geoLoaderData.geoParts_BottomRight_E2);
+
+      if (allIndexedTourIds != null) {
+
+         // get tour id's from the geo part index
+
+         if (isUseAppFilter == false && isIncludeGeoParts) {
+
+            for (final long tourId : allIndexedTourIds) {
+               allTourIds.add(tourId);
+            }
+
+         } else {
+
+            final LongHashSet allGeoPartTourIds = LongHashSet.newSetWith(allIndexedTourIds);
+
+            final ArrayList<Long> allOtherTourIds = isUseAppFilter
+
+                  // get app filter without geo location, this is added here
+                  ? TourDatabase.getAllTourIds_WithFastAppFilter()
+                  : TourDatabase.getAllTourIds();
+
+            for (final Long tourId : allOtherTourIds) {
+
+               if (allGeoPartTourIds.contains(tourId) == isIncludeGeoParts) {
+                  allTourIds.add(tourId);
+               }
+            }
+         }
+
+         return loadToursFromGeoParts_Done(geoLoaderData, tourGeoFilter, allTourIds, timerStart);
+      }
+
       String sqlSelect;
       AppFilter appFilter = null;
 
@@ -231,8 +269,6 @@ public class TourGeoFilter_Loader {
 
       final int numGeoParts = allLatLonParts.size();
 
-      final ArrayList<Long> allTourIds = new ArrayList<>();
-
       try (Connection conn = TourDatabase.getInstance().getConnection();
             final PreparedStatement stmtSelect = conn.prepareStatement(sqlSelect)) {
 
@@ -273,6 +309,14 @@ public class TourGeoFilter_Loader {
 
       }
 
+      return loadToursFromGeoParts_Done(geoLoaderData, tourGeoFilter, allTourIds, timerStart);
+   }
+
+   private static boolean loadToursFromGeoParts_Done(final GeoFilter_LoaderData geoLoaderData,
+                                                     final TourGeoFilter tourGeoFilter,
+                                                     final ArrayList<Long> allTourIds,
+                                                     final long timerStart) {
+
       final long timeDiff = System.currentTimeMillis() - timerStart;
 
       geoLoaderData.sqlRunningTime = timeDiff;
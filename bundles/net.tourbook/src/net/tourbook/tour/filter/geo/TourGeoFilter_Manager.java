@@ -32,6 +32,7 @@ import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.Util;
 import net.tourbook.data.TourData;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourGeoPartIndex;
 import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.tour.TourEventId;
 import net.tourbook.tour.TourManager;
@@ -113,6 +114,18 @@ public class TourGeoFilter_Manager {
 
    private static final String             ATTR_TOUR_FILTER_VERSION                       = "tourFilterVersion";                      //$NON-NLS-1$
 
+   /**
+    * When the geo part index contains more tours, the geo parts are selected with SQL because a
+    * very large IN list is slow in Derby
+    */
+   private static final int                MAX_SQL_TOUR_IDS                               = 5_000;
+
+   /**
+    * Number of tour id parameters in one IN list, all lists have the same size that only a few
+    * different statements are compiled by Derby
+    */
+   private static final int                SQL_TOUR_ID_BATCH_SIZE                         = 500;
+
    private static ActionTourGeoFilter      _actionTourGeoFilter;
 
    private static boolean                  _isGeoFilterEnabled;
@@ -275,6 +288,23 @@ public class TourGeoFilter_Manager {
       return sqlSelectWithAllTourIdsFromGeoParts;
    }
 
+   /**
+    * @return Returns the parameter placeholders for a batch of tour id's
+    */
+   private static String createSql_TourIdBatchParameters() {
+
+      final StringBuilder sb = new StringBuilder();
+
+      for (int batchIndex = 0; batchIndex < SQL_TOUR_ID_BATCH_SIZE; batchIndex++) {
+
+         sb.append(batchIndex == 0
+               ? TourDatabase.PARAMETER_FIRST
+               : TourDatabase.PARAMETER_FOLLOWING);
+      }
+
+      return sb.toString();
+   }
+
    /**
     * Fire event that the tour filter has changed.
     */
@@ -374,11 +404,61 @@ public class TourGeoFilter_Manager {
          return null;
       }
 
-      sqlParameters.addAll(allLatLonParts);
-
       // include or exclude geo parts
       final String sqlIncludeExcludeGeoParts = isIncludeGeoParts ? UI.EMPTY_STRING : "NOT"; //$NON-NLS-1$
 
+      final long[] allIndexedTourIds = getTourIds_FromIndex(
+            geoFilter.geoParts_TopLeft_E2,
+            geoFilter.geoParts_BottomRight_E2);
+
+      if (allIndexedTourIds != null && allIndexedTourIds.length <= MAX_SQL_TOUR_IDS) {
+
+         /*
+          * Use tour id's from the geo part index, the tour id's are set as parameters in batches
+          * with the same size, the last batch is filled up with the last tour id
+          */
+
+         String sqlWhere = " AND HasGeoData" + NL; //$NON-NLS-1$
+
+         if (allIndexedTourIds.length > 0) {
+
+            final String sqlBatchParameters = createSql_TourIdBatchParameters();
+
+            // a tour must be in one of the batches or in none of the batches
+            final String sqlBatchOperator = isIncludeGeoParts ? " OR " : " AND "; //$NON-NLS-1$ //$NON-NLS-2$
+
+            final StringBuilder sb = new StringBuilder();
+
+            for (int batchStart = 0; batchStart < allIndexedTourIds.length; batchStart += SQL_TOUR_ID_BATCH_SIZE) {
+
+               if (batchStart > 0) {
+                  sb.append(sqlBatchOperator);
+               }
+
+               sb.append("TourId " + sqlIncludeExcludeGeoParts + " IN (" + sqlBatchParameters + ")"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+               for (int batchIndex = 0; batchIndex < SQL_TOUR_ID_BATCH_SIZE; batchIndex++) {
+
+                  final int tourIdIndex = Math.min(batchStart + batchIndex, allIndexedTourIds.length - 1);
+
+                  sqlParameters.add(allIndexedTourIds[tourIdIndex]);
+               }
+            }
+
+            sqlWhere += " AND (" + sb.toString() + ") "; //$NON-NLS-1$ //$NON-NLS-2$
+
+         } else if (isIncludeGeoParts) {
+
+            // there are no tours in the geo parts
+
+            sqlWhere += " AND 1=0 "; //$NON-NLS-1$
+         }
+
+         return new SQLData(sqlWhere, sqlParameters);
+      }
+
+      sqlParameters.addAll(allLatLonParts);
+
       final String sqlWhere = UI.EMPTY_STRING
 
             + " AND HasGeoData" + NL //$NON-NLS-1$
@@ -393,6 +473,31 @@ public class TourGeoFilter_Manager {
       return _state;
    }
 
+   /**
+    * @param geoParts_TopLeft_E2
+    * @param geoParts_BottomRight_E2
+    *
+    * @return Returns the tour id's for the lat/lon geo parts from the {@link TourGeoPartIndex} or
+    *         <code>null</code> when the index is not yet loaded
+    */
+   static long[] getTourIds_FromIndex(final Point geoParts_TopLeft_E2, final Point geoParts_BottomRight_E2) {
+
+      // x: longitude
+      final int normalizedLon1 = geoParts_TopLeft_E2.x + TourData.NORMALIZED_LONGITUDE_OFFSET_E2;
+      final int normalizedLon2 = geoParts_BottomRight_E2.x + TourData.NORMALIZED_LONGITUDE_OFFSET_E2;
+
+      // y: latitude
+      final int normalizedLat1 = geoParts_TopLeft_E2.y + TourData.NORMALIZED_LATITUDE_OFFSET_E2;
+      final int normalizedLat2 = geoParts_BottomRight_E2.y + TourData.NORMALIZED_LATITUDE_OFFSET_E2;
+
+      // these are the same geo parts as in createSelectStmtForGeoParts()
+      return TourGeoPartIndex.getInstance().getTourIds(
+            normalizedLat2,
+            normalizedLat1,
+            normalizedLon1,
+            normalizedLon2);
+   }
+
    private static File getXmlFile() {
 
       final File layerFile = _stateLocation.append(TOUR_FILTER_FILE_NAME).toFile();
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.tour.location;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.tourbook.common.util.StatusUtil;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Retrieves locations from a local gazetteer file, it can be used for testing or when the
+ * location server is not available.
+ * <p>
+ * The file contains a JSON array with Nominatim "reverse" objects, the object with the smallest
+ * bounding box which contains the geo position is returned.
+ */
+public class GazetteerLocationProvider implements ITourLocationProvider {
+
+   private final File           _gazetteerFile;
+
+   private List<GazetteerEntry> _allEntries;
+
+   private record GazetteerEntry(double latitudeMin,
+                                 double latitudeMax,
+                                 double longitudeMin,
+                                 double longitudeMax,
+
+                                 String locationData) {
+
+      private double getArea() {
+         return (latitudeMax - latitudeMin) * (longitudeMax - longitudeMin);
+      }
+
+      private boolean isInBoundingBox(final double latitude, final double longitude) {
+
+         return latitudeMin <= latitude
+               && latitudeMax >= latitude
+
+               && longitudeMin <= longitude
+               && longitudeMax >= longitude;
+      }
+   }
+
+   public GazetteerLocationProvider(final File gazetteerFile) {
+
+      _gazetteerFile = gazetteerFile;
+   }
+
+   /**
+    * @return Returns all gazetteer entries, they are loaded when used the first time
+    */
+   private synchronized List<GazetteerEntry> getAllEntries() {
+
+      if (_allEntries != null) {
+         return _allEntries;
+      }
+
+      _allEntries = new ArrayList<>();
+
+      try {
+
+         final ObjectMapper mapper = new ObjectMapper();
+
+         final String gazetteerData = Files.readString(_gazetteerFile.toPath(), StandardCharsets.UTF_8);
+
+         for (final JsonNode locationNode : mapper.readValue(gazetteerData, JsonNode[].class)) {
+
+            final OSMLocation osmLocation = mapper.treeToValue(locationNode, OSMLocation.class);
+
+            // "boundingbox": [latitudeMin, latitudeMax, longitudeMin, longitudeMax]
+            final double[] boundingbox = osmLocation.boundingbox;
+            if (boundingbox == null || boundingbox.length != 4) {
+               continue;
+            }
+
+            _allEntries.add(new GazetteerEntry(
+
+                  boundingbox[0],
+                  boundingbox[1],
+                  boundingbox[2],
+                  boundingbox[3],
+
+                  locationNode.toString()));
+         }
+
+      } catch (final Exception e) {
+
+         StatusUtil.logError("Cannot read tour location gazetteer file \"%s\" - %s".formatted(_gazetteerFile, e.getMessage())); //$NON-NLS-1$
+      }
+
+      return _allEntries;
+   }
+
+   @Override
+   public boolean isPublicService() {
+      return false;
+   }
+
+   @Override
+   public String retrieveLocation(final double latitude,
+                                  final double longitude,
+                                  final int zoomlevel,
+                                  final String language) {
+
+      GazetteerEntry foundEntry = null;
+
+      for (final GazetteerEntry entry : getAllEntries()) {
+
+         if (entry.isInBoundingBox(latitude, longitude)
+               && (foundEntry == null || entry.getArea() < foundEntry.getArea())) {
+
+            foundEntry = entry;
+         }
+      }
+
+      return foundEntry == null
+            ? null
+            : foundEntry.locationData;
+   }
+
+   @Override
+   public String toString() {
+      return _gazetteerFile.getPath();
+   }
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.tour.location;
+
+/**
+ * Provides the address of a geo position, the result has the same JSON format as a Nominatim
+ * "reverse" request, see <a href=
+ * "https://nominatim.org/release-docs/develop/api/Reverse/">https://nominatim.org/release-docs/develop/api/Reverse/</a>
+ */
+public interface ITourLocationProvider {
+
+   /**
+    * @return Returns <code>true</code> when this is a public service, the number of requests are
+    *         limited by it's usage policy and the retrieved locations are saved in the
+    *         {@link TourLocationCache}
+    */
+   public boolean isPublicService();
+
+   /**
+    * @param latitude
+    * @param longitude
+    * @param zoomlevel
+    * @param language
+    *
+    * @return Returns the location as JSON object or <code>null</code> when it is not available
+    */
+   public String retrieveLocation(double latitude, double longitude, int zoomlevel, String language);
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.tour.location;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+
+import net.tourbook.application.ApplicationVersion;
+import net.tourbook.common.UI;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.tour.TourLogManager;
+import net.tourbook.web.WEB;
+
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Retrieves locations from the public OSM Nominatim server or from a local server with the same
+ * API, e.g. a local Nominatim installation or a stand-in for testing.
+ */
+class NominatimLocationProvider implements ITourLocationProvider {
+
+   private static final char       NL                   = UI.NEW_LINE;
+
+   static final String             NOMINATIM_URL        = "https://nominatim.openstreetmap.org";                 //$NON-NLS-1$
+
+   private static final String     _userAgent           = "MyTourbook/" + ApplicationVersion.getVersionSimple(); //$NON-NLS-1$
+
+   private static final HttpClient _httpClient          = HttpClient
+
+         .newBuilder()
+         .connectTimeout(Duration.ofSeconds(10))
+         .build();
+
+   private static final Duration   _httpTimeoutDuration = Duration.ofSeconds(5);
+
+   private final String            _serverUrl;
+   private final boolean           _isPublicService;
+
+   /**
+    * @param serverUrl
+    *           Base URL of the server, e.g. {@value #NOMINATIM_URL}
+    * @param isPublicService
+    */
+   NominatimLocationProvider(final String serverUrl, final boolean isPublicService) {
+
+      _serverUrl = serverUrl.endsWith(UI.SLASH)
+            ? serverUrl.substring(0, serverUrl.length() - 1)
+            : serverUrl;
+
+      _isPublicService = isPublicService;
+   }
+
+   private static void logError(final String exceptionMessage) {
+
+      TourLogManager.log_ERROR(NLS.bind(
+            "Error while retrieving tour location data: \"{1}\"", //$NON-NLS-1$
+            exceptionMessage));
+   }
+
+   private static void logException(final String requestUrl, final Exception ex) {
+
+      TourLogManager.log_EXCEPTION_WithStacktrace("Error while retrieving tour location data: " + requestUrl + NL, ex); //$NON-NLS-1$
+   }
+
+   @Override
+   public boolean isPublicService() {
+      return _isPublicService;
+   }
+
+   @Override
+   public String retrieveLocation(final double latitude,
+                                  final double longitude,
+                                  final int zoomlevel,
+                                  final String language) {
+
+      final String requestUrl = UI.EMPTY_STRING
+
+            + _serverUrl + "/reverse?" //          //$NON-NLS-1$
+
+            + "format=json" //                     //$NON-NLS-1$
+            + "&addressdetails=1" //               //$NON-NLS-1$
+
+            + "&lat=" + latitude //                //$NON-NLS-1$
+            + "&lon=" + longitude //               //$NON-NLS-1$
+            + "&zoom=" + zoomlevel //              //$NON-NLS-1$
+
+            + "&accept-language=" + language //    //$NON-NLS-1$
+
+//          + "&polygon_text=1" //                 //$NON-NLS-1$
+//          + "&polygon_geojson=1" //              //$NON-NLS-1$
+
+//          + "&extratags=1" //                    //$NON-NLS-1$
+//          + "&namedetails=1" //                  //$NON-NLS-1$
+
+//          + "&layer=address,poi,railway,natural,manmade" //$NON-NLS-1$
+
+      ;
+
+      try {
+
+         final HttpRequest request = HttpRequest
+               .newBuilder(URI.create(requestUrl))
+               .header(WEB.HTTP_HEADER_USER_AGENT, _userAgent)
+               .timeout(_httpTimeoutDuration)
+               .GET()
+               .build();
+
+         final HttpResponse<String> response = _httpClient.send(request, BodyHandlers.ofString());
+
+         final String downloadedData = response.body();
+
+         if (response.statusCode() != HttpURLConnection.HTTP_OK) {
+
+            logError(downloadedData);
+
+            return null;
+         }
+
+         return downloadedData;
+
+      } catch (final HttpTimeoutException ex) {
+
+         StatusUtil.showStatus(requestUrl, ex);
+
+         logException(requestUrl, ex);
+
+      } catch (final Exception ex) {
+
+         logException(requestUrl, ex);
+
+//       Thread.currentThread().interrupt();
+      }
+
+      return null;
+   }
+
+   @Override
+   public String toString() {
+      return _serverUrl;
+   }
+}
@@ -1,88 +1,258 @@
-/*******************************************************************************
- * Copyright (C) 2023, 2024 Wolfgang Schramm and Contributors
- *
- * This program is free software; you can redistribute it and/or modify it under
- * the terms of the GNU General Public License as published by the Free Software
- * Foundation version 2 of the License.
- *
- * This program is distributed in the hope that it will be useful, but WITHOUT
- * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
- * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
- *
- * You should have received a copy of the GNU General Public License along with
- * this program; if not, write to the Free Software Foundation,
- * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
- *******************************************************************************/
 package net.tourbook.tour.location;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
-import net.tourbook.data.TourLocation;
+import net.tourbook.common.UI;
+import net.tourbook.common.util.StatusUtil;
 
 /**
- * Cache for {@link TourLocation}s
+ * Persistent cache for the location data which are retrieved from the location provider.
+ * <p>
+ * Geo positions are quantized into cells, the cell size depends on the zoomlevel. All positions
+ * within one cell are using the same location data, so nearby tour start/end positions need only
+ * one request. A cell can be larger than the cached location, the user of the cache must check that
+ * the location contains the position.
+ * <p>
+ * The cache is saved in a text file with one cell in each line, new cells are appended to the file.
  */
 public class TourLocationCache {
 
-   private final int                                   _maxLocations;
+   private static final char   NL          = UI.NEW_LINE;
+   private static final char   TAB         = UI.TAB;
 
-   private final ConcurrentHashMap<Long, TourLocation> _locationCache     = new ConcurrentHashMap<>();
-   private final ConcurrentLinkedQueue<Long>           _locationCacheFifo = new ConcurrentLinkedQueue<>();
+   /**
+    * Location data which are older are retrieved again
+    */
+   private static final long   MAX_AGE_MS  = Duration.ofDays(365).toMillis();
+
+   private static final String CELL_FORMAT = "%d_%s_%d_%d";                  //$NON-NLS-1$
+
+   private final File          _cacheFile;
+
+   /**
+    * Key: Cell key
+    */
+   private final ConcurrentHashMap<String, CacheEntry> _allCacheEntries = new ConcurrentHashMap<>();
+
+   private volatile boolean                            _isLoaded;
 
-   public TourLocationCache(final int maxLocations) {
+   private record CacheEntry(long retrievalTime, String locationData) {}
 
-      _maxLocations = maxLocations;
+   public TourLocationCache(final File cacheFile) {
+
+      _cacheFile = cacheFile;
    }
 
-   public void add(final Long locationKey, final TourLocation tourLocation) {
+   /**
+    * @param latitude
+    * @param longitude
+    * @param zoomlevel
+    * @param language
+    *
+    * @return Returns the key of the cell which contains the geo position
+    */
+   public static String getCellKey(final double latitude,
+                                   final double longitude,
+                                   final int zoomlevel,
+                                   final String language) {
 
-      // check if space is available in the cache
-      final int cacheSize = _locationCacheFifo.size();
+      final int cellSize = getCellSize(zoomlevel);
 
-      if (cacheSize > _maxLocations) {
+      final long latitudeCell = Math.floorDiv(Math.round(latitude * 1_000_000), cellSize);
+      final long longitudeCell = Math.floorDiv(Math.round(longitude * 1_000_000), cellSize);
 
-         // remove cached locations
-         for (int cacheIndex = _maxLocations; cacheIndex < cacheSize; cacheIndex++) {
-            removeLocation(_locationCacheFifo.poll());
-         }
+      return CELL_FORMAT.formatted(zoomlevel, language, latitudeCell, longitudeCell);
+   }
+
+   /**
+    * @param zoomlevel
+    *
+    * @return Returns the cell size in E6 degrees, the size is smaller than the location which is
+    *         retrieved for this zoomlevel
+    */
+   private static int getCellSize(final int zoomlevel) {
+
+// SET_FORMATTING_OFF
+
+      if (zoomlevel >= 18) {  return       200;   }   //  ~20 m   building
+      if (zoomlevel >= 16) {  return     1_000;   }   // ~100 m   major/minor streets
+      if (zoomlevel >= 13) {  return     5_000;   }   // ~500 m   village/suburb
+      if (zoomlevel >= 10) {  return    20_000;   }   //   ~2 km  city/town
+      if (zoomlevel >=  8) {  return   100_000;   }   //  ~10 km  county
+
+      return                           500_000;       //  ~50 km  state/country
+
+// SET_FORMATTING_ON
+   }
+
+   /**
+    * @param cellKey
+    *           Key from {@link #getCellKey(double, double, int, String)}
+    *
+    * @return Returns the cached location data or <code>null</code> when not available
+    */
+   public String get(final String cellKey) {
+
+      loadCache();
+
+      final CacheEntry cacheEntry = _allCacheEntries.get(cellKey);
+
+      if (cacheEntry == null || isExpired(cacheEntry)) {
+         return null;
       }
 
-      _locationCache.put(locationKey, tourLocation);
-      _locationCacheFifo.add(locationKey);
+      return cacheEntry.locationData;
    }
 
-   public TourLocation get(final int latitudeE6_Normalized, final int longitudeE6_Normalized, final int zoomlevel) {
+   private String getCacheLine(final String cellKey, final CacheEntry cacheEntry) {
 
-      for (final TourLocation tourLocation : _locationCache.values()) {
+      return cellKey + TAB + cacheEntry.retrievalTime + TAB + cacheEntry.locationData + NL;
+   }
 
-         if (tourLocation.isInBoundingBox(zoomlevel, latitudeE6_Normalized, longitudeE6_Normalized)) {
+   private boolean isExpired(final CacheEntry cacheEntry) {
 
-            return tourLocation;
-         }
+      return System.currentTimeMillis() - cacheEntry.retrievalTime > MAX_AGE_MS;
+   }
+
+   /**
+    * Load cached locations when not yet done, expired and replaced cells are removed from the
+    * cache file
+    */
+   private void loadCache() {
+
+      if (_isLoaded) {
+         return;
       }
 
-      return null;
+      synchronized (this) {
+
+         if (_isLoaded) {
+            return;
+         }
+
+         if (_cacheFile.exists()) {
+
+            try {
+
+               final List<String> allLines = Files.readAllLines(_cacheFile.toPath(), StandardCharsets.UTF_8);
+
+               for (final String line : allLines) {
+
+                  // cell key <TAB> retrieval time <TAB> location data
+                  final String[] allValues = line.split(String.valueOf(TAB), 3);
+
+                  if (allValues.length != 3) {
+                     continue;
+                  }
+
+                  final CacheEntry cacheEntry;
+
+                  try {
+
+                     cacheEntry = new CacheEntry(Long.parseLong(allValues[1]), allValues[2]);
+
+                  } catch (final NumberFormatException e) {
+
+                     // skip invalid line
+                     continue;
+                  }
+
+                  if (isExpired(cacheEntry) == false) {
+                     _allCacheEntries.put(allValues[0], cacheEntry);
+                  }
+               }
+
+               if (allLines.size() > _allCacheEntries.size()) {
+                  saveCache();
+               }
+
+            } catch (final IOException e) {
+
+               StatusUtil.log(e);
+            }
+         }
+
+         _isLoaded = true;
+      }
    }
 
-   public void remove(final Long locationKey) {
+   /**
+    * Save location data in the cache
+    *
+    * @param cellKey
+    *           Key from {@link #getCellKey(double, double, int, String)}
+    * @param locationData
+    */
+   public synchronized void put(final String cellKey, final String locationData) {
+
+      loadCache();
 
-      _locationCacheFifo.remove(locationKey);
+      final CacheEntry cacheEntry = new CacheEntry(
+            System.currentTimeMillis(),
 
-      removeLocation(locationKey);
+            // a cache line must not contain line breaks, they are not relevant for JSON
+            locationData.replace('\r', ' ').replace('\n', ' '));
+
+      _allCacheEntries.put(cellKey, cacheEntry);
+
+      try {
+
+         Files.writeString(_cacheFile.toPath(),
+               getCacheLine(cellKey, cacheEntry),
+               StandardCharsets.UTF_8,
+               StandardOpenOption.CREATE,
+               StandardOpenOption.APPEND);
+
+      } catch (final IOException e) {
+
+         StatusUtil.log(e);
+      }
    }
 
    /**
-    * Removes all locations
+    * Removes all cached locations
     */
    public synchronized void removeAll() {
 
-      _locationCache.clear();
-      _locationCacheFifo.clear();
+      _allCacheEntries.clear();
+
+      _cacheFile.delete();
    }
 
-   private void removeLocation(final Long locationKey) {
+   /**
+    * Replace the cache file with the current cache entries, they are written into a temp file
+    * which is renamed that the cache file is not damaged when writing fails
+    */
+   private void saveCache() throws IOException {
+
+      final StringBuilder sb = new StringBuilder();
 
-      _locationCache.remove(locationKey);
+      for (final Entry<String, CacheEntry> entry : _allCacheEntries.entrySet()) {
+         sb.append(getCacheLine(entry.getKey(), entry.getValue()));
+      }
+
+      final File tempFile = new File(_cacheFile.getPath() + ".tmp"); //$NON-NLS-1$
+
+      try {
+
+         Files.writeString(tempFile.toPath(), sb.toString(), StandardCharsets.UTF_8);
+
+         Files.move(tempFile.toPath(), _cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+      } catch (final IOException e) {
+
+         tempFile.delete();
+
+         throw e;
+      }
    }
 }
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.tour.location;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Coalesces the location requests of a batch, e.g. when the start/end locations are set for many
+ * imported tours, nearby geo positions are retrieved only once:
+ * <ul>
+ * <li>Positions within the bounding box of a retrieved location are using this location</li>
+ * <li>A failed request is not repeated for positions within the same {@link TourLocationCache}
+ * cell</li>
+ * </ul>
+ * Requests are serialized because the location provider allows only one request at the same time.
+ */
+class TourLocationCoalescer {
+
+   private final int                           _zoomlevel;
+   private final String                        _language              = Locale.getDefault().getLanguage();
+
+   private final List<TourLocationData>        _allRetrievedLocations = new ArrayList<>();
+
+   /**
+    * Key: Cell key, value: Failed request, the location data are <code>null</code> or do not
+    * contain a location
+    */
+   private final Map<String, TourLocationData> _allFailedCells        = new HashMap<>();
+
+   TourLocationCoalescer(final int zoomlevel) {
+
+      _zoomlevel = zoomlevel;
+   }
+
+   /**
+    * @param latitude
+    * @param longitude
+    *
+    * @return Returns {@link TourLocationData} or <code>null</code> when it could not be retrieved
+    */
+   synchronized TourLocationData getLocationData(final double latitude, final double longitude) {
+
+      for (final TourLocationData retrievedLocation : _allRetrievedLocations) {
+
+         if (TourLocationManager.isLatLonInLocation(latitude, longitude, retrievedLocation)) {
+            return retrievedLocation;
+         }
+      }
+
+      final String cellKey = TourLocationCache.getCellKey(latitude, longitude, _zoomlevel, _language);
+
+      /*
+       * A retrieved location of this cell is not used when it does not contain the position, it is
+       * already checked above
+       */
+      if (_allFailedCells.containsKey(cellKey)) {
+
+         // a failed request is not repeated
+
+         return _allFailedCells.get(cellKey);
+      }
+
+      final TourLocationData tourLocationData = TourLocationManager.getLocationData(latitude, longitude, null, _zoomlevel, false);
+
+      if (tourLocationData != null && tourLocationData.tourLocation != null) {
+         _allRetrievedLocations.add(tourLocationData);
+      } else {
+         _allFailedCells.put(cellKey, tourLocationData);
+      }
+
+      return tourLocationData;
+   }
+}
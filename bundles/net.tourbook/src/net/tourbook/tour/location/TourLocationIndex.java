@@ -0,0 +1,438 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.tour.location;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.data.TourLocation;
+import net.tourbook.database.TourDatabase;
+
+/**
+ * In-memory index of the resized bounding boxes of all saved {@link TourLocation}s, it is used to
+ * find a saved location for a geo position without querying the database.
+ * <p>
+ * Bounding boxes are saved in a hierarchical grid, the cell size of a grid level is half of the
+ * previous level. A box is saved in the level where the cell size is not smaller than the box, so
+ * it overlaps max 2 x 2 cells. A lookup checks one cell in each level.
+ * <p>
+ * The index is loaded from the database when it is used the first time and must be updated when a
+ * location is saved, resized or deleted. Lookups are not locked, updates replace the cell content.
+ * When the index cannot be loaded, it is not available and loading is tried again with the next
+ * usage.
+ */
+public class TourLocationIndex {
+
+   private static final char   NL             = UI.NEW_LINE;
+
+   /**
+    * Normalized E6 values are smaller than 2^29 (360 degree), level 0 contains one cell for the whole
+    * world
+    */
+   private static final int    MAX_CELL_SHIFT = 29;
+
+   /**
+    * Smallest cell size is 2^9 E6 units (~50 m), smaller boxes are saved in the last level
+    */
+   private static final int    NUM_LEVELS     = 21;
+
+   private static final Box[]  NO_BOXES       = new Box[0];
+
+   /**
+    * Key: Level + cell, value: Boxes which overlap this cell
+    */
+   private static final ConcurrentHashMap<Long, Box[]> _allCellBoxes    = new ConcurrentHashMap<>();
+
+   /**
+    * Key: Location ID
+    */
+   private static final ConcurrentHashMap<Long, Box>   _allBoxes        = new ConcurrentHashMap<>();
+
+   /**
+    * Number of boxes in each level, empty levels are skipped when searching
+    */
+   private static final AtomicIntegerArray             _numLevelBoxes   = new AtomicIntegerArray(NUM_LEVELS);
+
+   private static volatile boolean                     _isIndexLoaded;
+
+   private record Box(long locationId,
+                      int zoomlevel,
+
+                      int latitudeMinE6_Normalized,
+                      int latitudeMaxE6_Normalized,
+                      int longitudeMinE6_Normalized,
+                      int longitudeMaxE6_Normalized) {
+
+      private boolean contains(final int requestedZoomlevel,
+                               final int latitudeE6_Normalized,
+                               final int longitudeE6_Normalized) {
+
+         return zoomlevel >= requestedZoomlevel
+
+               && latitudeMinE6_Normalized <= latitudeE6_Normalized
+               && latitudeMaxE6_Normalized >= latitudeE6_Normalized
+
+               && longitudeMinE6_Normalized <= longitudeE6_Normalized
+               && longitudeMaxE6_Normalized >= longitudeE6_Normalized;
+      }
+   }
+
+   private TourLocationIndex() {}
+
+   /**
+    * Adds or replaces the bounding box of a saved location
+    *
+    * @param tourLocation
+    */
+   public static void add(final TourLocation tourLocation) {
+
+      if (ensureIndexIsLoaded() == false) {
+
+         // the location is loaded from the database when the index is loaded
+         return;
+      }
+
+      add(new Box(
+
+            tourLocation.getLocationId(),
+            tourLocation.zoomlevel,
+
+            tourLocation.latitudeMinE6_Resized_Normalized,
+            tourLocation.latitudeMaxE6_Resized_Normalized,
+            tourLocation.longitudeMinE6_Resized_Normalized,
+            tourLocation.longitudeMaxE6_Resized_Normalized));
+   }
+
+   private static void add(final Box box) {
+
+      final Box prevBox = _allBoxes.put(box.locationId, box);
+
+      if (prevBox != null) {
+         updateCells(prevBox, false);
+      }
+
+      updateCells(box, true);
+   }
+
+   private static Box[] addBox(final Box[] allBoxes, final Box box) {
+
+      final Box[] allNewBoxes = Arrays.copyOf(allBoxes, allBoxes.length + 1);
+      allNewBoxes[allBoxes.length] = box;
+
+      return allNewBoxes;
+   }
+
+   /**
+    * @return Returns <code>true</code> when the index is loaded, otherwise the index could not be
+    *         loaded from the database
+    */
+   private static boolean ensureIndexIsLoaded() {
+
+      if (_isIndexLoaded) {
+         return true;
+      }
+
+      synchronized (TourLocationIndex.class) {
+
+         if (_isIndexLoaded) {
+            return true;
+         }
+
+         if (loadIndex() == false) {
+
+            // remove partly loaded boxes, loading is done again with the next usage
+
+            _allBoxes.clear();
+            _allCellBoxes.clear();
+
+            for (int level = 0; level < NUM_LEVELS; level++) {
+               _numLevelBoxes.set(level, 0);
+            }
+
+            return false;
+         }
+
+         _isIndexLoaded = true;
+
+         return true;
+      }
+   }
+
+   /**
+    * @param value
+    *           Normalized E6 value
+    * @param level
+    *
+    * @return Returns the cell of the value in the level, values outside of the normalized range are
+    *         set into the first cell
+    */
+   private static int getCell(final int value, final int level) {
+
+      return Math.max(0, value) >> (MAX_CELL_SHIFT - level);
+   }
+
+   private static long getCellKey(final int level, final int latitudeCell, final int longitudeCell) {
+
+      return (long) level << 58 | (long) latitudeCell << 29 | longitudeCell;
+   }
+
+   /**
+    * @return Returns the grid level in which the box overlaps max 2 x 2 cells
+    */
+   private static int getLevel(final Box box) {
+
+      final int boxSize = Math.max(
+
+            box.latitudeMaxE6_Normalized - box.latitudeMinE6_Normalized,
+            box.longitudeMaxE6_Normalized - box.longitudeMinE6_Normalized);
+
+      // number of bits which are needed for the box size
+      final int sizeBits = 32 - Integer.numberOfLeadingZeros(Math.max(1, boxSize) - 1);
+
+      return Math.max(0, Math.min(NUM_LEVELS - 1, MAX_CELL_SHIFT - sizeBits));
+   }
+
+   /**
+    * Searches a saved location which bounding box contains the geo position, this is done without
+    * accessing the database.
+    *
+    * @param latitudeE6_Normalized
+    * @param longitudeE6_Normalized
+    * @param zoomlevel
+    *           Locations with a smaller zoomlevel are ignored
+    *
+    * @return Returns the location ID or {@link TourDatabase#ENTITY_IS_NOT_SAVED} when a location
+    *         is not available, when several locations are available then the location with the
+    *         smallest ID is returned. {@link #isAvailable()} must be checked before, otherwise a
+    *         location is not found when the index could not be loaded.
+    */
+   public static long getLocationId(final int latitudeE6_Normalized,
+                                    final int longitudeE6_Normalized,
+                                    final int zoomlevel) {
+
+      ensureIndexIsLoaded();
+
+      long locationId = TourDatabase.ENTITY_IS_NOT_SAVED;
+
+      for (int level = 0; level < NUM_LEVELS; level++) {
+
+         if (_numLevelBoxes.get(level) == 0) {
+            continue;
+         }
+
+         final Box[] allBoxes = _allCellBoxes.get(getCellKey(level,
+               getCell(latitudeE6_Normalized, level),
+               getCell(longitudeE6_Normalized, level)));
+
+         if (allBoxes == null) {
+            continue;
+         }
+
+         for (final Box box : allBoxes) {
+
+            if (box.contains(zoomlevel, latitudeE6_Normalized, longitudeE6_Normalized)
+                  && (locationId == TourDatabase.ENTITY_IS_NOT_SAVED || box.locationId < locationId)) {
+
+               locationId = box.locationId;
+            }
+         }
+      }
+
+      return locationId;
+   }
+
+   /**
+    * Loads the index if it is not yet loaded
+    *
+    * @return Returns <code>true</code> when the index can be used, otherwise the index could not be
+    *         loaded from the database and the locations must be searched in the database
+    */
+   public static boolean isAvailable() {
+
+      return ensureIndexIsLoaded();
+   }
+
+   /**
+    * @return Returns <code>true</code> when all locations are loaded
+    */
+   private static boolean loadIndex() {
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT" + NL //                                    //$NON-NLS-1$
+
+            + " locationID," + NL //                           1  //$NON-NLS-1$
+            + " zoomlevel," + NL //                            2  //$NON-NLS-1$
+
+            + " latitudeMinE6_Resized_Normalized," + NL //     3  //$NON-NLS-1$
+            + " latitudeMaxE6_Resized_Normalized," + NL //     4  //$NON-NLS-1$
+            + " longitudeMinE6_Resized_Normalized," + NL //    5  //$NON-NLS-1$
+            + " longitudeMaxE6_Resized_Normalized" + NL //     6  //$NON-NLS-1$
+
+            + "FROM " + TourDatabase.TABLE_TOUR_LOCATION + NL //  //$NON-NLS-1$
+      ;
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            PreparedStatement statement = conn.prepareStatement(sql)) {
+
+         final ResultSet result = statement.executeQuery();
+
+         while (result.next()) {
+
+            add(new Box(
+
+                  result.getLong(1),
+                  result.getInt(2),
+
+                  result.getInt(3),
+                  result.getInt(4),
+                  result.getInt(5),
+                  result.getInt(6)));
+         }
+
+      } catch (final SQLException e) {
+
+         // loading is tried again with the next usage, a dialog would be displayed for each lookup
+         StatusUtil.log(e);
+
+         return false;
+      }
+
+      return true;
+   }
+
+   /**
+    * Removes a deleted location
+    *
+    * @param locationId
+    */
+   public static void remove(final long locationId) {
+
+      if (ensureIndexIsLoaded() == false) {
+         return;
+      }
+
+      final Box box = _allBoxes.remove(locationId);
+
+      if (box != null) {
+         updateCells(box, false);
+      }
+   }
+
+   private static Box[] removeBox(final Box[] allBoxes, final Box box) {
+
+      for (int boxIndex = 0; boxIndex < allBoxes.length; boxIndex++) {
+
+         if (allBoxes[boxIndex] == box) {
+
+            final Box[] allNewBoxes = new Box[allBoxes.length - 1];
+
+            System.arraycopy(allBoxes, 0, allNewBoxes, 0, boxIndex);
+            System.arraycopy(allBoxes, boxIndex + 1, allNewBoxes, boxIndex, allNewBoxes.length - boxIndex);
+
+            return allNewBoxes;
+         }
+      }
+
+      return allBoxes;
+   }
+
+   /**
+    * Updates the resized bounding box of a saved location
+    *
+    * @param locationId
+    * @param latitudeMinE6_Resized_Normalized
+    * @param latitudeMaxE6_Resized_Normalized
+    * @param longitudeMinE6_Resized_Normalized
+    * @param longitudeMaxE6_Resized_Normalized
+    */
+   public static void setBoundingBox(final long locationId,
+
+                                     final int latitudeMinE6_Resized_Normalized,
+                                     final int latitudeMaxE6_Resized_Normalized,
+
+                                     final int longitudeMinE6_Resized_Normalized,
+                                     final int longitudeMaxE6_Resized_Normalized) {
+
+      if (ensureIndexIsLoaded() == false) {
+         return;
+      }
+
+      final Box box = _allBoxes.get(locationId);
+
+      if (box == null) {
+         return;
+      }
+
+      add(new Box(
+
+            locationId,
+            box.zoomlevel,
+
+            latitudeMinE6_Resized_Normalized,
+            latitudeMaxE6_Resized_Normalized,
+            longitudeMinE6_Resized_Normalized,
+            longitudeMaxE6_Resized_Normalized));
+   }
+
+   /**
+    * Adds or removes the box in all cells which are overlapped by the box
+    */
+   private static void updateCells(final Box box, final boolean isAdd) {
+
+      final int level = getLevel(box);
+
+      final int latitudeCellMin = getCell(box.latitudeMinE6_Normalized, level);
+      final int latitudeCellMax = getCell(box.latitudeMaxE6_Normalized, level);
+      final int longitudeCellMin = getCell(box.longitudeMinE6_Normalized, level);
+      final int longitudeCellMax = getCell(box.longitudeMaxE6_Normalized, level);
+
+      for (int latitudeCell = latitudeCellMin; latitudeCell <= latitudeCellMax; latitudeCell++) {
+         for (int longitudeCell = longitudeCellMin; longitudeCell <= longitudeCellMax; longitudeCell++) {
+
+            _allCellBoxes.compute(getCellKey(level, latitudeCell, longitudeCell), (cellKey, allBoxes) -> {
+
+               if (isAdd) {
+
+                  return addBox(allBoxes == null ? NO_BOXES : allBoxes, box);
+
+               } else if (allBoxes != null) {
+
+                  final Box[] allNewBoxes = removeBox(allBoxes, box);
+
+                  // remove empty cells
+                  return allNewBoxes.length == 0 ? null : allNewBoxes;
+               }
+
+               return null;
+            });
+         }
+      }
+
+      if (isAdd) {
+         _numLevelBoxes.incrementAndGet(level);
+      } else {
+         _numLevelBoxes.decrementAndGet(level);
+      }
+   }
+}
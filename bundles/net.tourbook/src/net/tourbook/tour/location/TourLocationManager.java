@@ -20,18 +20,10 @@ import java.io.FileInputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
-import java.net.HttpURLConnection;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.net.http.HttpResponse.BodyHandlers;
-import java.net.http.HttpTimeoutException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -40,9 +32,13 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
-import net.tourbook.application.ApplicationVersion;
 import net.tourbook.application.TourbookPlugin;
 import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
@@ -60,7 +56,6 @@ import net.tourbook.tour.TourLogManager;
 import net.tourbook.tour.TourLogManager.AutoOpenEvent;
 import net.tourbook.tour.TourManager;
 import net.tourbook.ui.Messages;
-import net.tourbook.web.WEB;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -71,7 +66,6 @@ import org.eclipse.jface.dialogs.ProgressMonitorDialog;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.jface.window.Window;
 import org.eclipse.nebula.widgets.opal.duallist.mt.MT_DLItem;
-import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.custom.BusyIndicator;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.IMemento;
@@ -107,17 +101,46 @@ public class TourLocationManager {
    private static final String SYS_PROP__LOG_ADDRESS_RETRIEVAL = "logAddressRetrieval";                                      //$NON-NLS-1$
    private static boolean      _isLogging_AddressRetrieval     = System.getProperty(SYS_PROP__LOG_ADDRESS_RETRIEVAL) != null;
 
+   /**
+    * URL of a server with the Nominatim API which is used instead of the public OSM server, e.g.
+    * a local Nominatim installation
+    */
+   private static final String SYS_PROP__LOCATION_SERVER_URL   = "tourLocationServerUrl";                                    //$NON-NLS-1$
+   private static final String _locationServerUrl              = System.getProperty(SYS_PROP__LOCATION_SERVER_URL);
+
+   /**
+    * JSON file with Nominatim "reverse" objects which is used instead of a location server, e.g.
+    * for testing or when offline
+    */
+   private static final String SYS_PROP__LOCATION_GAZETTEER    = "tourLocationGazetteer";                                    //$NON-NLS-1$
+   private static final String _locationGazetteer              = System.getProperty(SYS_PROP__LOCATION_GAZETTEER);
+
    static {
 
       if (_isLogging_AddressRetrieval) {
          Util.logSystemProperty_IsEnabled(TourManager.class, SYS_PROP__LOG_ADDRESS_RETRIEVAL, "OSM address retrieval is logged"); //$NON-NLS-1$
       }
+
+      if (_locationServerUrl != null) {
+         Util.logSystemProperty_Value(TourLocationManager.class,
+               SYS_PROP__LOCATION_SERVER_URL,
+               _locationServerUrl,
+               "Tour locations are retrieved from this server"); //$NON-NLS-1$
+      }
+
+      if (_locationGazetteer != null) {
+         Util.logSystemProperty_Value(TourLocationManager.class,
+               SYS_PROP__LOCATION_GAZETTEER,
+               _locationGazetteer,
+               "Tour locations are retrieved from this gazetteer file"); //$NON-NLS-1$
+      }
    }
 
    private static final Bundle                    _bundle                     = TourbookPlugin.getDefault().getBundle();
    private static final IPath                     _stateLocation              = Platform.getStateLocation(_bundle);
 
    private static final String                    TOUR_LOCATION_FILE_NAME     = "tour-location.xml";                                        //$NON-NLS-1$
+   private static final String                    LOCATION_CACHE_FILE_NAME    = "tour-location-cache.txt";                                  //$NON-NLS-1$
    private static final int                       TOUR_LOCATION_VERSION       = 1;
 
    private static final String                    TAG_ROOT                    = "TourLocationProfiles";                                     //$NON-NLS-1$
@@ -139,16 +162,6 @@ public class TourLocationManager {
    private static final String                    SUB_TASK_RETRIEVE_LOCATIONS = Messages.Tour_Location_Task_RetrievingTourLocations_Subtask;
    private static final String                    SUB_TASK_NTH_OF_ALL         = "%d / %d";                                                  //$NON-NLS-1$
 
-   private static final String                    _userAgent                  = "MyTourbook/" + ApplicationVersion.getVersionSimple();      //$NON-NLS-1$
-
-   private static final HttpClient                _httpClient                 = HttpClient
-
-         .newBuilder()
-         .connectTimeout(Duration.ofSeconds(10))
-         .build();
-
-   private static final Duration                  _httpTimeoutDuration        = Duration.ofSeconds(5);
-
    private static final StringBuilder             _displayNameBuffer          = new StringBuilder();
    private static final Set<String>               _usedDisplayNames           = new HashSet<>();
 
@@ -160,7 +173,25 @@ public class TourLocationManager {
 
    private static long                            _lastRetrievalTimeMS;
 
-   private static TourLocationCache               _locationCache              = new TourLocationCache(10);
+   private static final ITourLocationProvider     _locationProvider           = createLocationProvider();
+   private static final TourLocationCache         _locationCache              = new TourLocationCache(_stateLocation.append(LOCATION_CACHE_FILE_NAME).toFile());
+
+   private static ThreadPoolExecutor              _retrieveLocation_Executor;
+
+   static {
+
+      final ThreadFactory threadFactory = runnable -> {
+
+         final Thread thread = new Thread(runnable, "Retrieving tour locations");//$NON-NLS-1$
+
+         thread.setPriority(Thread.MIN_PRIORITY);
+         thread.setDaemon(true);
+
+         return thread;
+      };
+
+      _retrieveLocation_Executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(Util.NUMBER_OF_PROCESSORS, threadFactory);
+   }
 
 // SET_FORMATTING_OFF
 
@@ -707,6 +738,24 @@ public class TourLocationManager {
       return _displayNameBuffer.toString();
    }
 
+   /**
+    * @return Returns the location provider which is selected with the system properties, default
+    *         is the public OSM Nominatim server
+    */
+   private static ITourLocationProvider createLocationProvider() {
+
+      if (_locationGazetteer != null) {
+
+         return new GazetteerLocationProvider(new File(_locationGazetteer));
+
+      } else if (_locationServerUrl != null) {
+
+         return new NominatimLocationProvider(_locationServerUrl, false);
+      }
+
+      return new NominatimLocationProvider(NominatimLocationProvider.NOMINATIM_URL, true);
+   }
+
    static String createPartName_Combined(final LocationPartID locationPart) {
 
       final String label = ALL_LOCATION_PART_AND_LABEL.get(locationPart);
@@ -991,6 +1040,12 @@ public class TourLocationManager {
 
             if (deleteTourLocations_10(allLocations, isOneAction)) {
 
+               /*
+                * Deleted locations are retrieved again from the location provider and not from
+                * the cache, the cache do not know which cells contain a deleted location
+                */
+               _locationCache.removeAll();
+
                TourManager.getInstance().clearTourDataCache();
 
                FTSearchManager.updateIndex(allTourIds);
@@ -1090,6 +1145,10 @@ public class TourLocationManager {
          }
          conn.commit();
 
+         for (final TourLocation location : allLocations) {
+            TourLocationIndex.remove(location.getLocationId());
+         }
+
          // log result
          TourLogManager.showLogView(AutoOpenEvent.DELETE_SOMETHING);
 
@@ -1237,23 +1296,57 @@ public class TourLocationManager {
          }
       }
 
-      /*
-       * Check fifo cache
-       */
-//      _locationCache.get(latitude, longitude, zoomlevel);
+      final String language = Locale.getDefault().getLanguage();
 
       /*
-       * Retrieve location
+       * Check location cache, it contains only locations from a public service, nearby positions
+       * are using the same cached location
        */
-      final TourLocationData tourLocationData = getLocationData_10_Download_Prepare(latitude, longitude, zoomlevel);
+      final boolean isPublicService = _locationProvider.isPublicService();
+      final String cellKey = TourLocationCache.getCellKey(latitude, longitude, zoomlevel, language);
+      final String cachedData = isPublicService ? _locationCache.get(cellKey) : null;
 
-      if (tourLocationData == null) {
-         return null;
+      TourLocationData tourLocationData = null;
+      OSMLocation osmLocation = null;
+
+      if (cachedData != null) {
+
+         final TourLocationData cachedLocationData = new TourLocationData(cachedData, 0, 0);
+         final OSMLocation cachedOSMLocation = getLocationData_20_DeserializeData(cachedData);
+
+         cachedLocationData.tourLocation = createTourLocation(cachedOSMLocation, latitude, longitude, zoomlevel);
+
+         /*
+          * A cell can be larger than the cached location, e.g. when the position is near a border,
+          * then the location is retrieved again
+          */
+         if (cachedLocationData.tourLocation != null
+               && isLatLonInLocation(latitude, longitude, cachedLocationData)) {
+
+            tourLocationData = cachedLocationData;
+            osmLocation = cachedOSMLocation;
+         }
       }
 
-      final OSMLocation osmLocation = getLocationData_20_DeserializeData(tourLocationData.downloadedData);
+      if (tourLocationData == null) {
 
-      tourLocationData.tourLocation = createTourLocation(osmLocation, latitude, longitude, zoomlevel);
+         /*
+          * Retrieve location
+          */
+         tourLocationData = getLocationData_10_Download_Prepare(latitude, longitude, zoomlevel, language);
+
+         if (tourLocationData == null) {
+            return null;
+         }
+
+         osmLocation = getLocationData_20_DeserializeData(tourLocationData.downloadedData);
+
+         if (isPublicService && osmLocation != null) {
+            _locationCache.put(cellKey, tourLocationData.downloadedData);
+         }
+
+         tourLocationData.tourLocation = createTourLocation(osmLocation, latitude, longitude, zoomlevel);
+      }
 
       if (_isLogging_AddressRetrieval && osmLocation != null) {
 
@@ -1283,72 +1376,53 @@ public class TourLocationManager {
     * @param latitude
     * @param longitude
     * @param zoomLevel
+    * @param language
     *
     * @return Returns <code>null</code> or {@link TourLocationData}
     */
-   private static TourLocationData getLocationData_10_Download_Prepare(final double latitude,
-                                                                       final double longitude,
-                                                                       final int zoomLevel) {
+   private static synchronized TourLocationData getLocationData_10_Download_Prepare(final double latitude,
+                                                                                    final double longitude,
+                                                                                    final int zoomLevel,
+                                                                                    final String language) {
 
-      final long now = System.currentTimeMillis();
-      long waitingTime = now - _lastRetrievalTimeMS;
+      long waitingTime = 0;
 
-      if (waitingTime < 1000) {
+      if (_locationProvider.isPublicService()) {
 
-         /*
-          * Max requests are limited to 1 per second, we have to wait
-          * https://operations.osmfoundation.org/policies/nominatim/
-          */
+         waitingTime = System.currentTimeMillis() - _lastRetrievalTimeMS;
 
-         waitingTime = 1000 - waitingTime;
+         if (waitingTime < 1000) {
 
-         try {
+            /*
+             * Max requests are limited to 1 per second, we have to wait
+             * https://operations.osmfoundation.org/policies/nominatim/
+             */
 
-            Thread.sleep(waitingTime);
+            waitingTime = 1000 - waitingTime;
 
-         } catch (final InterruptedException e) {
-            StatusUtil.showStatus(e);
-            Thread.currentThread().interrupt();
-         }
+            try {
 
-      } else {
+               Thread.sleep(waitingTime);
+
+            } catch (final InterruptedException e) {
+               StatusUtil.showStatus(e);
+               Thread.currentThread().interrupt();
+            }
 
-         // waiting time >= 1000 ms -> adjust value for log message
+         } else {
+
+            // waiting time >= 1000 ms -> adjust value for log message
 
-         waitingTime = 0;
+            waitingTime = 0;
+         }
       }
 
       final long retrievalStartTime = System.currentTimeMillis();
       _lastRetrievalTimeMS = retrievalStartTime;
 
-      final String language = Locale.getDefault().getLanguage();
-
-      final String requestUrl = UI.EMPTY_STRING
-
-            + "https://nominatim.openstreetmap.org/reverse?" //$NON-NLS-1$
-
-            + "format=json" //                     //$NON-NLS-1$
-            + "&addressdetails=1" //               //$NON-NLS-1$
-
-            + "&lat=" + latitude //                //$NON-NLS-1$
-            + "&lon=" + longitude //               //$NON-NLS-1$
-            + "&zoom=" + zoomLevel //              //$NON-NLS-1$
-
-            + "&accept-language=" + language //    //$NON-NLS-1$
-
-//          + "&polygon_text=1" //                 //$NON-NLS-1$
-//          + "&polygon_geojson=1" //              //$NON-NLS-1$
-
-//          + "&extratags=1" //                    //$NON-NLS-1$
-//          + "&namedetails=1" //                  //$NON-NLS-1$
-
-//          + "&layer=address,poi,railway,natural,manmade" //$NON-NLS-1$
-
-      ;
-
       if (_isLogging_AddressRetrieval) {
 
-         System.out.println(requestUrl);
+         System.out.println("%s - lat=%f lon=%f zoom=%d".formatted(_locationProvider, latitude, longitude, zoomLevel)); //$NON-NLS-1$
       }
 
       final String[] downloadedData = { null };
@@ -1357,13 +1431,13 @@ public class TourLocationManager {
 
          // this code is running not in the display thread, potentially in the progress thread
 
-         getLocationData_15_Download_HttpRequest(requestUrl, downloadedData);
+         downloadedData[0] = _locationProvider.retrieveLocation(latitude, longitude, zoomLevel, language);
 
       } else {
 
          BusyIndicator.showWhile(Display.getDefault(), () -> {
 
-            getLocationData_15_Download_HttpRequest(requestUrl, downloadedData);
+            downloadedData[0] = _locationProvider.retrieveLocation(latitude, longitude, zoomLevel, language);
          });
       }
 
@@ -1377,46 +1451,6 @@ public class TourLocationManager {
       return new TourLocationData(downloadedData[0], retrievalDuration, waitingTime);
    }
 
-   private static void getLocationData_15_Download_HttpRequest(final String requestUrl, final String[] downloadedData) {
-
-      try {
-
-         final HttpRequest request = HttpRequest
-               .newBuilder(URI.create(requestUrl))
-               .header(WEB.HTTP_HEADER_USER_AGENT, _userAgent)
-               .timeout(_httpTimeoutDuration)
-               .GET()
-               .build();
-
-         final HttpResponse<String> response = _httpClient.send(request, BodyHandlers.ofString());
-
-         downloadedData[0] = response.body();
-
-         if (response.statusCode() != HttpURLConnection.HTTP_OK) {
-
-            logError(downloadedData[0]);
-
-            downloadedData[0] = null;
-         }
-
-      } catch (final HttpTimeoutException ex) {
-
-         StatusUtil.showStatus(requestUrl, ex);
-
-         logException(requestUrl, ex);
-
-         downloadedData[0] = null;
-
-      } catch (final Exception ex) {
-
-         logException(requestUrl, ex);
-
-//       Thread.currentThread().interrupt();
-
-         downloadedData[0] = null;
-      }
-   }
-
    private static OSMLocation getLocationData_20_DeserializeData(final String osmLocationString) {
 
       OSMLocation osmLocation = null;
@@ -1437,6 +1471,40 @@ public class TourLocationManager {
       return osmLocation;
    }
 
+   /**
+    * Retrieve location data from the existing location, the saved locations or the coalesced
+    * requests of the current batch.
+    * <p>
+    * This can be called concurrently.
+    *
+    * @param latitude
+    * @param longitude
+    * @param existingLocationData
+    * @param zoomlevel
+    * @param coalescer
+    *
+    * @return Returns {@link TourLocationData} or <code>null</code> when it could not be retrieved
+    */
+   private static TourLocationData getLocationData_30_Concurrent(final double latitude,
+                                                                 final double longitude,
+                                                                 final TourLocationData existingLocationData,
+                                                                 final int zoomlevel,
+                                                                 final TourLocationCoalescer coalescer) {
+
+      if (isLatLonInLocation(latitude, longitude, existingLocationData)) {
+         return existingLocationData;
+      }
+
+      // saved locations are searched without locking the database
+      final TourLocation dbTourLocation = TourDatabase.getTourLocation(latitude, longitude, zoomlevel);
+
+      if (dbTourLocation != null) {
+         return new TourLocationData(dbTourLocation);
+      }
+
+      return coalescer.getLocationData(latitude, longitude);
+   }
+
    /**
     * @param profileName
     *
@@ -1654,9 +1722,9 @@ public class TourLocationManager {
       return 0;
    }
 
-   private static boolean isLatLonInLocation(final double latitude,
-                                             final double longitude,
-                                             final TourLocationData existingLocationData) {
+   static boolean isLatLonInLocation(final double latitude,
+                                     final double longitude,
+                                     final TourLocationData existingLocationData) {
 
       if (existingLocationData == null) {
          return false;
@@ -1824,18 +1892,6 @@ public class TourLocationManager {
       }
    }
 
-   private static void logError(final String exceptionMessage) {
-
-      TourLogManager.log_ERROR(NLS.bind(
-            "Error while retrieving tour location data: \"{1}\"", //$NON-NLS-1$
-            exceptionMessage));
-   }
-
-   private static void logException(final String requestUrl, final Exception ex) {
-
-      TourLogManager.log_EXCEPTION_WithStacktrace("Error while retrieving tour location data: " + requestUrl + NL, ex); //$NON-NLS-1$
-   }
-
    public static void removeTourLocations(final List<TourData> requestedTours,
                                           final boolean isSetStartLocation,
                                           final boolean isSetEndLocation,
@@ -2136,6 +2192,8 @@ public class TourLocationManager {
 
          sqlUpdate.executeUpdate();
 
+         TourLocationIndex.setBoundingBox(locationId, latitudeMinE6, latitudeMaxE6, longitudeMinE6, longitudeMaxE6);
+
       } catch (final SQLException e) {
 
          UI.showSQLException(e);
@@ -2338,7 +2396,6 @@ public class TourLocationManager {
 
                final int numTours = allRequestedTours.size();
                final int numRequests = numTours * (isSetStartLocation && isSetEndLocation ? 2 : 1);
-               int numWorked = 0;
 
                final String taskMessage = isSaveTour
                      ? Messages.Tour_Location_Task_RetrieveAndSaveTourLocations
@@ -2346,40 +2403,58 @@ public class TourLocationManager {
 
                monitor.beginTask(taskMessage.formatted(numRequests), numRequests);
 
-               for (final TourData tourData : allRequestedTours) {
+               /*
+                * Retrieve locations concurrently
+                */
+               final TourLocationData[] allStartLocationData = new TourLocationData[numTours];
+               final TourLocationData[] allEndLocationData = new TourLocationData[numTours];
 
-                  if (monitor.isCanceled()) {
-                     break;
+               final boolean[] allIsRetrieved = setTourLocations_10_RetrieveConcurrent(
+
+                     allRequestedTours,
+                     locationProfile.getZoomlevel(),
+
+                     isSetStartLocation,
+                     isSetEndLocation,
+                     isOneAction,
+
+                     allStartLocationData,
+                     allEndLocationData,
+
+                     numRequests,
+                     monitor);
+
+               /*
+                * Apply locations, this is done sequentially because the display name is created
+                * with a shared buffer and saving a tour can update the tour editor
+                */
+               for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+                  if (allIsRetrieved[tourIndex] == false) {
+
+                     // retrieval was canceled
+
+                     continue;
                   }
 
+                  final TourData tourData = allRequestedTours.get(tourIndex);
+
                   final double[] latitudeSerie = tourData.latitudeSerie;
-                  final double[] longitudeSerie = tourData.longitudeSerie;
 
                   if (latitudeSerie == null || latitudeSerie.length == 0) {
 
                      // needed data are not available
 
-                     numWorked++;
-                     numWorked++;
-
-                     monitor.worked(2);
-                     monitor.subTask(SUB_TASK_NTH_OF_ALL.formatted(numWorked, numRequests));
-
                      continue;
                   }
 
                   boolean isModified = false;
-                  long waitingTime;
 
                   /*
                    * Start location
                    */
-                  TourLocationData startLocationData = null;
-
                   if (isSetStartLocation) {
 
-                     waitingTime = 0;
-
                      if (isOneAction) {
 
                         // overwrite location text, but only when an applied name is available
@@ -2396,16 +2471,10 @@ public class TourLocationManager {
                      TourLocation tourLocationStart = tourData.getTourLocationStart();
                      if (tourLocationStart == null) {
 
-                        startLocationData = getLocationData(
-
-                              latitudeSerie[0],
-                              longitudeSerie[0],
-                              null,
-                              locationProfile.getZoomlevel());
+                        final TourLocationData startLocationData = allStartLocationData[tourIndex];
 
                         if (startLocationData != null) {
 
-                           waitingTime = startLocationData.waitingTime;
                            tourLocationStart = startLocationData.tourLocation;
 
                            appliedName = tourLocationStart.appliedName;
@@ -2432,9 +2501,6 @@ public class TourLocationManager {
 
                         isModified = true;
                      }
-
-                     monitor.worked(1);
-                     monitor.subTask(SUB_TASK_RETRIEVE_LOCATIONS.formatted(++numWorked, numRequests, waitingTime));
                   }
 
                   /*
@@ -2442,8 +2508,6 @@ public class TourLocationManager {
                    */
                   if (isSetEndLocation) {
 
-                     waitingTime = 0;
-
                      if (isOneAction) {
 
                         // overwrite location text, but only when an applied name is available
@@ -2460,19 +2524,10 @@ public class TourLocationManager {
                      TourLocation tourLocationEnd = tourData.getTourLocationEnd();
                      if (tourLocationEnd == null) {
 
-                        final int lastIndex = latitudeSerie.length - 1;
-
-                        final TourLocationData endLocationData = getLocationData(
-
-                              latitudeSerie[lastIndex],
-                              longitudeSerie[lastIndex],
-
-                              startLocationData,
-                              locationProfile.getZoomlevel());
+                        final TourLocationData endLocationData = allEndLocationData[tourIndex];
 
                         if (endLocationData != null) {
 
-                           waitingTime = endLocationData.waitingTime;
                            tourLocationEnd = endLocationData.tourLocation;
 
                            appliedName = tourLocationEnd.appliedName;
@@ -2499,9 +2554,6 @@ public class TourLocationManager {
 
                         isModified = true;
                      }
-
-                     monitor.worked(1);
-                     monitor.subTask(SUB_TASK_RETRIEVE_LOCATIONS.formatted(++numWorked, numRequests, waitingTime));
                   }
 
                   if (isModified) {
@@ -2547,6 +2599,135 @@ public class TourLocationManager {
       }
    }
 
+   /**
+    * Retrieve start/end locations of all tours concurrently, the tours are not modified.
+    *
+    * @return Returns for each tour <code>true</code> when the locations are retrieved,
+    *         <code>false</code> when the retrieval was canceled
+    *
+    * @throws InterruptedException
+    */
+   private static boolean[] setTourLocations_10_RetrieveConcurrent(final List<TourData> allRequestedTours,
+                                                                   final int zoomlevel,
+
+                                                                   final boolean isSetStartLocation,
+                                                                   final boolean isSetEndLocation,
+                                                                   final boolean isOneAction,
+
+                                                                   final TourLocationData[] allStartLocationData,
+                                                                   final TourLocationData[] allEndLocationData,
+
+                                                                   final int numRequests,
+                                                                   final IProgressMonitor monitor) throws InterruptedException {
+
+      final int numTours = allRequestedTours.size();
+
+      final boolean[] allIsRetrieved = new boolean[numTours];
+      final TourLocationCoalescer coalescer = new TourLocationCoalescer(zoomlevel);
+
+      final AtomicInteger numWorked = new AtomicInteger();
+      final CountDownLatch countDownLatch = new CountDownLatch(numTours);
+
+      for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
+
+         final int tourIndexFinal = tourIndex;
+         final TourData tourData = allRequestedTours.get(tourIndex);
+
+         _retrieveLocation_Executor.submit(() -> {
+
+            try {
+
+               if (monitor.isCanceled()) {
+                  return;
+               }
+
+               final double[] latitudeSerie = tourData.latitudeSerie;
+               final double[] longitudeSerie = tourData.longitudeSerie;
+
+               if (latitudeSerie == null || latitudeSerie.length == 0) {
+
+                  // needed data are not available
+
+                  allIsRetrieved[tourIndexFinal] = true;
+
+                  monitor.worked(2);
+                  monitor.subTask(SUB_TASK_NTH_OF_ALL.formatted(numWorked.addAndGet(2), numRequests));
+
+                  return;
+               }
+
+               TourLocationData startLocationData = null;
+
+               if (isSetStartLocation) {
+
+                  long waitingTime = 0;
+
+                  // with one action the existing location is replaced
+                  if (isOneAction || tourData.getTourLocationStart() == null) {
+
+                     startLocationData = getLocationData_30_Concurrent(
+
+                           latitudeSerie[0],
+                           longitudeSerie[0],
+                           null,
+                           zoomlevel,
+                           coalescer);
+
+                     if (startLocationData != null) {
+
+                        waitingTime = startLocationData.waitingTime;
+
+                        allStartLocationData[tourIndexFinal] = startLocationData;
+                     }
+                  }
+
+                  monitor.worked(1);
+                  monitor.subTask(SUB_TASK_RETRIEVE_LOCATIONS.formatted(numWorked.incrementAndGet(), numRequests, waitingTime));
+               }
+
+               if (isSetEndLocation) {
+
+                  long waitingTime = 0;
+
+                  if (isOneAction || tourData.getTourLocationEnd() == null) {
+
+                     final int lastIndex = latitudeSerie.length - 1;
+
+                     final TourLocationData endLocationData = getLocationData_30_Concurrent(
+
+                           latitudeSerie[lastIndex],
+                           longitudeSerie[lastIndex],
+                           startLocationData,
+                           zoomlevel,
+                           coalescer);
+
+                     if (endLocationData != null) {
+
+                        waitingTime = endLocationData.waitingTime;
+
+                        allEndLocationData[tourIndexFinal] = endLocationData;
+                     }
+                  }
+
+                  monitor.worked(1);
+                  monitor.subTask(SUB_TASK_RETRIEVE_LOCATIONS.formatted(numWorked.incrementAndGet(), numRequests, waitingTime));
+               }
+
+               allIsRetrieved[tourIndexFinal] = true;
+
+            } finally {
+
+               countDownLatch.countDown();
+            }
+         });
+      }
+
+      // wait until all locations are retrieved
+      countDownLatch.await();
+
+      return allIsRetrieved;
+   }
+
    private static String validString(final String stringValue) {
 
       if (stringValue == null) {
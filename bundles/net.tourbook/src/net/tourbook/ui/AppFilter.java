@@ -273,6 +273,20 @@ public class AppFilter {
       return _sqlWhereClause;
    }
 
+   /**
+    * @return Returns <code>true</code> when {@link #ANY_APP_FILTERS} are filtering tours only by the
+    *         person and tour type, then the same tours are selected with
+    *         <code>new AppFilter(AppFilterType.Person, AppFilterType.TourType)</code>
+    */
+   public static boolean isPersonAndTourTypeFilterOnly() {
+
+      return TourbookPlugin.getActivePhotoFilter() == false
+            && TourFilterManager.getSQL() == null
+            && TourGeoFilter_Manager.getSQL() == null
+            && TourTagFilterManager.isFilterEnabled() == false
+            && TourEquipmentFilterManager.isFilterEnabled() == false;
+   }
+
    /**
     * Sets the app filter parameters into the filter statement.
     *
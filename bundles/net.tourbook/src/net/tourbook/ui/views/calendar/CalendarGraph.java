@@ -1069,6 +1069,9 @@ public class CalendarGraph extends Canvas implements ITourProviderAll {
 
       _calendarView.updateUI_Title(_calendarFirstDay, _calendarLastDay);
 
+      // load all visible days and weeks with one query before they are painted
+      _dataProvider.loadVisibleRange(_calendarFirstDay, _calendarLastDay);
+
       for (int columnIndex = 0; columnIndex < _numYearColumns; columnIndex++) {
 
          _nextWeekDateYPos = 0;
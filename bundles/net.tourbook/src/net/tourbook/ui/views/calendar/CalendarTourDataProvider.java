@@ -21,18 +21,21 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.WeekFields;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicLong;
 
 import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
+import net.tourbook.common.util.LRUMap;
 import net.tourbook.common.util.SQL;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.data.TourData;
@@ -40,18 +43,30 @@ import net.tourbook.data.TourType;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.ui.AppFilter;
 
-import org.eclipse.collections.impl.list.mutable.primitive.FloatArrayList;
-
+/**
+ * Provides the day and week data for the {@link CalendarGraph}.
+ * <p>
+ * The data are cached by year, only the least recently used years are kept in the cache. The data
+ * of the visible page are loaded with one range query for the days and one range query for the
+ * weeks, the adjacent page in the scroll direction is prefetched in the background.
+ */
 class CalendarTourDataProvider {
 
-   private static final char                            NL                = UI.NEW_LINE;
+   private static final char                 NL                 = UI.NEW_LINE;
+
+   /**
+    * Min number of years which are kept in the cache, more years are kept when more years are
+    * visible
+    */
+   private static final int                  MIN_CACHED_YEARS   = 10;
+
+   private static final CalendarTourData[]   EMPTY_DAY_DATA     = new CalendarTourData[0];
 
-   private static CalendarTourDataProvider              _instance;
+   private static CalendarTourDataProvider   _instance;
 
-   private static final AtomicLong                      _weekExecuterId   = new AtomicLong();
-   private static final LinkedBlockingDeque<WeekLoader> _weekWaitingQueue = new LinkedBlockingDeque<>();
+   private static final AtomicLong           _loadingExecuterId = new AtomicLong();
 
-   private static ThreadPoolExecutor                    _weekLoadingExecutor;
+   private static ThreadPoolExecutor         _loadingExecutor;
    static {
 
       final ThreadFactory threadFactoryFolder = runnable -> {
@@ -64,16 +79,30 @@ class CalendarTourDataProvider {
          return thread;
       };
 
-      _weekLoadingExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(10, threadFactoryFolder);
+      /*
+       * 2 threads are enough because a whole page is loaded with one query, one thread can load
+       * the visible weeks while the other thread is prefetching the next page
+       */
+      _loadingExecutor = (ThreadPoolExecutor) Executors.newFixedThreadPool(2, threadFactoryFolder);
    }
 
-   private CalendarGraph                            _calendarGraph;
+   private CalendarGraph                           _calendarGraph;
 
-   private HashMap<Integer, CalendarTourData[][][]> _dayCache  = new HashMap<>();
-   private HashMap<Integer, CalendarTourData[]>     _weekCache = new HashMap<>();
+   private int                                     _maxCachedYears = MIN_CACHED_YEARS;
 
-   private LocalDateTime                            _firstTourDateTime;
-   private Long                                     _firstTourId;
+   private LRUMap<Integer, CalendarTourData[][][]> _dayCache       = new LRUMap<>(MIN_CACHED_YEARS);
+   private LRUMap<Integer, CalendarTourData[]>     _weekCache      = new LRUMap<>(MIN_CACHED_YEARS);
+
+   private LocalDate                               _visibleFirstDay;
+   private LocalDate                               _visibleLastDay;
+
+   /**
+    * 1 = forward, -1 = backward, 0 = the scroll direction is not yet known
+    */
+   private int                                     _scrollDirection;
+
+   private LocalDateTime                           _firstTourDateTime;
+   private Long                                    _firstTourId;
 
    private CalendarTourDataProvider() {
       invalidate();
@@ -88,32 +117,120 @@ class CalendarTourDataProvider {
       return _instance;
    }
 
-   CalendarTourData[] getCalendarDayData(final LocalDate currentDate) {
+   /**
+    * Creates a week loader for all weeks in the range which are not yet loaded or queued, the
+    * week data of these weeks are put into the cache with the state
+    * {@link LoadingState#IS_QUEUED}
+    *
+    * @param firstDay
+    * @param lastDay
+    *
+    * @return Returns <code>null</code> when all weeks are already loaded or queued
+    */
+   private synchronized WeekLoader createWeekLoader(final LocalDate firstDay, final LocalDate lastDay) {
 
-      final int year = currentDate.getYear();
-      final int month = currentDate.getMonthValue();
-      final int day = currentDate.getDayOfMonth();
+      final WeekFields cw = TimeTools.calendarWeek;
 
-      if (!_dayCache.containsKey(year)) {
+      final LocalDate firstWeek1stDay = firstDay.with(cw.dayOfWeek(), 1);
+      final LocalDate lastWeek1stDay = lastDay.with(cw.dayOfWeek(), 1);
 
-         // create year data
-         _dayCache.put(year, new CalendarTourData[12][][]);
+      final Map<Integer, CalendarTourData> allWeekData = new HashMap<>();
+
+      for (LocalDate week1stDay = firstWeek1stDay; !week1stDay.isAfter(lastWeek1stDay); week1stDay = week1stDay.plusWeeks(1)) {
+
+         final int year = week1stDay.get(cw.weekBasedYear());
+         final int week = week1stDay.get(cw.weekOfWeekBasedYear());
+
+         /*
+          * Create year, weeks are from 1..53; we simply leave array index 0 unused (yes, a year
+          * can have more than 52 weeks)
+          */
+         final CalendarTourData[] yearData = _weekCache.computeIfAbsent(year, key -> new CalendarTourData[54]);
+
+         final CalendarTourData cachedWeekData = yearData[week];
+
+         if (cachedWeekData == null || cachedWeekData.loadingState == LoadingState.NOT_LOADED) {
+
+            final CalendarTourData weekData = new CalendarTourData();
+
+            weekData.loadingState = LoadingState.IS_QUEUED;
+            weekData.year = year;
+            weekData.week = week;
+
+            // update cached data otherwise an endless loop occurs !!!
+            yearData[week] = weekData;
+
+            allWeekData.put(getWeekKey(year, week), weekData);
+         }
       }
 
-      CalendarTourData[][] monthData = _dayCache.get(year)[month - 1];
+      if (allWeekData.isEmpty()) {
+         return null;
+      }
+
+      return new WeekLoader(firstWeek1stDay, lastWeek1stDay, allWeekData, _loadingExecuterId.get());
+   }
+
+   /**
+    * Ensures that the cache can keep the visible years and the years of both adjacent pages,
+    * otherwise the visible data would be evicted while the calendar is painted
+    *
+    * @param numYears
+    */
+   private void ensureCacheSize(final int numYears) {
+
+      if (numYears <= _maxCachedYears) {
+         return;
+      }
+
+      _maxCachedYears = numYears;
+
+      final LRUMap<Integer, CalendarTourData[][][]> dayCache = new LRUMap<>(numYears);
+      final LRUMap<Integer, CalendarTourData[]> weekCache = new LRUMap<>(numYears);
+
+      dayCache.putAll(_dayCache);
+      weekCache.putAll(_weekCache);
+
+      _dayCache = dayCache;
+      _weekCache = weekCache;
+   }
+
+   private synchronized CalendarTourData[][] getCachedMonth(final YearMonth yearMonth) {
+
+      final CalendarTourData[][][] yearData = _dayCache.get(yearMonth.getYear());
+
+      return yearData == null
+            ? null
+            : yearData[yearMonth.getMonthValue() - 1];
+   }
+
+   private synchronized CalendarTourData getCachedWeek(final int year, final int week) {
+
+      final CalendarTourData[] yearData = _weekCache.get(year);
+
+      return yearData == null
+            ? null
+            : yearData[week];
+   }
+
+   CalendarTourData[] getCalendarDayData(final LocalDate currentDate) {
+
+      final YearMonth yearMonth = YearMonth.from(currentDate);
+
+      CalendarTourData[][] monthData = getCachedMonth(yearMonth);
 
       if (monthData == null) {
 
-         // load month data
+         // month is not loaded with the visible range, e.g. when it was invalidated while painting
 
-         final CalendarTourData[][] loadedMonthData = loadFromDb_Month(year, month);
+         final Map<YearMonth, CalendarTourData[][]> allLoadedMonths = loadFromDb_Months(yearMonth, yearMonth);
 
-         _dayCache.get(year)[month - 1] = loadedMonthData;
+         putCachedMonths(allLoadedMonths, _loadingExecuterId.get());
 
-         monthData = loadedMonthData;
+         monthData = allLoadedMonths.get(yearMonth);
       }
 
-      final CalendarTourData[] dayData = monthData[day - 1];
+      final CalendarTourData[] dayData = monthData[currentDate.getDayOfMonth() - 1];
 
       return dayData;
 
@@ -170,68 +287,20 @@ class CalendarTourDataProvider {
       final int year = week1stDay.get(cw.weekBasedYear());
       final int week = week1stDay.get(cw.weekOfWeekBasedYear());
 
-      if (!_weekCache.containsKey(year)) {
-
-         /*
-          * Create year, weeks are from 1..53; we simply leave array index 0 unused (yes, a year
-          * can have more than 52 weeks)
-          */
-         _weekCache.put(year, new CalendarTourData[54]);
-      }
-
-      CalendarTourData weekData;
-
-      final CalendarTourData cachedWeekData = _weekCache.get(year)[week];
+      CalendarTourData weekData = getCachedWeek(year, week);
 
-      if (cachedWeekData == null) {
+      if (weekData == null || weekData.loadingState == LoadingState.NOT_LOADED) {
 
-         weekData = getCalendarWeekSummaryData_FromDb(week1stDay, year, week);
+         // week is not loaded with the visible range, load it again
 
-         _weekCache.get(year)[week] = weekData;
+         final WeekLoader weekLoader = createWeekLoader(week1stDay, week1stDay);
 
-      } else if (cachedWeekData.loadingState == LoadingState.NOT_LOADED) {
-
-         // load again
-
-         weekData = getCalendarWeekSummaryData_FromDb(week1stDay, year, week);
-
-         // update cached data otherwise an endless loop occurs !!!
-         _weekCache.get(year)[week] = weekData;
-
-      } else {
-
-         weekData = cachedWeekData;
-      }
-
-      return weekData;
-
-   }
-
-   private CalendarTourData getCalendarWeekSummaryData_FromDb(final LocalDate week1stDay,
-                                                              final int year,
-                                                              final int week) {
-
-      final CalendarTourData weekData = new CalendarTourData();
-
-      weekData.loadingState = LoadingState.IS_QUEUED;
-
-      _weekWaitingQueue.add(new WeekLoader(week1stDay, year, week, weekData, _weekExecuterId.get()));
-
-      final Runnable executorTask = () -> {
-
-         // get last added loader item
-         final WeekLoader weekLoader = _weekWaitingQueue.pollFirst();
-
-         if (weekLoader == null) {
-            return;
-         }
-
-         if (loadFromDB_Week(weekLoader)) {
-            _calendarGraph.updateUI_AfterDataLoading();
+         if (weekLoader != null) {
+            _loadingExecutor.submit(() -> loadFromDB_Weeks_AndUpdateUI(weekLoader));
          }
-      };
 
-      _weekLoadingExecutor.submit(executorTask);
+         weekData = getCachedWeek(year, week);
+      }
 
       return weekData;
 
@@ -361,12 +430,23 @@ class CalendarTourDataProvider {
       return todayTourId;
    }
 
+   /**
+    * @param year
+    * @param week
+    *
+    * @return Returns a key which is sorted by the year and week
+    */
+   static int getWeekKey(final int year, final int week) {
+
+      return year * 100 + week;
+   }
+
    synchronized void invalidate() {
 
       // reset all cached data
 
-      // stop week downloader
-      _weekExecuterId.incrementAndGet();
+      // stop week downloader and prefetching
+      _loadingExecuterId.incrementAndGet();
 
       _dayCache.clear();
       _weekCache.clear();
@@ -376,64 +456,68 @@ class CalendarTourDataProvider {
    }
 
    /**
-    * Retrieve data for 1 month from the database
+    * @param firstDay
+    * @param lastDay
     *
-    * @param year
-    * @param month
-    * @param day
-    *
-    * @return CalendarTourData
+    * @return Returns <code>true</code> when the range overlaps the visible range or one of the
+    *         adjacent pages, otherwise prefetching this range is not needed any more
     */
-   private CalendarTourData[][] loadFromDb_Month(final int year, final int month) {
+   private synchronized boolean isNearVisibleRange(final LocalDate firstDay, final LocalDate lastDay) {
 
-//      final long start = System.currentTimeMillis();
+      if (_visibleFirstDay == null) {
+         return false;
+      }
 
-      CalendarTourData[][] monthData = null;
-      CalendarTourData[] dayData = null;
+      final long numPageDays = ChronoUnit.DAYS.between(_visibleFirstDay, _visibleLastDay) + 1;
 
-      String sql = null;
+      return lastDay.isBefore(_visibleFirstDay.minusDays(numPageDays)) == false
+            && firstDay.isAfter(_visibleLastDay.plusDays(numPageDays)) == false;
+   }
 
-      try (Connection conn = TourDatabase.getInstance().getConnection()) {
+   private synchronized boolean isVisibleRange(final LocalDate firstDay, final LocalDate lastDay) {
 
-         final int colorOffset = 1;
+      if (_visibleFirstDay == null) {
+         return false;
+      }
 
-// SET_FORMATTING_OFF
+      return lastDay.isBefore(_visibleFirstDay) == false
+            && firstDay.isAfter(_visibleLastDay) == false;
+   }
 
-         final ArrayList<TourType> allTourTypeList       = TourDatabase.getAllTourTypes();
-         final TourType[] allTourTypes                   = allTourTypeList.toArray(new TourType[allTourTypeList.size()]);
+   /**
+    * Retrieve the data for all days in the month range from the database with one query
+    *
+    * @param firstMonth
+    * @param lastMonth
+    *
+    * @return Returns the day data of all months in the range, a day without tours contains an
+    *         empty array
+    */
+   private Map<YearMonth, CalendarTourData[][]> loadFromDb_Months(final YearMonth firstMonth, final YearMonth lastMonth) {
 
-         final List<String> allTourTitle                 = new ArrayList<>();
-         final List<String> allTourDescription           = new ArrayList<>();
+//      final long start = System.currentTimeMillis();
 
-         final List<Integer> allTourYear                 = new ArrayList<>();
-         final List<Integer> allTourMonth                = new ArrayList<>();
-         final List<Integer> allTourDay                  = new ArrayList<>();
+      final Map<YearMonth, CalendarTourData[][]> allMonthData = new HashMap<>();
 
-         final List<Integer> allTourStartTime            = new ArrayList<>();
-         final List<Integer> allTourEndTime              = new ArrayList<>();
-         final List<Integer> allTourStartWeek            = new ArrayList<>();
+      for (YearMonth yearMonth = firstMonth; yearMonth.isAfter(lastMonth) == false; yearMonth = yearMonth.plusMonths(1)) {
 
-         final List<Integer> allDistance                 = new ArrayList<>();
-         final List<Integer> allElevationGain            = new ArrayList<>();
-         final List<Integer> allElevationLoss            = new ArrayList<>();
-         final List<Integer> allTourElapsedTime          = new ArrayList<>();
-         final List<Integer> allTourDeviceTime_Recorded  = new ArrayList<>();
-         final List<Integer> allTourMovingTime           = new ArrayList<>();
+         final CalendarTourData[][] monthData = new CalendarTourData[31][];
 
-         final List<String> allTourWeatherClouds         = new ArrayList<>();
+         for (int dayIndex = 0; dayIndex < 31; dayIndex++) {
+            monthData[dayIndex] = EMPTY_DAY_DATA;
+         }
 
-         final List<Integer> allCalories                 = new ArrayList<>();
-         final FloatArrayList allPowerAvg                = new FloatArrayList();
-         final FloatArrayList allPulseAvg                = new FloatArrayList();
+         allMonthData.put(yearMonth, monthData);
+      }
 
-         final List<Long> allTypeIds                     = new ArrayList<>();
-         final List<Integer> allTypeColorIndex           = new ArrayList<>();
+      String sql = null;
 
-         List<Long> allTourIDs                           = new ArrayList<>();
+      try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
-         final ArrayList<Boolean> allIsManualTour        = new ArrayList<>();
+         final int colorOffset = 1;
 
-// SET_FORMATTING_ON
+         final ArrayList<TourType> allTourTypeList = TourDatabase.getAllTourTypes();
+         final TourType[] allTourTypes = allTourTypeList.toArray(new TourType[allTourTypeList.size()]);
 
          final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
 
@@ -466,9 +550,8 @@ class CalendarTourDataProvider {
 
                + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //      //$NON-NLS-1$
 
-               + "WHERE  StartYear  = ?" + NL //                     //$NON-NLS-1$
-               + "   AND StartMonth = ?" + NL //                     //$NON-NLS-1$
-               + "   AND StartDay   = ?" + NL //                     //$NON-NLS-1$
+               + "WHERE  StartYear BETWEEN ? AND ?" + NL //                      //$NON-NLS-1$
+               + "   AND StartYear * 100 + StartMonth BETWEEN ? AND ?" + NL //   //$NON-NLS-1$
 
                + appFilter.getWhereClause()
 
@@ -478,275 +561,215 @@ class CalendarTourDataProvider {
 
          int nextIndex = 1;
 
-         prepStmt.setInt(nextIndex++, year);
-         prepStmt.setInt(nextIndex++, month);
-
-         final int dayParamIndex = nextIndex++;
+         prepStmt.setInt(nextIndex++, firstMonth.getYear());
+         prepStmt.setInt(nextIndex++, lastMonth.getYear());
+         prepStmt.setInt(nextIndex++, firstMonth.getYear() * 100 + firstMonth.getMonthValue());
+         prepStmt.setInt(nextIndex++, lastMonth.getYear() * 100 + lastMonth.getMonthValue());
 
          nextIndex = appFilter.setParameters(prepStmt, nextIndex);
 
-         monthData = new CalendarTourData[31][];
-
-         for (int day = 0; day < 31; day++) {
-
-            prepStmt.setInt(dayParamIndex, day + 1);
-
-            final ResultSet result = prepStmt.executeQuery();
+         final ResultSet result = prepStmt.executeQuery();
 
-            boolean firstTourOfDay = true;
-            allTourIDs = new ArrayList<>();
+         final List<CalendarTourData> allDayTours = new ArrayList<>();
+         LocalDate dayDate = null;
 
-            // loop: all tours of this day
-            while (result.next()) {
+         // loop: all tours of all months, they are sorted by date
+         while (result.next()) {
 
-               if (firstTourOfDay) {
+            final CalendarTourData data = new CalendarTourData();
 
 // SET_FORMATTING_OFF
 
-                  allTourTitle                  .clear();
-                  allTourDescription            .clear();
-
-                  allTourYear                   .clear();
-                  allTourMonth                  .clear();
-                  allTourDay                    .clear();
-
-                  allTourStartTime              .clear();
-                  allTourEndTime                .clear();
-                  allTourStartWeek              .clear();
-
-                  allDistance                   .clear();
-                  allElevationGain              .clear();
-                  allElevationLoss              .clear();
-                  allTourElapsedTime            .clear();
-                  allTourDeviceTime_Recorded    .clear();
-                  allTourMovingTime             .clear();
-
-                  allTourWeatherClouds          .clear();
-
-                  allCalories                   .clear();
-                  allPowerAvg                   .clear();
-                  allPulseAvg                   .clear();
+            final int tourYear         = result.getShort(2);
+            final int tourMonth        = result.getShort(3);
+            final int tourDay          = result.getShort(4);
+            final int startHour        = result.getShort(5);
+            final int startMinute      = result.getShort(6);
+            final int startTime        = startHour * 3600 + startMinute * 60;
 
-                  allTypeIds                    .clear();
-                  allTypeColorIndex             .clear();
+            final int elapsedTime      = result.getInt(9);
 
-                  allIsManualTour               .clear();
+            final String description   = result.getString(13);
 
-// SET_FORMATTING_ON
+            // is manual tour
+            final String devicePluginId = result.getString(15);
+            final boolean isManualTour = TourData.DEVICE_ID_FOR_MANUAL_TOUR.equals(devicePluginId)
+                  || TourData.DEVICE_ID_CSV_TOUR_DATA_READER.equals(devicePluginId);
 
-                  firstTourOfDay = false;
-               }
+            data.tourId          = result.getLong(1);
 
-// SET_FORMATTING_OFF
+            data.year            = tourYear;
+            data.month           = tourMonth - 1;
+            data.day             = tourDay;
+            data.week            = result.getInt(14);
 
-               allTourIDs                 .add(result.getLong(1));
+            data.startTime       = startTime;
+            data.endTime         = startTime + elapsedTime;
 
-               final int tourYear         = result.getShort(2);
-               final int tourMonth        = result.getShort(3) - 1;
-               final int tourDay          = result.getShort(4);
-               final int startHour        = result.getShort(5);
-               final int startMinute      = result.getShort(6);
-               final int startTime        = startHour * 3600 + startMinute * 60;
+            data.distance        = result.getInt(7);
+            data.elevationGain   = result.getInt(8);
+            data.elevationLoss   = result.getInt(17);
 
-               final int elapsedTime      = result.getInt(9);
-               final int recordedTime     = result.getInt(20);
+            data.elapsedTime     = elapsedTime;
+            data.recordedTime    = result.getInt(20);
+            data.movingTime      = result.getInt(10);
 
-               allTourYear                .add(tourYear);
-               allTourMonth               .add(tourMonth);
-               allTourDay                 .add(tourDay);
+            data.calories        = result.getInt(16);
+            data.power_Avg       = result.getFloat(19);
+            data.pulse_Avg       = result.getFloat(18);
 
-               allTourStartTime           .add(startTime);
-               allTourEndTime             .add((startTime + elapsedTime));
+            data.tourTitle       = result.getString(11);
+            data.tourDescription = description == null ? UI.EMPTY_STRING : description;
 
-               allDistance                .add(result.getInt(7));
-               allElevationGain           .add(result.getInt(8));
+            data.weatherClouds   = result.getString(21);
 
-               allTourElapsedTime         .add(elapsedTime);
-               allTourDeviceTime_Recorded .add(recordedTime);
-               allTourMovingTime          .add(result.getInt(10));
+            final LocalDate tourDate = LocalDate.of(tourYear, tourMonth, tourDay);
+            data.tourDate        = tourDate;
+            data.dayOfWeek       = tourDate.getDayOfWeek().getValue();
 
-               allTourTitle               .add(result.getString(11));
+            data.isManualTour    = isManualTour;
 
-               final String description = result.getString(13);
-               allTourDescription         .add(description == null ? UI.EMPTY_STRING : description);
+            if (UI.IS_SCRAMBLE_DATA) {
 
-               allTourStartWeek           .add(result.getInt(14));
+               data.tourTitle       = UI.scrambleText(data.tourTitle);
+               data.tourDescription = UI.scrambleText(data.tourDescription);
 
-               // is manual tour
-               final String devicePluginId = result.getString(15);
-               final boolean isManualTour = TourData.DEVICE_ID_FOR_MANUAL_TOUR.equals(devicePluginId)
-                     || TourData.DEVICE_ID_CSV_TOUR_DATA_READER.equals(devicePluginId);
-               allIsManualTour.add(isManualTour);
+               data.distance        = UI.scrambleNumbers(data.distance);
+               data.elevationGain   = UI.scrambleNumbers(data.elevationGain);
+               data.elevationLoss   = UI.scrambleNumbers(data.elevationLoss);
+               data.calories        = UI.scrambleNumbers(data.calories);
 
-               allCalories                .add(result.getInt(16));
-               allElevationLoss           .add(result.getInt(17));
-               allPulseAvg                .add(result.getFloat(18));
-               allPowerAvg                .add(result.getFloat(19));
-               allTourWeatherClouds       .add(result.getString(21));
+               data.elapsedTime     = UI.scrambleNumbers(data.elapsedTime);
+               data.movingTime      = UI.scrambleNumbers(data.movingTime);
+               data.recordedTime    = UI.scrambleNumbers(data.recordedTime);
+            }
 
 // SET_FORMATTING_ON
 
-               /*
-                * Convert type id to the type index in the tour type array, this is also
-                * the color index for the tour type
-                */
-               int tourTypeColorIndex = 0;
-               final Long dbTypeIdObject = (Long) result.getObject(12);
-               if (dbTypeIdObject != null) {
-                  final long dbTypeId = result.getLong(12);
-                  for (int typeIndex = 0; typeIndex < allTourTypes.length; typeIndex++) {
-                     if (allTourTypes[typeIndex].getTypeId() == dbTypeId) {
-                        tourTypeColorIndex = colorOffset + typeIndex;
-                        break;
-                     }
-                  }
-               }
-
-               allTypeColorIndex.add(tourTypeColorIndex);
-               allTypeIds.add(dbTypeIdObject == null ? TourDatabase.ENTITY_IS_NOT_SAVED : dbTypeIdObject);
-
-            } // while result.next() == all tours of this day
-
             /*
-             * create data for this day
+             * Convert type id to the type index in the tour type array, this is also
+             * the color index for the tour type
              */
-            final int numTours = allTourIDs.size();
-            dayData = new CalendarTourData[numTours];
-
-            for (int tourIndex = 0; tourIndex < numTours; tourIndex++) {
-
-               final CalendarTourData data = new CalendarTourData();
-
-// SET_FORMATTING_OFF
-
-               data.tourId          = allTourIDs            .get(tourIndex);
-
-               data.typeId          = allTypeIds            .get(tourIndex);
-               data.typeColorIndex  = allTypeColorIndex     .get(tourIndex);
-
-               data.year            = allTourYear           .get(tourIndex);
-               data.month           = allTourMonth          .get(tourIndex);
-               data.day             = allTourDay            .get(tourIndex);
-               data.week            = allTourStartWeek      .get(tourIndex);
-
-               data.startTime       = allTourStartTime      .get(tourIndex);
-               data.endTime         = allTourEndTime        .get(tourIndex);
-
-               data.distance        = allDistance           .get(tourIndex);
-               data.elevationGain   = allElevationGain      .get(tourIndex);
-               data.elevationLoss   = allElevationLoss      .get(tourIndex);
-
-               data.elapsedTime     = allTourElapsedTime    .get(tourIndex);
-               data.recordedTime    = allTourDeviceTime_Recorded.get(tourIndex);
-               data.movingTime      = allTourMovingTime     .get(tourIndex);
-
-               data.calories        = allCalories           .get(tourIndex);
-               data.power_Avg       = allPowerAvg           .get(tourIndex);
-               data.pulse_Avg       = allPulseAvg           .get(tourIndex);
-
-               data.tourTitle       = allTourTitle          .get(tourIndex);
-               data.tourDescription = allTourDescription    .get(tourIndex);
-
-               data.weatherClouds   = allTourWeatherClouds  .get(tourIndex);
-
-               final LocalDate tourDate = LocalDate.of(year, month, data.day);
-               data.tourDate        = tourDate;
-               data.dayOfWeek       = tourDate.getDayOfWeek().getValue();
-
-               data.isManualTour    = allIsManualTour       .get(tourIndex);
-
-               dayData[tourIndex] = data;
+            int tourTypeColorIndex = 0;
+            final Long dbTypeIdObject = (Long) result.getObject(12);
+            if (dbTypeIdObject != null) {
+               final long dbTypeId = result.getLong(12);
+               for (int typeIndex = 0; typeIndex < allTourTypes.length; typeIndex++) {
+                  if (allTourTypes[typeIndex].getTypeId() == dbTypeId) {
+                     tourTypeColorIndex = colorOffset + typeIndex;
+                     break;
+                  }
+               }
+            }
 
-               if (UI.IS_SCRAMBLE_DATA) {
+            data.typeColorIndex = tourTypeColorIndex;
+            data.typeId = dbTypeIdObject == null ? TourDatabase.ENTITY_IS_NOT_SAVED : dbTypeIdObject;
 
-                  data.tourTitle       = UI.scrambleText(data.tourTitle);
-                  data.tourDescription = UI.scrambleText(data.tourDescription);
+            if (tourDate.equals(dayDate) == false) {
 
-                  data.distance        = UI.scrambleNumbers(data.distance);
-                  data.elevationGain   = UI.scrambleNumbers(data.elevationGain);
-                  data.elevationLoss   = UI.scrambleNumbers(data.elevationLoss);
-                  data.calories        = UI.scrambleNumbers(data.calories);
+               // a new day starts
 
-                  data.elapsedTime     = UI.scrambleNumbers(data.elapsedTime);
-                  data.movingTime      = UI.scrambleNumbers(data.movingTime);
-                  data.recordedTime    = UI.scrambleNumbers(data.recordedTime);
-               }
+               setDayData(allMonthData, dayDate, allDayTours);
 
-// SET_FORMATTING_ON
+               allDayTours.clear();
+               dayDate = tourDate;
+            }
 
-            } // create data for this day
+            allDayTours.add(data);
 
-            monthData[day] = dayData;
+         } // while result.next() == all tours of all months
 
-         } // for days 0 .. 30
+         setDayData(allMonthData, dayDate, allDayTours);
 
       } catch (final SQLException e) {
 
          SQL.showException(e, sql);
       }
 
-      return monthData;
+      return allMonthData;
    }
 
-   private boolean loadFromDB_Week(final WeekLoader weekLoader) {
+   /**
+    * Retrieve the summary data for all weeks of the week loader from the database with one query
+    *
+    * @param weekLoader
+    *
+    * @return Returns <code>false</code> when the loader was invalidated
+    */
+   private boolean loadFromDB_Weeks(final WeekLoader weekLoader) {
+
+      final Map<Integer, CalendarTourData> allWeekData = weekLoader.allWeekData;
 
-      if (weekLoader.executorId < _weekExecuterId.get()) {
+      if (weekLoader.executorId < _loadingExecuterId.get()) {
 
          // current executer was invalidated
 
          // reset loading state
-         weekLoader.weekData.loadingState = LoadingState.NOT_LOADED;
+         for (final CalendarTourData weekData : allWeekData.values()) {
+            weekData.loadingState = LoadingState.NOT_LOADED;
+         }
 
          return false;
       }
 
 //      final long start = System.currentTimeMillis();
 
-      final CalendarTourData weekData = weekLoader.weekData;
+      final WeekFields cw = TimeTools.calendarWeek;
+
+      final LocalDate firstWeek1stDay = weekLoader.firstWeek1stDay;
+      final LocalDate lastWeek1stDay = weekLoader.lastWeek1stDay;
+
+      final int firstYear = firstWeek1stDay.get(cw.weekBasedYear());
+      final int lastYear = lastWeek1stDay.get(cw.weekBasedYear());
+
       String sql = null;
 
       try (Connection conn = TourDatabase.getInstance().getConnection()) {
 
-         final int year = weekLoader.year;
-         final int week = weekLoader.week;
-
          final AppFilter appFilter = new AppFilter(AppFilter.ANY_APP_FILTERS);
 
          sql = NL
 
                + "SELECT" + NL //                                       //$NON-NLS-1$
 
-               + " SUM(1)," + NL //                                  1  //$NON-NLS-1$
-               + " SUM(TourDistance)," + NL //                       2  //$NON-NLS-1$
+               + " StartWeekYear," + NL //                           1  //$NON-NLS-1$
+               + " StartWeek," + NL //                               2  //$NON-NLS-1$
 
-               + " SUM(TourDeviceTime_Elapsed)," + NL //             3  //$NON-NLS-1$
-               + " SUM(TourComputedTime_Moving)," + NL //            4  //$NON-NLS-1$
+               + " SUM(1)," + NL //                                  3  //$NON-NLS-1$
+               + " SUM(TourDistance)," + NL //                       4  //$NON-NLS-1$
 
-               + " SUM(TourAltUp)," + NL //                          5  //$NON-NLS-1$
-               + " SUM(TourAltDown)," + NL //                        6  //$NON-NLS-1$
+               + " SUM(TourDeviceTime_Elapsed)," + NL //             5  //$NON-NLS-1$
+               + " SUM(TourComputedTime_Moving)," + NL //            6  //$NON-NLS-1$
 
-               + " SUM(calories)," + NL //                           7  //$NON-NLS-1$
+               + " SUM(TourAltUp)," + NL //                          7  //$NON-NLS-1$
+               + " SUM(TourAltDown)," + NL //                        8  //$NON-NLS-1$
 
-               + " SUM(cadenceZone_SlowTime)," + NL //               8  //$NON-NLS-1$
-               + " SUM(cadenceZone_FastTime)," + NL //               9  //$NON-NLS-1$
+               + " SUM(calories)," + NL //                           9  //$NON-NLS-1$
 
-               + " SUM(TourDeviceTime_Recorded)," + NL //            10 //$NON-NLS-1$
+               + " SUM(cadenceZone_SlowTime)," + NL //               10 //$NON-NLS-1$
+               + " SUM(cadenceZone_FastTime)," + NL //               11 //$NON-NLS-1$
 
-               + " SUM(power_TrainingStressScore)" + NL //           11 //$NON-NLS-1$
+               + " SUM(TourDeviceTime_Recorded)," + NL //            12 //$NON-NLS-1$
+
+               + " SUM(power_TrainingStressScore)" + NL //           13 //$NON-NLS-1$
 
                + "FROM " + TourDatabase.TABLE_TOUR_DATA + NL //         //$NON-NLS-1$
 
-               + "WHERE StartWeekYear = ?" + NL //                      //$NON-NLS-1$
-               + "  AND StartWeek     = ?" + NL //                      //$NON-NLS-1$
+               + "WHERE StartWeekYear BETWEEN ? AND ?" + NL //                         //$NON-NLS-1$
+               + "  AND StartWeekYear * 100 + StartWeek BETWEEN ? AND ?" + NL //       //$NON-NLS-1$
+
+               + appFilter.getWhereClause()
 
-               + appFilter.getWhereClause();
+               + "GROUP BY StartWeekYear, StartWeek" + NL; //           //$NON-NLS-1$
 
          final PreparedStatement prepStmt = conn.prepareStatement(sql);
 
          int nextIndex = 1;
 
-         prepStmt.setInt(nextIndex++, year);
-         prepStmt.setInt(nextIndex++, week);
+         prepStmt.setInt(nextIndex++, firstYear);
+         prepStmt.setInt(nextIndex++, lastYear);
+         prepStmt.setInt(nextIndex++, getWeekKey(firstYear, firstWeek1stDay.get(cw.weekOfWeekBasedYear())));
+         prepStmt.setInt(nextIndex++, getWeekKey(lastYear, lastWeek1stDay.get(cw.weekOfWeekBasedYear())));
 
          nextIndex = appFilter.setParameters(prepStmt, nextIndex);
 
@@ -754,28 +777,33 @@ class CalendarTourDataProvider {
 
          while (result.next()) {
 
-// SET_FORMATTING_OFF
+            final CalendarTourData weekData = allWeekData.get(getWeekKey(result.getInt(1), result.getInt(2)));
+
+            if (weekData == null) {
+
+               // this week is already loaded or queued by another loader
+               continue;
+            }
 
-            weekData.year                 = year;
-            weekData.week                 = week;
+// SET_FORMATTING_OFF
 
-            weekData.numTours             = result.getInt(1);
-            weekData.distance             = result.getInt(2);
+            weekData.numTours             = result.getInt(3);
+            weekData.distance             = result.getInt(4);
 
-            weekData.elapsedTime          = result.getInt(3);
-            weekData.movingTime           = result.getInt(4);
+            weekData.elapsedTime          = result.getInt(5);
+            weekData.movingTime           = result.getInt(6);
 
-            weekData.elevationGain        = result.getInt(5);
-            weekData.elevationLoss        = result.getInt(6);
+            weekData.elevationGain        = result.getInt(7);
+            weekData.elevationLoss        = result.getInt(8);
 
-            weekData.calories             = result.getInt(7);
+            weekData.calories             = result.getInt(9);
 
-            weekData.cadenceZone_SlowTime = result.getInt(8);
-            weekData.cadenceZone_FastTime = result.getInt(9);
+            weekData.cadenceZone_SlowTime = result.getInt(10);
+            weekData.cadenceZone_FastTime = result.getInt(11);
 
-            weekData.recordedTime         = result.getInt(10);
+            weekData.recordedTime         = result.getInt(12);
 
-            weekData.trainingLoad_Tss     = result.getInt(11);
+            weekData.trainingLoad_Tss     = result.getInt(13);
 
             if (UI.IS_SCRAMBLE_DATA) {
 
@@ -799,15 +827,178 @@ class CalendarTourDataProvider {
 
       } finally {
 
-         weekData.loadingState = LoadingState.IS_LOADED;
+         // weeks without tours are also loaded
+         for (final CalendarTourData weekData : allWeekData.values()) {
+            weekData.loadingState = LoadingState.IS_LOADED;
+         }
       }
 
       return true;
    }
 
+   private void loadFromDB_Weeks_AndUpdateUI(final WeekLoader weekLoader) {
+
+      if (loadFromDB_Weeks(weekLoader)
+            && isVisibleRange(weekLoader.firstWeek1stDay, weekLoader.lastWeek1stDay.plusDays(6))) {
+
+         _calendarGraph.updateUI_AfterDataLoading();
+      }
+   }
+
+   /**
+    * Loads all months in the range which are not yet cached with one query
+    *
+    * @param firstDay
+    * @param lastDay
+    * @param executerId
+    */
+   private void loadMonths(final LocalDate firstDay, final LocalDate lastDay, final long executerId) {
+
+      YearMonth firstMissingMonth = null;
+      YearMonth lastMissingMonth = null;
+
+      final YearMonth lastMonth = YearMonth.from(lastDay);
+
+      for (YearMonth yearMonth = YearMonth.from(firstDay); yearMonth.isAfter(lastMonth) == false; yearMonth = yearMonth.plusMonths(1)) {
+
+         if (getCachedMonth(yearMonth) == null) {
+
+            if (firstMissingMonth == null) {
+               firstMissingMonth = yearMonth;
+            }
+
+            lastMissingMonth = yearMonth;
+         }
+      }
+
+      if (firstMissingMonth == null) {
+
+         // all months are cached
+         return;
+      }
+
+      putCachedMonths(loadFromDb_Months(firstMissingMonth, lastMissingMonth), executerId);
+   }
+
+   /**
+    * Loads the data of the visible range, this must be called before the days and weeks of this
+    * range are painted. The adjacent page in the scroll direction is prefetched in the background.
+    *
+    * @param firstDay
+    *           First visible day
+    * @param lastDay
+    *           Last visible day
+    */
+   void loadVisibleRange(final LocalDate firstDay, final LocalDate lastDay) {
+
+      final long executerId = _loadingExecuterId.get();
+      final long numPageDays = ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+
+      final LocalDate prevPageFirstDay = firstDay.minusDays(numPageDays);
+      final LocalDate nextPageLastDay = lastDay.plusDays(numPageDays);
+
+      int scrollDirection;
+
+      synchronized (this) {
+
+         if (_visibleFirstDay != null && firstDay.equals(_visibleFirstDay) == false) {
+
+            // keep the scroll direction when the same range is painted again
+            _scrollDirection = firstDay.isAfter(_visibleFirstDay) ? 1 : -1;
+         }
+
+         _visibleFirstDay = firstDay;
+         _visibleLastDay = lastDay;
+
+         scrollDirection = _scrollDirection;
+
+         ensureCacheSize(Math.max(MIN_CACHED_YEARS, nextPageLastDay.getYear() - prevPageFirstDay.getYear() + 1));
+      }
+
+      // load all visible days with one query, they are needed now for painting
+      loadMonths(firstDay, lastDay, executerId);
+
+      // load all visible weeks with one query
+      final WeekLoader weekLoader = createWeekLoader(firstDay, lastDay);
+      if (weekLoader != null) {
+         _loadingExecutor.submit(() -> loadFromDB_Weeks_AndUpdateUI(weekLoader));
+      }
+
+      if (scrollDirection >= 0) {
+         prefetchRange(lastDay.plusDays(1), nextPageLastDay, executerId);
+      }
+
+      if (scrollDirection <= 0) {
+         prefetchRange(prevPageFirstDay, firstDay.minusDays(1), executerId);
+      }
+   }
+
+   /**
+    * Loads the days and weeks of a range in the background
+    *
+    * @param firstDay
+    * @param lastDay
+    * @param executerId
+    */
+   private void prefetchRange(final LocalDate firstDay, final LocalDate lastDay, final long executerId) {
+
+      _loadingExecutor.submit(() -> {
+
+         if (executerId < _loadingExecuterId.get()
+
+               // the calendar was scrolled far away while this task was waiting
+               || isNearVisibleRange(firstDay, lastDay) == false) {
+
+            return;
+         }
+
+         loadMonths(firstDay, lastDay, executerId);
+
+         final WeekLoader weekLoader = createWeekLoader(firstDay, lastDay);
+         if (weekLoader != null) {
+
+            // the prefetched weeks could be visible when the calendar was scrolled in the meantime
+            loadFromDB_Weeks_AndUpdateUI(weekLoader);
+         }
+      });
+   }
+
+   private synchronized void putCachedMonths(final Map<YearMonth, CalendarTourData[][]> allMonthData,
+                                             final long executerId) {
+
+      if (executerId < _loadingExecuterId.get()) {
+
+         // the cache was invalidated while loading, these data could be outdated
+         return;
+      }
+
+      for (final Map.Entry<YearMonth, CalendarTourData[][]> entry : allMonthData.entrySet()) {
+
+         final YearMonth yearMonth = entry.getKey();
+
+         // create year data
+         final CalendarTourData[][][] yearData = _dayCache.computeIfAbsent(yearMonth.getYear(), key -> new CalendarTourData[12][][]);
+
+         yearData[yearMonth.getMonthValue() - 1] = entry.getValue();
+      }
+   }
+
    public void setCalendarGraph(final CalendarGraph calendarGraph) {
 
       _calendarGraph = calendarGraph;
    }
 
+   private void setDayData(final Map<YearMonth, CalendarTourData[][]> allMonthData,
+                           final LocalDate dayDate,
+                           final List<CalendarTourData> allDayTours) {
+
+      if (dayDate == null) {
+         return;
+      }
+
+      final CalendarTourData[][] monthData = allMonthData.get(YearMonth.from(dayDate));
+
+      monthData[dayDate.getDayOfMonth() - 1] = allDayTours.toArray(new CalendarTourData[allDayTours.size()]);
+   }
+
 }
@@ -16,31 +16,32 @@
 package net.tourbook.ui.views.calendar;
 
 import java.time.LocalDate;
+import java.util.Map;
 
+/**
+ * Loads the summary data of all weeks between the first and last week with one SQL query
+ */
 public class WeekLoader {
 
-	LocalDate			week1stDay;
-	int					year;
-	int					week;
+	LocalDate						firstWeek1stDay;
+	LocalDate						lastWeek1stDay;
 
 	/**
-	 * Returning week data
+	 * Returning week data, key is the week key of
+	 * {@link CalendarTourDataProvider#getWeekKey(int, int)}
 	 */
-	CalendarTourData	weekData;
-	long				executorId;
+	Map<Integer, CalendarTourData>	allWeekData;
+	long							executorId;
 
-	public WeekLoader(	final LocalDate week1stDay,
-						final int year,
-						final int week,
-						final CalendarTourData weekData,
+	public WeekLoader(	final LocalDate firstWeek1stDay,
+						final LocalDate lastWeek1stDay,
+						final Map<Integer, CalendarTourData> allWeekData,
 						final long executorId) {
 
-		this.week1stDay = week1stDay;
+		this.firstWeek1stDay = firstWeek1stDay;
+		this.lastWeek1stDay = lastWeek1stDay;
 
-		this.year = year;
-		this.week = week;
-
-		this.weekData = weekData;
+		this.allWeekData = allWeekData;
 		this.executorId = executorId;
 	}
 
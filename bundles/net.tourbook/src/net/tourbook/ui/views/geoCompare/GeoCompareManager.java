@@ -16,6 +16,8 @@
 package net.tourbook.ui.views.geoCompare;
 
 import java.time.ZonedDateTime;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ThreadFactory;
@@ -26,11 +28,15 @@ import net.tourbook.common.UI;
 import net.tourbook.common.time.TimeTools;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.data.FlatGainLoss;
+import net.tourbook.data.GeoPartMatcher;
+import net.tourbook.data.GeoPartMatcher.GeoPartMatch;
 import net.tourbook.data.NormalizedGeoData;
+import net.tourbook.data.SerieKind;
 import net.tourbook.data.TourData;
 import net.tourbook.preferences.ITourbookPreferences;
 import net.tourbook.tour.TourManager;
 import net.tourbook.ui.views.referenceTour.ReferenceTimelineView;
+import net.tourbook.ui.views.tourDataEditor.TourDataEditorView;
 
 import org.eclipse.core.runtime.ListenerList;
 import org.eclipse.jface.preference.IPreferenceStore;
@@ -44,6 +50,32 @@ public class GeoCompareManager {
    private static final int                                  COMPARATOR_THREADS    = Runtime.getRuntime().availableProcessors();
    private static ThreadPoolExecutor                         _comparerExecutor;
 
+   /**
+    * Data series which are needed to compare a tour and to compute its values, e.g. power or
+    * running dynamics are not needed
+    */
+   private static final Set<SerieKind>                       COMPARE_SERIE_KINDS   = EnumSet.of(
+
+         SerieKind.TIME,
+         SerieKind.ALTITUDE,
+         SerieKind.DISTANCE,
+         SerieKind.LATITUDE_LONGITUDE,
+         SerieKind.PAUSES,
+         SerieKind.PULSE,
+         SerieKind.SPEED);
+
+   /**
+    * Data series which are needed when the normalized lat/lon data are already persisted
+    */
+   private static final Set<SerieKind>                       METRIC_SERIE_KINDS    = EnumSet.of(
+
+         SerieKind.TIME,
+         SerieKind.ALTITUDE,
+         SerieKind.DISTANCE,
+         SerieKind.PAUSES,
+         SerieKind.PULSE,
+         SerieKind.SPEED);
+
    private static final LinkedBlockingDeque<GeoComparedTour> _compareWaitingQueue  = new LinkedBlockingDeque<>();
    private static final ListenerList<IGeoCompareListener>    _geoCompareListeners  = new ListenerList<>(ListenerList.IDENTITY);
 
@@ -138,87 +170,77 @@ public class GeoCompareManager {
        */
       final long startLoading = System.nanoTime();
 
-      final TourData tourData = TourManager.getInstance().getTourData(geoComparedTour.tourId);
-
-      /*
-       * Normalize data
-       */
-      final long startConvert = System.nanoTime();
+      final long tourId = geoComparedTour.tourId;
 
       final GeoCompareData geoCompareData = geoComparedTour.geoCompareData;
       final NormalizedGeoData normalizedTourPart = geoCompareData.normalizedTourPart;
       final int[] normPartLatSerie = normalizedTourPart.normalizedLat;
       final int[] normPartLonSerie = normalizedTourPart.normalizedLon;
 
-      final NormalizedGeoData normalizedTour = tourData.getNormalizedLatLon(
-            normalizedTourPart.geoAccuracy,
-            normalizedTourPart.distanceAccuracy);
-      final int[] normTourLatSerie = normalizedTour.normalizedLat;
-      final int[] normTourLonSerie = normalizedTour.normalizedLon;
+      final int geoAccuracy = normalizedTourPart.geoAccuracy;
+      final int distanceAccuracy = normalizedTourPart.distanceAccuracy;
 
-      final int numNormPartSlices = normPartLatSerie.length;
-      final int numNormTourSlices = normTourLatSerie.length;
+      NormalizedGeoData normalizedTour = NormalizedGeoDataStore.load(tourId, geoAccuracy, distanceAccuracy);
 
-      final float[] normLatLonDiff = new float[numNormTourSlices];
+      // lat/lon are not needed when the normalized data are persisted
+      final TourData tourData = TourManager.getInstance().getTourData(
+            tourId,
+            normalizedTour == null ? COMPARE_SERIE_KINDS : METRIC_SERIE_KINDS);
 
       /*
-       * Compare
+       * Normalize data
        */
-      final long startComparing = System.nanoTime();
-
-      long minDiffValue = Long.MAX_VALUE;
-      int normMinDiffIndex = -1;
-      int numCompares = 0;
+      final long startConvert = System.nanoTime();
 
-      // loop: all normalized tour slices
-      for (int normTourIndex = 0; normTourIndex < numNormTourSlices; normTourIndex++) {
+      final boolean isTourModifiedInEditor = isTourModifiedInEditor(tourId);
 
-         long latLonDiff = -1;
+      if (normalizedTour != null
+            && (isTourModifiedInEditor || normalizedTour.tourModifiedStamp != tourData.getDateTimeModifiedStamp())) {
 
-         // loop: all part slices
-         for (int normPartIndex = 0; normPartIndex < numNormPartSlices; normPartIndex++) {
+         // the tour is modified since the data were normalized or it is modified in the tour editor
+         normalizedTour = null;
+         tourData.loadDataSeries(COMPARE_SERIE_KINDS);
+      }
 
-            if (geoCompareData.isCanceled) {
-               return;
-            }
+      if (normalizedTour == null) {
 
-            numCompares++;
+         normalizedTour = tourData.getNormalizedLatLon(geoAccuracy, distanceAccuracy);
+         normalizedTour.tourModifiedStamp = tourData.getDateTimeModifiedStamp();
 
-            final int compareIndex = normTourIndex + normPartIndex;
+         // data of a not yet saved tour would be stale after the tour is reverted
+         if (isTourModifiedInEditor == false) {
+            NormalizedGeoDataStore.save(normalizedTour);
+         }
+      }
 
-            /*
-             * Make sure the compare index is not larger than the tour index, this happens when the
-             * part slices has exceeded the tour slices
-             */
-            if (compareIndex == numNormTourSlices) {
-               latLonDiff = -1;
-               break;
-            }
+      final int[] normTourLatSerie = normalizedTour.normalizedLat;
+      final int[] normTourLonSerie = normalizedTour.normalizedLon;
 
-            final int latDiff = normPartLatSerie[normPartIndex] - normTourLatSerie[compareIndex];
-            final int lonDiff = normPartLonSerie[normPartIndex] - normTourLonSerie[compareIndex];
+      final int numNormPartSlices = normPartLatSerie.length;
+      final int numNormTourSlices = normTourLatSerie.length;
 
-            // optimize Math.abs() !!!
-            final int latDiffAbs = latDiff < 0 ? -latDiff : latDiff;
-            final int lonDiffAbs = lonDiff >= 0 ? lonDiff : -lonDiff;
+      /*
+       * Compare
+       */
+      final long startComparing = System.nanoTime();
 
-            // summarize all diffs for one tour slice
-            latLonDiff += (latDiffAbs + lonDiffAbs);
-         }
+      final GeoPartMatch geoPartMatch = GeoPartMatcher.findBestMatch(
 
-         // keep diff value
-         normLatLonDiff[normTourIndex] = latLonDiff;
+            normPartLatSerie,
+            normPartLonSerie,
+            normTourLatSerie,
+            normTourLonSerie,
 
-         // keep min diff value/index
-         if (latLonDiff < minDiffValue && latLonDiff != -1) {
+            () -> geoCompareData.isCanceled);
 
-            minDiffValue = latLonDiff;
+      if (geoPartMatch == null) {
 
-            // keep tour index where the min diff occurred
-            normMinDiffIndex = normTourIndex;
-         }
+         // comparison is canceled
+         return;
       }
 
+      final int normMinDiffIndex = geoPartMatch.normTourIndex();
+
       final ZonedDateTime tourStartTime = tourData.getTourStartTime();
       geoComparedTour.tourStartTime = tourStartTime;
       geoComparedTour.tourYear = tourStartTime.getYear();
@@ -269,37 +291,12 @@ public class GeoCompareManager {
                : time * 1000 / distance;
       }
 
-      geoComparedTour.minDiffValue = (long) (normMinDiffIndex < 0 ? -1 : normLatLonDiff[normMinDiffIndex]);
-
-      /*
-       * Create data serie for the chart graph from the normalized diff data serie
-       */
-      final int numTourSlices = tourData.latitudeSerie.length;
-
-      final float[] tourLatLonDiff = new float[numTourSlices];
-
-      int serieIndex = 0;
-
-      // loop: all normalized tour slices
-      for (int normIndex = 0; normIndex < numNormTourSlices; normIndex++) {
-
-         final float latLonDiff = normLatLonDiff[normIndex];
-
-         int nextNormIndex = normIndex++;
-
-         if (nextNormIndex >= numNormTourSlices) {
-            nextNormIndex = numNormTourSlices - 1;
-         }
+      // the diff value was previously kept in a float array
+      geoComparedTour.minDiffValue = normMinDiffIndex < 0 ? -1 : (long) (float) geoPartMatch.minDiffValue();
 
-         final int nextSerieIndex = norm2OrigIndices[nextNormIndex];
-
-         while (serieIndex < nextSerieIndex && serieIndex < numTourSlices) {
-
-            tourLatLonDiff[serieIndex++] = latLonDiff;
-         }
-      }
-
-      geoComparedTour.tourLatLonDiff = tourLatLonDiff;
+      // the data serie for the chart graph is created when it is displayed
+      geoComparedTour.normalizedTour = normalizedTour;
+      geoComparedTour.numTourSlices = tourData.timeSerie.length;
 
       if (IS_LOG_TOUR_COMPARING) {
 
@@ -308,6 +305,7 @@ public class GeoCompareManager {
          final float time_Load = (float) (startConvert - startLoading) / 1000000;
          final float time_Convert = (float) (startComparing - startConvert) / 1000000;
 
+         final long numCompares = geoPartMatch.numComparedPositions();
          final float cmpAvgTime = numCompares / time_Compare;
 
          System.out.println(String.format(
@@ -332,7 +330,7 @@ public class GeoCompareManager {
                geoComparedTour.tourId,
                //                     loaderItem.executorId,
 
-               normMinDiffIndex < 0 ? normMinDiffIndex : normLatLonDiff[normMinDiffIndex],
+               geoPartMatch.minDiffValue(),
                numNormTourSlices,
                numNormPartSlices,
 
@@ -366,6 +364,25 @@ public class GeoCompareManager {
       return _isGeoComparingOn;
    }
 
+   /**
+    * @param tourId
+    *
+    * @return Returns <code>true</code> when the tour is modified in the tour editor but not yet
+    *         saved
+    */
+   private static boolean isTourModifiedInEditor(final long tourId) {
+
+      final TourDataEditorView tourDataEditor = TourManager.getTourDataEditor();
+
+      if (tourDataEditor == null || tourDataEditor.isDirty() == false) {
+         return false;
+      }
+
+      final TourData editorTourData = tourDataEditor.getTourData();
+
+      return editorTourData != null && editorTourData.getTourId() == tourId;
+   }
+
    /**
     * @param isNextTour
     *           When <code>true</code> then navigate to the next tour, when <code>false</code>
@@ -19,6 +19,8 @@ import java.time.ZonedDateTime;
 import java.util.Objects;
 
 import net.tourbook.common.UI;
+import net.tourbook.data.GeoPartMatcher;
+import net.tourbook.data.NormalizedGeoData;
 import net.tourbook.data.TourType;
 
 /**
@@ -40,7 +42,13 @@ public class GeoComparedTour implements Comparable<Object> {
     */
    public GeoCompareData     geoCompareData;
 
-   public float[]            tourLatLonDiff;
+   /**
+    * Normalized tour and number of tour slices which are needed to create the lat/lon diff serie
+    */
+   NormalizedGeoData         normalizedTour;
+   int                       numTourSlices;
+
+   private float[]           _tourLatLonDiff;
 
    /**
     * Original tour index
@@ -129,6 +137,62 @@ public class GeoComparedTour implements Comparable<Object> {
       return tourId == other.tourId;
    }
 
+   /**
+    * The lat/lon diff serie is created when it is needed because comparing the part with all tour
+    * positions is much slower than finding the position with the smallest diff.
+    *
+    * @return Returns the lat/lon diff for all tour slices or <code>null</code> when the tour is not
+    *         yet compared
+    */
+   public float[] getTourLatLonDiff() {
+
+      if (_tourLatLonDiff != null || normalizedTour == null) {
+         return _tourLatLonDiff;
+      }
+
+      final NormalizedGeoData normalizedTourPart = geoCompareData.normalizedTourPart;
+
+      final float[] normLatLonDiff = GeoPartMatcher.computeAllDiffs(
+
+            normalizedTourPart.normalizedLat,
+            normalizedTourPart.normalizedLon,
+            normalizedTour.normalizedLat,
+            normalizedTour.normalizedLon);
+
+      final int[] norm2OrigIndices = normalizedTour.normalized2OriginalIndices;
+      final int numNormTourSlices = normLatLonDiff.length;
+
+      /*
+       * Create data serie for the chart graph from the normalized diff data serie
+       */
+      final float[] tourLatLonDiff = new float[numTourSlices];
+
+      int serieIndex = 0;
+
+      // loop: all normalized tour slices
+      for (int normIndex = 0; normIndex < numNormTourSlices; normIndex++) {
+
+         final float latLonDiff = normLatLonDiff[normIndex];
+
+         int nextNormIndex = normIndex++;
+
+         if (nextNormIndex >= numNormTourSlices) {
+            nextNormIndex = numNormTourSlices - 1;
+         }
+
+         final int nextSerieIndex = norm2OrigIndices[nextNormIndex];
+
+         while (serieIndex < nextSerieIndex && serieIndex < numTourSlices) {
+
+            tourLatLonDiff[serieIndex++] = latLonDiff;
+         }
+      }
+
+      _tourLatLonDiff = tourLatLonDiff;
+
+      return _tourLatLonDiff;
+   }
+
    @Override
    public int hashCode() {
 
@@ -29,9 +29,11 @@ import net.tourbook.common.UI;
 import net.tourbook.common.util.StatusUtil;
 import net.tourbook.data.NormalizedGeoData;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.database.TourGeoPartIndex;
 import net.tourbook.ui.AppFilter;
 
 import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.set.mutable.primitive.LongHashSet;
 
 public class GeoPartTourLoader {
 
@@ -60,6 +62,31 @@ public class GeoPartTourLoader {
       _loadingExecutor = Executors.newSingleThreadExecutor(threadFactory);
    }
 
+   /**
+    * @param allTourIds
+    *
+    * @return Returns the tour id's which are also filtered with the app filter
+    */
+   private static long[] getAppFilteredTourIds(final long[] allTourIds) {
+
+      final LongHashSet allAppFilterTourIds = new LongHashSet();
+
+      for (final Long tourId : TourDatabase.getAllTourIds_WithAppFilter(new AppFilter())) {
+         allAppFilterTourIds.add(tourId);
+      }
+
+      final LongArrayList allFilteredTourIds = new LongArrayList();
+
+      for (final long tourId : allTourIds) {
+
+         if (allAppFilterTourIds.contains(tourId)) {
+            allFilteredTourIds.add(tourId);
+         }
+      }
+
+      return allFilteredTourIds.toArray();
+   }
+
    private static boolean loadTourGeoPartsFromDB(final GeoCompareData geoCompareData) {
 
       if (geoCompareData.isCanceled) {
@@ -82,8 +109,23 @@ public class GeoPartTourLoader {
 
       final boolean isAppFilter = geoCompareData.isUseAppFilter;
 
+      final long[] allIndexedTourIds = TourGeoPartIndex.getInstance().getTourIds(requestedGeoParts);
+
+      if (allIndexedTourIds != null) {
+
+         // get tour id's from the geo part index
+
+         geoCompareData.tourIds = isAppFilter
+               ? getAppFilteredTourIds(allIndexedTourIds)
+               : allIndexedTourIds;
+
+         geoCompareData.sqlRunningTime = System.currentTimeMillis() - start;
+
+         return geoCompareData.isCanceled == false;
+      }
+
       /*
-       * Create sql parameters
+       * Create sql parameters, the geo part index is not yet loaded
        */
       final StringBuilder sqlInParameters = new StringBuilder();
       for (int partIndex = 0; partIndex < numGeoParts; partIndex++) {
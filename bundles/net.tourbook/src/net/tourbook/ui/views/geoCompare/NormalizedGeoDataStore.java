@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * Copyright (C) 2026 Wolfgang Schramm and Contributors
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation version 2 of the License.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110, USA
+ *******************************************************************************/
+package net.tourbook.ui.views.geoCompare;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import net.tourbook.common.UI;
+import net.tourbook.common.util.StatusUtil;
+import net.tourbook.data.NormalizedGeoData;
+import net.tourbook.database.TourDatabase;
+
+/**
+ * Persists the normalized lat/lon data of a tour in {@link TourDatabase#TABLE_TOUR_GEO_NORMALIZED},
+ * so that they are not recomputed each time when the tour is geo compared.
+ * <p>
+ * The data are deleted when the tour is saved, errors are only logged because the data can always
+ * be recomputed.
+ */
+class NormalizedGeoDataStore {
+
+   /**
+    * Version of the blob format, data with another version are ignored and recomputed
+    */
+   private static final int FORMAT_VERSION = 2;
+
+   private NormalizedGeoDataStore() {}
+
+   private static NormalizedGeoData decode(final byte[] blob,
+                                           final long tourId,
+                                           final int geoAccuracy,
+                                           final int distanceAccuracy) throws IOException {
+
+      try (final DataInputStream input = new DataInputStream(new ByteArrayInputStream(blob))) {
+
+         final NormalizedGeoData normalizedData = new NormalizedGeoData();
+
+         normalizedData.tourId = tourId;
+         normalizedData.geoAccuracy = geoAccuracy;
+         normalizedData.distanceAccuracy = distanceAccuracy;
+
+         normalizedData.tourModifiedStamp = input.readLong();
+         normalizedData.originalFirstIndex = input.readInt();
+         normalizedData.originalLastIndex = input.readInt();
+         normalizedData.normalizedDistance = input.readFloat();
+
+         final int numSlices = input.readInt();
+
+         normalizedData.normalizedLat = readDeltas(input, numSlices);
+         normalizedData.normalizedLon = readDeltas(input, numSlices);
+         normalizedData.normalized2OriginalIndices = readDeltas(input, numSlices);
+
+         return normalizedData;
+      }
+   }
+
+   private static byte[] encode(final NormalizedGeoData normalizedData) throws IOException {
+
+      final int[] allLat = normalizedData.normalizedLat;
+      final int numSlices = allLat.length;
+
+      final ByteArrayOutputStream byteStream = new ByteArrayOutputStream(24 + numSlices * 4);
+
+      try (final DataOutputStream output = new DataOutputStream(byteStream)) {
+
+         output.writeLong(normalizedData.tourModifiedStamp);
+         output.writeInt(normalizedData.originalFirstIndex);
+         output.writeInt(normalizedData.originalLastIndex);
+         output.writeFloat(normalizedData.normalizedDistance);
+
+         output.writeInt(numSlices);
+
+         // neighbor values are very similar, their differences need only 1 or 2 bytes
+         writeDeltas(output, allLat);
+         writeDeltas(output, normalizedData.normalizedLon);
+         writeDeltas(output, normalizedData.normalized2OriginalIndices);
+      }
+
+      return byteStream.toByteArray();
+   }
+
+   /**
+    * @param tourId
+    * @param geoAccuracy
+    * @param distanceAccuracy
+    *
+    * @return Returns the persisted normalized data or <code>null</code> when they are not
+    *         available
+    */
+   static NormalizedGeoData load(final long tourId, final int geoAccuracy, final int distanceAccuracy) {
+
+      final String sql = UI.EMPTY_STRING
+
+            + "SELECT NormalizedData" //                                         //$NON-NLS-1$
+            + " FROM " + TourDatabase.TABLE_TOUR_GEO_NORMALIZED //               //$NON-NLS-1$
+            + " WHERE TourId=? AND GeoAccuracy=? AND DistanceAccuracy=? AND FormatVersion=?"; //$NON-NLS-1$
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+         stmt.setLong(1, tourId);
+         stmt.setInt(2, geoAccuracy);
+         stmt.setInt(3, distanceAccuracy);
+         stmt.setInt(4, FORMAT_VERSION);
+
+         try (ResultSet result = stmt.executeQuery()) {
+
+            if (result.next()) {
+               return decode(result.getBytes(1), tourId, geoAccuracy, distanceAccuracy);
+            }
+         }
+
+      } catch (final SQLException | IOException e) {
+
+         StatusUtil.log(e);
+      }
+
+      return null;
+   }
+
+   private static int[] readDeltas(final DataInputStream input, final int numValues) throws IOException {
+
+      final int[] allValues = new int[numValues];
+
+      int prevValue = 0;
+
+      for (int valueIndex = 0; valueIndex < numValues; valueIndex++) {
+
+         // read var int
+         int zigZag = 0;
+         int shift = 0;
+         int nextByte;
+
+         do {
+            nextByte = input.readUnsignedByte();
+            zigZag |= (nextByte & 0x7f) << shift;
+            shift += 7;
+         } while ((nextByte & 0x80) != 0);
+
+         prevValue += (zigZag >>> 1) ^ -(zigZag & 1);
+
+         allValues[valueIndex] = prevValue;
+      }
+
+      return allValues;
+   }
+
+   /**
+    * Replaces the persisted normalized data of the tour.
+    *
+    * @param normalizedData
+    */
+   static void save(final NormalizedGeoData normalizedData) {
+
+      final String sqlDelete = UI.EMPTY_STRING
+
+            + "DELETE FROM " + TourDatabase.TABLE_TOUR_GEO_NORMALIZED //         //$NON-NLS-1$
+            + " WHERE TourId=? AND GeoAccuracy=? AND DistanceAccuracy=?"; //     //$NON-NLS-1$
+
+      final String sqlInsert = UI.EMPTY_STRING
+
+            + "INSERT INTO " + TourDatabase.TABLE_TOUR_GEO_NORMALIZED //         //$NON-NLS-1$
+            + " (TourId, GeoAccuracy, DistanceAccuracy, FormatVersion, NormalizedData)" //$NON-NLS-1$
+            + " VALUES (?, ?, ?, ?, ?)"; //                                      //$NON-NLS-1$
+
+      try (Connection conn = TourDatabase.getInstance().getConnection();
+            PreparedStatement deleteStmt = conn.prepareStatement(sqlDelete);
+            PreparedStatement insertStmt = conn.prepareStatement(sqlInsert)) {
+
+         final long tourId = normalizedData.tourId;
+         final int geoAccuracy = normalizedData.geoAccuracy;
+         final int distanceAccuracy = normalizedData.distanceAccuracy;
+
+         deleteStmt.setLong(1, tourId);
+         deleteStmt.setInt(2, geoAccuracy);
+         deleteStmt.setInt(3, distanceAccuracy);
+         deleteStmt.execute();
+
+         insertStmt.setLong(1, tourId);
+         insertStmt.setInt(2, geoAccuracy);
+         insertStmt.setInt(3, distanceAccuracy);
+         insertStmt.setInt(4, FORMAT_VERSION);
+         insertStmt.setBytes(5, encode(normalizedData));
+         insertStmt.execute();
+
+      } catch (final SQLException | IOException e) {
+
+         StatusUtil.log(e);
+      }
+   }
+
+   private static void writeDeltas(final DataOutputStream output, final int[] allValues) throws IOException {
+
+      int prevValue = 0;
+
+      for (final int value : allValues) {
+
+         final int delta = value - prevValue;
+         prevValue = value;
+
+         // write zig zag encoded var int, small negative values need also only a few bytes
+         int zigZag = (delta << 1) ^ (delta >> 31);
+
+         while ((zigZag & ~0x7f) != 0) {
+
+            output.writeByte((zigZag & 0x7f) | 0x80);
+            zigZag >>>= 7;
+         }
+
+         output.writeByte(zigZag);
+      }
+   }
+}
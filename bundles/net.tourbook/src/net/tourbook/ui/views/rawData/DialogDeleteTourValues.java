@@ -593,6 +593,13 @@ class DialogDeleteTourValues extends TitleAreaDialog {
 
                return UI.EMPTY_STRING;
             }
+
+            @Override
+            public boolean isConcurrent() {
+
+               // the tour is saved and logged when the values are deleted
+               return false;
+            }
          };
 
          ArrayList<Long> allTourIDs = null;
@@ -113,6 +113,7 @@ import net.tourbook.importdata.EasyImportManager;
 import net.tourbook.importdata.EasyLauncherUtils;
 import net.tourbook.importdata.EquipmentConfig;
 import net.tourbook.importdata.ImportConfig;
+import net.tourbook.importdata.ImportFileIndex;
 import net.tourbook.importdata.ImportLauncher;
 import net.tourbook.importdata.ImportState_Easy;
 import net.tourbook.importdata.ImportState_File;
@@ -7320,8 +7321,12 @@ public class RawDataView extends ViewPart implements
          WatchService folderWatcher = null;
          WatchKey watchKey = null;
 
+         final ImportFileIndex importFileIndex = ImportFileIndex.getInstance();
+
          try {
 
+            final List<Path> allWatchedFolders = new ArrayList<>();
+
             final EasyConfig easyConfig = getEasyConfig();
             final ImportConfig importConfig = easyConfig.getActiveImportConfig();
 
@@ -7353,7 +7358,10 @@ public class RawDataView extends ViewPart implements
 
                      deviceFolderPath.register(folderWatcher,
                            StandardWatchEventKinds.ENTRY_CREATE,
-                           StandardWatchEventKinds.ENTRY_DELETE);
+                           StandardWatchEventKinds.ENTRY_DELETE,
+                           StandardWatchEventKinds.ENTRY_MODIFY);
+
+                     allWatchedFolders.add(deviceFolderPath);
                   }
 
                } catch (final Exception e1) {}
@@ -7386,12 +7394,18 @@ public class RawDataView extends ViewPart implements
 
                      watchBackupFolder.register(folderWatcher,
                            StandardWatchEventKinds.ENTRY_CREATE,
-                           StandardWatchEventKinds.ENTRY_DELETE);
+                           StandardWatchEventKinds.ENTRY_DELETE,
+                           StandardWatchEventKinds.ENTRY_MODIFY);
+
+                     allWatchedFolders.add(watchBackupFolder);
                   }
 
                } catch (final Exception e2) {}
             }
 
+            // the files of watched folders are updated from the watch events and not by scanning the folders
+            importFileIndex.setWatchedFolders(allWatchedFolders);
+
             do {
 
                // wait for the next event
@@ -7405,9 +7419,10 @@ public class RawDataView extends ViewPart implements
                /*
                 * Events MUST be polled otherwise this will stay in an endless loop.
                 */
-               @SuppressWarnings("unused")
                final List<WatchEvent<?>> polledEvents = watchKey.pollEvents();
 
+               importFileIndex.updateFolder((Path) watchKey.watchable(), polledEvents);
+
 //// log events, they are not used
 //                  for (final WatchEvent<?> event : polledEvents) {
 //
@@ -7418,8 +7433,17 @@ public class RawDataView extends ViewPart implements
 //                     // remove SYSTEM.OUT.PRINTLN
 //                  }
 
+               // modified files are only updated in the file index, the device state is not changed
+               boolean isFileCreatedOrDeleted = false;
+               for (final WatchEvent<?> polledEvent : polledEvents) {
+                  if (polledEvent.kind() != StandardWatchEventKinds.ENTRY_MODIFY) {
+                     isFileCreatedOrDeleted = true;
+                     break;
+                  }
+               }
+
                // do not update the device state when the import is running otherwise the import file list can be wrong
-               if (_isUpdateDeviceState) {
+               if (_isUpdateDeviceState && isFileCreatedOrDeleted) {
                   thread_UpdateDeviceState();
                }
 
@@ -7433,6 +7457,9 @@ public class RawDataView extends ViewPart implements
             TourLogManager.log_EXCEPTION_WithStacktrace(e4);
          } finally {
 
+            // folders are not watched anymore, they must be scanned again
+            importFileIndex.setWatchedFolders(new ArrayList<>());
+
             try {
                if (watchKey != null) {
                   watchKey.cancel();
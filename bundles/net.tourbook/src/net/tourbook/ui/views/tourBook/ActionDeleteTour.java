@@ -27,6 +27,7 @@ import net.tourbook.common.util.StatusUtil;
 import net.tourbook.common.util.TreeViewerItem;
 import net.tourbook.data.TourData;
 import net.tourbook.database.TourDatabase;
+import net.tourbook.importdata.ImportFileIndex;
 import net.tourbook.tour.ITourItem;
 import net.tourbook.tour.SelectionDeletedTours;
 import net.tourbook.tour.TourLogManager;
@@ -93,6 +94,9 @@ public class ActionDeleteTour extends Action {
 
          deleteTours_Tree(treeSelection, selectionRemovedTours, monitor);
       }
+
+      // save the import file index once for all deleted tours
+      ImportFileIndex.saveRemovedTours();
    }
 
    private void deleteTours_NatTable(final ArrayList<Long> selectedTourIDs,
@@ -36,6 +36,7 @@ import net.tourbook.common.util.ColumnManager;
 import net.tourbook.common.util.SQL;
 import net.tourbook.common.util.SQLData;
 import net.tourbook.common.util.StatusUtil;
+import net.tourbook.common.util.Util;
 import net.tourbook.database.TourDatabase;
 import net.tourbook.equipment.EquipmentPartFilter;
 import net.tourbook.preferences.ITourbookPreferences;
@@ -64,6 +65,7 @@ public class NatTable_DataLoader {
    private static final String                            SQL_DESCENDING                 = "DESC";                          //$NON-NLS-1$
 
    private static final String                            SQL_DEFAULT_SORT_FIELD         = "TourStartTime";                 //$NON-NLS-1$
+   private static final String                            SQL_TOUR_ID_SORT_FIELD         = "TourId";                        //$NON-NLS-1$
 
    /**
     * Dummy field name for fields which currently cannot be sorted in the NatTable.
@@ -72,6 +74,11 @@ public class NatTable_DataLoader {
 
    private static int                                     FETCH_SIZE                     = 1_000;
 
+   /**
+    * Pages are loaded concurrently, each page is fetched independently with it's page key
+    */
+   private static final int                               NUMBER_OF_LOADING_THREADS      = Math.min(3, Util.NUMBER_OF_PROCESSORS);
+
    private static final ExecutorService                   _loadingExecutor               = createExecuter_TourLoading();
    private static final ExecutorService                   _rowIndexExecutor              = createExecuter_TourId_RowIndex();
 
@@ -126,8 +133,32 @@ public class NatTable_DataLoader {
 
    private SQLData                                        _tourCollectionFilter          = new SQLData();
 
+   /**
+    * Page keys for the current tour filter and tour sorting
+    */
+   private PageIndex                                      _pageIndex                     = new PageIndex();
+
    private Runnable                                       _postFetchRunnable;
 
+   /**
+    * Sparse index with the sort values of the last tour in each page, a page is fetched with the
+    * sort values of the previous page (keyset pagination) that the database do not need to skip
+    * all rows before the page.
+    */
+   private static class PageIndex {
+
+      /**
+       * Key: Page number<br>
+       * Value: Sort values of the last tour in the previous page
+       */
+      private final ConcurrentHashMap<Integer, Object[]> __allPageKeys = new ConcurrentHashMap<>();
+
+      /**
+       * Is <code>true</code> when the keys for all pages are loaded
+       */
+      private volatile boolean                           __isAllPagesIndexed;
+   }
+
    public NatTable_DataLoader(final TourBookView tourBookView, final ColumnManager columnManager) {
 
       _tourBookView = tourBookView;
@@ -176,7 +207,11 @@ public class NatTable_DataLoader {
 //
 //      return loadingExecutor;
 
-      return Executors.newSingleThreadExecutor(threadFactory);
+      /*
+       * A page is fetched with the keys of the previous page and not with an offset, so pages can
+       * be loaded in parallel. A page is marked as fetched before the UI is updated.
+       */
+      return Executors.newFixedThreadPool(NUMBER_OF_LOADING_THREADS, threadFactory);
    }
 
    private void createColumnHeaderData() {
@@ -220,6 +255,104 @@ public class NatTable_DataLoader {
       return allRowIndices.toArray();
    }
 
+   /**
+    * Creates the condition to fetch all tours which are sorted after the page key.
+    * <p>
+    * Derby sorts <code>null</code> values after all other values for ASC and before all other
+    * values for DESC.
+    *
+    * @param pageKey
+    *           Sort values of the last tour in the previous page
+    *
+    * @return
+    */
+   private SQLData createSql_PageKey(final Object[] pageKey) {
+
+      final int numSortFields = _allSqlSortFields_OrderBy.size();
+
+      final StringBuilder sb = new StringBuilder();
+      final List<Object> allParameters = new ArrayList<>();
+
+      // loop: all sort fields, the tour must be sorted after the page key by this field and equal in all previous fields
+      for (int fieldIndex = 0; fieldIndex < numSortFields; fieldIndex++) {
+
+         final String fieldName = _allSqlSortFields_OrderBy.get(fieldIndex);
+         final boolean isAscending = SQL_ASCENDING.equals(_allSqlSortDirections.get(fieldIndex));
+         final Object keyValue = pageKey[fieldIndex];
+
+         if (isAscending && keyValue == null) {
+
+            // nothing is sorted after a null value
+
+            continue;
+         }
+
+         sb.append(sb.length() == 0 ? "      (" : "   OR (");//$NON-NLS-1$ //$NON-NLS-2$
+
+         // previous fields must be equal
+         for (int prevIndex = 0; prevIndex < fieldIndex; prevIndex++) {
+
+            final String prevFieldName = _allSqlSortFields_OrderBy.get(prevIndex);
+            final Object prevKeyValue = pageKey[prevIndex];
+
+            if (prevKeyValue == null) {
+
+               sb.append(prevFieldName + " IS NULL AND ");//$NON-NLS-1$
+
+            } else {
+
+               sb.append(prevFieldName + " = ? AND ");//$NON-NLS-1$
+               allParameters.add(prevKeyValue);
+            }
+         }
+
+         if (isAscending) {
+
+            sb.append("(" + fieldName + " > ? OR " + fieldName + " IS NULL)");//$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+            allParameters.add(keyValue);
+
+         } else if (keyValue == null) {
+
+            sb.append(fieldName + " IS NOT NULL");//$NON-NLS-1$
+
+         } else {
+
+            sb.append(fieldName + " < ?");//$NON-NLS-1$
+            allParameters.add(keyValue);
+         }
+
+         sb.append(")" + NL);//$NON-NLS-1$
+      }
+
+      if (sb.length() == 0) {
+
+         // there are no tours after the page key
+         return new SQLData("AND 1=0" + NL, allParameters);//$NON-NLS-1$
+      }
+
+      return new SQLData("AND (" + NL + sb.toString() + "   )" + NL, allParameters);//$NON-NLS-1$ //$NON-NLS-2$
+   }
+
+   /**
+    * @return Returns all "order by" fields as select fields, they are used to get the page keys
+    */
+   private String createSql_Sorting_KeyFields() {
+
+      final StringBuilder sb = new StringBuilder();
+
+      final int numOrderFields = _allSqlSortFields_OrderBy.size();
+
+      for (int fieldIndex = 0; fieldIndex < numOrderFields; fieldIndex++) {
+
+         // separate from previous field
+         sb.append("," + NL);//$NON-NLS-1$
+
+         sb.append("   " + _allSqlSortFields_OrderBy.get(fieldIndex) + " AS SortKey_" + fieldIndex);//$NON-NLS-1$ //$NON-NLS-2$
+      }
+
+      return sb.toString();
+   }
+
    private String createSql_Sorting_OrderBy() {
 
       final int numOrderFields = _allSqlSortFields_OrderBy.size();
@@ -279,11 +412,11 @@ public class NatTable_DataLoader {
 
    /**
     * Loads all tour ID's for the current sort and tour filter. This is use to reselect tours when
-    * tourbook view is reopened.
+    * tourbook view is reopened. The page keys for all pages are also set.
     *
-    * @return
+    * @param pageIndex
     */
-   private void fetchAllTourIds() {
+   private void fetchAllTourIds(final PageIndex pageIndex) {
 
       String sql = null;
       final LongArrayList allTourIds = new LongArrayList();
@@ -300,7 +433,8 @@ public class NatTable_DataLoader {
 
                + "SELECT" + NL //                              //$NON-NLS-1$
 
-               + "   DISTINCT TourId," + NL //                 //$NON-NLS-1$
+               + "   DISTINCT TourId" //                       //$NON-NLS-1$
+               + createSql_Sorting_KeyFields() + "," + NL //   //$NON-NLS-1$
                + "   " + sqlSortFields //                      //$NON-NLS-1$
 
                + "FROM TOURDATA AS TourData" + NL //           //$NON-NLS-1$
@@ -324,6 +458,8 @@ public class NatTable_DataLoader {
 
          final ResultSet result = prepStmt.executeQuery();
 
+         final int numKeyFields = _allSqlSortFields_OrderBy.size();
+
          int rowIndex = 0;
 
          while (result.next()) {
@@ -333,8 +469,23 @@ public class NatTable_DataLoader {
             allTourIds.add(tourId);
 
             _fetchedTourIndex.put(tourId, rowIndex++);
+
+            if (rowIndex % FETCH_SIZE == 0) {
+
+               // this is the last tour in a page -> keep page key for the next page
+
+               final Object[] pageKey = new Object[numKeyFields];
+
+               for (int keyIndex = 0; keyIndex < numKeyFields; keyIndex++) {
+                  pageKey[keyIndex] = result.getObject(2 + keyIndex);
+               }
+
+               pageIndex.__allPageKeys.put(rowIndex / FETCH_SIZE, pageKey);
+            }
          }
 
+         pageIndex.__isAllPagesIndexed = true;
+
       } catch (final SQLException e) {
 
          SQL.showException(e, sql);
@@ -449,16 +600,47 @@ public class NatTable_DataLoader {
        * SELECT ST1.Col1, T2.Col1 FROM
        * (
        *     SELECT * FROM Table1
+       *     WHERE Col1 > @lastColOfPreviousPage
        *     ORDER BY Col1
-       *     OFFSET @offset ROWS
-       *     FETCH NEXT @page ROWS ONLY
+       *     FETCH FIRST @page ROWS ONLY
        * ) ST1
        * JOIN Table2 T2 ON ST1.Id=T2.FkToT1
        * </code>
+       * <p>
+       * The page is fetched after the sort values of the previous page and not with OFFSET, with
+       * an offset, derby must read all skipped rows which is getting slower for each page.
        */
 
       String sql = null;
 
+      final PageIndex pageIndex = _pageIndex;
+      final int pageNumber = loaderItem.fetchKey;
+
+      SQLData pageKeyFilter = new SQLData();
+
+      if (pageNumber > 0) {
+
+         Object[] pageKey = pageIndex.__allPageKeys.get(pageNumber);
+
+         if (pageKey == null) {
+
+            // previous page is not yet fetched -> load keys of all pages
+
+            loadAllTourIds(pageIndex);
+
+            pageKey = pageIndex.__allPageKeys.get(pageNumber);
+
+            if (pageKey == null) {
+
+               // this can happen when tours are deleted in the meantime
+
+               return false;
+            }
+         }
+
+         pageKeyFilter = createSql_PageKey(pageKey);
+      }
+
       /**
        * VERY IMPORTANT
        * <p>
@@ -497,7 +679,8 @@ public class NatTable_DataLoader {
                + "     tm.markerId," + NL //                                                       //$NON-NLS-1$
                + "     jtt.TourTag_TagID  AS TourTag_tagId," + NL //                               //$NON-NLS-1$
                + "     np.ProductId," + NL //                                                      //$NON-NLS-1$
-               + "     te.Equipment_equipmentID" + NL //                                           //$NON-NLS-1$
+               + "     te.Equipment_equipmentID" //                                                //$NON-NLS-1$
+               + createSql_Sorting_KeyFields() + NL //
 
                + "FROM" + NL //                                                                    //$NON-NLS-1$
                + "(" + NL //                                                                       //$NON-NLS-1$
@@ -517,10 +700,11 @@ public class NatTable_DataLoader {
 
                + appFilter.getWhereClause() + NL //
                + tourCollectionFilter.getSqlString() + NL //
+               + pageKeyFilter.getSqlString()
 
                + "   " + orderBy + NL //                                                           //$NON-NLS-1$
 
-               + "   OFFSET ? ROWS FETCH NEXT ? ROWS ONLY" + NL //                                 //$NON-NLS-1$
+               + "   FETCH FIRST ? ROWS ONLY" + NL //                                              //$NON-NLS-1$
 
                + ") AS tdFiltered" + NL //                                                         //$NON-NLS-1$
 
@@ -540,11 +724,14 @@ public class NatTable_DataLoader {
          nextIndex = partFilter.setParameters(prepStmt, nextIndex);
          nextIndex = appFilter.setParameters(prepStmt, nextIndex);
          nextIndex = tourCollectionFilter.setParameters(prepStmt, nextIndex);
+         nextIndex = pageKeyFilter.setParameters(prepStmt, nextIndex);
 
          // set number of fetched parameters
-         prepStmt.setInt(nextIndex++, rowIndex);
          prepStmt.setInt(nextIndex++, FETCH_SIZE);
 
+         final int numKeyFields = _allSqlSortFields_OrderBy.size();
+         Object[] lastPageKey = null;
+
          long prevTourId = -1;
          HashSet<Long> allEquipmentIDs = null;
          HashSet<Long> tagIds = null;
@@ -642,11 +829,21 @@ public class NatTable_DataLoader {
 
                _fetchedTourItems.put(natTableRowIndex, tourItem);
                _fetchedTourIndex.put(tourItem.tourId, natTableRowIndex);
+
+               // keep sort values, the values of the last tour are the key for the next page
+               lastPageKey = new Object[numKeyFields];
+               for (int keyIndex = 0; keyIndex < numKeyFields; keyIndex++) {
+                  lastPageKey[keyIndex] = result.getObject(columnStartNumber + 4 + keyIndex);
+               }
             }
 
             prevTourId = result_TourId;
          }
 
+         if (lastPageKey != null && rowIndex - loaderItem.sqlOffset == FETCH_SIZE) {
+            pageIndex.__allPageKeys.putIfAbsent(pageNumber + 1, lastPageKey);
+         }
+
       } catch (final SQLException sqlException) {
 
          final String sqlState = sqlException.getSQLState();
@@ -682,19 +879,29 @@ public class NatTable_DataLoader {
          return false;
       }
 
-      if (_postFetchRunnable != null) {
-
-         final Runnable postFetchRunnable = _postFetchRunnable;
-
-         // run it only once
-         _postFetchRunnable = null;
+      final Runnable postFetchRunnable = getAndResetPostFetchRunnable();
 
+      if (postFetchRunnable != null) {
          postFetchRunnable.run();
       }
 
       return true;
    }
 
+   /**
+    * The post fetch runnable is run only once, also when pages are fetched concurrently
+    *
+    * @return
+    */
+   private synchronized Runnable getAndResetPostFetchRunnable() {
+
+      final Runnable postFetchRunnable = _postFetchRunnable;
+
+      _postFetchRunnable = null;
+
+      return postFetchRunnable;
+   }
+
    /**
     * @param hoveredRow
     *
@@ -770,9 +977,11 @@ public class NatTable_DataLoader {
 
          // firstly load all tour id's
 
+         final PageIndex pageIndex = _pageIndex;
+
          return CompletableFuture.supplyAsync(() -> {
 
-            fetchAllTourIds();
+            loadAllTourIds(pageIndex);
 
             return createRowIndicesFromTourIds(allRequestedTourIds);
 
@@ -1118,6 +1327,11 @@ public class NatTable_DataLoader {
 
          final boolean fetchPagedTourItems = fetchPagedTourItems(loaderItem);
 
+         final int loaderItemFetchKey = loaderItem.fetchKey;
+
+         _pageNumbers_Fetched.put(loaderItemFetchKey, loaderItemFetchKey);
+         _pageNumbers_Loading.remove(loaderItemFetchKey);
+
          if (fetchPagedTourItems) {
 
             // update UI
@@ -1135,11 +1349,6 @@ public class NatTable_DataLoader {
                tourViewer_NatTable.redraw();
             });
          }
-
-         final int loaderItemFetchKey = loaderItem.fetchKey;
-
-         _pageNumbers_Fetched.put(loaderItemFetchKey, loaderItemFetchKey);
-         _pageNumbers_Loading.remove(loaderItemFetchKey);
       });
 
       return null;
@@ -1157,6 +1366,22 @@ public class NatTable_DataLoader {
       }
    }
 
+   /**
+    * Loads all tour ID's and page keys when not yet loaded, this is called from the loading threads
+    * and the row index thread.
+    *
+    * @param pageIndex
+    */
+   private void loadAllTourIds(final PageIndex pageIndex) {
+
+      synchronized (pageIndex) {
+
+         if (pageIndex.__isAllPagesIndexed == false || _allSortedTourIDs == null) {
+            fetchAllTourIds(pageIndex);
+         }
+      }
+   }
+
    /**
     * Cleanup all loaded data that the next time they are newly fetched when requested
     *
@@ -1175,6 +1400,7 @@ public class NatTable_DataLoader {
       _pageNumbers_Loading.clear();
 
       _allSortedTourIDs = null;
+      _pageIndex = new PageIndex();
 
       _numAllTourItems = -1;
 
@@ -1183,7 +1409,7 @@ public class NatTable_DataLoader {
       }
    }
 
-   public void setPostFetchRunnable(final Runnable postLoadRunnable) {
+   public synchronized void setPostFetchRunnable(final Runnable postLoadRunnable) {
 
       _postFetchRunnable = postLoadRunnable;
    }
@@ -1254,6 +1480,7 @@ public class NatTable_DataLoader {
       _allSqlSortDirections.clear();
 
       boolean isSortedByDateTime = false;
+      boolean isSortedByTourId = false;
       final int numSortColumns = allSortDirections.size();
 
       for (int columnIndex = 0; columnIndex < numSortColumns; columnIndex++) {
@@ -1297,6 +1524,10 @@ public class NatTable_DataLoader {
              */
             _allSqlSortFields_OrderBy.add(sqlField_OrderBy);
 
+            if (SQL_TOUR_ID_SORT_FIELD.equalsIgnoreCase(sqlField_OrderBy)) {
+               isSortedByTourId = true;
+            }
+
             final String sqlField_SelectFields = getSqlField_SelectFields(sortColumnId);
             if (sqlField_SelectFields != null) {
 
@@ -1331,6 +1562,18 @@ public class NatTable_DataLoader {
          _allSqlSortFields_OrderBy.add(SQL_DEFAULT_SORT_FIELD);
          _allSqlSortFields_SelectFields.add(SQL_DEFAULT_SORT_FIELD);
       }
+
+      if (isSortedByTourId == false) {
+
+         /*
+          * The tour ID is the last sort field, that the sorting is unique, this is needed to fetch
+          * a page after the sort values of the previous page
+          */
+
+         _allSqlSortDirections.add(SQL_ASCENDING);
+
+         _allSqlSortFields_OrderBy.add(SQL_TOUR_ID_SORT_FIELD);
+      }
    }
 
 }
@@ -5670,7 +5670,7 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
          // hide segments in the map which are not selected
 
          final int[] timeSerie = _tourData.timeSerie;
-         final boolean[] visibleDataPointSerie = _tourData.visibleDataPointSerie = new boolean[timeSerie.length];
+         final boolean[] visibleDataPointSerie = new boolean[timeSerie.length];
 
          final IStructuredSelection selection = _segmentViewer.getStructuredSelection();
          for (final Object selectedItem : selection.toList()) {
@@ -5688,6 +5688,9 @@ public class TourSegmenterView extends ViewPart implements ITourViewer {
             }
          }
 
+         // a new array is set when it is filled, the map geometry is cached for this array
+         _tourData.visibleDataPointSerie = visibleDataPointSerie;
+
          TourManager.fireEventWithCustomData(
                TourEventId.SEGMENT_LAYER_CHANGED,
                _tourData,